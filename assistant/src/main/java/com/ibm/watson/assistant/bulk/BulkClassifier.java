@@ -0,0 +1,816 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.assistant.bulk;
+
+import com.ibm.cloud.sdk.core.http.Response;
+import com.ibm.cloud.sdk.core.http.ServiceCall;
+import com.ibm.cloud.sdk.core.http.ServiceCallback;
+import com.ibm.cloud.sdk.core.service.exception.ServiceResponseException;
+import com.ibm.watson.common.ConcurrencyLimiter;
+import com.ibm.watson.common.DaemonThreadFactory;
+import com.ibm.watson.common.RetryPolicy;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import okhttp3.Dispatcher;
+
+/**
+ * Classifies any number of utterances with the bulk classify method of Assistant v1 ({@link
+ * #forWorkspace}) or v2 ({@link #forSkill}).
+ *
+ * <p>The utterances are split into requests of at most <code>maxUtterancesPerRequest</code>
+ * utterances and <code>maxCharactersPerRequest</code> characters of text. When the service rejects
+ * a request as too large (status 413), its utterances are split in two and sent again, and later
+ * requests are made no larger than the halves.
+ *
+ * <p>Requests are sent asynchronously, so no thread waits for a response, and up to <code>
+ * maxConcurrency</code> are in flight. The bound adapts to the service with a {@link
+ * ConcurrencyLimiter}: it is halved when the service rejects a request with status 429, after which
+ * nothing is sent until the delay in the <code>Retry-After</code> header has passed, and grows back
+ * as responses arrive in good time. Throttled requests, server errors and network failures are
+ * retried as decided by a {@link RetryPolicy}, up to <code>maxRetries</code> times. The utterances
+ * of a request that still fails are passed to the <code>failureListener</code>, counted as failed
+ * and left out of the classifications, and the classification goes on.
+ *
+ * <p>Classifications are returned in the order of the utterances, as soon as the requests before
+ * them have completed. Utterances are read only as fast as their classifications are consumed: at
+ * most <code>maxBufferedUtterances</code> are read and not yet returned.
+ *
+ * <p>The requests are also bounded by the {@link Dispatcher} of the client, which allows 5
+ * requests per host by default and is shared by every client of the SDK. The classifier does not
+ * change it: for more requests in flight, give the service a client with its own dispatcher, sized
+ * for <code>maxConcurrency</code>, with {@code
+ * service.setClient(service.getClient().newBuilder().dispatcher(dispatcher).build())}.
+ *
+ * @param <U> the type of the utterances
+ * @param <O> the type of the classification of an utterance
+ */
+public final class BulkClassifier<U, O> {
+  private static final Logger LOG = Logger.getLogger(BulkClassifier.class.getName());
+  private static final int PAYLOAD_TOO_LARGE = 413;
+  private static final Object FAILED = new Object();
+
+  private final BulkClassifyEndpoint<U, O, ?> endpoint;
+  private final int maxUtterancesPerRequest;
+  private final int maxCharactersPerRequest;
+  private final int maxConcurrency;
+  private final int maxBufferedUtterances;
+  private final int maxRetries;
+  private final RetryPolicy retryPolicy;
+  private final BiConsumer<? super U, ? super Exception> failureListener;
+
+  /**
+   * Creates a builder of a classifier using the workspace of an Assistant v1 instance.
+   *
+   * @param assistant the client sending the requests
+   * @param workspaceId the unique identifier of the workspace
+   * @return the builder
+   */
+  public static Builder<
+          com.ibm.watson.assistant.v1.model.BulkClassifyUtterance,
+          com.ibm.watson.assistant.v1.model.BulkClassifyOutput>
+      forWorkspace(com.ibm.watson.assistant.v1.Assistant assistant, String workspaceId) {
+    return new Builder<>(new WorkspaceEndpoint(assistant, workspaceId));
+  }
+
+  /**
+   * Creates a builder of a classifier using an action or dialog skill of Assistant v2.
+   *
+   * @param assistant the client sending the requests
+   * @param skillId the unique identifier of the skill
+   * @return the builder
+   */
+  public static Builder<
+          com.ibm.watson.assistant.v2.model.BulkClassifyUtterance,
+          com.ibm.watson.assistant.v2.model.BulkClassifyOutput>
+      forSkill(com.ibm.watson.assistant.v2.Assistant assistant, String skillId) {
+    return new Builder<>(new SkillEndpoint(assistant, skillId));
+  }
+
+  /**
+   * Builder.
+   *
+   * @param <U> the type of the utterances
+   * @param <O> the type of the classification of an utterance
+   */
+  public static final class Builder<U, O> {
+    private final BulkClassifyEndpoint<U, O, ?> endpoint;
+    private int maxUtterancesPerRequest = 50;
+    private int maxCharactersPerRequest = 100000;
+    private int maxConcurrency = 8;
+    private int maxBufferedUtterances = 10000;
+    private int maxRetries = 5;
+    private long initialBackoffMillis = 500;
+    private long maxBackoffMillis = 60000;
+    private BiConsumer<? super U, ? super Exception> failureListener;
+
+    Builder(BulkClassifyEndpoint<U, O, ?> endpoint) {
+      this.endpoint = endpoint;
+    }
+
+    /**
+     * Set the maximum number of utterances sent in one request. Defaults to 50.
+     *
+     * @param maxUtterancesPerRequest the maximum number of utterances
+     * @return the BulkClassifier builder
+     */
+    public Builder<U, O> maxUtterancesPerRequest(int maxUtterancesPerRequest) {
+      this.maxUtterancesPerRequest = maxUtterancesPerRequest;
+      return this;
+    }
+
+    /**
+     * Set the maximum number of characters of text sent in one request. A single utterance longer
+     * than this is sent on its own. Defaults to 100000.
+     *
+     * @param maxCharactersPerRequest the maximum number of characters
+     * @return the BulkClassifier builder
+     */
+    public Builder<U, O> maxCharactersPerRequest(int maxCharactersPerRequest) {
+      this.maxCharactersPerRequest = maxCharactersPerRequest;
+      return this;
+    }
+
+    /**
+     * Set the maximum number of requests in flight. Defaults to 8.
+     *
+     * @param maxConcurrency the maximum number of requests in flight
+     * @return the BulkClassifier builder
+     */
+    public Builder<U, O> maxConcurrency(int maxConcurrency) {
+      this.maxConcurrency = maxConcurrency;
+      return this;
+    }
+
+    /**
+     * Set the maximum number of utterances read whose classifications have not been returned.
+     * Defaults to 10000.
+     *
+     * @param maxBufferedUtterances the maximum number of utterances
+     * @return the BulkClassifier builder
+     */
+    public Builder<U, O> maxBufferedUtterances(int maxBufferedUtterances) {
+      this.maxBufferedUtterances = maxBufferedUtterances;
+      return this;
+    }
+
+    /**
+     * Set the maximum number of times a request is retried. Defaults to 5.
+     *
+     * @param maxRetries the maximum number of retries
+     * @return the BulkClassifier builder
+     */
+    public Builder<U, O> maxRetries(int maxRetries) {
+      this.maxRetries = maxRetries;
+      return this;
+    }
+
+    /**
+     * Set the initial backoff of the {@link RetryPolicy}. Defaults to 500 ms.
+     *
+     * @param initialBackoffMillis the delay in milliseconds
+     * @return the BulkClassifier builder
+     */
+    public Builder<U, O> initialBackoffMillis(long initialBackoffMillis) {
+      this.initialBackoffMillis = initialBackoffMillis;
+      return this;
+    }
+
+    /**
+     * Set the maximum backoff of the {@link RetryPolicy}. Defaults to 60 seconds.
+     *
+     * @param maxBackoffMillis the delay in milliseconds
+     * @return the BulkClassifier builder
+     */
+    public Builder<U, O> maxBackoffMillis(long maxBackoffMillis) {
+      this.maxBackoffMillis = maxBackoffMillis;
+      return this;
+    }
+
+    /**
+     * Set the listener receiving each utterance that could not be classified, with the failure of
+     * its request, from the thread that received the failure. By default the failures are only
+     * counted.
+     *
+     * @param failureListener the listener
+     * @return the BulkClassifier builder
+     */
+    public Builder<U, O> failureListener(
+        BiConsumer<? super U, ? super Exception> failureListener) {
+      this.failureListener = failureListener;
+      return this;
+    }
+
+    /**
+     * Builds a BulkClassifier.
+     *
+     * @return the new BulkClassifier instance
+     */
+    public BulkClassifier<U, O> build() {
+      return new BulkClassifier<>(this);
+    }
+  }
+
+  private BulkClassifier(Builder<U, O> builder) {
+    com.ibm.cloud.sdk.core.util.Validator.isTrue(
+        builder.maxUtterancesPerRequest > 0, "maxUtterancesPerRequest must be positive");
+    com.ibm.cloud.sdk.core.util.Validator.isTrue(
+        builder.maxCharactersPerRequest > 0, "maxCharactersPerRequest must be positive");
+    com.ibm.cloud.sdk.core.util.Validator.isTrue(
+        builder.maxConcurrency > 0, "maxConcurrency must be positive");
+    com.ibm.cloud.sdk.core.util.Validator.isTrue(
+        builder.maxBufferedUtterances > 0, "maxBufferedUtterances must be positive");
+    com.ibm.cloud.sdk.core.util.Validator.isTrue(
+        builder.maxRetries >= 0, "maxRetries cannot be negative");
+    com.ibm.cloud.sdk.core.util.Validator.isTrue(
+        builder.initialBackoffMillis >= 0 && builder.maxBackoffMillis >= 0,
+        "backoff cannot be negative");
+    endpoint = builder.endpoint;
+    maxUtterancesPerRequest = builder.maxUtterancesPerRequest;
+    maxCharactersPerRequest = builder.maxCharactersPerRequest;
+    maxConcurrency = builder.maxConcurrency;
+    maxBufferedUtterances = builder.maxBufferedUtterances;
+    maxRetries = builder.maxRetries;
+    retryPolicy = new RetryPolicy(builder.initialBackoffMillis, builder.maxBackoffMillis);
+    failureListener = builder.failureListener;
+  }
+
+  /**
+   * Classifies utterances.
+   *
+   * @param utterances the utterances
+   * @return the classifications, which must be closed if they are not all consumed
+   */
+  public BulkClassifyResults<O> classify(Iterable<U> utterances) {
+    com.ibm.cloud.sdk.core.util.Validator.notNull(utterances, "utterances cannot be null");
+    return classify(utterances.iterator());
+  }
+
+  /**
+   * Classifies utterances. The iterator is read when classifications are consumed and when
+   * responses arrive, by one thread at a time.
+   *
+   * @param utterances the utterances
+   * @return the classifications, which must be closed if they are not all consumed
+   */
+  public BulkClassifyResults<O> classify(Iterator<U> utterances) {
+    com.ibm.cloud.sdk.core.util.Validator.notNull(utterances, "utterances cannot be null");
+    Run<?> run = newRun(endpoint, utterances, null);
+    run.pump();
+    return new BulkClassifyResults<O>(run);
+  }
+
+  /**
+   * Classifies texts.
+   *
+   * @param texts the texts of the utterances
+   * @return the classifications, which must be closed if they are not all consumed
+   */
+  public BulkClassifyResults<O> classifyTexts(Iterable<String> texts) {
+    com.ibm.cloud.sdk.core.util.Validator.notNull(texts, "texts cannot be null");
+    return classify(toUtterances(texts.iterator()));
+  }
+
+  /**
+   * Classifies utterances without waiting for the classifications, which are passed to a consumer
+   * in the order of the utterances. The consumer is called by one thread at a time, from the
+   * threads receiving the responses, so it should return quickly.
+   *
+   * <p>Cancelling the future cancels the requests in flight and sends no more.
+   *
+   * @param utterances the utterances, read by one thread at a time
+   * @param consumer the consumer of the classifications
+   * @return a future completed with the statistics of the classification once every
+   *     classification has been consumed, or completed exceptionally if the utterances could not be
+   *     read
+   */
+  public CompletableFuture<BulkClassifyStatistics> classifyAsync(
+      Iterator<U> utterances, Consumer<? super O> consumer) {
+    com.ibm.cloud.sdk.core.util.Validator.notNull(utterances, "utterances cannot be null");
+    com.ibm.cloud.sdk.core.util.Validator.notNull(consumer, "consumer cannot be null");
+    final Run<?> run = newRun(endpoint, utterances, consumer);
+    run.future.whenComplete(
+        new BiConsumer<BulkClassifyStatistics, Throwable>() {
+          @Override
+          public void accept(BulkClassifyStatistics statistics, Throwable failure) {
+            if (run.future.isCancelled()) {
+              run.close();
+            }
+          }
+        });
+    run.pump();
+    run.drain();
+    return run.future;
+  }
+
+  private <R> Run<R> newRun(
+      BulkClassifyEndpoint<U, O, R> endpoint, Iterator<U> input, Consumer<? super O> consumer) {
+    return new Run<>(endpoint, input, consumer);
+  }
+
+  private Iterator<U> toUtterances(final Iterator<String> texts) {
+    return new Iterator<U>() {
+      @Override
+      public boolean hasNext() {
+        return texts.hasNext();
+      }
+
+      @Override
+      public U next() {
+        return endpoint.utterance(texts.next());
+      }
+    };
+  }
+
+  /** Utterances read together, whose classifications are returned together. */
+  private final class Chunk {
+    final List<U> utterances;
+    final Object[] outputs;
+    int pendingParts = 1;
+    boolean done;
+
+    Chunk(List<U> utterances) {
+      this.utterances = utterances;
+      this.outputs = new Object[utterances.size()];
+    }
+  }
+
+  /** The utterances of a chunk sent in one request, all of them unless the chunk was split. */
+  private final class Part {
+    final Chunk chunk;
+    final int from;
+    final int to;
+    int attempts;
+    long sentNanos;
+
+    Part(Chunk chunk, int from, int to) {
+      this.chunk = chunk;
+      this.from = from;
+      this.to = to;
+    }
+
+    int size() {
+      return to - from;
+    }
+  }
+
+  /**
+   * The state of one classification. Requests are sent by {@link #pump()}, called when the
+   * classification starts, when classifications are consumed and when requests complete;
+   * completed chunks wait in order to be returned by {@link #take()} or passed to the consumer by
+   * {@link #drain()}.
+   *
+   * @param <R> the type of the responses
+   */
+  final class Run<R> {
+    final BulkClassifyEndpoint<U, O, R> endpoint;
+    final Iterator<U> input;
+    final Consumer<? super O> consumer;
+    final CompletableFuture<BulkClassifyStatistics> future = new CompletableFuture<>();
+    final ScheduledThreadPoolExecutor scheduler;
+    final ArrayDeque<Chunk> window = new ArrayDeque<>();
+    final ArrayDeque<Part> queued = new ArrayDeque<>();
+    final Set<ServiceCall<R>> calls = new HashSet<>();
+    final AtomicInteger wip = new AtomicInteger();
+    final long startNanos = System.nanoTime();
+    volatile long endNanos;
+    final ConcurrencyLimiter limiter = new ConcurrencyLimiter(maxConcurrency);
+    final AtomicLong classifiedCount = new AtomicLong();
+    final AtomicLong failedCount = new AtomicLong();
+    final AtomicLong requestCount = new AtomicLong();
+    final AtomicLong retryCount = new AtomicLong();
+    final AtomicLong throttledCount = new AtomicLong();
+    final AtomicLong splitCount = new AtomicLong();
+    int requestSize = maxUtterancesPerRequest;
+    boolean pumpScheduled;
+    int buffered;
+    Chunk current;
+    int position;
+    U next;
+    boolean hasNext;
+    boolean exhausted;
+    boolean closed;
+    RuntimeException failure;
+
+    Run(BulkClassifyEndpoint<U, O, R> endpoint, Iterator<U> input, Consumer<? super O> consumer) {
+      this.endpoint = endpoint;
+      this.input = input;
+      this.consumer = consumer;
+      this.scheduler =
+          new ScheduledThreadPoolExecutor(1, new DaemonThreadFactory("assistant-bulk-classify"));
+    }
+
+    /** Sends requests while the bounds allow it. */
+    synchronized void pump() {
+      while (!closed) {
+        if (queued.isEmpty() && (exhausted || buffered >= maxBufferedUtterances)) {
+          break;
+        }
+        if (!limiter.tryAcquire()) {
+          schedulePump();
+          break;
+        }
+        Part part = queued.poll();
+        if (part == null) {
+          part = read();
+          if (part == null) {
+            limiter.release();
+            break;
+          }
+        }
+        send(part);
+      }
+      notifyAll();
+    }
+
+    /**
+     * Reads the utterances of the next request.
+     *
+     * @return the request, or null once the utterances are exhausted
+     */
+    private Part read() {
+      List<U> utterances = new ArrayList<>(requestSize);
+      long characters = 0;
+      try {
+        while (utterances.size() < requestSize && (hasNext || input.hasNext())) {
+          U utterance = hasNext ? next : input.next();
+          hasNext = false;
+          next = null;
+          int length = endpoint.length(utterance);
+          if (!utterances.isEmpty() && characters + length > maxCharactersPerRequest) {
+            // the utterance starts the next request, read once the buffer allows it
+            next = utterance;
+            hasNext = true;
+            break;
+          }
+          utterances.add(utterance);
+          characters += length;
+        }
+        if (!hasNext && !input.hasNext()) {
+          exhausted = true;
+        }
+      } catch (RuntimeException e) {
+        failure = e;
+        exhausted = true;
+      }
+      return utterances.isEmpty() ? null : addChunk(utterances);
+    }
+
+    private Part addChunk(List<U> utterances) {
+      Chunk chunk = new Chunk(utterances);
+      window.add(chunk);
+      buffered += utterances.size();
+      return new Part(chunk, 0, utterances.size());
+    }
+
+    /** Pumps again once requests are no longer paused; otherwise a response will pump. */
+    private void schedulePump() {
+      long pause = limiter.pauseNanos();
+      if (pause == 0 || pumpScheduled) {
+        return;
+      }
+      pumpScheduled = true;
+      execute(
+          new Runnable() {
+            @Override
+            public void run() {
+              synchronized (Run.this) {
+                pumpScheduled = false;
+              }
+              pump();
+            }
+          },
+          pause,
+          TimeUnit.NANOSECONDS);
+    }
+
+    synchronized void send(final Part part) {
+      if (closed) {
+        limiter.release();
+        return;
+      }
+      final ServiceCall<R> call;
+      try {
+        call = endpoint.call(new ArrayList<>(part.chunk.utterances.subList(part.from, part.to)));
+      } catch (final RuntimeException e) {
+        // invalid utterances; failed on another thread, as the caller holds the lock
+        execute(
+            new Runnable() {
+              @Override
+              public void run() {
+                fail(part, e);
+              }
+            },
+            0,
+            TimeUnit.MILLISECONDS);
+        return;
+      }
+      part.attempts++;
+      part.sentNanos = System.nanoTime();
+      requestCount.incrementAndGet();
+      calls.add(call);
+      call.enqueue(
+          new ServiceCallback<R>() {
+            @Override
+            public void onResponse(Response<R> response) {
+              forget(call);
+              complete(part, endpoint.outputs(response.getResult()));
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+              forget(call);
+              retryOrFail(part, e);
+            }
+          });
+    }
+
+    private synchronized void forget(ServiceCall<R> call) {
+      calls.remove(call);
+    }
+
+    private void complete(Part part, List<O> outputs) {
+      if (outputs == null || outputs.size() != part.size()) {
+        fail(
+            part,
+            new IllegalStateException(
+                "The service returned "
+                    + (outputs == null ? 0 : outputs.size())
+                    + " classifications for "
+                    + part.size()
+                    + " utterances"));
+        return;
+      }
+      limiter.onSuccess(System.nanoTime() - part.sentNanos);
+      synchronized (this) {
+        limiter.release();
+        Chunk chunk = part.chunk;
+        for (int i = 0; i < outputs.size(); i++) {
+          chunk.outputs[part.from + i] = outputs.get(i);
+        }
+        if (--chunk.pendingParts == 0) {
+          chunk.done = true;
+        }
+      }
+      classifiedCount.addAndGet(part.size());
+      pump();
+      if (consumer != null) {
+        drain();
+      }
+    }
+
+    private void retryOrFail(final Part part, Exception e) {
+      if (e instanceof ServiceResponseException
+          && ((ServiceResponseException) e).getStatusCode() == PAYLOAD_TOO_LARGE
+          && part.size() > 1) {
+        split(part);
+        return;
+      }
+      long delay = retryDelay(e, part.attempts - 1);
+      if (delay >= 0 && part.attempts <= maxRetries) {
+        retryCount.incrementAndGet();
+        if (execute(
+            new Runnable() {
+              @Override
+              public void run() {
+                send(part);
+              }
+            },
+            delay,
+            TimeUnit.MILLISECONDS)) {
+          return;
+        }
+      }
+      fail(part, e);
+    }
+
+    /** Sends the two halves of a request that was too large, and makes later requests smaller. */
+    private void split(Part part) {
+      splitCount.incrementAndGet();
+      synchronized (this) {
+        limiter.release();
+        int half = part.size() / 2;
+        requestSize = Math.max(1, Math.min(requestSize, half));
+        part.chunk.pendingParts++;
+        queued.addFirst(new Part(part.chunk, part.from + half, part.to));
+        queued.addFirst(new Part(part.chunk, part.from, part.from + half));
+      }
+      pump();
+    }
+
+    /**
+     * Computes the delay before a failed request is retried, and pauses sending when it was
+     * throttled.
+     *
+     * @return the delay in milliseconds, or -1 if the request must not be retried
+     */
+    private long retryDelay(Exception e, int attempt) {
+      long delay = retryPolicy.retryDelay(e, attempt);
+      if (RetryPolicy.isThrottled(e)) {
+        throttledCount.incrementAndGet();
+        limiter.onThrottled(delay);
+      }
+      return delay;
+    }
+
+    private boolean execute(Runnable task, long delay, TimeUnit unit) {
+      try {
+        scheduler.schedule(task, delay, unit);
+        return true;
+      } catch (RejectedExecutionException e) {
+        // the classification has ended
+        return false;
+      }
+    }
+
+    /** Records the utterances of a request that failed after its retries, and goes on. */
+    private void fail(Part part, Exception e) {
+      List<U> utterances;
+      synchronized (this) {
+        limiter.release();
+        Chunk chunk = part.chunk;
+        for (int i = part.from; i < part.to; i++) {
+          chunk.outputs[i] = FAILED;
+        }
+        if (--chunk.pendingParts == 0) {
+          chunk.done = true;
+        }
+        utterances = new ArrayList<>(chunk.utterances.subList(part.from, part.to));
+      }
+      failedCount.addAndGet(part.size());
+      if (failureListener != null) {
+        for (U utterance : utterances) {
+          try {
+            failureListener.accept(utterance, e);
+          } catch (RuntimeException listenerFailure) {
+            LOG.log(Level.WARNING, "Bulk classify failure listener failed", listenerFailure);
+          }
+        }
+      }
+      pump();
+      if (consumer != null) {
+        drain();
+      }
+    }
+
+    /**
+     * Removes the next classification that can be returned, skipping the utterances that failed.
+     *
+     * @return the classification, or null if it has not completed yet
+     */
+    @SuppressWarnings("unchecked")
+    private synchronized O poll() {
+      while (true) {
+        while (current != null && position < current.outputs.length) {
+          buffered--;
+          Object output = current.outputs[position++];
+          if (output != FAILED) {
+            return (O) output;
+          }
+        }
+        current = null;
+        Chunk head = window.peek();
+        if (head == null || !head.done) {
+          return null;
+        }
+        window.poll();
+        current = head;
+        position = 0;
+      }
+    }
+
+    private synchronized boolean finished() {
+      return closed || (exhausted && window.isEmpty() && current == null);
+    }
+
+    /**
+     * Waits for the next classification to return from {@link BulkClassifyResults}.
+     *
+     * @return the classification, or null once every classification has been returned
+     */
+    O take() {
+      O output;
+      synchronized (this) {
+        while ((output = poll()) == null) {
+          if (finished()) {
+            RuntimeException e = failure;
+            failure = null;
+            close();
+            if (e != null) {
+              throw e;
+            }
+            return null;
+          }
+          try {
+            wait();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            throw new RuntimeException(e);
+          }
+        }
+      }
+      pump();
+      return output;
+    }
+
+    /** Passes the classifications to the consumer, serialized by a work-in-progress counter. */
+    void drain() {
+      if (wip.getAndIncrement() != 0) {
+        return;
+      }
+      int missed = 1;
+      while (true) {
+        O output;
+        boolean consumed = false;
+        while (!future.isDone() && (output = poll()) != null) {
+          try {
+            consumer.accept(output);
+          } catch (RuntimeException e) {
+            LOG.log(Level.WARNING, "Bulk classify consumer failed", e);
+          }
+          consumed = true;
+        }
+        if (consumed) {
+          pump();
+        }
+        if (finished() && !future.isDone()) {
+          RuntimeException e;
+          synchronized (this) {
+            e = failure;
+          }
+          close();
+          if (e != null) {
+            future.completeExceptionally(e);
+          } else {
+            future.complete(statistics());
+          }
+        }
+        missed = wip.addAndGet(-missed);
+        if (missed == 0) {
+          return;
+        }
+      }
+    }
+
+    /** Cancels the requests in flight and sends no more. */
+    void close() {
+      List<ServiceCall<R>> inFlightCalls;
+      synchronized (this) {
+        if (endNanos == 0) {
+          endNanos = System.nanoTime();
+        }
+        if (closed) {
+          return;
+        }
+        closed = true;
+        window.clear();
+        queued.clear();
+        current = null;
+        inFlightCalls = new ArrayList<>(calls);
+        calls.clear();
+        notifyAll();
+      }
+      scheduler.shutdownNow();
+      for (ServiceCall<R> call : inFlightCalls) {
+        call.cancel();
+      }
+    }
+
+    synchronized BulkClassifyStatistics statistics() {
+      long end = endNanos != 0 ? endNanos : System.nanoTime();
+      return new BulkClassifyStatistics(
+          classifiedCount.get(),
+          failedCount.get(),
+          requestCount.get(),
+          retryCount.get(),
+          throttledCount.get(),
+          splitCount.get(),
+          TimeUnit.NANOSECONDS.toMillis(end - startNanos),
+          limiter.limit());
+    }
+  }
+}
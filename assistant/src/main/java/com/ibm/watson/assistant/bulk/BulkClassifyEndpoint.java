@@ -0,0 +1,66 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.assistant.bulk;
+
+import com.ibm.cloud.sdk.core.http.ServiceCall;
+import com.ibm.cloud.sdk.core.service.BaseService;
+import java.util.List;
+
+/**
+ * Sends the utterances of one request to a bulk classify method.
+ *
+ * @param <U> the type of the utterances
+ * @param <O> the type of the classification of an utterance
+ * @param <R> the type of the response
+ */
+abstract class BulkClassifyEndpoint<U, O, R> {
+
+  /**
+   * Gets the service sending the requests.
+   *
+   * @return the service
+   */
+  abstract BaseService service();
+
+  /**
+   * Creates the call classifying utterances.
+   *
+   * @param utterances the utterances
+   * @return the call
+   */
+  abstract ServiceCall<R> call(List<U> utterances);
+
+  /**
+   * Gets the classifications of a response, in the order of the utterances.
+   *
+   * @param response the response
+   * @return the classifications, or null if there are none
+   */
+  abstract List<O> outputs(R response);
+
+  /**
+   * Creates an utterance.
+   *
+   * @param text the text of the utterance
+   * @return the utterance
+   */
+  abstract U utterance(String text);
+
+  /**
+   * Gets the length of the text of an utterance.
+   *
+   * @param utterance the utterance
+   * @return the number of characters
+   */
+  abstract int length(U utterance);
+}
@@ -0,0 +1,98 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.assistant.bulk;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * The classifications of a bulk classification started by {@link BulkClassifier}, iterated in the
+ * order of the utterances as they become available. Utterances are read and sent only as fast as
+ * their classifications are consumed, so any number of utterances is classified in bounded memory.
+ *
+ * <p>The iterator may be used by one thread at a time. Closing the results cancels the requests in
+ * flight and sends no more.
+ *
+ * @param <O> the type of the classification of an utterance
+ */
+public final class BulkClassifyResults<O> implements Iterator<O>, AutoCloseable {
+
+  private final BulkClassifier<?, O>.Run<?> run;
+  private O next;
+
+  BulkClassifyResults(BulkClassifier<?, O>.Run<?> run) {
+    this.run = run;
+  }
+
+  /**
+   * Waits for the next classification, unless every utterance has been returned.
+   *
+   * @return true if there is another classification
+   * @throws RuntimeException if the utterances could not be read, once the classifications of the
+   *     utterances before have been returned
+   */
+  @Override
+  public boolean hasNext() {
+    if (next == null) {
+      next = run.take();
+    }
+    return next != null;
+  }
+
+  @Override
+  public O next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    O output = next;
+    next = null;
+    return output;
+  }
+
+  /**
+   * Gets a sequential stream of the classifications. Closing the stream closes the results.
+   *
+   * @return the stream
+   */
+  public Stream<O> stream() {
+    return StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL),
+            false)
+        .onClose(
+            new Runnable() {
+              @Override
+              public void run() {
+                close();
+              }
+            });
+  }
+
+  /**
+   * Gets the statistics of the classification so far.
+   *
+   * @return the statistics
+   */
+  public BulkClassifyStatistics getStatistics() {
+    return run.statistics();
+  }
+
+  @Override
+  public void close() {
+    next = null;
+    run.close();
+  }
+}
@@ -0,0 +1,143 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.assistant.bulk;
+
+/** The counters of a bulk classification at a point in time. */
+public final class BulkClassifyStatistics {
+
+  private final long classifiedCount;
+  private final long failedCount;
+  private final long requestCount;
+  private final long retryCount;
+  private final long throttledCount;
+  private final long splitCount;
+  private final long elapsedMillis;
+  private final int concurrencyLimit;
+
+  BulkClassifyStatistics(
+      long classifiedCount,
+      long failedCount,
+      long requestCount,
+      long retryCount,
+      long throttledCount,
+      long splitCount,
+      long elapsedMillis,
+      int concurrencyLimit) {
+    this.classifiedCount = classifiedCount;
+    this.failedCount = failedCount;
+    this.requestCount = requestCount;
+    this.retryCount = retryCount;
+    this.throttledCount = throttledCount;
+    this.splitCount = splitCount;
+    this.elapsedMillis = elapsedMillis;
+    this.concurrencyLimit = concurrencyLimit;
+  }
+
+  /**
+   * Gets the number of utterances classified.
+   *
+   * @return the classified count
+   */
+  public long getClassifiedCount() {
+    return classifiedCount;
+  }
+
+  /**
+   * Gets the number of utterances whose request failed after its retries.
+   *
+   * @return the failed count
+   */
+  public long getFailedCount() {
+    return failedCount;
+  }
+
+  /**
+   * Gets the number of requests sent, including retries.
+   *
+   * @return the request count
+   */
+  public long getRequestCount() {
+    return requestCount;
+  }
+
+  /**
+   * Gets the number of requests that were retried.
+   *
+   * @return the retry count
+   */
+  public long getRetryCount() {
+    return retryCount;
+  }
+
+  /**
+   * Gets the number of requests rejected by the rate limit of the service.
+   *
+   * @return the throttled count
+   */
+  public long getThrottledCount() {
+    return throttledCount;
+  }
+
+  /**
+   * Gets the number of requests rejected as too large, whose utterances were split in two.
+   *
+   * @return the split count
+   */
+  public long getSplitCount() {
+    return splitCount;
+  }
+
+  /**
+   * Gets the time since the classification started.
+   *
+   * @return the number of milliseconds
+   */
+  public long getElapsedMillis() {
+    return elapsedMillis;
+  }
+
+  /**
+   * Gets the current bound on the number of requests in flight, which is lowered when the service
+   * throttles requests or slows down.
+   *
+   * @return the concurrency limit
+   */
+  public int getConcurrencyLimit() {
+    return concurrencyLimit;
+  }
+
+  /**
+   * Gets the average number of utterances classified per second.
+   *
+   * @return the throughput
+   */
+  public double getUtterancesPerSecond() {
+    return elapsedMillis > 0 ? classifiedCount * 1000.0 / elapsedMillis : 0;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "BulkClassifyStatistics{classified=%d, failed=%d, requests=%d, retries=%d, throttled=%d,"
+            + " splits=%d, elapsedMillis=%d, concurrencyLimit=%d, utterancesPerSecond=%.1f}",
+        classifiedCount,
+        failedCount,
+        requestCount,
+        retryCount,
+        throttledCount,
+        splitCount,
+        elapsedMillis,
+        concurrencyLimit,
+        getUtterancesPerSecond());
+  }
+}
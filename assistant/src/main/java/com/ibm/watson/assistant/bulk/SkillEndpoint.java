@@ -0,0 +1,63 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.assistant.bulk;
+
+import com.ibm.cloud.sdk.core.http.ServiceCall;
+import com.ibm.cloud.sdk.core.service.BaseService;
+import com.ibm.watson.assistant.v2.Assistant;
+import com.ibm.watson.assistant.v2.model.BulkClassifyOptions;
+import com.ibm.watson.assistant.v2.model.BulkClassifyOutput;
+import com.ibm.watson.assistant.v2.model.BulkClassifyResponse;
+import com.ibm.watson.assistant.v2.model.BulkClassifyUtterance;
+import java.util.List;
+
+/** Classifies utterances with an action or dialog skill, with Assistant v2. */
+final class SkillEndpoint
+    extends BulkClassifyEndpoint<BulkClassifyUtterance, BulkClassifyOutput, BulkClassifyResponse> {
+
+  private final Assistant assistant;
+  private final String skillId;
+
+  SkillEndpoint(Assistant assistant, String skillId) {
+    com.ibm.cloud.sdk.core.util.Validator.notNull(assistant, "assistant cannot be null");
+    com.ibm.cloud.sdk.core.util.Validator.notEmpty(skillId, "skillId cannot be empty");
+    this.assistant = assistant;
+    this.skillId = skillId;
+  }
+
+  @Override
+  BaseService service() {
+    return assistant;
+  }
+
+  @Override
+  ServiceCall<BulkClassifyResponse> call(List<BulkClassifyUtterance> utterances) {
+    return assistant.bulkClassify(
+        new BulkClassifyOptions.Builder().skillId(skillId).input(utterances).build());
+  }
+
+  @Override
+  List<BulkClassifyOutput> outputs(BulkClassifyResponse response) {
+    return response.getOutput();
+  }
+
+  @Override
+  BulkClassifyUtterance utterance(String text) {
+    return new BulkClassifyUtterance.Builder(text).build();
+  }
+
+  @Override
+  int length(BulkClassifyUtterance utterance) {
+    return utterance.text() != null ? utterance.text().length() : 0;
+  }
+}
@@ -0,0 +1,63 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.assistant.bulk;
+
+import com.ibm.cloud.sdk.core.http.ServiceCall;
+import com.ibm.cloud.sdk.core.service.BaseService;
+import com.ibm.watson.assistant.v1.Assistant;
+import com.ibm.watson.assistant.v1.model.BulkClassifyOptions;
+import com.ibm.watson.assistant.v1.model.BulkClassifyOutput;
+import com.ibm.watson.assistant.v1.model.BulkClassifyResponse;
+import com.ibm.watson.assistant.v1.model.BulkClassifyUtterance;
+import java.util.List;
+
+/** Classifies utterances with a workspace, with Assistant v1. */
+final class WorkspaceEndpoint
+    extends BulkClassifyEndpoint<BulkClassifyUtterance, BulkClassifyOutput, BulkClassifyResponse> {
+
+  private final Assistant assistant;
+  private final String workspaceId;
+
+  WorkspaceEndpoint(Assistant assistant, String workspaceId) {
+    com.ibm.cloud.sdk.core.util.Validator.notNull(assistant, "assistant cannot be null");
+    com.ibm.cloud.sdk.core.util.Validator.notEmpty(workspaceId, "workspaceId cannot be empty");
+    this.assistant = assistant;
+    this.workspaceId = workspaceId;
+  }
+
+  @Override
+  BaseService service() {
+    return assistant;
+  }
+
+  @Override
+  ServiceCall<BulkClassifyResponse> call(List<BulkClassifyUtterance> utterances) {
+    return assistant.bulkClassify(
+        new BulkClassifyOptions.Builder().workspaceId(workspaceId).input(utterances).build());
+  }
+
+  @Override
+  List<BulkClassifyOutput> outputs(BulkClassifyResponse response) {
+    return response.getOutput();
+  }
+
+  @Override
+  BulkClassifyUtterance utterance(String text) {
+    return new BulkClassifyUtterance.Builder(text).build();
+  }
+
+  @Override
+  int length(BulkClassifyUtterance utterance) {
+    return utterance.text() != null ? utterance.text().length() : 0;
+  }
+}
@@ -0,0 +1,317 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.assistant.context;
+
+import com.google.gson.JsonObject;
+import com.ibm.watson.assistant.v2.model.StatelessMessageContext;
+import com.ibm.watson.common.DaemonThreadFactory;
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+/**
+ * Keeps the contexts of stateless conversations in memory, encoded by a {@link ContextCodec}.
+ *
+ * <p>Each context is kept as a full encoding followed by the deltas of the turns since. A turn
+ * that started from the stored context appends its delta, until the deltas add up to <code>
+ * maxDeltaRatio</code> of the full encoding or there are <code>maxDeltas</code> of them; the
+ * context is then encoded in full again. Property names are shared by all the contexts: beyond
+ * the names defined by the service, the first <code>maxSharedNames</code> names encoded are
+ * replaced by indexes.
+ *
+ * <p>With <code>offHeap</code> set, the encodings are kept in direct buffers, outside of the
+ * Java heap. Contexts not loaded or saved for <code>expireAfterAccessMillis</code> are removed.
+ */
+public final class CompactContextStore implements ContextStore, Closeable {
+
+  private final ContextCodec codec;
+  private final boolean offHeap;
+  private final int maxDeltas;
+  private final double maxDeltaRatio;
+  private final long expireAfterAccessNanos;
+  private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+  private final AtomicLong encodedBytes = new AtomicLong();
+  private final ScheduledThreadPoolExecutor scheduler;
+
+  /** Builder. */
+  public static final class Builder {
+    private boolean offHeap;
+    private int maxDeltas = 8;
+    private double maxDeltaRatio = 0.5;
+    private int maxSharedNames = 4096;
+    private long expireAfterAccessMillis = TimeUnit.HOURS.toMillis(1);
+
+    /** Instantiates a new builder. */
+    public Builder() {}
+
+    /**
+     * Set whether the encodings are kept outside of the Java heap. Defaults to false.
+     *
+     * @param offHeap true to keep the encodings in direct buffers
+     * @return the CompactContextStore builder
+     */
+    public Builder offHeap(boolean offHeap) {
+      this.offHeap = offHeap;
+      return this;
+    }
+
+    /**
+     * Set the maximum number of deltas kept after a full encoding, 0 to always encode contexts
+     * in full. Defaults to 8.
+     *
+     * @param maxDeltas the maximum number of deltas
+     * @return the CompactContextStore builder
+     */
+    public Builder maxDeltas(int maxDeltas) {
+      this.maxDeltas = maxDeltas;
+      return this;
+    }
+
+    /**
+     * Set the maximum total size of the deltas, relative to the size of the full encoding.
+     * Defaults to 0.5.
+     *
+     * @param maxDeltaRatio the ratio
+     * @return the CompactContextStore builder
+     */
+    public Builder maxDeltaRatio(double maxDeltaRatio) {
+      this.maxDeltaRatio = maxDeltaRatio;
+      return this;
+    }
+
+    /**
+     * Set the maximum number of property names shared by the contexts. Defaults to 4096.
+     *
+     * @param maxSharedNames the maximum number of names
+     * @return the CompactContextStore builder
+     */
+    public Builder maxSharedNames(int maxSharedNames) {
+      this.maxSharedNames = maxSharedNames;
+      return this;
+    }
+
+    /**
+     * Set how long a context is kept after it was last loaded or saved. Defaults to 1 hour.
+     *
+     * @param expireAfterAccessMillis the time in milliseconds
+     * @return the CompactContextStore builder
+     */
+    public Builder expireAfterAccessMillis(long expireAfterAccessMillis) {
+      this.expireAfterAccessMillis = expireAfterAccessMillis;
+      return this;
+    }
+
+    /**
+     * Builds a CompactContextStore.
+     *
+     * @return the new CompactContextStore instance
+     */
+    public CompactContextStore build() {
+      return new CompactContextStore(this);
+    }
+  }
+
+  private CompactContextStore(Builder builder) {
+    com.ibm.cloud.sdk.core.util.Validator.isTrue(
+        builder.maxDeltas >= 0, "maxDeltas cannot be negative");
+    com.ibm.cloud.sdk.core.util.Validator.isTrue(
+        builder.maxDeltaRatio >= 0, "maxDeltaRatio cannot be negative");
+    com.ibm.cloud.sdk.core.util.Validator.isTrue(
+        builder.maxSharedNames >= 0, "maxSharedNames cannot be negative");
+    com.ibm.cloud.sdk.core.util.Validator.isTrue(
+        builder.expireAfterAccessMillis > 0, "expireAfterAccessMillis must be positive");
+    codec = new ContextCodec(builder.maxSharedNames);
+    offHeap = builder.offHeap;
+    maxDeltas = builder.maxDeltas;
+    maxDeltaRatio = builder.maxDeltaRatio;
+    expireAfterAccessNanos = TimeUnit.MILLISECONDS.toNanos(builder.expireAfterAccessMillis);
+
+    scheduler =
+        new ScheduledThreadPoolExecutor(1, new DaemonThreadFactory("assistant-context-store"));
+    // an expired context is removed at most a quarter of the expiry late
+    long sweepPeriodMillis = Math.max(1, builder.expireAfterAccessMillis / 4);
+    scheduler.scheduleWithFixedDelay(
+        new Runnable() {
+          @Override
+          public void run() {
+            evictExpired(System.nanoTime());
+          }
+        },
+        sweepPeriodMillis,
+        sweepPeriodMillis,
+        TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public StatelessMessageContext load(String key) {
+    com.ibm.cloud.sdk.core.util.Validator.notNull(key, "key cannot be null");
+    Entry entry = entries.get(key);
+    long now = System.nanoTime();
+    if (entry == null) {
+      return null;
+    }
+    if (entry.isExpired(now)) {
+      remove(key, entry);
+      return null;
+    }
+    entry.accessNanos = now;
+    JsonObject tree = codec.decodeTree(entry.snapshot.duplicate());
+    for (ByteBuffer delta : entry.deltas) {
+      codec.applyDelta(tree, delta.duplicate());
+    }
+    return ContextCodec.fromTree(tree);
+  }
+
+  @Override
+  public void save(String key, StatelessMessageContext previous, StatelessMessageContext context) {
+    com.ibm.cloud.sdk.core.util.Validator.notNull(key, "key cannot be null");
+    com.ibm.cloud.sdk.core.util.Validator.notNull(context, "context cannot be null");
+    JsonObject tree = ContextCodec.toTree(context);
+    byte[] snapshot = codec.encode(tree);
+    long checksum = checksum(snapshot);
+    JsonObject previousTree = previous != null ? ContextCodec.toTree(previous) : null;
+    long previousChecksum = previousTree != null ? checksum(codec.encode(previousTree)) : -1;
+
+    while (true) {
+      Entry current = entries.get(key);
+      Entry next = null;
+      // a delta is only valid on top of the context the turn started from
+      if (current != null
+          && previousTree != null
+          && current.checksum == previousChecksum
+          && current.deltas.length < maxDeltas) {
+        byte[] delta = codec.encodeDelta(previousTree, tree);
+        if (current.deltaBytes + delta.length <= current.snapshot.remaining() * maxDeltaRatio) {
+          next = current.withDelta(store(delta), checksum);
+        }
+      }
+      if (next == null) {
+        next = new Entry(store(snapshot), new ByteBuffer[0], 0, checksum);
+      }
+      boolean replaced;
+      if (current == null) {
+        replaced = entries.putIfAbsent(key, next) == null;
+      } else {
+        replaced = entries.replace(key, current, next);
+      }
+      if (replaced) {
+        encodedBytes.addAndGet(next.size() - (current != null ? current.size() : 0));
+        return;
+      }
+    }
+  }
+
+  @Override
+  public void remove(String key) {
+    com.ibm.cloud.sdk.core.util.Validator.notNull(key, "key cannot be null");
+    Entry entry = entries.remove(key);
+    if (entry != null) {
+      encodedBytes.addAndGet(-entry.size());
+    }
+  }
+
+  /**
+   * Gets the number of contexts stored.
+   *
+   * @return the number of contexts
+   */
+  public int size() {
+    return entries.size();
+  }
+
+  /**
+   * Gets the total size of the encodings of the stored contexts.
+   *
+   * @return the number of bytes
+   */
+  public long getEncodedBytes() {
+    return encodedBytes.get();
+  }
+
+  /** Removes every context and stops removing expired contexts. */
+  @Override
+  public void close() {
+    scheduler.shutdownNow();
+    entries.clear();
+    encodedBytes.set(0);
+  }
+
+  void evictExpired(long now) {
+    Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<String, Entry> entry = iterator.next();
+      if (entry.getValue().isExpired(now)) {
+        remove(entry.getKey(), entry.getValue());
+      }
+    }
+  }
+
+  private void remove(String key, Entry entry) {
+    if (entries.remove(key, entry)) {
+      encodedBytes.addAndGet(-entry.size());
+    }
+  }
+
+  private ByteBuffer store(byte[] bytes) {
+    if (!offHeap) {
+      return ByteBuffer.wrap(bytes);
+    }
+    ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+    buffer.put(bytes);
+    buffer.flip();
+    return buffer;
+  }
+
+  private static long checksum(byte[] bytes) {
+    CRC32 crc = new CRC32();
+    crc.update(bytes, 0, bytes.length);
+    return crc.getValue();
+  }
+
+  /** The encodings of a context; replaced as a whole when the context is saved. */
+  private final class Entry {
+    final ByteBuffer snapshot;
+    final ByteBuffer[] deltas;
+    final int deltaBytes;
+    final long checksum;
+    volatile long accessNanos = System.nanoTime();
+
+    Entry(ByteBuffer snapshot, ByteBuffer[] deltas, int deltaBytes, long checksum) {
+      this.snapshot = snapshot;
+      this.deltas = deltas;
+      this.deltaBytes = deltaBytes;
+      this.checksum = checksum;
+    }
+
+    Entry withDelta(ByteBuffer delta, long checksum) {
+      ByteBuffer[] grown = Arrays.copyOf(deltas, deltas.length + 1);
+      grown[deltas.length] = delta;
+      return new Entry(snapshot, grown, deltaBytes + delta.remaining(), checksum);
+    }
+
+    long size() {
+      return snapshot.remaining() + deltaBytes;
+    }
+
+    boolean isExpired(long now) {
+      return now - accessNanos >= expireAfterAccessNanos;
+    }
+  }
+}
@@ -0,0 +1,500 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.assistant.context;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import com.ibm.cloud.sdk.core.util.GsonSingleton;
+import com.ibm.watson.assistant.v2.model.StatelessMessageContext;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Encodes stateless message contexts in a compact binary form, and the changes between the
+ * contexts of two turns as deltas.
+ *
+ * <p>The encoding is a tree of tagged values: integers and integral doubles are written as
+ * variable-length integers and strings as UTF-8, without the quotes, separators and escapes of
+ * JSON. The names of the properties defined by the service are written as one-byte indexes. A
+ * delta lists the properties set or removed at each level of the context, so a turn that only
+ * changes a few variables is encoded in a few bytes.
+ *
+ * <p>The encodings do not depend on the process, so they can be kept in an external store by a
+ * {@link ContextStore} implementation. A stored context is decoded with {@link #decode(byte[],
+ * byte[]...)} from its last full encoding and the deltas written after it.
+ */
+public final class ContextCodec {
+  private static final Gson GSON = GsonSingleton.getGsonWithoutPrettyPrinting();
+
+  private static final byte SNAPSHOT = 1;
+  private static final byte DELTA = 2;
+
+  private static final int NULL = 0;
+  private static final int FALSE = 1;
+  private static final int TRUE = 2;
+  private static final int INTEGER = 3;
+  private static final int INTEGRAL_DOUBLE = 4;
+  private static final int DOUBLE = 5;
+  private static final int NUMBER = 6;
+  private static final int STRING = 7;
+  private static final int OBJECT = 8;
+  private static final int ARRAY = 9;
+
+  private static final int SET = 0;
+  private static final int REMOVE = 1;
+  private static final int PATCH = 2;
+
+  /** The names of the properties of the context; the order is part of the encoding. */
+  private static final String[] WELL_KNOWN_NAMES = {
+    "global",
+    "skills",
+    "integrations",
+    "system",
+    "session_id",
+    "timezone",
+    "user_id",
+    "turn_count",
+    "locale",
+    "reference_time",
+    "session_start_time",
+    "state",
+    "skip_user_input",
+    "main skill",
+    "actions skill",
+    "user_defined",
+    "action_variables",
+    "skill_variables",
+    "private_action_variables",
+    "private_skill_variables"
+  };
+
+  private final int maxNames;
+  private final Map<String, Integer> nameIndexes = new ConcurrentHashMap<>();
+  private volatile String[] names;
+
+  /** Instantiates a codec whose encodings can be decoded by any other codec. */
+  public ContextCodec() {
+    this(WELL_KNOWN_NAMES.length);
+  }
+
+  /**
+   * Instantiates a codec that also assigns indexes to the first names it encodes, up to a total
+   * of <code>maxNames</code>. Its encodings can only be decoded by the same codec.
+   *
+   * @param maxNames the maximum number of names with an index
+   */
+  ContextCodec(int maxNames) {
+    this.maxNames = Math.max(maxNames, WELL_KNOWN_NAMES.length);
+    this.names = WELL_KNOWN_NAMES.clone();
+    for (int i = 0; i < names.length; i++) {
+      nameIndexes.put(names[i], i);
+    }
+  }
+
+  /**
+   * Encodes a context.
+   *
+   * @param context the context
+   * @return the encoding
+   */
+  public byte[] encode(StatelessMessageContext context) {
+    com.ibm.cloud.sdk.core.util.Validator.notNull(context, "context cannot be null");
+    return encode(toTree(context));
+  }
+
+  /**
+   * Encodes the changes between two contexts.
+   *
+   * @param previous the context before the changes
+   * @param context the context after the changes
+   * @return the encoding of the changes, which turns <code>previous</code> into <code>context
+   *     </code>
+   */
+  public byte[] encodeDelta(StatelessMessageContext previous, StatelessMessageContext context) {
+    com.ibm.cloud.sdk.core.util.Validator.notNull(previous, "previous cannot be null");
+    com.ibm.cloud.sdk.core.util.Validator.notNull(context, "context cannot be null");
+    return encodeDelta(toTree(previous), toTree(context));
+  }
+
+  /**
+   * Decodes a context.
+   *
+   * @param snapshot the encoding of the context
+   * @param deltas the encodings of the changes made to it since, in order
+   * @return the context
+   * @throws IllegalArgumentException if the bytes are not an encoding of this codec
+   */
+  public StatelessMessageContext decode(byte[] snapshot, byte[]... deltas) {
+    com.ibm.cloud.sdk.core.util.Validator.notNull(snapshot, "snapshot cannot be null");
+    JsonObject tree = decodeTree(ByteBuffer.wrap(snapshot));
+    for (byte[] delta : deltas) {
+      applyDelta(tree, ByteBuffer.wrap(delta));
+    }
+    return fromTree(tree);
+  }
+
+  static JsonObject toTree(StatelessMessageContext context) {
+    return GSON.toJsonTree(context).getAsJsonObject();
+  }
+
+  static StatelessMessageContext fromTree(JsonObject tree) {
+    return GSON.fromJson(tree, StatelessMessageContext.class);
+  }
+
+  byte[] encode(JsonObject tree) {
+    Output out = new Output();
+    out.writeByte(SNAPSHOT);
+    writeObject(tree, out);
+    return out.toByteArray();
+  }
+
+  byte[] encodeDelta(JsonObject previous, JsonObject tree) {
+    Output out = new Output();
+    out.writeByte(DELTA);
+    writePatch(previous, tree, out);
+    return out.toByteArray();
+  }
+
+  JsonObject decodeTree(ByteBuffer in) {
+    try {
+      checkFormat(in, SNAPSHOT);
+      return readObject(in);
+    } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+      throw new IllegalArgumentException("The encoded context is truncated", e);
+    }
+  }
+
+  void applyDelta(JsonObject tree, ByteBuffer in) {
+    try {
+      checkFormat(in, DELTA);
+      readPatch(tree, in);
+    } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+      throw new IllegalArgumentException("The encoded delta is truncated", e);
+    }
+  }
+
+  private static void checkFormat(ByteBuffer in, byte format) {
+    if (!in.hasRemaining() || in.get() != format) {
+      throw new IllegalArgumentException(
+          format == SNAPSHOT ? "Not an encoded context" : "Not an encoded delta");
+    }
+  }
+
+  private void writeValue(JsonElement value, Output out) {
+    if (value.isJsonNull()) {
+      out.writeVarint(NULL);
+    } else if (value.isJsonObject()) {
+      out.writeVarint(OBJECT);
+      writeObject(value.getAsJsonObject(), out);
+    } else if (value.isJsonArray()) {
+      JsonArray array = value.getAsJsonArray();
+      out.writeVarint(ARRAY);
+      out.writeVarint(array.size());
+      for (JsonElement element : array) {
+        writeValue(element, out);
+      }
+    } else {
+      JsonPrimitive primitive = value.getAsJsonPrimitive();
+      if (primitive.isBoolean()) {
+        out.writeVarint(primitive.getAsBoolean() ? TRUE : FALSE);
+      } else if (primitive.isString()) {
+        out.writeVarint(STRING);
+        out.writeString(primitive.getAsString());
+      } else {
+        writeNumber(primitive.getAsNumber(), out);
+      }
+    }
+  }
+
+  private static void writeNumber(Number number, Output out) {
+    if (number instanceof Long
+        || number instanceof Integer
+        || number instanceof Short
+        || number instanceof Byte) {
+      out.writeVarint(INTEGER);
+      out.writeSignedVarint(number.longValue());
+    } else if (number instanceof Double || number instanceof Float) {
+      double value = number.doubleValue();
+      // the numbers of Map properties are read as doubles, most of them integral
+      if (value == Math.rint(value)
+          && Math.abs(value) < 1L << 53
+          && (value != 0 || 1 / value > 0)) {
+        out.writeVarint(INTEGRAL_DOUBLE);
+        out.writeSignedVarint((long) value);
+      } else {
+        out.writeVarint(DOUBLE);
+        out.writeLong(Double.doubleToRawLongBits(value));
+      }
+    } else {
+      // a number parsed lazily or of arbitrary precision, kept as written
+      out.writeVarint(NUMBER);
+      out.writeString(number.toString());
+    }
+  }
+
+  private void writeObject(JsonObject object, Output out) {
+    out.writeVarint(object.size());
+    for (Map.Entry<String, JsonElement> member : object.entrySet()) {
+      writeName(member.getKey(), out);
+      writeValue(member.getValue(), out);
+    }
+  }
+
+  private void writePatch(JsonObject previous, JsonObject object, Output out) {
+    List<String> removed = new ArrayList<>();
+    for (String name : previous.keySet()) {
+      if (!object.has(name)) {
+        removed.add(name);
+      }
+    }
+    List<Map.Entry<String, JsonElement>> changed = new ArrayList<>();
+    for (Map.Entry<String, JsonElement> member : object.entrySet()) {
+      if (!member.getValue().equals(previous.get(member.getKey()))) {
+        changed.add(member);
+      }
+    }
+    out.writeVarint(removed.size() + changed.size());
+    for (String name : removed) {
+      out.writeVarint(REMOVE);
+      writeName(name, out);
+    }
+    for (Map.Entry<String, JsonElement> member : changed) {
+      JsonElement before = previous.get(member.getKey());
+      JsonElement after = member.getValue();
+      if (before != null && before.isJsonObject() && after.isJsonObject()) {
+        out.writeVarint(PATCH);
+        writeName(member.getKey(), out);
+        writePatch(before.getAsJsonObject(), after.getAsJsonObject(), out);
+      } else {
+        out.writeVarint(SET);
+        writeName(member.getKey(), out);
+        writeValue(after, out);
+      }
+    }
+  }
+
+  /** Writes the index of a name plus one, or 0 followed by the name. */
+  private void writeName(String name, Output out) {
+    Integer index = nameIndexes.get(name);
+    if (index == null && names.length < maxNames) {
+      index = addName(name);
+    }
+    if (index != null) {
+      out.writeVarint(index + 1);
+    } else {
+      out.writeVarint(0);
+      out.writeString(name);
+    }
+  }
+
+  private synchronized Integer addName(String name) {
+    Integer index = nameIndexes.get(name);
+    if (index == null && names.length < maxNames) {
+      String[] grown = Arrays.copyOf(names, names.length + 1);
+      index = names.length;
+      grown[index] = name;
+      names = grown;
+      nameIndexes.put(name, index);
+    }
+    return index;
+  }
+
+  private String readName(ByteBuffer in) {
+    int index = (int) readVarint(in);
+    if (index == 0) {
+      return readString(in);
+    }
+    String[] known = names;
+    if (index > known.length) {
+      throw new IllegalArgumentException("The encoding refers to an unknown name");
+    }
+    return known[index - 1];
+  }
+
+  private JsonElement readValue(ByteBuffer in) {
+    int tag = (int) readVarint(in);
+    switch (tag) {
+      case NULL:
+        return JsonNull.INSTANCE;
+      case FALSE:
+        return new JsonPrimitive(false);
+      case TRUE:
+        return new JsonPrimitive(true);
+      case INTEGER:
+        return new JsonPrimitive(readSignedVarint(in));
+      case INTEGRAL_DOUBLE:
+        return new JsonPrimitive((double) readSignedVarint(in));
+      case DOUBLE:
+        return new JsonPrimitive(Double.longBitsToDouble(in.getLong()));
+      case NUMBER:
+        return JsonParser.parseString(readString(in));
+      case STRING:
+        return new JsonPrimitive(readString(in));
+      case OBJECT:
+        return readObject(in);
+      case ARRAY:
+        int size = readSize(in);
+        JsonArray array = new JsonArray(size);
+        for (int i = 0; i < size; i++) {
+          array.add(readValue(in));
+        }
+        return array;
+      default:
+        throw new IllegalArgumentException("The encoding contains an unknown tag " + tag);
+    }
+  }
+
+  private JsonObject readObject(ByteBuffer in) {
+    int size = readSize(in);
+    JsonObject object = new JsonObject();
+    for (int i = 0; i < size; i++) {
+      String name = readName(in);
+      object.add(name, readValue(in));
+    }
+    return object;
+  }
+
+  private void readPatch(JsonObject object, ByteBuffer in) {
+    int size = readSize(in);
+    for (int i = 0; i < size; i++) {
+      int operation = (int) readVarint(in);
+      String name = readName(in);
+      switch (operation) {
+        case SET:
+          object.add(name, readValue(in));
+          break;
+        case REMOVE:
+          object.remove(name);
+          break;
+        case PATCH:
+          JsonElement member = object.get(name);
+          if (member == null || !member.isJsonObject()) {
+            throw new IllegalArgumentException("The delta does not apply to the context");
+          }
+          readPatch(member.getAsJsonObject(), in);
+          break;
+        default:
+          throw new IllegalArgumentException("The delta contains an unknown operation");
+      }
+    }
+  }
+
+  private static long readVarint(ByteBuffer in) {
+    long value = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      byte b = in.get();
+      value |= (long) (b & 0x7F) << shift;
+      if (b >= 0) {
+        return value;
+      }
+    }
+    throw new IllegalArgumentException("The encoding contains a malformed integer");
+  }
+
+  private static long readSignedVarint(ByteBuffer in) {
+    long value = readVarint(in);
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  /**
+   * Reads the length of a string or the number of members of an object, elements of an array or
+   * operations of a patch, each of which takes at least one byte, so a size larger than the bytes
+   * left is truncated and is not allocated.
+   */
+  private static int readSize(ByteBuffer in) {
+    long size = readVarint(in);
+    if (size < 0 || size > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("The encoding contains an invalid size");
+    }
+    if (size > in.remaining()) {
+      throw new BufferUnderflowException();
+    }
+    return (int) size;
+  }
+
+  private static String readString(ByteBuffer in) {
+    int length = readSize(in);
+    String value;
+    if (in.hasArray()) {
+      value =
+          new String(
+              in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+    } else {
+      byte[] bytes = new byte[length];
+      in.duplicate().get(bytes);
+      value = new String(bytes, StandardCharsets.UTF_8);
+    }
+    in.position(in.position() + length);
+    return value;
+  }
+
+  /** A growable byte array. */
+  private static final class Output {
+    private byte[] buffer = new byte[256];
+    private int size;
+
+    private void ensure(int count) {
+      if (size + count > buffer.length) {
+        buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + count));
+      }
+    }
+
+    void writeByte(int b) {
+      ensure(1);
+      buffer[size++] = (byte) b;
+    }
+
+    void writeVarint(long value) {
+      ensure(10);
+      while ((value & ~0x7FL) != 0) {
+        buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+        value >>>= 7;
+      }
+      buffer[size++] = (byte) value;
+    }
+
+    void writeSignedVarint(long value) {
+      writeVarint((value << 1) ^ (value >> 63));
+    }
+
+    void writeLong(long value) {
+      ensure(8);
+      for (int shift = 56; shift >= 0; shift -= 8) {
+        buffer[size++] = (byte) (value >>> shift);
+      }
+    }
+
+    void writeString(String value) {
+      byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+      writeVarint(bytes.length);
+      ensure(bytes.length);
+      System.arraycopy(bytes, 0, buffer, size, bytes.length);
+      size += bytes.length;
+    }
+
+    byte[] toByteArray() {
+      return Arrays.copyOf(buffer, size);
+    }
+  }
+}
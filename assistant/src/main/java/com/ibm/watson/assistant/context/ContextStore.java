@@ -0,0 +1,54 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.assistant.context;
+
+import com.ibm.watson.assistant.v2.model.StatelessMessageContext;
+
+/**
+ * Stores the contexts of stateless conversations between turns. Implementations must be
+ * thread-safe.
+ *
+ * <p>{@link #save} receives the context the turn started from as well as the new one, so that an
+ * implementation can store the changes between them, encoded by {@link
+ * ContextCodec#encodeDelta}, instead of the whole context.
+ *
+ * @see CompactContextStore
+ * @see StatelessConversation
+ */
+public interface ContextStore {
+
+  /**
+   * Loads the context of a conversation.
+   *
+   * @param key the key of the conversation
+   * @return the context, or null if none is stored
+   */
+  StatelessMessageContext load(String key);
+
+  /**
+   * Saves the context of a conversation after a turn.
+   *
+   * @param key the key of the conversation
+   * @param previous the context the turn started from, as loaded, or null if the conversation is
+   *     new
+   * @param context the context returned by the service
+   */
+  void save(String key, StatelessMessageContext previous, StatelessMessageContext context);
+
+  /**
+   * Removes the context of a conversation.
+   *
+   * @param key the key of the conversation
+   */
+  void remove(String key);
+}
@@ -0,0 +1,106 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.assistant.context;
+
+import com.ibm.watson.assistant.v2.Assistant;
+import com.ibm.watson.assistant.v2.model.MessageStatelessOptions;
+import com.ibm.watson.assistant.v2.model.StatelessMessageContext;
+import com.ibm.watson.assistant.v2.model.StatelessMessageResponse;
+
+/**
+ * Sends stateless messages with the context of the conversation loaded from a {@link
+ * ContextStore}, and saves the context returned by the service.
+ *
+ * <p>A conversation is identified by the assistant, the environment and the user ID of the
+ * options, which is required. {@link #message} does both steps around a synchronous call; {@link
+ * #prepare} and {@link #save} do them separately, around an asynchronous one.
+ */
+public final class StatelessConversation {
+
+  private final Assistant assistant;
+  private final ContextStore store;
+
+  /**
+   * Instantiates a new conversation helper.
+   *
+   * @param assistant the client sending the messages
+   * @param store the store of the contexts
+   */
+  public StatelessConversation(Assistant assistant, ContextStore store) {
+    com.ibm.cloud.sdk.core.util.Validator.notNull(assistant, "assistant cannot be null");
+    com.ibm.cloud.sdk.core.util.Validator.notNull(store, "store cannot be null");
+    this.assistant = assistant;
+    this.store = store;
+  }
+
+  /**
+   * Sends a message with the stored context and saves the context of the response.
+   *
+   * @param options the options of the message, whose context is ignored
+   * @return the response
+   */
+  public StatelessMessageResponse message(MessageStatelessOptions options) {
+    MessageStatelessOptions prepared = prepare(options);
+    StatelessMessageResponse response = assistant.messageStateless(prepared).execute().getResult();
+    save(prepared, response);
+    return response;
+  }
+
+  /**
+   * Sets the stored context of the conversation in the options of a message.
+   *
+   * @param options the options of the message, whose context is ignored
+   * @return the options with the stored context, or without a context if the conversation is new
+   */
+  public MessageStatelessOptions prepare(MessageStatelessOptions options) {
+    StatelessMessageContext context = store.load(key(options));
+    return options.newBuilder().context(context).build();
+  }
+
+  /**
+   * Saves the context returned for a message.
+   *
+   * @param prepared the options the message was sent with, as returned by {@link #prepare}
+   * @param response the response
+   */
+  public void save(MessageStatelessOptions prepared, StatelessMessageResponse response) {
+    com.ibm.cloud.sdk.core.util.Validator.notNull(response, "response cannot be null");
+    if (response.getContext() != null) {
+      store.save(key(prepared), prepared.context(), response.getContext());
+    }
+  }
+
+  /**
+   * Ends a conversation, removing its context.
+   *
+   * @param assistantId the unique identifier of the assistant
+   * @param environmentId the unique identifier of the environment
+   * @param userId the user ID
+   */
+  public void end(String assistantId, String environmentId, String userId) {
+    store.remove(key(assistantId, environmentId, userId));
+  }
+
+  private static String key(MessageStatelessOptions options) {
+    com.ibm.cloud.sdk.core.util.Validator.notNull(options, "options cannot be null");
+    return key(options.assistantId(), options.environmentId(), options.userId());
+  }
+
+  private static String key(String assistantId, String environmentId, String userId) {
+    com.ibm.cloud.sdk.core.util.Validator.notEmpty(assistantId, "assistantId cannot be empty");
+    com.ibm.cloud.sdk.core.util.Validator.notEmpty(environmentId, "environmentId cannot be empty");
+    com.ibm.cloud.sdk.core.util.Validator.notEmpty(userId, "userId cannot be empty");
+    // the identifiers of the assistant and environment cannot contain a slash
+    return assistantId + '/' + environmentId + '/' + userId;
+  }
+}
@@ -0,0 +1,155 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.assistant.session;
+
+import com.ibm.watson.assistant.v2.model.MessageOptions;
+import com.ibm.watson.assistant.v2.model.MessageStreamOptions;
+import java.io.Closeable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A session acquired from a {@link SessionPool}. Closing it ends the conversation: the session is
+ * deleted in the background, unless it has already timed out.
+ *
+ * <p>The service ends a session after a period without messages, so the pool keeps track of the
+ * last activity locally. {@link #touch()} should be called whenever a message is sent in the
+ * session; the messages built from {@link #messageOptions()} and {@link #messageStreamOptions()}
+ * are counted when they are built.
+ */
+public final class PooledSession implements Closeable {
+
+  private final SessionPool pool;
+  private final String assistantId;
+  private final String environmentId;
+  private final String sessionId;
+  private final AtomicBoolean closed = new AtomicBoolean();
+  private volatile long lastActivityNanos;
+
+  PooledSession(
+      SessionPool pool,
+      String assistantId,
+      String environmentId,
+      String sessionId,
+      long lastActivityNanos) {
+    this.pool = pool;
+    this.assistantId = assistantId;
+    this.environmentId = environmentId;
+    this.sessionId = sessionId;
+    this.lastActivityNanos = lastActivityNanos;
+  }
+
+  /**
+   * Gets the assistant ID.
+   *
+   * @return the assistant ID
+   */
+  public String getAssistantId() {
+    return assistantId;
+  }
+
+  /**
+   * Gets the environment ID.
+   *
+   * @return the environment ID
+   */
+  public String getEnvironmentId() {
+    return environmentId;
+  }
+
+  /**
+   * Gets the session ID.
+   *
+   * @return the session ID
+   */
+  public String getSessionId() {
+    return sessionId;
+  }
+
+  /**
+   * Creates a builder of the options of a message sent in this session, and records the activity.
+   *
+   * @return the MessageOptions builder
+   */
+  public MessageOptions.Builder messageOptions() {
+    touch();
+    return new MessageOptions.Builder(assistantId, environmentId, sessionId);
+  }
+
+  /**
+   * Creates a builder of the options of a streamed message sent in this session, and records the
+   * activity.
+   *
+   * @return the MessageStreamOptions builder
+   */
+  public MessageStreamOptions.Builder messageStreamOptions() {
+    touch();
+    return new MessageStreamOptions.Builder(assistantId, environmentId, sessionId);
+  }
+
+  /** Records activity in the session, which restarts its inactivity timeout. */
+  public void touch() {
+    lastActivityNanos = System.nanoTime();
+  }
+
+  /**
+   * Gets the time left before the service ends the session, assuming no activity in between.
+   *
+   * @return the number of milliseconds, or 0 if the session has timed out
+   */
+  public long getRemainingMillis() {
+    return Math.max(0, TimeUnit.NANOSECONDS.toMillis(remainingNanos(System.nanoTime())));
+  }
+
+  /**
+   * Checks whether the session has been inactive for longer than the session timeout, in which
+   * case the service has ended it.
+   *
+   * @return true if the session has timed out
+   */
+  public boolean isExpired() {
+    return remainingNanos(System.nanoTime()) <= 0;
+  }
+
+  /**
+   * Checks whether the session has been closed.
+   *
+   * @return true if the session has been closed
+   */
+  public boolean isClosed() {
+    return closed.get();
+  }
+
+  /** Ends the conversation and deletes the session in the background. */
+  @Override
+  public void close() {
+    if (closed.compareAndSet(false, true)) {
+      pool.release(this);
+    }
+  }
+
+  long remainingNanos(long now) {
+    return lastActivityNanos + pool.sessionTimeoutNanos() - now;
+  }
+
+  @Override
+  public String toString() {
+    return "PooledSession{assistantId="
+        + assistantId
+        + ", environmentId="
+        + environmentId
+        + ", sessionId="
+        + sessionId
+        + "}";
+  }
+}
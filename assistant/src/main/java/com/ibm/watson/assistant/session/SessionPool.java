@@ -0,0 +1,487 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.assistant.session;
+
+import com.ibm.cloud.sdk.core.http.Response;
+import com.ibm.cloud.sdk.core.http.ServiceCallback;
+import com.ibm.cloud.sdk.core.service.exception.NotFoundException;
+import com.ibm.watson.assistant.v2.Assistant;
+import com.ibm.watson.assistant.v2.model.CreateSessionOptions;
+import com.ibm.watson.assistant.v2.model.DeleteSessionOptions;
+import com.ibm.watson.assistant.v2.model.SessionResponse;
+import com.ibm.watson.common.DaemonThreadFactory;
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Keeps sessions of Assistant v2 created in advance, so that a conversation can start without
+ * waiting for {@link Assistant#createSession}.
+ *
+ * <p>Sessions are pooled per assistant and environment. Once {@link #prewarm} or {@link #acquire}
+ * has been called for an assistant and environment, the pool creates sessions in the background
+ * to keep <code>minIdleSessions</code> of them waiting. {@link #acquire} takes the oldest waiting
+ * session, or creates one while the caller waits if none is left.
+ *
+ * <p>The service ends a session after <code>sessionTimeoutMillis</code> without activity. The
+ * pool counts the timeout from the time each session was requested, and discards waiting
+ * sessions that would time out within <code>refreshMarginMillis</code>, replacing them with new
+ * ones; a session about to time out is never handed out.
+ *
+ * <p>Closing a {@link PooledSession} ends its conversation. Sessions that have not timed out yet
+ * are deleted asynchronously, at most <code>deleteBatchSize</code> every <code>
+ * deleteIntervalMillis</code>, so that the deletes of many conversations ending together do not
+ * compete with the requests of the conversations going on.
+ */
+public final class SessionPool implements Closeable {
+  private static final Logger LOG = Logger.getLogger(SessionPool.class.getName());
+
+  private final Assistant assistant;
+  private final int minIdleSessions;
+  private final long sessionTimeoutNanos;
+  private final long refreshMarginNanos;
+  private final int deleteBatchSize;
+  private final ScheduledThreadPoolExecutor scheduler;
+  private final ConcurrentHashMap<String, Pool> pools = new ConcurrentHashMap<>();
+  private final ConcurrentLinkedQueue<PooledSession> deletes = new ConcurrentLinkedQueue<>();
+  private final AtomicLong hitCount = new AtomicLong();
+  private final AtomicLong missCount = new AtomicLong();
+  private final AtomicLong createdCount = new AtomicLong();
+  private final AtomicLong refreshedCount = new AtomicLong();
+  private final AtomicLong endedCount = new AtomicLong();
+  private final AtomicLong deletedCount = new AtomicLong();
+  private final AtomicLong failedCount = new AtomicLong();
+  private final AtomicInteger inUseCount = new AtomicInteger();
+  private volatile boolean closed;
+
+  /** Builder. */
+  public static final class Builder {
+    private final Assistant assistant;
+    private int minIdleSessions = 4;
+    private long sessionTimeoutMillis = TimeUnit.MINUTES.toMillis(5);
+    private long refreshMarginMillis = TimeUnit.SECONDS.toMillis(30);
+    private int deleteBatchSize = 20;
+    private long deleteIntervalMillis = 1000;
+
+    /**
+     * Instantiates a new builder.
+     *
+     * @param assistant the client creating and deleting the sessions
+     */
+    public Builder(Assistant assistant) {
+      this.assistant = assistant;
+    }
+
+    /**
+     * Set the number of sessions kept waiting for each assistant and environment. Defaults to 4.
+     *
+     * @param minIdleSessions the number of sessions
+     * @return the SessionPool builder
+     */
+    public Builder minIdleSessions(int minIdleSessions) {
+      this.minIdleSessions = minIdleSessions;
+      return this;
+    }
+
+    /**
+     * Set the inactivity timeout of the sessions, which depends on the plan of the service
+     * instance and the settings of the assistant. Defaults to 5 minutes.
+     *
+     * @param sessionTimeoutMillis the timeout in milliseconds
+     * @return the SessionPool builder
+     */
+    public Builder sessionTimeoutMillis(long sessionTimeoutMillis) {
+      this.sessionTimeoutMillis = sessionTimeoutMillis;
+      return this;
+    }
+
+    /**
+     * Set how long before their timeout waiting sessions are replaced. Defaults to 30 seconds.
+     *
+     * @param refreshMarginMillis the margin in milliseconds
+     * @return the SessionPool builder
+     */
+    public Builder refreshMarginMillis(long refreshMarginMillis) {
+      this.refreshMarginMillis = refreshMarginMillis;
+      return this;
+    }
+
+    /**
+     * Set the maximum number of sessions deleted every delete interval. Defaults to 20.
+     *
+     * @param deleteBatchSize the number of sessions
+     * @return the SessionPool builder
+     */
+    public Builder deleteBatchSize(int deleteBatchSize) {
+      this.deleteBatchSize = deleteBatchSize;
+      return this;
+    }
+
+    /**
+     * Set the interval between batches of deletes. Defaults to 1 second.
+     *
+     * @param deleteIntervalMillis the interval in milliseconds
+     * @return the SessionPool builder
+     */
+    public Builder deleteIntervalMillis(long deleteIntervalMillis) {
+      this.deleteIntervalMillis = deleteIntervalMillis;
+      return this;
+    }
+
+    /**
+     * Builds a SessionPool.
+     *
+     * @return the new SessionPool instance
+     */
+    public SessionPool build() {
+      return new SessionPool(this);
+    }
+  }
+
+  private SessionPool(Builder builder) {
+    com.ibm.cloud.sdk.core.util.Validator.notNull(builder.assistant, "assistant cannot be null");
+    com.ibm.cloud.sdk.core.util.Validator.isTrue(
+        builder.minIdleSessions >= 0, "minIdleSessions cannot be negative");
+    com.ibm.cloud.sdk.core.util.Validator.isTrue(
+        builder.refreshMarginMillis > 0, "refreshMarginMillis must be positive");
+    com.ibm.cloud.sdk.core.util.Validator.isTrue(
+        builder.sessionTimeoutMillis > builder.refreshMarginMillis,
+        "sessionTimeoutMillis must be greater than refreshMarginMillis");
+    com.ibm.cloud.sdk.core.util.Validator.isTrue(
+        builder.deleteBatchSize > 0, "deleteBatchSize must be positive");
+    com.ibm.cloud.sdk.core.util.Validator.isTrue(
+        builder.deleteIntervalMillis > 0, "deleteIntervalMillis must be positive");
+    assistant = builder.assistant;
+    minIdleSessions = builder.minIdleSessions;
+    sessionTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(builder.sessionTimeoutMillis);
+    refreshMarginNanos = TimeUnit.MILLISECONDS.toNanos(builder.refreshMarginMillis);
+    deleteBatchSize = builder.deleteBatchSize;
+
+    scheduler =
+        new ScheduledThreadPoolExecutor(1, new DaemonThreadFactory("assistant-session-pool"));
+    // a waiting session is checked at least 4 times during the margin
+    long refreshPeriodMillis = Math.max(1, builder.refreshMarginMillis / 4);
+    scheduler.scheduleWithFixedDelay(
+        new Runnable() {
+          @Override
+          public void run() {
+            refresh();
+          }
+        },
+        refreshPeriodMillis,
+        refreshPeriodMillis,
+        TimeUnit.MILLISECONDS);
+    scheduler.scheduleWithFixedDelay(
+        new Runnable() {
+          @Override
+          public void run() {
+            sendDeletes(deleteBatchSize);
+          }
+        },
+        builder.deleteIntervalMillis,
+        builder.deleteIntervalMillis,
+        TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Starts creating sessions for an assistant and environment, so that the first conversations
+   * do not wait either.
+   *
+   * @param assistantId the unique identifier of the assistant
+   * @param environmentId the unique identifier of the environment
+   */
+  public void prewarm(String assistantId, String environmentId) {
+    checkOpen();
+    pool(assistantId, environmentId).refill();
+  }
+
+  /**
+   * Acquires a session for a new conversation. The session is taken from the pool if one is
+   * waiting, and created otherwise.
+   *
+   * @param assistantId the unique identifier of the assistant
+   * @param environmentId the unique identifier of the environment
+   * @return the session, which must be closed when the conversation ends
+   * @throws IllegalStateException if the pool has been closed
+   * @throws RuntimeException if the pool was empty and the session could not be created
+   */
+  public PooledSession acquire(String assistantId, String environmentId) {
+    checkOpen();
+    Pool pool = pool(assistantId, environmentId);
+    PooledSession session = pool.poll(System.nanoTime());
+    if (session != null) {
+      hitCount.incrementAndGet();
+    } else {
+      missCount.incrementAndGet();
+      session = create(assistantId, environmentId);
+    }
+    inUseCount.incrementAndGet();
+    pool.refill();
+    return session;
+  }
+
+  /**
+   * Gets the counters of the pool.
+   *
+   * @return the statistics
+   */
+  public SessionPoolStatistics getStatistics() {
+    int idleCount = 0;
+    for (Pool pool : pools.values()) {
+      idleCount += pool.idleCount();
+    }
+    return new SessionPoolStatistics(
+        hitCount.get(),
+        missCount.get(),
+        createdCount.get(),
+        refreshedCount.get(),
+        endedCount.get(),
+        deletedCount.get(),
+        failedCount.get(),
+        idleCount,
+        inUseCount.get());
+  }
+
+  /**
+   * Stops creating sessions and deletes the waiting sessions and the sessions of the ended
+   * conversations. Acquired sessions stay valid and are deleted as soon as they are closed.
+   */
+  @Override
+  public void close() {
+    closed = true;
+    scheduler.shutdownNow();
+    long now = System.nanoTime();
+    for (Pool pool : pools.values()) {
+      for (PooledSession session : pool.drain()) {
+        retire(session, now);
+      }
+    }
+    sendDeletes(Integer.MAX_VALUE);
+  }
+
+  long sessionTimeoutNanos() {
+    return sessionTimeoutNanos;
+  }
+
+  void release(PooledSession session) {
+    inUseCount.decrementAndGet();
+    endedCount.incrementAndGet();
+    retire(session, System.nanoTime());
+    if (closed) {
+      sendDeletes(Integer.MAX_VALUE);
+    }
+  }
+
+  private void checkOpen() {
+    if (closed) {
+      throw new IllegalStateException("The session pool has been closed");
+    }
+  }
+
+  private Pool pool(String assistantId, String environmentId) {
+    com.ibm.cloud.sdk.core.util.Validator.notEmpty(assistantId, "assistantId cannot be empty");
+    com.ibm.cloud.sdk.core.util.Validator.notEmpty(environmentId, "environmentId cannot be empty");
+    // an identifier cannot contain a slash, as it is a segment of the URL
+    String key = assistantId + '/' + environmentId;
+    Pool pool = pools.get(key);
+    if (pool == null) {
+      Pool newPool = new Pool(assistantId, environmentId);
+      pool = pools.putIfAbsent(key, newPool);
+      if (pool == null) {
+        pool = newPool;
+      }
+    }
+    return pool;
+  }
+
+  private PooledSession create(String assistantId, String environmentId) {
+    long requestNanos = System.nanoTime();
+    try {
+      SessionResponse response =
+          assistant
+              .createSession(new CreateSessionOptions.Builder(assistantId, environmentId).build())
+              .execute()
+              .getResult();
+      createdCount.incrementAndGet();
+      return new PooledSession(
+          this, assistantId, environmentId, response.getSessionId(), requestNanos);
+    } catch (RuntimeException e) {
+      failedCount.incrementAndGet();
+      throw e;
+    }
+  }
+
+  /** Queues the delete of a session, unless the service has already ended it. */
+  private void retire(PooledSession session, long now) {
+    if (session.remainingNanos(now) > 0) {
+      deletes.add(session);
+    }
+  }
+
+  private void refresh() {
+    long now = System.nanoTime();
+    for (Pool pool : pools.values()) {
+      pool.evict(now);
+      pool.refill();
+    }
+  }
+
+  private void sendDeletes(int max) {
+    PooledSession session;
+    for (int i = 0; i < max && (session = deletes.poll()) != null; i++) {
+      final String sessionId = session.getSessionId();
+      assistant
+          .deleteSession(
+              new DeleteSessionOptions.Builder(
+                      session.getAssistantId(), session.getEnvironmentId(), sessionId)
+                  .build())
+          .enqueue(
+              new ServiceCallback<Void>() {
+                @Override
+                public void onResponse(Response<Void> response) {
+                  deletedCount.incrementAndGet();
+                }
+
+                @Override
+                public void onFailure(Exception e) {
+                  if (e instanceof NotFoundException) {
+                    // the service ended the session first
+                    deletedCount.incrementAndGet();
+                  } else {
+                    failedCount.incrementAndGet();
+                    LOG.log(Level.FINE, "Session " + sessionId + " could not be deleted", e);
+                  }
+                }
+              });
+    }
+  }
+
+  /** The sessions waiting for one assistant and environment, the oldest first. */
+  private final class Pool {
+    final String assistantId;
+    final String environmentId;
+    final ArrayDeque<PooledSession> idle = new ArrayDeque<>();
+    int creating;
+
+    Pool(String assistantId, String environmentId) {
+      this.assistantId = assistantId;
+      this.environmentId = environmentId;
+    }
+
+    /** Takes the oldest session that is not about to time out. */
+    synchronized PooledSession poll(long now) {
+      PooledSession session;
+      while ((session = idle.pollFirst()) != null) {
+        if (session.remainingNanos(now) > refreshMarginNanos) {
+          return session;
+        }
+        refreshedCount.incrementAndGet();
+        retire(session, now);
+      }
+      return null;
+    }
+
+    /** Discards the sessions that are about to time out. */
+    synchronized void evict(long now) {
+      Iterator<PooledSession> sessions = idle.iterator();
+      while (sessions.hasNext()) {
+        PooledSession session = sessions.next();
+        if (session.remainingNanos(now) <= refreshMarginNanos) {
+          sessions.remove();
+          refreshedCount.incrementAndGet();
+          retire(session, now);
+        }
+      }
+    }
+
+    synchronized List<PooledSession> drain() {
+      List<PooledSession> sessions = new ArrayList<>(idle);
+      idle.clear();
+      return sessions;
+    }
+
+    synchronized int idleCount() {
+      return idle.size();
+    }
+
+    /** Creates sessions asynchronously until enough are waiting or being created. */
+    void refill() {
+      int count;
+      synchronized (this) {
+        if (closed) {
+          return;
+        }
+        count = minIdleSessions - idle.size() - creating;
+        if (count <= 0) {
+          return;
+        }
+        creating += count;
+      }
+      for (int i = 0; i < count; i++) {
+        createAsync();
+      }
+    }
+
+    private void createAsync() {
+      final long requestNanos = System.nanoTime();
+      assistant
+          .createSession(new CreateSessionOptions.Builder(assistantId, environmentId).build())
+          .enqueue(
+              new ServiceCallback<SessionResponse>() {
+                @Override
+                public void onResponse(Response<SessionResponse> response) {
+                  createdCount.incrementAndGet();
+                  PooledSession session =
+                      new PooledSession(
+                          SessionPool.this,
+                          assistantId,
+                          environmentId,
+                          response.getResult().getSessionId(),
+                          requestNanos);
+                  boolean kept;
+                  synchronized (Pool.this) {
+                    creating--;
+                    kept = !closed;
+                    if (kept) {
+                      idle.addLast(session);
+                    }
+                  }
+                  if (!kept) {
+                    deletes.add(session);
+                    sendDeletes(Integer.MAX_VALUE);
+                  }
+                }
+
+                @Override
+                public void onFailure(Exception e) {
+                  synchronized (Pool.this) {
+                    creating--;
+                  }
+                  // the next refresh tries again
+                  failedCount.incrementAndGet();
+                  LOG.log(Level.WARNING, "Session could not be created", e);
+                }
+              });
+    }
+  }
+}
@@ -0,0 +1,157 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.assistant.session;
+
+/** The counters of a session pool at a point in time. */
+public final class SessionPoolStatistics {
+
+  private final long hitCount;
+  private final long missCount;
+  private final long createdCount;
+  private final long refreshedCount;
+  private final long endedCount;
+  private final long deletedCount;
+  private final long failedCount;
+  private final int idleCount;
+  private final int inUseCount;
+
+  SessionPoolStatistics(
+      long hitCount,
+      long missCount,
+      long createdCount,
+      long refreshedCount,
+      long endedCount,
+      long deletedCount,
+      long failedCount,
+      int idleCount,
+      int inUseCount) {
+    this.hitCount = hitCount;
+    this.missCount = missCount;
+    this.createdCount = createdCount;
+    this.refreshedCount = refreshedCount;
+    this.endedCount = endedCount;
+    this.deletedCount = deletedCount;
+    this.failedCount = failedCount;
+    this.idleCount = idleCount;
+    this.inUseCount = inUseCount;
+  }
+
+  /**
+   * Gets the number of sessions acquired from the pool without waiting.
+   *
+   * @return the hit count
+   */
+  public long getHitCount() {
+    return hitCount;
+  }
+
+  /**
+   * Gets the number of sessions acquired while the pool was empty, which were created while the
+   * caller waited.
+   *
+   * @return the miss count
+   */
+  public long getMissCount() {
+    return missCount;
+  }
+
+  /**
+   * Gets the fraction of the sessions acquired without waiting.
+   *
+   * @return the hit rate, between 0 and 1
+   */
+  public double getHitRate() {
+    long acquired = hitCount + missCount;
+    return acquired > 0 ? (double) hitCount / acquired : 0;
+  }
+
+  /**
+   * Gets the number of sessions created, in the background or on a miss.
+   *
+   * @return the created count
+   */
+  public long getCreatedCount() {
+    return createdCount;
+  }
+
+  /**
+   * Gets the number of idle sessions discarded because they were about to time out.
+   *
+   * @return the refreshed count
+   */
+  public long getRefreshedCount() {
+    return refreshedCount;
+  }
+
+  /**
+   * Gets the number of acquired sessions that were closed.
+   *
+   * @return the ended count
+   */
+  public long getEndedCount() {
+    return endedCount;
+  }
+
+  /**
+   * Gets the number of sessions deleted.
+   *
+   * @return the deleted count
+   */
+  public long getDeletedCount() {
+    return deletedCount;
+  }
+
+  /**
+   * Gets the number of sessions that could not be created or deleted.
+   *
+   * @return the failed count
+   */
+  public long getFailedCount() {
+    return failedCount;
+  }
+
+  /**
+   * Gets the number of sessions waiting in the pool.
+   *
+   * @return the idle count
+   */
+  public int getIdleCount() {
+    return idleCount;
+  }
+
+  /**
+   * Gets the number of sessions acquired and not yet closed.
+   *
+   * @return the in-use count
+   */
+  public int getInUseCount() {
+    return inUseCount;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "SessionPoolStatistics{hits=%d, misses=%d, hitRate=%.3f, created=%d, refreshed=%d,"
+            + " ended=%d, deleted=%d, failed=%d, idle=%d, inUse=%d}",
+        hitCount,
+        missCount,
+        getHitRate(),
+        createdCount,
+        refreshedCount,
+        endedCount,
+        deletedCount,
+        failedCount,
+        idleCount,
+        inUseCount);
+  }
+}
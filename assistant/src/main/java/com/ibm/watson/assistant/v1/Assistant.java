@@ -17,7 +17,6 @@
 
 package com.ibm.watson.assistant.v1;
 
-import com.google.gson.JsonObject;
 import com.ibm.cloud.sdk.core.http.RequestBuilder;
 import com.ibm.cloud.sdk.core.http.ResponseConverter;
 import com.ibm.cloud.sdk.core.http.ServiceCall;
@@ -95,10 +94,10 @@ import com.ibm.watson.assistant.v1.model.Value;
 import com.ibm.watson.assistant.v1.model.ValueCollection;
 import com.ibm.watson.assistant.v1.model.Workspace;
 import com.ibm.watson.assistant.v1.model.WorkspaceCollection;
+import com.ibm.watson.common.JsonRequestBody;
 import com.ibm.watson.common.SdkCommon;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Map.Entry;
 
 /**
  * The IBM Watson&amp;trade; Assistant service combines machine learning, natural language
@@ -222,11 +221,7 @@ public class Assistant extends BaseService {
                 getServiceUrl(),
                 "/v1/workspaces/{workspace_id}/dialog_nodes/{dialog_node}",
                 pathParamsMap));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("conversation", "v1", "testUpdateDialogNode");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "conversation", "v1", "testUpdateDialogNode");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     if (UpdateDialogNodeNullableOptions.includeAudit() != null) {
@@ -264,49 +259,35 @@ public class Assistant extends BaseService {
         RequestBuilder.post(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v1/workspaces/{workspace_id}/message", pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("conversation", "v1", "message");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "conversation", "v1", "message");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     if (messageOptions.nodesVisitedDetails() != null) {
       builder.query("nodes_visited_details", String.valueOf(messageOptions.nodesVisitedDetails()));
     }
-    final JsonObject contentJson = new JsonObject();
+    final JsonRequestBody contentJson = new JsonRequestBody();
     if (messageOptions.input() != null) {
-      contentJson.add(
-          "input",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson().toJsonTree(messageOptions.input()));
+      contentJson.add("input", messageOptions.input());
     }
     if (messageOptions.intents() != null) {
-      contentJson.add(
-          "intents",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson().toJsonTree(messageOptions.intents()));
+      contentJson.add("intents", messageOptions.intents());
     }
     if (messageOptions.entities() != null) {
-      contentJson.add(
-          "entities",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-              .toJsonTree(messageOptions.entities()));
+      contentJson.add("entities", messageOptions.entities());
     }
     if (messageOptions.alternateIntents() != null) {
       contentJson.addProperty("alternate_intents", messageOptions.alternateIntents());
     }
     if (messageOptions.context() != null) {
-      contentJson.add(
-          "context",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson().toJsonTree(messageOptions.context()));
+      contentJson.add("context", messageOptions.context());
     }
     if (messageOptions.output() != null) {
-      contentJson.add(
-          "output",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson().toJsonTree(messageOptions.output()));
+      contentJson.add("output", messageOptions.output());
     }
     if (messageOptions.userId() != null) {
       contentJson.addProperty("user_id", messageOptions.userId());
     }
-    builder.bodyJson(contentJson);
+    builder.body(contentJson);
     ResponseConverter<MessageResponse> responseConverter =
         ResponseConverterUtils.getValue(
             new com.google.gson.reflect.TypeToken<MessageResponse>() {}.getType());
@@ -334,20 +315,14 @@ public class Assistant extends BaseService {
         RequestBuilder.post(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v1/workspaces/{workspace_id}/bulk_classify", pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("conversation", "v1", "bulkClassify");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "conversation", "v1", "bulkClassify");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
-    final JsonObject contentJson = new JsonObject();
+    final JsonRequestBody contentJson = new JsonRequestBody();
     if (bulkClassifyOptions.input() != null) {
-      contentJson.add(
-          "input",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-              .toJsonTree(bulkClassifyOptions.input()));
+      contentJson.add("input", bulkClassifyOptions.input());
     }
-    builder.bodyJson(contentJson);
+    builder.body(contentJson);
     ResponseConverter<BulkClassifyResponse> responseConverter =
         ResponseConverterUtils.getValue(
             new com.google.gson.reflect.TypeToken<BulkClassifyResponse>() {}.getType());
@@ -370,11 +345,7 @@ public class Assistant extends BaseService {
     }
     RequestBuilder builder =
         RequestBuilder.get(RequestBuilder.resolveRequestUrl(getServiceUrl(), "/v1/workspaces"));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("conversation", "v1", "listWorkspaces");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "conversation", "v1", "listWorkspaces");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     if (listWorkspacesOptions.pageLimit() != null) {
@@ -430,18 +401,14 @@ public class Assistant extends BaseService {
     }
     RequestBuilder builder =
         RequestBuilder.post(RequestBuilder.resolveRequestUrl(getServiceUrl(), "/v1/workspaces"));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("conversation", "v1", "createWorkspace");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "conversation", "v1", "createWorkspace");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     if (createWorkspaceOptions.includeAudit() != null) {
       builder.query("include_audit", String.valueOf(createWorkspaceOptions.includeAudit()));
     }
     if (!skipBody) {
-      final JsonObject contentJson = new JsonObject();
+      final JsonRequestBody contentJson = new JsonRequestBody();
       if (createWorkspaceOptions.name() != null) {
         contentJson.addProperty("name", createWorkspaceOptions.name());
       }
@@ -452,51 +419,30 @@ public class Assistant extends BaseService {
         contentJson.addProperty("language", createWorkspaceOptions.language());
       }
       if (createWorkspaceOptions.dialogNodes() != null) {
-        contentJson.add(
-            "dialog_nodes",
-            com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-                .toJsonTree(createWorkspaceOptions.dialogNodes()));
+        contentJson.add("dialog_nodes", createWorkspaceOptions.dialogNodes());
       }
       if (createWorkspaceOptions.counterexamples() != null) {
-        contentJson.add(
-            "counterexamples",
-            com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-                .toJsonTree(createWorkspaceOptions.counterexamples()));
+        contentJson.add("counterexamples", createWorkspaceOptions.counterexamples());
       }
       if (createWorkspaceOptions.metadata() != null) {
-        contentJson.add(
-            "metadata",
-            com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-                .toJsonTree(createWorkspaceOptions.metadata()));
+        contentJson.add("metadata", createWorkspaceOptions.metadata());
       }
       if (createWorkspaceOptions.learningOptOut() != null) {
         contentJson.addProperty("learning_opt_out", createWorkspaceOptions.learningOptOut());
       }
       if (createWorkspaceOptions.systemSettings() != null) {
-        contentJson.add(
-            "system_settings",
-            com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-                .toJsonTree(createWorkspaceOptions.systemSettings()));
+        contentJson.add("system_settings", createWorkspaceOptions.systemSettings());
       }
       if (createWorkspaceOptions.webhooks() != null) {
-        contentJson.add(
-            "webhooks",
-            com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-                .toJsonTree(createWorkspaceOptions.webhooks()));
+        contentJson.add("webhooks", createWorkspaceOptions.webhooks());
       }
       if (createWorkspaceOptions.intents() != null) {
-        contentJson.add(
-            "intents",
-            com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-                .toJsonTree(createWorkspaceOptions.intents()));
+        contentJson.add("intents", createWorkspaceOptions.intents());
       }
       if (createWorkspaceOptions.entities() != null) {
-        contentJson.add(
-            "entities",
-            com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-                .toJsonTree(createWorkspaceOptions.entities()));
+        contentJson.add("entities", createWorkspaceOptions.entities());
       }
-      builder.bodyJson(contentJson);
+      builder.body(contentJson);
     }
     ResponseConverter<Workspace> responseConverter =
         ResponseConverterUtils.getValue(
@@ -536,10 +482,7 @@ public class Assistant extends BaseService {
         RequestBuilder.get(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v1/workspaces/{workspace_id}", pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("conversation", "v1", "getWorkspace");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "conversation", "v1", "getWorkspace");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     if (getWorkspaceOptions.export() != null) {
@@ -579,11 +522,7 @@ public class Assistant extends BaseService {
         RequestBuilder.post(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v1/workspaces/{workspace_id}", pathParamsMap));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("conversation", "v1", "updateWorkspace");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "conversation", "v1", "updateWorkspace");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     if (updateWorkspaceOptions.append() != null) {
@@ -592,7 +531,7 @@ public class Assistant extends BaseService {
     if (updateWorkspaceOptions.includeAudit() != null) {
       builder.query("include_audit", String.valueOf(updateWorkspaceOptions.includeAudit()));
     }
-    final JsonObject contentJson = new JsonObject();
+    final JsonRequestBody contentJson = new JsonRequestBody();
     if (updateWorkspaceOptions.name() != null) {
       contentJson.addProperty("name", updateWorkspaceOptions.name());
     }
@@ -603,51 +542,30 @@ public class Assistant extends BaseService {
       contentJson.addProperty("language", updateWorkspaceOptions.language());
     }
     if (updateWorkspaceOptions.dialogNodes() != null) {
-      contentJson.add(
-          "dialog_nodes",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-              .toJsonTree(updateWorkspaceOptions.dialogNodes()));
+      contentJson.add("dialog_nodes", updateWorkspaceOptions.dialogNodes());
     }
     if (updateWorkspaceOptions.counterexamples() != null) {
-      contentJson.add(
-          "counterexamples",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-              .toJsonTree(updateWorkspaceOptions.counterexamples()));
+      contentJson.add("counterexamples", updateWorkspaceOptions.counterexamples());
     }
     if (updateWorkspaceOptions.metadata() != null) {
-      contentJson.add(
-          "metadata",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-              .toJsonTree(updateWorkspaceOptions.metadata()));
+      contentJson.add("metadata", updateWorkspaceOptions.metadata());
     }
     if (updateWorkspaceOptions.learningOptOut() != null) {
       contentJson.addProperty("learning_opt_out", updateWorkspaceOptions.learningOptOut());
     }
     if (updateWorkspaceOptions.systemSettings() != null) {
-      contentJson.add(
-          "system_settings",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-              .toJsonTree(updateWorkspaceOptions.systemSettings()));
+      contentJson.add("system_settings", updateWorkspaceOptions.systemSettings());
     }
     if (updateWorkspaceOptions.webhooks() != null) {
-      contentJson.add(
-          "webhooks",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-              .toJsonTree(updateWorkspaceOptions.webhooks()));
+      contentJson.add("webhooks", updateWorkspaceOptions.webhooks());
     }
     if (updateWorkspaceOptions.intents() != null) {
-      contentJson.add(
-          "intents",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-              .toJsonTree(updateWorkspaceOptions.intents()));
+      contentJson.add("intents", updateWorkspaceOptions.intents());
     }
     if (updateWorkspaceOptions.entities() != null) {
-      contentJson.add(
-          "entities",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-              .toJsonTree(updateWorkspaceOptions.entities()));
+      contentJson.add("entities", updateWorkspaceOptions.entities());
     }
-    builder.bodyJson(contentJson);
+    builder.body(contentJson);
     ResponseConverter<Workspace> responseConverter =
         ResponseConverterUtils.getValue(
             new com.google.gson.reflect.TypeToken<Workspace>() {}.getType());
@@ -672,11 +590,7 @@ public class Assistant extends BaseService {
         RequestBuilder.delete(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v1/workspaces/{workspace_id}", pathParamsMap));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("conversation", "v1", "deleteWorkspace");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "conversation", "v1", "deleteWorkspace");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     ResponseConverter<Void> responseConverter = ResponseConverterUtils.getVoid();
@@ -707,15 +621,11 @@ public class Assistant extends BaseService {
     RequestBuilder builder =
         RequestBuilder.post(
             RequestBuilder.resolveRequestUrl(getServiceUrl(), "/v1/workspaces_async"));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("conversation", "v1", "createWorkspaceAsync");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "conversation", "v1", "createWorkspaceAsync");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     if (!skipBody) {
-      final JsonObject contentJson = new JsonObject();
+      final JsonRequestBody contentJson = new JsonRequestBody();
       if (createWorkspaceAsyncOptions.name() != null) {
         contentJson.addProperty("name", createWorkspaceAsyncOptions.name());
       }
@@ -726,51 +636,30 @@ public class Assistant extends BaseService {
         contentJson.addProperty("language", createWorkspaceAsyncOptions.language());
       }
       if (createWorkspaceAsyncOptions.dialogNodes() != null) {
-        contentJson.add(
-            "dialog_nodes",
-            com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-                .toJsonTree(createWorkspaceAsyncOptions.dialogNodes()));
+        contentJson.add("dialog_nodes", createWorkspaceAsyncOptions.dialogNodes());
       }
       if (createWorkspaceAsyncOptions.counterexamples() != null) {
-        contentJson.add(
-            "counterexamples",
-            com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-                .toJsonTree(createWorkspaceAsyncOptions.counterexamples()));
+        contentJson.add("counterexamples", createWorkspaceAsyncOptions.counterexamples());
       }
       if (createWorkspaceAsyncOptions.metadata() != null) {
-        contentJson.add(
-            "metadata",
-            com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-                .toJsonTree(createWorkspaceAsyncOptions.metadata()));
+        contentJson.add("metadata", createWorkspaceAsyncOptions.metadata());
       }
       if (createWorkspaceAsyncOptions.learningOptOut() != null) {
         contentJson.addProperty("learning_opt_out", createWorkspaceAsyncOptions.learningOptOut());
       }
       if (createWorkspaceAsyncOptions.systemSettings() != null) {
-        contentJson.add(
-            "system_settings",
-            com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-                .toJsonTree(createWorkspaceAsyncOptions.systemSettings()));
+        contentJson.add("system_settings", createWorkspaceAsyncOptions.systemSettings());
       }
       if (createWorkspaceAsyncOptions.webhooks() != null) {
-        contentJson.add(
-            "webhooks",
-            com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-                .toJsonTree(createWorkspaceAsyncOptions.webhooks()));
+        contentJson.add("webhooks", createWorkspaceAsyncOptions.webhooks());
       }
       if (createWorkspaceAsyncOptions.intents() != null) {
-        contentJson.add(
-            "intents",
-            com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-                .toJsonTree(createWorkspaceAsyncOptions.intents()));
+        contentJson.add("intents", createWorkspaceAsyncOptions.intents());
       }
       if (createWorkspaceAsyncOptions.entities() != null) {
-        contentJson.add(
-            "entities",
-            com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-                .toJsonTree(createWorkspaceAsyncOptions.entities()));
+        contentJson.add("entities", createWorkspaceAsyncOptions.entities());
       }
-      builder.bodyJson(contentJson);
+      builder.body(contentJson);
     }
     ResponseConverter<Workspace> responseConverter =
         ResponseConverterUtils.getValue(
@@ -818,17 +707,13 @@ public class Assistant extends BaseService {
         RequestBuilder.post(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v1/workspaces_async/{workspace_id}", pathParamsMap));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("conversation", "v1", "updateWorkspaceAsync");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "conversation", "v1", "updateWorkspaceAsync");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     if (updateWorkspaceAsyncOptions.append() != null) {
       builder.query("append", String.valueOf(updateWorkspaceAsyncOptions.append()));
     }
-    final JsonObject contentJson = new JsonObject();
+    final JsonRequestBody contentJson = new JsonRequestBody();
     if (updateWorkspaceAsyncOptions.name() != null) {
       contentJson.addProperty("name", updateWorkspaceAsyncOptions.name());
     }
@@ -839,51 +724,30 @@ public class Assistant extends BaseService {
       contentJson.addProperty("language", updateWorkspaceAsyncOptions.language());
     }
     if (updateWorkspaceAsyncOptions.dialogNodes() != null) {
-      contentJson.add(
-          "dialog_nodes",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-              .toJsonTree(updateWorkspaceAsyncOptions.dialogNodes()));
+      contentJson.add("dialog_nodes", updateWorkspaceAsyncOptions.dialogNodes());
     }
     if (updateWorkspaceAsyncOptions.counterexamples() != null) {
-      contentJson.add(
-          "counterexamples",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-              .toJsonTree(updateWorkspaceAsyncOptions.counterexamples()));
+      contentJson.add("counterexamples", updateWorkspaceAsyncOptions.counterexamples());
     }
     if (updateWorkspaceAsyncOptions.metadata() != null) {
-      contentJson.add(
-          "metadata",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-              .toJsonTree(updateWorkspaceAsyncOptions.metadata()));
+      contentJson.add("metadata", updateWorkspaceAsyncOptions.metadata());
     }
     if (updateWorkspaceAsyncOptions.learningOptOut() != null) {
       contentJson.addProperty("learning_opt_out", updateWorkspaceAsyncOptions.learningOptOut());
     }
     if (updateWorkspaceAsyncOptions.systemSettings() != null) {
-      contentJson.add(
-          "system_settings",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-              .toJsonTree(updateWorkspaceAsyncOptions.systemSettings()));
+      contentJson.add("system_settings", updateWorkspaceAsyncOptions.systemSettings());
     }
     if (updateWorkspaceAsyncOptions.webhooks() != null) {
-      contentJson.add(
-          "webhooks",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-              .toJsonTree(updateWorkspaceAsyncOptions.webhooks()));
+      contentJson.add("webhooks", updateWorkspaceAsyncOptions.webhooks());
     }
     if (updateWorkspaceAsyncOptions.intents() != null) {
-      contentJson.add(
-          "intents",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-              .toJsonTree(updateWorkspaceAsyncOptions.intents()));
+      contentJson.add("intents", updateWorkspaceAsyncOptions.intents());
     }
     if (updateWorkspaceAsyncOptions.entities() != null) {
-      contentJson.add(
-          "entities",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-              .toJsonTree(updateWorkspaceAsyncOptions.entities()));
+      contentJson.add("entities", updateWorkspaceAsyncOptions.entities());
     }
-    builder.bodyJson(contentJson);
+    builder.body(contentJson);
     ResponseConverter<Workspace> responseConverter =
         ResponseConverterUtils.getValue(
             new com.google.gson.reflect.TypeToken<Workspace>() {}.getType());
@@ -915,11 +779,7 @@ public class Assistant extends BaseService {
         RequestBuilder.get(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v1/workspaces_async/{workspace_id}/export", pathParamsMap));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("conversation", "v1", "exportWorkspaceAsync");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "conversation", "v1", "exportWorkspaceAsync");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     if (exportWorkspaceAsyncOptions.includeAudit() != null) {
@@ -954,10 +814,7 @@ public class Assistant extends BaseService {
         RequestBuilder.get(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v1/workspaces/{workspace_id}/intents", pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("conversation", "v1", "listIntents");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "conversation", "v1", "listIntents");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     if (listIntentsOptions.export() != null) {
@@ -1004,27 +861,21 @@ public class Assistant extends BaseService {
         RequestBuilder.post(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v1/workspaces/{workspace_id}/intents", pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("conversation", "v1", "createIntent");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "conversation", "v1", "createIntent");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     if (createIntentOptions.includeAudit() != null) {
       builder.query("include_audit", String.valueOf(createIntentOptions.includeAudit()));
     }
-    final JsonObject contentJson = new JsonObject();
+    final JsonRequestBody contentJson = new JsonRequestBody();
     contentJson.addProperty("intent", createIntentOptions.intent());
     if (createIntentOptions.description() != null) {
       contentJson.addProperty("description", createIntentOptions.description());
     }
     if (createIntentOptions.examples() != null) {
-      contentJson.add(
-          "examples",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-              .toJsonTree(createIntentOptions.examples()));
+      contentJson.add("examples", createIntentOptions.examples());
     }
-    builder.bodyJson(contentJson);
+    builder.body(contentJson);
     ResponseConverter<Intent> responseConverter =
         ResponseConverterUtils.getValue(
             new com.google.gson.reflect.TypeToken<Intent>() {}.getType());
@@ -1049,10 +900,7 @@ public class Assistant extends BaseService {
         RequestBuilder.get(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v1/workspaces/{workspace_id}/intents/{intent}", pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("conversation", "v1", "getIntent");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "conversation", "v1", "getIntent");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     if (getIntentOptions.export() != null) {
@@ -1089,10 +937,7 @@ public class Assistant extends BaseService {
         RequestBuilder.post(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v1/workspaces/{workspace_id}/intents/{intent}", pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("conversation", "v1", "updateIntent");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "conversation", "v1", "updateIntent");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     if (updateIntentOptions.append() != null) {
@@ -1101,7 +946,7 @@ public class Assistant extends BaseService {
     if (updateIntentOptions.includeAudit() != null) {
       builder.query("include_audit", String.valueOf(updateIntentOptions.includeAudit()));
     }
-    final JsonObject contentJson = new JsonObject();
+    final JsonRequestBody contentJson = new JsonRequestBody();
     if (updateIntentOptions.newIntent() != null) {
       contentJson.addProperty("intent", updateIntentOptions.newIntent());
     }
@@ -1109,12 +954,9 @@ public class Assistant extends BaseService {
       contentJson.addProperty("description", updateIntentOptions.newDescription());
     }
     if (updateIntentOptions.newExamples() != null) {
-      contentJson.add(
-          "examples",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-              .toJsonTree(updateIntentOptions.newExamples()));
+      contentJson.add("examples", updateIntentOptions.newExamples());
     }
-    builder.bodyJson(contentJson);
+    builder.body(contentJson);
     ResponseConverter<Intent> responseConverter =
         ResponseConverterUtils.getValue(
             new com.google.gson.reflect.TypeToken<Intent>() {}.getType());
@@ -1139,10 +981,7 @@ public class Assistant extends BaseService {
         RequestBuilder.delete(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v1/workspaces/{workspace_id}/intents/{intent}", pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("conversation", "v1", "deleteIntent");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "conversation", "v1", "deleteIntent");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     ResponseConverter<Void> responseConverter = ResponseConverterUtils.getVoid();
@@ -1169,10 +1008,7 @@ public class Assistant extends BaseService {
                 getServiceUrl(),
                 "/v1/workspaces/{workspace_id}/intents/{intent}/examples",
                 pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("conversation", "v1", "listExamples");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "conversation", "v1", "listExamples");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     if (listExamplesOptions.pageLimit() != null) {
@@ -1220,24 +1056,18 @@ public class Assistant extends BaseService {
                 getServiceUrl(),
                 "/v1/workspaces/{workspace_id}/intents/{intent}/examples",
                 pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("conversation", "v1", "createExample");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "conversation", "v1", "createExample");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     if (createExampleOptions.includeAudit() != null) {
       builder.query("include_audit", String.valueOf(createExampleOptions.includeAudit()));
     }
-    final JsonObject contentJson = new JsonObject();
+    final JsonRequestBody contentJson = new JsonRequestBody();
     contentJson.addProperty("text", createExampleOptions.text());
     if (createExampleOptions.mentions() != null) {
-      contentJson.add(
-          "mentions",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-              .toJsonTree(createExampleOptions.mentions()));
+      contentJson.add("mentions", createExampleOptions.mentions());
     }
-    builder.bodyJson(contentJson);
+    builder.body(contentJson);
     ResponseConverter<Example> responseConverter =
         ResponseConverterUtils.getValue(
             new com.google.gson.reflect.TypeToken<Example>() {}.getType());
@@ -1265,10 +1095,7 @@ public class Assistant extends BaseService {
                 getServiceUrl(),
                 "/v1/workspaces/{workspace_id}/intents/{intent}/examples/{text}",
                 pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("conversation", "v1", "getExample");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "conversation", "v1", "getExample");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     if (getExampleOptions.includeAudit() != null) {
@@ -1305,26 +1132,20 @@ public class Assistant extends BaseService {
                 getServiceUrl(),
                 "/v1/workspaces/{workspace_id}/intents/{intent}/examples/{text}",
                 pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("conversation", "v1", "updateExample");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "conversation", "v1", "updateExample");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     if (updateExampleOptions.includeAudit() != null) {
       builder.query("include_audit", String.valueOf(updateExampleOptions.includeAudit()));
     }
-    final JsonObject contentJson = new JsonObject();
+    final JsonRequestBody contentJson = new JsonRequestBody();
     if (updateExampleOptions.newText() != null) {
       contentJson.addProperty("text", updateExampleOptions.newText());
     }
     if (updateExampleOptions.newMentions() != null) {
-      contentJson.add(
-          "mentions",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-              .toJsonTree(updateExampleOptions.newMentions()));
+      contentJson.add("mentions", updateExampleOptions.newMentions());
     }
-    builder.bodyJson(contentJson);
+    builder.body(contentJson);
     ResponseConverter<Example> responseConverter =
         ResponseConverterUtils.getValue(
             new com.google.gson.reflect.TypeToken<Example>() {}.getType());
@@ -1353,10 +1174,7 @@ public class Assistant extends BaseService {
                 getServiceUrl(),
                 "/v1/workspaces/{workspace_id}/intents/{intent}/examples/{text}",
                 pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("conversation", "v1", "deleteExample");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "conversation", "v1", "deleteExample");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     ResponseConverter<Void> responseConverter = ResponseConverterUtils.getVoid();
@@ -1383,11 +1201,7 @@ public class Assistant extends BaseService {
         RequestBuilder.get(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v1/workspaces/{workspace_id}/counterexamples", pathParamsMap));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("conversation", "v1", "listCounterexamples");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "conversation", "v1", "listCounterexamples");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     if (listCounterexamplesOptions.pageLimit() != null) {
@@ -1434,19 +1248,15 @@ public class Assistant extends BaseService {
         RequestBuilder.post(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v1/workspaces/{workspace_id}/counterexamples", pathParamsMap));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("conversation", "v1", "createCounterexample");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "conversation", "v1", "createCounterexample");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     if (createCounterexampleOptions.includeAudit() != null) {
       builder.query("include_audit", String.valueOf(createCounterexampleOptions.includeAudit()));
     }
-    final JsonObject contentJson = new JsonObject();
+    final JsonRequestBody contentJson = new JsonRequestBody();
     contentJson.addProperty("text", createCounterexampleOptions.text());
-    builder.bodyJson(contentJson);
+    builder.body(contentJson);
     ResponseConverter<Counterexample> responseConverter =
         ResponseConverterUtils.getValue(
             new com.google.gson.reflect.TypeToken<Counterexample>() {}.getType());
@@ -1476,11 +1286,7 @@ public class Assistant extends BaseService {
                 getServiceUrl(),
                 "/v1/workspaces/{workspace_id}/counterexamples/{text}",
                 pathParamsMap));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("conversation", "v1", "getCounterexample");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "conversation", "v1", "getCounterexample");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     if (getCounterexampleOptions.includeAudit() != null) {
@@ -1515,21 +1321,17 @@ public class Assistant extends BaseService {
                 getServiceUrl(),
                 "/v1/workspaces/{workspace_id}/counterexamples/{text}",
                 pathParamsMap));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("conversation", "v1", "updateCounterexample");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "conversation", "v1", "updateCounterexample");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     if (updateCounterexampleOptions.includeAudit() != null) {
       builder.query("include_audit", String.valueOf(updateCounterexampleOptions.includeAudit()));
     }
-    final JsonObject contentJson = new JsonObject();
+    final JsonRequestBody contentJson = new JsonRequestBody();
     if (updateCounterexampleOptions.newText() != null) {
       contentJson.addProperty("text", updateCounterexampleOptions.newText());
     }
-    builder.bodyJson(contentJson);
+    builder.body(contentJson);
     ResponseConverter<Counterexample> responseConverter =
         ResponseConverterUtils.getValue(
             new com.google.gson.reflect.TypeToken<Counterexample>() {}.getType());
@@ -1559,11 +1361,7 @@ public class Assistant extends BaseService {
                 getServiceUrl(),
                 "/v1/workspaces/{workspace_id}/counterexamples/{text}",
                 pathParamsMap));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("conversation", "v1", "deleteCounterexample");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "conversation", "v1", "deleteCounterexample");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     ResponseConverter<Void> responseConverter = ResponseConverterUtils.getVoid();
@@ -1587,10 +1385,7 @@ public class Assistant extends BaseService {
         RequestBuilder.get(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v1/workspaces/{workspace_id}/entities", pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("conversation", "v1", "listEntities");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "conversation", "v1", "listEntities");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     if (listEntitiesOptions.export() != null) {
@@ -1637,36 +1432,27 @@ public class Assistant extends BaseService {
         RequestBuilder.post(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v1/workspaces/{workspace_id}/entities", pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("conversation", "v1", "createEntity");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "conversation", "v1", "createEntity");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     if (createEntityOptions.includeAudit() != null) {
       builder.query("include_audit", String.valueOf(createEntityOptions.includeAudit()));
     }
-    final JsonObject contentJson = new JsonObject();
+    final JsonRequestBody contentJson = new JsonRequestBody();
     contentJson.addProperty("entity", createEntityOptions.entity());
     if (createEntityOptions.description() != null) {
       contentJson.addProperty("description", createEntityOptions.description());
     }
     if (createEntityOptions.metadata() != null) {
-      contentJson.add(
-          "metadata",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-              .toJsonTree(createEntityOptions.metadata()));
+      contentJson.add("metadata", createEntityOptions.metadata());
     }
     if (createEntityOptions.fuzzyMatch() != null) {
       contentJson.addProperty("fuzzy_match", createEntityOptions.fuzzyMatch());
     }
     if (createEntityOptions.values() != null) {
-      contentJson.add(
-          "values",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-              .toJsonTree(createEntityOptions.values()));
+      contentJson.add("values", createEntityOptions.values());
     }
-    builder.bodyJson(contentJson);
+    builder.body(contentJson);
     ResponseConverter<Entity> responseConverter =
         ResponseConverterUtils.getValue(
             new com.google.gson.reflect.TypeToken<Entity>() {}.getType());
@@ -1691,10 +1477,7 @@ public class Assistant extends BaseService {
         RequestBuilder.get(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v1/workspaces/{workspace_id}/entities/{entity}", pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("conversation", "v1", "getEntity");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "conversation", "v1", "getEntity");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     if (getEntityOptions.export() != null) {
@@ -1731,10 +1514,7 @@ public class Assistant extends BaseService {
         RequestBuilder.post(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v1/workspaces/{workspace_id}/entities/{entity}", pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("conversation", "v1", "updateEntity");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "conversation", "v1", "updateEntity");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     if (updateEntityOptions.append() != null) {
@@ -1743,7 +1523,7 @@ public class Assistant extends BaseService {
     if (updateEntityOptions.includeAudit() != null) {
       builder.query("include_audit", String.valueOf(updateEntityOptions.includeAudit()));
     }
-    final JsonObject contentJson = new JsonObject();
+    final JsonRequestBody contentJson = new JsonRequestBody();
     if (updateEntityOptions.newEntity() != null) {
       contentJson.addProperty("entity", updateEntityOptions.newEntity());
     }
@@ -1751,21 +1531,15 @@ public class Assistant extends BaseService {
       contentJson.addProperty("description", updateEntityOptions.newDescription());
     }
     if (updateEntityOptions.newMetadata() != null) {
-      contentJson.add(
-          "metadata",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-              .toJsonTree(updateEntityOptions.newMetadata()));
+      contentJson.add("metadata", updateEntityOptions.newMetadata());
     }
     if (updateEntityOptions.newFuzzyMatch() != null) {
       contentJson.addProperty("fuzzy_match", updateEntityOptions.newFuzzyMatch());
     }
     if (updateEntityOptions.newValues() != null) {
-      contentJson.add(
-          "values",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-              .toJsonTree(updateEntityOptions.newValues()));
+      contentJson.add("values", updateEntityOptions.newValues());
     }
-    builder.bodyJson(contentJson);
+    builder.body(contentJson);
     ResponseConverter<Entity> responseConverter =
         ResponseConverterUtils.getValue(
             new com.google.gson.reflect.TypeToken<Entity>() {}.getType());
@@ -1790,10 +1564,7 @@ public class Assistant extends BaseService {
         RequestBuilder.delete(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v1/workspaces/{workspace_id}/entities/{entity}", pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("conversation", "v1", "deleteEntity");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "conversation", "v1", "deleteEntity");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     ResponseConverter<Void> responseConverter = ResponseConverterUtils.getVoid();
@@ -1822,10 +1593,7 @@ public class Assistant extends BaseService {
                 getServiceUrl(),
                 "/v1/workspaces/{workspace_id}/entities/{entity}/mentions",
                 pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("conversation", "v1", "listMentions");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "conversation", "v1", "listMentions");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     if (listMentionsOptions.export() != null) {
@@ -1860,10 +1628,7 @@ public class Assistant extends BaseService {
                 getServiceUrl(),
                 "/v1/workspaces/{workspace_id}/entities/{entity}/values",
                 pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("conversation", "v1", "listValues");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "conversation", "v1", "listValues");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     if (listValuesOptions.export() != null) {
@@ -1913,39 +1678,27 @@ public class Assistant extends BaseService {
                 getServiceUrl(),
                 "/v1/workspaces/{workspace_id}/entities/{entity}/values",
                 pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("conversation", "v1", "createValue");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "conversation", "v1", "createValue");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     if (createValueOptions.includeAudit() != null) {
       builder.query("include_audit", String.valueOf(createValueOptions.includeAudit()));
     }
-    final JsonObject contentJson = new JsonObject();
+    final JsonRequestBody contentJson = new JsonRequestBody();
     contentJson.addProperty("value", createValueOptions.value());
     if (createValueOptions.metadata() != null) {
-      contentJson.add(
-          "metadata",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-              .toJsonTree(createValueOptions.metadata()));
+      contentJson.add("metadata", createValueOptions.metadata());
     }
     if (createValueOptions.type() != null) {
       contentJson.addProperty("type", createValueOptions.type());
     }
     if (createValueOptions.synonyms() != null) {
-      contentJson.add(
-          "synonyms",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-              .toJsonTree(createValueOptions.synonyms()));
+      contentJson.add("synonyms", createValueOptions.synonyms());
     }
     if (createValueOptions.patterns() != null) {
-      contentJson.add(
-          "patterns",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-              .toJsonTree(createValueOptions.patterns()));
+      contentJson.add("patterns", createValueOptions.patterns());
     }
-    builder.bodyJson(contentJson);
+    builder.body(contentJson);
     ResponseConverter<Value> responseConverter =
         ResponseConverterUtils.getValue(
             new com.google.gson.reflect.TypeToken<Value>() {}.getType());
@@ -1973,10 +1726,7 @@ public class Assistant extends BaseService {
                 getServiceUrl(),
                 "/v1/workspaces/{workspace_id}/entities/{entity}/values/{value}",
                 pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("conversation", "v1", "getValue");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "conversation", "v1", "getValue");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     if (getValueOptions.export() != null) {
@@ -2016,10 +1766,7 @@ public class Assistant extends BaseService {
                 getServiceUrl(),
                 "/v1/workspaces/{workspace_id}/entities/{entity}/values/{value}",
                 pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("conversation", "v1", "updateValue");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "conversation", "v1", "updateValue");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     if (updateValueOptions.append() != null) {
@@ -2028,32 +1775,23 @@ public class Assistant extends BaseService {
     if (updateValueOptions.includeAudit() != null) {
       builder.query("include_audit", String.valueOf(updateValueOptions.includeAudit()));
     }
-    final JsonObject contentJson = new JsonObject();
+    final JsonRequestBody contentJson = new JsonRequestBody();
     if (updateValueOptions.newValue() != null) {
       contentJson.addProperty("value", updateValueOptions.newValue());
     }
     if (updateValueOptions.newMetadata() != null) {
-      contentJson.add(
-          "metadata",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-              .toJsonTree(updateValueOptions.newMetadata()));
+      contentJson.add("metadata", updateValueOptions.newMetadata());
     }
     if (updateValueOptions.newType() != null) {
       contentJson.addProperty("type", updateValueOptions.newType());
     }
     if (updateValueOptions.newSynonyms() != null) {
-      contentJson.add(
-          "synonyms",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-              .toJsonTree(updateValueOptions.newSynonyms()));
+      contentJson.add("synonyms", updateValueOptions.newSynonyms());
     }
     if (updateValueOptions.newPatterns() != null) {
-      contentJson.add(
-          "patterns",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-              .toJsonTree(updateValueOptions.newPatterns()));
+      contentJson.add("patterns", updateValueOptions.newPatterns());
     }
-    builder.bodyJson(contentJson);
+    builder.body(contentJson);
     ResponseConverter<Value> responseConverter =
         ResponseConverterUtils.getValue(
             new com.google.gson.reflect.TypeToken<Value>() {}.getType());
@@ -2081,10 +1819,7 @@ public class Assistant extends BaseService {
                 getServiceUrl(),
                 "/v1/workspaces/{workspace_id}/entities/{entity}/values/{value}",
                 pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("conversation", "v1", "deleteValue");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "conversation", "v1", "deleteValue");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     ResponseConverter<Void> responseConverter = ResponseConverterUtils.getVoid();
@@ -2112,10 +1847,7 @@ public class Assistant extends BaseService {
                 getServiceUrl(),
                 "/v1/workspaces/{workspace_id}/entities/{entity}/values/{value}/synonyms",
                 pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("conversation", "v1", "listSynonyms");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "conversation", "v1", "listSynonyms");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     if (listSynonymsOptions.pageLimit() != null) {
@@ -2164,18 +1896,15 @@ public class Assistant extends BaseService {
                 getServiceUrl(),
                 "/v1/workspaces/{workspace_id}/entities/{entity}/values/{value}/synonyms",
                 pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("conversation", "v1", "createSynonym");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "conversation", "v1", "createSynonym");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     if (createSynonymOptions.includeAudit() != null) {
       builder.query("include_audit", String.valueOf(createSynonymOptions.includeAudit()));
     }
-    final JsonObject contentJson = new JsonObject();
+    final JsonRequestBody contentJson = new JsonRequestBody();
     contentJson.addProperty("synonym", createSynonymOptions.synonym());
-    builder.bodyJson(contentJson);
+    builder.body(contentJson);
     ResponseConverter<Synonym> responseConverter =
         ResponseConverterUtils.getValue(
             new com.google.gson.reflect.TypeToken<Synonym>() {}.getType());
@@ -2204,10 +1933,7 @@ public class Assistant extends BaseService {
                 getServiceUrl(),
                 "/v1/workspaces/{workspace_id}/entities/{entity}/values/{value}/synonyms/{synonym}",
                 pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("conversation", "v1", "getSynonym");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "conversation", "v1", "getSynonym");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     if (getSynonymOptions.includeAudit() != null) {
@@ -2245,20 +1971,17 @@ public class Assistant extends BaseService {
                 getServiceUrl(),
                 "/v1/workspaces/{workspace_id}/entities/{entity}/values/{value}/synonyms/{synonym}",
                 pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("conversation", "v1", "updateSynonym");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "conversation", "v1", "updateSynonym");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     if (updateSynonymOptions.includeAudit() != null) {
       builder.query("include_audit", String.valueOf(updateSynonymOptions.includeAudit()));
     }
-    final JsonObject contentJson = new JsonObject();
+    final JsonRequestBody contentJson = new JsonRequestBody();
     if (updateSynonymOptions.newSynonym() != null) {
       contentJson.addProperty("synonym", updateSynonymOptions.newSynonym());
     }
-    builder.bodyJson(contentJson);
+    builder.body(contentJson);
     ResponseConverter<Synonym> responseConverter =
         ResponseConverterUtils.getValue(
             new com.google.gson.reflect.TypeToken<Synonym>() {}.getType());
@@ -2288,10 +2011,7 @@ public class Assistant extends BaseService {
                 getServiceUrl(),
                 "/v1/workspaces/{workspace_id}/entities/{entity}/values/{value}/synonyms/{synonym}",
                 pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("conversation", "v1", "deleteSynonym");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "conversation", "v1", "deleteSynonym");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     ResponseConverter<Void> responseConverter = ResponseConverterUtils.getVoid();
@@ -2317,11 +2037,7 @@ public class Assistant extends BaseService {
         RequestBuilder.get(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v1/workspaces/{workspace_id}/dialog_nodes", pathParamsMap));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("conversation", "v1", "listDialogNodes");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "conversation", "v1", "listDialogNodes");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     if (listDialogNodesOptions.pageLimit() != null) {
@@ -2366,17 +2082,13 @@ public class Assistant extends BaseService {
         RequestBuilder.post(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v1/workspaces/{workspace_id}/dialog_nodes", pathParamsMap));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("conversation", "v1", "createDialogNode");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "conversation", "v1", "createDialogNode");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     if (createDialogNodeOptions.includeAudit() != null) {
       builder.query("include_audit", String.valueOf(createDialogNodeOptions.includeAudit()));
     }
-    final JsonObject contentJson = new JsonObject();
+    final JsonRequestBody contentJson = new JsonRequestBody();
     contentJson.addProperty("dialog_node", createDialogNodeOptions.dialogNode());
     if (createDialogNodeOptions.description() != null) {
       contentJson.addProperty("description", createDialogNodeOptions.description());
@@ -2391,28 +2103,16 @@ public class Assistant extends BaseService {
       contentJson.addProperty("previous_sibling", createDialogNodeOptions.previousSibling());
     }
     if (createDialogNodeOptions.output() != null) {
-      contentJson.add(
-          "output",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-              .toJsonTree(createDialogNodeOptions.output()));
+      contentJson.add("output", createDialogNodeOptions.output());
     }
     if (createDialogNodeOptions.context() != null) {
-      contentJson.add(
-          "context",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-              .toJsonTree(createDialogNodeOptions.context()));
+      contentJson.add("context", createDialogNodeOptions.context());
     }
     if (createDialogNodeOptions.metadata() != null) {
-      contentJson.add(
-          "metadata",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-              .toJsonTree(createDialogNodeOptions.metadata()));
+      contentJson.add("metadata", createDialogNodeOptions.metadata());
     }
     if (createDialogNodeOptions.nextStep() != null) {
-      contentJson.add(
-          "next_step",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-              .toJsonTree(createDialogNodeOptions.nextStep()));
+      contentJson.add("next_step", createDialogNodeOptions.nextStep());
     }
     if (createDialogNodeOptions.title() != null) {
       contentJson.addProperty("title", createDialogNodeOptions.title());
@@ -2427,10 +2127,7 @@ public class Assistant extends BaseService {
       contentJson.addProperty("variable", createDialogNodeOptions.variable());
     }
     if (createDialogNodeOptions.actions() != null) {
-      contentJson.add(
-          "actions",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-              .toJsonTree(createDialogNodeOptions.actions()));
+      contentJson.add("actions", createDialogNodeOptions.actions());
     }
     if (createDialogNodeOptions.digressIn() != null) {
       contentJson.addProperty("digress_in", createDialogNodeOptions.digressIn());
@@ -2448,7 +2145,7 @@ public class Assistant extends BaseService {
       contentJson.addProperty(
           "disambiguation_opt_out", createDialogNodeOptions.disambiguationOptOut());
     }
-    builder.bodyJson(contentJson);
+    builder.body(contentJson);
     ResponseConverter<DialogNode> responseConverter =
         ResponseConverterUtils.getValue(
             new com.google.gson.reflect.TypeToken<DialogNode>() {}.getType());
@@ -2476,10 +2173,7 @@ public class Assistant extends BaseService {
                 getServiceUrl(),
                 "/v1/workspaces/{workspace_id}/dialog_nodes/{dialog_node}",
                 pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("conversation", "v1", "getDialogNode");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "conversation", "v1", "getDialogNode");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     if (getDialogNodeOptions.includeAudit() != null) {
@@ -2515,17 +2209,13 @@ public class Assistant extends BaseService {
                 getServiceUrl(),
                 "/v1/workspaces/{workspace_id}/dialog_nodes/{dialog_node}",
                 pathParamsMap));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("conversation", "v1", "updateDialogNode");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "conversation", "v1", "updateDialogNode");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     if (updateDialogNodeOptions.includeAudit() != null) {
       builder.query("include_audit", String.valueOf(updateDialogNodeOptions.includeAudit()));
     }
-    final JsonObject contentJson = new JsonObject();
+    final JsonRequestBody contentJson = new JsonRequestBody();
     if (updateDialogNodeOptions.newDialogNode() != null) {
       contentJson.addProperty("dialog_node", updateDialogNodeOptions.newDialogNode());
     }
@@ -2542,28 +2232,16 @@ public class Assistant extends BaseService {
       contentJson.addProperty("previous_sibling", updateDialogNodeOptions.newPreviousSibling());
     }
     if (updateDialogNodeOptions.newOutput() != null) {
-      contentJson.add(
-          "output",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-              .toJsonTree(updateDialogNodeOptions.newOutput()));
+      contentJson.add("output", updateDialogNodeOptions.newOutput());
     }
     if (updateDialogNodeOptions.newContext() != null) {
-      contentJson.add(
-          "context",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-              .toJsonTree(updateDialogNodeOptions.newContext()));
+      contentJson.add("context", updateDialogNodeOptions.newContext());
     }
     if (updateDialogNodeOptions.newMetadata() != null) {
-      contentJson.add(
-          "metadata",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-              .toJsonTree(updateDialogNodeOptions.newMetadata()));
+      contentJson.add("metadata", updateDialogNodeOptions.newMetadata());
     }
     if (updateDialogNodeOptions.newNextStep() != null) {
-      contentJson.add(
-          "next_step",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-              .toJsonTree(updateDialogNodeOptions.newNextStep()));
+      contentJson.add("next_step", updateDialogNodeOptions.newNextStep());
     }
     if (updateDialogNodeOptions.newTitle() != null) {
       contentJson.addProperty("title", updateDialogNodeOptions.newTitle());
@@ -2578,10 +2256,7 @@ public class Assistant extends BaseService {
       contentJson.addProperty("variable", updateDialogNodeOptions.newVariable());
     }
     if (updateDialogNodeOptions.newActions() != null) {
-      contentJson.add(
-          "actions",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-              .toJsonTree(updateDialogNodeOptions.newActions()));
+      contentJson.add("actions", updateDialogNodeOptions.newActions());
     }
     if (updateDialogNodeOptions.newDigressIn() != null) {
       contentJson.addProperty("digress_in", updateDialogNodeOptions.newDigressIn());
@@ -2599,7 +2274,7 @@ public class Assistant extends BaseService {
       contentJson.addProperty(
           "disambiguation_opt_out", updateDialogNodeOptions.newDisambiguationOptOut());
     }
-    builder.bodyJson(contentJson);
+    builder.body(contentJson);
     ResponseConverter<DialogNode> responseConverter =
         ResponseConverterUtils.getValue(
             new com.google.gson.reflect.TypeToken<DialogNode>() {}.getType());
@@ -2627,11 +2302,7 @@ public class Assistant extends BaseService {
                 getServiceUrl(),
                 "/v1/workspaces/{workspace_id}/dialog_nodes/{dialog_node}",
                 pathParamsMap));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("conversation", "v1", "deleteDialogNode");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "conversation", "v1", "deleteDialogNode");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     ResponseConverter<Void> responseConverter = ResponseConverterUtils.getVoid();
@@ -2662,10 +2333,7 @@ public class Assistant extends BaseService {
         RequestBuilder.get(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v1/workspaces/{workspace_id}/logs", pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("conversation", "v1", "listLogs");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "conversation", "v1", "listLogs");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     if (listLogsOptions.sort() != null) {
@@ -2704,10 +2372,7 @@ public class Assistant extends BaseService {
         listAllLogsOptions, "listAllLogsOptions cannot be null");
     RequestBuilder builder =
         RequestBuilder.get(RequestBuilder.resolveRequestUrl(getServiceUrl(), "/v1/logs"));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("conversation", "v1", "listAllLogs");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "conversation", "v1", "listAllLogs");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     builder.query("filter", String.valueOf(listAllLogsOptions.filter()));
@@ -2751,11 +2416,7 @@ public class Assistant extends BaseService {
         deleteUserDataOptions, "deleteUserDataOptions cannot be null");
     RequestBuilder builder =
         RequestBuilder.delete(RequestBuilder.resolveRequestUrl(getServiceUrl(), "/v1/user_data"));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("conversation", "v1", "deleteUserData");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "conversation", "v1", "deleteUserData");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     builder.query("customer_id", String.valueOf(deleteUserDataOptions.customerId()));
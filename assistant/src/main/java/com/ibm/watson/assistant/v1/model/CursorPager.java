@@ -0,0 +1,514 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.ibm.watson.assistant.v1.model;
+
+import com.ibm.cloud.sdk.core.http.Response;
+import com.ibm.cloud.sdk.core.http.ServiceCall;
+import com.ibm.cloud.sdk.core.http.ServiceCallback;
+import com.ibm.watson.assistant.v1.Assistant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Pages through the results of a list operation that returns a cursor to its next page.
+ *
+ * <p>Results can be read a page at a time with {@link #hasNext()} and {@link #getNext()}, all at
+ * once with {@link #getAll()}, or one result at a time with {@link #iterator()} or {@link
+ * #stream()}, which request pages only as they are needed. Because a page can only be requested
+ * with the cursor of the page before it, the pager requests the next page in the background as
+ * soon as a page arrives, while the caller consumes the pages already received, until <code>
+ * maxBufferedPages</code> pages are waiting to be consumed. With <code>maxBufferedPages</code> set
+ * to 0, a page is only requested when the caller asks for it.
+ *
+ * <p>The list operations of {@link Assistant} that return a cursor each have a factory, for
+ * example {@link #listLogs(Assistant, ListLogsOptions)}:
+ *
+ * <pre>
+ * for (Log log : CursorPager.listLogs(assistant, options)) {
+ *   ...
+ * }
+ * </pre>
+ *
+ * <p>Other pagers are created with {@link #of(String, int, Function, Function, Function)}, from
+ * the function that creates the call requesting a page and the accessors of the results and the
+ * next cursor of a page.
+ *
+ * <p>A pager reads the results once: the pages, the iterator and the stream all consume the same
+ * results. A pager is not meant to be used by several threads. The first failed request is thrown
+ * by the call that would have returned its page; calling again retries the request.
+ *
+ * @param <C> the type of the pages
+ * @param <T> the type of the results
+ */
+public final class CursorPager<C, T> implements Iterable<T>, AutoCloseable {
+
+  /** The number of pages requested ahead by default. */
+  public static final int DEFAULT_MAX_BUFFERED_PAGES = 1;
+
+  private final Function<String, ServiceCall<C>> call;
+  private final Function<C, List<T>> results;
+  private final Function<C, String> nextCursor;
+  private final int maxBufferedPages;
+  private final ArrayDeque<List<T>> pages = new ArrayDeque<>();
+  private String cursor;
+  private boolean lastPageReceived;
+  private ServiceCall<C> pageCall;
+  private Exception failure;
+  private boolean closed;
+  private Iterator<T> iterator;
+
+  private CursorPager(
+      String cursor,
+      int maxBufferedPages,
+      Function<String, ServiceCall<C>> call,
+      Function<C, List<T>> results,
+      Function<C, String> nextCursor) {
+    com.ibm.cloud.sdk.core.util.Validator.isTrue(
+        maxBufferedPages >= 0, "maxBufferedPages cannot be negative");
+    com.ibm.cloud.sdk.core.util.Validator.notNull(call, "call cannot be null");
+    com.ibm.cloud.sdk.core.util.Validator.notNull(results, "results cannot be null");
+    com.ibm.cloud.sdk.core.util.Validator.notNull(nextCursor, "nextCursor cannot be null");
+    this.cursor = cursor;
+    this.maxBufferedPages = maxBufferedPages;
+    this.call = call;
+    this.results = results;
+    this.nextCursor = nextCursor;
+  }
+
+  /**
+   * Creates a pager that requests one page ahead.
+   *
+   * @param cursor the cursor of the first page, or null to start with the first result
+   * @param call creates the call requesting the page of a cursor, which is null for the first page
+   * @param results gets the results of a page, or null if there are none
+   * @param nextCursor gets the cursor of the page that follows a page, or null after the last one
+   * @param <C> the type of the pages
+   * @param <T> the type of the results
+   * @return the pager
+   */
+  public static <C, T> CursorPager<C, T> of(
+      String cursor,
+      Function<String, ServiceCall<C>> call,
+      Function<C, List<T>> results,
+      Function<C, String> nextCursor) {
+    return of(cursor, DEFAULT_MAX_BUFFERED_PAGES, call, results, nextCursor);
+  }
+
+  /**
+   * Creates a pager.
+   *
+   * @param cursor the cursor of the first page, or null to start with the first result
+   * @param maxBufferedPages the maximum number of pages received but not consumed yet
+   * @param call creates the call requesting the page of a cursor, which is null for the first page
+   * @param results gets the results of a page, or null if there are none
+   * @param nextCursor gets the cursor of the page that follows a page, or null after the last one
+   * @param <C> the type of the pages
+   * @param <T> the type of the results
+   * @return the pager
+   */
+  public static <C, T> CursorPager<C, T> of(
+      String cursor,
+      int maxBufferedPages,
+      Function<String, ServiceCall<C>> call,
+      Function<C, List<T>> results,
+      Function<C, String> nextCursor) {
+    return new CursorPager<>(cursor, maxBufferedPages, call, results, nextCursor);
+  }
+
+  /**
+   * Creates a pager through the events logged for a workspace, as returned by {@link
+   * Assistant#listLogs(ListLogsOptions)}, that requests one page ahead.
+   *
+   * @param assistant the client used to request the pages
+   * @param options the options of the first page
+   * @return the pager
+   */
+  public static CursorPager<LogCollection, Log> listLogs(
+      final Assistant assistant, final ListLogsOptions options) {
+    com.ibm.cloud.sdk.core.util.Validator.notNull(assistant, "assistant cannot be null");
+    com.ibm.cloud.sdk.core.util.Validator.notNull(options, "options cannot be null");
+    return of(
+        options.cursor(),
+        new Function<String, ServiceCall<LogCollection>>() {
+          @Override
+          public ServiceCall<LogCollection> apply(String cursor) {
+            return assistant.listLogs(options.newBuilder().cursor(cursor).build());
+          }
+        },
+        new Function<LogCollection, List<Log>>() {
+          @Override
+          public List<Log> apply(LogCollection page) {
+            return page.getLogs();
+          }
+        },
+        new Function<LogCollection, String>() {
+          @Override
+          public String apply(LogCollection page) {
+            return page.getPagination() != null
+                ? page.getPagination().getNextCursor()
+                : null;
+          }
+        });
+  }
+
+  /**
+   * Creates a pager through the events logged for all workspaces, as returned by {@link
+   * Assistant#listAllLogs(ListAllLogsOptions)}, that requests one page ahead.
+   *
+   * @param assistant the client used to request the pages
+   * @param options the options of the first page
+   * @return the pager
+   */
+  public static CursorPager<LogCollection, Log> listAllLogs(
+      final Assistant assistant, final ListAllLogsOptions options) {
+    com.ibm.cloud.sdk.core.util.Validator.notNull(assistant, "assistant cannot be null");
+    com.ibm.cloud.sdk.core.util.Validator.notNull(options, "options cannot be null");
+    return of(
+        options.cursor(),
+        new Function<String, ServiceCall<LogCollection>>() {
+          @Override
+          public ServiceCall<LogCollection> apply(String cursor) {
+            return assistant.listAllLogs(options.newBuilder().cursor(cursor).build());
+          }
+        },
+        new Function<LogCollection, List<Log>>() {
+          @Override
+          public List<Log> apply(LogCollection page) {
+            return page.getLogs();
+          }
+        },
+        new Function<LogCollection, String>() {
+          @Override
+          public String apply(LogCollection page) {
+            return page.getPagination() != null
+                ? page.getPagination().getNextCursor()
+                : null;
+          }
+        });
+  }
+
+  /**
+   * Creates a pager through the workspaces of a service instance, as returned by {@link
+   * Assistant#listWorkspaces(ListWorkspacesOptions)}, that requests one page ahead.
+   *
+   * @param assistant the client used to request the pages
+   * @param options the options of the first page
+   * @return the pager
+   */
+  public static CursorPager<WorkspaceCollection, Workspace> listWorkspaces(
+      final Assistant assistant, final ListWorkspacesOptions options) {
+    com.ibm.cloud.sdk.core.util.Validator.notNull(assistant, "assistant cannot be null");
+    com.ibm.cloud.sdk.core.util.Validator.notNull(options, "options cannot be null");
+    return of(
+        options.cursor(),
+        new Function<String, ServiceCall<WorkspaceCollection>>() {
+          @Override
+          public ServiceCall<WorkspaceCollection> apply(String cursor) {
+            return assistant.listWorkspaces(options.newBuilder().cursor(cursor).build());
+          }
+        },
+        new Function<WorkspaceCollection, List<Workspace>>() {
+          @Override
+          public List<Workspace> apply(WorkspaceCollection page) {
+            return page.getWorkspaces();
+          }
+        },
+        new Function<WorkspaceCollection, String>() {
+          @Override
+          public String apply(WorkspaceCollection page) {
+            return page.getPagination() != null
+                ? page.getPagination().getNextCursor()
+                : null;
+          }
+        });
+  }
+
+  /**
+   * Creates a pager through the intents of a workspace, as returned by {@link
+   * Assistant#listIntents(ListIntentsOptions)}, that requests one page ahead.
+   *
+   * @param assistant the client used to request the pages
+   * @param options the options of the first page
+   * @return the pager
+   */
+  public static CursorPager<IntentCollection, Intent> listIntents(
+      final Assistant assistant, final ListIntentsOptions options) {
+    com.ibm.cloud.sdk.core.util.Validator.notNull(assistant, "assistant cannot be null");
+    com.ibm.cloud.sdk.core.util.Validator.notNull(options, "options cannot be null");
+    return of(
+        options.cursor(),
+        new Function<String, ServiceCall<IntentCollection>>() {
+          @Override
+          public ServiceCall<IntentCollection> apply(String cursor) {
+            return assistant.listIntents(options.newBuilder().cursor(cursor).build());
+          }
+        },
+        new Function<IntentCollection, List<Intent>>() {
+          @Override
+          public List<Intent> apply(IntentCollection page) {
+            return page.getIntents();
+          }
+        },
+        new Function<IntentCollection, String>() {
+          @Override
+          public String apply(IntentCollection page) {
+            return page.getPagination() != null
+                ? page.getPagination().getNextCursor()
+                : null;
+          }
+        });
+  }
+
+  /**
+   * Creates a pager through the user input examples of an intent, as returned by {@link
+   * Assistant#listExamples(ListExamplesOptions)}, that requests one page ahead.
+   *
+   * @param assistant the client used to request the pages
+   * @param options the options of the first page
+   * @return the pager
+   */
+  public static CursorPager<ExampleCollection, Example> listExamples(
+      final Assistant assistant, final ListExamplesOptions options) {
+    com.ibm.cloud.sdk.core.util.Validator.notNull(assistant, "assistant cannot be null");
+    com.ibm.cloud.sdk.core.util.Validator.notNull(options, "options cannot be null");
+    return of(
+        options.cursor(),
+        new Function<String, ServiceCall<ExampleCollection>>() {
+          @Override
+          public ServiceCall<ExampleCollection> apply(String cursor) {
+            return assistant.listExamples(options.newBuilder().cursor(cursor).build());
+          }
+        },
+        new Function<ExampleCollection, List<Example>>() {
+          @Override
+          public List<Example> apply(ExampleCollection page) {
+            return page.getExamples();
+          }
+        },
+        new Function<ExampleCollection, String>() {
+          @Override
+          public String apply(ExampleCollection page) {
+            return page.getPagination() != null
+                ? page.getPagination().getNextCursor()
+                : null;
+          }
+        });
+  }
+
+  /**
+   * Creates a pager through the dialog nodes of a workspace, as returned by {@link
+   * Assistant#listDialogNodes(ListDialogNodesOptions)}, that requests one page ahead.
+   *
+   * @param assistant the client used to request the pages
+   * @param options the options of the first page
+   * @return the pager
+   */
+  public static CursorPager<DialogNodeCollection, DialogNode> listDialogNodes(
+      final Assistant assistant, final ListDialogNodesOptions options) {
+    com.ibm.cloud.sdk.core.util.Validator.notNull(assistant, "assistant cannot be null");
+    com.ibm.cloud.sdk.core.util.Validator.notNull(options, "options cannot be null");
+    return of(
+        options.cursor(),
+        new Function<String, ServiceCall<DialogNodeCollection>>() {
+          @Override
+          public ServiceCall<DialogNodeCollection> apply(String cursor) {
+            return assistant.listDialogNodes(options.newBuilder().cursor(cursor).build());
+          }
+        },
+        new Function<DialogNodeCollection, List<DialogNode>>() {
+          @Override
+          public List<DialogNode> apply(DialogNodeCollection page) {
+            return page.getDialogNodes();
+          }
+        },
+        new Function<DialogNodeCollection, String>() {
+          @Override
+          public String apply(DialogNodeCollection page) {
+            return page.getPagination() != null
+                ? page.getPagination().getNextCursor()
+                : null;
+          }
+        });
+  }
+
+  /**
+   * Checks whether there are pages left to read.
+   *
+   * @return true if {@link #getNext()} returns another page
+   */
+  public synchronized boolean hasNext() {
+    return !closed && (!pages.isEmpty() || !lastPageReceived);
+  }
+
+  /**
+   * Gets the next page of results, waiting for it to arrive if it has not yet.
+   *
+   * @return the results of the page
+   * @throws NoSuchElementException if there are no pages left
+   */
+  public synchronized List<T> getNext() {
+    if (!hasNext()) {
+      throw new NoSuchElementException("There are no more pages");
+    }
+    if (pages.isEmpty() && pageCall == null && failure == null) {
+      request();
+    }
+    while (pages.isEmpty()) {
+      if (failure != null) {
+        Exception e = failure;
+        failure = null;
+        throw e instanceof RuntimeException ? (RuntimeException) e : new RuntimeException(e);
+      }
+      try {
+        wait();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new RuntimeException(e);
+      }
+    }
+    List<T> page = pages.poll();
+    prefetch();
+    return page;
+  }
+
+  /**
+   * Gets all the remaining results.
+   *
+   * @return the results
+   */
+  public List<T> getAll() {
+    List<T> all = new ArrayList<>();
+    while (hasNext()) {
+      all.addAll(getNext());
+    }
+    return all;
+  }
+
+  /**
+   * Returns an iterator over the remaining results, which requests pages as they are needed.
+   * Every call returns the same iterator.
+   *
+   * @return the iterator
+   */
+  @Override
+  public synchronized Iterator<T> iterator() {
+    if (iterator == null) {
+      iterator =
+          new Iterator<T>() {
+            private Iterator<T> page = Collections.<T>emptyList().iterator();
+
+            @Override
+            public boolean hasNext() {
+              while (!page.hasNext() && CursorPager.this.hasNext()) {
+                page = getNext().iterator();
+              }
+              return page.hasNext();
+            }
+
+            @Override
+            public T next() {
+              if (!hasNext()) {
+                throw new NoSuchElementException();
+              }
+              return page.next();
+            }
+          };
+    }
+    return iterator;
+  }
+
+  /**
+   * Returns a sequential stream of the remaining results, which requests pages as they are
+   * needed. Closing the stream closes the pager.
+   *
+   * @return the stream
+   */
+  public Stream<T> stream() {
+    return StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED), false)
+        .onClose(
+            new Runnable() {
+              @Override
+              public void run() {
+                close();
+              }
+            });
+  }
+
+  /** Cancels the request in flight and discards the pages that have not been consumed. */
+  @Override
+  public synchronized void close() {
+    closed = true;
+    pages.clear();
+    if (pageCall != null) {
+      pageCall.cancel();
+      pageCall = null;
+    }
+    notifyAll();
+  }
+
+  private void prefetch() {
+    if (pages.size() < maxBufferedPages && pageCall == null && failure == null) {
+      request();
+    }
+  }
+
+  private void request() {
+    if (closed || lastPageReceived) {
+      return;
+    }
+    final ServiceCall<C> requested = call.apply(cursor);
+    pageCall = requested;
+    requested.enqueue(
+        new ServiceCallback<C>() {
+          @Override
+          public void onResponse(Response<C> response) {
+            synchronized (CursorPager.this) {
+              if (pageCall != requested) {
+                return;
+              }
+              pageCall = null;
+              C page = response.getResult();
+              List<T> received = page != null ? results.apply(page) : null;
+              pages.add(received != null ? received : Collections.<T>emptyList());
+              cursor = page != null ? nextCursor.apply(page) : null;
+              lastPageReceived = cursor == null;
+              prefetch();
+              CursorPager.this.notifyAll();
+            }
+          }
+
+          @Override
+          public void onFailure(Exception e) {
+            synchronized (CursorPager.this) {
+              if (pageCall != requested) {
+                return;
+              }
+              pageCall = null;
+              failure = e;
+              CursorPager.this.notifyAll();
+            }
+          }
+        });
+  }
+}
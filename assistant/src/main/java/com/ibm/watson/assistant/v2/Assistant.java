@@ -17,7 +17,6 @@
 
 package com.ibm.watson.assistant.v2;
 
-import com.google.gson.JsonObject;
 import com.ibm.cloud.sdk.core.http.RequestBuilder;
 import com.ibm.cloud.sdk.core.http.ResponseConverter;
 import com.ibm.cloud.sdk.core.http.ServiceCall;
@@ -61,6 +60,8 @@ import com.ibm.watson.assistant.v2.model.LogCollection;
 import com.ibm.watson.assistant.v2.model.MessageOptions;
 import com.ibm.watson.assistant.v2.model.MessageStatelessOptions;
 import com.ibm.watson.assistant.v2.model.MessageStreamOptions;
+import com.ibm.watson.assistant.v2.model.MessageStreamPublisher;
+import com.ibm.watson.assistant.v2.model.MessageStreamResponse;
 import com.ibm.watson.assistant.v2.model.MessageStreamStatelessOptions;
 import com.ibm.watson.assistant.v2.model.MonitorAssistantReleaseImportArtifactResponse;
 import com.ibm.watson.assistant.v2.model.ProviderCollection;
@@ -73,14 +74,16 @@ import com.ibm.watson.assistant.v2.model.SkillsAsyncRequestStatus;
 import com.ibm.watson.assistant.v2.model.SkillsExport;
 import com.ibm.watson.assistant.v2.model.StatefulMessageResponse;
 import com.ibm.watson.assistant.v2.model.StatelessMessageResponse;
+import com.ibm.watson.assistant.v2.model.StatelessMessageStreamResponse;
 import com.ibm.watson.assistant.v2.model.UpdateEnvironmentOptions;
 import com.ibm.watson.assistant.v2.model.UpdateProviderOptions;
 import com.ibm.watson.assistant.v2.model.UpdateSkillOptions;
+import com.ibm.watson.common.JsonRequestBody;
 import com.ibm.watson.common.SdkCommon;
 import java.io.InputStream;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Map.Entry;
+import org.reactivestreams.Publisher;
 
 /**
  * The IBM&amp;reg; watsonx&amp;trade; Assistant service combines machine learning, natural language
@@ -195,23 +198,14 @@ public class Assistant extends BaseService {
         createProviderOptions, "createProviderOptions cannot be null");
     RequestBuilder builder =
         RequestBuilder.post(RequestBuilder.resolveRequestUrl(getServiceUrl(), "/v2/providers"));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("assistant", "v2", "createProvider");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "assistant", "v2", "createProvider");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
-    final JsonObject contentJson = new JsonObject();
+    final JsonRequestBody contentJson = new JsonRequestBody();
     contentJson.addProperty("provider_id", createProviderOptions.providerId());
-    contentJson.add(
-        "specification",
-        com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-            .toJsonTree(createProviderOptions.specification()));
-    contentJson.add(
-        "private",
-        com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-            .toJsonTree(createProviderOptions.xPrivate()));
-    builder.bodyJson(contentJson);
+    contentJson.add("specification", createProviderOptions.specification());
+    contentJson.add("private", createProviderOptions.xPrivate());
+    builder.body(contentJson);
     ResponseConverter<ProviderResponse> responseConverter =
         ResponseConverterUtils.getValue(
             new com.google.gson.reflect.TypeToken<ProviderResponse>() {}.getType());
@@ -233,10 +227,7 @@ public class Assistant extends BaseService {
     }
     RequestBuilder builder =
         RequestBuilder.get(RequestBuilder.resolveRequestUrl(getServiceUrl(), "/v2/providers"));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("assistant", "v2", "listProviders");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "assistant", "v2", "listProviders");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     if (listProvidersOptions.pageLimit() != null) {
@@ -289,22 +280,13 @@ public class Assistant extends BaseService {
         RequestBuilder.post(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v2/providers/{provider_id}", pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("assistant", "v2", "updateProvider");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "assistant", "v2", "updateProvider");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
-    final JsonObject contentJson = new JsonObject();
-    contentJson.add(
-        "specification",
-        com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-            .toJsonTree(updateProviderOptions.specification()));
-    contentJson.add(
-        "private",
-        com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-            .toJsonTree(updateProviderOptions.xPrivate()));
-    builder.bodyJson(contentJson);
+    final JsonRequestBody contentJson = new JsonRequestBody();
+    contentJson.add("specification", updateProviderOptions.specification());
+    contentJson.add("private", updateProviderOptions.xPrivate());
+    builder.body(contentJson);
     ResponseConverter<ProviderResponse> responseConverter =
         ResponseConverterUtils.getValue(
             new com.google.gson.reflect.TypeToken<ProviderResponse>() {}.getType());
@@ -328,14 +310,11 @@ public class Assistant extends BaseService {
     }
     RequestBuilder builder =
         RequestBuilder.post(RequestBuilder.resolveRequestUrl(getServiceUrl(), "/v2/assistants"));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("assistant", "v2", "createAssistant");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "assistant", "v2", "createAssistant");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     if (!skipBody) {
-      final JsonObject contentJson = new JsonObject();
+      final JsonRequestBody contentJson = new JsonRequestBody();
       if (createAssistantOptions.name() != null) {
         contentJson.addProperty("name", createAssistantOptions.name());
       }
@@ -345,7 +324,7 @@ public class Assistant extends BaseService {
       if (createAssistantOptions.language() != null) {
         contentJson.addProperty("language", createAssistantOptions.language());
       }
-      builder.bodyJson(contentJson);
+      builder.body(contentJson);
     }
     ResponseConverter<AssistantData> responseConverter =
         ResponseConverterUtils.getValue(
@@ -380,10 +359,7 @@ public class Assistant extends BaseService {
     }
     RequestBuilder builder =
         RequestBuilder.get(RequestBuilder.resolveRequestUrl(getServiceUrl(), "/v2/assistants"));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("assistant", "v2", "listAssistants");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "assistant", "v2", "listAssistants");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     if (listAssistantsOptions.pageLimit() != null) {
@@ -436,10 +412,7 @@ public class Assistant extends BaseService {
         RequestBuilder.delete(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v2/assistants/{assistant_id}", pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("assistant", "v2", "deleteAssistant");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "assistant", "v2", "deleteAssistant");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     ResponseConverter<Void> responseConverter = ResponseConverterUtils.getVoid();
@@ -470,20 +443,14 @@ public class Assistant extends BaseService {
                 getServiceUrl(),
                 "/v2/assistants/{assistant_id}/environments/{environment_id}/sessions",
                 pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("assistant", "v2", "createSession");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "assistant", "v2", "createSession");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
-    final JsonObject contentJson = new JsonObject();
+    final JsonRequestBody contentJson = new JsonRequestBody();
     if (createSessionOptions.analytics() != null) {
-      contentJson.add(
-          "analytics",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-              .toJsonTree(createSessionOptions.analytics()));
+      contentJson.add("analytics", createSessionOptions.analytics());
     }
-    builder.bodyJson(contentJson);
+    builder.body(contentJson);
     ResponseConverter<SessionResponse> responseConverter =
         ResponseConverterUtils.getValue(
             new com.google.gson.reflect.TypeToken<SessionResponse>() {}.getType());
@@ -514,10 +481,7 @@ public class Assistant extends BaseService {
                 getServiceUrl(),
                 "/v2/assistants/{assistant_id}/environments/{environment_id}/sessions/{session_id}",
                 pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("assistant", "v2", "deleteSession");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "assistant", "v2", "deleteSession");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     ResponseConverter<Void> responseConverter = ResponseConverterUtils.getVoid();
@@ -545,27 +509,20 @@ public class Assistant extends BaseService {
                 getServiceUrl(),
                 "/v2/assistants/{assistant_id}/environments/{environment_id}/sessions/{session_id}/message",
                 pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("assistant", "v2", "message");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "assistant", "v2", "message");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
-    final JsonObject contentJson = new JsonObject();
+    final JsonRequestBody contentJson = new JsonRequestBody();
     if (messageOptions.input() != null) {
-      contentJson.add(
-          "input",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson().toJsonTree(messageOptions.input()));
+      contentJson.add("input", messageOptions.input());
     }
     if (messageOptions.context() != null) {
-      contentJson.add(
-          "context",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson().toJsonTree(messageOptions.context()));
+      contentJson.add("context", messageOptions.context());
     }
     if (messageOptions.userId() != null) {
       contentJson.addProperty("user_id", messageOptions.userId());
     }
-    builder.bodyJson(contentJson);
+    builder.body(contentJson);
     ResponseConverter<StatefulMessageResponse> responseConverter =
         ResponseConverterUtils.getValue(
             new com.google.gson.reflect.TypeToken<StatefulMessageResponse>() {}.getType());
@@ -595,29 +552,20 @@ public class Assistant extends BaseService {
                 getServiceUrl(),
                 "/v2/assistants/{assistant_id}/environments/{environment_id}/message",
                 pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("assistant", "v2", "messageStateless");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "assistant", "v2", "messageStateless");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
-    final JsonObject contentJson = new JsonObject();
+    final JsonRequestBody contentJson = new JsonRequestBody();
     if (messageStatelessOptions.input() != null) {
-      contentJson.add(
-          "input",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-              .toJsonTree(messageStatelessOptions.input()));
+      contentJson.add("input", messageStatelessOptions.input());
     }
     if (messageStatelessOptions.context() != null) {
-      contentJson.add(
-          "context",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-              .toJsonTree(messageStatelessOptions.context()));
+      contentJson.add("context", messageStatelessOptions.context());
     }
     if (messageStatelessOptions.userId() != null) {
       contentJson.addProperty("user_id", messageStatelessOptions.userId());
     }
-    builder.bodyJson(contentJson);
+    builder.body(contentJson);
     ResponseConverter<StatelessMessageResponse> responseConverter =
         ResponseConverterUtils.getValue(
             new com.google.gson.reflect.TypeToken<StatelessMessageResponse>() {}.getType());
@@ -647,29 +595,20 @@ public class Assistant extends BaseService {
                 getServiceUrl(),
                 "/v2/assistants/{assistant_id}/environments/{environment_id}/sessions/{session_id}/message_stream",
                 pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("assistant", "v2", "messageStream");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "assistant", "v2", "messageStream");
     builder.header("Accept", "text/event-stream");
     builder.query("version", String.valueOf(this.version));
-    final JsonObject contentJson = new JsonObject();
+    final JsonRequestBody contentJson = new JsonRequestBody();
     if (messageStreamOptions.input() != null) {
-      contentJson.add(
-          "input",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-              .toJsonTree(messageStreamOptions.input()));
+      contentJson.add("input", messageStreamOptions.input());
     }
     if (messageStreamOptions.context() != null) {
-      contentJson.add(
-          "context",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-              .toJsonTree(messageStreamOptions.context()));
+      contentJson.add("context", messageStreamOptions.context());
     }
     if (messageStreamOptions.userId() != null) {
       contentJson.addProperty("user_id", messageStreamOptions.userId());
     }
-    builder.bodyJson(contentJson);
+    builder.body(contentJson);
     ResponseConverter<InputStream> responseConverter = ResponseConverterUtils.getInputStream();
     return createServiceCall(builder.build(), responseConverter);
   }
@@ -697,34 +636,68 @@ public class Assistant extends BaseService {
                 getServiceUrl(),
                 "/v2/assistants/{assistant_id}/environments/{environment_id}/message_stream",
                 pathParamsMap));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("assistant", "v2", "messageStreamStateless");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "assistant", "v2", "messageStreamStateless");
     builder.header("Accept", "text/event-stream");
     builder.query("version", String.valueOf(this.version));
-    final JsonObject contentJson = new JsonObject();
+    final JsonRequestBody contentJson = new JsonRequestBody();
     if (messageStreamStatelessOptions.input() != null) {
-      contentJson.add(
-          "input",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-              .toJsonTree(messageStreamStatelessOptions.input()));
+      contentJson.add("input", messageStreamStatelessOptions.input());
     }
     if (messageStreamStatelessOptions.context() != null) {
-      contentJson.add(
-          "context",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-              .toJsonTree(messageStreamStatelessOptions.context()));
+      contentJson.add("context", messageStreamStatelessOptions.context());
     }
     if (messageStreamStatelessOptions.userId() != null) {
       contentJson.addProperty("user_id", messageStreamStatelessOptions.userId());
     }
-    builder.bodyJson(contentJson);
+    builder.body(contentJson);
     ResponseConverter<InputStream> responseConverter = ResponseConverterUtils.getInputStream();
     return createServiceCall(builder.build(), responseConverter);
   }
 
+  /**
+   * Send user input to assistant (stateful) and publish the streamed responses.
+   *
+   * <p>Like {@link #messageStream(MessageStreamOptions)}, but the request is sent asynchronously
+   * when a subscriber subscribes, and each server-sent event is decoded into a {@link
+   * MessageStreamResponse} when the subscriber requests it. The events are read with blocking
+   * reads on the executor of the dispatcher of the HTTP client: while the subscriber has
+   * outstanding demand, the stream holds one thread of that executor waiting for the next event.
+   * The thread does not count against the request limits of the dispatcher, and no caller thread
+   * blocks.
+   *
+   * @param messageStreamOptions the {@link MessageStreamOptions} containing the options for the
+   *     call
+   * @return a {@link Publisher} of the {@link MessageStreamResponse}s, for a single subscriber
+   */
+  public Publisher<MessageStreamResponse> messageStreamPublisher(
+      MessageStreamOptions messageStreamOptions) {
+    return new MessageStreamPublisher<>(
+        messageStream(messageStreamOptions),
+        MessageStreamResponse.class,
+        getClient().dispatcher().executorService());
+  }
+
+  /**
+   * Send user input to assistant (stateless) and publish the streamed responses.
+   *
+   * <p>Like {@link #messageStreamStateless(MessageStreamStatelessOptions)}, but the request is sent
+   * asynchronously when a subscriber subscribes, and each server-sent event is decoded into a
+   * {@link StatelessMessageStreamResponse} when the subscriber requests it, holding one thread of
+   * the executor of the dispatcher while the subscriber has outstanding demand.
+   *
+   * @param messageStreamStatelessOptions the {@link MessageStreamStatelessOptions} containing the
+   *     options for the call
+   * @return a {@link Publisher} of the {@link StatelessMessageStreamResponse}s, for a single
+   *     subscriber
+   */
+  public Publisher<StatelessMessageStreamResponse> messageStreamStatelessPublisher(
+      MessageStreamStatelessOptions messageStreamStatelessOptions) {
+    return new MessageStreamPublisher<>(
+        messageStreamStateless(messageStreamStatelessOptions),
+        StatelessMessageStreamResponse.class,
+        getClient().dispatcher().executorService());
+  }
+
   /**
    * Identify intents and entities in multiple user utterances.
    *
@@ -746,18 +719,12 @@ public class Assistant extends BaseService {
         RequestBuilder.post(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v2/skills/{skill_id}/workspace/bulk_classify", pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("assistant", "v2", "bulkClassify");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "assistant", "v2", "bulkClassify");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
-    final JsonObject contentJson = new JsonObject();
-    contentJson.add(
-        "input",
-        com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-            .toJsonTree(bulkClassifyOptions.input()));
-    builder.bodyJson(contentJson);
+    final JsonRequestBody contentJson = new JsonRequestBody();
+    contentJson.add("input", bulkClassifyOptions.input());
+    builder.body(contentJson);
     ResponseConverter<BulkClassifyResponse> responseConverter =
         ResponseConverterUtils.getValue(
             new com.google.gson.reflect.TypeToken<BulkClassifyResponse>() {}.getType());
@@ -788,10 +755,7 @@ public class Assistant extends BaseService {
         RequestBuilder.get(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v2/assistants/{assistant_id}/logs", pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("assistant", "v2", "listLogs");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "assistant", "v2", "listLogs");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     if (listLogsOptions.sort() != null) {
@@ -837,10 +801,7 @@ public class Assistant extends BaseService {
         deleteUserDataOptions, "deleteUserDataOptions cannot be null");
     RequestBuilder builder =
         RequestBuilder.delete(RequestBuilder.resolveRequestUrl(getServiceUrl(), "/v2/user_data"));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("assistant", "v2", "deleteUserData");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "assistant", "v2", "deleteUserData");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     builder.query("customer_id", String.valueOf(deleteUserDataOptions.customerId()));
@@ -867,10 +828,7 @@ public class Assistant extends BaseService {
         RequestBuilder.get(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v2/assistants/{assistant_id}/environments", pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("assistant", "v2", "listEnvironments");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "assistant", "v2", "listEnvironments");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     if (listEnvironmentsOptions.pageLimit() != null) {
@@ -916,10 +874,7 @@ public class Assistant extends BaseService {
                 getServiceUrl(),
                 "/v2/assistants/{assistant_id}/environments/{environment_id}",
                 pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("assistant", "v2", "getEnvironment");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "assistant", "v2", "getEnvironment");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     if (getEnvironmentOptions.includeAudit() != null) {
@@ -955,14 +910,10 @@ public class Assistant extends BaseService {
                 getServiceUrl(),
                 "/v2/assistants/{assistant_id}/environments/{environment_id}",
                 pathParamsMap));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("assistant", "v2", "updateEnvironment");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "assistant", "v2", "updateEnvironment");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
-    final JsonObject contentJson = new JsonObject();
+    final JsonRequestBody contentJson = new JsonRequestBody();
     if (updateEnvironmentOptions.name() != null) {
       contentJson.addProperty("name", updateEnvironmentOptions.name());
     }
@@ -970,21 +921,15 @@ public class Assistant extends BaseService {
       contentJson.addProperty("description", updateEnvironmentOptions.description());
     }
     if (updateEnvironmentOptions.orchestration() != null) {
-      contentJson.add(
-          "orchestration",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-              .toJsonTree(updateEnvironmentOptions.orchestration()));
+      contentJson.add("orchestration", updateEnvironmentOptions.orchestration());
     }
     if (updateEnvironmentOptions.sessionTimeout() != null) {
       contentJson.addProperty("session_timeout", updateEnvironmentOptions.sessionTimeout());
     }
     if (updateEnvironmentOptions.skillReferences() != null) {
-      contentJson.add(
-          "skill_references",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-              .toJsonTree(updateEnvironmentOptions.skillReferences()));
+      contentJson.add("skill_references", updateEnvironmentOptions.skillReferences());
     }
-    builder.bodyJson(contentJson);
+    builder.body(contentJson);
     ResponseConverter<Environment> responseConverter =
         ResponseConverterUtils.getValue(
             new com.google.gson.reflect.TypeToken<Environment>() {}.getType());
@@ -1010,17 +955,14 @@ public class Assistant extends BaseService {
         RequestBuilder.post(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v2/assistants/{assistant_id}/releases", pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("assistant", "v2", "createRelease");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "assistant", "v2", "createRelease");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
-    final JsonObject contentJson = new JsonObject();
+    final JsonRequestBody contentJson = new JsonRequestBody();
     if (createReleaseOptions.description() != null) {
       contentJson.addProperty("description", createReleaseOptions.description());
     }
-    builder.bodyJson(contentJson);
+    builder.body(contentJson);
     ResponseConverter<Release> responseConverter =
         ResponseConverterUtils.getValue(
             new com.google.gson.reflect.TypeToken<Release>() {}.getType());
@@ -1045,10 +987,7 @@ public class Assistant extends BaseService {
         RequestBuilder.get(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v2/assistants/{assistant_id}/releases", pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("assistant", "v2", "listReleases");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "assistant", "v2", "listReleases");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     if (listReleasesOptions.pageLimit() != null) {
@@ -1097,10 +1036,7 @@ public class Assistant extends BaseService {
                 getServiceUrl(),
                 "/v2/assistants/{assistant_id}/releases/{release}",
                 pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("assistant", "v2", "getRelease");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "assistant", "v2", "getRelease");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     if (getReleaseOptions.includeAudit() != null) {
@@ -1134,10 +1070,7 @@ public class Assistant extends BaseService {
                 getServiceUrl(),
                 "/v2/assistants/{assistant_id}/releases/{release}",
                 pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("assistant", "v2", "deleteRelease");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "assistant", "v2", "deleteRelease");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     ResponseConverter<Void> responseConverter = ResponseConverterUtils.getVoid();
@@ -1166,18 +1099,15 @@ public class Assistant extends BaseService {
                 getServiceUrl(),
                 "/v2/assistants/{assistant_id}/releases/{release}/deploy",
                 pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("assistant", "v2", "deployRelease");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "assistant", "v2", "deployRelease");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     if (deployReleaseOptions.includeAudit() != null) {
       builder.query("include_audit", String.valueOf(deployReleaseOptions.includeAudit()));
     }
-    final JsonObject contentJson = new JsonObject();
+    final JsonRequestBody contentJson = new JsonRequestBody();
     contentJson.addProperty("environment_id", deployReleaseOptions.environmentId());
-    builder.bodyJson(contentJson);
+    builder.body(contentJson);
     ResponseConverter<Environment> responseConverter =
         ResponseConverterUtils.getValue(
             new com.google.gson.reflect.TypeToken<Environment>() {}.getType());
@@ -1212,11 +1142,7 @@ public class Assistant extends BaseService {
                 getServiceUrl(),
                 "/v2/assistants/{assistant_id}/releases/{release}/export",
                 pathParamsMap));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("assistant", "v2", "createReleaseExport");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "assistant", "v2", "createReleaseExport");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     if (createReleaseExportOptions.includeAudit() != null) {
@@ -1264,11 +1190,7 @@ public class Assistant extends BaseService {
                 getServiceUrl(),
                 "/v2/assistants/{assistant_id}/releases/{release}/export",
                 pathParamsMap));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("assistant", "v2", "downloadReleaseExport");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "assistant", "v2", "downloadReleaseExport");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     if (downloadReleaseExportOptions.includeAudit() != null) {
@@ -1316,11 +1238,7 @@ public class Assistant extends BaseService {
                 getServiceUrl(),
                 "/v2/assistants/{assistant_id}/releases/{release}/export",
                 pathParamsMap));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("assistant", "v2", "downloadReleaseExportAsStream");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "assistant", "v2", "downloadReleaseExportAsStream");
     builder.header("Accept", "application/octet-stream");
     builder.query("version", String.valueOf(this.version));
     if (downloadReleaseExportOptions.includeAudit() != null) {
@@ -1364,11 +1282,7 @@ public class Assistant extends BaseService {
         RequestBuilder.post(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v2/assistants/{assistant_id}/import", pathParamsMap));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("assistant", "v2", "createReleaseImport");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "assistant", "v2", "createReleaseImport");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     if (createReleaseImportOptions.includeAudit() != null) {
@@ -1403,11 +1317,7 @@ public class Assistant extends BaseService {
         RequestBuilder.get(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v2/assistants/{assistant_id}/import", pathParamsMap));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("assistant", "v2", "getReleaseImportStatus");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "assistant", "v2", "getReleaseImportStatus");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     if (getReleaseImportStatusOptions.includeAudit() != null) {
@@ -1438,10 +1348,7 @@ public class Assistant extends BaseService {
         RequestBuilder.get(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v2/assistants/{assistant_id}/skills/{skill_id}", pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("assistant", "v2", "getSkill");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "assistant", "v2", "getSkill");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     ResponseConverter<Skill> responseConverter =
@@ -1471,13 +1378,10 @@ public class Assistant extends BaseService {
         RequestBuilder.post(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v2/assistants/{assistant_id}/skills/{skill_id}", pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("assistant", "v2", "updateSkill");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "assistant", "v2", "updateSkill");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
-    final JsonObject contentJson = new JsonObject();
+    final JsonRequestBody contentJson = new JsonRequestBody();
     if (updateSkillOptions.name() != null) {
       contentJson.addProperty("name", updateSkillOptions.name());
     }
@@ -1485,24 +1389,15 @@ public class Assistant extends BaseService {
       contentJson.addProperty("description", updateSkillOptions.description());
     }
     if (updateSkillOptions.workspace() != null) {
-      contentJson.add(
-          "workspace",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-              .toJsonTree(updateSkillOptions.workspace()));
+      contentJson.add("workspace", updateSkillOptions.workspace());
     }
     if (updateSkillOptions.dialogSettings() != null) {
-      contentJson.add(
-          "dialog_settings",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-              .toJsonTree(updateSkillOptions.dialogSettings()));
+      contentJson.add("dialog_settings", updateSkillOptions.dialogSettings());
     }
     if (updateSkillOptions.searchSettings() != null) {
-      contentJson.add(
-          "search_settings",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-              .toJsonTree(updateSkillOptions.searchSettings()));
+      contentJson.add("search_settings", updateSkillOptions.searchSettings());
     }
-    builder.bodyJson(contentJson);
+    builder.body(contentJson);
     ResponseConverter<Skill> responseConverter =
         ResponseConverterUtils.getValue(
             new com.google.gson.reflect.TypeToken<Skill>() {}.getType());
@@ -1541,10 +1436,7 @@ public class Assistant extends BaseService {
         RequestBuilder.get(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v2/assistants/{assistant_id}/skills_export", pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("assistant", "v2", "exportSkills");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "assistant", "v2", "exportSkills");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     if (exportSkillsOptions.includeAudit() != null) {
@@ -1583,25 +1475,16 @@ public class Assistant extends BaseService {
         RequestBuilder.post(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v2/assistants/{assistant_id}/skills_import", pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("assistant", "v2", "importSkills");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "assistant", "v2", "importSkills");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     if (importSkillsOptions.includeAudit() != null) {
       builder.query("include_audit", String.valueOf(importSkillsOptions.includeAudit()));
     }
-    final JsonObject contentJson = new JsonObject();
-    contentJson.add(
-        "assistant_skills",
-        com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-            .toJsonTree(importSkillsOptions.assistantSkills()));
-    contentJson.add(
-        "assistant_state",
-        com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-            .toJsonTree(importSkillsOptions.assistantState()));
-    builder.bodyJson(contentJson);
+    final JsonRequestBody contentJson = new JsonRequestBody();
+    contentJson.add("assistant_skills", importSkillsOptions.assistantSkills());
+    contentJson.add("assistant_state", importSkillsOptions.assistantState());
+    builder.body(contentJson);
     ResponseConverter<SkillsAsyncRequestStatus> responseConverter =
         ResponseConverterUtils.getValue(
             new com.google.gson.reflect.TypeToken<SkillsAsyncRequestStatus>() {}.getType());
@@ -1630,11 +1513,7 @@ public class Assistant extends BaseService {
                 getServiceUrl(),
                 "/v2/assistants/{assistant_id}/skills_import/status",
                 pathParamsMap));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("assistant", "v2", "importSkillsStatus");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "assistant", "v2", "importSkillsStatus");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     ResponseConverter<SkillsAsyncRequestStatus> responseConverter =
@@ -14,13 +14,23 @@
 package com.ibm.watson.assistant.v2.model;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.ibm.cloud.sdk.core.util.GsonSingleton;
 import com.launchdarkly.eventsource.EventSource;
 import com.launchdarkly.eventsource.MessageEvent;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.StringReader;
 import java.util.Iterator;
 
 public class MessageEventDeserializer extends MessageStreamResponse {
 
+  private static final Gson GSON = GsonSingleton.getGson();
+  private static final String PARTIAL_ITEM = "partial_item";
+  private static final String COMPLETE_ITEM = "complete_item";
+  private static final String FINAL_RESPONSE = "final_response";
+
   protected EventSource eventSource;
 
   /** Builder. */
@@ -96,41 +106,100 @@ public class MessageEventDeserializer extends MessageStreamResponse {
     return () -> new StatelessIteratorImpl<>(eventSource.messages());
   }
 
+  /**
+   * Reads the events of a stream returned by messageStream and passes their items to the callback
+   * as they arrive. Returns when the stream ends.
+   *
+   * @param callback the callback receiving the items
+   */
+  public void decode(MessageStreamCallback<FinalResponse> callback) {
+    decode(callback, FinalResponse.class);
+  }
+
+  /**
+   * Reads the events of a stream returned by messageStreamStateless and passes their items to the
+   * callback as they arrive. Returns when the stream ends.
+   *
+   * @param callback the callback receiving the items
+   */
+  public void decodeStateless(MessageStreamCallback<StatelessFinalResponse> callback) {
+    decode(callback, StatelessFinalResponse.class);
+  }
+
+  private <T> void decode(MessageStreamCallback<T> callback, Class<T> finalResponseType) {
+    try {
+      for (MessageEvent messageEvent : eventSource.messages()) {
+        decodeEvent(messageEvent.getData(), finalResponseType, callback);
+      }
+    } catch (IOException | JsonParseException e) {
+      callback.onError(e);
+    } finally {
+      eventSource.close();
+    }
+  }
+
+  /**
+   * Decodes the data of one event, reading its item directly instead of through a {@link
+   * MessageStreamResponse}.
+   *
+   * @param data the data of the event
+   * @param finalResponseType the class of the final response
+   * @param callback the callback receiving the item
+   * @throws IOException if the data is not valid JSON
+   */
+  static <T> void decodeEvent(
+      String data, Class<T> finalResponseType, MessageStreamCallback<T> callback)
+      throws IOException {
+    JsonReader reader = new JsonReader(new StringReader(data));
+    reader.beginObject();
+    while (reader.hasNext()) {
+      String name = reader.nextName();
+      if (PARTIAL_ITEM.equals(name)) {
+        callback.onPartialItem(GSON.<PartialItem>fromJson(reader, PartialItem.class));
+      } else if (COMPLETE_ITEM.equals(name)) {
+        callback.onCompleteItem(GSON.<CompleteItem>fromJson(reader, CompleteItem.class));
+      } else if (FINAL_RESPONSE.equals(name)) {
+        callback.onFinalResponse(GSON.<T>fromJson(reader, finalResponseType));
+      } else {
+        reader.skipValue();
+      }
+    }
+    reader.endObject();
+  }
+
   private class IteratorImpl<T extends MessageStreamResponse> implements Iterator<T> {
-    private final Iterable<MessageEvent> messageEvents;
+    private final Iterator<MessageEvent> messageEvents;
 
     IteratorImpl(Iterable<MessageEvent> messageEvents) {
-      this.messageEvents = messageEvents;
+      this.messageEvents = messageEvents.iterator();
     }
 
     public boolean hasNext() {
-      return messageEvents.iterator().hasNext();
+      return messageEvents.hasNext();
     }
 
     public T next() {
-      Gson gson = new Gson();
-      MessageEvent messageEvent = messageEvents.iterator().next();
-      T item = (T) gson.fromJson(messageEvent.getData(), MessageStreamResponse.class);
+      MessageEvent messageEvent = messageEvents.next();
+      T item = (T) GSON.fromJson(messageEvent.getData(), MessageStreamResponse.class);
       return item;
     }
   }
 
   private class StatelessIteratorImpl<T extends StatelessMessageStreamResponse>
       implements Iterator<T> {
-    private final Iterable<MessageEvent> messageEvents;
+    private final Iterator<MessageEvent> messageEvents;
 
     StatelessIteratorImpl(Iterable<MessageEvent> messageEvents) {
-      this.messageEvents = messageEvents;
+      this.messageEvents = messageEvents.iterator();
     }
 
     public boolean hasNext() {
-      return messageEvents.iterator().hasNext();
+      return messageEvents.hasNext();
     }
 
     public T next() {
-      Gson gson = new Gson();
-      MessageEvent messageEvent = messageEvents.iterator().next();
-      T item = (T) gson.fromJson(messageEvent.getData(), StatelessMessageStreamResponse.class);
+      MessageEvent messageEvent = messageEvents.next();
+      T item = (T) GSON.fromJson(messageEvent.getData(), StatelessMessageStreamResponse.class);
       return item;
     }
   }
@@ -0,0 +1,53 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.ibm.watson.assistant.v2.model;
+
+/**
+ * Receives the items of a streamed message response, decoded by {@link
+ * MessageEventDeserializer#decode(MessageStreamCallback)} or {@link
+ * MessageEventDeserializer#decodeStateless(MessageStreamCallback)}.
+ *
+ * @param <T> the type of the final response, {@link FinalResponse} or {@link
+ *     StatelessFinalResponse}
+ */
+public interface MessageStreamCallback<T> {
+
+  /**
+   * Called for each partial item, a chunk of the text of a response being generated.
+   *
+   * @param partialItem the partial item
+   */
+  void onPartialItem(PartialItem partialItem);
+
+  /**
+   * Called for each complete item, once all of its partial items have been sent.
+   *
+   * @param completeItem the complete item
+   */
+  void onCompleteItem(CompleteItem completeItem);
+
+  /**
+   * Called for the final response, which ends the stream.
+   *
+   * @param finalResponse the final response
+   */
+  void onFinalResponse(T finalResponse);
+
+  /**
+   * Called when an event cannot be read. No further items are delivered.
+   *
+   * @param e the exception
+   */
+  void onError(Exception e);
+}
@@ -0,0 +1,242 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.ibm.watson.assistant.v2.model;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.ibm.cloud.sdk.core.http.Response;
+import com.ibm.cloud.sdk.core.http.ServiceCall;
+import com.ibm.cloud.sdk.core.http.ServiceCallback;
+import com.ibm.cloud.sdk.core.util.GsonSingleton;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Publishes the responses of a streamed message to a single {@link Subscriber}, reading the
+ * server-sent events only as fast as the subscriber requests them.
+ *
+ * <p>The request is sent asynchronously when the subscriber subscribes. Events are read and
+ * delivered by a task on the executor that runs while there is outstanding demand; when the demand
+ * is met the task ends, and a later {@link Subscription#request(long)} schedules a new one. The
+ * response is read with blocking reads, so while there is demand the task holds a thread of the
+ * executor waiting for the next event: one thread per stream, which the executor must be able to
+ * spare. No thread waits for the subscriber, and the thread that subscribes or requests items
+ * never blocks.
+ *
+ * <p>On Java 9 and later, {@code org.reactivestreams.FlowAdapters} adapts the publisher to a
+ * {@code java.util.concurrent.Flow.Publisher}.
+ *
+ * @param <T> the type of the responses, {@link MessageStreamResponse} or {@link
+ *     StatelessMessageStreamResponse}
+ */
+public final class MessageStreamPublisher<T> implements Publisher<T> {
+  private static final Logger LOG = Logger.getLogger(MessageStreamPublisher.class.getName());
+  private static final Gson GSON = GsonSingleton.getGson();
+
+  private final ServiceCall<InputStream> call;
+  private final Class<T> type;
+  private final Executor executor;
+  private final AtomicBoolean subscribed = new AtomicBoolean();
+
+  /**
+   * Instantiates a new publisher.
+   *
+   * @param call the call returning the stream of server-sent events
+   * @param type the class of the responses
+   * @param executor the executor running the tasks that read and deliver the responses
+   */
+  public MessageStreamPublisher(ServiceCall<InputStream> call, Class<T> type, Executor executor) {
+    com.ibm.cloud.sdk.core.util.Validator.notNull(call, "call cannot be null");
+    com.ibm.cloud.sdk.core.util.Validator.notNull(type, "type cannot be null");
+    com.ibm.cloud.sdk.core.util.Validator.notNull(executor, "executor cannot be null");
+    this.call = call;
+    this.type = type;
+    this.executor = executor;
+  }
+
+  /**
+   * Subscribes to the responses. A call can only be made once, so any subscriber after the first
+   * receives an {@link IllegalStateException}.
+   *
+   * @param subscriber the subscriber
+   */
+  @Override
+  public void subscribe(Subscriber<? super T> subscriber) {
+    if (subscriber == null) {
+      throw new NullPointerException("subscriber cannot be null");
+    }
+    if (!subscribed.compareAndSet(false, true)) {
+      subscriber.onSubscribe(
+          new Subscription() {
+            @Override
+            public void request(long n) {}
+
+            @Override
+            public void cancel() {}
+          });
+      subscriber.onError(new IllegalStateException("The message stream has been subscribed to"));
+      return;
+    }
+    StreamSubscription subscription = new StreamSubscription(subscriber);
+    subscriber.onSubscribe(subscription);
+    call.enqueue(subscription);
+  }
+
+  /** Reads events while the subscriber has demand, serialized by a work-in-progress counter. */
+  private final class StreamSubscription
+      implements Subscription, ServiceCallback<InputStream>, Runnable {
+    private final Subscriber<? super T> subscriber;
+    private final AtomicLong requested = new AtomicLong();
+    private final AtomicInteger wip = new AtomicInteger();
+    private volatile ServerSentEventReader reader;
+    private volatile Exception failure;
+    private volatile boolean cancelled;
+    private boolean done;
+
+    StreamSubscription(Subscriber<? super T> subscriber) {
+      this.subscriber = subscriber;
+    }
+
+    @Override
+    public void request(long n) {
+      if (n <= 0) {
+        failure = new IllegalArgumentException("The number of requested items must be positive");
+      } else {
+        long current;
+        long next;
+        do {
+          current = requested.get();
+          next = current + n < 0 ? Long.MAX_VALUE : current + n;
+        } while (!requested.compareAndSet(current, next));
+      }
+      schedule();
+    }
+
+    @Override
+    public void cancel() {
+      cancelled = true;
+      call.cancel();
+      schedule();
+    }
+
+    @Override
+    public void onResponse(Response<InputStream> response) {
+      reader = new ServerSentEventReader(response.getResult());
+      schedule();
+    }
+
+    @Override
+    public void onFailure(Exception e) {
+      failure = e;
+      schedule();
+    }
+
+    private void schedule() {
+      if (wip.getAndIncrement() == 0) {
+        try {
+          executor.execute(this);
+        } catch (RejectedExecutionException e) {
+          failure = e;
+          run();
+        }
+      }
+    }
+
+    @Override
+    public void run() {
+      int missed = 1;
+      while (drain()) {
+        missed = wip.addAndGet(-missed);
+        if (missed == 0) {
+          return;
+        }
+      }
+    }
+
+    /**
+     * Delivers responses until the demand is met or the stream ends.
+     *
+     * @return false once the subscription has terminated
+     */
+    private boolean drain() {
+      if (done) {
+        return false;
+      }
+      while (true) {
+        if (cancelled) {
+          terminate();
+          return false;
+        }
+        Exception error = failure;
+        if (error != null) {
+          terminate();
+          subscriber.onError(error);
+          return false;
+        }
+        ServerSentEventReader eventReader = reader;
+        if (eventReader == null || requested.get() == 0) {
+          return true;
+        }
+
+        T item;
+        try {
+          String data = eventReader.next();
+          if (data == null) {
+            terminate();
+            if (!cancelled) {
+              subscriber.onComplete();
+            }
+            return false;
+          }
+          item = GSON.fromJson(data, type);
+        } catch (IOException | JsonParseException e) {
+          // reading fails when the call is cancelled
+          if (!cancelled) {
+            failure = e;
+          }
+          continue;
+        }
+        if (!cancelled) {
+          subscriber.onNext(item);
+        }
+        if (requested.get() != Long.MAX_VALUE) {
+          requested.decrementAndGet();
+        }
+      }
+    }
+
+    private void terminate() {
+      done = true;
+      call.cancel();
+      ServerSentEventReader eventReader = reader;
+      if (eventReader != null) {
+        try {
+          eventReader.close();
+        } catch (IOException e) {
+          LOG.log(Level.FINE, "Message stream could not be closed", e);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,78 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.ibm.watson.assistant.v2.model;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import okio.BufferedSource;
+import okio.Okio;
+
+/**
+ * Reads the data of server-sent events from a stream, one event at a time. Only the data field is
+ * kept; event names, ids, retry intervals and comments are skipped.
+ */
+final class ServerSentEventReader implements Closeable {
+
+  private static final String DATA = "data";
+
+  private final BufferedSource source;
+  private final StringBuilder data = new StringBuilder();
+
+  ServerSentEventReader(InputStream inputStream) {
+    this.source = Okio.buffer(Okio.source(inputStream));
+  }
+
+  /**
+   * Reads the next event with data.
+   *
+   * @return the data of the event, or null at the end of the stream
+   * @throws IOException if the stream cannot be read
+   */
+  String next() throws IOException {
+    String line;
+    while ((line = source.readUtf8Line()) != null) {
+      if (line.isEmpty()) {
+        if (data.length() > 0) {
+          String event = data.toString();
+          data.setLength(0);
+          return event;
+        }
+      } else if (line.startsWith(DATA)) {
+        int start = DATA.length();
+        if (line.length() > start && line.charAt(start) != ':') {
+          // a field whose name only starts with "data"
+          continue;
+        }
+        start++;
+        if (line.length() > start && line.charAt(start) == ' ') {
+          start++;
+        }
+        if (data.length() > 0) {
+          data.append('\n');
+        }
+        if (start < line.length()) {
+          data.append(line, start, line.length());
+        }
+      }
+    }
+    // an event that is not terminated by a blank line is incomplete and dropped
+    return null;
+  }
+
+  @Override
+  public void close() throws IOException {
+    source.close();
+  }
+}
@@ -0,0 +1,317 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.assistant.bulk;
+
+import static org.testng.Assert.*;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.ibm.cloud.sdk.core.security.NoAuthAuthenticator;
+import com.ibm.cloud.sdk.core.service.exception.BadRequestException;
+import com.ibm.watson.assistant.v2.Assistant;
+import com.ibm.watson.assistant.v2.model.BulkClassifyOutput;
+import com.ibm.watson.assistant.v2.model.BulkClassifyUtterance;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Unit tests for the {@link BulkClassifier}. */
+public class BulkClassifierTest {
+
+  private MockWebServer server;
+  private List<Integer> requestSizes;
+  private volatile int maxAccepted;
+  private volatile String failOn;
+  private AtomicInteger throttle;
+
+  /** Classifies every utterance as an intent named after its text, after a random delay. */
+  private final class Classifier extends Dispatcher {
+    @Override
+    public MockResponse dispatch(RecordedRequest request) {
+      JsonArray input =
+          JsonParser.parseString(request.getBody().readUtf8())
+              .getAsJsonObject()
+              .getAsJsonArray("input");
+      requestSizes.add(input.size());
+      if (throttle.getAndDecrement() > 0) {
+        return new MockResponse()
+            .setResponseCode(429)
+            .setHeader("Retry-After", "0")
+            .setHeader("Content-type", "application/json")
+            .setBody("{\"error\": \"Too many requests\", \"code\": 429}");
+      }
+      if (input.size() > maxAccepted) {
+        return new MockResponse()
+            .setResponseCode(413)
+            .setHeader("Content-type", "application/json")
+            .setBody("{\"error\": \"Payload too large\", \"code\": 413}");
+      }
+      JsonArray output = new JsonArray();
+      for (JsonElement utterance : input) {
+        String text = utterance.getAsJsonObject().get("text").getAsString();
+        if (text.equals(failOn)) {
+          return new MockResponse()
+              .setResponseCode(400)
+              .setHeader("Content-type", "application/json")
+              .setBody("{\"error\": \"Bad request\", \"code\": 400}");
+        }
+        JsonObject intent = new JsonObject();
+        intent.addProperty("intent", text);
+        intent.addProperty("confidence", 1.0);
+        JsonArray intents = new JsonArray();
+        intents.add(intent);
+        JsonObject result = new JsonObject();
+        result.add("input", utterance);
+        result.add("intents", intents);
+        result.add("entities", new JsonArray());
+        output.add(result);
+      }
+      JsonObject response = new JsonObject();
+      response.add("output", output);
+      return new MockResponse()
+          .setHeader("Content-type", "application/json")
+          .setBodyDelay(ThreadLocalRandom.current().nextInt(20), TimeUnit.MILLISECONDS)
+          .setBody(response.toString());
+    }
+  }
+
+  @BeforeMethod
+  public void setUp() throws IOException {
+    requestSizes = Collections.synchronizedList(new ArrayList<Integer>());
+    maxAccepted = Integer.MAX_VALUE;
+    failOn = null;
+    throttle = new AtomicInteger();
+    server = new MockWebServer();
+    server.setDispatcher(new Classifier());
+    server.start();
+  }
+
+  @AfterMethod
+  public void tearDown() throws IOException {
+    server.shutdown();
+  }
+
+  private BulkClassifier.Builder<BulkClassifyUtterance, BulkClassifyOutput> skill() {
+    Assistant assistant = new Assistant("2024-08-25", new NoAuthAuthenticator());
+    assistant.setServiceUrl(server.url("/").toString());
+    return BulkClassifier.forSkill(assistant, "skill").initialBackoffMillis(1);
+  }
+
+  private static List<String> texts(int count) {
+    List<String> texts = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      texts.add("utterance " + i);
+    }
+    return texts;
+  }
+
+  private static void assertInOrder(List<String> intents, int count) {
+    assertEquals(intents.size(), count);
+    for (int i = 0; i < count; i++) {
+      assertEquals(intents.get(i), "utterance " + i);
+    }
+  }
+
+  /** Tests that utterances are chunked and their classifications returned in order. */
+  @Test
+  public void testClassifyInOrder() {
+    BulkClassifier<BulkClassifyUtterance, BulkClassifyOutput> classifier =
+        skill().maxUtterancesPerRequest(50).maxConcurrency(4).maxBufferedUtterances(120).build();
+
+    List<String> intents = new ArrayList<>();
+    try (BulkClassifyResults<BulkClassifyOutput> results = classifier.classifyTexts(texts(530))) {
+      while (results.hasNext()) {
+        intents.add(results.next().getIntents().get(0).intent());
+      }
+      BulkClassifyStatistics statistics = results.getStatistics();
+      assertEquals(statistics.getClassifiedCount(), 530);
+      assertEquals(statistics.getRequestCount(), 11);
+      assertTrue(statistics.getUtterancesPerSecond() > 0);
+    }
+
+    assertInOrder(intents, 530);
+    assertEquals(requestSizes.size(), 11);
+    assertEquals(requestSizes.get(10).intValue(), 30);
+  }
+
+  /** Tests that a request holds no more than the maximum number of characters. */
+  @Test
+  public void testCharacterLimit() {
+    BulkClassifier<BulkClassifyUtterance, BulkClassifyOutput> classifier =
+        skill().maxCharactersPerRequest(50).build();
+
+    List<String> intents = new ArrayList<>();
+    try (BulkClassifyResults<BulkClassifyOutput> results = classifier.classifyTexts(texts(20))) {
+      while (results.hasNext()) {
+        intents.add(results.next().getIntents().get(0).intent());
+      }
+    }
+
+    // the texts have 11 or 12 characters, so 4 fit in 50
+    assertInOrder(intents, 20);
+    assertEquals(requestSizes, Arrays.asList(4, 4, 4, 4, 4));
+  }
+
+  /** Tests that requests cut by the character limit do not read past the buffer. */
+  @Test
+  public void testCharacterLimitKeepsBufferBound() {
+    final Iterator<String> texts = texts(1000).iterator();
+    final AtomicInteger read = new AtomicInteger();
+    Iterator<BulkClassifyUtterance> utterances =
+        new Iterator<BulkClassifyUtterance>() {
+          @Override
+          public boolean hasNext() {
+            return texts.hasNext();
+          }
+
+          @Override
+          public BulkClassifyUtterance next() {
+            read.incrementAndGet();
+            return new BulkClassifyUtterance.Builder().text(texts.next()).build();
+          }
+        };
+    BulkClassifier<BulkClassifyUtterance, BulkClassifyOutput> classifier =
+        skill().maxCharactersPerRequest(30).maxConcurrency(2).maxBufferedUtterances(10).build();
+
+    List<String> intents = new ArrayList<>();
+    try (BulkClassifyResults<BulkClassifyOutput> results = classifier.classify(utterances)) {
+      intents.add(results.next().getIntents().get(0).intent());
+      // about the buffer, not the whole input
+      assertTrue(read.get() < 20, "read " + read.get());
+      while (results.hasNext()) {
+        intents.add(results.next().getIntents().get(0).intent());
+      }
+    }
+
+    assertInOrder(intents, 1000);
+  }
+
+  /** Tests that requests rejected as too large are split, and later requests made smaller. */
+  @Test
+  public void testSplitPayloadTooLarge() {
+    maxAccepted = 10;
+    com.ibm.watson.assistant.v1.Assistant assistant =
+        new com.ibm.watson.assistant.v1.Assistant("2021-11-27", new NoAuthAuthenticator());
+    assistant.setServiceUrl(server.url("/").toString());
+    BulkClassifier<
+            com.ibm.watson.assistant.v1.model.BulkClassifyUtterance,
+            com.ibm.watson.assistant.v1.model.BulkClassifyOutput>
+        classifier =
+            BulkClassifier.forWorkspace(assistant, "workspace")
+                .maxUtterancesPerRequest(40)
+                .maxConcurrency(1)
+                .build();
+
+    List<String> intents = new ArrayList<>();
+    try (BulkClassifyResults<com.ibm.watson.assistant.v1.model.BulkClassifyOutput> results =
+        classifier.classifyTexts(texts(80))) {
+      while (results.hasNext()) {
+        intents.add(results.next().getIntents().get(0).intent());
+      }
+      assertEquals(results.getStatistics().getSplitCount(), 3);
+    }
+
+    assertInOrder(intents, 80);
+    // 40 is split into 20 and 20, then 10 and 10 twice; the next requests hold 10
+    assertEquals(requestSizes.subList(0, 7), Arrays.asList(40, 20, 10, 10, 20, 10, 10));
+    assertEquals(requestSizes.size(), 11);
+  }
+
+  /** Tests that throttled requests are retried after the delay of the service. */
+  @Test
+  public void testThrottledRequestsRetried() {
+    throttle.set(2);
+    BulkClassifier<BulkClassifyUtterance, BulkClassifyOutput> classifier =
+        skill().maxUtterancesPerRequest(10).maxConcurrency(1).build();
+
+    List<String> intents = new ArrayList<>();
+    try (BulkClassifyResults<BulkClassifyOutput> results = classifier.classifyTexts(texts(30))) {
+      while (results.hasNext()) {
+        intents.add(results.next().getIntents().get(0).intent());
+      }
+      BulkClassifyStatistics statistics = results.getStatistics();
+      assertEquals(statistics.getThrottledCount(), 2);
+      assertEquals(statistics.getRetryCount(), 2);
+      assertEquals(statistics.getRequestCount(), 5);
+    }
+    assertInOrder(intents, 30);
+  }
+
+  /** Tests that the utterances of a failed request are reported and the classification goes on. */
+  @Test
+  public void testFailure() {
+    failOn = "utterance 25";
+    final List<String> failed = Collections.synchronizedList(new ArrayList<String>());
+    BulkClassifier<BulkClassifyUtterance, BulkClassifyOutput> classifier =
+        skill()
+            .maxUtterancesPerRequest(10)
+            .maxConcurrency(2)
+            .failureListener(
+                (utterance, e) -> {
+                  assertTrue(e instanceof BadRequestException);
+                  failed.add(utterance.text());
+                })
+            .build();
+
+    List<String> intents = new ArrayList<>();
+    try (BulkClassifyResults<BulkClassifyOutput> results = classifier.classifyTexts(texts(50))) {
+      while (results.hasNext()) {
+        intents.add(results.next().getIntents().get(0).intent());
+      }
+      assertEquals(results.getStatistics().getFailedCount(), 10);
+      assertEquals(results.getStatistics().getClassifiedCount(), 40);
+    }
+
+    List<String> expected = texts(50);
+    assertEquals(failed, new ArrayList<>(expected.subList(20, 30)));
+    expected.subList(20, 30).clear();
+    assertEquals(intents, expected);
+  }
+
+  /** Tests that classifications are passed to a consumer in order. */
+  @Test
+  public void testClassifyAsync() throws Exception {
+    BulkClassifier<BulkClassifyUtterance, BulkClassifyOutput> classifier =
+        skill().maxUtterancesPerRequest(7).maxConcurrency(3).build();
+    List<BulkClassifyUtterance> utterances = new ArrayList<>();
+    for (String text : texts(100)) {
+      utterances.add(new BulkClassifyUtterance.Builder(text).build());
+    }
+
+    final List<String> intents = Collections.synchronizedList(new ArrayList<String>());
+    CompletableFuture<BulkClassifyStatistics> future =
+        classifier.classifyAsync(
+            utterances.iterator(), output -> intents.add(output.getIntents().get(0).intent()));
+
+    BulkClassifyStatistics statistics = future.get(10, TimeUnit.SECONDS);
+    assertEquals(statistics.getClassifiedCount(), 100);
+    assertEquals(statistics.getRequestCount(), 15);
+    assertInOrder(intents, 100);
+  }
+}
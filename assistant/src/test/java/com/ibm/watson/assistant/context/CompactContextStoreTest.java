@@ -0,0 +1,210 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.assistant.context;
+
+import static org.testng.Assert.*;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.ibm.cloud.sdk.core.security.NoAuthAuthenticator;
+import com.ibm.cloud.sdk.core.util.GsonSingleton;
+import com.ibm.watson.assistant.v2.Assistant;
+import com.ibm.watson.assistant.v2.model.MessageStatelessOptions;
+import com.ibm.watson.assistant.v2.model.StatelessMessageContext;
+import com.ibm.watson.assistant.v2.model.StatelessMessageInput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.testng.annotations.Test;
+
+/** Unit tests for the {@link ContextCodec} and the {@link CompactContextStore}. */
+public class CompactContextStoreTest {
+
+  private static final String STATE = new String(new char[600]).replace('\0', 'x');
+
+  private static StatelessMessageContext context(int turn, String name) {
+    String json =
+        "{\"global\": {\"system\": {\"user_id\": \"user\", \"turn_count\": "
+            + turn
+            + ", \"timezone\": \"UTC\", \"locale\": \"en-us\"}, \"session_id\": \"session\"},"
+            + " \"skills\": {\"actions skill\": {\"system\": {\"state\": \""
+            + STATE
+            + "\"}, \"skill_variables\": {"
+            + (name != null ? "\"name\": \"" + name + "\", " : "")
+            + "\"count\": 2.5, \"big\": 12345678901234567890, \"list\": [1, \"two\", null, true],"
+            + " \"nested\": {\"flag\": false}}}},"
+            + " \"integrations\": {\"chat\": {\"private\": {\"user_defined\": {\"id\": -7}}}}}";
+    return GsonSingleton.getGson().fromJson(json, StatelessMessageContext.class);
+  }
+
+  private static JsonObject tree(StatelessMessageContext context) {
+    return ContextCodec.toTree(context);
+  }
+
+  /** Tests that a context is decoded as it was encoded, in fewer bytes than its JSON. */
+  @Test
+  public void testEncode() {
+    ContextCodec codec = new ContextCodec();
+    StatelessMessageContext context = context(3, "Ann");
+
+    byte[] encoded = codec.encode(context);
+
+    assertEquals(tree(new ContextCodec().decode(encoded)), tree(context));
+    int jsonLength = context.toString().getBytes(StandardCharsets.UTF_8).length;
+    assertTrue(encoded.length < jsonLength, encoded.length + " >= " + jsonLength);
+  }
+
+  /** Tests that a delta holds the changes of a turn only. */
+  @Test
+  public void testDelta() {
+    ContextCodec codec = new ContextCodec();
+    StatelessMessageContext first = context(1, "Ann");
+    StatelessMessageContext second = context(2, null);
+
+    byte[] snapshot = codec.encode(first);
+    byte[] delta = codec.encodeDelta(first, second);
+
+    assertTrue(delta.length * 10 < snapshot.length, "delta of " + delta.length + " bytes");
+    assertEquals(tree(codec.decode(snapshot, delta)), tree(second));
+    assertEquals(tree(codec.decode(snapshot, codec.encodeDelta(first, first))), tree(first));
+  }
+
+  /** Tests that bytes that are not an encoding are rejected. */
+  @Test
+  public void testInvalidEncoding() {
+    ContextCodec codec = new ContextCodec();
+    byte[] encoded = codec.encode(context(1, "Ann"));
+    byte[] truncated = new byte[encoded.length / 2];
+    System.arraycopy(encoded, 0, truncated, 0, truncated.length);
+
+    // an object of -1 members, a name of 2^32 - 1 bytes and an array of 2^31 - 1 elements
+    byte[] negativeSize = {1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 1};
+    byte[] longName = {1, 1, 0, -1, -1, -1, -1, 0x0F};
+    byte[] largeArray = {1, 1, 0, 1, 'a', 9, -1, -1, -1, -1, 0x07};
+
+    for (byte[] bytes :
+        new byte[][] {new byte[0], new byte[] {9}, truncated, negativeSize, longName, largeArray}) {
+      try {
+        codec.decode(bytes);
+        fail("decoding should fail");
+      } catch (IllegalArgumentException e) {
+        // expected
+      }
+    }
+    try {
+      codec.decode(encoded, encoded);
+      fail("a snapshot is not a delta");
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+  }
+
+  /** Tests that turns are stored as deltas until the context is encoded in full again. */
+  @Test
+  public void testStoreDeltas() {
+    CompactContextStore store =
+        new CompactContextStore.Builder().offHeap(true).maxDeltas(2).build();
+    StatelessMessageContext first = context(1, "Ann");
+    StatelessMessageContext second = context(2, "Bob");
+    StatelessMessageContext third = context(3, "Cid");
+
+    assertNull(store.load("key"));
+    store.save("key", null, first);
+    long snapshotBytes = store.getEncodedBytes();
+    assertEquals(tree(store.load("key")), tree(first));
+
+    store.save("key", first, second);
+    long deltaBytes = store.getEncodedBytes() - snapshotBytes;
+    assertTrue(
+        deltaBytes > 0 && deltaBytes * 10 < snapshotBytes, "delta of " + deltaBytes + " bytes");
+    assertEquals(tree(store.load("key")), tree(second));
+
+    // a turn that did not start from the stored context is stored in full
+    store.save("key", first, third);
+    assertEquals(store.getEncodedBytes(), snapshotBytes);
+    assertEquals(tree(store.load("key")), tree(third));
+
+    store.save("key", third, first);
+    store.save("key", first, second);
+    assertTrue(store.getEncodedBytes() > snapshotBytes + deltaBytes);
+    assertEquals(tree(store.load("key")), tree(second));
+
+    // the third delta is over the limit
+    store.save("key", second, third);
+    assertEquals(store.getEncodedBytes(), snapshotBytes);
+    assertEquals(tree(store.load("key")), tree(third));
+
+    store.remove("key");
+    assertNull(store.load("key"));
+    assertEquals(store.size(), 0);
+    assertEquals(store.getEncodedBytes(), 0);
+    store.close();
+  }
+
+  /** Tests that contexts not accessed for the expiry time are removed. */
+  @Test
+  public void testExpiry() throws InterruptedException {
+    CompactContextStore store =
+        new CompactContextStore.Builder().expireAfterAccessMillis(50).build();
+    store.save("key", null, context(1, "Ann"));
+    assertEquals(store.size(), 1);
+
+    Thread.sleep(200);
+
+    assertEquals(store.size(), 0);
+    assertEquals(store.getEncodedBytes(), 0);
+    assertNull(store.load("key"));
+    store.close();
+  }
+
+  /** Tests that each message is sent with the context returned for the previous one. */
+  @Test
+  public void testConversation() throws IOException, InterruptedException {
+    MockWebServer server = new MockWebServer();
+    server.start();
+    try {
+      Assistant assistant = new Assistant("2024-08-25", new NoAuthAuthenticator());
+      assistant.setServiceUrl(server.url("/").toString());
+      StatelessConversation conversation =
+          new StatelessConversation(assistant, new CompactContextStore.Builder().build());
+      for (int turn = 1; turn <= 2; turn++) {
+        server.enqueue(
+            new MockResponse()
+                .setHeader("Content-type", "application/json")
+                .setBody("{\"output\": {}, \"context\": " + context(turn, "Ann") + "}"));
+      }
+      MessageStatelessOptions options =
+          new MessageStatelessOptions.Builder("assistant", "environment")
+              .input(new StatelessMessageInput.Builder().text("hello").build())
+              .userId("user")
+              .build();
+
+      conversation.message(options);
+      conversation.message(options);
+
+      RecordedRequest first = server.takeRequest();
+      assertFalse(
+          JsonParser.parseString(first.getBody().readUtf8()).getAsJsonObject().has("context"));
+      JsonObject second =
+          JsonParser.parseString(server.takeRequest().getBody().readUtf8()).getAsJsonObject();
+      assertEquals(second.get("context"), tree(context(1, "Ann")));
+
+      conversation.end("assistant", "environment", "user");
+      assertNull(conversation.prepare(options).context());
+    } finally {
+      server.shutdown();
+    }
+  }
+}
@@ -0,0 +1,185 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.assistant.session;
+
+import static org.testng.Assert.*;
+
+import com.ibm.cloud.sdk.core.security.NoAuthAuthenticator;
+import com.ibm.watson.assistant.v2.Assistant;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Unit tests for the {@link SessionPool}. */
+public class SessionPoolTest {
+
+  private MockWebServer server;
+  private Assistant assistant;
+  private AtomicInteger sessionCount;
+  private List<String> deletedSessions;
+  private List<Long> deleteNanos;
+
+  /** Creates sessions with increasing ids and records the deleted ones. */
+  private final class Sessions extends Dispatcher {
+    @Override
+    public MockResponse dispatch(RecordedRequest request) {
+      String path = request.getPath();
+      if (request.getMethod().equals("POST")) {
+        return new MockResponse()
+            .setHeader("Content-type", "application/json")
+            .setBody("{\"session_id\": \"s" + sessionCount.incrementAndGet() + "\"}");
+      }
+      deleteNanos.add(System.nanoTime());
+      deletedSessions.add(path.substring(path.lastIndexOf('/') + 1, path.indexOf('?')));
+      return new MockResponse().setHeader("Content-type", "application/json").setBody("{}");
+    }
+  }
+
+  @BeforeMethod
+  public void setUp() throws IOException {
+    sessionCount = new AtomicInteger();
+    deletedSessions = Collections.synchronizedList(new ArrayList<String>());
+    deleteNanos = Collections.synchronizedList(new ArrayList<Long>());
+    server = new MockWebServer();
+    server.setDispatcher(new Sessions());
+    server.start();
+    assistant = new Assistant("2024-08-25", new NoAuthAuthenticator());
+    assistant.setServiceUrl(server.url("/").toString());
+  }
+
+  @AfterMethod
+  public void tearDown() throws IOException {
+    server.shutdown();
+  }
+
+  private static void await(BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (!condition.getAsBoolean()) {
+      assertTrue(System.nanoTime() < deadline, "condition not met in time");
+      Thread.sleep(10);
+    }
+  }
+
+  /** Tests that prewarmed sessions are handed out and replaced. */
+  @Test
+  public void testHit() throws InterruptedException {
+    final SessionPool pool = new SessionPool.Builder(assistant).minIdleSessions(2).build();
+    pool.prewarm("assistant", "environment");
+    await(() -> pool.getStatistics().getIdleCount() == 2);
+
+    PooledSession session = pool.acquire("assistant", "environment");
+    // the two sessions are created concurrently, in any order
+    assertTrue(session.getSessionId().matches("s[12]"), session.getSessionId());
+    assertEquals(session.messageOptions().build().sessionId(), session.getSessionId());
+    await(() -> pool.getStatistics().getIdleCount() == 2);
+
+    SessionPoolStatistics statistics = pool.getStatistics();
+    assertEquals(statistics.getHitCount(), 1);
+    assertEquals(statistics.getMissCount(), 0);
+    assertEquals(statistics.getHitRate(), 1.0);
+    assertEquals(statistics.getCreatedCount(), 3);
+    assertEquals(statistics.getInUseCount(), 1);
+    pool.close();
+  }
+
+  /** Tests that a session is created while the caller waits when the pool is empty. */
+  @Test
+  public void testMiss() {
+    SessionPool pool = new SessionPool.Builder(assistant).minIdleSessions(0).build();
+
+    PooledSession session = pool.acquire("assistant", "environment");
+
+    assertEquals(session.getSessionId(), "s1");
+    assertFalse(session.isExpired());
+    assertEquals(pool.getStatistics().getMissCount(), 1);
+    assertEquals(pool.getStatistics().getHitRate(), 0.0);
+    pool.close();
+  }
+
+  /** Tests that waiting sessions are replaced before they time out. */
+  @Test
+  public void testRefresh() throws InterruptedException {
+    final SessionPool pool =
+        new SessionPool.Builder(assistant)
+            .minIdleSessions(1)
+            .sessionTimeoutMillis(600)
+            .refreshMarginMillis(300)
+            .deleteIntervalMillis(50)
+            .build();
+    pool.prewarm("assistant", "environment");
+    await(() -> deletedSessions.contains("s1"));
+
+    PooledSession session = pool.acquire("assistant", "environment");
+    assertNotEquals(session.getSessionId(), "s1");
+    assertTrue(session.getRemainingMillis() > 300);
+    assertTrue(pool.getStatistics().getRefreshedCount() >= 1);
+    pool.close();
+  }
+
+  /** Tests that the sessions of ended conversations are deleted in batches. */
+  @Test
+  public void testDeleteInBatches() throws InterruptedException {
+    final SessionPool pool =
+        new SessionPool.Builder(assistant)
+            .minIdleSessions(0)
+            .deleteBatchSize(2)
+            .deleteIntervalMillis(200)
+            .build();
+    List<PooledSession> sessions = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      sessions.add(pool.acquire("assistant", "environment"));
+    }
+    for (PooledSession session : sessions) {
+      session.close();
+      session.close();
+    }
+    assertEquals(pool.getStatistics().getEndedCount(), 5);
+    assertEquals(pool.getStatistics().getInUseCount(), 0);
+
+    await(() -> pool.getStatistics().getDeletedCount() == 5);
+    // 3 batches are at least 2 intervals apart
+    long elapsedNanos = deleteNanos.get(4) - deleteNanos.get(0);
+    assertTrue(elapsedNanos >= TimeUnit.MILLISECONDS.toNanos(300), "elapsed " + elapsedNanos);
+    pool.close();
+  }
+
+  /** Tests that closing the pool deletes the waiting sessions. */
+  @Test
+  public void testClose() throws InterruptedException {
+    final SessionPool pool = new SessionPool.Builder(assistant).minIdleSessions(3).build();
+    pool.prewarm("assistant", "environment");
+    await(() -> pool.getStatistics().getIdleCount() == 3);
+
+    pool.close();
+
+    await(() -> deletedSessions.size() == 3);
+    assertEquals(pool.getStatistics().getIdleCount(), 0);
+    try {
+      pool.acquire("assistant", "environment");
+      fail("acquire should fail once the pool is closed");
+    } catch (IllegalStateException e) {
+      // expected
+    }
+  }
+}
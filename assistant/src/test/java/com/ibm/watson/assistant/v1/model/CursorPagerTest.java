@@ -0,0 +1,246 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.ibm.watson.assistant.v1.model;
+
+import static org.testng.Assert.*;
+
+import com.ibm.cloud.sdk.core.security.NoAuthAuthenticator;
+import com.ibm.cloud.sdk.core.service.exception.InternalServerErrorException;
+import com.ibm.watson.assistant.v1.Assistant;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Unit test class for the CursorPager. */
+public class CursorPagerTest {
+
+  private MockWebServer server;
+  private Assistant service;
+
+  @BeforeMethod
+  public void setUp() throws IOException {
+    server = new MockWebServer();
+    server.start();
+    service = new Assistant("2021-06-14", new NoAuthAuthenticator());
+    service.setServiceUrl(server.url("/").toString());
+  }
+
+  @AfterMethod
+  public void tearDown() throws IOException {
+    server.shutdown();
+  }
+
+  private static MockResponse logs(String nextCursor, String... ids) {
+    StringBuilder body = new StringBuilder("{\"logs\": [");
+    for (int i = 0; i < ids.length; i++) {
+      body.append(i > 0 ? ", " : "").append("{\"log_id\": \"").append(ids[i]).append("\"}");
+    }
+    body.append("], \"pagination\": {");
+    if (nextCursor != null) {
+      body.append("\"next_cursor\": \"").append(nextCursor).append("\"");
+    }
+    body.append("}}");
+    return new MockResponse()
+        .setHeader("Content-type", "application/json")
+        .setBody(body.toString());
+  }
+
+  private static MockResponse json(String body) {
+    return new MockResponse().setHeader("Content-type", "application/json").setBody(body);
+  }
+
+  private static ListLogsOptions options() {
+    return new ListLogsOptions.Builder().workspaceId("testString").pageLimit(2L).build();
+  }
+
+  private CursorPager<LogCollection, Log> logsPager(int maxBufferedPages) {
+    final ListLogsOptions options = options();
+    return CursorPager.of(
+        options.cursor(),
+        maxBufferedPages,
+        cursor -> service.listLogs(options.newBuilder().cursor(cursor).build()),
+        LogCollection::getLogs,
+        page -> page.getPagination() != null ? page.getPagination().getNextCursor() : null);
+  }
+
+  private static List<String> ids(List<Log> logs) {
+    List<String> ids = new ArrayList<>();
+    for (Log log : logs) {
+      ids.add(log.getLogId());
+    }
+    return ids;
+  }
+
+  @Test
+  public void testGetAll() throws Throwable {
+    server.enqueue(logs("page2", "a", "b"));
+    server.enqueue(logs("page3", "c", "d"));
+    server.enqueue(logs(null, "e"));
+
+    CursorPager<LogCollection, Log> pager = CursorPager.listLogs(service, options());
+    List<Log> all = pager.getAll();
+
+    assertEquals(ids(all), Arrays.asList("a", "b", "c", "d", "e"));
+    assertFalse(pager.hasNext());
+    assertEquals(server.getRequestCount(), 3);
+    RecordedRequest first = server.takeRequest();
+    assertNull(first.getRequestUrl().queryParameter("cursor"));
+    assertEquals(first.getRequestUrl().queryParameter("page_limit"), "2");
+    assertEquals(server.takeRequest().getRequestUrl().queryParameter("cursor"), "page2");
+    assertEquals(server.takeRequest().getRequestUrl().queryParameter("cursor"), "page3");
+  }
+
+  @Test
+  public void testPrefetch() throws Throwable {
+    server.enqueue(logs("page2", "a", "b"));
+    server.enqueue(logs(null, "c"));
+
+    CursorPager<LogCollection, Log> pager = CursorPager.listLogs(service, options());
+    assertEquals(ids(pager.getNext()), Arrays.asList("a", "b"));
+
+    // the second page is requested before it is asked for
+    assertNotNull(server.takeRequest(5, TimeUnit.SECONDS));
+    assertNotNull(server.takeRequest(5, TimeUnit.SECONDS));
+    assertTrue(pager.hasNext());
+    assertEquals(ids(pager.getNext()), Arrays.asList("c"));
+    assertFalse(pager.hasNext());
+  }
+
+  @Test
+  public void testIteratorWithoutPrefetch() throws Throwable {
+    server.enqueue(logs("page2", "a", "b"));
+    server.enqueue(logs(null, "c"));
+
+    Iterator<Log> logs = logsPager(0).iterator();
+    assertEquals(logs.next().getLogId(), "a");
+    assertEquals(logs.next().getLogId(), "b");
+    Thread.sleep(100);
+    assertEquals(server.getRequestCount(), 1);
+
+    assertEquals(logs.next().getLogId(), "c");
+    assertFalse(logs.hasNext());
+    assertEquals(server.getRequestCount(), 2);
+  }
+
+  @Test
+  public void testStream() throws Throwable {
+    server.enqueue(
+        new MockResponse()
+            .setHeader("Content-type", "application/json")
+            .setBody(
+                "{\"workspaces\": [{\"name\": \"one\"}], \"pagination\": {\"next_cursor\": \"c\"}}"));
+    server.enqueue(
+        new MockResponse()
+            .setHeader("Content-type", "application/json")
+            .setBody("{\"workspaces\": [{\"name\": \"two\"}], \"pagination\": {}}"));
+
+    List<String> names;
+    try (Stream<Workspace> workspaces =
+        CursorPager.listWorkspaces(service, new ListWorkspacesOptions.Builder().build()).stream()) {
+      names = workspaces.map(Workspace::getName).collect(Collectors.toList());
+    }
+
+    assertEquals(names, Arrays.asList("one", "two"));
+  }
+
+  @Test
+  public void testListOperations() throws Throwable {
+    server.enqueue(logs(null, "a"));
+    server.enqueue(json("{\"intents\": [{\"intent\": \"hello\"}], \"pagination\": {}}"));
+    server.enqueue(json("{\"examples\": [{\"text\": \"hi\"}], \"pagination\": {}}"));
+    server.enqueue(
+        json("{\"dialog_nodes\": [{\"dialog_node\": \"root\"}], \"pagination\": {}}"));
+
+    ListAllLogsOptions allLogsOptions = new ListAllLogsOptions.Builder("language::en").build();
+    assertEquals(
+        ids(CursorPager.listAllLogs(service, allLogsOptions).getAll()), Arrays.asList("a"));
+    assertEquals(
+        CursorPager.listIntents(service, new ListIntentsOptions.Builder("workspace").build())
+            .getAll()
+            .get(0)
+            .getIntent(),
+        "hello");
+    assertEquals(
+        CursorPager.listExamples(
+                service, new ListExamplesOptions.Builder("workspace", "hello").build())
+            .getAll()
+            .get(0)
+            .text(),
+        "hi");
+    assertEquals(
+        CursorPager.listDialogNodes(
+                service, new ListDialogNodesOptions.Builder("workspace").build())
+            .getAll()
+            .get(0)
+            .dialogNode(),
+        "root");
+
+    assertTrue(server.takeRequest().getPath().startsWith("/v1/logs?"));
+    assertTrue(server.takeRequest().getPath().startsWith("/v1/workspaces/workspace/intents?"));
+    assertTrue(
+        server
+            .takeRequest()
+            .getPath()
+            .startsWith("/v1/workspaces/workspace/intents/hello/examples?"));
+    assertTrue(server.takeRequest().getPath().startsWith("/v1/workspaces/workspace/dialog_nodes?"));
+  }
+
+  @Test
+  public void testFailureIsRetried() throws Throwable {
+    server.enqueue(
+        new MockResponse()
+            .setResponseCode(500)
+            .setHeader("Content-type", "application/json")
+            .setBody("{\"error\": \"Internal error\", \"code\": 500}"));
+    server.enqueue(logs(null, "a"));
+
+    CursorPager<LogCollection, Log> pager = CursorPager.listLogs(service, options());
+    try {
+      pager.getNext();
+      fail("Expected an InternalServerErrorException");
+    } catch (InternalServerErrorException e) {
+      // expected
+    }
+    assertTrue(pager.hasNext());
+    assertEquals(ids(pager.getNext()), Arrays.asList("a"));
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testNegativeMaxBufferedPages() {
+    logsPager(-1);
+  }
+
+  @Test
+  public void testClose() throws Throwable {
+    server.enqueue(logs("page2", "a"));
+    server.enqueue(logs(null, "b"));
+
+    CursorPager<LogCollection, Log> pager = CursorPager.listLogs(service, options());
+    pager.getNext();
+    pager.close();
+
+    assertFalse(pager.hasNext());
+  }
+}
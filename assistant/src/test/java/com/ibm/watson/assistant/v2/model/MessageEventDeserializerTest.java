@@ -0,0 +1,125 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.ibm.watson.assistant.v2.model;
+
+import static org.testng.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.testng.annotations.Test;
+
+/** Unit test class for the MessageEventDeserializer. */
+public class MessageEventDeserializerTest {
+
+  private static final String EVENTS =
+      "event: message\n"
+          + "data: {\"partial_item\": {\"response_type\": \"text\", \"text\": \"Hel\"}}\n\n"
+          + "event: message\n"
+          + "data: {\"partial_item\": {\"response_type\": \"text\", \"text\": \"lo\"}}\n\n"
+          + "event: message\n"
+          + "data: {\"complete_item\": {\"response_type\": \"text\", \"text\": \"Hello\"}}\n\n"
+          + "event: message\n"
+          + "data: {\"final_response\": {\"user_id\": \"user\", \"output\": {\"generic\": "
+          + "[{\"response_type\": \"text\", \"text\": \"Hello\"}]}}}\n\n";
+
+  private static InputStream stream(String events) {
+    return new ByteArrayInputStream(events.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /** Records the decoded items. */
+  private static class RecordingCallback<T> implements MessageStreamCallback<T> {
+    final List<String> partialTexts = new ArrayList<>();
+    final List<CompleteItem> completeItems = new ArrayList<>();
+    final List<T> finalResponses = new ArrayList<>();
+    final List<Exception> errors = new ArrayList<>();
+
+    @Override
+    public void onPartialItem(PartialItem partialItem) {
+      partialTexts.add(partialItem.getText());
+    }
+
+    @Override
+    public void onCompleteItem(CompleteItem completeItem) {
+      completeItems.add(completeItem);
+    }
+
+    @Override
+    public void onFinalResponse(T finalResponse) {
+      finalResponses.add(finalResponse);
+    }
+
+    @Override
+    public void onError(Exception e) {
+      errors.add(e);
+    }
+  }
+
+  @Test
+  public void testDecode() throws Throwable {
+    RecordingCallback<FinalResponse> callback = new RecordingCallback<>();
+    new MessageEventDeserializer.Builder(stream(EVENTS)).build().decode(callback);
+
+    assertEquals(callback.partialTexts.size(), 2);
+    assertEquals(callback.partialTexts.get(0), "Hel");
+    assertEquals(callback.partialTexts.get(1), "lo");
+    assertEquals(callback.completeItems.size(), 1);
+    assertEquals(callback.completeItems.get(0).text(), "Hello");
+    assertEquals(callback.finalResponses.size(), 1);
+    FinalResponse finalResponse = callback.finalResponses.get(0);
+    assertEquals(finalResponse.getUserId(), "user");
+    assertTrue(
+        finalResponse.getOutput().getGeneric().get(0)
+            instanceof RuntimeResponseGenericRuntimeResponseTypeText);
+    assertTrue(callback.errors.isEmpty());
+  }
+
+  @Test
+  public void testDecodeStateless() throws Throwable {
+    RecordingCallback<StatelessFinalResponse> callback = new RecordingCallback<>();
+    new MessageEventDeserializer.Builder(stream(EVENTS)).build().decodeStateless(callback);
+
+    assertEquals(callback.partialTexts.size(), 2);
+    assertEquals(callback.finalResponses.size(), 1);
+    assertEquals(callback.finalResponses.get(0).getUserId(), "user");
+  }
+
+  @Test
+  public void testDecodeMalformedEvent() throws Throwable {
+    RecordingCallback<FinalResponse> callback = new RecordingCallback<>();
+    new MessageEventDeserializer.Builder(stream("data: {\"partial_item\": [}\n\n"))
+        .build()
+        .decode(callback);
+
+    assertTrue(callback.partialTexts.isEmpty());
+    assertEquals(callback.errors.size(), 1);
+  }
+
+  @Test
+  public void testMessages() throws Throwable {
+    MessageEventDeserializer deserializer =
+        new MessageEventDeserializer.Builder(stream(EVENTS)).build();
+    List<MessageStreamResponse> messages = new ArrayList<>();
+    for (MessageStreamResponse message : deserializer.messages()) {
+      messages.add(message);
+    }
+
+    assertEquals(messages.size(), 4);
+    assertEquals(messages.get(0).getPartialItem().getText(), "Hel");
+    assertEquals(messages.get(2).getCompleteItem().text(), "Hello");
+    assertEquals(messages.get(3).getFinalResponse().getUserId(), "user");
+  }
+}
@@ -0,0 +1,203 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.ibm.watson.assistant.v2.model;
+
+import static org.testng.Assert.*;
+
+import com.ibm.cloud.sdk.core.security.NoAuthAuthenticator;
+import com.ibm.cloud.sdk.core.service.exception.NotFoundException;
+import com.ibm.watson.assistant.v2.Assistant;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Unit test class for the MessageStreamPublisher. */
+public class MessageStreamPublisherTest {
+
+  private static final String EVENTS =
+      ": keep-alive\n"
+          + "event: message\n"
+          + "data: {\"partial_item\": {\"response_type\": \"text\", \"text\": \"Hel\"}}\n\n"
+          + "event: message\n"
+          + "data: {\"partial_item\": {\"response_type\": \"text\", \"text\": \"lo\"}}\n\n"
+          + "event: message\n"
+          + "data: {\"complete_item\": {\"response_type\": \"text\", \"text\": \"Hello\"}}\n\n"
+          + "event: message\n"
+          + "data: {\"final_response\": {\"user_id\": \"user\"}}\n\n";
+
+  private MockWebServer server;
+  private Assistant service;
+
+  /** Requests one response at a time and records the signals. */
+  private static class RecordingSubscriber<T> implements Subscriber<T> {
+    final List<T> items = Collections.synchronizedList(new ArrayList<T>());
+    final CountDownLatch terminated = new CountDownLatch(1);
+    final long cancelAfter;
+    volatile Subscription subscription;
+    volatile boolean completed;
+    volatile Throwable error;
+
+    RecordingSubscriber(long cancelAfter) {
+      this.cancelAfter = cancelAfter;
+    }
+
+    @Override
+    public void onSubscribe(Subscription s) {
+      subscription = s;
+      s.request(1);
+    }
+
+    @Override
+    public void onNext(T item) {
+      items.add(item);
+      if (items.size() == cancelAfter) {
+        subscription.cancel();
+        terminated.countDown();
+      } else {
+        subscription.request(1);
+      }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+      error = t;
+      terminated.countDown();
+    }
+
+    @Override
+    public void onComplete() {
+      completed = true;
+      terminated.countDown();
+    }
+  }
+
+  @BeforeMethod
+  public void setUp() throws IOException {
+    server = new MockWebServer();
+    server.start();
+    service = new Assistant("2024-08-25", new NoAuthAuthenticator());
+    service.setServiceUrl(server.url("/").toString());
+  }
+
+  @AfterMethod
+  public void tearDown() throws IOException {
+    server.shutdown();
+  }
+
+  private static MessageStreamOptions options() {
+    return new MessageStreamOptions.Builder()
+        .assistantId("testString")
+        .environmentId("testString")
+        .sessionId("testString")
+        .build();
+  }
+
+  @Test
+  public void testPublish() throws Throwable {
+    server.enqueue(
+        new MockResponse().setHeader("Content-type", "text/event-stream").setBody(EVENTS));
+
+    RecordingSubscriber<MessageStreamResponse> subscriber = new RecordingSubscriber<>(-1);
+    service.messageStreamPublisher(options()).subscribe(subscriber);
+
+    assertTrue(subscriber.terminated.await(10, TimeUnit.SECONDS));
+    assertTrue(subscriber.completed);
+    assertNull(subscriber.error);
+    assertEquals(subscriber.items.size(), 4);
+    assertEquals(subscriber.items.get(0).getPartialItem().getText(), "Hel");
+    assertEquals(subscriber.items.get(1).getPartialItem().getText(), "lo");
+    assertEquals(subscriber.items.get(2).getCompleteItem().text(), "Hello");
+    assertEquals(subscriber.items.get(3).getFinalResponse().getUserId(), "user");
+  }
+
+  @Test
+  public void testCancel() throws Throwable {
+    server.enqueue(
+        new MockResponse().setHeader("Content-type", "text/event-stream").setBody(EVENTS));
+
+    RecordingSubscriber<MessageStreamResponse> subscriber = new RecordingSubscriber<>(2);
+    service.messageStreamPublisher(options()).subscribe(subscriber);
+
+    assertTrue(subscriber.terminated.await(10, TimeUnit.SECONDS));
+    Thread.sleep(100);
+    assertEquals(subscriber.items.size(), 2);
+    assertFalse(subscriber.completed);
+    assertNull(subscriber.error);
+  }
+
+  @Test
+  public void testServiceError() throws Throwable {
+    server.enqueue(
+        new MockResponse()
+            .setResponseCode(404)
+            .setHeader("Content-type", "application/json")
+            .setBody("{\"error\": \"Not found\", \"code\": 404}"));
+
+    RecordingSubscriber<StatelessMessageStreamResponse> subscriber =
+        new RecordingSubscriber<>(-1);
+    service
+        .messageStreamStatelessPublisher(
+            new MessageStreamStatelessOptions.Builder()
+                .assistantId("testString")
+                .environmentId("testString")
+                .build())
+        .subscribe(subscriber);
+
+    assertTrue(subscriber.terminated.await(10, TimeUnit.SECONDS));
+    assertTrue(subscriber.error instanceof NotFoundException);
+    assertTrue(subscriber.items.isEmpty());
+  }
+
+  @Test
+  public void testSecondSubscriberRejected() throws Throwable {
+    server.enqueue(
+        new MockResponse().setHeader("Content-type", "text/event-stream").setBody(EVENTS));
+    Publisher<MessageStreamResponse> publisher = service.messageStreamPublisher(options());
+
+    RecordingSubscriber<MessageStreamResponse> first = new RecordingSubscriber<>(-1);
+    publisher.subscribe(first);
+    RecordingSubscriber<MessageStreamResponse> second = new RecordingSubscriber<>(-1);
+    publisher.subscribe(second);
+
+    assertTrue(second.error instanceof IllegalStateException);
+    assertTrue(first.terminated.await(10, TimeUnit.SECONDS));
+    assertTrue(first.completed);
+  }
+
+  @Test
+  public void testServerSentEventReader() throws Throwable {
+    String events = "data: one\ndata:two\ndatum: skipped\n\n\nid: 1\ndata: three\n\ndata: partial";
+    ServerSentEventReader reader =
+        new ServerSentEventReader(
+            new ByteArrayInputStream(events.getBytes(StandardCharsets.UTF_8)));
+
+    assertEquals(reader.next(), "one\ntwo");
+    assertEquals(reader.next(), "three");
+    assertNull(reader.next());
+    reader.close();
+  }
+}
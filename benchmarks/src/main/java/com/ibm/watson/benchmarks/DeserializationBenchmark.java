@@ -0,0 +1,85 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.benchmarks;
+
+import com.google.gson.Gson;
+import com.ibm.cloud.sdk.core.util.GsonSingleton;
+import com.ibm.watson.discovery.v2.model.QueryResponse;
+import com.ibm.watson.natural_language_understanding.v1.model.AnalysisResults;
+import com.ibm.watson.speech_to_text.v1.model.SpeechRecognitionResults;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures deserializing large responses with the Gson instance the services use. The payloads
+ * are built from the fixtures by repeating their result arrays.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeserializationBenchmark {
+  private static final Gson GSON = GsonSingleton.getGson();
+
+  /** The number of copies of each result in the payloads. */
+  @Param({"10", "100"})
+  public int results;
+
+  private String queryResponse;
+  private String speechRecognitionResults;
+  private String analysisResults;
+
+  @Setup
+  public void setUp() {
+    queryResponse = Fixtures.scaled("query_response.json", results, "results");
+    speechRecognitionResults =
+        Fixtures.scaled("recognition_results.json", results, "results", "speaker_labels");
+    analysisResults =
+        Fixtures.scaled(
+            "analysis_results.json",
+            results,
+            "categories",
+            "concepts",
+            "entities",
+            "keywords",
+            "relations",
+            "semantic_roles");
+  }
+
+  @Benchmark
+  public QueryResponse queryResponse() {
+    return GSON.fromJson(queryResponse, QueryResponse.class);
+  }
+
+  @Benchmark
+  public SpeechRecognitionResults speechRecognitionResults() {
+    return GSON.fromJson(speechRecognitionResults, SpeechRecognitionResults.class);
+  }
+
+  @Benchmark
+  public AnalysisResults analysisResults() {
+    return GSON.fromJson(analysisResults, AnalysisResults.class);
+  }
+}
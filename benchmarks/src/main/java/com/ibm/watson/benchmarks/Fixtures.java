@@ -0,0 +1,132 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.benchmarks;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import okhttp3.Request;
+import okhttp3.WebSocket;
+import okio.ByteString;
+
+/** Loads the canned fixtures that the benchmarks run against. */
+final class Fixtures {
+
+  private Fixtures() {
+    // This is a utility class - no instantiation allowed.
+  }
+
+  /**
+   * Reads a fixture.
+   *
+   * @param name the file name of the fixture
+   * @return the content of the fixture
+   */
+  static String read(String name) {
+    try (InputStream is = Fixtures.class.getResourceAsStream("/fixtures/" + name)) {
+      if (is == null) {
+        throw new IllegalArgumentException("No fixture named " + name);
+      }
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      byte[] buffer = new byte[8192];
+      int read;
+      while ((read = is.read(buffer)) != -1) {
+        out.write(buffer, 0, read);
+      }
+      return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Reads a fixture with one JSON document per line.
+   *
+   * @param name the file name of the fixture
+   * @return the lines of the fixture
+   */
+  static List<String> readLines(String name) {
+    List<String> lines = new ArrayList<>();
+    for (String line : read(name).split("\n")) {
+      if (!line.trim().isEmpty()) {
+        lines.add(line);
+      }
+    }
+    return lines;
+  }
+
+  /**
+   * Reads a JSON object fixture and repeats the elements of some of its top-level arrays, to build
+   * large payloads from a small fixture.
+   *
+   * @param name the file name of the fixture
+   * @param factor the number of copies of each array element
+   * @param arrays the names of the arrays to grow
+   * @return the grown payload
+   */
+  static String scaled(String name, int factor, String... arrays) {
+    JsonObject json = JsonParser.parseString(read(name)).getAsJsonObject();
+    for (String array : arrays) {
+      JsonArray elements = json.getAsJsonArray(array);
+      JsonArray grown = new JsonArray();
+      for (int i = 0; i < factor; i++) {
+        for (JsonElement element : elements) {
+          grown.add(element.deepCopy());
+        }
+      }
+      json.add(array, grown);
+    }
+    return json.toString();
+  }
+
+  /** A {@link WebSocket} that accepts and discards every message. */
+  static final class DiscardingWebSocket implements WebSocket {
+    private static final Request REQUEST = new Request.Builder().url("http://localhost/").build();
+
+    @Override
+    public Request request() {
+      return REQUEST;
+    }
+
+    @Override
+    public long queueSize() {
+      return 0;
+    }
+
+    @Override
+    public boolean send(String text) {
+      return true;
+    }
+
+    @Override
+    public boolean send(ByteString bytes) {
+      return true;
+    }
+
+    @Override
+    public boolean close(int code, String reason) {
+      return true;
+    }
+
+    @Override
+    public void cancel() {}
+  }
+}
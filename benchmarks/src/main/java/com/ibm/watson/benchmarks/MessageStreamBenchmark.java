@@ -0,0 +1,87 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.benchmarks;
+
+import com.ibm.watson.assistant.v2.model.CompleteItem;
+import com.ibm.watson.assistant.v2.model.FinalResponse;
+import com.ibm.watson.assistant.v2.model.MessageEventDeserializer;
+import com.ibm.watson.assistant.v2.model.MessageStreamCallback;
+import com.ibm.watson.assistant.v2.model.PartialItem;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures how many events of a streamed Assistant v2 message are decoded per second, from the
+ * raw server-sent events to the callback.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageStreamBenchmark {
+
+  /** The number of events in the fixture. */
+  private static final int EVENTS = 19;
+
+  private byte[] events;
+
+  @Setup
+  public void setUp() {
+    events = Fixtures.read("message_stream.txt").getBytes(StandardCharsets.UTF_8);
+  }
+
+  /** Decodes every event of the fixture through the callback API. */
+  @Benchmark
+  @OperationsPerInvocation(EVENTS)
+  public void decode(final Blackhole blackhole) {
+    new MessageEventDeserializer.Builder(new ByteArrayInputStream(events))
+        .build()
+        .decode(
+            new MessageStreamCallback<FinalResponse>() {
+              @Override
+              public void onPartialItem(PartialItem partialItem) {
+                blackhole.consume(partialItem);
+              }
+
+              @Override
+              public void onCompleteItem(CompleteItem completeItem) {
+                blackhole.consume(completeItem);
+              }
+
+              @Override
+              public void onFinalResponse(FinalResponse finalResponse) {
+                blackhole.consume(finalResponse);
+              }
+
+              @Override
+              public void onError(Exception e) {
+                throw new IllegalStateException(e);
+              }
+            });
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.benchmarks;
+
+import com.google.gson.JsonObject;
+import com.ibm.cloud.sdk.core.util.GsonSingleton;
+import com.ibm.watson.assistant.v1.model.CreateIntent;
+import com.ibm.watson.assistant.v1.model.Example;
+import com.ibm.watson.common.JsonRequestBody;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+import okio.Okio;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures writing the body of a large workspace update to a discarding sink, streamed by a {@link
+ * JsonRequestBody} or built as a {@link JsonObject} tree and a string as before. Run with <code>
+ * -prof gc</code> to compare the allocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestBodyBenchmark {
+  private static final MediaType JSON = MediaType.parse("application/json");
+
+  @Param({"100", "5000"})
+  public int intentCount;
+
+  private List<CreateIntent> intents;
+
+  @Setup
+  public void setUp() {
+    intents = new ArrayList<>(intentCount);
+    for (int i = 0; i < intentCount; i++) {
+      CreateIntent.Builder intent =
+          new CreateIntent.Builder("intent_" + i).description("Intent number " + i);
+      for (int j = 0; j < 16; j++) {
+        intent.addExample(new Example.Builder("example " + j + " of intent number " + i).build());
+      }
+      intents.add(intent.build());
+    }
+  }
+
+  @Benchmark
+  public long streamingBody() throws IOException {
+    JsonRequestBody body = new JsonRequestBody();
+    body.addProperty("name", "workspace");
+    body.add("intents", intents);
+    return write(body);
+  }
+
+  @Benchmark
+  public long treeBody() throws IOException {
+    JsonObject contentJson = new JsonObject();
+    contentJson.addProperty("name", "workspace");
+    contentJson.add("intents", GsonSingleton.getGson().toJsonTree(intents));
+    return write(RequestBody.create(JSON, contentJson.toString()));
+  }
+
+  private static long write(RequestBody body) throws IOException {
+    BufferedSink sink = Okio.buffer(Okio.blackhole());
+    body.writeTo(sink);
+    long size = sink.getBuffer().size();
+    sink.close();
+    return size;
+  }
+}
@@ -0,0 +1,122 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.benchmarks;
+
+import com.ibm.cloud.sdk.core.http.ServiceCall;
+import com.ibm.cloud.sdk.core.security.NoAuthAuthenticator;
+import com.ibm.watson.assistant.v2.Assistant;
+import com.ibm.watson.assistant.v2.model.MessageInput;
+import com.ibm.watson.assistant.v2.model.MessageOptions;
+import com.ibm.watson.assistant.v2.model.StatefulMessageResponse;
+import com.ibm.watson.discovery.v2.Discovery;
+import com.ibm.watson.discovery.v2.model.QueryOptions;
+import com.ibm.watson.discovery.v2.model.QueryResponse;
+import com.ibm.watson.natural_language_understanding.v1.NaturalLanguageUnderstanding;
+import com.ibm.watson.natural_language_understanding.v1.model.AnalysisResults;
+import com.ibm.watson.natural_language_understanding.v1.model.AnalyzeOptions;
+import com.ibm.watson.natural_language_understanding.v1.model.EntitiesOptions;
+import com.ibm.watson.natural_language_understanding.v1.model.Features;
+import com.ibm.watson.natural_language_understanding.v1.model.KeywordsOptions;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures building the requests of frequent operations: validating the options, resolving the
+ * URL and adding the headers. No request is sent, so the body, which is serialized as it is sent,
+ * is not measured; see {@link RequestBodyBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestBuildingBenchmark {
+  private static final String VERSION = "2024-08-25";
+  private static final String SERVICE_URL = "http://localhost:1/";
+  private static final String TEXT =
+      "Before servicing the cooling unit, disconnect the main power supply and wait at least five"
+          + " minutes for the capacitors to discharge. Inspect the condenser coils for dust and"
+          + " debris, and clean them with a soft brush or low-pressure compressed air. Check the"
+          + " refrigerant lines for signs of oil residue, which can indicate a leak.";
+
+  private Discovery discovery;
+  private Assistant assistant;
+  private NaturalLanguageUnderstanding naturalLanguageUnderstanding;
+  private QueryOptions queryOptions;
+  private MessageOptions messageOptions;
+  private AnalyzeOptions analyzeOptions;
+
+  @Setup
+  public void setUp() {
+    discovery = new Discovery(VERSION, new NoAuthAuthenticator());
+    discovery.setServiceUrl(SERVICE_URL);
+    assistant = new Assistant(VERSION, new NoAuthAuthenticator());
+    assistant.setServiceUrl(SERVICE_URL);
+    naturalLanguageUnderstanding =
+        new NaturalLanguageUnderstanding(VERSION, new NoAuthAuthenticator());
+    naturalLanguageUnderstanding.setServiceUrl(SERVICE_URL);
+
+    queryOptions =
+        new QueryOptions.Builder("4f7d9b2a-1c3e-4a5b-8d6f-0e9c8b7a6d5e")
+            .collectionIds(Arrays.asList("collection-1", "collection-2"))
+            .naturalLanguageQuery("how do I service the cooling unit")
+            .filter("extracted_metadata.file_type:pdf")
+            .count(20)
+            .xReturn(Arrays.asList("title", "text", "extracted_metadata"))
+            .highlight(true)
+            .build();
+    messageOptions =
+        new MessageOptions.Builder("assistant-id", "environment-id", "session-id")
+            .input(
+                new MessageInput.Builder()
+                    .messageType("text")
+                    .text("I forgot my password and cannot sign in")
+                    .build())
+            .build();
+    analyzeOptions =
+        new AnalyzeOptions.Builder(
+                new Features.Builder()
+                    .entities(new EntitiesOptions.Builder().limit(50).sentiment(true).build())
+                    .keywords(new KeywordsOptions.Builder().limit(50).emotion(true).build())
+                    .build())
+            .text(TEXT)
+            .language("en")
+            .build();
+  }
+
+  @Benchmark
+  public ServiceCall<QueryResponse> discoveryQuery() {
+    return discovery.query(queryOptions);
+  }
+
+  @Benchmark
+  public ServiceCall<StatefulMessageResponse> assistantMessage() {
+    return assistant.message(messageOptions);
+  }
+
+  @Benchmark
+  public ServiceCall<AnalysisResults> naturalLanguageUnderstandingAnalyze() {
+    return naturalLanguageUnderstanding.analyze(analyzeOptions);
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.benchmarks;
+
+import com.ibm.cloud.sdk.core.http.HttpHeaders;
+import com.ibm.cloud.sdk.core.http.RequestBuilder;
+import com.ibm.watson.common.SdkCommon;
+import com.ibm.watson.common.WatsonHttpHeaders;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
+import okhttp3.HttpUrl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the SDK headers added to every request. The per-request benchmarks compare adding the
+ * shared headers of an operation in one call with building a new map of them for each request and
+ * copying it entry by entry, as the services used to; run them with <code>-prof gc</code> to
+ * compare the allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SdkHeadersBenchmark {
+  private static final HttpUrl URL = HttpUrl.get("http://localhost:1/v2/projects/project/query");
+  private static final String USER_AGENT =
+      SdkCommon.getSdkHeaders("discovery", "v2", "query").get(HttpHeaders.USER_AGENT);
+
+  @Benchmark
+  public Map<String, String> getSdkHeaders() {
+    return SdkCommon.getSdkHeaders("discovery", "v2", "query");
+  }
+
+  @Benchmark
+  public RequestBuilder addSdkHeaders() {
+    RequestBuilder builder = RequestBuilder.post(URL);
+    return SdkCommon.addSdkHeaders(builder, "discovery", "v2", "query");
+  }
+
+  @Benchmark
+  public RequestBuilder copyNewSdkHeaders() {
+    RequestBuilder builder = RequestBuilder.post(URL);
+    Map<String, String> sdkHeaders = new HashMap<>();
+    sdkHeaders.put(
+        WatsonHttpHeaders.X_IBMCLOUD_SDK_ANALYTICS,
+        String.format(
+            "service_name=%s;service_version=%s;operation_id=%s", "discovery", "v2", "query"));
+    sdkHeaders.put(HttpHeaders.USER_AGENT, USER_AGENT);
+    for (Entry<String, String> header : sdkHeaders.entrySet()) {
+      builder.header(header.getKey(), header.getValue());
+    }
+    return builder;
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.benchmarks;
+
+import com.ibm.watson.speech_to_text.v1.model.RecognizeWithWebsocketsOptions;
+import com.ibm.watson.speech_to_text.v1.model.SpeechRecognitionResults;
+import com.ibm.watson.speech_to_text.v1.websocket.BaseRecognizeCallback;
+import com.ibm.watson.speech_to_text.v1.websocket.SpeechToTextWebSocketListener;
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import okhttp3.WebSocket;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the handlers of a Speech to Text WebSocket session: dispatching the interim results of
+ * an utterance, and opening a session, which writes the start message. Run with {@code -prof gc}
+ * to report the bytes allocated per message.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpeechToTextWebSocketBenchmark {
+
+  private final WebSocket socket = new Fixtures.DiscardingWebSocket();
+  private String[] interimResults;
+  private int next;
+  private SpeechToTextWebSocketListener listener;
+  private SpeechRecognitionResults transcription;
+
+  @Setup
+  public void setUp() {
+    List<String> messages = Fixtures.readLines("interim_results.jsonl");
+    interimResults = messages.toArray(new String[0]);
+
+    RecognizeWithWebsocketsOptions options =
+        new RecognizeWithWebsocketsOptions.Builder()
+            .audio(new ByteArrayInputStream(new byte[0]))
+            .contentType("audio/l16;rate=16000")
+            .model("en-US_Telephony")
+            .interimResults(true)
+            .timestamps(true)
+            .wordConfidence(true)
+            .smartFormatting(true)
+            .inactivityTimeout(-1)
+            .build();
+    Executor sender =
+        new Executor() {
+          @Override
+          public void execute(Runnable command) {
+            // the audio is not sent
+          }
+        };
+    listener =
+        new SpeechToTextWebSocketListener(
+            options,
+            new BaseRecognizeCallback() {
+              @Override
+              public void onTranscription(SpeechRecognitionResults speechResults) {
+                transcription = speechResults;
+              }
+            },
+            sender);
+  }
+
+  /** Dispatches the next recorded interim result. */
+  @Benchmark
+  public SpeechRecognitionResults interimResult() {
+    listener.onMessage(socket, interimResults[next]);
+    next = (next + 1) % interimResults.length;
+    return transcription;
+  }
+
+  /** Opens a session: writes and sends the start message and prepares the audio sender. */
+  @Benchmark
+  public void open() {
+    listener.onOpen(socket, null);
+  }
+}
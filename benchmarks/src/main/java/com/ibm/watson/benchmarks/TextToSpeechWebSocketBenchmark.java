@@ -0,0 +1,113 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.benchmarks;
+
+import com.ibm.watson.text_to_speech.v1.model.Marks;
+import com.ibm.watson.text_to_speech.v1.model.SynthesizeOptions;
+import com.ibm.watson.text_to_speech.v1.model.Timings;
+import com.ibm.watson.text_to_speech.v1.websocket.BaseSynthesizeCallback;
+import com.ibm.watson.text_to_speech.v1.websocket.TextToSpeechWebSocketListener;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import okhttp3.WebSocket;
+import okio.ByteString;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the handlers of a Text to Speech WebSocket session: the content type, timing and mark
+ * messages, an audio frame, and opening a session, which writes the start message.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TextToSpeechWebSocketBenchmark {
+
+  private final WebSocket socket = new Fixtures.DiscardingWebSocket();
+  private final ByteString audio = ByteString.of(new byte[4096]);
+  private String[] messages;
+  private int next;
+  private TextToSpeechWebSocketListener listener;
+  private Object received;
+
+  @Setup
+  public void setUp() {
+    List<String> lines = Fixtures.readLines("synthesis_messages.jsonl");
+    messages = lines.toArray(new String[0]);
+
+    SynthesizeOptions options =
+        new SynthesizeOptions.Builder()
+            .text("Hello and welcome to the show. Today we talk about weather.")
+            .voice("en-US_AllisonV3Voice")
+            .accept("audio/ogg;codecs=opus")
+            .timings(Arrays.asList("words"))
+            .build();
+    listener =
+        new TextToSpeechWebSocketListener(
+            options,
+            new BaseSynthesizeCallback() {
+              @Override
+              public void onContentType(String contentType) {
+                received = contentType;
+              }
+
+              @Override
+              public void onTimings(Timings timings) {
+                received = timings;
+              }
+
+              @Override
+              public void onMarks(Marks marks) {
+                received = marks;
+              }
+
+              @Override
+              public void onAudioStream(byte[] bytes) {
+                received = bytes;
+              }
+            });
+  }
+
+  /** Dispatches the next recorded text message. */
+  @Benchmark
+  public Object message() {
+    listener.onMessage(socket, messages[next]);
+    next = (next + 1) % messages.length;
+    return received;
+  }
+
+  /** Delivers a frame of audio. */
+  @Benchmark
+  public Object audio() {
+    listener.onMessage(socket, audio);
+    return received;
+  }
+
+  /** Opens a session: writes and sends the start message. */
+  @Benchmark
+  public void open() {
+    listener.onOpen(socket, null);
+  }
+}
@@ -0,0 +1,160 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.benchmarks;
+
+import com.ibm.watson.common.WebSocketExecutors;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of keeping many WebSocket sessions open with each of the {@link
+ * WebSocketExecutors}: every session runs a sender task that waits, like the audio sender of a
+ * Speech to Text session waiting for the microphone, until the sessions are closed.
+ *
+ * <p>{@link #openSessions} scores the time to start the sessions. {@link #holdSessions} opens them
+ * and reports, as secondary results, the heap held per open session after a garbage collection
+ * and the number of sessions the executor rejected; its time score includes the collection and is
+ * not meaningful. The heap does not include the native stacks of platform threads, which are
+ * reported by running with {@code -jvmArgsAppend -XX:NativeMemoryTracking=summary}. The sessions
+ * per gigabyte of an executor follow from the two.
+ *
+ * <p>The {@code bounded} executor has <code>maxThreads</code> threads, fewer than the sessions, so
+ * it shows the sessions beyond its bound being rejected. The {@code virtual} executor requires JDK
+ * 21 or later; select it with {@code -p executor=virtual}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class WebSocketExecutorBenchmark {
+  private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+
+  @Param({"1000", "10000"})
+  public int sessions;
+
+  @Param({"thread", "bounded"})
+  public String executor;
+
+  @Param({"200"})
+  public int maxThreads;
+
+  private Executor sender;
+  private CountDownLatch released;
+
+  /** The secondary results of {@link #holdSessions}, reset for each iteration. */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class Footprint {
+    public long heapBytesPerSession;
+    public long rejectedSessions;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      heapBytesPerSession = 0;
+      rejectedSessions = 0;
+    }
+  }
+
+  @Setup(Level.Iteration)
+  public void setUp() {
+    if ("thread".equals(executor)) {
+      sender = WebSocketExecutors.newThreadPerTaskExecutor("benchmark-sender");
+    } else if ("bounded".equals(executor)) {
+      sender = WebSocketExecutors.newBoundedExecutor(maxThreads, "benchmark-sender");
+    } else if ("virtual".equals(executor)) {
+      sender = WebSocketExecutors.newVirtualThreadPerTaskExecutor("benchmark-sender");
+    } else {
+      throw new IllegalArgumentException("Unknown executor: " + executor);
+    }
+    released = new CountDownLatch(1);
+  }
+
+  @TearDown(Level.Iteration)
+  public void tearDown() {
+    released.countDown();
+    if (sender instanceof ExecutorService) {
+      ((ExecutorService) sender).shutdown();
+    }
+  }
+
+  /** Starts the sessions and waits until the sender tasks of those accepted run. */
+  @Benchmark
+  public int openSessions() throws InterruptedException {
+    return start();
+  }
+
+  /** Starts the sessions, and measures the heap they hold while they wait. */
+  @Benchmark
+  public void holdSessions(Footprint footprint) throws InterruptedException {
+    System.gc();
+    long before = MEMORY.getHeapMemoryUsage().getUsed();
+    int open = start();
+    System.gc();
+    long held = MEMORY.getHeapMemoryUsage().getUsed() - before;
+    footprint.heapBytesPerSession = open > 0 ? Math.max(0, held) / open : 0;
+    footprint.rejectedSessions = sessions - open;
+  }
+
+  /**
+   * Starts the sessions and waits until their sender tasks run.
+   *
+   * @return the number of sessions the executor accepted
+   */
+  private int start() throws InterruptedException {
+    final CountDownLatch started = new CountDownLatch(sessions);
+    int open = 0;
+    for (int i = 0; i < sessions; i++) {
+      try {
+        sender.execute(
+            new Runnable() {
+              @Override
+              public void run() {
+                started.countDown();
+                try {
+                  released.await();
+                } catch (InterruptedException e) {
+                  Thread.currentThread().interrupt();
+                }
+              }
+            });
+        open++;
+      } catch (RejectedExecutionException e) {
+        // the executor is at its bound, as a session would report through onError
+        started.countDown();
+      }
+    }
+    started.await();
+    return open;
+  }
+}
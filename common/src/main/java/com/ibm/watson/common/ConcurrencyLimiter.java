@@ -0,0 +1,168 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.common;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adapts the number of requests in flight to the latency and the throttling of a service.
+ *
+ * <p>The bound starts at <code>maxLimit</code>. While the latency of successful responses stays
+ * close to its long-term average, the bound grows back towards <code>maxLimit</code>; when the
+ * latency rises, the bound shrinks in proportion, down to half of it per response. A request
+ * throttled with status 429 halves the bound, once for all the requests throttled during the same
+ * pause, and no request is acquired until the delay of the throttled request has passed.
+ *
+ * <p>The limiter only measures the service when the requests are not held back elsewhere: the
+ * <code>Dispatcher</code> of an OkHttp client runs at most 5 asynchronous calls per host by
+ * default, so a limiter of asynchronous calls above 5 needs a client with a larger dispatcher.
+ */
+public final class ConcurrencyLimiter {
+  private static final double LATENCY_TOLERANCE = 2.0;
+  private static final double MIN_GRADIENT = 0.5;
+  private static final double SMOOTHING = 0.2;
+  private static final double SHORT_WEIGHT = 0.1;
+  private static final double LONG_WEIGHT = 0.01;
+
+  private final int maxLimit;
+  private double limit;
+  private int inFlight;
+  private double shortLatency;
+  private double longLatency;
+  private long pausedUntil = System.nanoTime();
+
+  /**
+   * Instantiates a new limiter.
+   *
+   * @param maxLimit the maximum number of requests in flight
+   */
+  public ConcurrencyLimiter(int maxLimit) {
+    com.ibm.cloud.sdk.core.util.Validator.isTrue(maxLimit > 0, "maxLimit must be positive");
+    this.maxLimit = maxLimit;
+    this.limit = maxLimit;
+  }
+
+  /**
+   * Acquires a request if the bound allows it and the service has not paused requests.
+   *
+   * @return true if the request can be sent
+   */
+  public synchronized boolean tryAcquire() {
+    if (pauseNanos() > 0 || inFlight >= (int) limit) {
+      return false;
+    }
+    inFlight++;
+    return true;
+  }
+
+  /**
+   * Waits until a request can be sent, and acquires it.
+   *
+   * @throws InterruptedException if the thread is interrupted while waiting
+   */
+  public synchronized void acquire() throws InterruptedException {
+    while (true) {
+      long pause = pauseNanos();
+      if (pause > 0) {
+        TimeUnit.NANOSECONDS.timedWait(this, pause);
+      } else if (inFlight < (int) limit) {
+        inFlight++;
+        return;
+      } else {
+        wait();
+      }
+    }
+  }
+
+  /** Releases a request acquired, once it has succeeded or failed. */
+  public synchronized void release() {
+    inFlight--;
+    notifyAll();
+  }
+
+  /**
+   * Records a successful response.
+   *
+   * @param latencyNanos the time the service took to respond
+   */
+  public synchronized void onSuccess(long latencyNanos) {
+    if (longLatency == 0) {
+      shortLatency = latencyNanos;
+      longLatency = latencyNanos;
+    } else {
+      shortLatency += (latencyNanos - shortLatency) * SHORT_WEIGHT;
+      longLatency += (latencyNanos - longLatency) * LONG_WEIGHT;
+    }
+    double gradient =
+        Math.max(
+            MIN_GRADIENT,
+            Math.min(1.0, LATENCY_TOLERANCE * longLatency / Math.max(1.0, shortLatency)));
+    double target = limit * gradient + Math.sqrt(limit);
+    limit = Math.max(1, Math.min(maxLimit, limit * (1 - SMOOTHING) + target * SMOOTHING));
+    notifyAll();
+  }
+
+  /**
+   * Records a throttled request.
+   *
+   * @param delayMillis the time to wait before sending more requests
+   */
+  public synchronized void onThrottled(long delayMillis) {
+    long now = System.nanoTime();
+    if (now - pausedUntil >= 0) {
+      limit = Math.max(1, limit / 2);
+    }
+    long until = now + TimeUnit.MILLISECONDS.toNanos(delayMillis);
+    if (until - pausedUntil > 0) {
+      pausedUntil = until;
+    }
+  }
+
+  /**
+   * Gets the time left before requests can be sent again.
+   *
+   * @return the number of nanoseconds, or 0 if requests are not paused
+   */
+  public synchronized long pauseNanos() {
+    return Math.max(0, pausedUntil - System.nanoTime());
+  }
+
+  /**
+   * Waits until no requests are in flight.
+   *
+   * @throws InterruptedException if the thread is interrupted while waiting
+   */
+  public synchronized void awaitIdle() throws InterruptedException {
+    while (inFlight > 0) {
+      wait();
+    }
+  }
+
+  /**
+   * Gets the number of requests in flight.
+   *
+   * @return the number of requests acquired and not released yet
+   */
+  public synchronized int inFlight() {
+    return inFlight;
+  }
+
+  /**
+   * Gets the current bound.
+   *
+   * @return the maximum number of requests in flight
+   */
+  public synchronized int limit() {
+    return (int) limit;
+  }
+}
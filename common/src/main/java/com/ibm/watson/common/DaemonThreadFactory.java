@@ -0,0 +1,44 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.common;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Creates the daemon threads of the executors and schedulers of the SDK, so that they never keep
+ * the JVM alive. The threads are named after the factory and numbered from 0, for example <code>
+ * nlu-batch-0</code>.
+ */
+public final class DaemonThreadFactory implements ThreadFactory {
+
+  private final String name;
+  private final AtomicLong count = new AtomicLong();
+
+  /**
+   * Instantiates a new factory.
+   *
+   * @param name the prefix of the thread names
+   */
+  public DaemonThreadFactory(String name) {
+    com.ibm.cloud.sdk.core.util.Validator.notEmpty(name, "name cannot be empty");
+    this.name = name;
+  }
+
+  @Override
+  public Thread newThread(Runnable runnable) {
+    Thread thread = new Thread(runnable, name + "-" + count.getAndIncrement());
+    thread.setDaemon(true);
+    return thread;
+  }
+}
@@ -0,0 +1,216 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.common;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonWriter;
+import com.ibm.cloud.sdk.core.util.GsonSingleton;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.Buffer;
+import okio.BufferedSink;
+
+/**
+ * A JSON object request body whose members are serialized straight to the connection when the
+ * request is sent.
+ *
+ * <p>Building a {@link JsonObject} with {@link Gson#toJsonTree(Object)} and passing it to {@link
+ * com.ibm.cloud.sdk.core.http.RequestBuilder#bodyJson(JsonObject)} holds the options, their tree
+ * and the string of the tree in memory at the same time, and OkHttp then encodes the string. This
+ * body only keeps references to the values: each one is written by its Gson type adapter to a
+ * {@link JsonWriter} over the sink of the request, so the peak memory of a request no longer grows
+ * with the size of its body. The output is the same as the one of the tree: null members of the
+ * values are left out and nothing is pretty-printed or HTML-escaped.
+ *
+ * <p>A body of up to {@value #BUFFER_LIMIT} bytes is encoded once, the first time its length is
+ * asked for before it is sent, and sent with a <code>Content-Length</code>; the bytes are then sent
+ * again when the request is retried. A larger body is written by streaming, with chunked transfer
+ * encoding, each time it is sent, so a retry serializes the values again.
+ *
+ * <p>Either way the values are serialized when the request is sent, not when they are added: on
+ * the thread executing the call, or on a dispatcher thread of the HTTP client for an enqueued one.
+ * The options of a call, and the models they hold, must not be changed until the call completes.
+ */
+public final class JsonRequestBody extends RequestBody {
+
+  private static final MediaType JSON = MediaType.parse("application/json; charset=utf-8");
+
+  /** The size in bytes up to which a body is buffered, to be sent with its length. */
+  public static final int BUFFER_LIMIT = 64 * 1024;
+
+  private final List<String> names = new ArrayList<>();
+  private final List<Object> values = new ArrayList<>();
+  private boolean measured;
+  private byte[] buffered;
+
+  /**
+   * Adds a member whose value is serialized with Gson, like {@link
+   * JsonObject#add(String, com.google.gson.JsonElement)} of the tree of the value.
+   *
+   * @param name the name of the member
+   * @param value the value, written as <code>null</code> if null
+   */
+  public void add(String name, Object value) {
+    com.ibm.cloud.sdk.core.util.Validator.notNull(name, "name cannot be null");
+    names.add(name);
+    values.add(value);
+  }
+
+  /**
+   * Adds a string member.
+   *
+   * @param name the name of the member
+   * @param value the value
+   */
+  public void addProperty(String name, String value) {
+    add(name, value);
+  }
+
+  /**
+   * Adds a number member.
+   *
+   * @param name the name of the member
+   * @param value the value
+   */
+  public void addProperty(String name, Number value) {
+    add(name, value);
+  }
+
+  /**
+   * Adds a boolean member.
+   *
+   * @param name the name of the member
+   * @param value the value
+   */
+  public void addProperty(String name, Boolean value) {
+    add(name, value);
+  }
+
+  @Override
+  public MediaType contentType() {
+    return JSON;
+  }
+
+  @Override
+  public long contentLength() throws IOException {
+    byte[] bytes = buffer();
+    return bytes != null ? bytes.length : -1;
+  }
+
+  @Override
+  public void writeTo(BufferedSink sink) throws IOException {
+    byte[] bytes = buffer();
+    if (bytes != null) {
+      sink.write(bytes);
+      return;
+    }
+    // the writer must not be closed, as that would close the sink
+    Writer out = new OutputStreamWriter(sink.outputStream(), StandardCharsets.UTF_8);
+    write(out);
+    out.flush();
+  }
+
+  /**
+   * Encodes the body the first time it is called, unless it is larger than the buffer limit.
+   *
+   * @return the bytes of the body, or null if the body is streamed
+   */
+  private synchronized byte[] buffer() throws IOException {
+    if (!measured) {
+      ByteArrayOutputStream bytes =
+          new ByteArrayOutputStream() {
+            @Override
+            public synchronized void write(byte[] b, int off, int len) {
+              if (count + len > BUFFER_LIMIT) {
+                throw new BufferLimitExceeded();
+              }
+              super.write(b, off, len);
+            }
+          };
+      try {
+        Writer out = new OutputStreamWriter(bytes, StandardCharsets.UTF_8);
+        write(out);
+        out.flush();
+        buffered = bytes.toByteArray();
+      } catch (BufferLimitExceeded e) {
+        // streamed instead
+      }
+      measured = true;
+    }
+    return buffered;
+  }
+
+  private void write(Writer out) throws IOException {
+    Gson gson = GsonSingleton.getGsonWithoutPrettyPrinting();
+    JsonWriter writer = gson.newJsonWriter(out);
+    writer.beginObject();
+    for (int i = 0; i < names.size(); i++) {
+      Object value = values.get(i);
+      if (value == null) {
+        // a null member of the body itself is kept, like a JsonNull in a JsonObject
+        writer.setSerializeNulls(true);
+        writer.name(names.get(i)).nullValue();
+        writer.setSerializeNulls(false);
+      } else {
+        writer.name(names.get(i));
+        gson.toJson(value, value.getClass(), writer);
+      }
+    }
+    writer.endObject();
+    writer.flush();
+  }
+
+  /**
+   * Builds the tree of the body, for callers that need to inspect it.
+   *
+   * @return the JSON object
+   */
+  public JsonObject toJsonObject() {
+    return JsonParser.parseString(toString()).getAsJsonObject();
+  }
+
+  /**
+   * Serializes the body.
+   *
+   * @return the JSON text of the body
+   */
+  @Override
+  public String toString() {
+    Buffer buffer = new Buffer();
+    try {
+      writeTo(buffer);
+    } catch (IOException e) {
+      // a buffer does not fail
+      throw new IllegalStateException(e);
+    }
+    return buffer.readUtf8();
+  }
+
+  /** Stops the buffering of a body larger than the limit; it has no stack trace. */
+  private static final class BufferLimitExceeded extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    BufferLimitExceeded() {
+      super(null, null, false, false);
+    }
+  }
+}
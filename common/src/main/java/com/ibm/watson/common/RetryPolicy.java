@@ -0,0 +1,140 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.common;
+
+import com.ibm.cloud.sdk.core.service.exception.ServiceResponseException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ConnectException;
+import java.net.UnknownHostException;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides whether a failed request is retried, and after what delay.
+ *
+ * <p>Requests throttled with status 429 are retried after the delay of their <code>Retry-After
+ * </code> header, server errors and network failures after an exponential backoff: the delay starts
+ * at <code>initialBackoffMillis</code> and doubles with each attempt up to <code>maxBackoffMillis
+ * </code>, with jitter so that requests that failed together are not retried together.
+ *
+ * <p>A request that is not idempotent is only retried when the service cannot have acted on it:
+ * when it was throttled, or when the connection could not be made.
+ */
+public final class RetryPolicy {
+  private static final int TOO_MANY_REQUESTS = 429;
+
+  private final long initialBackoffMillis;
+  private final long maxBackoffMillis;
+
+  /**
+   * Instantiates a new policy.
+   *
+   * @param initialBackoffMillis the delay before the first retry, in milliseconds
+   * @param maxBackoffMillis the maximum delay before a retry, in milliseconds
+   */
+  public RetryPolicy(long initialBackoffMillis, long maxBackoffMillis) {
+    com.ibm.cloud.sdk.core.util.Validator.isTrue(
+        initialBackoffMillis >= 0 && maxBackoffMillis >= 0, "backoff cannot be negative");
+    this.initialBackoffMillis = initialBackoffMillis;
+    this.maxBackoffMillis = maxBackoffMillis;
+  }
+
+  /**
+   * Computes the delay before an idempotent request is retried.
+   *
+   * @param e the failure of the request
+   * @param attempt the number of the attempt that failed, from 0
+   * @return the delay in milliseconds, or -1 if the request must not be retried
+   */
+  public long retryDelay(Exception e, int attempt) {
+    return retryDelay(e, attempt, true);
+  }
+
+  /**
+   * Computes the delay before a request is retried.
+   *
+   * @param e the failure of the request
+   * @param attempt the number of the attempt that failed, from 0
+   * @param idempotent whether the request can be sent again after the service acted on it
+   * @return the delay in milliseconds, or -1 if the request must not be retried
+   */
+  public long retryDelay(Exception e, int attempt, boolean idempotent) {
+    if (e instanceof ServiceResponseException) {
+      ServiceResponseException response = (ServiceResponseException) e;
+      if (response.getStatusCode() == TOO_MANY_REQUESTS) {
+        long delay = retryAfterMillis(response);
+        return delay >= 0 ? delay : backoff(attempt);
+      }
+      return idempotent && response.getStatusCode() >= 500 ? backoff(attempt) : -1;
+    }
+    // the client wraps network failures; nothing was sent when the connection failed
+    Throwable cause = e.getCause();
+    if (cause instanceof ConnectException || cause instanceof UnknownHostException) {
+      return backoff(attempt);
+    }
+    boolean network =
+        e instanceof IOException
+            || e instanceof UncheckedIOException
+            || cause instanceof IOException;
+    return idempotent && network ? backoff(attempt) : -1;
+  }
+
+  /**
+   * Computes the exponential backoff before a retry, with jitter.
+   *
+   * @param attempt the number of the attempt that failed, from 0
+   * @return the delay in milliseconds
+   */
+  public long backoff(int attempt) {
+    long delay = initialBackoffMillis << Math.min(attempt, 30);
+    if (delay > maxBackoffMillis || delay < 0) {
+      delay = maxBackoffMillis;
+    }
+    return delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+  }
+
+  /**
+   * Tells whether a request failed because the service throttled it.
+   *
+   * @param e the failure of the request
+   * @return true for status 429
+   */
+  public static boolean isThrottled(Exception e) {
+    return e instanceof ServiceResponseException
+        && ((ServiceResponseException) e).getStatusCode() == TOO_MANY_REQUESTS;
+  }
+
+  /**
+   * Gets the delay of the <code>Retry-After</code> header of a response.
+   *
+   * @param e the failure with the response
+   * @return the delay in milliseconds, or -1 if the header is missing or is not a number of seconds
+   */
+  public static long retryAfterMillis(ServiceResponseException e) {
+    if (e.getHeaders() == null) {
+      return -1;
+    }
+    List<String> values = e.getHeaders().values("Retry-After");
+    if (values == null || values.isEmpty()) {
+      return -1;
+    }
+    try {
+      return TimeUnit.SECONDS.toMillis(Long.parseLong(values.get(0).trim()));
+    } catch (NumberFormatException ex) {
+      // an HTTP date, which the services do not send
+      return -1;
+    }
+  }
+}
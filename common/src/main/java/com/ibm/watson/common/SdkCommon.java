@@ -13,21 +13,66 @@
 package com.ibm.watson.common;
 
 import com.ibm.cloud.sdk.core.http.HttpHeaders;
+import com.ibm.cloud.sdk.core.http.RequestBuilder;
 import com.ibm.cloud.sdk.core.util.RequestUtils;
 import java.io.InputStream;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-/** The Class SdkCommon. */
+/**
+ * The Class SdkCommon.
+ *
+ * <p>The SDK headers of an operation never change, so they are built once per service, version and
+ * operation and shared by every request. The lookup is a chain of concurrent maps keyed by the
+ * strings the services pass, so adding the headers of an operation with {@link #addSdkHeaders}
+ * allocates nothing after the first time; {@link #getSdkHeaders} returns a copy the caller owns.
+ */
 public class SdkCommon {
   private static final Logger LOG = Logger.getLogger(SdkCommon.class.getName());
-  private static String userAgent;
+  private static final ConcurrentMap<String, ConcurrentMap<String, ConcurrentMap<String, Headers>>>
+      SDK_HEADERS = new ConcurrentHashMap<>();
 
   private SdkCommon() {}
 
+  /** Holds the user agent, loaded on first use; class initialization makes it thread safe. */
+  private static final class UserAgentHolder {
+    static final String USER_AGENT =
+        "watson-apis-java-sdk/" + loadSdkVersion() + "; " + RequestUtils.getUserAgent();
+  }
+
+  /** The SDK headers of an operation, as a map and as name/value pairs for RequestBuilder. */
+  private static final class Headers {
+    final Map<String, String> map;
+    final Object[] nameValuePairs;
+
+    Headers(String serviceName, String serviceVersion, String operationId) {
+      String analytics =
+          "service_name="
+              + serviceName
+              + ";service_version="
+              + serviceVersion
+              + ";operation_id="
+              + operationId;
+      Map<String, String> headers = new LinkedHashMap<>();
+      headers.put(WatsonHttpHeaders.X_IBMCLOUD_SDK_ANALYTICS, analytics);
+      headers.put(HttpHeaders.USER_AGENT, UserAgentHolder.USER_AGENT);
+      map = Collections.unmodifiableMap(headers);
+      nameValuePairs =
+          new Object[] {
+            WatsonHttpHeaders.X_IBMCLOUD_SDK_ANALYTICS,
+            analytics,
+            HttpHeaders.USER_AGENT,
+            UserAgentHolder.USER_AGENT
+          };
+    }
+  }
+
   private static String loadSdkVersion() {
     ClassLoader classLoader = SdkCommon.class.getClassLoader();
     InputStream inputStream = classLoader.getResourceAsStream("java-sdk-version.properties");
@@ -42,11 +87,25 @@ public class SdkCommon {
     return properties.getProperty("version", "unknown-version");
   }
 
-  private static String getUserAgent() {
-    if (userAgent == null) {
-      userAgent = "watson-apis-java-sdk/" + loadSdkVersion() + "; " + RequestUtils.getUserAgent();
+  private static Headers headers(String serviceName, String serviceVersion, String operationId) {
+    // get before putIfAbsent, as computeIfAbsent locks on Java 8 even when the key is present
+    ConcurrentMap<String, ConcurrentMap<String, Headers>> versions = SDK_HEADERS.get(serviceName);
+    if (versions == null) {
+      SDK_HEADERS.putIfAbsent(
+          serviceName, new ConcurrentHashMap<String, ConcurrentMap<String, Headers>>());
+      versions = SDK_HEADERS.get(serviceName);
+    }
+    ConcurrentMap<String, Headers> operations = versions.get(serviceVersion);
+    if (operations == null) {
+      versions.putIfAbsent(serviceVersion, new ConcurrentHashMap<String, Headers>());
+      operations = versions.get(serviceVersion);
+    }
+    Headers headers = operations.get(operationId);
+    if (headers == null) {
+      operations.putIfAbsent(operationId, new Headers(serviceName, serviceVersion, operationId));
+      headers = operations.get(operationId);
     }
-    return userAgent;
+    return headers;
   }
 
   /**
@@ -55,19 +114,24 @@ public class SdkCommon {
    * @param serviceName the service name
    * @param serviceVersion the service version
    * @param operationId the operation id
-   * @return the sdk headers
+   * @return a new map of the sdk headers, which the caller may modify
    */
   public static Map<String, String> getSdkHeaders(
       String serviceName, String serviceVersion, String operationId) {
-    Map<String, String> headers = new HashMap<>();
-
-    String sdkAnalyticsHeaderValue =
-        String.format(
-            "service_name=%s;service_version=%s;operation_id=%s",
-            serviceName, serviceVersion, operationId);
+    return new LinkedHashMap<>(headers(serviceName, serviceVersion, operationId).map);
+  }
 
-    headers.put(WatsonHttpHeaders.X_IBMCLOUD_SDK_ANALYTICS, sdkAnalyticsHeaderValue);
-    headers.put(HttpHeaders.USER_AGENT, getUserAgent());
-    return headers;
+  /**
+   * Adds the sdk headers to a request, without copying them.
+   *
+   * @param builder the request builder
+   * @param serviceName the service name
+   * @param serviceVersion the service version
+   * @param operationId the operation id
+   * @return the request builder
+   */
+  public static RequestBuilder addSdkHeaders(
+      RequestBuilder builder, String serviceName, String serviceVersion, String operationId) {
+    return builder.header(headers(serviceName, serviceVersion, operationId).nameValuePairs);
   }
 }
@@ -0,0 +1,107 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.common;
+
+import com.google.gson.ExclusionStrategy;
+import com.google.gson.FieldAttributes;
+import com.google.gson.FieldNamingPolicy;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonIOException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Writes the start message of a WebSocket session from an options object: the options as a JSON
+ * object with underscored field names, followed by <code>"action": "start"</code>.
+ *
+ * <p>Options that the service reads from the URL of the connection are left out of the message. The
+ * serializer of an options class is thread-safe and meant to be created once, so every connection
+ * writes its start message in a single pass without building a new {@link com.google.gson.Gson}.
+ *
+ * @param <T> the type of the options
+ */
+public final class StartMessageSerializer<T> {
+
+  private static final String ACTION = "action";
+  private static final String START = "start";
+
+  private final TypeAdapter<T> adapter;
+
+  /**
+   * Instantiates a new serializer.
+   *
+   * @param type the class of the options
+   * @param excludedFields the names of the fields of the options class to leave out of the message
+   */
+  public StartMessageSerializer(final Class<T> type, String... excludedFields) {
+    final Set<String> excluded = new HashSet<>(Arrays.asList(excludedFields));
+    this.adapter =
+        new GsonBuilder()
+            .setFieldNamingPolicy(FieldNamingPolicy.LOWER_CASE_WITH_UNDERSCORES)
+            .setExclusionStrategies(
+                new ExclusionStrategy() {
+                  @Override
+                  public boolean shouldSkipField(FieldAttributes field) {
+                    return field.getDeclaringClass() == type && excluded.contains(field.getName());
+                  }
+
+                  @Override
+                  public boolean shouldSkipClass(Class<?> clazz) {
+                    return false;
+                  }
+                })
+            .create()
+            .getAdapter(type);
+  }
+
+  /**
+   * Writes the start message.
+   *
+   * @param options the options
+   * @return the start message
+   */
+  public String serialize(T options) {
+    StringWriter out = new StringWriter();
+    try {
+      adapter.write(new StartMessageWriter(out), options);
+    } catch (IOException e) {
+      throw new JsonIOException(e);
+    }
+    return out.toString();
+  }
+
+  /** Adds the start action as the first property of the outermost object. */
+  private static final class StartMessageWriter extends JsonWriter {
+    private boolean started;
+
+    StartMessageWriter(StringWriter out) {
+      super(out);
+      setSerializeNulls(false);
+    }
+
+    @Override
+    public JsonWriter beginObject() throws IOException {
+      super.beginObject();
+      if (!started) {
+        started = true;
+        name(ACTION).value(START);
+      }
+      return this;
+    }
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.common;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Factory methods for the {@link Executor}s that run the sender tasks of WebSocket sessions, for
+ * example the task streaming audio to the Speech to Text service.
+ *
+ * <p>A sender task lives as long as its session, so an executor bounds the number of sessions that
+ * can send at the same time. Virtual threads, available on JDK 21 and later, keep the stack of a
+ * waiting sender on the heap instead of holding an operating system thread and its native stack;
+ * {@code WebSocketExecutorBenchmark} in the benchmarks module measures the heap held per session.
+ */
+public final class WebSocketExecutors {
+
+  private static final long KEEP_ALIVE_SECONDS = 60;
+
+  private WebSocketExecutors() {
+    // This is a utility class - no instantiation allowed.
+  }
+
+  /**
+   * Returns an executor that starts a new platform thread for each task. This is the executor used
+   * when none is configured.
+   *
+   * @param name the name of the threads
+   * @return the executor
+   */
+  public static Executor newThreadPerTaskExecutor(final String name) {
+    return new Executor() {
+      @Override
+      public void execute(Runnable command) {
+        new Thread(command, name).start();
+      }
+    };
+  }
+
+  /**
+   * Checks whether virtual threads are supported by the running JVM.
+   *
+   * @return true on JDK 21 and later
+   */
+  public static boolean isVirtualThreadSupported() {
+    try {
+      Thread.class.getMethod("ofVirtual");
+      return true;
+    } catch (NoSuchMethodException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Returns an executor that starts a new virtual thread for each task.
+   *
+   * @param name the prefix of the thread names
+   * @return the executor
+   * @throws UnsupportedOperationException if the JVM does not support virtual threads
+   */
+  public static ExecutorService newVirtualThreadPerTaskExecutor(String name) {
+    try {
+      // Thread.ofVirtual().name(name + "-", 0).factory(), through reflection so the SDK still
+      // runs on Java 8
+      Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+      Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+      builder =
+          builderClass.getMethod("name", String.class, long.class).invoke(builder, name + "-", 0L);
+      ThreadFactory factory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+      return (ExecutorService)
+          Executors.class
+              .getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+              .invoke(null, factory);
+    } catch (ClassNotFoundException
+        | NoSuchMethodException
+        | IllegalAccessException
+        | InvocationTargetException e) {
+      throw new UnsupportedOperationException("Virtual threads require JDK 21 or later", e);
+    }
+  }
+
+  /**
+   * Returns an executor backed by at most <code>maxThreads</code> daemon platform threads. A task
+   * submitted while all threads are busy is rejected with a {@link RejectedExecutionException}
+   * rather than queued, so a session that cannot send fails at once, through the <code>onError
+   * </code> of its callback, instead of waiting for another session to end. Idle threads are
+   * released after a minute.
+   *
+   * @param maxThreads the maximum number of threads
+   * @param name the prefix of the thread names
+   * @return the executor
+   */
+  public static ExecutorService newBoundedExecutor(int maxThreads, String name) {
+    com.ibm.cloud.sdk.core.util.Validator.isTrue(maxThreads > 0, "maxThreads must be positive");
+    ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(
+            maxThreads,
+            maxThreads,
+            KEEP_ALIVE_SECONDS,
+            TimeUnit.SECONDS,
+            new SynchronousQueue<Runnable>(),
+            new DaemonThreadFactory(name));
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  /**
+   * Returns a virtual-thread-per-task executor when the JVM supports it, and a bounded executor of
+   * <code>maxThreads</code> platform threads otherwise, which rejects the sessions beyond <code>
+   * maxThreads</code>.
+   *
+   * @param maxThreads the maximum number of platform threads used without virtual threads
+   * @param name the prefix of the thread names
+   * @return the executor
+   */
+  public static ExecutorService newScalableExecutor(int maxThreads, String name) {
+    if (isVirtualThreadSupported()) {
+      return newVirtualThreadPerTaskExecutor(name);
+    }
+    return newBoundedExecutor(maxThreads, name);
+  }
+}
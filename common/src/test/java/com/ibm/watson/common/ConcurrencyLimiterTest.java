@@ -0,0 +1,91 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.common;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+/** The Class ConcurrencyLimiterTest. */
+public class ConcurrencyLimiterTest {
+
+  /** Test that requests are acquired up to the bound. */
+  @Test
+  public void testTryAcquire() {
+    ConcurrencyLimiter limiter = new ConcurrencyLimiter(2);
+
+    assertTrue(limiter.tryAcquire());
+    assertTrue(limiter.tryAcquire());
+    assertFalse(limiter.tryAcquire());
+    assertEquals(2, limiter.inFlight());
+    limiter.release();
+    assertTrue(limiter.tryAcquire());
+  }
+
+  /** Test that requests throttled during the same pause halve the bound once. */
+  @Test
+  public void testThrottled() {
+    ConcurrencyLimiter limiter = new ConcurrencyLimiter(8);
+
+    limiter.onThrottled(1000);
+    limiter.onThrottled(1000);
+
+    assertEquals(4, limiter.limit());
+    assertTrue(limiter.pauseNanos() > TimeUnit.MILLISECONDS.toNanos(500));
+    assertFalse(limiter.tryAcquire());
+  }
+
+  /** Test that the bound grows back while the latency is stable, and shrinks when it rises. */
+  @Test
+  public void testLatency() {
+    ConcurrencyLimiter limiter = new ConcurrencyLimiter(16);
+    limiter.onThrottled(0);
+    int throttled = limiter.limit();
+
+    for (int i = 0; i < 20; i++) {
+      limiter.onSuccess(TimeUnit.MILLISECONDS.toNanos(10));
+    }
+    int recovered = limiter.limit();
+    for (int i = 0; i < 20; i++) {
+      limiter.onSuccess(TimeUnit.MILLISECONDS.toNanos(200));
+    }
+
+    assertEquals(8, throttled);
+    assertEquals(16, recovered);
+    assertTrue(limiter.limit() < recovered);
+  }
+
+  /** Test that acquire waits for a request to be released. */
+  @Test
+  public void testAcquire() throws InterruptedException {
+    final ConcurrencyLimiter limiter = new ConcurrencyLimiter(1);
+    limiter.acquire();
+    Thread releaser =
+        new Thread(
+            new Runnable() {
+              @Override
+              public void run() {
+                limiter.release();
+              }
+            });
+    releaser.start();
+
+    limiter.acquire();
+    limiter.release();
+    limiter.awaitIdle();
+    assertEquals(0, limiter.inFlight());
+  }
+}
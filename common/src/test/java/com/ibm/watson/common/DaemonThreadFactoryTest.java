@@ -0,0 +1,45 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.common;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/** The Class DaemonThreadFactoryTest. */
+public class DaemonThreadFactoryTest {
+
+  /** Test that the threads are daemon threads numbered after the name of the factory. */
+  @Test
+  public void testNewThread() {
+    DaemonThreadFactory factory = new DaemonThreadFactory("worker");
+    Runnable task =
+        new Runnable() {
+          @Override
+          public void run() {}
+        };
+    Thread first = factory.newThread(task);
+    Thread second = factory.newThread(task);
+
+    assertTrue(first.isDaemon());
+    assertEquals("worker-0", first.getName());
+    assertEquals("worker-1", second.getName());
+  }
+
+  /** Test that the factory needs a name. */
+  @Test(expected = IllegalArgumentException.class)
+  public void testEmptyName() {
+    new DaemonThreadFactory("");
+  }
+}
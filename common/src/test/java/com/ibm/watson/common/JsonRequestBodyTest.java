@@ -0,0 +1,123 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.common;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.gson.JsonObject;
+import com.google.gson.annotations.SerializedName;
+import com.ibm.cloud.sdk.core.util.GsonSingleton;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import okio.Buffer;
+import org.junit.Test;
+
+/** The Class JsonRequestBodyTest. */
+public class JsonRequestBodyTest {
+
+  /** A model with a renamed field, a null field and nested values. */
+  private static class Intent {
+    @SerializedName("intent_name")
+    private String name = "greeting <hello> & été";
+
+    private String description;
+    private List<String> examples = Arrays.asList("hi", null, "hello");
+    private Map<String, Object> metadata = new LinkedHashMap<>();
+
+    Intent() {
+      metadata.put("weight", 0.5);
+      metadata.put("missing", null);
+    }
+  }
+
+  /** Test that the body is written like the tree built with toJsonTree. */
+  @Test
+  public void testSameAsTree() throws IOException {
+    List<Intent> intents = Arrays.asList(new Intent(), new Intent());
+    Map<String, Object> context = Collections.<String, Object>singletonMap("count", 3L);
+
+    JsonObject tree = new JsonObject();
+    tree.addProperty("name", "workspace");
+    tree.addProperty("learning_opt_out", true);
+    tree.addProperty("limit", 25L);
+    tree.add("intents", GsonSingleton.getGson().toJsonTree(intents));
+    tree.add("context", GsonSingleton.getGson().toJsonTree(context));
+
+    JsonRequestBody body = new JsonRequestBody();
+    body.addProperty("name", "workspace");
+    body.addProperty("learning_opt_out", true);
+    body.addProperty("limit", 25L);
+    body.add("intents", intents);
+    body.add("context", context);
+
+    Buffer buffer = new Buffer();
+    body.writeTo(buffer);
+    assertEquals(tree.toString(), buffer.readUtf8());
+    assertEquals(tree.toString(), body.toString());
+    assertEquals(tree, body.toJsonObject());
+    assertEquals("application/json; charset=utf-8", body.contentType().toString());
+    assertEquals(tree.toString().getBytes(StandardCharsets.UTF_8).length, body.contentLength());
+  }
+
+  /** Test that a body larger than the buffer limit is streamed without a length. */
+  @Test
+  public void testLargeBodyIsStreamed() throws IOException {
+    List<String> examples = new ArrayList<>();
+    for (int i = 0; i < JsonRequestBody.BUFFER_LIMIT / 8; i++) {
+      examples.add("example " + i);
+    }
+    JsonObject tree = new JsonObject();
+    tree.add("examples", GsonSingleton.getGson().toJsonTree(examples));
+
+    JsonRequestBody body = new JsonRequestBody();
+    body.add("examples", examples);
+
+    assertEquals(-1, body.contentLength());
+    Buffer buffer = new Buffer();
+    body.writeTo(buffer);
+    assertEquals(tree.toString(), buffer.readUtf8());
+  }
+
+  /** Test that a null member of the body is kept, like a JsonNull. */
+  @Test
+  public void testNullMember() {
+    JsonRequestBody body = new JsonRequestBody();
+    body.add("input", null);
+    body.addProperty("text", (String) null);
+
+    assertEquals("{\"input\":null,\"text\":null}", body.toString());
+    assertTrue(body.toJsonObject().get("input").isJsonNull());
+  }
+
+  /** Test that the body can be written more than once. */
+  @Test
+  public void testWriteTwice() throws IOException {
+    JsonRequestBody body = new JsonRequestBody();
+    body.add("examples", Arrays.asList("one", "two"));
+
+    Buffer first = new Buffer();
+    body.writeTo(first);
+    Buffer second = new Buffer();
+    body.writeTo(second);
+
+    assertEquals("{\"examples\":[\"one\",\"two\"]}", first.readUtf8());
+    assertEquals("{\"examples\":[\"one\",\"two\"]}", second.readUtf8());
+  }
+}
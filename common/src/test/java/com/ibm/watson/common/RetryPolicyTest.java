@@ -0,0 +1,89 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.common;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.ibm.cloud.sdk.core.service.exception.ServiceResponseException;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.junit.Test;
+
+/** The Class RetryPolicyTest. */
+public class RetryPolicyTest {
+
+  private static ServiceResponseException failure(int status, String retryAfter) {
+    Response.Builder response =
+        new Response.Builder()
+            .request(new Request.Builder().url("http://localhost/").build())
+            .protocol(Protocol.HTTP_1_1)
+            .code(status)
+            .message("failure")
+            .body(ResponseBody.create("{}", MediaType.get("application/json")));
+    if (retryAfter != null) {
+      response.header("Retry-After", retryAfter);
+    }
+    return new ServiceResponseException(status, response.build());
+  }
+
+  /** Test that throttled requests wait for the delay of the service. */
+  @Test
+  public void testThrottled() {
+    RetryPolicy policy = new RetryPolicy(100, 1000);
+    ServiceResponseException throttled = failure(429, "3");
+
+    assertTrue(RetryPolicy.isThrottled(throttled));
+    assertEquals(3000, policy.retryDelay(throttled, 0, false));
+    long delay = policy.retryDelay(failure(429, "Wed, 21 Oct 2026 07:28:00 GMT"), 0);
+    assertTrue(delay >= 50 && delay <= 100);
+  }
+
+  /** Test that the backoff doubles up to its maximum, with jitter. */
+  @Test
+  public void testBackoff() {
+    RetryPolicy policy = new RetryPolicy(100, 1000);
+    for (int i = 0; i < 100; i++) {
+      long first = policy.backoff(0);
+      long third = policy.backoff(2);
+      long last = policy.backoff(40);
+      assertTrue(first >= 50 && first <= 100);
+      assertTrue(third >= 200 && third <= 400);
+      assertTrue(last >= 500 && last <= 1000);
+    }
+  }
+
+  /** Test that requests that are not idempotent are only retried when nothing was done. */
+  @Test
+  public void testIdempotence() {
+    RetryPolicy policy = new RetryPolicy(100, 1000);
+    RuntimeException timeout = new RuntimeException(new SocketTimeoutException());
+    RuntimeException refused = new RuntimeException(new ConnectException());
+
+    assertTrue(policy.retryDelay(failure(503, null), 0) >= 0);
+    assertEquals(-1, policy.retryDelay(failure(503, null), 0, false));
+    assertTrue(policy.retryDelay(timeout, 0) >= 0);
+    assertEquals(-1, policy.retryDelay(timeout, 0, false));
+    assertTrue(policy.retryDelay(refused, 0, false) >= 0);
+    assertEquals(-1, policy.retryDelay(failure(400, null), 0));
+    assertEquals(-1, policy.retryDelay(new IllegalStateException(), 0));
+    assertFalse(RetryPolicy.isThrottled(new RuntimeException(new IOException())));
+  }
+}
@@ -12,10 +12,16 @@
  */
 package com.ibm.watson.common;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertTrue;
 
 import com.ibm.cloud.sdk.core.http.HttpHeaders;
+import com.ibm.cloud.sdk.core.http.RequestBuilder;
+import java.util.HashMap;
 import java.util.Map;
+import okhttp3.HttpUrl;
+import okhttp3.Request;
 import org.junit.Test;
 
 /** The Class SdkCommonTest. */
@@ -38,4 +44,43 @@ public class SdkCommonTest {
     assertTrue(defaultHeaders.containsKey(HttpHeaders.USER_AGENT));
     assertTrue(defaultHeaders.get(HttpHeaders.USER_AGENT).startsWith("watson-apis-java-sdk/"));
   }
+
+  /** Test that the sdk headers are built for each version of an operation. */
+  @Test
+  public void testGetSdkHeadersPerVersion() {
+    assertEquals(
+        "service_name=test_name;service_version=v1;operation_id=test_method",
+        SdkCommon.getSdkHeaders("test_name", "v1", "test_method")
+            .get(WatsonHttpHeaders.X_IBMCLOUD_SDK_ANALYTICS));
+    assertEquals(
+        "service_name=test_name;service_version=v2;operation_id=test_method",
+        SdkCommon.getSdkHeaders("test_name", "v2", "test_method")
+            .get(WatsonHttpHeaders.X_IBMCLOUD_SDK_ANALYTICS));
+  }
+
+  /** Test that changing the returned sdk headers does not change the shared ones. */
+  @Test
+  public void testGetSdkHeadersIsCopy() {
+    Map<String, String> headers = SdkCommon.getSdkHeaders("test_name", "v1", "test_method");
+    Map<String, String> copy = new HashMap<>(headers);
+
+    headers.clear();
+    headers.put("X-Test", "test");
+
+    assertNotSame(headers, SdkCommon.getSdkHeaders("test_name", "v1", "test_method"));
+    assertEquals(copy, SdkCommon.getSdkHeaders("test_name", "v1", "test_method"));
+  }
+
+  /** Test add sdk headers. */
+  @Test
+  public void testAddSdkHeaders() {
+    RequestBuilder builder = RequestBuilder.get(HttpUrl.get("http://localhost/v1/test"));
+    SdkCommon.addSdkHeaders(builder, "test_name", "v1", "test_method");
+    Request request = builder.build();
+
+    Map<String, String> headers = SdkCommon.getSdkHeaders("test_name", "v1", "test_method");
+    for (Map.Entry<String, String> header : headers.entrySet()) {
+      assertEquals(header.getValue(), request.header(header.getKey()));
+    }
+  }
 }
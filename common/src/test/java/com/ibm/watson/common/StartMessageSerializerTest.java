@@ -0,0 +1,61 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.common;
+
+import static org.junit.Assert.assertEquals;
+
+import com.google.gson.annotations.SerializedName;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+
+/** The Class StartMessageSerializerTest. */
+public class StartMessageSerializerTest {
+
+  /** Options with a field set in the URL, a renamed field and a transient field. */
+  private static class Options {
+    private String model;
+
+    @SerializedName("content-type")
+    private String contentType;
+
+    private Boolean interimResults;
+    private List<String> keywords;
+    private Double customizationWeight;
+    private transient Object audio = new Object();
+  }
+
+  private final StartMessageSerializer<Options> serializer =
+      new StartMessageSerializer<>(Options.class, "model");
+
+  /** Test that excluded and null fields are left out and the action comes first. */
+  @Test
+  public void testSerialize() {
+    Options options = new Options();
+    options.model = "en-US_Telephony";
+    options.contentType = "audio/l16;rate=16000";
+    options.interimResults = true;
+    options.keywords = Arrays.asList("<hello>", "world");
+
+    assertEquals(
+        "{\"action\":\"start\",\"content-type\":\"audio/l16;rate=16000\","
+            + "\"interim_results\":true,\"keywords\":[\"<hello>\",\"world\"]}",
+        serializer.serialize(options));
+  }
+
+  /** Test options without any field set. */
+  @Test
+  public void testSerializeEmpty() {
+    assertEquals("{\"action\":\"start\"}", serializer.serialize(new Options()));
+  }
+}
@@ -0,0 +1,129 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.common;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Test;
+
+/** The Class WebSocketExecutorsTest. */
+public class WebSocketExecutorsTest {
+
+  private static String runAndGetThreadName(Executor executor) throws InterruptedException {
+    final CountDownLatch latch = new CountDownLatch(1);
+    final AtomicReference<String> name = new AtomicReference<>();
+    executor.execute(
+        new Runnable() {
+          @Override
+          public void run() {
+            name.set(Thread.currentThread().getName());
+            latch.countDown();
+          }
+        });
+    assertTrue(latch.await(5, TimeUnit.SECONDS));
+    return name.get();
+  }
+
+  /** Test the thread per task executor. */
+  @Test
+  public void testThreadPerTaskExecutor() throws InterruptedException {
+    Executor executor = WebSocketExecutors.newThreadPerTaskExecutor("Sender");
+    assertEquals("Sender", runAndGetThreadName(executor));
+  }
+
+  /** Test the bounded executor. */
+  @Test
+  public void testBoundedExecutor() throws InterruptedException {
+    ExecutorService executor = WebSocketExecutors.newBoundedExecutor(2, "Sender");
+    try {
+      assertTrue(runAndGetThreadName(executor).startsWith("Sender-"));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  /** Test that the bounded executor rejects tasks while all its threads are busy. */
+  @Test
+  public void testBoundedExecutorRejects() throws InterruptedException {
+    ExecutorService executor = WebSocketExecutors.newBoundedExecutor(1, "Sender");
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch released = new CountDownLatch(1);
+    try {
+      executor.execute(
+          new Runnable() {
+            @Override
+            public void run() {
+              started.countDown();
+              try {
+                released.await();
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+              }
+            }
+          });
+      assertTrue(started.await(5, TimeUnit.SECONDS));
+      try {
+        executor.execute(
+            new Runnable() {
+              @Override
+              public void run() {}
+            });
+        fail("expected RejectedExecutionException");
+      } catch (RejectedExecutionException e) {
+        // expected
+      }
+    } finally {
+      released.countDown();
+      executor.shutdown();
+    }
+  }
+
+  /** Test the scalable executor on the running JVM. */
+  @Test
+  public void testScalableExecutor() throws InterruptedException {
+    ExecutorService executor = WebSocketExecutors.newScalableExecutor(2, "Sender");
+    try {
+      assertTrue(runAndGetThreadName(executor).startsWith("Sender-"));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  /** Test that virtual threads are rejected on JVMs without support. */
+  @Test
+  public void testVirtualThreadPerTaskExecutor() throws InterruptedException {
+    if (WebSocketExecutors.isVirtualThreadSupported()) {
+      ExecutorService executor = WebSocketExecutors.newVirtualThreadPerTaskExecutor("Sender");
+      try {
+        assertTrue(runAndGetThreadName(executor).startsWith("Sender-"));
+      } finally {
+        executor.shutdown();
+      }
+    } else {
+      try {
+        WebSocketExecutors.newVirtualThreadPerTaskExecutor("Sender");
+        assertTrue("expected UnsupportedOperationException", false);
+      } catch (UnsupportedOperationException e) {
+        // expected
+      }
+    }
+  }
+}
@@ -17,7 +17,6 @@
 
 package com.ibm.watson.discovery.v2;
 
-import com.google.gson.JsonObject;
 import com.ibm.cloud.sdk.core.http.RequestBuilder;
 import com.ibm.cloud.sdk.core.http.ResponseConverter;
 import com.ibm.cloud.sdk.core.http.ServiceCall;
@@ -26,7 +25,9 @@ import com.ibm.cloud.sdk.core.security.ConfigBasedAuthenticatorFactory;
 import com.ibm.cloud.sdk.core.service.BaseService;
 import com.ibm.cloud.sdk.core.util.RequestUtils;
 import com.ibm.cloud.sdk.core.util.ResponseConverterUtils;
+import com.ibm.watson.common.JsonRequestBody;
 import com.ibm.watson.common.SdkCommon;
+import com.ibm.watson.discovery.v2.cache.QueryCache;
 import com.ibm.watson.discovery.v2.model.AddDocumentOptions;
 import com.ibm.watson.discovery.v2.model.AnalyzeDocumentOptions;
 import com.ibm.watson.discovery.v2.model.AnalyzedDocument;
@@ -106,10 +107,13 @@ import com.ibm.watson.discovery.v2.model.UpdateDocumentOptions;
 import com.ibm.watson.discovery.v2.model.UpdateEnrichmentOptions;
 import com.ibm.watson.discovery.v2.model.UpdateProjectOptions;
 import com.ibm.watson.discovery.v2.model.UpdateTrainingQueryOptions;
+import com.ibm.watson.discovery.v2.stream.FieldProjection;
+import com.ibm.watson.discovery.v2.stream.QueryResultStream;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.function.Supplier;
 import okhttp3.MultipartBody;
+import okhttp3.Request;
 
 /**
  * IBM Watson&amp;reg; Discovery is a cognitive search and content analytics engine that you can add
@@ -129,6 +133,7 @@ public class Discovery extends BaseService {
       "https://api.us-south.discovery.watson.cloud.ibm.com";
 
   private String version;
+  private QueryCache queryCache;
 
   /**
    * Constructs an instance of the `Discovery` client. The default service name is used to configure
@@ -206,6 +211,26 @@ public class Discovery extends BaseService {
     this.version = version;
   }
 
+  /**
+   * Sets the cache that answers {@link #query(QueryOptions)} for queries that have been sent
+   * before. A document successfully added, updated or deleted with this client invalidates the
+   * cached results of its collection. By default results are not cached.
+   *
+   * @param queryCache the cache, or null to always call the service
+   */
+  public void setQueryCache(QueryCache queryCache) {
+    this.queryCache = queryCache;
+  }
+
+  /**
+   * Gets the cache that answers {@link #query(QueryOptions)}.
+   *
+   * @return the cache, or null if results are not cached
+   */
+  public QueryCache getQueryCache() {
+    return queryCache;
+  }
+
   /**
    * List projects.
    *
@@ -217,10 +242,7 @@ public class Discovery extends BaseService {
   public ServiceCall<ListProjectsResponse> listProjects(ListProjectsOptions listProjectsOptions) {
     RequestBuilder builder =
         RequestBuilder.get(RequestBuilder.resolveRequestUrl(getServiceUrl(), "/v2/projects"));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("discovery", "v2", "listProjects");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "discovery", "v2", "listProjects");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     ResponseConverter<ListProjectsResponse> responseConverter =
@@ -254,22 +276,16 @@ public class Discovery extends BaseService {
         createProjectOptions, "createProjectOptions cannot be null");
     RequestBuilder builder =
         RequestBuilder.post(RequestBuilder.resolveRequestUrl(getServiceUrl(), "/v2/projects"));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("discovery", "v2", "createProject");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "discovery", "v2", "createProject");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
-    final JsonObject contentJson = new JsonObject();
+    final JsonRequestBody contentJson = new JsonRequestBody();
     contentJson.addProperty("name", createProjectOptions.name());
     contentJson.addProperty("type", createProjectOptions.type());
     if (createProjectOptions.defaultQueryParameters() != null) {
-      contentJson.add(
-          "default_query_parameters",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-              .toJsonTree(createProjectOptions.defaultQueryParameters()));
+      contentJson.add("default_query_parameters", createProjectOptions.defaultQueryParameters());
     }
-    builder.bodyJson(contentJson);
+    builder.body(contentJson);
     ResponseConverter<ProjectDetails> responseConverter =
         ResponseConverterUtils.getValue(
             new com.google.gson.reflect.TypeToken<ProjectDetails>() {}.getType());
@@ -293,10 +309,7 @@ public class Discovery extends BaseService {
         RequestBuilder.get(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v2/projects/{project_id}", pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("discovery", "v2", "getProject");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "discovery", "v2", "getProject");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     ResponseConverter<ProjectDetails> responseConverter =
@@ -323,17 +336,14 @@ public class Discovery extends BaseService {
         RequestBuilder.post(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v2/projects/{project_id}", pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("discovery", "v2", "updateProject");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "discovery", "v2", "updateProject");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
-    final JsonObject contentJson = new JsonObject();
+    final JsonRequestBody contentJson = new JsonRequestBody();
     if (updateProjectOptions.name() != null) {
       contentJson.addProperty("name", updateProjectOptions.name());
     }
-    builder.bodyJson(contentJson);
+    builder.body(contentJson);
     ResponseConverter<ProjectDetails> responseConverter =
         ResponseConverterUtils.getValue(
             new com.google.gson.reflect.TypeToken<ProjectDetails>() {}.getType());
@@ -361,10 +371,7 @@ public class Discovery extends BaseService {
         RequestBuilder.delete(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v2/projects/{project_id}", pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("discovery", "v2", "deleteProject");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "discovery", "v2", "deleteProject");
     builder.query("version", String.valueOf(this.version));
     ResponseConverter<Void> responseConverter = ResponseConverterUtils.getVoid();
     return createServiceCall(builder.build(), responseConverter);
@@ -387,10 +394,7 @@ public class Discovery extends BaseService {
         RequestBuilder.get(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v2/projects/{project_id}/fields", pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("discovery", "v2", "listFields");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "discovery", "v2", "listFields");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     if (listFieldsOptions.collectionIds() != null) {
@@ -421,10 +425,7 @@ public class Discovery extends BaseService {
         RequestBuilder.get(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v2/projects/{project_id}/collections", pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("discovery", "v2", "listCollections");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "discovery", "v2", "listCollections");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     ResponseConverter<ListCollectionsResponse> responseConverter =
@@ -452,13 +453,10 @@ public class Discovery extends BaseService {
         RequestBuilder.post(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v2/projects/{project_id}/collections", pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("discovery", "v2", "createCollection");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "discovery", "v2", "createCollection");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
-    final JsonObject contentJson = new JsonObject();
+    final JsonRequestBody contentJson = new JsonRequestBody();
     contentJson.addProperty("name", createCollectionOptions.name());
     if (createCollectionOptions.description() != null) {
       contentJson.addProperty("description", createCollectionOptions.description());
@@ -470,12 +468,9 @@ public class Discovery extends BaseService {
       contentJson.addProperty("ocr_enabled", createCollectionOptions.ocrEnabled());
     }
     if (createCollectionOptions.enrichments() != null) {
-      contentJson.add(
-          "enrichments",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-              .toJsonTree(createCollectionOptions.enrichments()));
+      contentJson.add("enrichments", createCollectionOptions.enrichments());
     }
-    builder.bodyJson(contentJson);
+    builder.body(contentJson);
     ResponseConverter<CollectionDetails> responseConverter =
         ResponseConverterUtils.getValue(
             new com.google.gson.reflect.TypeToken<CollectionDetails>() {}.getType());
@@ -503,10 +498,7 @@ public class Discovery extends BaseService {
                 getServiceUrl(),
                 "/v2/projects/{project_id}/collections/{collection_id}",
                 pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("discovery", "v2", "getCollection");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "discovery", "v2", "getCollection");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     ResponseConverter<CollectionDetails> responseConverter =
@@ -550,13 +542,10 @@ public class Discovery extends BaseService {
                 getServiceUrl(),
                 "/v2/projects/{project_id}/collections/{collection_id}",
                 pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("discovery", "v2", "updateCollection");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "discovery", "v2", "updateCollection");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
-    final JsonObject contentJson = new JsonObject();
+    final JsonRequestBody contentJson = new JsonRequestBody();
     if (updateCollectionOptions.name() != null) {
       contentJson.addProperty("name", updateCollectionOptions.name());
     }
@@ -567,12 +556,9 @@ public class Discovery extends BaseService {
       contentJson.addProperty("ocr_enabled", updateCollectionOptions.ocrEnabled());
     }
     if (updateCollectionOptions.enrichments() != null) {
-      contentJson.add(
-          "enrichments",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-              .toJsonTree(updateCollectionOptions.enrichments()));
+      contentJson.add("enrichments", updateCollectionOptions.enrichments());
     }
-    builder.bodyJson(contentJson);
+    builder.body(contentJson);
     ResponseConverter<CollectionDetails> responseConverter =
         ResponseConverterUtils.getValue(
             new com.google.gson.reflect.TypeToken<CollectionDetails>() {}.getType());
@@ -601,10 +587,7 @@ public class Discovery extends BaseService {
                 getServiceUrl(),
                 "/v2/projects/{project_id}/collections/{collection_id}",
                 pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("discovery", "v2", "deleteCollection");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "discovery", "v2", "deleteCollection");
     builder.query("version", String.valueOf(this.version));
     ResponseConverter<Void> responseConverter = ResponseConverterUtils.getVoid();
     return createServiceCall(builder.build(), responseConverter);
@@ -636,10 +619,7 @@ public class Discovery extends BaseService {
                 getServiceUrl(),
                 "/v2/projects/{project_id}/collections/{collection_id}/documents",
                 pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("discovery", "v2", "listDocuments");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "discovery", "v2", "listDocuments");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     if (listDocumentsOptions.count() != null) {
@@ -703,10 +683,35 @@ public class Discovery extends BaseService {
    * @return a {@link ServiceCall} with a result of type {@link DocumentAccepted}
    */
   public ServiceCall<DocumentAccepted> addDocument(AddDocumentOptions addDocumentOptions) {
+    com.ibm.cloud.sdk.core.util.Validator.notNull(
+        addDocumentOptions, "addDocumentOptions cannot be null");
+    okhttp3.RequestBody fileBody = null;
+    if (addDocumentOptions.file() != null) {
+      fileBody =
+          RequestUtils.inputStreamBody(
+              addDocumentOptions.file(), addDocumentOptions.fileContentType());
+    }
+    return addDocument(addDocumentOptions, fileBody);
+  }
+
+  /**
+   * Add a document, with its content written by a request body.
+   *
+   * <p>Same as {@link #addDocument(AddDocumentOptions)}, except that the content of the document is
+   * written by <code>file</code> rather than read from {@link AddDocumentOptions#file()}, which is
+   * ignored. The request body can stream the content without holding it in memory, and can be
+   * written again when the request is retried.
+   *
+   * @param addDocumentOptions the {@link AddDocumentOptions} containing the options for the call
+   * @param file the content of the document, or null to send the metadata only
+   * @return a {@link ServiceCall} with a result of type {@link DocumentAccepted}
+   */
+  public ServiceCall<DocumentAccepted> addDocument(
+      AddDocumentOptions addDocumentOptions, okhttp3.RequestBody file) {
     com.ibm.cloud.sdk.core.util.Validator.notNull(
         addDocumentOptions, "addDocumentOptions cannot be null");
     com.ibm.cloud.sdk.core.util.Validator.isTrue(
-        (addDocumentOptions.file() != null) || (addDocumentOptions.metadata() != null),
+        (file != null) || (addDocumentOptions.metadata() != null),
         "At least one of file or metadata must be supplied.");
     Map<String, String> pathParamsMap = new HashMap<String, String>();
     pathParamsMap.put("project_id", addDocumentOptions.projectId());
@@ -717,10 +722,7 @@ public class Discovery extends BaseService {
                 getServiceUrl(),
                 "/v2/projects/{project_id}/collections/{collection_id}/documents",
                 pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("discovery", "v2", "addDocument");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "discovery", "v2", "addDocument");
     builder.header("Accept", "application/json");
     if (addDocumentOptions.xWatsonDiscoveryForce() != null) {
       builder.header("X-Watson-Discovery-Force", addDocumentOptions.xWatsonDiscoveryForce());
@@ -728,11 +730,8 @@ public class Discovery extends BaseService {
     builder.query("version", String.valueOf(this.version));
     MultipartBody.Builder multipartBuilder = new MultipartBody.Builder();
     multipartBuilder.setType(MultipartBody.FORM);
-    if (addDocumentOptions.file() != null) {
-      okhttp3.RequestBody fileBody =
-          RequestUtils.inputStreamBody(
-              addDocumentOptions.file(), addDocumentOptions.fileContentType());
-      multipartBuilder.addFormDataPart("file", addDocumentOptions.filename(), fileBody);
+    if (file != null) {
+      multipartBuilder.addFormDataPart("file", addDocumentOptions.filename(), file);
     }
     if (addDocumentOptions.metadata() != null) {
       multipartBuilder.addFormDataPart("metadata", addDocumentOptions.metadata());
@@ -741,7 +740,10 @@ public class Discovery extends BaseService {
     ResponseConverter<DocumentAccepted> responseConverter =
         ResponseConverterUtils.getValue(
             new com.google.gson.reflect.TypeToken<DocumentAccepted>() {}.getType());
-    return createServiceCall(builder.build(), responseConverter);
+    return invalidateQueryCache(
+        addDocumentOptions.projectId(),
+        addDocumentOptions.collectionId(),
+        createServiceCall(builder.build(), responseConverter));
   }
 
   /**
@@ -769,10 +771,7 @@ public class Discovery extends BaseService {
                 getServiceUrl(),
                 "/v2/projects/{project_id}/collections/{collection_id}/documents/{document_id}",
                 pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("discovery", "v2", "getDocument");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "discovery", "v2", "getDocument");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     ResponseConverter<DocumentDetails> responseConverter =
@@ -807,10 +806,36 @@ public class Discovery extends BaseService {
    * @return a {@link ServiceCall} with a result of type {@link DocumentAccepted}
    */
   public ServiceCall<DocumentAccepted> updateDocument(UpdateDocumentOptions updateDocumentOptions) {
+    com.ibm.cloud.sdk.core.util.Validator.notNull(
+        updateDocumentOptions, "updateDocumentOptions cannot be null");
+    okhttp3.RequestBody fileBody = null;
+    if (updateDocumentOptions.file() != null) {
+      fileBody =
+          RequestUtils.inputStreamBody(
+              updateDocumentOptions.file(), updateDocumentOptions.fileContentType());
+    }
+    return updateDocument(updateDocumentOptions, fileBody);
+  }
+
+  /**
+   * Update a document, with its content written by a request body.
+   *
+   * <p>Same as {@link #updateDocument(UpdateDocumentOptions)}, except that the content of the
+   * document is written by <code>file</code> rather than read from {@link
+   * UpdateDocumentOptions#file()}, which is ignored. The request body can stream the content
+   * without holding it in memory, and can be written again when the request is retried.
+   *
+   * @param updateDocumentOptions the {@link UpdateDocumentOptions} containing the options for the
+   *     call
+   * @param file the content of the document, or null to send the metadata only
+   * @return a {@link ServiceCall} with a result of type {@link DocumentAccepted}
+   */
+  public ServiceCall<DocumentAccepted> updateDocument(
+      UpdateDocumentOptions updateDocumentOptions, okhttp3.RequestBody file) {
     com.ibm.cloud.sdk.core.util.Validator.notNull(
         updateDocumentOptions, "updateDocumentOptions cannot be null");
     com.ibm.cloud.sdk.core.util.Validator.isTrue(
-        (updateDocumentOptions.file() != null) || (updateDocumentOptions.metadata() != null),
+        (file != null) || (updateDocumentOptions.metadata() != null),
         "At least one of file or metadata must be supplied.");
     Map<String, String> pathParamsMap = new HashMap<String, String>();
     pathParamsMap.put("project_id", updateDocumentOptions.projectId());
@@ -822,10 +847,7 @@ public class Discovery extends BaseService {
                 getServiceUrl(),
                 "/v2/projects/{project_id}/collections/{collection_id}/documents/{document_id}",
                 pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("discovery", "v2", "updateDocument");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "discovery", "v2", "updateDocument");
     builder.header("Accept", "application/json");
     if (updateDocumentOptions.xWatsonDiscoveryForce() != null) {
       builder.header("X-Watson-Discovery-Force", updateDocumentOptions.xWatsonDiscoveryForce());
@@ -833,11 +855,8 @@ public class Discovery extends BaseService {
     builder.query("version", String.valueOf(this.version));
     MultipartBody.Builder multipartBuilder = new MultipartBody.Builder();
     multipartBuilder.setType(MultipartBody.FORM);
-    if (updateDocumentOptions.file() != null) {
-      okhttp3.RequestBody fileBody =
-          RequestUtils.inputStreamBody(
-              updateDocumentOptions.file(), updateDocumentOptions.fileContentType());
-      multipartBuilder.addFormDataPart("file", updateDocumentOptions.filename(), fileBody);
+    if (file != null) {
+      multipartBuilder.addFormDataPart("file", updateDocumentOptions.filename(), file);
     }
     if (updateDocumentOptions.metadata() != null) {
       multipartBuilder.addFormDataPart("metadata", updateDocumentOptions.metadata());
@@ -846,7 +865,10 @@ public class Discovery extends BaseService {
     ResponseConverter<DocumentAccepted> responseConverter =
         ResponseConverterUtils.getValue(
             new com.google.gson.reflect.TypeToken<DocumentAccepted>() {}.getType());
-    return createServiceCall(builder.build(), responseConverter);
+    return invalidateQueryCache(
+        updateDocumentOptions.projectId(),
+        updateDocumentOptions.collectionId(),
+        createServiceCall(builder.build(), responseConverter));
   }
 
   /**
@@ -901,10 +923,7 @@ public class Discovery extends BaseService {
                 getServiceUrl(),
                 "/v2/projects/{project_id}/collections/{collection_id}/documents/{document_id}",
                 pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("discovery", "v2", "deleteDocument");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "discovery", "v2", "deleteDocument");
     builder.header("Accept", "application/json");
     if (deleteDocumentOptions.xWatsonDiscoveryForce() != null) {
       builder.header("X-Watson-Discovery-Force", deleteDocumentOptions.xWatsonDiscoveryForce());
@@ -913,7 +932,18 @@ public class Discovery extends BaseService {
     ResponseConverter<DeleteDocumentResponse> responseConverter =
         ResponseConverterUtils.getValue(
             new com.google.gson.reflect.TypeToken<DeleteDocumentResponse>() {}.getType());
-    return createServiceCall(builder.build(), responseConverter);
+    return invalidateQueryCache(
+        deleteDocumentOptions.projectId(),
+        deleteDocumentOptions.collectionId(),
+        createServiceCall(builder.build(), responseConverter));
+  }
+
+  private <T> ServiceCall<T> invalidateQueryCache(
+      String projectId, String collectionId, ServiceCall<T> call) {
+    if (queryCache != null) {
+      return queryCache.invalidatingCall(projectId, collectionId, call);
+    }
+    return call;
   }
 
   /**
@@ -941,18 +971,70 @@ public class Discovery extends BaseService {
         RequestBuilder.post(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v2/projects/{project_id}/query", pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("discovery", "v2", "query");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "discovery", "v2", "query");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
-    final JsonObject contentJson = new JsonObject();
+    final JsonRequestBody contentJson = queryBody(queryOptions);
+    builder.body(contentJson);
+    final ResponseConverter<QueryResponse> responseConverter =
+        ResponseConverterUtils.getValue(
+            new com.google.gson.reflect.TypeToken<QueryResponse>() {}.getType());
+    final Request request = builder.build();
+    if (queryCache != null) {
+      return queryCache.cachedCall(
+          queryOptions,
+          contentJson.toJsonObject(),
+          request,
+          new Supplier<ServiceCall<QueryResponse>>() {
+            @Override
+            public ServiceCall<QueryResponse> get() {
+              return createServiceCall(request, responseConverter);
+            }
+          });
+    }
+    return createServiceCall(request, responseConverter);
+  }
+
+  /**
+   * Query a project, decoding the results one at a time as they are read.
+   *
+   * <p>Unlike {@link #query(QueryOptions)}, the results are not all held in memory: each one is
+   * decoded when it is requested from the {@link QueryResultStream}, with only the fields selected
+   * by the projection. The query cache is not used.
+   *
+   * @param queryOptions the {@link QueryOptions} containing the options for the call
+   * @param projection the fields of the results to decode
+   * @return a {@link ServiceCall} with a result of type {@link QueryResultStream}, which must be
+   *     closed if its results are not all read
+   */
+  public ServiceCall<QueryResultStream> queryStream(
+      QueryOptions queryOptions, final FieldProjection projection) {
+    com.ibm.cloud.sdk.core.util.Validator.notNull(queryOptions, "queryOptions cannot be null");
+    com.ibm.cloud.sdk.core.util.Validator.notNull(projection, "projection cannot be null");
+    Map<String, String> pathParamsMap = new HashMap<String, String>();
+    pathParamsMap.put("project_id", queryOptions.projectId());
+    RequestBuilder builder =
+        RequestBuilder.post(
+            RequestBuilder.resolveRequestUrl(
+                getServiceUrl(), "/v2/projects/{project_id}/query", pathParamsMap));
+    SdkCommon.addSdkHeaders(builder, "discovery", "v2", "query");
+    builder.header("Accept", "application/json");
+    builder.query("version", String.valueOf(this.version));
+    builder.body(queryBody(queryOptions));
+    ResponseConverter<QueryResultStream> responseConverter =
+        new ResponseConverter<QueryResultStream>() {
+          @Override
+          public QueryResultStream convert(okhttp3.Response response) {
+            return new QueryResultStream(response.body().byteStream(), projection);
+          }
+        };
+    return createServiceCall(builder.build(), responseConverter);
+  }
+
+  private JsonRequestBody queryBody(QueryOptions queryOptions) {
+    final JsonRequestBody contentJson = new JsonRequestBody();
     if (queryOptions.collectionIds() != null) {
-      contentJson.add(
-          "collection_ids",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-              .toJsonTree(queryOptions.collectionIds()));
+      contentJson.add("collection_ids", queryOptions.collectionIds());
     }
     if (queryOptions.filter() != null) {
       contentJson.addProperty("filter", queryOptions.filter());
@@ -970,9 +1052,7 @@ public class Discovery extends BaseService {
       contentJson.addProperty("count", queryOptions.count());
     }
     if (queryOptions.xReturn() != null) {
-      contentJson.add(
-          "return",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson().toJsonTree(queryOptions.xReturn()));
+      contentJson.add("return", queryOptions.xReturn());
     }
     if (queryOptions.offset() != null) {
       contentJson.addProperty("offset", queryOptions.offset());
@@ -987,32 +1067,18 @@ public class Discovery extends BaseService {
       contentJson.addProperty("spelling_suggestions", queryOptions.spellingSuggestions());
     }
     if (queryOptions.tableResults() != null) {
-      contentJson.add(
-          "table_results",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-              .toJsonTree(queryOptions.tableResults()));
+      contentJson.add("table_results", queryOptions.tableResults());
     }
     if (queryOptions.suggestedRefinements() != null) {
-      contentJson.add(
-          "suggested_refinements",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-              .toJsonTree(queryOptions.suggestedRefinements()));
+      contentJson.add("suggested_refinements", queryOptions.suggestedRefinements());
     }
     if (queryOptions.passages() != null) {
-      contentJson.add(
-          "passages",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson().toJsonTree(queryOptions.passages()));
+      contentJson.add("passages", queryOptions.passages());
     }
     if (queryOptions.similar() != null) {
-      contentJson.add(
-          "similar",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson().toJsonTree(queryOptions.similar()));
+      contentJson.add("similar", queryOptions.similar());
     }
-    builder.bodyJson(contentJson);
-    ResponseConverter<QueryResponse> responseConverter =
-        ResponseConverterUtils.getValue(
-            new com.google.gson.reflect.TypeToken<QueryResponse>() {}.getType());
-    return createServiceCall(builder.build(), responseConverter);
+    return contentJson;
   }
 
   /**
@@ -1038,11 +1104,7 @@ public class Discovery extends BaseService {
         RequestBuilder.get(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v2/projects/{project_id}/autocompletion", pathParamsMap));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("discovery", "v2", "getAutocompletion");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "discovery", "v2", "getAutocompletion");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     builder.query("prefix", String.valueOf(getAutocompletionOptions.prefix()));
@@ -1085,11 +1147,7 @@ public class Discovery extends BaseService {
                 getServiceUrl(),
                 "/v2/projects/{project_id}/collections/{collection_id}/notices",
                 pathParamsMap));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("discovery", "v2", "queryCollectionNotices");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "discovery", "v2", "queryCollectionNotices");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     if (queryCollectionNoticesOptions.filter() != null) {
@@ -1133,10 +1191,7 @@ public class Discovery extends BaseService {
         RequestBuilder.get(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v2/projects/{project_id}/notices", pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("discovery", "v2", "queryNotices");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "discovery", "v2", "queryNotices");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     if (queryNoticesOptions.filter() != null) {
@@ -1184,10 +1239,7 @@ public class Discovery extends BaseService {
                 getServiceUrl(),
                 "/v2/projects/{project_id}/collections/{collection_id}/stopwords",
                 pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("discovery", "v2", "getStopwordList");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "discovery", "v2", "getStopwordList");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     ResponseConverter<StopWordList> responseConverter =
@@ -1228,21 +1280,14 @@ public class Discovery extends BaseService {
                 getServiceUrl(),
                 "/v2/projects/{project_id}/collections/{collection_id}/stopwords",
                 pathParamsMap));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("discovery", "v2", "createStopwordList");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "discovery", "v2", "createStopwordList");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
-    final JsonObject contentJson = new JsonObject();
+    final JsonRequestBody contentJson = new JsonRequestBody();
     if (createStopwordListOptions.stopwords() != null) {
-      contentJson.add(
-          "stopwords",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-              .toJsonTree(createStopwordListOptions.stopwords()));
+      contentJson.add("stopwords", createStopwordListOptions.stopwords());
     }
-    builder.bodyJson(contentJson);
+    builder.body(contentJson);
     ResponseConverter<StopWordList> responseConverter =
         ResponseConverterUtils.getValue(
             new com.google.gson.reflect.TypeToken<StopWordList>() {}.getType());
@@ -1271,11 +1316,7 @@ public class Discovery extends BaseService {
                 getServiceUrl(),
                 "/v2/projects/{project_id}/collections/{collection_id}/stopwords",
                 pathParamsMap));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("discovery", "v2", "deleteStopwordList");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "discovery", "v2", "deleteStopwordList");
     builder.query("version", String.valueOf(this.version));
     ResponseConverter<Void> responseConverter = ResponseConverterUtils.getVoid();
     return createServiceCall(builder.build(), responseConverter);
@@ -1303,10 +1344,7 @@ public class Discovery extends BaseService {
                 getServiceUrl(),
                 "/v2/projects/{project_id}/collections/{collection_id}/expansions",
                 pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("discovery", "v2", "listExpansions");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "discovery", "v2", "listExpansions");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     ResponseConverter<Expansions> responseConverter =
@@ -1339,18 +1377,12 @@ public class Discovery extends BaseService {
                 getServiceUrl(),
                 "/v2/projects/{project_id}/collections/{collection_id}/expansions",
                 pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("discovery", "v2", "createExpansions");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "discovery", "v2", "createExpansions");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
-    final JsonObject contentJson = new JsonObject();
-    contentJson.add(
-        "expansions",
-        com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-            .toJsonTree(createExpansionsOptions.expansions()));
-    builder.bodyJson(contentJson);
+    final JsonRequestBody contentJson = new JsonRequestBody();
+    contentJson.add("expansions", createExpansionsOptions.expansions());
+    builder.body(contentJson);
     ResponseConverter<Expansions> responseConverter =
         ResponseConverterUtils.getValue(
             new com.google.gson.reflect.TypeToken<Expansions>() {}.getType());
@@ -1379,10 +1411,7 @@ public class Discovery extends BaseService {
                 getServiceUrl(),
                 "/v2/projects/{project_id}/collections/{collection_id}/expansions",
                 pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("discovery", "v2", "deleteExpansions");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "discovery", "v2", "deleteExpansions");
     builder.query("version", String.valueOf(this.version));
     ResponseConverter<Void> responseConverter = ResponseConverterUtils.getVoid();
     return createServiceCall(builder.build(), responseConverter);
@@ -1407,11 +1436,7 @@ public class Discovery extends BaseService {
         RequestBuilder.get(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v2/projects/{project_id}/component_settings", pathParamsMap));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("discovery", "v2", "getComponentSettings");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "discovery", "v2", "getComponentSettings");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     ResponseConverter<ComponentSettingsResponse> responseConverter =
@@ -1439,11 +1464,7 @@ public class Discovery extends BaseService {
         RequestBuilder.get(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v2/projects/{project_id}/training_data/queries", pathParamsMap));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("discovery", "v2", "listTrainingQueries");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "discovery", "v2", "listTrainingQueries");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     ResponseConverter<TrainingQuerySet> responseConverter =
@@ -1471,11 +1492,7 @@ public class Discovery extends BaseService {
         RequestBuilder.delete(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v2/projects/{project_id}/training_data/queries", pathParamsMap));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("discovery", "v2", "deleteTrainingQueries");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "discovery", "v2", "deleteTrainingQueries");
     builder.query("version", String.valueOf(this.version));
     ResponseConverter<Void> responseConverter = ResponseConverterUtils.getVoid();
     return createServiceCall(builder.build(), responseConverter);
@@ -1503,24 +1520,17 @@ public class Discovery extends BaseService {
         RequestBuilder.post(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v2/projects/{project_id}/training_data/queries", pathParamsMap));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("discovery", "v2", "createTrainingQuery");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "discovery", "v2", "createTrainingQuery");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
-    final JsonObject contentJson = new JsonObject();
+    final JsonRequestBody contentJson = new JsonRequestBody();
     contentJson.addProperty(
         "natural_language_query", createTrainingQueryOptions.naturalLanguageQuery());
-    contentJson.add(
-        "examples",
-        com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-            .toJsonTree(createTrainingQueryOptions.examples()));
+    contentJson.add("examples", createTrainingQueryOptions.examples());
     if (createTrainingQueryOptions.filter() != null) {
       contentJson.addProperty("filter", createTrainingQueryOptions.filter());
     }
-    builder.bodyJson(contentJson);
+    builder.body(contentJson);
     ResponseConverter<TrainingQuery> responseConverter =
         ResponseConverterUtils.getValue(
             new com.google.gson.reflect.TypeToken<TrainingQuery>() {}.getType());
@@ -1549,10 +1559,7 @@ public class Discovery extends BaseService {
                 getServiceUrl(),
                 "/v2/projects/{project_id}/training_data/queries/{query_id}",
                 pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("discovery", "v2", "getTrainingQuery");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "discovery", "v2", "getTrainingQuery");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     ResponseConverter<TrainingQuery> responseConverter =
@@ -1584,24 +1591,17 @@ public class Discovery extends BaseService {
                 getServiceUrl(),
                 "/v2/projects/{project_id}/training_data/queries/{query_id}",
                 pathParamsMap));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("discovery", "v2", "updateTrainingQuery");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "discovery", "v2", "updateTrainingQuery");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
-    final JsonObject contentJson = new JsonObject();
+    final JsonRequestBody contentJson = new JsonRequestBody();
     contentJson.addProperty(
         "natural_language_query", updateTrainingQueryOptions.naturalLanguageQuery());
-    contentJson.add(
-        "examples",
-        com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-            .toJsonTree(updateTrainingQueryOptions.examples()));
+    contentJson.add("examples", updateTrainingQueryOptions.examples());
     if (updateTrainingQueryOptions.filter() != null) {
       contentJson.addProperty("filter", updateTrainingQueryOptions.filter());
     }
-    builder.bodyJson(contentJson);
+    builder.body(contentJson);
     ResponseConverter<TrainingQuery> responseConverter =
         ResponseConverterUtils.getValue(
             new com.google.gson.reflect.TypeToken<TrainingQuery>() {}.getType());
@@ -1633,11 +1633,7 @@ public class Discovery extends BaseService {
                 getServiceUrl(),
                 "/v2/projects/{project_id}/training_data/queries/{query_id}",
                 pathParamsMap));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("discovery", "v2", "deleteTrainingQuery");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "discovery", "v2", "deleteTrainingQuery");
     builder.query("version", String.valueOf(this.version));
     ResponseConverter<Void> responseConverter = ResponseConverterUtils.getVoid();
     return createServiceCall(builder.build(), responseConverter);
@@ -1662,10 +1658,7 @@ public class Discovery extends BaseService {
         RequestBuilder.get(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v2/projects/{project_id}/enrichments", pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("discovery", "v2", "listEnrichments");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "discovery", "v2", "listEnrichments");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     ResponseConverter<Enrichments> responseConverter =
@@ -1693,10 +1686,7 @@ public class Discovery extends BaseService {
         RequestBuilder.post(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v2/projects/{project_id}/enrichments", pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("discovery", "v2", "createEnrichment");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "discovery", "v2", "createEnrichment");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     MultipartBody.Builder multipartBuilder = new MultipartBody.Builder();
@@ -1735,10 +1725,7 @@ public class Discovery extends BaseService {
                 getServiceUrl(),
                 "/v2/projects/{project_id}/enrichments/{enrichment_id}",
                 pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("discovery", "v2", "getEnrichment");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "discovery", "v2", "getEnrichment");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     ResponseConverter<Enrichment> responseConverter =
@@ -1768,18 +1755,15 @@ public class Discovery extends BaseService {
                 getServiceUrl(),
                 "/v2/projects/{project_id}/enrichments/{enrichment_id}",
                 pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("discovery", "v2", "updateEnrichment");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "discovery", "v2", "updateEnrichment");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
-    final JsonObject contentJson = new JsonObject();
+    final JsonRequestBody contentJson = new JsonRequestBody();
     contentJson.addProperty("name", updateEnrichmentOptions.name());
     if (updateEnrichmentOptions.description() != null) {
       contentJson.addProperty("description", updateEnrichmentOptions.description());
     }
-    builder.bodyJson(contentJson);
+    builder.body(contentJson);
     ResponseConverter<Enrichment> responseConverter =
         ResponseConverterUtils.getValue(
             new com.google.gson.reflect.TypeToken<Enrichment>() {}.getType());
@@ -1809,10 +1793,7 @@ public class Discovery extends BaseService {
                 getServiceUrl(),
                 "/v2/projects/{project_id}/enrichments/{enrichment_id}",
                 pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("discovery", "v2", "deleteEnrichment");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "discovery", "v2", "deleteEnrichment");
     builder.query("version", String.valueOf(this.version));
     ResponseConverter<Void> responseConverter = ResponseConverterUtils.getVoid();
     return createServiceCall(builder.build(), responseConverter);
@@ -1850,10 +1831,7 @@ public class Discovery extends BaseService {
                 getServiceUrl(),
                 "/v2/projects/{project_id}/collections/{collection_id}/batches",
                 pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("discovery", "v2", "listBatches");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "discovery", "v2", "listBatches");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     ResponseConverter<ListBatchesResponse> responseConverter =
@@ -1885,10 +1863,7 @@ public class Discovery extends BaseService {
                 getServiceUrl(),
                 "/v2/projects/{project_id}/collections/{collection_id}/batches/{batch_id}",
                 pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("discovery", "v2", "pullBatches");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "discovery", "v2", "pullBatches");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     ResponseConverter<PullBatchesResponse> responseConverter =
@@ -1921,10 +1896,7 @@ public class Discovery extends BaseService {
                 getServiceUrl(),
                 "/v2/projects/{project_id}/collections/{collection_id}/batches/{batch_id}",
                 pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("discovery", "v2", "pushBatches");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "discovery", "v2", "pushBatches");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     MultipartBody.Builder multipartBuilder = new MultipartBody.Builder();
@@ -1961,11 +1933,7 @@ public class Discovery extends BaseService {
         RequestBuilder.get(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v2/projects/{project_id}/document_classifiers", pathParamsMap));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("discovery", "v2", "listDocumentClassifiers");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "discovery", "v2", "listDocumentClassifiers");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     ResponseConverter<DocumentClassifiers> responseConverter =
@@ -1999,11 +1967,7 @@ public class Discovery extends BaseService {
         RequestBuilder.post(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v2/projects/{project_id}/document_classifiers", pathParamsMap));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("discovery", "v2", "createDocumentClassifier");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "discovery", "v2", "createDocumentClassifier");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     MultipartBody.Builder multipartBuilder = new MultipartBody.Builder();
@@ -2047,11 +2011,7 @@ public class Discovery extends BaseService {
                 getServiceUrl(),
                 "/v2/projects/{project_id}/document_classifiers/{classifier_id}",
                 pathParamsMap));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("discovery", "v2", "getDocumentClassifier");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "discovery", "v2", "getDocumentClassifier");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     ResponseConverter<DocumentClassifier> responseConverter =
@@ -2083,11 +2043,7 @@ public class Discovery extends BaseService {
                 getServiceUrl(),
                 "/v2/projects/{project_id}/document_classifiers/{classifier_id}",
                 pathParamsMap));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("discovery", "v2", "updateDocumentClassifier");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "discovery", "v2", "updateDocumentClassifier");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     MultipartBody.Builder multipartBuilder = new MultipartBody.Builder();
@@ -2133,11 +2089,7 @@ public class Discovery extends BaseService {
                 getServiceUrl(),
                 "/v2/projects/{project_id}/document_classifiers/{classifier_id}",
                 pathParamsMap));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("discovery", "v2", "deleteDocumentClassifier");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "discovery", "v2", "deleteDocumentClassifier");
     builder.query("version", String.valueOf(this.version));
     ResponseConverter<Void> responseConverter = ResponseConverterUtils.getVoid();
     return createServiceCall(builder.build(), responseConverter);
@@ -2166,11 +2118,7 @@ public class Discovery extends BaseService {
                 getServiceUrl(),
                 "/v2/projects/{project_id}/document_classifiers/{classifier_id}/models",
                 pathParamsMap));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("discovery", "v2", "listDocumentClassifierModels");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "discovery", "v2", "listDocumentClassifierModels");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     ResponseConverter<DocumentClassifierModels> responseConverter =
@@ -2206,14 +2154,10 @@ public class Discovery extends BaseService {
                 getServiceUrl(),
                 "/v2/projects/{project_id}/document_classifiers/{classifier_id}/models",
                 pathParamsMap));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("discovery", "v2", "createDocumentClassifierModel");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "discovery", "v2", "createDocumentClassifierModel");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
-    final JsonObject contentJson = new JsonObject();
+    final JsonRequestBody contentJson = new JsonRequestBody();
     contentJson.addProperty("name", createDocumentClassifierModelOptions.name());
     if (createDocumentClassifierModelOptions.description() != null) {
       contentJson.addProperty("description", createDocumentClassifierModelOptions.description());
@@ -2224,14 +2168,12 @@ public class Discovery extends BaseService {
     if (createDocumentClassifierModelOptions.l1RegularizationStrengths() != null) {
       contentJson.add(
           "l1_regularization_strengths",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-              .toJsonTree(createDocumentClassifierModelOptions.l1RegularizationStrengths()));
+          createDocumentClassifierModelOptions.l1RegularizationStrengths());
     }
     if (createDocumentClassifierModelOptions.l2RegularizationStrengths() != null) {
       contentJson.add(
           "l2_regularization_strengths",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-              .toJsonTree(createDocumentClassifierModelOptions.l2RegularizationStrengths()));
+          createDocumentClassifierModelOptions.l2RegularizationStrengths());
     }
     if (createDocumentClassifierModelOptions.trainingMaxSteps() != null) {
       contentJson.addProperty(
@@ -2241,7 +2183,7 @@ public class Discovery extends BaseService {
       contentJson.addProperty(
           "improvement_ratio", createDocumentClassifierModelOptions.improvementRatio());
     }
-    builder.bodyJson(contentJson);
+    builder.body(contentJson);
     ResponseConverter<DocumentClassifierModel> responseConverter =
         ResponseConverterUtils.getValue(
             new com.google.gson.reflect.TypeToken<DocumentClassifierModel>() {}.getType());
@@ -2271,11 +2213,7 @@ public class Discovery extends BaseService {
                 getServiceUrl(),
                 "/v2/projects/{project_id}/document_classifiers/{classifier_id}/models/{model_id}",
                 pathParamsMap));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("discovery", "v2", "getDocumentClassifierModel");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "discovery", "v2", "getDocumentClassifierModel");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     ResponseConverter<DocumentClassifierModel> responseConverter =
@@ -2308,21 +2246,17 @@ public class Discovery extends BaseService {
                 getServiceUrl(),
                 "/v2/projects/{project_id}/document_classifiers/{classifier_id}/models/{model_id}",
                 pathParamsMap));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("discovery", "v2", "updateDocumentClassifierModel");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "discovery", "v2", "updateDocumentClassifierModel");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
-    final JsonObject contentJson = new JsonObject();
+    final JsonRequestBody contentJson = new JsonRequestBody();
     if (updateDocumentClassifierModelOptions.name() != null) {
       contentJson.addProperty("name", updateDocumentClassifierModelOptions.name());
     }
     if (updateDocumentClassifierModelOptions.description() != null) {
       contentJson.addProperty("description", updateDocumentClassifierModelOptions.description());
     }
-    builder.bodyJson(contentJson);
+    builder.body(contentJson);
     ResponseConverter<DocumentClassifierModel> responseConverter =
         ResponseConverterUtils.getValue(
             new com.google.gson.reflect.TypeToken<DocumentClassifierModel>() {}.getType());
@@ -2353,11 +2287,7 @@ public class Discovery extends BaseService {
                 getServiceUrl(),
                 "/v2/projects/{project_id}/document_classifiers/{classifier_id}/models/{model_id}",
                 pathParamsMap));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("discovery", "v2", "deleteDocumentClassifierModel");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "discovery", "v2", "deleteDocumentClassifierModel");
     builder.query("version", String.valueOf(this.version));
     ResponseConverter<Void> responseConverter = ResponseConverterUtils.getVoid();
     return createServiceCall(builder.build(), responseConverter);
@@ -2403,10 +2333,7 @@ public class Discovery extends BaseService {
                 getServiceUrl(),
                 "/v2/projects/{project_id}/collections/{collection_id}/analyze",
                 pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("discovery", "v2", "analyzeDocument");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "discovery", "v2", "analyzeDocument");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     MultipartBody.Builder multipartBuilder = new MultipartBody.Builder();
@@ -2449,10 +2376,7 @@ public class Discovery extends BaseService {
         deleteUserDataOptions, "deleteUserDataOptions cannot be null");
     RequestBuilder builder =
         RequestBuilder.delete(RequestBuilder.resolveRequestUrl(getServiceUrl(), "/v2/user_data"));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("discovery", "v2", "deleteUserData");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "discovery", "v2", "deleteUserData");
     builder.query("version", String.valueOf(this.version));
     builder.query("customer_id", String.valueOf(deleteUserDataOptions.customerId()));
     ResponseConverter<Void> responseConverter = ResponseConverterUtils.getVoid();
@@ -0,0 +1,136 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.discovery.v2.cache;
+
+import com.ibm.cloud.sdk.core.http.Response;
+import com.ibm.cloud.sdk.core.http.ServiceCall;
+import com.ibm.cloud.sdk.core.http.ServiceCallback;
+import com.ibm.watson.discovery.v2.model.QueryOptions;
+import com.ibm.watson.discovery.v2.model.QueryResponse;
+import io.reactivex.Single;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+import okhttp3.Request;
+
+/**
+ * A call sending a query that is answered from a {@link QueryCache}, and only creates and executes
+ * the call to the service when the results are not cached. The response of a hit is a copy of the
+ * response the results were cached from, with its headers.
+ */
+final class CachedQueryCall implements ServiceCall<QueryResponse> {
+
+  private final QueryCache cache;
+  private final String key;
+  private final QueryOptions queryOptions;
+  private final long ttlNanos;
+  private final Request request;
+  private final Supplier<ServiceCall<QueryResponse>> factory;
+  private final List<String[]> headers = new ArrayList<>();
+  private ServiceCall<QueryResponse> call;
+  private boolean cancelled;
+
+  CachedQueryCall(
+      QueryCache cache,
+      String key,
+      QueryOptions queryOptions,
+      long ttlNanos,
+      Request request,
+      Supplier<ServiceCall<QueryResponse>> factory) {
+    this.cache = cache;
+    this.key = key;
+    this.queryOptions = queryOptions;
+    this.ttlNanos = ttlNanos;
+    this.request = request;
+    this.factory = factory;
+  }
+
+  @Override
+  public synchronized ServiceCall<QueryResponse> addHeader(String name, String value) {
+    if (call != null) {
+      call.addHeader(name, value);
+    } else {
+      headers.add(new String[] {name, value});
+    }
+    return this;
+  }
+
+  @Override
+  public Response<QueryResponse> execute() throws RuntimeException {
+    Response<QueryResponse> response = cache.lookup(key);
+    if (response == null) {
+      long generation = cache.generation(queryOptions);
+      response = call().execute();
+      cache.store(key, queryOptions, ttlNanos, generation, request, response);
+    }
+    return response;
+  }
+
+  @Override
+  public void enqueue(final ServiceCallback<QueryResponse> callback) {
+    Response<QueryResponse> response = cache.lookup(key);
+    if (response != null) {
+      callback.onResponse(response);
+      return;
+    }
+    final long generation = cache.generation(queryOptions);
+    call()
+        .enqueue(
+            new ServiceCallback<QueryResponse>() {
+              @Override
+              public void onResponse(Response<QueryResponse> response) {
+                cache.store(key, queryOptions, ttlNanos, generation, request, response);
+                callback.onResponse(response);
+              }
+
+              @Override
+              public void onFailure(Exception e) {
+                callback.onFailure(e);
+              }
+            });
+  }
+
+  @Override
+  public Single<Response<QueryResponse>> reactiveRequest() {
+    return Single.fromCallable(
+        new Callable<Response<QueryResponse>>() {
+          @Override
+          public Response<QueryResponse> call() {
+            return execute();
+          }
+        });
+  }
+
+  @Override
+  public synchronized void cancel() {
+    cancelled = true;
+    if (call != null) {
+      call.cancel();
+    }
+  }
+
+  /** Creates the call to the service on the first miss. */
+  private synchronized ServiceCall<QueryResponse> call() {
+    if (call == null) {
+      call = factory.get();
+      for (String[] header : headers) {
+        call.addHeader(header[0], header[1]);
+      }
+      if (cancelled) {
+        call.cancel();
+      }
+    }
+    return call;
+  }
+}
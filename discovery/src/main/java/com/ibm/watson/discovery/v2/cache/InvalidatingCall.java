@@ -0,0 +1,87 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.discovery.v2.cache;
+
+import com.ibm.cloud.sdk.core.http.Response;
+import com.ibm.cloud.sdk.core.http.ServiceCall;
+import com.ibm.cloud.sdk.core.http.ServiceCallback;
+import io.reactivex.Single;
+import io.reactivex.functions.Consumer;
+
+/**
+ * A call changing a document that invalidates the cached results of the queries on its collection
+ * once the service has accepted the change.
+ *
+ * @param <T> the type of the result of the call
+ */
+final class InvalidatingCall<T> implements ServiceCall<T> {
+
+  private final QueryCache cache;
+  private final String projectId;
+  private final String collectionId;
+  private final ServiceCall<T> call;
+
+  InvalidatingCall(QueryCache cache, String projectId, String collectionId, ServiceCall<T> call) {
+    this.cache = cache;
+    this.projectId = projectId;
+    this.collectionId = collectionId;
+    this.call = call;
+  }
+
+  @Override
+  public ServiceCall<T> addHeader(String name, String value) {
+    call.addHeader(name, value);
+    return this;
+  }
+
+  @Override
+  public Response<T> execute() throws RuntimeException {
+    Response<T> response = call.execute();
+    cache.invalidateCollection(projectId, collectionId);
+    return response;
+  }
+
+  @Override
+  public void enqueue(final ServiceCallback<T> callback) {
+    call.enqueue(
+        new ServiceCallback<T>() {
+          @Override
+          public void onResponse(Response<T> response) {
+            cache.invalidateCollection(projectId, collectionId);
+            callback.onResponse(response);
+          }
+
+          @Override
+          public void onFailure(Exception e) {
+            callback.onFailure(e);
+          }
+        });
+  }
+
+  @Override
+  public Single<Response<T>> reactiveRequest() {
+    return call.reactiveRequest()
+        .doOnSuccess(
+            new Consumer<Response<T>>() {
+              @Override
+              public void accept(Response<T> response) {
+                cache.invalidateCollection(projectId, collectionId);
+              }
+            });
+  }
+
+  @Override
+  public void cancel() {
+    call.cancel();
+  }
+}
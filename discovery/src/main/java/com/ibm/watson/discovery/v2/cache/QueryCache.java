@@ -0,0 +1,595 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.discovery.v2.cache;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.ibm.cloud.sdk.core.http.Response;
+import com.ibm.cloud.sdk.core.http.ServiceCall;
+import com.ibm.cloud.sdk.core.util.GsonSingleton;
+import com.ibm.watson.discovery.v2.model.QueryOptions;
+import com.ibm.watson.discovery.v2.model.QueryResponse;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import okhttp3.Protocol;
+import okhttp3.Request;
+
+/**
+ * A cache of query results for {@link
+ * com.ibm.watson.discovery.v2.Discovery#query(QueryOptions)}, set with {@link
+ * com.ibm.watson.discovery.v2.Discovery#setQueryCache(QueryCache)}.
+ *
+ * <p>Results are keyed on a SHA-256 digest of the request URL, which holds the project and the API
+ * version, and of the query body with its object members sorted, so equal queries share an entry
+ * whatever the order their options were set in. Entries expire after the time to live of their
+ * project, and the least recently used entries are evicted when the total size of the results
+ * exceeds <code>maxBytes</code>. The size of a result is the length of its response body.
+ *
+ * <p>Once a document has been added, updated or deleted through a client that uses the cache, the
+ * results of the queries on its collection, and of the queries on all the collections of its
+ * project, are invalidated. The results of a query sent before the invalidation are not cached
+ * when they arrive after it. Discovery indexes documents asynchronously, so a query sent soon
+ * after a change can still return, and cache, the previous results; the time to live bounds how
+ * long they are served.
+ *
+ * <p>Each hit returns its own copy of the cached results. A cache is safe for use by several
+ * threads and may be shared by several clients.
+ */
+public final class QueryCache {
+  private static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+  private static final long DEFAULT_TTL_MILLIS = 60000;
+  private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+  private final long maxBytes;
+  private final long defaultTtlNanos;
+  private final Map<String, Long> projectTtlNanos;
+  private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private final Map<String, Generations> generations = new HashMap<>();
+  private long bytes;
+
+  private final AtomicLong hitCount = new AtomicLong();
+  private final AtomicLong missCount = new AtomicLong();
+  private final AtomicLong evictionCount = new AtomicLong();
+  private final AtomicLong expirationCount = new AtomicLong();
+  private final AtomicLong invalidationCount = new AtomicLong();
+
+  /** Builder. */
+  public static class Builder {
+    private long maxBytes = DEFAULT_MAX_BYTES;
+    private long defaultTtlMillis = DEFAULT_TTL_MILLIS;
+    private final Map<String, Long> projectTtlMillis = new HashMap<>();
+
+    /** Instantiates a new builder. */
+    public Builder() {}
+
+    /**
+     * Set the maximum total size of the cached results. Defaults to 64 MB.
+     *
+     * @param maxBytes the maximum number of bytes
+     * @return the QueryCache builder
+     */
+    public Builder maxBytes(long maxBytes) {
+      this.maxBytes = maxBytes;
+      return this;
+    }
+
+    /**
+     * Set the time to live of the results of projects without their own. Defaults to a minute.
+     *
+     * @param defaultTtlMillis the time to live in milliseconds; 0 disables caching
+     * @return the QueryCache builder
+     */
+    public Builder defaultTtlMillis(long defaultTtlMillis) {
+      this.defaultTtlMillis = defaultTtlMillis;
+      return this;
+    }
+
+    /**
+     * Set the time to live of the results of a project.
+     *
+     * @param projectId the projectId
+     * @param ttlMillis the time to live in milliseconds; 0 disables caching for the project
+     * @return the QueryCache builder
+     */
+    public Builder ttlMillis(String projectId, long ttlMillis) {
+      com.ibm.cloud.sdk.core.util.Validator.notEmpty(projectId, "projectId cannot be empty");
+      this.projectTtlMillis.put(projectId, ttlMillis);
+      return this;
+    }
+
+    /**
+     * Builds a QueryCache.
+     *
+     * @return the new QueryCache instance
+     */
+    public QueryCache build() {
+      return new QueryCache(this);
+    }
+  }
+
+  private QueryCache(Builder builder) {
+    com.ibm.cloud.sdk.core.util.Validator.isTrue(
+        builder.maxBytes >= 0, "maxBytes cannot be negative");
+    com.ibm.cloud.sdk.core.util.Validator.isTrue(
+        builder.defaultTtlMillis >= 0, "defaultTtlMillis cannot be negative");
+    maxBytes = builder.maxBytes;
+    defaultTtlNanos = TimeUnit.MILLISECONDS.toNanos(builder.defaultTtlMillis);
+    projectTtlNanos = new HashMap<>();
+    for (Map.Entry<String, Long> ttl : builder.projectTtlMillis.entrySet()) {
+      com.ibm.cloud.sdk.core.util.Validator.isTrue(
+          ttl.getValue() >= 0, "ttlMillis cannot be negative");
+      projectTtlNanos.put(ttl.getKey(), TimeUnit.MILLISECONDS.toNanos(ttl.getValue()));
+    }
+  }
+
+  /**
+   * Wraps the call sending a query so that it is answered from the cache when possible. This is
+   * called by {@link com.ibm.watson.discovery.v2.Discovery#query(QueryOptions)}.
+   *
+   * @param queryOptions the options of the query
+   * @param body the body of the request
+   * @param request the request sent by the call
+   * @param call creates the call, which is only done when the results are not in the cache
+   * @return the call answered from the cache
+   */
+  public ServiceCall<QueryResponse> cachedCall(
+      QueryOptions queryOptions,
+      JsonObject body,
+      Request request,
+      Supplier<ServiceCall<QueryResponse>> call) {
+    Long ttl = projectTtlNanos.get(queryOptions.projectId());
+    long ttlNanos = ttl != null ? ttl : defaultTtlNanos;
+    if (ttlNanos == 0) {
+      return call.get();
+    }
+    return new CachedQueryCall(this, key(request, body), queryOptions, ttlNanos, request, call);
+  }
+
+  /**
+   * Wraps the call changing a document of a collection so that the results of the queries on the
+   * collection are invalidated once the call has succeeded. This is called by the operations of
+   * {@link com.ibm.watson.discovery.v2.Discovery} that add, update or delete a document.
+   *
+   * @param <T> the type of the result of the call
+   * @param projectId the projectId
+   * @param collectionId the collectionId
+   * @param call the call changing the document
+   * @return the call invalidating the results when it succeeds
+   */
+  public <T> ServiceCall<T> invalidatingCall(
+      String projectId, String collectionId, ServiceCall<T> call) {
+    return new InvalidatingCall<>(this, projectId, collectionId, call);
+  }
+
+  /**
+   * Invalidates the results of the queries on a collection, including the queries on all the
+   * collections of its project. This is called when a document of the collection is added, updated
+   * or deleted.
+   *
+   * @param projectId the projectId
+   * @param collectionId the collectionId
+   */
+  public void invalidateCollection(String projectId, String collectionId) {
+    invalidate(projectId, collectionId);
+  }
+
+  /**
+   * Invalidates the results of all the queries on a project.
+   *
+   * @param projectId the projectId
+   */
+  public void invalidateProject(String projectId) {
+    invalidate(projectId, null);
+  }
+
+  /** Removes all the entries. */
+  public synchronized void clear() {
+    entries.clear();
+    bytes = 0;
+  }
+
+  /**
+   * Gets the statistics of the cache since it was created.
+   *
+   * @return the statistics
+   */
+  public Statistics getStatistics() {
+    int size;
+    long total;
+    synchronized (this) {
+      size = entries.size();
+      total = bytes;
+    }
+    return new Statistics(
+        hitCount.get(),
+        missCount.get(),
+        evictionCount.get(),
+        expirationCount.get(),
+        invalidationCount.get(),
+        size,
+        total);
+  }
+
+  private synchronized void invalidate(String projectId, String collectionId) {
+    generations(projectId).advance(collectionId);
+    Iterator<Entry> all = entries.values().iterator();
+    while (all.hasNext()) {
+      Entry entry = all.next();
+      if (entry.projectId.equals(projectId)
+          && (collectionId == null
+              || entry.collectionIds == null
+              || entry.collectionIds.contains(collectionId))) {
+        all.remove();
+        bytes -= entry.size;
+        invalidationCount.incrementAndGet();
+      }
+    }
+  }
+
+  /**
+   * Looks up the results of a query.
+   *
+   * @param key the key of the query
+   * @return a copy of the results, or null on a miss
+   */
+  Response<QueryResponse> lookup(String key) {
+    Entry entry;
+    synchronized (this) {
+      entry = entries.get(key);
+      if (entry != null && System.nanoTime() - entry.expiresAt >= 0) {
+        entries.remove(key);
+        bytes -= entry.size;
+        expirationCount.incrementAndGet();
+        entry = null;
+      }
+    }
+    if (entry == null) {
+      missCount.incrementAndGet();
+      return null;
+    }
+    hitCount.incrementAndGet();
+    QueryResponse result =
+        GsonSingleton.getGson().fromJson(new StringReader(entry.json), QueryResponse.class);
+    return new Response<>(result, entry.httpResponse);
+  }
+
+  /**
+   * Gets the generation of the collections of a query, which changes whenever the results of the
+   * query are invalidated.
+   *
+   * @param queryOptions the options of the query
+   * @return the generation, to be passed to {@link #store}
+   */
+  synchronized long generation(QueryOptions queryOptions) {
+    return generations(queryOptions.projectId()).of(queryOptions.collectionIds());
+  }
+
+  /**
+   * Stores the results of a query, unless they were invalidated since the query was sent.
+   *
+   * @param key the key of the query
+   * @param queryOptions the options of the query
+   * @param ttlNanos the time to live of the results
+   * @param generation the generation of the collections when the query was sent
+   * @param request the request of the query
+   * @param response the response of the service
+   */
+  void store(
+      String key,
+      QueryOptions queryOptions,
+      long ttlNanos,
+      long generation,
+      Request request,
+      Response<QueryResponse> response) {
+    String json = GsonSingleton.getGsonWithoutPrettyPrinting().toJson(response.getResult());
+    long size = size(response, json);
+    if (size > maxBytes) {
+      return;
+    }
+    List<String> collectionIds = queryOptions.collectionIds();
+    Entry entry =
+        new Entry(
+            queryOptions.projectId(),
+            collectionIds != null
+                ? Collections.unmodifiableSet(new HashSet<>(collectionIds))
+                : null,
+            json,
+            httpResponse(request, response),
+            size,
+            System.nanoTime() + ttlNanos);
+    synchronized (this) {
+      if (generation(queryOptions) != generation) {
+        return;
+      }
+      Entry previous = entries.put(key, entry);
+      if (previous != null) {
+        bytes -= previous.size;
+      }
+      bytes += size;
+      Iterator<Entry> eldest = entries.values().iterator();
+      while (bytes > maxBytes && eldest.hasNext()) {
+        bytes -= eldest.next().size;
+        eldest.remove();
+        evictionCount.incrementAndGet();
+      }
+    }
+  }
+
+  private Generations generations(String projectId) {
+    Generations project = generations.get(projectId);
+    if (project == null) {
+      project = new Generations();
+      generations.put(projectId, project);
+    }
+    return project;
+  }
+
+  /** Copies the status and the headers of a response, without its body. */
+  private static okhttp3.Response httpResponse(Request request, Response<QueryResponse> response) {
+    okhttp3.Response.Builder builder =
+        new okhttp3.Response.Builder()
+            .request(request)
+            .protocol(Protocol.HTTP_1_1)
+            .code(response.getStatusCode())
+            .message(response.getStatusMessage() != null ? response.getStatusMessage() : "");
+    for (String name : response.getHeaders().names()) {
+      for (String value : response.getHeaders().values(name)) {
+        builder.addHeader(name, value);
+      }
+    }
+    return builder.build();
+  }
+
+  private static long size(Response<QueryResponse> response, String json) {
+    List<String> contentLength = response.getHeaders().values("Content-Length");
+    if (contentLength != null && !contentLength.isEmpty()) {
+      try {
+        return Long.parseLong(contentLength.get(0));
+      } catch (NumberFormatException e) {
+        // measured below
+      }
+    }
+    return json.getBytes(StandardCharsets.UTF_8).length;
+  }
+
+  /**
+   * Computes the key of a query.
+   *
+   * @param request the request, whose URL holds the project and the version
+   * @param body the body of the request
+   * @return the hexadecimal SHA-256 digest of the URL and the canonical body
+   */
+  static String key(Request request, JsonObject body) {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+    digest.update(request.url().toString().getBytes(StandardCharsets.UTF_8));
+    digest.update((byte) '\n');
+    digest.update(canonical(body).toString().getBytes(StandardCharsets.UTF_8));
+    byte[] hash = digest.digest();
+    char[] key = new char[hash.length * 2];
+    for (int i = 0; i < hash.length; i++) {
+      key[2 * i] = HEX[(hash[i] >> 4) & 0xF];
+      key[2 * i + 1] = HEX[hash[i] & 0xF];
+    }
+    return new String(key);
+  }
+
+  /** Copies a JSON element with the members of its objects sorted by name. */
+  private static JsonElement canonical(JsonElement element) {
+    if (element.isJsonObject()) {
+      List<String> names = new ArrayList<>(element.getAsJsonObject().keySet());
+      Collections.sort(names);
+      JsonObject sorted = new JsonObject();
+      for (String name : names) {
+        sorted.add(name, canonical(element.getAsJsonObject().get(name)));
+      }
+      return sorted;
+    }
+    if (element.isJsonArray()) {
+      JsonArray copy = new JsonArray();
+      for (JsonElement item : element.getAsJsonArray()) {
+        copy.add(canonical(item));
+      }
+      return copy;
+    }
+    return element;
+  }
+
+  /** The cached results of a query, encoded so that each hit decodes its own copy. */
+  private static final class Entry {
+    final String projectId;
+    final Set<String> collectionIds;
+    final String json;
+    final okhttp3.Response httpResponse;
+    final long size;
+    final long expiresAt;
+
+    Entry(
+        String projectId,
+        Set<String> collectionIds,
+        String json,
+        okhttp3.Response httpResponse,
+        long size,
+        long expiresAt) {
+      this.projectId = projectId;
+      this.collectionIds = collectionIds;
+      this.json = json;
+      this.httpResponse = httpResponse;
+      this.size = size;
+      this.expiresAt = expiresAt;
+    }
+  }
+
+  /**
+   * Counts the invalidations of a project. Guarded by the cache: a query on some collections is
+   * invalidated by a change to any of them or by the invalidation of the whole project, and a
+   * query on all the collections by any invalidation.
+   */
+  private static final class Generations {
+    final Map<String, Long> collections = new HashMap<>();
+    long project;
+    long all;
+
+    void advance(String collectionId) {
+      all++;
+      if (collectionId == null) {
+        project++;
+      } else {
+        Long current = collections.get(collectionId);
+        collections.put(collectionId, current != null ? current + 1 : 1);
+      }
+    }
+
+    long of(List<String> collectionIds) {
+      if (collectionIds == null) {
+        return all;
+      }
+      // the counters only grow, so the sum changes whenever one of them does
+      long generation = project;
+      for (String collectionId : collectionIds) {
+        Long current = collections.get(collectionId);
+        generation += current != null ? current : 0;
+      }
+      return generation;
+    }
+  }
+
+  /** The counters of a {@link QueryCache}, used to size it. */
+  public static final class Statistics {
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+    private final long expirationCount;
+    private final long invalidationCount;
+    private final int entryCount;
+    private final long bytes;
+
+    Statistics(
+        long hitCount,
+        long missCount,
+        long evictionCount,
+        long expirationCount,
+        long invalidationCount,
+        int entryCount,
+        long bytes) {
+      this.hitCount = hitCount;
+      this.missCount = missCount;
+      this.evictionCount = evictionCount;
+      this.expirationCount = expirationCount;
+      this.invalidationCount = invalidationCount;
+      this.entryCount = entryCount;
+      this.bytes = bytes;
+    }
+
+    /**
+     * Gets the number of queries answered from the cache.
+     *
+     * @return the hit count
+     */
+    public long getHitCount() {
+      return hitCount;
+    }
+
+    /**
+     * Gets the number of queries sent to the service.
+     *
+     * @return the miss count
+     */
+    public long getMissCount() {
+      return missCount;
+    }
+
+    /**
+     * Gets the number of entries evicted to keep the cache within its size.
+     *
+     * @return the eviction count
+     */
+    public long getEvictionCount() {
+      return evictionCount;
+    }
+
+    /**
+     * Gets the number of entries removed because their time to live had passed.
+     *
+     * @return the expiration count
+     */
+    public long getExpirationCount() {
+      return expirationCount;
+    }
+
+    /**
+     * Gets the number of entries removed because their collection changed.
+     *
+     * @return the invalidation count
+     */
+    public long getInvalidationCount() {
+      return invalidationCount;
+    }
+
+    /**
+     * Gets the number of entries.
+     *
+     * @return the entry count
+     */
+    public int getEntryCount() {
+      return entryCount;
+    }
+
+    /**
+     * Gets the total size of the cached results.
+     *
+     * @return the number of bytes
+     */
+    public long getBytes() {
+      return bytes;
+    }
+
+    @Override
+    public String toString() {
+      return "QueryCache.Statistics{hitCount="
+          + hitCount
+          + ", missCount="
+          + missCount
+          + ", evictionCount="
+          + evictionCount
+          + ", expirationCount="
+          + expirationCount
+          + ", invalidationCount="
+          + invalidationCount
+          + ", entryCount="
+          + entryCount
+          + ", bytes="
+          + bytes
+          + "}";
+    }
+  }
+}
@@ -0,0 +1,31 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.discovery.v2.export;
+
+import com.ibm.watson.discovery.v2.model.QueryResult;
+import java.io.IOException;
+
+/**
+ * Receives the results exported by a {@link ResultExporter}. The exporter calls it from several
+ * threads, one at a time.
+ */
+public interface ExportSink {
+
+  /**
+   * Writes a result.
+   *
+   * @param result the result
+   * @throws IOException if the result cannot be written, which ends the export
+   */
+  void write(QueryResult result) throws IOException;
+}
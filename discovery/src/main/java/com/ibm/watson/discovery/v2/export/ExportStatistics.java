@@ -0,0 +1,131 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.discovery.v2.export;
+
+/** The counters of a {@link ResultExporter} at a point in time. */
+public final class ExportStatistics {
+
+  private final long exportedCount;
+  private final long duplicateCount;
+  private final long truncatedCount;
+  private final int partitionCount;
+  private final long pageCount;
+  private final long retryCount;
+  private final long elapsedMillis;
+
+  ExportStatistics(
+      long exportedCount,
+      long duplicateCount,
+      long truncatedCount,
+      int partitionCount,
+      long pageCount,
+      long retryCount,
+      long elapsedMillis) {
+    this.exportedCount = exportedCount;
+    this.duplicateCount = duplicateCount;
+    this.truncatedCount = truncatedCount;
+    this.partitionCount = partitionCount;
+    this.pageCount = pageCount;
+    this.retryCount = retryCount;
+    this.elapsedMillis = elapsedMillis;
+  }
+
+  /**
+   * Gets the number of results written to the sink.
+   *
+   * @return the exported count
+   */
+  public long getExportedCount() {
+    return exportedCount;
+  }
+
+  /**
+   * Gets the number of results skipped because a result with the same document ID had been
+   * written, including the results read again when a page was retried.
+   *
+   * @return the duplicate count
+   */
+  public long getDuplicateCount() {
+    return duplicateCount;
+  }
+
+  /**
+   * Gets the number of matching results beyond the result window of their partition, which could
+   * not be exported.
+   *
+   * @return the truncated count
+   */
+  public long getTruncatedCount() {
+    return truncatedCount;
+  }
+
+  /**
+   * Gets the number of partitions the results were split into.
+   *
+   * @return the partition count
+   */
+  public int getPartitionCount() {
+    return partitionCount;
+  }
+
+  /**
+   * Gets the number of pages read.
+   *
+   * @return the page count
+   */
+  public long getPageCount() {
+    return pageCount;
+  }
+
+  /**
+   * Gets the number of page requests that were retried.
+   *
+   * @return the retry count
+   */
+  public long getRetryCount() {
+    return retryCount;
+  }
+
+  /**
+   * Gets the time since the export started.
+   *
+   * @return the number of milliseconds
+   */
+  public long getElapsedMillis() {
+    return elapsedMillis;
+  }
+
+  /**
+   * Gets the average number of results exported per second.
+   *
+   * @return the throughput
+   */
+  public double getDocumentsPerSecond() {
+    return elapsedMillis > 0 ? exportedCount * 1000.0 / elapsedMillis : 0;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "ExportStatistics{exported=%d, duplicates=%d, truncated=%d, partitions=%d, pages=%d,"
+            + " retries=%d, elapsedMillis=%d, documentsPerSecond=%.1f}",
+        exportedCount,
+        duplicateCount,
+        truncatedCount,
+        partitionCount,
+        pageCount,
+        retryCount,
+        elapsedMillis,
+        getDocumentsPerSecond());
+  }
+}
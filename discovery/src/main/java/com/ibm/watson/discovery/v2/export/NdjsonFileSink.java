@@ -0,0 +1,109 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.discovery.v2.export;
+
+import com.google.gson.Gson;
+import com.ibm.cloud.sdk.core.util.GsonSingleton;
+import com.ibm.watson.discovery.v2.model.QueryResult;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes results to a file as newline-delimited JSON, one result per line. The lines are gathered
+ * in a direct buffer and written to the {@link FileChannel} when it is full, so a result costs a
+ * system call only when it is larger than the buffer.
+ */
+public final class NdjsonFileSink implements ExportSink, Closeable {
+  private static final Gson GSON = GsonSingleton.getGsonWithoutPrettyPrinting();
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  private final FileChannel channel;
+  private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+  /**
+   * Instantiates a sink writing a new file, or replacing the content of an existing one.
+   *
+   * @param path the path of the file
+   * @throws IOException if the file cannot be opened
+   */
+  public NdjsonFileSink(Path path) throws IOException {
+    this(
+        FileChannel.open(
+            path,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING));
+  }
+
+  /**
+   * Instantiates a sink writing to a channel from its current position.
+   *
+   * @param channel the channel, closed when the sink is closed
+   */
+  public NdjsonFileSink(FileChannel channel) {
+    com.ibm.cloud.sdk.core.util.Validator.notNull(channel, "channel cannot be null");
+    this.channel = channel;
+  }
+
+  @Override
+  public synchronized void write(QueryResult result) throws IOException {
+    byte[] line = (GSON.toJson(result) + '\n').getBytes(StandardCharsets.UTF_8);
+    if (line.length > buffer.remaining()) {
+      drain();
+    }
+    if (line.length > buffer.capacity()) {
+      ByteBuffer large = ByteBuffer.wrap(line);
+      while (large.hasRemaining()) {
+        channel.write(large);
+      }
+    } else {
+      buffer.put(line);
+    }
+  }
+
+  /**
+   * Writes the buffered results to the file.
+   *
+   * @throws IOException if the file cannot be written
+   */
+  public synchronized void flush() throws IOException {
+    drain();
+  }
+
+  /**
+   * Writes the buffered results and closes the file.
+   *
+   * @throws IOException if the file cannot be written
+   */
+  @Override
+  public synchronized void close() throws IOException {
+    try {
+      drain();
+    } finally {
+      channel.close();
+    }
+  }
+
+  private void drain() throws IOException {
+    buffer.flip();
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+    buffer.clear();
+  }
+}
@@ -0,0 +1,504 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.discovery.v2.export;
+
+import com.ibm.watson.common.DaemonThreadFactory;
+import com.ibm.watson.common.RetryPolicy;
+import com.ibm.watson.discovery.v2.Discovery;
+import com.ibm.watson.discovery.v2.model.QueryAggregation;
+import com.ibm.watson.discovery.v2.model.QueryAggregationQueryTimesliceAggregation;
+import com.ibm.watson.discovery.v2.model.QueryOptions;
+import com.ibm.watson.discovery.v2.model.QueryResponse;
+import com.ibm.watson.discovery.v2.model.QueryResult;
+import com.ibm.watson.discovery.v2.model.QueryTimesliceAggregationResult;
+import com.ibm.watson.discovery.v2.stream.FieldProjection;
+import com.ibm.watson.discovery.v2.stream.QueryResultStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Exports every result of a Discovery v2 query to an {@link ExportSink}.
+ *
+ * <p>The results are split into partitions, each one the query with an additional filter: a
+ * single partition with {@link #export}, one per filter with {@link #exportByFilters}, or one per
+ * date range of a <code>timeslice</code> aggregation with {@link #exportByTimeslice}. Each
+ * partition is read in pages of <code>pageSize</code> results with increasing offsets: the first
+ * page gives the number of matching results, and the other pages are then read concurrently. Up
+ * to <code>maxConcurrency</code> pages are read at a time, each one decoded as it is read by
+ * {@link Discovery#queryStream} with the <code>projection</code>.
+ *
+ * <p>The service returns at most <code>maxResultWindow</code> results of a query, counting the
+ * offset, so a partition matching more results than that is only partly exported; the results
+ * left out are counted by {@link ExportStatistics#getTruncatedCount()}. Smaller partitions, such
+ * as shorter time slices, avoid that. Documents without a value for the field of a timeslice
+ * aggregation are in no time slice, so {@link #exportByTimeslice} exports them in a last partition
+ * of their own.
+ *
+ * <p>Results are written once per document ID, as partitions may overlap and pages may shift
+ * while the collection changes. Offsets are only stable if the query has a sort, because results
+ * without one may come in a different order for each page and be skipped, so a query without a
+ * sort is sorted by <code>document_id</code>. Throttled requests, server errors and network
+ * failures are retried as decided by a {@link RetryPolicy}, up to <code>maxRetries</code> times per
+ * page; a page that still fails ends the export.
+ *
+ * <p>Each page is read with a synchronous request on one of the <code>maxConcurrency</code>
+ * threads of the export, so <code>maxConcurrency</code> alone bounds the requests in flight: the
+ * limit of requests per host of the OkHttp dispatcher only applies to asynchronous calls. An
+ * exporter runs one export at a time.
+ */
+public final class ResultExporter {
+  private static final Logger LOG = Logger.getLogger(ResultExporter.class.getName());
+  private static final String DEFAULT_SORT = "document_id";
+
+  private final Discovery discovery;
+  private final QueryOptions query;
+  private final FieldProjection projection;
+  private final int pageSize;
+  private final int maxConcurrency;
+  private final long maxResultWindow;
+  private final int maxRetries;
+  private final RetryPolicy retryPolicy;
+  private volatile Run run;
+
+  /** Builder. */
+  public static class Builder {
+    private final Discovery discovery;
+    private final QueryOptions query;
+    private FieldProjection projection = FieldProjection.all();
+    private int pageSize = 100;
+    private int maxConcurrency = 4;
+    private long maxResultWindow = 10000;
+    private int maxRetries = 5;
+    private long initialBackoffMillis = 500;
+    private long maxBackoffMillis = 60000;
+
+    /**
+     * Instantiates a new builder.
+     *
+     * @param discovery the client sending the queries
+     * @param query the query whose results are exported; its offset and count are ignored, and
+     *     it is sorted by <code>document_id</code> if it has no sort
+     */
+    public Builder(Discovery discovery, QueryOptions query) {
+      this.discovery = discovery;
+      this.query = query;
+    }
+
+    /**
+     * Set the fields of the results to export. Defaults to every field.
+     *
+     * @param projection the fields
+     * @return the ResultExporter builder
+     */
+    public Builder projection(FieldProjection projection) {
+      this.projection = projection;
+      return this;
+    }
+
+    /**
+     * Set the number of results read with each request. Defaults to 100.
+     *
+     * @param pageSize the number of results
+     * @return the ResultExporter builder
+     */
+    public Builder pageSize(int pageSize) {
+      this.pageSize = pageSize;
+      return this;
+    }
+
+    /**
+     * Set the maximum number of pages read at a time. Defaults to 4.
+     *
+     * @param maxConcurrency the maximum number of requests in flight
+     * @return the ResultExporter builder
+     */
+    public Builder maxConcurrency(int maxConcurrency) {
+      this.maxConcurrency = maxConcurrency;
+      return this;
+    }
+
+    /**
+     * Set the maximum offset plus count of a query accepted by the service. Defaults to 10000.
+     *
+     * @param maxResultWindow the maximum number of results of a partition
+     * @return the ResultExporter builder
+     */
+    public Builder maxResultWindow(long maxResultWindow) {
+      this.maxResultWindow = maxResultWindow;
+      return this;
+    }
+
+    /**
+     * Set the maximum number of times a page is retried. Defaults to 5.
+     *
+     * @param maxRetries the maximum number of retries
+     * @return the ResultExporter builder
+     */
+    public Builder maxRetries(int maxRetries) {
+      this.maxRetries = maxRetries;
+      return this;
+    }
+
+    /**
+     * Set the initial backoff of the {@link RetryPolicy}. Defaults to 500 ms.
+     *
+     * @param initialBackoffMillis the delay in milliseconds
+     * @return the ResultExporter builder
+     */
+    public Builder initialBackoffMillis(long initialBackoffMillis) {
+      this.initialBackoffMillis = initialBackoffMillis;
+      return this;
+    }
+
+    /**
+     * Set the maximum backoff of the {@link RetryPolicy}. Defaults to 60 seconds.
+     *
+     * @param maxBackoffMillis the delay in milliseconds
+     * @return the ResultExporter builder
+     */
+    public Builder maxBackoffMillis(long maxBackoffMillis) {
+      this.maxBackoffMillis = maxBackoffMillis;
+      return this;
+    }
+
+    /**
+     * Builds a ResultExporter.
+     *
+     * @return the new ResultExporter instance
+     */
+    public ResultExporter build() {
+      return new ResultExporter(this);
+    }
+  }
+
+  private ResultExporter(Builder builder) {
+    com.ibm.cloud.sdk.core.util.Validator.notNull(builder.discovery, "discovery cannot be null");
+    com.ibm.cloud.sdk.core.util.Validator.notNull(builder.query, "query cannot be null");
+    com.ibm.cloud.sdk.core.util.Validator.notNull(builder.projection, "projection cannot be null");
+    com.ibm.cloud.sdk.core.util.Validator.isTrue(builder.pageSize > 0, "pageSize must be positive");
+    com.ibm.cloud.sdk.core.util.Validator.isTrue(
+        builder.maxConcurrency > 0, "maxConcurrency must be positive");
+    com.ibm.cloud.sdk.core.util.Validator.isTrue(
+        builder.maxResultWindow > 0, "maxResultWindow must be positive");
+    com.ibm.cloud.sdk.core.util.Validator.isTrue(
+        builder.maxRetries >= 0, "maxRetries cannot be negative");
+    com.ibm.cloud.sdk.core.util.Validator.isTrue(
+        builder.initialBackoffMillis >= 0 && builder.maxBackoffMillis >= 0,
+        "backoff cannot be negative");
+    discovery = builder.discovery;
+    query =
+        builder.query.sort() != null
+            ? builder.query
+            : builder.query.newBuilder().sort(DEFAULT_SORT).build();
+    projection = builder.projection;
+    pageSize = builder.pageSize;
+    maxConcurrency = builder.maxConcurrency;
+    maxResultWindow = builder.maxResultWindow;
+    maxRetries = builder.maxRetries;
+    retryPolicy = new RetryPolicy(builder.initialBackoffMillis, builder.maxBackoffMillis);
+  }
+
+  /**
+   * Exports the results of the query as a single partition.
+   *
+   * @param sink the sink of the results
+   * @return the statistics of the export
+   * @throws IOException if the sink fails
+   * @throws InterruptedException if the thread is interrupted; the pages in flight are abandoned
+   */
+  public ExportStatistics export(ExportSink sink) throws IOException, InterruptedException {
+    return exportByFilters(Collections.<String>singletonList(null), sink);
+  }
+
+  /**
+   * Exports the results of the query split by filters, each combined with the filter of the
+   * query.
+   *
+   * @param filters the filters of the partitions, in the Discovery Query Language; a null filter
+   *     selects every result of the query
+   * @param sink the sink of the results
+   * @return the statistics of the export
+   * @throws IOException if the sink fails
+   * @throws InterruptedException if the thread is interrupted; the pages in flight are abandoned
+   */
+  public synchronized ExportStatistics exportByFilters(List<String> filters, ExportSink sink)
+      throws IOException, InterruptedException {
+    com.ibm.cloud.sdk.core.util.Validator.notNull(filters, "filters cannot be null");
+    com.ibm.cloud.sdk.core.util.Validator.notNull(sink, "sink cannot be null");
+    Run current = new Run(sink, filters.size());
+    run = current;
+    try {
+      current.start(filters);
+      current.done.get();
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new RuntimeException(cause);
+    } finally {
+      current.endNanos = System.nanoTime();
+      current.executor.shutdownNow();
+    }
+    return current.statistics();
+  }
+
+  /**
+   * Exports the results of the query split by the time slices of a <code>timeslice</code>
+   * aggregation, which is queried first.
+   *
+   * @param field the date field to slice
+   * @param interval the length of the slices, such as <code>1month</code> or <code>1day</code>
+   * @param sink the sink of the results
+   * @return the statistics of the export
+   * @throws IOException if the sink fails
+   * @throws InterruptedException if the thread is interrupted; the pages in flight are abandoned
+   */
+  public ExportStatistics exportByTimeslice(String field, String interval, ExportSink sink)
+      throws IOException, InterruptedException {
+    com.ibm.cloud.sdk.core.util.Validator.notEmpty(field, "field cannot be empty");
+    com.ibm.cloud.sdk.core.util.Validator.notEmpty(interval, "interval cannot be empty");
+    return exportByFilters(timesliceFilters(field, interval), sink);
+  }
+
+  /**
+   * Gets the statistics of the export running, or of the last one.
+   *
+   * @return the statistics, or null if nothing has been exported
+   */
+  public ExportStatistics getStatistics() {
+    Run current = run;
+    return current != null ? current.statistics() : null;
+  }
+
+  /**
+   * Queries the time slices of the results, and builds a filter for each one with results, and
+   * one for the results without the field.
+   */
+  private List<String> timesliceFilters(String field, String interval) {
+    QueryResponse response =
+        discovery
+            .query(
+                query
+                    .newBuilder()
+                    .offset(0)
+                    .count(0)
+                    .aggregation("timeslice(" + field + "," + interval + ")")
+                    .build())
+            .execute()
+            .getResult();
+    List<QueryTimesliceAggregationResult> slices = null;
+    if (response.getAggregations() != null) {
+      for (QueryAggregation aggregation : response.getAggregations()) {
+        if (aggregation instanceof QueryAggregationQueryTimesliceAggregation) {
+          slices = ((QueryAggregationQueryTimesliceAggregation) aggregation).getResults();
+          break;
+        }
+      }
+    }
+    List<String> filters = new ArrayList<>();
+    if (slices == null) {
+      LOG.warning("The query returned no time slices of " + field + ", exporting it whole");
+      filters.add(null);
+      return filters;
+    }
+    for (int i = 0; i < slices.size(); i++) {
+      QueryTimesliceAggregationResult slice = slices.get(i);
+      if (slice.getMatchingResults() != null && slice.getMatchingResults() == 0) {
+        continue;
+      }
+      // the slices are contiguous, so each one ends where the next one starts
+      String filter = field + ">=" + quote(slice.getKeyAsString());
+      if (i + 1 < slices.size()) {
+        filter += "," + field + "<" + quote(slices.get(i + 1).getKeyAsString());
+      }
+      filters.add(filter);
+    }
+    filters.add("!" + field + ":*");
+    return filters;
+  }
+
+  private static String quote(String value) {
+    return '"' + value.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+  }
+
+  private String filter(String partition) {
+    if (partition == null) {
+      return query.filter();
+    }
+    if (query.filter() == null) {
+      return partition;
+    }
+    return "(" + query.filter() + "),(" + partition + ")";
+  }
+
+  /** A page of the results of a partition. */
+  private static final class Page {
+    final String filter;
+    final long offset;
+    final long count;
+
+    Page(String filter, long offset, long count) {
+      this.filter = filter;
+      this.offset = offset;
+      this.count = count;
+    }
+  }
+
+  /** The state of one export. */
+  private final class Run {
+    final ExportSink sink;
+    final int partitionCount;
+    final ScheduledThreadPoolExecutor executor;
+    final CompletableFuture<Void> done = new CompletableFuture<>();
+    final Set<String> exportedIds = ConcurrentHashMap.newKeySet();
+    final AtomicInteger pendingPages = new AtomicInteger();
+    final long startNanos = System.nanoTime();
+    volatile long endNanos;
+    final AtomicLong exportedCount = new AtomicLong();
+    final AtomicLong duplicateCount = new AtomicLong();
+    final AtomicLong truncatedCount = new AtomicLong();
+    final AtomicLong pageCount = new AtomicLong();
+    final AtomicLong retryCount = new AtomicLong();
+
+    Run(ExportSink sink, int partitionCount) {
+      this.sink = sink;
+      this.partitionCount = partitionCount;
+      this.executor =
+          new ScheduledThreadPoolExecutor(
+              maxConcurrency, new DaemonThreadFactory("discovery-export"));
+    }
+
+    void start(List<String> filters) {
+      if (filters.isEmpty()) {
+        done.complete(null);
+        return;
+      }
+      pendingPages.addAndGet(filters.size());
+      for (String partition : filters) {
+        schedule(new Page(filter(partition), 0, Math.min(pageSize, maxResultWindow)), 0, 0);
+      }
+    }
+
+    void schedule(final Page page, final int attempt, long delayMillis) {
+      try {
+        executor.schedule(
+            new Runnable() {
+              @Override
+              public void run() {
+                read(page, attempt);
+              }
+            },
+            delayMillis,
+            TimeUnit.MILLISECONDS);
+      } catch (RejectedExecutionException e) {
+        // the export has ended
+      }
+    }
+
+    void read(Page page, int attempt) {
+      if (done.isDone()) {
+        return;
+      }
+      QueryOptions options =
+          query.newBuilder().filter(page.filter).offset(page.offset).count(page.count).build();
+      long matchingResults;
+      try (QueryResultStream results =
+          discovery.queryStream(options, projection).execute().getResult()) {
+        while (results.hasNext()) {
+          write(results.next());
+        }
+        Long matching = results.getSummary().getMatchingResults();
+        matchingResults = matching != null ? matching : 0;
+      } catch (IOException e) {
+        done.completeExceptionally(e);
+        return;
+      } catch (RuntimeException e) {
+        long delay = retryPolicy.retryDelay(e, attempt);
+        if (delay >= 0 && attempt < maxRetries) {
+          retryCount.incrementAndGet();
+          schedule(page, attempt + 1, delay);
+          return;
+        }
+        done.completeExceptionally(e);
+        return;
+      }
+      pageCount.incrementAndGet();
+      if (page.offset == 0) {
+        schedulePages(page.filter, matchingResults);
+      }
+      if (pendingPages.decrementAndGet() == 0) {
+        done.complete(null);
+      }
+    }
+
+    /** Schedules the pages of a partition after its first one. */
+    void schedulePages(String filter, long matchingResults) {
+      long window = Math.min(matchingResults, maxResultWindow);
+      if (matchingResults > maxResultWindow) {
+        truncatedCount.addAndGet(matchingResults - maxResultWindow);
+        LOG.warning(
+            "Only "
+                + maxResultWindow
+                + " of the "
+                + matchingResults
+                + " results matching "
+                + filter
+                + " can be exported");
+      }
+      for (long offset = pageSize; offset < window; offset += pageSize) {
+        pendingPages.incrementAndGet();
+        schedule(new Page(filter, offset, Math.min(pageSize, window - offset)), 0, 0);
+      }
+    }
+
+    void write(QueryResult result) throws IOException {
+      String documentId = result.getDocumentId();
+      if (documentId != null && !exportedIds.add(documentId)) {
+        duplicateCount.incrementAndGet();
+        return;
+      }
+      synchronized (sink) {
+        sink.write(result);
+      }
+      exportedCount.incrementAndGet();
+    }
+
+    ExportStatistics statistics() {
+      long end = endNanos != 0 ? endNanos : System.nanoTime();
+      return new ExportStatistics(
+          exportedCount.get(),
+          duplicateCount.get(),
+          truncatedCount.get(),
+          partitionCount,
+          pageCount.get(),
+          retryCount.get(),
+          TimeUnit.NANOSECONDS.toMillis(end - startNanos));
+    }
+  }
+}
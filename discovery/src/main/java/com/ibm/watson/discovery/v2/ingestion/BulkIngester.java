@@ -0,0 +1,500 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.discovery.v2.ingestion;
+
+import com.ibm.cloud.sdk.core.http.ServiceCall;
+import com.ibm.watson.common.ConcurrencyLimiter;
+import com.ibm.watson.common.DaemonThreadFactory;
+import com.ibm.watson.common.RetryPolicy;
+import com.ibm.watson.discovery.v2.Discovery;
+import com.ibm.watson.discovery.v2.model.AddDocumentOptions;
+import com.ibm.watson.discovery.v2.model.DocumentAccepted;
+import com.ibm.watson.discovery.v2.model.UpdateDocumentOptions;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Ingests many documents into a Discovery v2 collection, with {@link Discovery#addDocument} for
+ * new documents and {@link Discovery#updateDocument} for documents with an ID.
+ *
+ * <p>Documents are sent by up to <code>maxConcurrency</code> threads. When the service rejects a
+ * request with status 429, the number of documents in flight is halved and no new documents are
+ * sent until the delay in the <code>Retry-After</code> header has passed; the number then grows
+ * back as documents are accepted, as long as their latency does not rise (see {@link
+ * ConcurrencyLimiter}). Throttled requests, server errors and network failures are retried as
+ * decided by a {@link RetryPolicy}, up to <code>maxRetries</code> times per document. Adding a
+ * document is not idempotent: a request whose response was lost may have created the document,
+ * and sending it again would create a second one. Documents without an ID are therefore only
+ * retried when they were throttled or the connection could not be made; give documents an ID to
+ * have them retried on any failure. The content of a file is streamed from the file each time its
+ * request is sent, so it is never held in memory.
+ *
+ * <p>With a checkpoint file, every accepted document is recorded as it is accepted, and the
+ * documents already recorded are skipped, so an interrupted ingestion can be run again to resume
+ * it. Progress is reported to the {@link IngestionListener} and by {@link #getStatistics()}.
+ *
+ * <p>An ingester runs one ingestion at a time.
+ */
+public class BulkIngester {
+  private static final Logger LOG = Logger.getLogger(BulkIngester.class.getName());
+  private static final int CHECKPOINT_SYNC_INTERVAL = 100;
+
+  private final Discovery discovery;
+  private final String projectId;
+  private final String collectionId;
+  private final Boolean xWatsonDiscoveryForce;
+  private final int maxConcurrency;
+  private final int maxRetries;
+  private final RetryPolicy retryPolicy;
+  private final File checkpointFile;
+  private final IngestionListener listener;
+  private final long progressIntervalMillis;
+  private volatile Run run;
+
+  /** Builder. */
+  public static class Builder {
+    private Discovery discovery;
+    private String projectId;
+    private String collectionId;
+    private Boolean xWatsonDiscoveryForce;
+    private int maxConcurrency = 8;
+    private int maxRetries = 5;
+    private long initialBackoffMillis = 500;
+    private long maxBackoffMillis = 60000;
+    private File checkpointFile;
+    private IngestionListener listener;
+    private long progressIntervalMillis = 10000;
+
+    /**
+     * Instantiates a new builder with required properties.
+     *
+     * @param discovery the client sending the documents
+     * @param projectId the projectId
+     * @param collectionId the collectionId
+     */
+    public Builder(Discovery discovery, String projectId, String collectionId) {
+      this.discovery = discovery;
+      this.projectId = projectId;
+      this.collectionId = collectionId;
+    }
+
+    /**
+     * Set the xWatsonDiscoveryForce header of the requests, required when the collection shares
+     * its data with another collection.
+     *
+     * @param xWatsonDiscoveryForce the xWatsonDiscoveryForce
+     * @return the BulkIngester builder
+     */
+    public Builder xWatsonDiscoveryForce(Boolean xWatsonDiscoveryForce) {
+      this.xWatsonDiscoveryForce = xWatsonDiscoveryForce;
+      return this;
+    }
+
+    /**
+     * Set the maximum number of documents in flight. Defaults to 8.
+     *
+     * @param maxConcurrency the maximum number of documents in flight
+     * @return the BulkIngester builder
+     */
+    public Builder maxConcurrency(int maxConcurrency) {
+      this.maxConcurrency = maxConcurrency;
+      return this;
+    }
+
+    /**
+     * Set the maximum number of times a document is retried. Defaults to 5.
+     *
+     * @param maxRetries the maximum number of retries
+     * @return the BulkIngester builder
+     */
+    public Builder maxRetries(int maxRetries) {
+      this.maxRetries = maxRetries;
+      return this;
+    }
+
+    /**
+     * Set the initial backoff of the {@link RetryPolicy}. Defaults to 500 ms.
+     *
+     * @param initialBackoffMillis the delay in milliseconds
+     * @return the BulkIngester builder
+     */
+    public Builder initialBackoffMillis(long initialBackoffMillis) {
+      this.initialBackoffMillis = initialBackoffMillis;
+      return this;
+    }
+
+    /**
+     * Set the maximum backoff of the {@link RetryPolicy}. Defaults to 60 seconds.
+     *
+     * @param maxBackoffMillis the delay in milliseconds
+     * @return the BulkIngester builder
+     */
+    public Builder maxBackoffMillis(long maxBackoffMillis) {
+      this.maxBackoffMillis = maxBackoffMillis;
+      return this;
+    }
+
+    /**
+     * Set the checkpoint file, which records the documents ingested. By default nothing is
+     * recorded.
+     *
+     * @param checkpointFile the checkpoint file
+     * @return the BulkIngester builder
+     */
+    public Builder checkpointFile(File checkpointFile) {
+      this.checkpointFile = checkpointFile;
+      return this;
+    }
+
+    /**
+     * Set the listener receiving the outcome of each document and the progress.
+     *
+     * @param listener the listener
+     * @return the BulkIngester builder
+     */
+    public Builder listener(IngestionListener listener) {
+      this.listener = listener;
+      return this;
+    }
+
+    /**
+     * Set the interval between two progress reports to the listener. Defaults to 10 seconds.
+     *
+     * @param progressIntervalMillis the interval in milliseconds
+     * @return the BulkIngester builder
+     */
+    public Builder progressIntervalMillis(long progressIntervalMillis) {
+      this.progressIntervalMillis = progressIntervalMillis;
+      return this;
+    }
+
+    /**
+     * Builds a BulkIngester.
+     *
+     * @return the new BulkIngester instance
+     */
+    public BulkIngester build() {
+      return new BulkIngester(this);
+    }
+  }
+
+  protected BulkIngester(Builder builder) {
+    com.ibm.cloud.sdk.core.util.Validator.notNull(builder.discovery, "discovery cannot be null");
+    com.ibm.cloud.sdk.core.util.Validator.notEmpty(builder.projectId, "projectId cannot be empty");
+    com.ibm.cloud.sdk.core.util.Validator.notEmpty(
+        builder.collectionId, "collectionId cannot be empty");
+    com.ibm.cloud.sdk.core.util.Validator.isTrue(
+        builder.maxConcurrency > 0, "maxConcurrency must be positive");
+    com.ibm.cloud.sdk.core.util.Validator.isTrue(
+        builder.maxRetries >= 0, "maxRetries cannot be negative");
+    com.ibm.cloud.sdk.core.util.Validator.isTrue(
+        builder.initialBackoffMillis >= 0 && builder.maxBackoffMillis >= 0,
+        "backoff cannot be negative");
+    discovery = builder.discovery;
+    projectId = builder.projectId;
+    collectionId = builder.collectionId;
+    xWatsonDiscoveryForce = builder.xWatsonDiscoveryForce;
+    maxConcurrency = builder.maxConcurrency;
+    maxRetries = builder.maxRetries;
+    retryPolicy = new RetryPolicy(builder.initialBackoffMillis, builder.maxBackoffMillis);
+    checkpointFile = builder.checkpointFile;
+    listener = builder.listener;
+    progressIntervalMillis = builder.progressIntervalMillis;
+  }
+
+  /**
+   * Ingests the files of a directory and its subdirectories. Each file is keyed on its path
+   * relative to the directory, with a content type guessed from its name.
+   *
+   * @param directory the directory
+   * @return the statistics of the ingestion
+   * @throws IOException if the directory or the checkpoint file cannot be read
+   * @throws InterruptedException if the thread is interrupted; the documents in flight are
+   *     abandoned
+   */
+  public IngestionStatistics ingestDirectory(File directory)
+      throws IOException, InterruptedException {
+    com.ibm.cloud.sdk.core.util.Validator.isTrue(
+        directory.isDirectory(), "directory must be a directory");
+    final Path root = directory.toPath().toAbsolutePath();
+    final Path checkpoint =
+        checkpointFile != null ? checkpointFile.toPath().toAbsolutePath() : null;
+    try (Stream<Path> paths = Files.walk(root)) {
+      return ingest(
+          paths
+              .filter(
+                  new Predicate<Path>() {
+                    @Override
+                    public boolean test(Path path) {
+                      return Files.isRegularFile(path) && !path.equals(checkpoint);
+                    }
+                  })
+              .map(
+                  new Function<Path, DocumentSource>() {
+                    @Override
+                    public DocumentSource apply(Path path) {
+                      String key = root.relativize(path).toString();
+                      return DocumentSource.fromFile(
+                          path.toFile(), key.replace(File.separatorChar, '/'));
+                    }
+                  }));
+    }
+  }
+
+  /**
+   * Ingests a stream of documents.
+   *
+   * @param sources the documents
+   * @return the statistics of the ingestion
+   * @throws IOException if the checkpoint file cannot be read
+   * @throws InterruptedException if the thread is interrupted; the documents in flight are
+   *     abandoned
+   */
+  public IngestionStatistics ingest(Stream<DocumentSource> sources)
+      throws IOException, InterruptedException {
+    return ingest(sources.iterator());
+  }
+
+  /**
+   * Ingests a list of documents.
+   *
+   * @param sources the documents
+   * @return the statistics of the ingestion
+   * @throws IOException if the checkpoint file cannot be read
+   * @throws InterruptedException if the thread is interrupted; the documents in flight are
+   *     abandoned
+   */
+  public IngestionStatistics ingest(List<DocumentSource> sources)
+      throws IOException, InterruptedException {
+    return ingest(sources.iterator());
+  }
+
+  /**
+   * Ingests documents. The iterator is read on the calling thread, only as fast as the documents
+   * can be sent, and the call returns once every document has been accepted or has failed.
+   *
+   * @param sources the documents
+   * @return the statistics of the ingestion
+   * @throws IOException if the checkpoint file cannot be read
+   * @throws InterruptedException if the thread is interrupted; the documents in flight are
+   *     abandoned
+   */
+  public synchronized IngestionStatistics ingest(Iterator<DocumentSource> sources)
+      throws IOException, InterruptedException {
+    IngestionCheckpoint checkpoint =
+        checkpointFile != null
+            ? new IngestionCheckpoint(checkpointFile, CHECKPOINT_SYNC_INTERVAL)
+            : null;
+    Run current = new Run(checkpoint);
+    run = current;
+    try {
+      while (sources.hasNext()) {
+        current.submit(sources.next());
+      }
+      current.limiter.awaitIdle();
+    } finally {
+      current.endNanos = System.nanoTime();
+      current.executor.shutdownNow();
+      if (checkpoint != null) {
+        checkpoint.close();
+      }
+    }
+    IngestionStatistics statistics = current.statistics();
+    if (listener != null) {
+      listener.onProgress(statistics);
+    }
+    return statistics;
+  }
+
+  /**
+   * Gets the statistics of the ingestion running, or of the last one.
+   *
+   * @return the statistics, or null if nothing has been ingested
+   */
+  public IngestionStatistics getStatistics() {
+    Run current = run;
+    return current != null ? current.statistics() : null;
+  }
+
+  private ServiceCall<DocumentAccepted> send(DocumentSource source) {
+    if (source.documentId() != null) {
+      UpdateDocumentOptions options =
+          new UpdateDocumentOptions.Builder(projectId, collectionId, source.documentId())
+              .filename(source.filename())
+              .fileContentType(source.fileContentType())
+              .metadata(source.metadata())
+              .xWatsonDiscoveryForce(xWatsonDiscoveryForce)
+              .build();
+      return discovery.updateDocument(options, source.body());
+    }
+    AddDocumentOptions options =
+        new AddDocumentOptions.Builder(projectId, collectionId)
+            .filename(source.filename())
+            .fileContentType(source.fileContentType())
+            .metadata(source.metadata())
+            .xWatsonDiscoveryForce(xWatsonDiscoveryForce)
+            .build();
+    return discovery.addDocument(options, source.body());
+  }
+
+  /** The state of one ingestion. */
+  private final class Run {
+    final ConcurrencyLimiter limiter = new ConcurrencyLimiter(maxConcurrency);
+    final ScheduledExecutorService executor;
+    final IngestionCheckpoint checkpoint;
+    final long startNanos = System.nanoTime();
+    volatile long endNanos;
+    final AtomicLong nextProgressNanos;
+    final AtomicLong ingestedCount = new AtomicLong();
+    final AtomicLong failedCount = new AtomicLong();
+    final AtomicLong skippedCount = new AtomicLong();
+    final AtomicLong retryCount = new AtomicLong();
+    final AtomicLong throttledCount = new AtomicLong();
+    final AtomicLong bytesSent = new AtomicLong();
+
+    Run(IngestionCheckpoint checkpoint) {
+      this.checkpoint = checkpoint;
+      this.nextProgressNanos =
+          new AtomicLong(startNanos + TimeUnit.MILLISECONDS.toNanos(progressIntervalMillis));
+      this.executor =
+          new ScheduledThreadPoolExecutor(
+              maxConcurrency, new DaemonThreadFactory("discovery-ingestion"));
+    }
+
+    void submit(final DocumentSource source) throws InterruptedException {
+      if (checkpoint != null && checkpoint.contains(source.key())) {
+        skippedCount.incrementAndGet();
+        return;
+      }
+      limiter.acquire();
+      executor.execute(
+          new Runnable() {
+            @Override
+            public void run() {
+              attempt(source, 0);
+            }
+          });
+    }
+
+    void attempt(final DocumentSource source, final int attempt) {
+      DocumentAccepted accepted;
+      long sentNanos = System.nanoTime();
+      try {
+        accepted = send(source).execute().getResult();
+      } catch (RuntimeException e) {
+        long delay = retryDelay(e, attempt, source.documentId() != null);
+        if (delay >= 0 && attempt < maxRetries) {
+          retryCount.incrementAndGet();
+          try {
+            executor.schedule(
+                new Runnable() {
+                  @Override
+                  public void run() {
+                    attempt(source, attempt + 1);
+                  }
+                },
+                delay,
+                TimeUnit.MILLISECONDS);
+            return;
+          } catch (RejectedExecutionException rejected) {
+            // the ingestion was interrupted
+          }
+        }
+        failedCount.incrementAndGet();
+        finish(source, null, e);
+        return;
+      }
+
+      limiter.onSuccess(System.nanoTime() - sentNanos);
+      ingestedCount.incrementAndGet();
+      bytesSent.addAndGet(source.size());
+      if (checkpoint != null) {
+        try {
+          checkpoint.add(source.key(), accepted != null ? accepted.getDocumentId() : null);
+        } catch (IOException e) {
+          LOG.log(Level.WARNING, "Ingested document could not be checkpointed: " + source.key(), e);
+        }
+      }
+      finish(source, accepted, null);
+    }
+
+    /**
+     * Computes the delay before a failed request is retried, and slows the requests down when it
+     * was throttled.
+     *
+     * @param e the failure
+     * @param attempt the number of the attempt that failed, from 0
+     * @param idempotent whether sending the request again cannot duplicate the document
+     * @return the delay in milliseconds, or -1 if the request must not be retried
+     */
+    long retryDelay(RuntimeException e, int attempt, boolean idempotent) {
+      long delay = retryPolicy.retryDelay(e, attempt, idempotent);
+      if (RetryPolicy.isThrottled(e)) {
+        throttledCount.incrementAndGet();
+        limiter.onThrottled(delay);
+      }
+      return delay;
+    }
+
+    void finish(DocumentSource source, DocumentAccepted accepted, Exception failure) {
+      try {
+        if (listener != null) {
+          if (failure == null) {
+            listener.onDocumentIngested(source, accepted);
+          } else {
+            listener.onDocumentFailed(source, failure);
+          }
+        }
+      } catch (RuntimeException e) {
+        LOG.log(Level.WARNING, "Ingestion listener failed", e);
+      } finally {
+        limiter.release();
+      }
+      long next = nextProgressNanos.get();
+      long now = System.nanoTime();
+      if (listener != null
+          && now - next >= 0
+          && nextProgressNanos.compareAndSet(
+              next, now + TimeUnit.MILLISECONDS.toNanos(progressIntervalMillis))) {
+        listener.onProgress(statistics());
+      }
+    }
+
+    IngestionStatistics statistics() {
+      long end = endNanos != 0 ? endNanos : System.nanoTime();
+      return new IngestionStatistics(
+          ingestedCount.get(),
+          failedCount.get(),
+          skippedCount.get(),
+          retryCount.get(),
+          throttledCount.get(),
+          bytesSent.get(),
+          TimeUnit.NANOSECONDS.toMillis(end - startNanos),
+          limiter.limit());
+    }
+  }
+}
@@ -0,0 +1,294 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.discovery.v2.ingestion;
+
+import java.io.File;
+import java.net.URLConnection;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+
+/**
+ * A document to ingest: its content, read from a file or held in memory, its metadata, and the key
+ * that identifies it in the checkpoint of an ingestion.
+ */
+public final class DocumentSource {
+
+  private final String key;
+  private final File file;
+  private final byte[] content;
+  private final String filename;
+  private final String fileContentType;
+  private final String metadata;
+  private final String documentId;
+
+  /** Builder. */
+  public static class Builder {
+    private String key;
+    private File file;
+    private byte[] content;
+    private String filename;
+    private String fileContentType;
+    private String metadata;
+    private String documentId;
+
+    /** Instantiates a new builder. */
+    public Builder() {}
+
+    /**
+     * Instantiates a new builder with required properties.
+     *
+     * @param key the key of the document
+     */
+    public Builder(String key) {
+      this.key = key;
+    }
+
+    /**
+     * Set the key, which identifies the document in the checkpoint. It must be unique and stable
+     * across runs, for example the path of the file relative to the directory ingested.
+     *
+     * @param key the key
+     * @return the DocumentSource builder
+     */
+    public Builder key(String key) {
+      this.key = key;
+      return this;
+    }
+
+    /**
+     * Set the file holding the content. The file is read each time the document is sent, and its
+     * name is used as the filename unless one is set.
+     *
+     * @param file the file
+     * @return the DocumentSource builder
+     */
+    public Builder file(File file) {
+      this.file = file;
+      return this;
+    }
+
+    /**
+     * Set the content, for a document held in memory.
+     *
+     * @param content the content
+     * @return the DocumentSource builder
+     */
+    public Builder content(byte[] content) {
+      this.content = content;
+      return this;
+    }
+
+    /**
+     * Set the filename.
+     *
+     * @param filename the filename
+     * @return the DocumentSource builder
+     */
+    public Builder filename(String filename) {
+      this.filename = filename;
+      return this;
+    }
+
+    /**
+     * Set the fileContentType. If it is not set, the service detects the type of the document.
+     *
+     * @param fileContentType the fileContentType
+     * @return the DocumentSource builder
+     */
+    public Builder fileContentType(String fileContentType) {
+      this.fileContentType = fileContentType;
+      return this;
+    }
+
+    /**
+     * Set the metadata, a JSON object of the fields added to the document.
+     *
+     * @param metadata the metadata
+     * @return the DocumentSource builder
+     */
+    public Builder metadata(String metadata) {
+      this.metadata = metadata;
+      return this;
+    }
+
+    /**
+     * Set the documentId. A document with an ID replaces the document with the same ID with {@link
+     * com.ibm.watson.discovery.v2.Discovery#updateDocument}; a document without one is added with
+     * {@link com.ibm.watson.discovery.v2.Discovery#addDocument}.
+     *
+     * @param documentId the documentId
+     * @return the DocumentSource builder
+     */
+    public Builder documentId(String documentId) {
+      this.documentId = documentId;
+      return this;
+    }
+
+    /**
+     * Builds a DocumentSource.
+     *
+     * @return the new DocumentSource instance
+     */
+    public DocumentSource build() {
+      return new DocumentSource(this);
+    }
+  }
+
+  private DocumentSource(Builder builder) {
+    com.ibm.cloud.sdk.core.util.Validator.notEmpty(builder.key, "key cannot be empty");
+    com.ibm.cloud.sdk.core.util.Validator.isTrue(
+        builder.file == null || builder.content == null,
+        "Only one of file or content can be supplied.");
+    com.ibm.cloud.sdk.core.util.Validator.isTrue(
+        builder.file != null || builder.content != null || builder.metadata != null,
+        "At least one of file, content or metadata must be supplied.");
+    key = builder.key;
+    file = builder.file;
+    content = builder.content;
+    filename =
+        builder.filename == null && builder.file != null
+            ? builder.file.getName()
+            : builder.filename;
+    fileContentType = builder.fileContentType;
+    metadata = builder.metadata;
+    documentId = builder.documentId;
+  }
+
+  /**
+   * Creates the source of a file, keyed on its path, with a content type guessed from its name.
+   *
+   * @param file the file
+   * @return the source
+   */
+  public static DocumentSource fromFile(File file) {
+    return fromFile(file, file.getPath());
+  }
+
+  /**
+   * Creates the source of a file, with a content type guessed from its name.
+   *
+   * @param file the file
+   * @param key the key of the document
+   * @return the source
+   */
+  public static DocumentSource fromFile(File file, String key) {
+    return new Builder(key)
+        .file(file)
+        .fileContentType(URLConnection.guessContentTypeFromName(file.getName()))
+        .build();
+  }
+
+  /**
+   * New builder.
+   *
+   * @return a DocumentSource builder
+   */
+  public Builder newBuilder() {
+    Builder builder = new Builder(key);
+    builder.file = file;
+    builder.content = content;
+    builder.filename = filename;
+    builder.fileContentType = fileContentType;
+    builder.metadata = metadata;
+    builder.documentId = documentId;
+    return builder;
+  }
+
+  /**
+   * Gets the key.
+   *
+   * @return the key
+   */
+  public String key() {
+    return key;
+  }
+
+  /**
+   * Gets the file.
+   *
+   * @return the file, or null if the content is in memory or there is none
+   */
+  public File file() {
+    return file;
+  }
+
+  /**
+   * Gets the content.
+   *
+   * @return the content, or null if it is read from a file or there is none
+   */
+  public byte[] content() {
+    return content;
+  }
+
+  /**
+   * Gets the filename.
+   *
+   * @return the filename
+   */
+  public String filename() {
+    return filename;
+  }
+
+  /**
+   * Gets the fileContentType.
+   *
+   * @return the fileContentType
+   */
+  public String fileContentType() {
+    return fileContentType;
+  }
+
+  /**
+   * Gets the metadata.
+   *
+   * @return the metadata
+   */
+  public String metadata() {
+    return metadata;
+  }
+
+  /**
+   * Gets the documentId.
+   *
+   * @return the documentId
+   */
+  public String documentId() {
+    return documentId;
+  }
+
+  /**
+   * Gets the size of the content.
+   *
+   * @return the number of bytes, 0 if there is no content
+   */
+  long size() {
+    if (file != null) {
+      return file.length();
+    }
+    return content != null ? content.length : 0;
+  }
+
+  /**
+   * Creates the body writing the content. The body reads the file each time it is written.
+   *
+   * @return the body, or null if there is no content
+   */
+  RequestBody body() {
+    MediaType mediaType = fileContentType != null ? MediaType.parse(fileContentType) : null;
+    if (file != null) {
+      return RequestBody.create(file, mediaType);
+    }
+    return content != null ? RequestBody.create(content, mediaType) : null;
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.discovery.v2.ingestion;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Records the documents ingested in a file, one JSON object per line with the key of the document
+ * and the ID the service assigned to it, so that an interrupted ingestion can resume.
+ *
+ * <p>Each record is flushed to the operating system as soon as the document is accepted, and the
+ * file is synced to the storage device every <code>syncInterval</code> records and when the
+ * checkpoint is closed. A record cut short by a crash is ignored when the file is read back.
+ */
+final class IngestionCheckpoint implements Closeable {
+
+  private static final Gson GSON = new Gson();
+
+  private final Set<String> keys = new HashSet<>();
+  private final FileOutputStream out;
+  private final Writer writer;
+  private final int syncInterval;
+  private int unsynced;
+
+  IngestionCheckpoint(File file, int syncInterval) throws IOException {
+    this.syncInterval = syncInterval;
+    if (file.exists()) {
+      read(file);
+    }
+    out = new FileOutputStream(file, true);
+    writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+  }
+
+  private void read(File file) throws IOException {
+    try (BufferedReader reader =
+        new BufferedReader(
+            new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        try {
+          JsonObject record = JsonParser.parseString(line).getAsJsonObject();
+          keys.add(record.get("key").getAsString());
+        } catch (JsonParseException | IllegalStateException | NullPointerException e) {
+          // a record that was being written when the ingestion stopped
+        }
+      }
+    }
+  }
+
+  /**
+   * Checks whether a document has been ingested.
+   *
+   * @param key the key of the document
+   * @return true if the document is in the checkpoint
+   */
+  synchronized boolean contains(String key) {
+    return keys.contains(key);
+  }
+
+  /**
+   * Records an ingested document.
+   *
+   * @param key the key of the document
+   * @param documentId the ID of the document
+   * @throws IOException if the record cannot be written
+   */
+  synchronized void add(String key, String documentId) throws IOException {
+    JsonObject record = new JsonObject();
+    record.addProperty("key", key);
+    record.addProperty("document_id", documentId);
+    writer.write(GSON.toJson(record));
+    writer.write('\n');
+    writer.flush();
+    keys.add(key);
+    if (++unsynced >= syncInterval) {
+      out.getFD().sync();
+      unsynced = 0;
+    }
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    writer.flush();
+    out.getFD().sync();
+    writer.close();
+  }
+}
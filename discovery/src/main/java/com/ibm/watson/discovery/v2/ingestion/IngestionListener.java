@@ -0,0 +1,46 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.discovery.v2.ingestion;
+
+import com.ibm.watson.discovery.v2.model.DocumentAccepted;
+
+/**
+ * Receives the outcome of each document of a {@link BulkIngester} and its progress. The methods
+ * are called from the threads sending the documents, possibly concurrently, so they must be
+ * thread-safe and should return quickly.
+ */
+public interface IngestionListener {
+
+  /**
+   * Called when a document has been accepted by the service.
+   *
+   * @param source the document
+   * @param documentAccepted the response of the service
+   */
+  void onDocumentIngested(DocumentSource source, DocumentAccepted documentAccepted);
+
+  /**
+   * Called when a document has failed, after any retries.
+   *
+   * @param source the document
+   * @param e the failure
+   */
+  void onDocumentFailed(DocumentSource source, Exception e);
+
+  /**
+   * Called periodically while documents are ingested.
+   *
+   * @param statistics the statistics of the ingestion so far
+   */
+  void onProgress(IngestionStatistics statistics);
+}
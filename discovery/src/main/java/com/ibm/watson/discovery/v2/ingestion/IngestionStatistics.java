@@ -0,0 +1,152 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.discovery.v2.ingestion;
+
+/** The counters of a {@link BulkIngester} at a point in time. */
+public final class IngestionStatistics {
+
+  private final long ingestedCount;
+  private final long failedCount;
+  private final long skippedCount;
+  private final long retryCount;
+  private final long throttledCount;
+  private final long bytesSent;
+  private final long elapsedMillis;
+  private final int concurrencyLimit;
+
+  IngestionStatistics(
+      long ingestedCount,
+      long failedCount,
+      long skippedCount,
+      long retryCount,
+      long throttledCount,
+      long bytesSent,
+      long elapsedMillis,
+      int concurrencyLimit) {
+    this.ingestedCount = ingestedCount;
+    this.failedCount = failedCount;
+    this.skippedCount = skippedCount;
+    this.retryCount = retryCount;
+    this.throttledCount = throttledCount;
+    this.bytesSent = bytesSent;
+    this.elapsedMillis = elapsedMillis;
+    this.concurrencyLimit = concurrencyLimit;
+  }
+
+  /**
+   * Gets the number of documents accepted by the service.
+   *
+   * @return the ingested count
+   */
+  public long getIngestedCount() {
+    return ingestedCount;
+  }
+
+  /**
+   * Gets the number of documents that failed after any retries.
+   *
+   * @return the failed count
+   */
+  public long getFailedCount() {
+    return failedCount;
+  }
+
+  /**
+   * Gets the number of documents skipped because the checkpoint records them as ingested.
+   *
+   * @return the skipped count
+   */
+  public long getSkippedCount() {
+    return skippedCount;
+  }
+
+  /**
+   * Gets the number of requests that were retried.
+   *
+   * @return the retry count
+   */
+  public long getRetryCount() {
+    return retryCount;
+  }
+
+  /**
+   * Gets the number of requests rejected by the rate limit of the service.
+   *
+   * @return the throttled count
+   */
+  public long getThrottledCount() {
+    return throttledCount;
+  }
+
+  /**
+   * Gets the size of the content of the ingested documents.
+   *
+   * @return the number of bytes
+   */
+  public long getBytesSent() {
+    return bytesSent;
+  }
+
+  /**
+   * Gets the time since the ingestion started.
+   *
+   * @return the number of milliseconds
+   */
+  public long getElapsedMillis() {
+    return elapsedMillis;
+  }
+
+  /**
+   * Gets the current bound on the number of documents in flight, which is lowered when the service
+   * throttles requests.
+   *
+   * @return the concurrency limit
+   */
+  public int getConcurrencyLimit() {
+    return concurrencyLimit;
+  }
+
+  /**
+   * Gets the average number of documents ingested per second.
+   *
+   * @return the throughput
+   */
+  public double getDocumentsPerSecond() {
+    return elapsedMillis > 0 ? ingestedCount * 1000.0 / elapsedMillis : 0;
+  }
+
+  /**
+   * Gets the average number of bytes of content ingested per second.
+   *
+   * @return the throughput
+   */
+  public double getBytesPerSecond() {
+    return elapsedMillis > 0 ? bytesSent * 1000.0 / elapsedMillis : 0;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "IngestionStatistics{ingested=%d, failed=%d, skipped=%d, retries=%d, throttled=%d,"
+            + " bytesSent=%d, elapsedMillis=%d, concurrencyLimit=%d, documentsPerSecond=%.1f}",
+        ingestedCount,
+        failedCount,
+        skippedCount,
+        retryCount,
+        throttledCount,
+        bytesSent,
+        elapsedMillis,
+        concurrencyLimit,
+        getDocumentsPerSecond());
+  }
+}
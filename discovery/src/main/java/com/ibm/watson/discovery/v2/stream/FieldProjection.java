@@ -0,0 +1,133 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.discovery.v2.stream;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The fields of the query results to decode, as paths of property names separated by dots, such
+ * as <code>metadata.title</code> or <code>enriched_text.entities.text</code>. A path selects the
+ * whole value of its last property; a path going through an array applies to every element of the
+ * array. The <code>document_id</code> of the results is always decoded.
+ */
+public final class FieldProjection {
+  private static final FieldProjection ALL = new FieldProjection(null);
+
+  /** The projections of the selected properties, or null if every property is selected. */
+  private final Map<String, FieldProjection> children;
+
+  private FieldProjection(Map<String, FieldProjection> children) {
+    this.children = children;
+  }
+
+  /**
+   * Gets the projection decoding every field.
+   *
+   * @return the projection
+   */
+  public static FieldProjection all() {
+    return ALL;
+  }
+
+  /**
+   * Creates a projection decoding the given fields only.
+   *
+   * @param paths the paths of the fields
+   * @return the projection
+   */
+  public static FieldProjection of(String... paths) {
+    com.ibm.cloud.sdk.core.util.Validator.notNull(paths, "paths cannot be null");
+    return of(Arrays.asList(paths));
+  }
+
+  /**
+   * Creates a projection decoding the given fields only.
+   *
+   * @param paths the paths of the fields
+   * @return the projection
+   */
+  public static FieldProjection of(Collection<String> paths) {
+    com.ibm.cloud.sdk.core.util.Validator.notNull(paths, "paths cannot be null");
+    Map<String, Object> tree = new HashMap<>();
+    add(tree, "document_id");
+    for (String path : paths) {
+      com.ibm.cloud.sdk.core.util.Validator.notEmpty(path, "a path cannot be empty");
+      add(tree, path);
+    }
+    return fromTree(tree);
+  }
+
+  /** Adds a path to a tree of maps, in which null marks a selected value. */
+  @SuppressWarnings("unchecked")
+  private static void add(Map<String, Object> tree, String path) {
+    String[] names = path.split("\\.", -1);
+    Map<String, Object> node = tree;
+    for (int i = 0; i < names.length; i++) {
+      com.ibm.cloud.sdk.core.util.Validator.isTrue(
+          !names[i].isEmpty(), "a path cannot contain an empty name: " + path);
+      boolean last = i == names.length - 1;
+      if (node.containsKey(names[i]) && node.get(names[i]) == null) {
+        // a shorter path already selects the whole value
+        return;
+      }
+      if (last) {
+        node.put(names[i], null);
+      } else {
+        Object child = node.get(names[i]);
+        if (child == null) {
+          child = new HashMap<String, Object>();
+          node.put(names[i], child);
+        }
+        node = (Map<String, Object>) child;
+      }
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static FieldProjection fromTree(Map<String, Object> tree) {
+    Map<String, FieldProjection> children = new HashMap<>();
+    for (Map.Entry<String, Object> entry : tree.entrySet()) {
+      Object child = entry.getValue();
+      children.put(
+          entry.getKey(), child == null ? ALL : fromTree((Map<String, Object>) child));
+    }
+    return new FieldProjection(children);
+  }
+
+  /**
+   * Checks whether every field is selected.
+   *
+   * @return true if every field is selected
+   */
+  boolean isAll() {
+    return children == null;
+  }
+
+  /**
+   * Gets the projection of a property.
+   *
+   * @param name the name of the property
+   * @return the projection of its value, or null if the property is not selected
+   */
+  FieldProjection child(String name) {
+    return children == null ? ALL : children.get(name);
+  }
+
+  @Override
+  public String toString() {
+    return children == null ? "*" : children.toString();
+  }
+}
@@ -0,0 +1,248 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.discovery.v2.stream;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.ibm.cloud.sdk.core.util.GsonSingleton;
+import com.ibm.watson.discovery.v2.model.QueryResponse;
+import com.ibm.watson.discovery.v2.model.QueryResult;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * The results of a query, decoded one at a time as they are read from the response.
+ *
+ * <p>Only the result being returned is held in memory, and only the fields selected by the {@link
+ * FieldProjection} are decoded; the other fields are skipped as they are read. The other members
+ * of the response, such as the aggregations and passages, are available from {@link
+ * #getSummary()}: those sent before the results as soon as the first result has been read, and all
+ * of them once every result has been read.
+ *
+ * <p>The stream must be closed if the results are not all read, to release the connection. Errors
+ * reading the response are thrown as {@link UncheckedIOException}.
+ */
+public final class QueryResultStream implements Iterator<QueryResult>, Closeable {
+  private static final Gson GSON = GsonSingleton.getGson();
+  private static final TypeAdapter<JsonElement> ELEMENT_ADAPTER =
+      GSON.getAdapter(JsonElement.class);
+  private static final TypeAdapter<QueryResult> RESULT_ADAPTER =
+      GSON.getAdapter(QueryResult.class);
+  private static final String RESULTS = "results";
+
+  private final JsonReader reader;
+  private final FieldProjection projection;
+  private final JsonObject summary = new JsonObject();
+  private boolean started;
+  private boolean inResults;
+  private boolean done;
+  private QueryResult next;
+  private long resultCount;
+
+  /**
+   * Instantiates a stream over a query response.
+   *
+   * @param response the body of the response
+   * @param projection the fields of the results to decode
+   */
+  public QueryResultStream(InputStream response, FieldProjection projection) {
+    com.ibm.cloud.sdk.core.util.Validator.notNull(response, "response cannot be null");
+    com.ibm.cloud.sdk.core.util.Validator.notNull(projection, "projection cannot be null");
+    this.reader = new JsonReader(new InputStreamReader(response, StandardCharsets.UTF_8));
+    this.projection = projection;
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (next == null && !done) {
+      try {
+        next = read();
+      } catch (IOException e) {
+        close();
+        throw new UncheckedIOException(e);
+      } catch (RuntimeException e) {
+        close();
+        throw e;
+      }
+    }
+    return next != null;
+  }
+
+  @Override
+  public QueryResult next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    QueryResult result = next;
+    next = null;
+    return result;
+  }
+
+  /**
+   * Gets a sequential stream of the results, which closes this stream when it is closed.
+   *
+   * @return the stream
+   */
+  public Stream<QueryResult> stream() {
+    return StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL),
+            false)
+        .onClose(
+            new Runnable() {
+              @Override
+              public void run() {
+                close();
+              }
+            });
+  }
+
+  /**
+   * Gets the members of the response read so far, other than the results.
+   *
+   * @return the response without its results
+   */
+  public QueryResponse getSummary() {
+    return GSON.fromJson(summary, QueryResponse.class);
+  }
+
+  /**
+   * Gets the number of results returned so far.
+   *
+   * @return the number of results
+   */
+  public long getResultCount() {
+    return resultCount;
+  }
+
+  @Override
+  public void close() {
+    done = true;
+    next = null;
+    try {
+      reader.close();
+    } catch (IOException e) {
+      // nothing more can be read anyway
+    }
+  }
+
+  /**
+   * Reads up to the next result, or to the end of the response.
+   *
+   * @return the result, or null at the end of the results
+   */
+  private QueryResult read() throws IOException {
+    if (!started) {
+      started = true;
+      reader.beginObject();
+    }
+    if (!inResults && !readMembers()) {
+      reader.endObject();
+      close();
+      return null;
+    }
+    if (reader.hasNext()) {
+      resultCount++;
+      return readResult();
+    }
+    reader.endArray();
+    inResults = false;
+    // there is a single results member, so this reads the rest of the response
+    return read();
+  }
+
+  /**
+   * Reads the members of the response up to the start of the results.
+   *
+   * @return false if the response ends before
+   */
+  private boolean readMembers() throws IOException {
+    while (reader.hasNext()) {
+      String name = reader.nextName();
+      if (RESULTS.equals(name) && reader.peek() == JsonToken.BEGIN_ARRAY && resultCount == 0) {
+        reader.beginArray();
+        inResults = true;
+        return true;
+      }
+      summary.add(name, ELEMENT_ADAPTER.read(reader));
+    }
+    return false;
+  }
+
+  private QueryResult readResult() throws IOException {
+    if (projection.isAll()) {
+      return RESULT_ADAPTER.read(reader);
+    }
+    JsonElement result = readProjected(projection);
+    // a result is always an object; anything else has no selected field
+    return result != null ? GSON.fromJson(result, QueryResult.class) : new QueryResult();
+  }
+
+  /**
+   * Reads a value, keeping only the selected properties of objects.
+   *
+   * @return the value, or null if it is a primitive whose properties were selected
+   */
+  private JsonElement readProjected(FieldProjection fields) throws IOException {
+    if (fields.isAll()) {
+      return ELEMENT_ADAPTER.read(reader);
+    }
+    JsonToken token = reader.peek();
+    if (token == JsonToken.BEGIN_OBJECT) {
+      JsonObject object = new JsonObject();
+      reader.beginObject();
+      while (reader.hasNext()) {
+        String name = reader.nextName();
+        FieldProjection child = fields.child(name);
+        if (child == null) {
+          reader.skipValue();
+        } else {
+          JsonElement value = readProjected(child);
+          if (value != null) {
+            object.add(name, value);
+          }
+        }
+      }
+      reader.endObject();
+      return object;
+    }
+    if (token == JsonToken.BEGIN_ARRAY) {
+      JsonArray array = new JsonArray();
+      reader.beginArray();
+      while (reader.hasNext()) {
+        JsonElement element = readProjected(fields);
+        if (element != null) {
+          array.add(element);
+        }
+      }
+      reader.endArray();
+      return array;
+    }
+    reader.skipValue();
+    return null;
+  }
+}
@@ -0,0 +1,282 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.discovery.v2.cache;
+
+import static org.testng.Assert.*;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.ibm.cloud.sdk.core.http.Response;
+import com.ibm.cloud.sdk.core.http.ServiceCall;
+import com.ibm.cloud.sdk.core.http.ServiceCallback;
+import com.ibm.cloud.sdk.core.security.NoAuthAuthenticator;
+import com.ibm.cloud.sdk.core.service.exception.NotFoundException;
+import com.ibm.watson.discovery.v2.Discovery;
+import com.ibm.watson.discovery.v2.model.DeleteDocumentOptions;
+import com.ibm.watson.discovery.v2.model.DeleteDocumentResponse;
+import com.ibm.watson.discovery.v2.model.QueryOptions;
+import com.ibm.watson.discovery.v2.model.QueryResponse;
+import com.ibm.watson.discovery.v2.model.QueryResult;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import okhttp3.Request;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Unit tests for the {@link QueryCache}. */
+public class QueryCacheTest {
+
+  private MockWebServer server;
+  private Discovery service;
+
+  @BeforeMethod
+  public void setUp() throws IOException {
+    server = new MockWebServer();
+    server.start();
+    service = new Discovery("2020-08-30", new NoAuthAuthenticator());
+    service.setServiceUrl(server.url("/").toString());
+  }
+
+  @AfterMethod
+  public void tearDown() throws IOException {
+    server.shutdown();
+  }
+
+  private static MockResponse results(int matching) {
+    return new MockResponse()
+        .setHeader("Content-type", "application/json")
+        .setBody("{\"matching_results\": " + matching + ", \"results\": []}");
+  }
+
+  private static QueryOptions query(String text, String... collectionIds) {
+    QueryOptions.Builder builder = new QueryOptions.Builder().projectId("project").query(text);
+    if (collectionIds.length > 0) {
+      builder.collectionIds(Arrays.asList(collectionIds));
+    }
+    return builder.build();
+  }
+
+  private static JsonObject json(String json) {
+    return JsonParser.parseString(json.replace('\'', '"')).getAsJsonObject();
+  }
+
+  private long matching(QueryOptions options) {
+    return service.query(options).execute().getResult().getMatchingResults();
+  }
+
+  @Test
+  public void testHit() throws Exception {
+    QueryCache cache = new QueryCache.Builder().build();
+    service.setQueryCache(cache);
+    server.enqueue(results(1));
+    server.enqueue(results(2));
+
+    assertEquals(matching(query("a")), 1);
+    assertEquals(matching(query("a")), 1);
+    assertEquals(matching(query("b")), 2);
+
+    assertEquals(server.getRequestCount(), 2);
+    QueryCache.Statistics statistics = cache.getStatistics();
+    assertEquals(statistics.getHitCount(), 1);
+    assertEquals(statistics.getMissCount(), 2);
+    assertEquals(statistics.getEntryCount(), 2);
+    assertTrue(statistics.getBytes() > 0);
+  }
+
+  @Test
+  public void testCanonicalKey() {
+    Request request = new Request.Builder().url(server.url("/v2/projects/p/query")).build();
+    JsonObject body = json("{'query': 'a', 'passages': {'count': 1, 'fields': ['x', 'y']}}");
+    JsonObject reordered = json("{'passages': {'fields': ['x', 'y'], 'count': 1}, 'query': 'a'}");
+    JsonObject fieldsReordered =
+        json("{'query': 'a', 'passages': {'count': 1, 'fields': ['y', 'x']}}");
+    Request otherProject = new Request.Builder().url(server.url("/v2/projects/q/query")).build();
+
+    assertEquals(QueryCache.key(request, body), QueryCache.key(request, reordered));
+    assertNotEquals(QueryCache.key(request, body), QueryCache.key(request, fieldsReordered));
+    assertNotEquals(QueryCache.key(request, body), QueryCache.key(otherProject, body));
+  }
+
+  @Test
+  public void testInvalidation() throws Exception {
+    QueryCache cache = new QueryCache.Builder().build();
+    service.setQueryCache(cache);
+    for (int i = 0; i < 3; i++) {
+      server.enqueue(results(i));
+    }
+    server.enqueue(deleted());
+    for (int i = 3; i < 6; i++) {
+      server.enqueue(results(i));
+    }
+    matching(query("a", "one"));
+    matching(query("a", "two"));
+    matching(query("a"));
+
+    ServiceCall<DeleteDocumentResponse> delete = service.deleteDocument(deleteOptions("one"));
+    assertEquals(cache.getStatistics().getInvalidationCount(), 0);
+    delete.execute();
+
+    assertEquals(cache.getStatistics().getInvalidationCount(), 2);
+    assertEquals(matching(query("a", "two")), 1);
+    assertEquals(matching(query("a", "one")), 3);
+    assertEquals(matching(query("a")), 4);
+
+    cache.invalidateProject("project");
+    assertEquals(cache.getStatistics().getEntryCount(), 0);
+  }
+
+  @Test
+  public void testFailedWriteKeepsResults() throws Exception {
+    QueryCache cache = new QueryCache.Builder().build();
+    service.setQueryCache(cache);
+    server.enqueue(results(1));
+    server.enqueue(new MockResponse().setResponseCode(404));
+    matching(query("a", "one"));
+
+    try {
+      service.deleteDocument(deleteOptions("one")).execute();
+      fail("the delete should fail");
+    } catch (NotFoundException e) {
+      // expected
+    }
+
+    assertEquals(cache.getStatistics().getInvalidationCount(), 0);
+    assertEquals(matching(query("a", "one")), 1);
+  }
+
+  @Test
+  public void testQueryInFlightDuringWrite() throws Exception {
+    QueryCache cache = new QueryCache.Builder().build();
+    service.setQueryCache(cache);
+    server.enqueue(results(1).setBodyDelay(500, TimeUnit.MILLISECONDS));
+    server.enqueue(deleted());
+    server.enqueue(results(2));
+
+    CompletableFuture<Response<QueryResponse>> stale = enqueueAsync(query("a", "one"));
+    server.takeRequest(10, TimeUnit.SECONDS);
+    service.deleteDocument(deleteOptions("one")).execute();
+
+    assertEquals(stale.get(10, TimeUnit.SECONDS).getResult().getMatchingResults().longValue(), 1);
+    assertEquals(cache.getStatistics().getEntryCount(), 0);
+    assertEquals(matching(query("a", "one")), 2);
+  }
+
+  @Test
+  public void testHitsAreCopies() throws Exception {
+    service.setQueryCache(new QueryCache.Builder().build());
+    server.enqueue(results(1));
+
+    Response<QueryResponse> first = service.query(query("a")).execute();
+    first.getResult().getResults().add(new QueryResult());
+    Response<QueryResponse> second = service.query(query("a")).execute();
+    second.getResult().getResults().add(new QueryResult());
+    Response<QueryResponse> third = service.query(query("a")).execute();
+
+    assertNotSame(second.getResult(), third.getResult());
+    assertTrue(third.getResult().getResults().isEmpty());
+    assertEquals(third.getHeaders().values("Content-type").get(0), "application/json");
+    assertEquals(server.getRequestCount(), 1);
+  }
+
+  @Test
+  public void testTtl() throws Exception {
+    QueryCache cache =
+        new QueryCache.Builder().defaultTtlMillis(50).ttlMillis("uncached", 0).build();
+    service.setQueryCache(cache);
+    for (int i = 0; i < 4; i++) {
+      server.enqueue(results(i));
+    }
+
+    assertEquals(matching(query("a")), 0);
+    assertEquals(matching(query("a")), 0);
+    Thread.sleep(100);
+    assertEquals(matching(query("a")), 1);
+    assertEquals(cache.getStatistics().getExpirationCount(), 1);
+
+    QueryOptions uncached = new QueryOptions.Builder().projectId("uncached").query("a").build();
+    assertEquals(matching(uncached), 2);
+    assertEquals(matching(uncached), 3);
+  }
+
+  @Test
+  public void testMaxBytes() throws Exception {
+    long size = results(0).getBody().size();
+    QueryCache cache = new QueryCache.Builder().maxBytes(2 * size).build();
+    service.setQueryCache(cache);
+    for (int i = 0; i < 4; i++) {
+      server.enqueue(results(i));
+    }
+
+    matching(query("a"));
+    matching(query("b"));
+    matching(query("a"));
+    matching(query("c"));
+
+    assertEquals(cache.getStatistics().getEvictionCount(), 1);
+    assertEquals(cache.getStatistics().getBytes(), 2 * size);
+    assertEquals(matching(query("a")), 0);
+    assertEquals(matching(query("b")), 3);
+  }
+
+  @Test
+  public void testEnqueue() throws Exception {
+    service.setQueryCache(new QueryCache.Builder().build());
+    server.enqueue(results(1));
+
+    assertEquals(enqueue(query("a")).getResult().getMatchingResults().longValue(), 1);
+    assertEquals(enqueue(query("a")).getResult().getMatchingResults().longValue(), 1);
+    assertEquals(server.getRequestCount(), 1);
+  }
+
+  private static MockResponse deleted() {
+    return new MockResponse()
+        .setHeader("Content-type", "application/json")
+        .setBody("{\"document_id\": \"document\", \"status\": \"deleted\"}");
+  }
+
+  private static DeleteDocumentOptions deleteOptions(String collectionId) {
+    return new DeleteDocumentOptions.Builder()
+        .projectId("project")
+        .collectionId(collectionId)
+        .documentId("document")
+        .build();
+  }
+
+  private Response<QueryResponse> enqueue(QueryOptions options) throws Exception {
+    return enqueueAsync(options).get(10, TimeUnit.SECONDS);
+  }
+
+  private CompletableFuture<Response<QueryResponse>> enqueueAsync(QueryOptions options) {
+    final CompletableFuture<Response<QueryResponse>> future = new CompletableFuture<>();
+    service
+        .query(options)
+        .enqueue(
+            new ServiceCallback<QueryResponse>() {
+              @Override
+              public void onResponse(Response<QueryResponse> response) {
+                future.complete(response);
+              }
+
+              @Override
+              public void onFailure(Exception e) {
+                future.completeExceptionally(e);
+              }
+            });
+    return future;
+  }
+}
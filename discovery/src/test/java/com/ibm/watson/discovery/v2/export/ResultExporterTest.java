@@ -0,0 +1,306 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.discovery.v2.export;
+
+import static org.testng.Assert.*;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.ibm.cloud.sdk.core.security.NoAuthAuthenticator;
+import com.ibm.cloud.sdk.core.service.exception.BadRequestException;
+import com.ibm.watson.discovery.v2.Discovery;
+import com.ibm.watson.discovery.v2.model.QueryOptions;
+import com.ibm.watson.discovery.v2.model.QueryResult;
+import com.ibm.watson.discovery.v2.stream.FieldProjection;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Unit tests for the {@link ResultExporter}. */
+public class ResultExporterTest {
+
+  private static final int DOCUMENT_COUNT = 250;
+
+  private MockWebServer server;
+  private Discovery service;
+  private List<String> filters;
+  private List<String> sorts;
+  private AtomicInteger failures;
+
+  /**
+   * Serves documents doc0 to doc249, whose year is 2000 plus their number modulo 3, except for the
+   * documents whose number modulo 50 is 49, which have no year. Filters select the documents of a
+   * year with <code>year&gt;="2001"</code> and <code>year&lt;"2002"</code>, the documents without
+   * a year with <code>!year:*</code>, or the documents whose number is a multiple of a value with
+   * <code>mod:N</code>.
+   */
+  private final class Corpus extends Dispatcher {
+    @Override
+    public MockResponse dispatch(RecordedRequest request) {
+      JsonObject body = JsonParser.parseString(request.getBody().readUtf8()).getAsJsonObject();
+      if (failures.getAndDecrement() > 0) {
+        return new MockResponse()
+            .setResponseCode(503)
+            .setHeader("Content-type", "application/json")
+            .setBody("{\"error\": \"Unavailable\", \"code\": 503}");
+      }
+      if (body.has("aggregation")) {
+        return json(
+            "{\"matching_results\": 250, \"results\": [], \"aggregations\": [{\"type\":"
+                + " \"timeslice\", \"field\": \"year\", \"interval\": \"1year\", \"results\": ["
+                + "{\"key_as_string\": \"2000\", \"key\": 0, \"matching_results\": 84},"
+                + "{\"key_as_string\": \"2001\", \"key\": 1, \"matching_results\": 83},"
+                + "{\"key_as_string\": \"2002\", \"key\": 2, \"matching_results\": 83}]}]}");
+      }
+      String filter = body.has("filter") ? body.get("filter").getAsString() : null;
+      filters.add(filter);
+      sorts.add(body.has("sort") ? body.get("sort").getAsString() : null);
+      List<Integer> matching = new ArrayList<>();
+      for (int i = 0; i < DOCUMENT_COUNT; i++) {
+        if (matches(i, filter)) {
+          matching.add(i);
+        }
+      }
+      long offset = body.get("offset").getAsLong();
+      long count = body.get("count").getAsLong();
+      JsonArray results = new JsonArray();
+      for (long i = offset; i < Math.min(matching.size(), offset + count); i++) {
+        int document = matching.get((int) i);
+        JsonObject result = new JsonObject();
+        result.addProperty("document_id", "doc" + document);
+        if (hasYear(document)) {
+          result.addProperty("year", String.valueOf(2000 + document % 3));
+        }
+        result.addProperty("text", "text of document " + document);
+        results.add(result);
+      }
+      JsonObject response = new JsonObject();
+      response.addProperty("matching_results", matching.size());
+      response.add("results", results);
+      return json(response.toString());
+    }
+
+    private boolean matches(int document, String filter) {
+      if (filter == null) {
+        return true;
+      }
+      if (filter.startsWith("mod:")) {
+        return document % Integer.parseInt(filter.substring(4)) == 0;
+      }
+      if (filter.equals("!year:*")) {
+        return !hasYear(document);
+      }
+      if (!hasYear(document)) {
+        return false;
+      }
+      int year = 2000 + document % 3;
+      for (String condition : filter.split(",")) {
+        int bound = Integer.parseInt(condition.replaceAll("[^0-9]", ""));
+        if (condition.contains(">=") ? year < bound : year >= bound) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private MockResponse json(String body) {
+      return new MockResponse().setHeader("Content-type", "application/json").setBody(body);
+    }
+  }
+
+  /** Collects the results. */
+  private static final class ListSink implements ExportSink {
+    final List<QueryResult> results = Collections.synchronizedList(new ArrayList<QueryResult>());
+
+    @Override
+    public void write(QueryResult result) {
+      results.add(result);
+    }
+  }
+
+  @BeforeMethod
+  public void setUp() throws IOException {
+    filters = Collections.synchronizedList(new ArrayList<String>());
+    sorts = Collections.synchronizedList(new ArrayList<String>());
+    failures = new AtomicInteger();
+    server = new MockWebServer();
+    server.setDispatcher(new Corpus());
+    server.start();
+    service = new Discovery("2020-08-30", new NoAuthAuthenticator());
+    service.setServiceUrl(server.url("/").toString());
+  }
+
+  @AfterMethod
+  public void tearDown() throws IOException {
+    server.shutdown();
+  }
+
+  private ResultExporter.Builder exporter() {
+    return new ResultExporter.Builder(
+            service, new QueryOptions.Builder().projectId("project").build())
+        .pageSize(20)
+        .maxConcurrency(4)
+        .initialBackoffMillis(1);
+  }
+
+  private static boolean hasYear(int document) {
+    return document % 50 != 49;
+  }
+
+  private static Set<String> documentIds(List<QueryResult> results) {
+    Set<String> ids = new HashSet<>();
+    for (QueryResult result : results) {
+      ids.add(result.getDocumentId());
+    }
+    return ids;
+  }
+
+  /** Tests that every page of the results is exported. */
+  @Test
+  public void testExport() throws Exception {
+    ListSink sink = new ListSink();
+
+    ExportStatistics statistics = exporter().build().export(sink);
+
+    assertEquals(sink.results.size(), DOCUMENT_COUNT);
+    assertEquals(documentIds(sink.results).size(), DOCUMENT_COUNT);
+    assertEquals(statistics.getExportedCount(), DOCUMENT_COUNT);
+    assertEquals(statistics.getPageCount(), 13);
+    assertEquals(statistics.getPartitionCount(), 1);
+    assertEquals(statistics.getDuplicateCount(), 0);
+    assertTrue(statistics.getDocumentsPerSecond() > 0);
+  }
+
+  /** Tests that a query without a sort is sorted by document ID, and that a sort is kept. */
+  @Test
+  public void testSort() throws Exception {
+    exporter().build().export(new ListSink());
+    assertEquals(new HashSet<>(sorts), Collections.singleton("document_id"));
+
+    sorts.clear();
+    new ResultExporter.Builder(
+            service, new QueryOptions.Builder().projectId("project").sort("-year").build())
+        .pageSize(50)
+        .build()
+        .export(new ListSink());
+    assertEquals(new HashSet<>(sorts), Collections.singleton("-year"));
+  }
+
+  /** Tests that the results are split by the time slices of an aggregation. */
+  @Test
+  public void testExportByTimeslice() throws Exception {
+    ListSink sink = new ListSink();
+
+    ExportStatistics statistics =
+        exporter().build().exportByTimeslice("year", "1year", sink);
+
+    assertEquals(documentIds(sink.results).size(), DOCUMENT_COUNT);
+    assertEquals(statistics.getPartitionCount(), 4);
+    assertTrue(filters.contains("year>=\"2000\",year<\"2001\""));
+    assertTrue(filters.contains("year>=\"2002\""));
+    // the documents without a year are in no time slice
+    assertTrue(filters.contains("!year:*"));
+    assertTrue(documentIds(sink.results).contains("doc49"));
+  }
+
+  /** Tests that results in overlapping partitions are exported once. */
+  @Test
+  public void testDuplicates() throws Exception {
+    ListSink sink = new ListSink();
+
+    ExportStatistics statistics =
+        exporter().build().exportByFilters(Arrays.asList("mod:2", "mod:3"), sink);
+
+    // 125 even numbers and 84 multiples of 3, 42 of them multiples of 6
+    assertEquals(sink.results.size(), 167);
+    assertEquals(documentIds(sink.results).size(), 167);
+    assertEquals(statistics.getDuplicateCount(), 42);
+  }
+
+  /** Tests that partitions are cut at the result window and failed pages are retried. */
+  @Test
+  public void testWindowAndRetries() throws Exception {
+    failures.set(3);
+    ListSink sink = new ListSink();
+
+    ExportStatistics statistics = exporter().maxResultWindow(100).build().export(sink);
+
+    assertEquals(sink.results.size(), 100);
+    assertEquals(statistics.getTruncatedCount(), 150);
+    assertEquals(statistics.getRetryCount(), 3);
+  }
+
+  /** Tests that a page failing with a client error ends the export. */
+  @Test
+  public void testFailure() throws Exception {
+    server.setDispatcher(
+        new Dispatcher() {
+          @Override
+          public MockResponse dispatch(RecordedRequest request) {
+            return new MockResponse()
+                .setResponseCode(400)
+                .setHeader("Content-type", "application/json")
+                .setBody("{\"error\": \"Invalid filter\", \"code\": 400}");
+          }
+        });
+
+    try {
+      exporter().build().export(new ListSink());
+      fail("the export should fail");
+    } catch (BadRequestException e) {
+      // expected
+    }
+  }
+
+  /** Tests that the results are written to a file as one JSON object per line. */
+  @Test
+  public void testNdjsonFileSink() throws Exception {
+    File file = File.createTempFile("export", ".ndjson");
+    try {
+      try (NdjsonFileSink sink = new NdjsonFileSink(file.toPath())) {
+        exporter().projection(FieldProjection.of("year")).build().export(sink);
+      }
+
+      List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+      assertEquals(lines.size(), DOCUMENT_COUNT);
+      Set<String> ids = new HashSet<>();
+      for (String line : lines) {
+        JsonObject result = JsonParser.parseString(line).getAsJsonObject();
+        String id = result.get("document_id").getAsString();
+        boolean hasYear = hasYear(Integer.parseInt(id.substring(3)));
+        assertEquals(result.size(), hasYear ? 2 : 1);
+        assertEquals(result.has("year"), hasYear);
+        ids.add(id);
+      }
+      assertEquals(ids.size(), DOCUMENT_COUNT);
+    } finally {
+      file.delete();
+    }
+  }
+}
@@ -0,0 +1,272 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.discovery.v2.ingestion;
+
+import static org.testng.Assert.*;
+
+import com.ibm.cloud.sdk.core.security.NoAuthAuthenticator;
+import com.ibm.watson.discovery.v2.Discovery;
+import com.ibm.watson.discovery.v2.model.DocumentAccepted;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Unit tests for the {@link BulkIngester}. */
+public class BulkIngesterTest {
+
+  private MockWebServer server;
+  private Discovery service;
+  private File directory;
+  private File checkpoint;
+
+  @BeforeMethod
+  public void setUp() throws IOException {
+    server = new MockWebServer();
+    server.start();
+    service = new Discovery("2020-08-30", new NoAuthAuthenticator());
+    service.setServiceUrl(server.url("/").toString());
+    directory = Files.createTempDirectory("ingestion").toFile();
+    checkpoint = File.createTempFile("ingestion", ".checkpoint");
+    checkpoint.delete();
+  }
+
+  @AfterMethod
+  public void tearDown() throws IOException {
+    server.shutdown();
+    delete(directory);
+    checkpoint.delete();
+  }
+
+  private static void delete(File file) {
+    File[] children = file.listFiles();
+    if (children != null) {
+      for (File child : children) {
+        delete(child);
+      }
+    }
+    file.delete();
+  }
+
+  private static MockResponse accepted(String documentId) {
+    return new MockResponse()
+        .setResponseCode(202)
+        .setHeader("Content-type", "application/json")
+        .setBody("{\"document_id\": \"" + documentId + "\", \"status\": \"processing\"}");
+  }
+
+  private void writeFiles(int count) throws IOException {
+    File subdirectory = new File(directory, "sub");
+    subdirectory.mkdirs();
+    for (int i = 0; i < count; i++) {
+      File parent = i % 2 == 0 ? directory : subdirectory;
+      Files.write(
+          new File(parent, "doc" + i + ".json").toPath(),
+          ("{\"text\": \"document " + i + "\"}").getBytes(StandardCharsets.UTF_8));
+    }
+  }
+
+  private BulkIngester.Builder ingester() {
+    return new BulkIngester.Builder(service, "project", "collection")
+        .maxConcurrency(3)
+        .initialBackoffMillis(10)
+        .checkpointFile(checkpoint);
+  }
+
+  /** Records the outcome of each document. */
+  private static class RecordingListener implements IngestionListener {
+    final List<String> ingested = Collections.synchronizedList(new ArrayList<String>());
+    final List<String> failed = Collections.synchronizedList(new ArrayList<String>());
+    final AtomicInteger progress = new AtomicInteger();
+
+    @Override
+    public void onDocumentIngested(DocumentSource source, DocumentAccepted documentAccepted) {
+      ingested.add(source.key());
+    }
+
+    @Override
+    public void onDocumentFailed(DocumentSource source, Exception e) {
+      failed.add(source.key());
+    }
+
+    @Override
+    public void onProgress(IngestionStatistics statistics) {
+      progress.incrementAndGet();
+    }
+  }
+
+  @Test
+  public void testIngestDirectory() throws Throwable {
+    writeFiles(5);
+    for (int i = 0; i < 5; i++) {
+      server.enqueue(accepted("document" + i));
+    }
+    RecordingListener listener = new RecordingListener();
+
+    IngestionStatistics statistics =
+        ingester().listener(listener).build().ingestDirectory(directory);
+
+    assertEquals(statistics.getIngestedCount(), 5);
+    assertEquals(statistics.getFailedCount(), 0);
+    assertTrue(statistics.getBytesSent() > 0);
+    assertEquals(listener.ingested.size(), 5);
+    assertTrue(listener.ingested.contains("sub/doc1.json"));
+    assertTrue(listener.progress.get() > 0);
+    assertEquals(server.getRequestCount(), 5);
+    RecordedRequest request = server.takeRequest();
+    assertEquals(request.getMethod(), "POST");
+    assertTrue(
+        request.getPath().startsWith("/v2/projects/project/collections/collection/documents?"));
+    String body = request.getBody().readUtf8();
+    assertTrue(body.contains("filename=\"doc"));
+    assertTrue(body.contains("{\"text\": \"document "));
+    assertEquals(Files.readAllLines(checkpoint.toPath()).size(), 5);
+  }
+
+  @Test
+  public void testResumeFromCheckpoint() throws Throwable {
+    writeFiles(4);
+    server.enqueue(accepted("document0"));
+    server.enqueue(accepted("document1"));
+    BulkIngester ingester = ingester().maxConcurrency(1).build();
+    File first = new File(directory, "doc0.json");
+    File second = new File(directory, "sub/doc1.json");
+    ingester.ingest(
+        Arrays.asList(
+            DocumentSource.fromFile(first, "doc0.json"),
+            DocumentSource.fromFile(second, "sub/doc1.json")));
+    // a record cut short by a crash
+    Files.write(
+        checkpoint.toPath(),
+        "{\"key\": \"doc2".getBytes(StandardCharsets.UTF_8),
+        StandardOpenOption.APPEND);
+
+    server.enqueue(accepted("document2"));
+    server.enqueue(accepted("document3"));
+    IngestionStatistics statistics = ingester.ingestDirectory(directory);
+
+    assertEquals(statistics.getSkippedCount(), 2);
+    assertEquals(statistics.getIngestedCount(), 2);
+    assertEquals(server.getRequestCount(), 4);
+  }
+
+  @Test
+  public void testThrottledRequestIsRetried() throws Throwable {
+    server.enqueue(
+        new MockResponse()
+            .setResponseCode(429)
+            .setHeader("Retry-After", "0")
+            .setHeader("Content-type", "application/json")
+            .setBody("{\"error\": \"Too many requests\", \"code\": 429}"));
+    server.enqueue(
+        new MockResponse()
+            .setResponseCode(503)
+            .setHeader("Content-type", "application/json")
+            .setBody("{\"error\": \"Unavailable\", \"code\": 503}"));
+    server.enqueue(accepted("document"));
+
+    IngestionStatistics statistics =
+        ingester()
+            .build()
+            .ingest(
+                Collections.singletonList(
+                    new DocumentSource.Builder("memory")
+                        .documentId("memory")
+                        .content("{}".getBytes(StandardCharsets.UTF_8))
+                        .filename("memory.json")
+                        .fileContentType("application/json")
+                        .build()));
+
+    assertEquals(statistics.getIngestedCount(), 1);
+    assertEquals(statistics.getThrottledCount(), 1);
+    assertEquals(statistics.getRetryCount(), 2);
+    assertTrue(statistics.getConcurrencyLimit() < 3);
+    assertEquals(server.getRequestCount(), 3);
+  }
+
+  @Test
+  public void testAddIsNotRetriedOnServerError() throws Throwable {
+    server.enqueue(
+        new MockResponse()
+            .setResponseCode(503)
+            .setHeader("Content-type", "application/json")
+            .setBody("{\"error\": \"Unavailable\", \"code\": 503}"));
+    server.enqueue(accepted("duplicate"));
+
+    IngestionStatistics statistics =
+        ingester()
+            .build()
+            .ingest(
+                Collections.singletonList(
+                    new DocumentSource.Builder("metadata").metadata("{\"a\": 1}").build()));
+
+    assertEquals(statistics.getFailedCount(), 1);
+    assertEquals(statistics.getRetryCount(), 0);
+    assertEquals(server.getRequestCount(), 1);
+  }
+
+  @Test
+  public void testClientErrorIsNotRetried() throws Throwable {
+    server.enqueue(
+        new MockResponse()
+            .setResponseCode(400)
+            .setHeader("Content-type", "application/json")
+            .setBody("{\"error\": \"Bad request\", \"code\": 400}"));
+    RecordingListener listener = new RecordingListener();
+
+    IngestionStatistics statistics =
+        ingester()
+            .listener(listener)
+            .build()
+            .ingest(
+                Collections.singletonList(
+                    new DocumentSource.Builder("metadata").metadata("{\"a\": 1}").build()));
+
+    assertEquals(statistics.getFailedCount(), 1);
+    assertEquals(statistics.getRetryCount(), 0);
+    assertEquals(listener.failed, Collections.singletonList("metadata"));
+    assertFalse(checkpoint.exists() && checkpoint.length() > 0);
+  }
+
+  @Test
+  public void testUpdateDocument() throws Throwable {
+    server.enqueue(accepted("existing"));
+
+    ingester()
+        .build()
+        .ingest(
+            Collections.singletonList(
+                new DocumentSource.Builder("existing")
+                    .documentId("existing")
+                    .metadata("{\"a\": 1}")
+                    .build()));
+
+    assertTrue(
+        server
+            .takeRequest()
+            .getPath()
+            .startsWith("/v2/projects/project/collections/collection/documents/existing?"));
+  }
+}
@@ -0,0 +1,164 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.discovery.v2.stream;
+
+import static org.testng.Assert.*;
+
+import com.ibm.cloud.sdk.core.security.NoAuthAuthenticator;
+import com.ibm.watson.discovery.v2.Discovery;
+import com.ibm.watson.discovery.v2.model.QueryOptions;
+import com.ibm.watson.discovery.v2.model.QueryResponse;
+import com.ibm.watson.discovery.v2.model.QueryResult;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Unit tests for the {@link QueryResultStream}. */
+public class QueryResultStreamTest {
+
+  private static final String RESPONSE =
+      "{\"matching_results\": 2,"
+          + " \"retrieval_details\": {\"document_retrieval_strategy\": \"untrained\"},"
+          + " \"results\": ["
+          + result("doc1", "First")
+          + ", "
+          + result("doc2", "Second")
+          + "],"
+          + " \"suggested_query\": \"suggestion\"}";
+
+  private MockWebServer server;
+  private Discovery service;
+
+  private static String result(String id, String title) {
+    return "{\"document_id\": \""
+        + id
+        + "\", \"text\": [\"long text\"], \"metadata\": {\"title\": \""
+        + title
+        + "\", \"author\": \"someone\"},"
+        + " \"enriched_text\": [{\"entities\": [{\"text\": \"IBM\", \"type\": \"Organization\"}]}],"
+        + " \"result_metadata\": {\"collection_id\": \"collection\", \"confidence\": 0.5}}";
+  }
+
+  @BeforeMethod
+  public void setUp() throws IOException {
+    server = new MockWebServer();
+    server.start();
+    service = new Discovery("2020-08-30", new NoAuthAuthenticator());
+    service.setServiceUrl(server.url("/").toString());
+  }
+
+  @AfterMethod
+  public void tearDown() throws IOException {
+    server.shutdown();
+  }
+
+  private QueryResultStream query(FieldProjection projection) {
+    server.enqueue(
+        new MockResponse().setHeader("Content-type", "application/json").setBody(RESPONSE));
+    return service
+        .queryStream(new QueryOptions.Builder().projectId("project").build(), projection)
+        .execute()
+        .getResult();
+  }
+
+  /** Tests that every field is decoded by default, with the rest of the response. */
+  @Test
+  public void testStream() {
+    QueryResultStream stream = query(FieldProjection.all());
+
+    QueryResult first = stream.next();
+    assertEquals(stream.getSummary().getMatchingResults(), Long.valueOf(2));
+    assertNull(stream.getSummary().getSuggestedQuery());
+    List<QueryResult> rest = new ArrayList<>();
+    while (stream.hasNext()) {
+      rest.add(stream.next());
+    }
+
+    assertEquals(first.getDocumentId(), "doc1");
+    assertEquals(first.getMetadata().get("title"), "First");
+    assertNotNull(first.get("text"));
+    assertEquals(first.getResultMetadata().getConfidence(), Double.valueOf(0.5));
+    assertEquals(rest.size(), 1);
+    assertEquals(rest.get(0).getDocumentId(), "doc2");
+    assertEquals(stream.getResultCount(), 2);
+    QueryResponse summary = stream.getSummary();
+    assertEquals(summary.getSuggestedQuery(), "suggestion");
+    assertEquals(summary.getRetrievalDetails().getDocumentRetrievalStrategy(), "untrained");
+    assertNull(summary.getResults());
+  }
+
+  /** Tests that only the selected fields are decoded. */
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testProjection() {
+    QueryResultStream stream =
+        query(FieldProjection.of("metadata.title", "enriched_text.entities.text", "missing.x"));
+
+    List<QueryResult> results = new ArrayList<>();
+    stream.stream().forEach(results::add);
+
+    assertEquals(results.size(), 2);
+    QueryResult result = results.get(1);
+    assertEquals(result.getDocumentId(), "doc2");
+    assertEquals(result.getMetadata().size(), 1);
+    assertEquals(result.getMetadata().get("title"), "Second");
+    assertNull(result.get("text"));
+    assertNull(result.getResultMetadata());
+    List<Map<String, Object>> enrichments =
+        (List<Map<String, Object>>) result.get("enriched_text");
+    List<Map<String, Object>> entities =
+        (List<Map<String, Object>>) enrichments.get(0).get("entities");
+    assertEquals(entities.get(0).get("text"), "IBM");
+    assertEquals(entities.get(0).size(), 1);
+  }
+
+  /** Tests that the stream can be closed before its results are read. */
+  @Test
+  public void testClose() {
+    QueryResultStream stream = query(FieldProjection.of("metadata"));
+
+    assertTrue(stream.hasNext());
+    stream.close();
+
+    assertFalse(stream.hasNext());
+    assertEquals(stream.getResultCount(), 1);
+  }
+
+  /** Tests that a truncated response fails. */
+  @Test
+  public void testTruncatedResponse() {
+    // the response is cut in the middle of the second result
+    byte[] truncated =
+        RESPONSE.substring(0, RESPONSE.indexOf("doc2") + 10).getBytes(StandardCharsets.UTF_8);
+    QueryResultStream stream =
+        new QueryResultStream(new ByteArrayInputStream(truncated), FieldProjection.all());
+
+    assertEquals(stream.next().getDocumentId(), "doc1");
+    try {
+      stream.hasNext();
+      fail("reading a truncated response should fail");
+    } catch (UncheckedIOException e) {
+      // expected
+    }
+    assertFalse(stream.hasNext());
+  }
+}
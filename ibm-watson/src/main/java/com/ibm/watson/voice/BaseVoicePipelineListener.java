@@ -0,0 +1,50 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.voice;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/** A {@link VoicePipelineListener} with empty implementations, that logs the errors. */
+public class BaseVoicePipelineListener implements VoicePipelineListener {
+  private static final Logger LOG = Logger.getLogger(BaseVoicePipelineListener.class.getName());
+
+  @Override
+  public void onListening() {}
+
+  @Override
+  public void onTranscript(String transcript, boolean isFinal) {}
+
+  @Override
+  public void onResponseText(String text) {}
+
+  @Override
+  public void onContentType(String contentType) {}
+
+  @Override
+  public void onAudio(byte[] audio) {}
+
+  @Override
+  public void onBargeIn() {}
+
+  @Override
+  public void onTurnComplete() {}
+
+  @Override
+  public void onError(Exception e) {
+    LOG.log(Level.SEVERE, e.getMessage(), e);
+  }
+
+  @Override
+  public void onDisconnected() {}
+}
@@ -0,0 +1,150 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.voice;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A histogram of latencies that can be recorded from several threads without locking.
+ *
+ * <p>Values are counted in logarithmic buckets, each power of two being divided into 16 linear
+ * sub-buckets, so a percentile is accurate to about 6% whatever the range of the latencies, with a
+ * fixed footprint.
+ */
+public final class LatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 4;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  private final AtomicLong count = new AtomicLong();
+  private final AtomicLong sum = new AtomicLong();
+  private final AtomicLong max = new AtomicLong();
+
+  /**
+   * Records a latency. Negative latencies are recorded as 0.
+   *
+   * @param duration the latency
+   * @param unit the unit of the latency
+   */
+  public void record(long duration, TimeUnit unit) {
+    long nanos = Math.max(0, unit.toNanos(duration));
+    counts.incrementAndGet(bucket(nanos));
+    count.incrementAndGet();
+    sum.addAndGet(nanos);
+    long current;
+    while (nanos > (current = max.get()) && !max.compareAndSet(current, nanos)) {
+      // retry until the maximum is at least this latency
+    }
+  }
+
+  /**
+   * Gets the number of recorded latencies.
+   *
+   * @return the count
+   */
+  public long getCount() {
+    return count.get();
+  }
+
+  /**
+   * Gets the highest recorded latency.
+   *
+   * @param unit the unit of the result
+   * @return the maximum, or 0 if nothing has been recorded
+   */
+  public long getMax(TimeUnit unit) {
+    return unit.convert(max.get(), TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Gets the mean of the recorded latencies.
+   *
+   * @param unit the unit of the result
+   * @return the mean, or 0 if nothing has been recorded
+   */
+  public double getMean(TimeUnit unit) {
+    long n = count.get();
+    return n == 0 ? 0 : (double) sum.get() / n / unit.toNanos(1);
+  }
+
+  /**
+   * Gets a percentile of the recorded latencies, for example 50 for the median or 99 for the tail.
+   *
+   * @param percentile the percentile, between 0 and 100
+   * @param unit the unit of the result
+   * @return the upper bound of the bucket holding the percentile, or 0 if nothing has been
+   *     recorded
+   */
+  public long getPercentile(double percentile, TimeUnit unit) {
+    com.ibm.cloud.sdk.core.util.Validator.isTrue(
+        percentile >= 0 && percentile <= 100, "percentile must be between 0 and 100");
+    long total = count.get();
+    if (total == 0) {
+      return 0;
+    }
+    long rank = Math.max(1, (long) Math.ceil(total * percentile / 100));
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += counts.get(i);
+      if (seen >= rank) {
+        return unit.convert(Math.min(upperBound(i), max.get()), TimeUnit.NANOSECONDS);
+      }
+    }
+    return getMax(unit);
+  }
+
+  /** Clears the recorded latencies. */
+  public void reset() {
+    for (int i = 0; i < BUCKETS; i++) {
+      counts.set(i, 0);
+    }
+    count.set(0);
+    sum.set(0);
+    max.set(0);
+  }
+
+  static int bucket(long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+    int exponent = 63 - Long.numberOfLeadingZeros(value);
+    int shift = exponent - SUB_BUCKET_BITS;
+    return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+  }
+
+  static long upperBound(int bucket) {
+    if (bucket < SUB_BUCKETS) {
+      return bucket;
+    }
+    int shift = bucket / SUB_BUCKETS - 1;
+    long lower = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+    return lower + (1L << shift) - 1;
+  }
+
+  @Override
+  public String toString() {
+    TimeUnit ms = TimeUnit.MILLISECONDS;
+    return String.format(
+        "count=%d mean=%.1fms p50=%dms p95=%dms p99=%dms max=%dms",
+        getCount(),
+        getMean(ms),
+        getPercentile(50, ms),
+        getPercentile(95, ms),
+        getPercentile(99, ms),
+        getMax(ms));
+  }
+}
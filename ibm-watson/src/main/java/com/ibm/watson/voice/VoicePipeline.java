@@ -0,0 +1,512 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.voice;
+
+import com.ibm.watson.assistant.v2.Assistant;
+import com.ibm.watson.assistant.v2.model.CompleteItem;
+import com.ibm.watson.assistant.v2.model.MessageInput;
+import com.ibm.watson.assistant.v2.model.MessageStreamOptions;
+import com.ibm.watson.assistant.v2.model.MessageStreamResponse;
+import com.ibm.watson.assistant.v2.model.PartialItem;
+import com.ibm.watson.speech_to_text.v1.SpeechToText;
+import com.ibm.watson.speech_to_text.v1.model.RecognizeWithWebsocketsOptions;
+import com.ibm.watson.speech_to_text.v1.model.SpeechRecognitionResult;
+import com.ibm.watson.speech_to_text.v1.model.SpeechRecognitionResults;
+import com.ibm.watson.speech_to_text.v1.websocket.BaseRecognizeCallback;
+import com.ibm.watson.text_to_speech.v1.TextToSpeech;
+import com.ibm.watson.text_to_speech.v1.model.SynthesizeOptions;
+import com.ibm.watson.text_to_speech.v1.websocket.BaseSynthesizeCallback;
+import com.ibm.watson.text_to_speech.v1.websocket.SynthesisStream;
+import java.io.Closeable;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import okhttp3.WebSocket;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Runs a spoken conversation: the user's speech is recognized by Speech to Text, each final
+ * transcript is sent to Assistant, and the assistant's response is synthesized by Text to Speech.
+ *
+ * <p>The stages overlap to keep the response latency low. The message is sent as soon as the
+ * recognizer returns a final transcript, the response is streamed, and each sentence of the
+ * response is synthesized as soon as its text has arrived (see {@link SynthesisStream}), so the
+ * first audio is played before the assistant has finished responding.
+ *
+ * <p>Interim transcripts are requested from the recognizer. When one of them has text while the
+ * assistant is still responding, the user is speaking over the response: the response and its
+ * synthesis are cancelled and {@link VoicePipelineListener#onBargeIn()} is called.
+ *
+ * <p>The latency of every stage is recorded in a {@link LatencyHistogram}, see {@link
+ * #getLatency(Stage)}.
+ *
+ * <p>A pipeline is started once, with {@link #start()}, and runs until its audio ends or it is
+ * closed.
+ */
+public final class VoicePipeline implements Closeable {
+
+  private static final int CLOSE_NORMAL = 1000;
+
+  /** The stages of a turn whose latency is recorded. */
+  public enum Stage {
+    /** From the last interim transcript of an utterance to its final transcript. */
+    END_OF_UTTERANCE,
+    /** From the final transcript to the first text of the assistant's response. */
+    ASSISTANT_FIRST_TEXT,
+    /** From the final transcript to the end of the assistant's response. */
+    ASSISTANT_RESPONSE,
+    /** From the first text of the response to its first synthesized audio. */
+    SYNTHESIS_FIRST_AUDIO,
+    /** From the final transcript to the first synthesized audio of the response. */
+    TURN
+  }
+
+  private final SpeechToText speechToText;
+  private final Assistant assistant;
+  private final TextToSpeech textToSpeech;
+  private final RecognizeWithWebsocketsOptions recognizeOptions;
+  private final MessageStreamOptions messageOptions;
+  private final SynthesizeOptions synthesizeOptions;
+  private final VoicePipelineListener listener;
+  private final Map<Stage, LatencyHistogram> latencies = new EnumMap<>(Stage.class);
+
+  private final Object lock = new Object();
+  private WebSocket socket;
+  private Turn turn;
+  private long lastInterimNanos;
+  private boolean closed;
+
+  /** Builder. */
+  public static class Builder {
+    private final SpeechToText speechToText;
+    private final Assistant assistant;
+    private final TextToSpeech textToSpeech;
+    private RecognizeWithWebsocketsOptions recognizeOptions;
+    private MessageStreamOptions messageOptions;
+    private SynthesizeOptions synthesizeOptions;
+    private VoicePipelineListener listener;
+
+    /**
+     * Instantiates a new builder.
+     *
+     * @param speechToText the service recognizing the user's speech
+     * @param assistant the service responding to the user
+     * @param textToSpeech the service synthesizing the responses
+     */
+    public Builder(SpeechToText speechToText, Assistant assistant, TextToSpeech textToSpeech) {
+      this.speechToText = speechToText;
+      this.assistant = assistant;
+      this.textToSpeech = textToSpeech;
+    }
+
+    /**
+     * Set the options of the recognition, whose audio is the user's speech, for example from a
+     * microphone. Interim results are always requested.
+     *
+     * @param recognizeOptions the recognize options
+     * @return the VoicePipeline builder
+     */
+    public Builder recognizeOptions(RecognizeWithWebsocketsOptions recognizeOptions) {
+      this.recognizeOptions = recognizeOptions;
+      return this;
+    }
+
+    /**
+     * Set the options of the messages, with the assistant, environment and session. The input of
+     * every message is the final transcript of an utterance.
+     *
+     * @param messageOptions the message options
+     * @return the VoicePipeline builder
+     */
+    public Builder messageOptions(MessageStreamOptions messageOptions) {
+      this.messageOptions = messageOptions;
+      return this;
+    }
+
+    /**
+     * Set the options of the synthesis, such as the voice and the audio format. The text of the
+     * options is ignored. By default, the default voice and format of the service are used.
+     *
+     * @param synthesizeOptions the synthesize options
+     * @return the VoicePipeline builder
+     */
+    public Builder synthesizeOptions(SynthesizeOptions synthesizeOptions) {
+      this.synthesizeOptions = synthesizeOptions;
+      return this;
+    }
+
+    /**
+     * Set the listener receiving the transcripts, the responses and their audio.
+     *
+     * @param listener the listener
+     * @return the VoicePipeline builder
+     */
+    public Builder listener(VoicePipelineListener listener) {
+      this.listener = listener;
+      return this;
+    }
+
+    /**
+     * Builds a VoicePipeline.
+     *
+     * @return the new VoicePipeline instance
+     */
+    public VoicePipeline build() {
+      return new VoicePipeline(this);
+    }
+  }
+
+  protected VoicePipeline(Builder builder) {
+    com.ibm.cloud.sdk.core.util.Validator.notNull(
+        builder.speechToText, "speechToText cannot be null");
+    com.ibm.cloud.sdk.core.util.Validator.notNull(builder.assistant, "assistant cannot be null");
+    com.ibm.cloud.sdk.core.util.Validator.notNull(
+        builder.textToSpeech, "textToSpeech cannot be null");
+    com.ibm.cloud.sdk.core.util.Validator.notNull(
+        builder.recognizeOptions, "recognizeOptions cannot be null");
+    com.ibm.cloud.sdk.core.util.Validator.notNull(
+        builder.messageOptions, "messageOptions cannot be null");
+    com.ibm.cloud.sdk.core.util.Validator.notNull(builder.listener, "listener cannot be null");
+    speechToText = builder.speechToText;
+    assistant = builder.assistant;
+    textToSpeech = builder.textToSpeech;
+    recognizeOptions = builder.recognizeOptions.newBuilder().interimResults(true).build();
+    messageOptions = builder.messageOptions;
+    synthesizeOptions =
+        builder.synthesizeOptions != null
+            ? builder.synthesizeOptions.newBuilder().text("").build()
+            : new SynthesizeOptions.Builder().text("").build();
+    listener = builder.listener;
+    for (Stage stage : Stage.values()) {
+      latencies.put(stage, new LatencyHistogram());
+    }
+  }
+
+  /**
+   * Starts recognizing the user's speech.
+   *
+   * @return the WebSocket of the recognition
+   * @throws IllegalStateException if the pipeline has already been started or has been closed
+   */
+  public WebSocket start() {
+    synchronized (lock) {
+      if (closed || socket != null) {
+        throw new IllegalStateException("The voice pipeline has already been started");
+      }
+      socket = speechToText.recognizeUsingWebSocket(recognizeOptions, new RecognitionCallback());
+      return socket;
+    }
+  }
+
+  /**
+   * Gets the latencies recorded for a stage.
+   *
+   * @param stage the stage
+   * @return the histogram of the latencies
+   */
+  public LatencyHistogram getLatency(Stage stage) {
+    return latencies.get(stage);
+  }
+
+  /** Cancels the current response, if any, and closes the recognition connection. */
+  @Override
+  public void close() {
+    Turn current;
+    WebSocket webSocket;
+    synchronized (lock) {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      current = turn;
+      turn = null;
+      webSocket = socket;
+    }
+    if (current != null) {
+      current.cancel();
+    }
+    if (webSocket != null) {
+      webSocket.close(CLOSE_NORMAL, null);
+    }
+  }
+
+  private void record(Stage stage, long nanos) {
+    latencies.get(stage).record(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Handles a transcript: speech interrupts the current response, and a final transcript starts the
+   * next one.
+   */
+  private void onSpeech(String transcript, boolean isFinal) {
+    long now = System.nanoTime();
+    boolean speech = transcript != null && !transcript.trim().isEmpty();
+    Turn interrupted = null;
+    Turn next = null;
+    synchronized (lock) {
+      if (speech && turn != null) {
+        interrupted = turn;
+        turn = null;
+      }
+      if (!isFinal) {
+        if (speech) {
+          lastInterimNanos = now;
+        }
+      } else {
+        if (lastInterimNanos != 0) {
+          record(Stage.END_OF_UTTERANCE, now - lastInterimNanos);
+          lastInterimNanos = 0;
+        }
+        if (speech && !closed) {
+          next = new Turn(transcript.trim(), now);
+          turn = next;
+        }
+      }
+    }
+    if (interrupted != null) {
+      interrupted.cancel();
+      listener.onBargeIn();
+    }
+    listener.onTranscript(transcript, isFinal);
+    if (next != null) {
+      next.start();
+    }
+  }
+
+  /**
+   * Ends a turn if it is still the current one.
+   *
+   * @return true if the turn was current
+   */
+  private boolean endTurn(Turn ended) {
+    synchronized (lock) {
+      if (turn != ended) {
+        return false;
+      }
+      turn = null;
+      return true;
+    }
+  }
+
+  /** Forwards the results of the recognition to the pipeline. */
+  private final class RecognitionCallback extends BaseRecognizeCallback {
+
+    @Override
+    public void onTranscription(SpeechRecognitionResults speechResults) {
+      if (speechResults.getResults() == null) {
+        return;
+      }
+      for (SpeechRecognitionResult result : speechResults.getResults()) {
+        if (result.getAlternatives() != null && !result.getAlternatives().isEmpty()) {
+          onSpeech(
+              result.getAlternatives().get(0).getTranscript(),
+              Boolean.TRUE.equals(result.isXFinal()));
+        }
+      }
+    }
+
+    @Override
+    public void onListening() {
+      listener.onListening();
+    }
+
+    @Override
+    public void onError(Exception e) {
+      listener.onError(e);
+    }
+
+    @Override
+    public void onInactivityTimeout(RuntimeException runtimeException) {
+      listener.onError(runtimeException);
+    }
+
+    @Override
+    public void onDisconnected() {
+      listener.onDisconnected();
+    }
+  }
+
+  /**
+   * One response of the assistant: subscribes to the streamed message and appends its text to a
+   * synthesis stream, opened when the first text arrives.
+   */
+  private final class Turn implements Subscriber<MessageStreamResponse> {
+    private final String transcript;
+    private final long startNanos;
+    private final AtomicBoolean finished = new AtomicBoolean();
+    private volatile boolean cancelled;
+    private volatile Subscription subscription;
+    private volatile long firstTextNanos;
+    private volatile boolean audioReceived;
+    private SynthesisStream synthesis;
+    private boolean partialText;
+
+    Turn(String transcript, long startNanos) {
+      this.transcript = transcript;
+      this.startNanos = startNanos;
+    }
+
+    void start() {
+      MessageInput input =
+          new MessageInput.Builder().messageType("text").text(transcript).build();
+      assistant
+          .messageStreamPublisher(messageOptions.newBuilder().input(input).build())
+          .subscribe(this);
+    }
+
+    void cancel() {
+      cancelled = true;
+      Subscription s = subscription;
+      if (s != null) {
+        s.cancel();
+      }
+      SynthesisStream stream;
+      synchronized (this) {
+        stream = synthesis;
+      }
+      if (stream != null) {
+        stream.cancel();
+      }
+    }
+
+    @Override
+    public void onSubscribe(Subscription s) {
+      subscription = s;
+      if (cancelled) {
+        s.cancel();
+      } else {
+        s.request(Long.MAX_VALUE);
+      }
+    }
+
+    @Override
+    public void onNext(MessageStreamResponse response) {
+      if (cancelled) {
+        return;
+      }
+      long now = System.nanoTime();
+      String text = null;
+      boolean itemComplete = false;
+      PartialItem partialItem = response.getPartialItem();
+      CompleteItem completeItem = response.getCompleteItem();
+      if (partialItem != null) {
+        text = partialItem.getText();
+        partialText = true;
+      } else if (completeItem != null) {
+        // the text of a complete item has already been streamed by its partial items, if any
+        if (!partialText) {
+          text = completeItem.text();
+        }
+        partialText = false;
+        itemComplete = true;
+      }
+      if (response.getFinalResponse() != null) {
+        record(Stage.ASSISTANT_RESPONSE, now - startNanos);
+      }
+
+      if (text != null && !text.isEmpty()) {
+        if (firstTextNanos == 0) {
+          firstTextNanos = now;
+          record(Stage.ASSISTANT_FIRST_TEXT, now - startNanos);
+        }
+        listener.onResponseText(text);
+      }
+      synchronized (this) {
+        if (cancelled) {
+          return;
+        }
+        if (text != null && !text.isEmpty()) {
+          if (synthesis == null) {
+            synthesis =
+                textToSpeech.synthesizeStreamUsingWebSocket(synthesizeOptions, new AudioCallback());
+          }
+          synthesis.append(text);
+        }
+        if (itemComplete && synthesis != null) {
+          // the text of the next item starts a new sentence
+          synthesis.flush();
+        }
+      }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+      if (cancelled) {
+        return;
+      }
+      cancel();
+      if (endTurn(this)) {
+        listener.onError(t instanceof Exception ? (Exception) t : new RuntimeException(t));
+      }
+    }
+
+    @Override
+    public void onComplete() {
+      SynthesisStream stream;
+      synchronized (this) {
+        stream = synthesis;
+      }
+      if (stream != null) {
+        stream.close();
+      } else {
+        // a response without text
+        finish();
+      }
+    }
+
+    private void finish() {
+      if (!cancelled && finished.compareAndSet(false, true) && endTurn(this)) {
+        listener.onTurnComplete();
+      }
+    }
+
+    /** Forwards the audio of the response to the listener. */
+    private final class AudioCallback extends BaseSynthesizeCallback {
+
+      @Override
+      public void onError(Exception e) {
+        if (!cancelled) {
+          listener.onError(e);
+        }
+      }
+
+      @Override
+      public void onContentType(String contentType) {
+        if (!cancelled) {
+          listener.onContentType(contentType);
+        }
+      }
+
+      @Override
+      public void onAudioStream(byte[] bytes) {
+        if (cancelled) {
+          return;
+        }
+        if (!audioReceived) {
+          audioReceived = true;
+          long now = System.nanoTime();
+          record(Stage.SYNTHESIS_FIRST_AUDIO, now - firstTextNanos);
+          record(Stage.TURN, now - startNanos);
+        }
+        listener.onAudio(bytes);
+      }
+
+      @Override
+      public void onDisconnected() {
+        finish();
+      }
+    }
+  }
+}
@@ -0,0 +1,69 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.voice;
+
+/** Receives the events of a {@link VoicePipeline}. */
+public interface VoicePipelineListener {
+
+  /** Called when the speech recognizer is listening. */
+  void onListening();
+
+  /**
+   * Called with every transcript of the user's speech.
+   *
+   * @param transcript the transcript
+   * @param isFinal true if the transcript is final and starts a turn of the assistant
+   */
+  void onTranscript(String transcript, boolean isFinal);
+
+  /**
+   * Called with the text of the assistant's response as it is streamed, before it is synthesized.
+   *
+   * @param text a fragment of the response
+   */
+  void onResponseText(String text);
+
+  /**
+   * Called with the content type of the synthesized audio, once per turn.
+   *
+   * @param contentType the content type
+   */
+  void onContentType(String contentType);
+
+  /**
+   * Called with the synthesized audio of the assistant's response, to be played back.
+   *
+   * @param audio the audio
+   */
+  void onAudio(byte[] audio);
+
+  /**
+   * Called when the user starts speaking while the assistant is responding. The response and its
+   * synthesis have been cancelled; audio already passed to {@link #onAudio(byte[])} should be
+   * stopped.
+   */
+  void onBargeIn();
+
+  /** Called when the assistant's response has been synthesized completely. */
+  void onTurnComplete();
+
+  /**
+   * Called when a stage of the pipeline fails. The current turn, if any, is abandoned.
+   *
+   * @param e the exception
+   */
+  void onError(Exception e);
+
+  /** Called when the speech recognition connection closes. */
+  void onDisconnected();
+}
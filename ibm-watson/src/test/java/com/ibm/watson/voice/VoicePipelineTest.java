@@ -0,0 +1,339 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.voice;
+
+import static org.testng.Assert.*;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.ibm.cloud.sdk.core.security.NoAuthAuthenticator;
+import com.ibm.watson.assistant.v2.Assistant;
+import com.ibm.watson.assistant.v2.model.MessageStreamOptions;
+import com.ibm.watson.speech_to_text.v1.SpeechToText;
+import com.ibm.watson.speech_to_text.v1.model.RecognizeWithWebsocketsOptions;
+import com.ibm.watson.text_to_speech.v1.TextToSpeech;
+import com.ibm.watson.text_to_speech.v1.model.SynthesizeOptions;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import okhttp3.Response;
+import okhttp3.WebSocket;
+import okhttp3.WebSocketListener;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.ByteString;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Unit tests for the {@link VoicePipeline}. */
+public class VoicePipelineTest {
+
+  private static final String EVENTS =
+      "event: message\n"
+          + "data: {\"partial_item\": {\"response_type\": \"text\", "
+          + "\"text\": \"Hi there. How\"}}\n\n"
+          + "event: message\n"
+          + "data: {\"partial_item\": {\"response_type\": \"text\", "
+          + "\"text\": \" can I help?\"}}\n\n"
+          + "event: message\n"
+          + "data: {\"complete_item\": {\"response_type\": \"text\", "
+          + "\"text\": \"Hi there. How can I help?\"}}\n\n"
+          + "event: message\n"
+          + "data: {\"final_response\": {\"user_id\": \"user\"}}\n\n";
+
+  private static final String NO_TEXT_EVENTS =
+      "event: message\n" + "data: {\"final_response\": {\"user_id\": \"user\"}}\n\n";
+
+  private MockWebServer server;
+  private VoicePipeline pipeline;
+  private volatile String events;
+  private volatile boolean synthesizerResponds;
+  private volatile WebSocket recognizerSocket;
+  private List<String> messages;
+  private List<String> synthesizedTexts;
+  private CountDownLatch synthesisStarted;
+  private CountDownLatch synthesisCancelled;
+
+  /** Answers the start of the recognition and lets the test send the results. */
+  private final class Recognizer extends WebSocketListener {
+    @Override
+    public void onMessage(WebSocket webSocket, String text) {
+      JsonObject json = JsonParser.parseString(text).getAsJsonObject();
+      if ("start".equals(json.get("action").getAsString())) {
+        recognizerSocket = webSocket;
+        webSocket.send("{\"state\": \"listening\"}");
+      }
+    }
+
+    @Override
+    public void onClosing(WebSocket webSocket, int code, String reason) {
+      webSocket.close(code, null);
+    }
+  }
+
+  /** Synthesizes the text as its own bytes, or never answers. */
+  private final class Synthesizer extends WebSocketListener {
+    @Override
+    public void onMessage(WebSocket webSocket, String message) {
+      String text = JsonParser.parseString(message).getAsJsonObject().get("text").getAsString();
+      synthesizedTexts.add(text);
+      synthesisStarted.countDown();
+      if (synthesizerResponds) {
+        webSocket.send("{\"binary_streams\": [{\"content_type\": \"audio/wav\"}]}");
+        webSocket.send(ByteString.encodeUtf8(text));
+        webSocket.close(1000, null);
+      }
+    }
+
+    @Override
+    public void onFailure(WebSocket webSocket, Throwable t, Response response) {
+      synthesisCancelled.countDown();
+    }
+
+    @Override
+    public void onClosing(WebSocket webSocket, int code, String reason) {
+      synthesisCancelled.countDown();
+    }
+  }
+
+  /** Records the events of the pipeline. */
+  private static final class RecordingListener extends BaseVoicePipelineListener {
+    private final List<String> transcripts = Collections.synchronizedList(new ArrayList<String>());
+    private final StringBuffer responseText = new StringBuffer();
+    private final StringBuffer audio = new StringBuffer();
+    private final CountDownLatch listening = new CountDownLatch(1);
+    private final CountDownLatch turnComplete = new CountDownLatch(1);
+    private final CountDownLatch bargeIn = new CountDownLatch(1);
+    private volatile String contentType;
+    private volatile Exception error;
+
+    @Override
+    public void onListening() {
+      listening.countDown();
+    }
+
+    @Override
+    public void onTranscript(String transcript, boolean isFinal) {
+      transcripts.add((isFinal ? "final:" : "interim:") + transcript);
+    }
+
+    @Override
+    public void onResponseText(String text) {
+      responseText.append(text);
+    }
+
+    @Override
+    public void onContentType(String contentType) {
+      this.contentType = contentType;
+    }
+
+    @Override
+    public void onAudio(byte[] bytes) {
+      audio.append(new String(bytes));
+    }
+
+    @Override
+    public void onBargeIn() {
+      bargeIn.countDown();
+    }
+
+    @Override
+    public void onTurnComplete() {
+      turnComplete.countDown();
+    }
+
+    @Override
+    public void onError(Exception e) {
+      error = e;
+    }
+  }
+
+  @BeforeMethod
+  public void setUp() throws IOException {
+    events = EVENTS;
+    synthesizerResponds = true;
+    recognizerSocket = null;
+    messages = Collections.synchronizedList(new ArrayList<String>());
+    synthesizedTexts = Collections.synchronizedList(new ArrayList<String>());
+    synthesisStarted = new CountDownLatch(1);
+    synthesisCancelled = new CountDownLatch(1);
+
+    server = new MockWebServer();
+    server.setDispatcher(
+        new Dispatcher() {
+          @Override
+          public MockResponse dispatch(RecordedRequest request) {
+            String path = request.getPath();
+            if (path.startsWith("/v1/recognize")) {
+              return new MockResponse().withWebSocketUpgrade(new Recognizer());
+            } else if (path.startsWith("/v1/synthesize")) {
+              return new MockResponse().withWebSocketUpgrade(new Synthesizer());
+            }
+            messages.add(request.getBody().readUtf8());
+            return new MockResponse()
+                .setHeader("Content-type", "text/event-stream")
+                .setBody(events);
+          }
+        });
+    server.start();
+  }
+
+  @AfterMethod
+  public void tearDown() throws IOException {
+    if (pipeline != null) {
+      pipeline.close();
+      pipeline = null;
+    }
+    server.shutdown();
+  }
+
+  private VoicePipeline start(RecordingListener listener) throws InterruptedException {
+    String url = server.url("/").toString();
+    SpeechToText speechToText = new SpeechToText(new NoAuthAuthenticator());
+    speechToText.setServiceUrl(url);
+    Assistant assistant = new Assistant("2024-08-25", new NoAuthAuthenticator());
+    assistant.setServiceUrl(url);
+    TextToSpeech textToSpeech = new TextToSpeech(new NoAuthAuthenticator());
+    textToSpeech.setServiceUrl(url);
+
+    pipeline =
+        new VoicePipeline.Builder(speechToText, assistant, textToSpeech)
+            .recognizeOptions(
+                new RecognizeWithWebsocketsOptions.Builder()
+                    .audio(new ByteArrayInputStream(new byte[100]))
+                    .contentType("audio/l16;rate=16000")
+                    .build())
+            .messageOptions(
+                new MessageStreamOptions.Builder()
+                    .assistantId("assistant")
+                    .environmentId("environment")
+                    .sessionId("session")
+                    .build())
+            .synthesizeOptions(new SynthesizeOptions.Builder().text("").voice("en-US").build())
+            .listener(listener)
+            .build();
+    pipeline.start();
+    assertTrue(listener.listening.await(10, TimeUnit.SECONDS));
+    return pipeline;
+  }
+
+  private void sendResult(String transcript, boolean isFinal) {
+    recognizerSocket.send(
+        "{\"result_index\": 0, \"results\": [{\"final\": "
+            + isFinal
+            + ", \"alternatives\": [{\"transcript\": \""
+            + transcript
+            + "\"}]}]}");
+  }
+
+  /** Tests that a final transcript is answered and the response synthesized by sentence. */
+  @Test
+  public void testTurn() throws InterruptedException {
+    RecordingListener listener = new RecordingListener();
+    start(listener);
+
+    sendResult("hel", false);
+    sendResult("hello ", true);
+
+    assertTrue(listener.turnComplete.await(10, TimeUnit.SECONDS));
+    assertNull(listener.error);
+    assertEquals(listener.transcripts.size(), 2);
+    assertEquals(listener.transcripts.get(0), "interim:hel");
+    assertEquals(listener.transcripts.get(1), "final:hello ");
+    assertEquals(messages.size(), 1);
+    JsonObject input =
+        JsonParser.parseString(messages.get(0)).getAsJsonObject().getAsJsonObject("input");
+    assertEquals(input.get("text").getAsString(), "hello");
+    assertEquals(listener.responseText.toString(), "Hi there. How can I help?");
+    assertEquals(synthesizedTexts.size(), 2);
+    assertEquals(synthesizedTexts.get(0), "Hi there. ");
+    assertEquals(synthesizedTexts.get(1), "How can I help?");
+    assertEquals(listener.audio.toString(), "Hi there. How can I help?");
+    assertEquals(listener.contentType, "audio/wav");
+    assertEquals(listener.bargeIn.getCount(), 1);
+
+    for (VoicePipeline.Stage stage : VoicePipeline.Stage.values()) {
+      assertEquals(pipeline.getLatency(stage).getCount(), 1, stage.name());
+    }
+  }
+
+  /** Tests that speech during a response cancels its synthesis. */
+  @Test
+  public void testBargeIn() throws InterruptedException {
+    synthesizerResponds = false;
+    RecordingListener listener = new RecordingListener();
+    start(listener);
+
+    sendResult("hello", true);
+    assertTrue(synthesisStarted.await(10, TimeUnit.SECONDS));
+    sendResult("wait", false);
+
+    assertTrue(listener.bargeIn.await(10, TimeUnit.SECONDS));
+    assertTrue(synthesisCancelled.await(10, TimeUnit.SECONDS));
+    assertEquals(listener.turnComplete.getCount(), 1);
+    assertEquals(listener.audio.length(), 0);
+    assertNull(listener.error);
+    assertEquals(pipeline.getLatency(VoicePipeline.Stage.TURN).getCount(), 0);
+  }
+
+  /** Tests that a response without text completes the turn without synthesis. */
+  @Test
+  public void testResponseWithoutText() throws InterruptedException {
+    events = NO_TEXT_EVENTS;
+    RecordingListener listener = new RecordingListener();
+    start(listener);
+
+    sendResult("hello", true);
+
+    assertTrue(listener.turnComplete.await(10, TimeUnit.SECONDS));
+    assertTrue(synthesizedTexts.isEmpty());
+    assertEquals(listener.responseText.length(), 0);
+    assertEquals(pipeline.getLatency(VoicePipeline.Stage.ASSISTANT_RESPONSE).getCount(), 1);
+    assertEquals(pipeline.getLatency(VoicePipeline.Stage.TURN).getCount(), 0);
+  }
+
+  /** Tests the percentiles of the latency histogram. */
+  @Test
+  public void testLatencyHistogram() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    assertEquals(histogram.getPercentile(50, TimeUnit.MILLISECONDS), 0);
+    for (int i = 1; i <= 1000; i++) {
+      histogram.record(i, TimeUnit.MILLISECONDS);
+    }
+
+    assertEquals(histogram.getCount(), 1000);
+    assertEquals(histogram.getMax(TimeUnit.MILLISECONDS), 1000);
+    assertEquals(histogram.getMean(TimeUnit.MILLISECONDS), 500.5, 0.001);
+    long median = histogram.getPercentile(50, TimeUnit.MILLISECONDS);
+    assertTrue(median >= 500 && median <= 500 * 17 / 16, String.valueOf(median));
+    long p99 = histogram.getPercentile(99, TimeUnit.MILLISECONDS);
+    assertTrue(p99 >= 990 && p99 <= 1000, String.valueOf(p99));
+    assertEquals(histogram.getPercentile(100, TimeUnit.MILLISECONDS), 1000);
+
+    for (long value = 0; value < 100000; value = value * 3 / 2 + 1) {
+      assertTrue(LatencyHistogram.upperBound(LatencyHistogram.bucket(value)) >= value);
+    }
+    assertEquals(
+        LatencyHistogram.upperBound(LatencyHistogram.bucket(Long.MAX_VALUE)), Long.MAX_VALUE);
+
+    histogram.reset();
+    assertEquals(histogram.getCount(), 0);
+  }
+}
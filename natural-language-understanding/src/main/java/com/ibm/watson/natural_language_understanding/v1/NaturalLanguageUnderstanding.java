@@ -17,7 +17,6 @@
 
 package com.ibm.watson.natural_language_understanding.v1;
 
-import com.google.gson.JsonObject;
 import com.ibm.cloud.sdk.core.http.RequestBuilder;
 import com.ibm.cloud.sdk.core.http.ResponseConverter;
 import com.ibm.cloud.sdk.core.http.ServiceCall;
@@ -26,6 +25,7 @@ import com.ibm.cloud.sdk.core.security.ConfigBasedAuthenticatorFactory;
 import com.ibm.cloud.sdk.core.service.BaseService;
 import com.ibm.cloud.sdk.core.util.RequestUtils;
 import com.ibm.cloud.sdk.core.util.ResponseConverterUtils;
+import com.ibm.watson.common.JsonRequestBody;
 import com.ibm.watson.common.SdkCommon;
 import com.ibm.watson.natural_language_understanding.v1.model.AnalysisResults;
 import com.ibm.watson.natural_language_understanding.v1.model.AnalyzeOptions;
@@ -49,7 +49,6 @@ import com.ibm.watson.natural_language_understanding.v1.model.UpdateCategoriesMo
 import com.ibm.watson.natural_language_understanding.v1.model.UpdateClassificationsModelOptions;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Map.Entry;
 import okhttp3.MultipartBody;
 
 /**
@@ -171,17 +170,11 @@ public class NaturalLanguageUnderstanding extends BaseService {
     com.ibm.cloud.sdk.core.util.Validator.notNull(analyzeOptions, "analyzeOptions cannot be null");
     RequestBuilder builder =
         RequestBuilder.post(RequestBuilder.resolveRequestUrl(getServiceUrl(), "/v1/analyze"));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("natural-language-understanding", "v1", "analyze");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "natural-language-understanding", "v1", "analyze");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
-    final JsonObject contentJson = new JsonObject();
-    contentJson.add(
-        "features",
-        com.ibm.cloud.sdk.core.util.GsonSingleton.getGson().toJsonTree(analyzeOptions.features()));
+    final JsonRequestBody contentJson = new JsonRequestBody();
+    contentJson.add("features", analyzeOptions.features());
     if (analyzeOptions.text() != null) {
       contentJson.addProperty("text", analyzeOptions.text());
     }
@@ -209,7 +202,7 @@ public class NaturalLanguageUnderstanding extends BaseService {
     if (analyzeOptions.limitTextCharacters() != null) {
       contentJson.addProperty("limit_text_characters", analyzeOptions.limitTextCharacters());
     }
-    builder.bodyJson(contentJson);
+    builder.body(contentJson);
     ResponseConverter<AnalysisResults> responseConverter =
         ResponseConverterUtils.getValue(
             new com.google.gson.reflect.TypeToken<AnalysisResults>() {}.getType());
@@ -229,11 +222,7 @@ public class NaturalLanguageUnderstanding extends BaseService {
   public ServiceCall<ListModelsResults> listModels(ListModelsOptions listModelsOptions) {
     RequestBuilder builder =
         RequestBuilder.get(RequestBuilder.resolveRequestUrl(getServiceUrl(), "/v1/models"));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("natural-language-understanding", "v1", "listModels");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "natural-language-understanding", "v1", "listModels");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     ResponseConverter<ListModelsResults> responseConverter =
@@ -272,11 +261,7 @@ public class NaturalLanguageUnderstanding extends BaseService {
         RequestBuilder.delete(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v1/models/{model_id}", pathParamsMap));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("natural-language-understanding", "v1", "deleteModel");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "natural-language-understanding", "v1", "deleteModel");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     ResponseConverter<DeleteModelResults> responseConverter =
@@ -303,11 +288,8 @@ public class NaturalLanguageUnderstanding extends BaseService {
     RequestBuilder builder =
         RequestBuilder.post(
             RequestBuilder.resolveRequestUrl(getServiceUrl(), "/v1/models/categories"));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("natural-language-understanding", "v1", "createCategoriesModel");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(
+        builder, "natural-language-understanding", "v1", "createCategoriesModel");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     MultipartBody.Builder multipartBuilder = new MultipartBody.Builder();
@@ -360,11 +342,8 @@ public class NaturalLanguageUnderstanding extends BaseService {
     RequestBuilder builder =
         RequestBuilder.get(
             RequestBuilder.resolveRequestUrl(getServiceUrl(), "/v1/models/categories"));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("natural-language-understanding", "v1", "listCategoriesModels");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(
+        builder, "natural-language-understanding", "v1", "listCategoriesModels");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     ResponseConverter<CategoriesModelList> responseConverter =
@@ -403,11 +382,7 @@ public class NaturalLanguageUnderstanding extends BaseService {
         RequestBuilder.get(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v1/models/categories/{model_id}", pathParamsMap));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("natural-language-understanding", "v1", "getCategoriesModel");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "natural-language-understanding", "v1", "getCategoriesModel");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     ResponseConverter<CategoriesModel> responseConverter =
@@ -436,11 +411,8 @@ public class NaturalLanguageUnderstanding extends BaseService {
         RequestBuilder.put(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v1/models/categories/{model_id}", pathParamsMap));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("natural-language-understanding", "v1", "updateCategoriesModel");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(
+        builder, "natural-language-understanding", "v1", "updateCategoriesModel");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     MultipartBody.Builder multipartBuilder = new MultipartBody.Builder();
@@ -499,11 +471,8 @@ public class NaturalLanguageUnderstanding extends BaseService {
         RequestBuilder.delete(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v1/models/categories/{model_id}", pathParamsMap));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("natural-language-understanding", "v1", "deleteCategoriesModel");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(
+        builder, "natural-language-understanding", "v1", "deleteCategoriesModel");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     ResponseConverter<DeleteModelResults> responseConverter =
@@ -530,12 +499,8 @@ public class NaturalLanguageUnderstanding extends BaseService {
     RequestBuilder builder =
         RequestBuilder.post(
             RequestBuilder.resolveRequestUrl(getServiceUrl(), "/v1/models/classifications"));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders(
-            "natural-language-understanding", "v1", "createClassificationsModel");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(
+        builder, "natural-language-understanding", "v1", "createClassificationsModel");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     MultipartBody.Builder multipartBuilder = new MultipartBody.Builder();
@@ -594,12 +559,8 @@ public class NaturalLanguageUnderstanding extends BaseService {
     RequestBuilder builder =
         RequestBuilder.get(
             RequestBuilder.resolveRequestUrl(getServiceUrl(), "/v1/models/classifications"));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders(
-            "natural-language-understanding", "v1", "listClassificationsModels");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(
+        builder, "natural-language-understanding", "v1", "listClassificationsModels");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     ResponseConverter<ClassificationsModelList> responseConverter =
@@ -638,11 +599,8 @@ public class NaturalLanguageUnderstanding extends BaseService {
         RequestBuilder.get(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v1/models/classifications/{model_id}", pathParamsMap));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("natural-language-understanding", "v1", "getClassificationsModel");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(
+        builder, "natural-language-understanding", "v1", "getClassificationsModel");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     ResponseConverter<ClassificationsModel> responseConverter =
@@ -671,12 +629,8 @@ public class NaturalLanguageUnderstanding extends BaseService {
         RequestBuilder.put(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v1/models/classifications/{model_id}", pathParamsMap));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders(
-            "natural-language-understanding", "v1", "updateClassificationsModel");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(
+        builder, "natural-language-understanding", "v1", "updateClassificationsModel");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     MultipartBody.Builder multipartBuilder = new MultipartBody.Builder();
@@ -741,12 +695,8 @@ public class NaturalLanguageUnderstanding extends BaseService {
         RequestBuilder.delete(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v1/models/classifications/{model_id}", pathParamsMap));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders(
-            "natural-language-understanding", "v1", "deleteClassificationsModel");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(
+        builder, "natural-language-understanding", "v1", "deleteClassificationsModel");
     builder.header("Accept", "application/json");
     builder.query("version", String.valueOf(this.version));
     ResponseConverter<DeleteModelResults> responseConverter =
@@ -0,0 +1,632 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.natural_language_understanding.v1.batch;
+
+import com.ibm.cloud.sdk.core.http.Response;
+import com.ibm.cloud.sdk.core.http.ServiceCall;
+import com.ibm.cloud.sdk.core.http.ServiceCallback;
+import com.ibm.watson.common.ConcurrencyLimiter;
+import com.ibm.watson.common.DaemonThreadFactory;
+import com.ibm.watson.common.RetryPolicy;
+import com.ibm.watson.natural_language_understanding.v1.NaturalLanguageUnderstanding;
+import com.ibm.watson.natural_language_understanding.v1.model.AnalysisResults;
+import com.ibm.watson.natural_language_understanding.v1.model.AnalyzeOptions;
+import com.ibm.watson.natural_language_understanding.v1.model.Features;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import okhttp3.Dispatcher;
+
+/**
+ * Analyzes many items with {@link NaturalLanguageUnderstanding#analyze(AnalyzeOptions)}, one
+ * request per item.
+ *
+ * <p>Requests are sent asynchronously, so no thread waits for a response, and up to <code>
+ * maxConcurrency</code> are in flight. The bound adapts to the service: it shrinks when the latency
+ * of the responses rises well above its long-term average, and is halved when the service rejects a
+ * request with status 429, after which nothing is sent until the delay in the <code>Retry-After
+ * </code> header has passed; it then grows back as responses arrive in good time (see {@link
+ * ConcurrencyLimiter}). Throttled requests, server errors and network failures are retried as
+ * decided by a {@link RetryPolicy}, up to <code>maxRetries</code> times per item. An item that
+ * still fails is reported with its failure, and the batch goes on.
+ *
+ * <p>Results are returned in the order of the items, or in the order they complete. Items are read
+ * only as fast as their results are consumed: at most <code>maxBufferedResults</code> items are
+ * sent and not yet returned, which also bounds the results held while waiting for an earlier item.
+ *
+ * <p>The requests are also bounded by the {@link Dispatcher} of the client. Every client built by
+ * the SDK shares one dispatcher, which allows 5 requests per host, so the analyzer does not change
+ * its limits, and <code>maxConcurrency</code> defaults to 5. Above that, the requests beyond 5 wait
+ * in the dispatcher, where the limiter cannot see the service slow down or throttle them, so a
+ * larger <code>maxConcurrency</code> requires a client with its own dispatcher, set on the service:
+ *
+ * <pre>
+ * Dispatcher dispatcher = new Dispatcher();
+ * dispatcher.setMaxRequestsPerHost(maxConcurrency);
+ * service.setClient(service.getClient().newBuilder().dispatcher(dispatcher).build());
+ * </pre>
+ */
+public class BatchAnalyzer {
+  private static final Logger LOG = Logger.getLogger(BatchAnalyzer.class.getName());
+
+  /** The order in which the results of a batch are returned. */
+  public enum Order {
+    /** The order of the items. */
+    INPUT,
+    /** The order in which the items complete, which returns each result as soon as possible. */
+    COMPLETION
+  }
+
+  private final NaturalLanguageUnderstanding naturalLanguageUnderstanding;
+  private final int maxConcurrency;
+  private final int maxBufferedResults;
+  private final int maxRetries;
+  private final RetryPolicy retryPolicy;
+
+  /** Builder. */
+  public static class Builder {
+    private NaturalLanguageUnderstanding naturalLanguageUnderstanding;
+    private int maxConcurrency = 5;
+    private int maxBufferedResults = 256;
+    private int maxRetries = 5;
+    private long initialBackoffMillis = 500;
+    private long maxBackoffMillis = 60000;
+
+    /**
+     * Instantiates a new builder with required properties.
+     *
+     * @param naturalLanguageUnderstanding the client sending the requests
+     */
+    public Builder(NaturalLanguageUnderstanding naturalLanguageUnderstanding) {
+      this.naturalLanguageUnderstanding = naturalLanguageUnderstanding;
+    }
+
+    /**
+     * Set the maximum number of requests in flight. Defaults to 5, the number of requests per host
+     * of the dispatcher shared by the clients of the SDK; see {@link BatchAnalyzer}.
+     *
+     * @param maxConcurrency the maximum number of requests in flight
+     * @return the BatchAnalyzer builder
+     */
+    public Builder maxConcurrency(int maxConcurrency) {
+      this.maxConcurrency = maxConcurrency;
+      return this;
+    }
+
+    /**
+     * Set the maximum number of items sent whose results have not been returned. Defaults to 256.
+     *
+     * @param maxBufferedResults the maximum number of items
+     * @return the BatchAnalyzer builder
+     */
+    public Builder maxBufferedResults(int maxBufferedResults) {
+      this.maxBufferedResults = maxBufferedResults;
+      return this;
+    }
+
+    /**
+     * Set the maximum number of times an item is retried. Defaults to 5.
+     *
+     * @param maxRetries the maximum number of retries
+     * @return the BatchAnalyzer builder
+     */
+    public Builder maxRetries(int maxRetries) {
+      this.maxRetries = maxRetries;
+      return this;
+    }
+
+    /**
+     * Set the initial backoff of the {@link RetryPolicy}. Defaults to 500 ms.
+     *
+     * @param initialBackoffMillis the delay in milliseconds
+     * @return the BatchAnalyzer builder
+     */
+    public Builder initialBackoffMillis(long initialBackoffMillis) {
+      this.initialBackoffMillis = initialBackoffMillis;
+      return this;
+    }
+
+    /**
+     * Set the maximum backoff of the {@link RetryPolicy}. Defaults to 60 seconds.
+     *
+     * @param maxBackoffMillis the delay in milliseconds
+     * @return the BatchAnalyzer builder
+     */
+    public Builder maxBackoffMillis(long maxBackoffMillis) {
+      this.maxBackoffMillis = maxBackoffMillis;
+      return this;
+    }
+
+    /**
+     * Builds a BatchAnalyzer.
+     *
+     * @return the new BatchAnalyzer instance
+     */
+    public BatchAnalyzer build() {
+      return new BatchAnalyzer(this);
+    }
+  }
+
+  protected BatchAnalyzer(Builder builder) {
+    com.ibm.cloud.sdk.core.util.Validator.notNull(
+        builder.naturalLanguageUnderstanding, "naturalLanguageUnderstanding cannot be null");
+    com.ibm.cloud.sdk.core.util.Validator.isTrue(
+        builder.maxConcurrency > 0, "maxConcurrency must be positive");
+    com.ibm.cloud.sdk.core.util.Validator.isTrue(
+        builder.maxBufferedResults > 0, "maxBufferedResults must be positive");
+    com.ibm.cloud.sdk.core.util.Validator.isTrue(
+        builder.maxRetries >= 0, "maxRetries cannot be negative");
+    com.ibm.cloud.sdk.core.util.Validator.isTrue(
+        builder.initialBackoffMillis >= 0 && builder.maxBackoffMillis >= 0,
+        "backoff cannot be negative");
+    naturalLanguageUnderstanding = builder.naturalLanguageUnderstanding;
+    maxConcurrency = builder.maxConcurrency;
+    maxBufferedResults = builder.maxBufferedResults;
+    maxRetries = builder.maxRetries;
+    retryPolicy = new RetryPolicy(builder.initialBackoffMillis, builder.maxBackoffMillis);
+  }
+
+  /**
+   * Analyzes a stream of items.
+   *
+   * @param items the options of the items
+   * @param order the order of the results
+   * @return the results, which must be closed if they are not all consumed
+   */
+  public BatchResults analyze(Stream<AnalyzeOptions> items, Order order) {
+    return analyze(items.iterator(), order);
+  }
+
+  /**
+   * Analyzes a collection of items.
+   *
+   * @param items the options of the items
+   * @param order the order of the results
+   * @return the results, which must be closed if they are not all consumed
+   */
+  public BatchResults analyze(Iterable<AnalyzeOptions> items, Order order) {
+    return analyze(items.iterator(), order);
+  }
+
+  /**
+   * Analyzes items. The iterator is read when results are consumed and when responses arrive, by
+   * one thread at a time.
+   *
+   * @param items the options of the items
+   * @param order the order of the results
+   * @return the results, which must be closed if they are not all consumed
+   */
+  public BatchResults analyze(Iterator<AnalyzeOptions> items, Order order) {
+    com.ibm.cloud.sdk.core.util.Validator.notNull(items, "items cannot be null");
+    com.ibm.cloud.sdk.core.util.Validator.notNull(order, "order cannot be null");
+    Run run = new Run(items, order, null);
+    run.pump();
+    return new BatchResults(run);
+  }
+
+  /**
+   * Analyzes texts with the same features.
+   *
+   * @param texts the texts
+   * @param features the features to analyze the texts for
+   * @param order the order of the results
+   * @return the results, which must be closed if they are not all consumed
+   */
+  public BatchResults analyzeTexts(Iterable<String> texts, Features features, Order order) {
+    return analyze(toOptions(texts.iterator(), features), order);
+  }
+
+  /**
+   * Analyzes items without waiting for the results, which are passed to a consumer. The consumer
+   * is called by one thread at a time, from the threads receiving the responses, so it should
+   * return quickly; items are only read once the results before them have been consumed.
+   *
+   * <p>Cancelling the future cancels the requests in flight and sends no more.
+   *
+   * @param items the options of the items, read by one thread at a time
+   * @param order the order of the results
+   * @param consumer the consumer of the results
+   * @return a future completed with the statistics of the batch once every result has been
+   *     consumed, or completed exceptionally if the items could not be read
+   */
+  public CompletableFuture<BatchStatistics> analyzeAsync(
+      Iterator<AnalyzeOptions> items, Order order, Consumer<BatchItem> consumer) {
+    com.ibm.cloud.sdk.core.util.Validator.notNull(items, "items cannot be null");
+    com.ibm.cloud.sdk.core.util.Validator.notNull(order, "order cannot be null");
+    com.ibm.cloud.sdk.core.util.Validator.notNull(consumer, "consumer cannot be null");
+    final Run run = new Run(items, order, consumer);
+    run.future.whenComplete(
+        new BiConsumer<BatchStatistics, Throwable>() {
+          @Override
+          public void accept(BatchStatistics statistics, Throwable failure) {
+            if (run.future.isCancelled()) {
+              run.close();
+            }
+          }
+        });
+    run.pump();
+    run.drain();
+    return run.future;
+  }
+
+  private static Iterator<AnalyzeOptions> toOptions(
+      final Iterator<String> texts, final Features features) {
+    com.ibm.cloud.sdk.core.util.Validator.notNull(features, "features cannot be null");
+    return new Iterator<AnalyzeOptions>() {
+      @Override
+      public boolean hasNext() {
+        return texts.hasNext();
+      }
+
+      @Override
+      public AnalyzeOptions next() {
+        return new AnalyzeOptions.Builder().features(features).text(texts.next()).build();
+      }
+    };
+  }
+
+  /** An item sent and not completed yet. */
+  private static final class Pending {
+    final long index;
+    final AnalyzeOptions options;
+    final long startNanos = System.nanoTime();
+    int attempts;
+
+    Pending(long index, AnalyzeOptions options) {
+      this.index = index;
+      this.options = options;
+    }
+  }
+
+  /**
+   * The state of one batch. Items are sent by {@link #pump()}, called when the batch starts, when
+   * results are consumed and when items complete; completed items wait to be returned by {@link
+   * #take()} or passed to the consumer by {@link #drain()}.
+   */
+  final class Run {
+    final Iterator<AnalyzeOptions> input;
+    final Order order;
+    final Consumer<BatchItem> consumer;
+    final CompletableFuture<BatchStatistics> future = new CompletableFuture<>();
+    final ConcurrencyLimiter limiter = new ConcurrencyLimiter(maxConcurrency);
+    final ScheduledThreadPoolExecutor scheduler;
+    final Map<Long, BatchItem> completed = new HashMap<>();
+    final ArrayDeque<BatchItem> ready = new ArrayDeque<>();
+    final Set<ServiceCall<AnalysisResults>> calls = new HashSet<>();
+    final AtomicInteger wip = new AtomicInteger();
+    final long startNanos = System.nanoTime();
+    volatile long endNanos;
+    final AtomicLong analyzedCount = new AtomicLong();
+    final AtomicLong failedCount = new AtomicLong();
+    final AtomicLong retryCount = new AtomicLong();
+    final AtomicLong throttledCount = new AtomicLong();
+    long submitted;
+    long delivered;
+    boolean exhausted;
+    boolean closed;
+    boolean pumpScheduled;
+    RuntimeException inputFailure;
+
+    Run(Iterator<AnalyzeOptions> input, Order order, Consumer<BatchItem> consumer) {
+      this.input = input;
+      this.order = order;
+      this.consumer = consumer;
+      this.scheduler = new ScheduledThreadPoolExecutor(1, new DaemonThreadFactory("nlu-batch"));
+    }
+
+    /** Sends items while the bounds allow it. */
+    synchronized void pump() {
+      while (!closed && !exhausted && submitted - delivered < maxBufferedResults) {
+        try {
+          if (!input.hasNext()) {
+            exhausted = true;
+            break;
+          }
+        } catch (RuntimeException e) {
+          inputFailure = e;
+          exhausted = true;
+          break;
+        }
+        if (!limiter.tryAcquire()) {
+          schedulePump();
+          break;
+        }
+        AnalyzeOptions options;
+        try {
+          options = input.next();
+        } catch (RuntimeException e) {
+          limiter.release();
+          inputFailure = e;
+          exhausted = true;
+          break;
+        }
+        send(new Pending(submitted++, options));
+      }
+      notifyAll();
+    }
+
+    /** Pumps again once requests are no longer paused; otherwise a response will pump. */
+    private void schedulePump() {
+      long pause = limiter.pauseNanos();
+      if (pause == 0 || pumpScheduled) {
+        return;
+      }
+      pumpScheduled = true;
+      execute(
+          new Runnable() {
+            @Override
+            public void run() {
+              synchronized (Run.this) {
+                pumpScheduled = false;
+              }
+              pump();
+            }
+          },
+          pause,
+          TimeUnit.NANOSECONDS);
+    }
+
+    synchronized void send(final Pending pending) {
+      if (closed) {
+        limiter.release();
+        return;
+      }
+      final ServiceCall<AnalysisResults> call;
+      try {
+        call = naturalLanguageUnderstanding.analyze(pending.options);
+      } catch (final RuntimeException e) {
+        // invalid options; completed on another thread, as the caller holds the lock
+        execute(
+            new Runnable() {
+              @Override
+              public void run() {
+                complete(pending, null, e);
+              }
+            },
+            0,
+            TimeUnit.MILLISECONDS);
+        return;
+      }
+      pending.attempts++;
+      calls.add(call);
+      final long sentNanos = System.nanoTime();
+      call.enqueue(
+          new ServiceCallback<AnalysisResults>() {
+            @Override
+            public void onResponse(Response<AnalysisResults> response) {
+              forget(call);
+              limiter.onSuccess(System.nanoTime() - sentNanos);
+              complete(pending, response.getResult(), null);
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+              forget(call);
+              retryOrFail(pending, e);
+            }
+          });
+    }
+
+    private synchronized void forget(ServiceCall<AnalysisResults> call) {
+      calls.remove(call);
+    }
+
+    private void retryOrFail(final Pending pending, Exception e) {
+      long delay = retryDelay(e, pending.attempts - 1);
+      if (delay >= 0 && pending.attempts <= maxRetries) {
+        retryCount.incrementAndGet();
+        if (execute(
+            new Runnable() {
+              @Override
+              public void run() {
+                send(pending);
+              }
+            },
+            delay,
+            TimeUnit.MILLISECONDS)) {
+          return;
+        }
+      }
+      complete(pending, null, e);
+    }
+
+    /**
+     * Computes the delay before a failed request is retried, and slows the requests down when it
+     * was throttled.
+     *
+     * @return the delay in milliseconds, or -1 if the request must not be retried
+     */
+    private long retryDelay(Exception e, int attempt) {
+      long delay = retryPolicy.retryDelay(e, attempt);
+      if (RetryPolicy.isThrottled(e)) {
+        throttledCount.incrementAndGet();
+        limiter.onThrottled(delay);
+      }
+      return delay;
+    }
+
+    private boolean execute(Runnable task, long delay, TimeUnit unit) {
+      try {
+        scheduler.schedule(task, delay, unit);
+        return true;
+      } catch (RejectedExecutionException e) {
+        // the batch has ended
+        return false;
+      }
+    }
+
+    private void complete(Pending pending, AnalysisResults results, Exception failure) {
+      (failure == null ? analyzedCount : failedCount).incrementAndGet();
+      BatchItem item =
+          new BatchItem(
+              pending.index,
+              pending.options,
+              results,
+              failure,
+              pending.attempts,
+              TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - pending.startNanos));
+      synchronized (this) {
+        limiter.release();
+        if (!closed) {
+          if (order == Order.INPUT) {
+            completed.put(item.getIndex(), item);
+          } else {
+            ready.add(item);
+          }
+        }
+        notifyAll();
+      }
+      pump();
+      if (consumer != null) {
+        drain();
+      }
+    }
+
+    /**
+     * Removes the next result that can be returned.
+     *
+     * @return the result, or null if it has not completed yet
+     */
+    private synchronized BatchItem poll() {
+      BatchItem item = order == Order.INPUT ? completed.remove(delivered) : ready.poll();
+      if (item != null) {
+        delivered++;
+      }
+      return item;
+    }
+
+    private synchronized boolean finished() {
+      return closed || (exhausted && delivered == submitted);
+    }
+
+    /**
+     * Waits for the next result to return from {@link BatchResults}.
+     *
+     * @return the result, or null once every result has been returned
+     */
+    BatchItem take() {
+      BatchItem item;
+      synchronized (this) {
+        while ((item = poll()) == null) {
+          if (finished()) {
+            end();
+            RuntimeException failure = inputFailure;
+            inputFailure = null;
+            if (failure != null && !closed) {
+              throw failure;
+            }
+            return null;
+          }
+          try {
+            wait();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            throw new RuntimeException(e);
+          }
+        }
+      }
+      pump();
+      return item;
+    }
+
+    /** Passes the results to the consumer, serialized by a work-in-progress counter. */
+    void drain() {
+      if (wip.getAndIncrement() != 0) {
+        return;
+      }
+      int missed = 1;
+      while (true) {
+        BatchItem item;
+        while (!future.isDone() && (item = poll()) != null) {
+          try {
+            consumer.accept(item);
+          } catch (RuntimeException e) {
+            LOG.log(Level.WARNING, "Batch consumer failed", e);
+          }
+          pump();
+        }
+        if (finished() && !future.isDone()) {
+          end();
+          RuntimeException failure;
+          synchronized (this) {
+            failure = inputFailure;
+          }
+          if (failure != null) {
+            future.completeExceptionally(failure);
+          } else {
+            future.complete(statistics());
+          }
+        }
+        missed = wip.addAndGet(-missed);
+        if (missed == 0) {
+          return;
+        }
+      }
+    }
+
+    /** Cancels the requests in flight and sends no more. */
+    void close() {
+      List<ServiceCall<AnalysisResults>> inFlight;
+      synchronized (this) {
+        if (closed) {
+          return;
+        }
+        closed = true;
+        completed.clear();
+        ready.clear();
+        inFlight = new ArrayList<>(calls);
+        calls.clear();
+        notifyAll();
+      }
+      end();
+      for (ServiceCall<AnalysisResults> call : inFlight) {
+        call.cancel();
+      }
+    }
+
+    private void end() {
+      if (endNanos == 0) {
+        endNanos = System.nanoTime();
+      }
+      scheduler.shutdownNow();
+    }
+
+    BatchStatistics statistics() {
+      long end = endNanos != 0 ? endNanos : System.nanoTime();
+      return new BatchStatistics(
+          analyzedCount.get(),
+          failedCount.get(),
+          retryCount.get(),
+          throttledCount.get(),
+          TimeUnit.NANOSECONDS.toMillis(end - startNanos),
+          limiter.limit());
+    }
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.natural_language_understanding.v1.batch;
+
+import com.ibm.watson.natural_language_understanding.v1.model.AnalysisResults;
+import com.ibm.watson.natural_language_understanding.v1.model.AnalyzeOptions;
+
+/** The outcome of the analysis of one item of a batch, either its results or its failure. */
+public final class BatchItem {
+
+  private final long index;
+  private final AnalyzeOptions options;
+  private final AnalysisResults results;
+  private final Exception failure;
+  private final int attempts;
+  private final long elapsedMillis;
+
+  BatchItem(
+      long index,
+      AnalyzeOptions options,
+      AnalysisResults results,
+      Exception failure,
+      int attempts,
+      long elapsedMillis) {
+    this.index = index;
+    this.options = options;
+    this.results = results;
+    this.failure = failure;
+    this.attempts = attempts;
+    this.elapsedMillis = elapsedMillis;
+  }
+
+  /**
+   * Gets the position of the item in the batch, starting at 0.
+   *
+   * @return the index
+   */
+  public long getIndex() {
+    return index;
+  }
+
+  /**
+   * Gets the options the item was analyzed with.
+   *
+   * @return the options
+   */
+  public AnalyzeOptions getOptions() {
+    return options;
+  }
+
+  /**
+   * Checks whether the item was analyzed.
+   *
+   * @return true if the results are available, false if the item failed
+   */
+  public boolean isSuccess() {
+    return failure == null;
+  }
+
+  /**
+   * Gets the results of the analysis.
+   *
+   * @return the results, or null if the item failed
+   */
+  public AnalysisResults getResults() {
+    return results;
+  }
+
+  /**
+   * Gets the failure of the last attempt to analyze the item.
+   *
+   * @return the failure, or null if the item was analyzed
+   */
+  public Exception getFailure() {
+    return failure;
+  }
+
+  /**
+   * Gets the number of requests sent for the item, including the retries.
+   *
+   * @return the number of attempts
+   */
+  public int getAttempts() {
+    return attempts;
+  }
+
+  /**
+   * Gets the time from the first request sent for the item to its outcome.
+   *
+   * @return the number of milliseconds
+   */
+  public long getElapsedMillis() {
+    return elapsedMillis;
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.natural_language_understanding.v1.batch;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * The results of a batch analysis started by {@link BatchAnalyzer}, iterated as they become
+ * available. Items are read from the batch and sent only as fast as their results are consumed,
+ * so a batch of any size is analyzed in bounded memory.
+ *
+ * <p>The iterator may be used by one thread at a time. Closing the results cancels the requests in
+ * flight and sends no more.
+ */
+public final class BatchResults implements Iterator<BatchItem>, AutoCloseable {
+
+  private final BatchAnalyzer.Run run;
+  private BatchItem next;
+
+  BatchResults(BatchAnalyzer.Run run) {
+    this.run = run;
+  }
+
+  /**
+   * Waits for the next result, unless every item has been returned.
+   *
+   * @return true if there is another result
+   * @throws RuntimeException if the items of the batch could not be read, once the results of the
+   *     items read before have been returned
+   */
+  @Override
+  public boolean hasNext() {
+    if (next == null) {
+      next = run.take();
+    }
+    return next != null;
+  }
+
+  @Override
+  public BatchItem next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    BatchItem item = next;
+    next = null;
+    return item;
+  }
+
+  /**
+   * Gets a sequential stream of the results. Closing the stream closes the results.
+   *
+   * @return the stream
+   */
+  public Stream<BatchItem> stream() {
+    return StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL),
+            false)
+        .onClose(
+            new Runnable() {
+              @Override
+              public void run() {
+                close();
+              }
+            });
+  }
+
+  /**
+   * Gets the statistics of the batch so far.
+   *
+   * @return the statistics
+   */
+  public BatchStatistics getStatistics() {
+    return run.statistics();
+  }
+
+  @Override
+  public void close() {
+    next = null;
+    run.close();
+  }
+}
@@ -0,0 +1,117 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.natural_language_understanding.v1.batch;
+
+/** The counters of a batch analysis at a point in time. */
+public final class BatchStatistics {
+
+  private final long analyzedCount;
+  private final long failedCount;
+  private final long retryCount;
+  private final long throttledCount;
+  private final long elapsedMillis;
+  private final int concurrencyLimit;
+
+  BatchStatistics(
+      long analyzedCount,
+      long failedCount,
+      long retryCount,
+      long throttledCount,
+      long elapsedMillis,
+      int concurrencyLimit) {
+    this.analyzedCount = analyzedCount;
+    this.failedCount = failedCount;
+    this.retryCount = retryCount;
+    this.throttledCount = throttledCount;
+    this.elapsedMillis = elapsedMillis;
+    this.concurrencyLimit = concurrencyLimit;
+  }
+
+  /**
+   * Gets the number of items analyzed.
+   *
+   * @return the analyzed count
+   */
+  public long getAnalyzedCount() {
+    return analyzedCount;
+  }
+
+  /**
+   * Gets the number of items that failed after any retries.
+   *
+   * @return the failed count
+   */
+  public long getFailedCount() {
+    return failedCount;
+  }
+
+  /**
+   * Gets the number of requests that were retried.
+   *
+   * @return the retry count
+   */
+  public long getRetryCount() {
+    return retryCount;
+  }
+
+  /**
+   * Gets the number of requests rejected by the rate limit of the service.
+   *
+   * @return the throttled count
+   */
+  public long getThrottledCount() {
+    return throttledCount;
+  }
+
+  /**
+   * Gets the time since the batch started.
+   *
+   * @return the number of milliseconds
+   */
+  public long getElapsedMillis() {
+    return elapsedMillis;
+  }
+
+  /**
+   * Gets the current bound on the number of requests in flight, which is lowered when the latency
+   * of the service rises or when it throttles requests.
+   *
+   * @return the concurrency limit
+   */
+  public int getConcurrencyLimit() {
+    return concurrencyLimit;
+  }
+
+  /**
+   * Gets the average number of items analyzed per second.
+   *
+   * @return the throughput
+   */
+  public double getItemsPerSecond() {
+    return elapsedMillis > 0 ? analyzedCount * 1000.0 / elapsedMillis : 0;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "BatchStatistics{analyzed=%d, failed=%d, retries=%d, throttled=%d, elapsedMillis=%d,"
+            + " concurrencyLimit=%d, itemsPerSecond=%.1f}",
+        analyzedCount,
+        failedCount,
+        retryCount,
+        throttledCount,
+        elapsedMillis,
+        concurrencyLimit,
+        getItemsPerSecond());
+  }
+}
@@ -0,0 +1,239 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.natural_language_understanding.v1.batch;
+
+import static org.testng.Assert.*;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.ibm.cloud.sdk.core.security.NoAuthAuthenticator;
+import com.ibm.cloud.sdk.core.service.exception.BadRequestException;
+import com.ibm.watson.common.ConcurrencyLimiter;
+import com.ibm.watson.natural_language_understanding.v1.NaturalLanguageUnderstanding;
+import com.ibm.watson.natural_language_understanding.v1.model.AnalyzeOptions;
+import com.ibm.watson.natural_language_understanding.v1.model.Features;
+import com.ibm.watson.natural_language_understanding.v1.model.KeywordsOptions;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Unit tests for the {@link BatchAnalyzer}. */
+public class BatchAnalyzerTest {
+
+  private static final Features FEATURES =
+      new Features.Builder().keywords(new KeywordsOptions.Builder().build()).build();
+
+  private MockWebServer server;
+  private NaturalLanguageUnderstanding service;
+  private final AtomicInteger throttled = new AtomicInteger();
+
+  /**
+   * Answers with the text of the request as the language of the results. Texts starting with
+   * "fail" are rejected, "throttle" is throttled once and "slow" is answered late.
+   */
+  private final Dispatcher dispatcher =
+      new Dispatcher() {
+        @Override
+        public MockResponse dispatch(RecordedRequest request) {
+          JsonObject body = JsonParser.parseString(request.getBody().readUtf8()).getAsJsonObject();
+          String text = body.get("text").getAsString();
+          if (text.startsWith("fail")) {
+            return new MockResponse()
+                .setResponseCode(400)
+                .setHeader("Content-type", "application/json")
+                .setBody("{\"error\": \"invalid text\", \"code\": 400}");
+          }
+          if (text.equals("throttle") && throttled.getAndIncrement() == 0) {
+            return new MockResponse()
+                .setResponseCode(429)
+                .setHeader("Retry-After", "0")
+                .setHeader("Content-type", "application/json")
+                .setBody("{\"error\": \"too many requests\", \"code\": 429}");
+          }
+          MockResponse response =
+              new MockResponse()
+                  .setHeader("Content-type", "application/json")
+                  .setBody("{\"language\": \"" + text + "\"}");
+          if (text.equals("slow")) {
+            response.setBodyDelay(300, TimeUnit.MILLISECONDS);
+          }
+          return response;
+        }
+      };
+
+  @BeforeMethod
+  public void setUp() throws IOException {
+    server = new MockWebServer();
+    server.setDispatcher(dispatcher);
+    server.start();
+    service = new NaturalLanguageUnderstanding("2022-04-07", new NoAuthAuthenticator());
+    service.setServiceUrl(server.url("/").toString());
+  }
+
+  @AfterMethod
+  public void tearDown() throws IOException {
+    server.shutdown();
+  }
+
+  private BatchAnalyzer.Builder analyzer() {
+    return new BatchAnalyzer.Builder(service).initialBackoffMillis(10).maxBackoffMillis(10);
+  }
+
+  private static List<String> texts(int count) {
+    List<String> texts = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      texts.add(i == 7 ? "fail-" + i : "text-" + i);
+    }
+    return texts;
+  }
+
+  @Test
+  public void testInputOrder() {
+    BatchAnalyzer analyzer = analyzer().maxConcurrency(8).build();
+    List<BatchItem> items = new ArrayList<>();
+    try (BatchResults results =
+        analyzer.analyzeTexts(texts(50), FEATURES, BatchAnalyzer.Order.INPUT)) {
+      while (results.hasNext()) {
+        items.add(results.next());
+      }
+      assertEquals(results.getStatistics().getAnalyzedCount(), 49);
+      assertEquals(results.getStatistics().getFailedCount(), 1);
+    }
+
+    assertEquals(items.size(), 50);
+    for (int i = 0; i < items.size(); i++) {
+      BatchItem item = items.get(i);
+      assertEquals(item.getIndex(), i);
+      if (i == 7) {
+        assertFalse(item.isSuccess());
+        assertTrue(item.getFailure() instanceof BadRequestException);
+        assertEquals(item.getAttempts(), 1);
+      } else {
+        assertTrue(item.isSuccess());
+        assertEquals(item.getResults().getLanguage(), "text-" + i);
+      }
+    }
+  }
+
+  @Test
+  public void testCompletionOrder() {
+    List<AnalyzeOptions> options = new ArrayList<>();
+    for (String text : new String[] {"slow", "a", "b", "c"}) {
+      options.add(new AnalyzeOptions.Builder().features(FEATURES).text(text).build());
+    }
+
+    BatchResults results =
+        analyzer().maxConcurrency(4).build().analyze(options, BatchAnalyzer.Order.COMPLETION);
+    List<Long> indexes = new ArrayList<>();
+    while (results.hasNext()) {
+      indexes.add(results.next().getIndex());
+    }
+
+    assertEquals(indexes.size(), 4);
+    assertEquals(indexes.get(3).longValue(), 0);
+  }
+
+  @Test
+  public void testThrottledItemIsRetried() {
+    List<String> texts = new ArrayList<>(texts(5));
+    texts.add("throttle");
+
+    long count =
+        analyzer()
+            .build()
+            .analyzeTexts(texts, FEATURES, BatchAnalyzer.Order.INPUT)
+            .stream()
+            .filter(item -> item.getIndex() == 5)
+            .peek(
+                item -> {
+                  assertTrue(item.isSuccess());
+                  assertEquals(item.getAttempts(), 2);
+                })
+            .count();
+
+    assertEquals(count, 1);
+    assertEquals(throttled.get(), 2);
+  }
+
+  @Test
+  public void testAsync() throws Exception {
+    List<AnalyzeOptions> options = new ArrayList<>();
+    for (String text : texts(20)) {
+      options.add(new AnalyzeOptions.Builder().features(FEATURES).text(text).build());
+    }
+    List<Long> indexes = Collections.synchronizedList(new ArrayList<Long>());
+
+    BatchStatistics statistics =
+        analyzer()
+            .maxConcurrency(4)
+            .build()
+            .analyzeAsync(
+                options.iterator(), BatchAnalyzer.Order.INPUT, item -> indexes.add(item.getIndex()))
+            .get(10, TimeUnit.SECONDS);
+
+    assertEquals(statistics.getAnalyzedCount(), 19);
+    assertEquals(statistics.getFailedCount(), 1);
+    assertEquals(indexes.size(), 20);
+    for (int i = 0; i < indexes.size(); i++) {
+      assertEquals(indexes.get(i).longValue(), i);
+    }
+  }
+
+  @Test
+  public void testResultsAreConsumedBeforeMoreItemsAreSent() throws Exception {
+    BatchResults results =
+        analyzer()
+            .maxConcurrency(2)
+            .maxBufferedResults(2)
+            .build()
+            .analyzeTexts(texts(20), FEATURES, BatchAnalyzer.Order.INPUT);
+
+    assertTrue(results.hasNext());
+    Thread.sleep(200);
+    assertTrue(server.getRequestCount() <= 3);
+
+    results.close();
+    assertFalse(results.hasNext());
+  }
+
+  @Test
+  public void testLimiterAdaptsToLatencyAndThrottling() {
+    ConcurrencyLimiter limiter = new ConcurrencyLimiter(32);
+    for (int i = 0; i < 100; i++) {
+      limiter.onSuccess(TimeUnit.MILLISECONDS.toNanos(100));
+    }
+    assertEquals(limiter.limit(), 32);
+
+    for (int i = 0; i < 50; i++) {
+      limiter.onSuccess(TimeUnit.MILLISECONDS.toNanos(1000));
+    }
+    int limit = limiter.limit();
+    assertTrue(limit < 32);
+
+    limiter.onThrottled(60000);
+    limiter.onThrottled(60000);
+    assertEquals(limiter.limit(), limit / 2);
+    assertFalse(limiter.tryAcquire());
+    assertTrue(limiter.pauseNanos() > 0);
+  }
+}
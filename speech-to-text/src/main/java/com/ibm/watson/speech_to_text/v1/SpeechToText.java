@@ -17,7 +17,6 @@
 
 package com.ibm.watson.speech_to_text.v1;
 
-import com.google.gson.JsonObject;
 import com.ibm.cloud.sdk.core.http.RequestBuilder;
 import com.ibm.cloud.sdk.core.http.ResponseConverter;
 import com.ibm.cloud.sdk.core.http.ServiceCall;
@@ -26,7 +25,9 @@ import com.ibm.cloud.sdk.core.security.ConfigBasedAuthenticatorFactory;
 import com.ibm.cloud.sdk.core.service.BaseService;
 import com.ibm.cloud.sdk.core.util.RequestUtils;
 import com.ibm.cloud.sdk.core.util.ResponseConverterUtils;
+import com.ibm.watson.common.JsonRequestBody;
 import com.ibm.watson.common.SdkCommon;
+import com.ibm.watson.common.WebSocketExecutors;
 import com.ibm.watson.speech_to_text.v1.model.AcousticModel;
 import com.ibm.watson.speech_to_text.v1.model.AcousticModels;
 import com.ibm.watson.speech_to_text.v1.model.AddAudioOptions;
@@ -94,11 +95,12 @@ import com.ibm.watson.speech_to_text.v1.websocket.RecognizeCallback;
 import com.ibm.watson.speech_to_text.v1.websocket.SpeechToTextWebSocketListener;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.concurrent.Executor;
 import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.WebSocket;
+import okhttp3.WebSocketListener;
 
 /**
  * The IBM Watson&amp;trade; Speech to Text service provides APIs that use IBM's speech-recognition
@@ -145,6 +147,8 @@ public class SpeechToText extends BaseService {
   public static final String DEFAULT_SERVICE_URL =
       "https://api.us-south.speech-to-text.watson.cloud.ibm.com";
 
+  private Executor webSocketExecutor;
+
   /**
    * Constructs an instance of the `SpeechToText` client. The default service name is used to
    * configure the client instance.
@@ -188,6 +192,26 @@ public class SpeechToText extends BaseService {
     this.configureService(serviceName);
   }
 
+  /**
+   * Sets the executor that runs the tasks sending audio over WebSocket connections. Each task runs
+   * for as long as its recognition session sends audio. By default a new platform thread is started
+   * for each session; see {@link WebSocketExecutors} for virtual-thread and bounded executors.
+   *
+   * @param webSocketExecutor the executor, or null to start a thread for each session
+   */
+  public void setWebSocketExecutor(Executor webSocketExecutor) {
+    this.webSocketExecutor = webSocketExecutor;
+  }
+
+  /**
+   * Gets the executor that runs the tasks sending audio over WebSocket connections.
+   *
+   * @return the executor, or null if a thread is started for each session
+   */
+  public Executor getWebSocketExecutor() {
+    return webSocketExecutor;
+  }
+
   /**
    * Sends audio and returns transcription results for recognition requests over a WebSocket
    * connection. Requests and responses are enabled over a single TCP connection that abstracts much
@@ -211,6 +235,28 @@ public class SpeechToText extends BaseService {
     com.ibm.cloud.sdk.core.util.Validator.notNull(recognizeOptions.audio(), "audio cannot be null");
     com.ibm.cloud.sdk.core.util.Validator.notNull(callback, "callback cannot be null");
 
+    SpeechToTextWebSocketListener listener =
+        webSocketExecutor != null
+            ? new SpeechToTextWebSocketListener(recognizeOptions, callback, webSocketExecutor)
+            : new SpeechToTextWebSocketListener(recognizeOptions, callback);
+    return newRecognizeWebSocket(recognizeOptions, listener);
+  }
+
+  /**
+   * Opens a WebSocket connection to the recognize endpoint for the model, customizations and base
+   * model version of the options. The listener is responsible for the recognition protocol, see
+   * {@link SpeechToTextWebSocketListener}.
+   *
+   * @param recognizeOptions the recognize options
+   * @param listener the listener receiving the events of the connection
+   * @return the {@link WebSocket}
+   */
+  public WebSocket newRecognizeWebSocket(
+      RecognizeWithWebsocketsOptions recognizeOptions, WebSocketListener listener) {
+    com.ibm.cloud.sdk.core.util.Validator.notNull(
+        recognizeOptions, "recognizeOptions cannot be null");
+    com.ibm.cloud.sdk.core.util.Validator.notNull(listener, "listener cannot be null");
+
     HttpUrl.Builder urlBuilder = HttpUrl.parse(getServiceUrl() + "/v1/recognize").newBuilder();
 
     if (recognizeOptions.model() != null) {
@@ -235,8 +281,7 @@ public class SpeechToText extends BaseService {
     setDefaultHeaders(builder);
 
     OkHttpClient client = configureHttpClient();
-    return client.newWebSocket(
-        builder.build(), new SpeechToTextWebSocketListener(recognizeOptions, callback));
+    return client.newWebSocket(builder.build(), listener);
   }
 
   /**
@@ -256,10 +301,7 @@ public class SpeechToText extends BaseService {
   public ServiceCall<SpeechModels> listModels(ListModelsOptions listModelsOptions) {
     RequestBuilder builder =
         RequestBuilder.get(RequestBuilder.resolveRequestUrl(getServiceUrl(), "/v1/models"));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("speech_to_text", "v1", "listModels");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "speech_to_text", "v1", "listModels");
     builder.header("Accept", "application/json");
     ResponseConverter<SpeechModels> responseConverter =
         ResponseConverterUtils.getValue(
@@ -306,10 +348,7 @@ public class SpeechToText extends BaseService {
         RequestBuilder.get(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v1/models/{model_id}", pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("speech_to_text", "v1", "getModel");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "speech_to_text", "v1", "getModel");
     builder.header("Accept", "application/json");
     ResponseConverter<SpeechModel> responseConverter =
         ResponseConverterUtils.getValue(
@@ -435,10 +474,7 @@ public class SpeechToText extends BaseService {
         recognizeOptions, "recognizeOptions cannot be null");
     RequestBuilder builder =
         RequestBuilder.post(RequestBuilder.resolveRequestUrl(getServiceUrl(), "/v1/recognize"));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("speech_to_text", "v1", "recognize");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "speech_to_text", "v1", "recognize");
     builder.header("Accept", "application/json");
     if (recognizeOptions.contentType() != null) {
       builder.header("Content-Type", recognizeOptions.contentType());
@@ -592,11 +628,7 @@ public class SpeechToText extends BaseService {
     RequestBuilder builder =
         RequestBuilder.post(
             RequestBuilder.resolveRequestUrl(getServiceUrl(), "/v1/register_callback"));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("speech_to_text", "v1", "registerCallback");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "speech_to_text", "v1", "registerCallback");
     builder.header("Accept", "application/json");
     builder.query("callback_url", String.valueOf(registerCallbackOptions.callbackUrl()));
     if (registerCallbackOptions.userSecret() != null) {
@@ -628,11 +660,7 @@ public class SpeechToText extends BaseService {
     RequestBuilder builder =
         RequestBuilder.post(
             RequestBuilder.resolveRequestUrl(getServiceUrl(), "/v1/unregister_callback"));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("speech_to_text", "v1", "unregisterCallback");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "speech_to_text", "v1", "unregisterCallback");
     builder.query("callback_url", String.valueOf(unregisterCallbackOptions.callbackUrl()));
     ResponseConverter<Void> responseConverter = ResponseConverterUtils.getVoid();
     return createServiceCall(builder.build(), responseConverter);
@@ -758,10 +786,7 @@ public class SpeechToText extends BaseService {
         createJobOptions, "createJobOptions cannot be null");
     RequestBuilder builder =
         RequestBuilder.post(RequestBuilder.resolveRequestUrl(getServiceUrl(), "/v1/recognitions"));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("speech_to_text", "v1", "createJob");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "speech_to_text", "v1", "createJob");
     builder.header("Accept", "application/json");
     if (createJobOptions.contentType() != null) {
       builder.header("Content-Type", createJobOptions.contentType());
@@ -910,10 +935,7 @@ public class SpeechToText extends BaseService {
   public ServiceCall<RecognitionJobs> checkJobs(CheckJobsOptions checkJobsOptions) {
     RequestBuilder builder =
         RequestBuilder.get(RequestBuilder.resolveRequestUrl(getServiceUrl(), "/v1/recognitions"));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("speech_to_text", "v1", "checkJobs");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "speech_to_text", "v1", "checkJobs");
     builder.header("Accept", "application/json");
     ResponseConverter<RecognitionJobs> responseConverter =
         ResponseConverterUtils.getValue(
@@ -970,10 +992,7 @@ public class SpeechToText extends BaseService {
         RequestBuilder.get(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v1/recognitions/{id}", pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("speech_to_text", "v1", "checkJob");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "speech_to_text", "v1", "checkJob");
     builder.header("Accept", "application/json");
     ResponseConverter<RecognitionJob> responseConverter =
         ResponseConverterUtils.getValue(
@@ -1004,10 +1023,7 @@ public class SpeechToText extends BaseService {
         RequestBuilder.delete(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v1/recognitions/{id}", pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("speech_to_text", "v1", "deleteJob");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "speech_to_text", "v1", "deleteJob");
     ResponseConverter<Void> responseConverter = ResponseConverterUtils.getVoid();
     return createServiceCall(builder.build(), responseConverter);
   }
@@ -1080,13 +1096,9 @@ public class SpeechToText extends BaseService {
     RequestBuilder builder =
         RequestBuilder.post(
             RequestBuilder.resolveRequestUrl(getServiceUrl(), "/v1/customizations"));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("speech_to_text", "v1", "createLanguageModel");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "speech_to_text", "v1", "createLanguageModel");
     builder.header("Accept", "application/json");
-    final JsonObject contentJson = new JsonObject();
+    final JsonRequestBody contentJson = new JsonRequestBody();
     contentJson.addProperty("name", createLanguageModelOptions.name());
     contentJson.addProperty("base_model_name", createLanguageModelOptions.baseModelName());
     if (createLanguageModelOptions.dialect() != null) {
@@ -1095,7 +1107,7 @@ public class SpeechToText extends BaseService {
     if (createLanguageModelOptions.description() != null) {
       contentJson.addProperty("description", createLanguageModelOptions.description());
     }
-    builder.bodyJson(contentJson);
+    builder.body(contentJson);
     ResponseConverter<LanguageModel> responseConverter =
         ResponseConverterUtils.getValue(
             new com.google.gson.reflect.TypeToken<LanguageModel>() {}.getType());
@@ -1126,11 +1138,7 @@ public class SpeechToText extends BaseService {
     }
     RequestBuilder builder =
         RequestBuilder.get(RequestBuilder.resolveRequestUrl(getServiceUrl(), "/v1/customizations"));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("speech_to_text", "v1", "listLanguageModels");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "speech_to_text", "v1", "listLanguageModels");
     builder.header("Accept", "application/json");
     if (listLanguageModelsOptions.language() != null) {
       builder.query("language", String.valueOf(listLanguageModelsOptions.language()));
@@ -1185,11 +1193,7 @@ public class SpeechToText extends BaseService {
         RequestBuilder.get(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v1/customizations/{customization_id}", pathParamsMap));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("speech_to_text", "v1", "getLanguageModel");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "speech_to_text", "v1", "getLanguageModel");
     builder.header("Accept", "application/json");
     ResponseConverter<LanguageModel> responseConverter =
         ResponseConverterUtils.getValue(
@@ -1223,11 +1227,7 @@ public class SpeechToText extends BaseService {
         RequestBuilder.delete(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v1/customizations/{customization_id}", pathParamsMap));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("speech_to_text", "v1", "deleteLanguageModel");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "speech_to_text", "v1", "deleteLanguageModel");
     builder.header("Accept", "application/json");
     ResponseConverter<Void> responseConverter = ResponseConverterUtils.getVoid();
     return createServiceCall(builder.build(), responseConverter);
@@ -1293,11 +1293,7 @@ public class SpeechToText extends BaseService {
         RequestBuilder.post(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v1/customizations/{customization_id}/train", pathParamsMap));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("speech_to_text", "v1", "trainLanguageModel");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "speech_to_text", "v1", "trainLanguageModel");
     builder.header("Accept", "application/json");
     if (trainLanguageModelOptions.wordTypeToAdd() != null) {
       builder.query("word_type_to_add", String.valueOf(trainLanguageModelOptions.wordTypeToAdd()));
@@ -1345,11 +1341,7 @@ public class SpeechToText extends BaseService {
         RequestBuilder.post(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v1/customizations/{customization_id}/reset", pathParamsMap));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("speech_to_text", "v1", "resetLanguageModel");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "speech_to_text", "v1", "resetLanguageModel");
     builder.header("Accept", "application/json");
     ResponseConverter<Void> responseConverter = ResponseConverterUtils.getVoid();
     return createServiceCall(builder.build(), responseConverter);
@@ -1401,11 +1393,7 @@ public class SpeechToText extends BaseService {
                 getServiceUrl(),
                 "/v1/customizations/{customization_id}/upgrade_model",
                 pathParamsMap));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("speech_to_text", "v1", "upgradeLanguageModel");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "speech_to_text", "v1", "upgradeLanguageModel");
     builder.header("Accept", "application/json");
     ResponseConverter<Void> responseConverter = ResponseConverterUtils.getVoid();
     return createServiceCall(builder.build(), responseConverter);
@@ -1435,10 +1423,7 @@ public class SpeechToText extends BaseService {
         RequestBuilder.get(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v1/customizations/{customization_id}/corpora", pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("speech_to_text", "v1", "listCorpora");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "speech_to_text", "v1", "listCorpora");
     builder.header("Accept", "application/json");
     ResponseConverter<Corpora> responseConverter =
         ResponseConverterUtils.getValue(
@@ -1521,10 +1506,7 @@ public class SpeechToText extends BaseService {
                 getServiceUrl(),
                 "/v1/customizations/{customization_id}/corpora/{corpus_name}",
                 pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("speech_to_text", "v1", "addCorpus");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "speech_to_text", "v1", "addCorpus");
     builder.header("Accept", "application/json");
     if (addCorpusOptions.allowOverwrite() != null) {
       builder.query("allow_overwrite", String.valueOf(addCorpusOptions.allowOverwrite()));
@@ -1564,10 +1546,7 @@ public class SpeechToText extends BaseService {
                 getServiceUrl(),
                 "/v1/customizations/{customization_id}/corpora/{corpus_name}",
                 pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("speech_to_text", "v1", "getCorpus");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "speech_to_text", "v1", "getCorpus");
     builder.header("Accept", "application/json");
     ResponseConverter<Corpus> responseConverter =
         ResponseConverterUtils.getValue(
@@ -1606,11 +1585,7 @@ public class SpeechToText extends BaseService {
                 getServiceUrl(),
                 "/v1/customizations/{customization_id}/corpora/{corpus_name}",
                 pathParamsMap));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("speech_to_text", "v1", "deleteCorpus");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "speech_to_text", "v1", "deleteCorpus");
     builder.header("Accept", "application/json");
     ResponseConverter<Void> responseConverter = ResponseConverterUtils.getVoid();
     return createServiceCall(builder.build(), responseConverter);
@@ -1645,10 +1620,7 @@ public class SpeechToText extends BaseService {
         RequestBuilder.get(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v1/customizations/{customization_id}/words", pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("speech_to_text", "v1", "listWords");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "speech_to_text", "v1", "listWords");
     builder.header("Accept", "application/json");
     if (listWordsOptions.wordType() != null) {
       builder.query("word_type", String.valueOf(listWordsOptions.wordType()));
@@ -1746,16 +1718,11 @@ public class SpeechToText extends BaseService {
         RequestBuilder.post(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v1/customizations/{customization_id}/words", pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("speech_to_text", "v1", "addWords");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "speech_to_text", "v1", "addWords");
     builder.header("Accept", "application/json");
-    final JsonObject contentJson = new JsonObject();
-    contentJson.add(
-        "words",
-        com.ibm.cloud.sdk.core.util.GsonSingleton.getGson().toJsonTree(addWordsOptions.words()));
-    builder.bodyJson(contentJson);
+    final JsonRequestBody contentJson = new JsonRequestBody();
+    contentJson.add("words", addWordsOptions.words());
+    builder.body(contentJson);
     ResponseConverter<Void> responseConverter = ResponseConverterUtils.getVoid();
     return createServiceCall(builder.build(), responseConverter);
   }
@@ -1823,31 +1790,22 @@ public class SpeechToText extends BaseService {
                 getServiceUrl(),
                 "/v1/customizations/{customization_id}/words/{word_name}",
                 pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("speech_to_text", "v1", "addWord");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "speech_to_text", "v1", "addWord");
     builder.header("Accept", "application/json");
-    final JsonObject contentJson = new JsonObject();
+    final JsonRequestBody contentJson = new JsonRequestBody();
     if (addWordOptions.word() != null) {
       contentJson.addProperty("word", addWordOptions.word());
     }
     if (addWordOptions.mappingOnly() != null) {
-      contentJson.add(
-          "mapping_only",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-              .toJsonTree(addWordOptions.mappingOnly()));
+      contentJson.add("mapping_only", addWordOptions.mappingOnly());
     }
     if (addWordOptions.soundsLike() != null) {
-      contentJson.add(
-          "sounds_like",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-              .toJsonTree(addWordOptions.soundsLike()));
+      contentJson.add("sounds_like", addWordOptions.soundsLike());
     }
     if (addWordOptions.displayAs() != null) {
       contentJson.addProperty("display_as", addWordOptions.displayAs());
     }
-    builder.bodyJson(contentJson);
+    builder.body(contentJson);
     ResponseConverter<Void> responseConverter = ResponseConverterUtils.getVoid();
     return createServiceCall(builder.build(), responseConverter);
   }
@@ -1875,10 +1833,7 @@ public class SpeechToText extends BaseService {
                 getServiceUrl(),
                 "/v1/customizations/{customization_id}/words/{word_name}",
                 pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("speech_to_text", "v1", "getWord");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "speech_to_text", "v1", "getWord");
     builder.header("Accept", "application/json");
     ResponseConverter<Word> responseConverter =
         ResponseConverterUtils.getValue(new com.google.gson.reflect.TypeToken<Word>() {}.getType());
@@ -1913,10 +1868,7 @@ public class SpeechToText extends BaseService {
                 getServiceUrl(),
                 "/v1/customizations/{customization_id}/words/{word_name}",
                 pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("speech_to_text", "v1", "deleteWord");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "speech_to_text", "v1", "deleteWord");
     builder.header("Accept", "application/json");
     ResponseConverter<Void> responseConverter = ResponseConverterUtils.getVoid();
     return createServiceCall(builder.build(), responseConverter);
@@ -1947,11 +1899,7 @@ public class SpeechToText extends BaseService {
         RequestBuilder.get(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v1/customizations/{customization_id}/grammars", pathParamsMap));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("speech_to_text", "v1", "listGrammars");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "speech_to_text", "v1", "listGrammars");
     builder.header("Accept", "application/json");
     ResponseConverter<Grammars> responseConverter =
         ResponseConverterUtils.getValue(
@@ -2019,10 +1967,7 @@ public class SpeechToText extends BaseService {
                 getServiceUrl(),
                 "/v1/customizations/{customization_id}/grammars/{grammar_name}",
                 pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("speech_to_text", "v1", "addGrammar");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "speech_to_text", "v1", "addGrammar");
     builder.header("Accept", "application/json");
     builder.header("Content-Type", addGrammarOptions.contentType());
     if (addGrammarOptions.allowOverwrite() != null) {
@@ -2062,10 +2007,7 @@ public class SpeechToText extends BaseService {
                 getServiceUrl(),
                 "/v1/customizations/{customization_id}/grammars/{grammar_name}",
                 pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("speech_to_text", "v1", "getGrammar");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "speech_to_text", "v1", "getGrammar");
     builder.header("Accept", "application/json");
     ResponseConverter<Grammar> responseConverter =
         ResponseConverterUtils.getValue(
@@ -2105,11 +2047,7 @@ public class SpeechToText extends BaseService {
                 getServiceUrl(),
                 "/v1/customizations/{customization_id}/grammars/{grammar_name}",
                 pathParamsMap));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("speech_to_text", "v1", "deleteGrammar");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "speech_to_text", "v1", "deleteGrammar");
     builder.header("Accept", "application/json");
     ResponseConverter<Void> responseConverter = ResponseConverterUtils.getVoid();
     return createServiceCall(builder.build(), responseConverter);
@@ -2149,19 +2087,15 @@ public class SpeechToText extends BaseService {
     RequestBuilder builder =
         RequestBuilder.post(
             RequestBuilder.resolveRequestUrl(getServiceUrl(), "/v1/acoustic_customizations"));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("speech_to_text", "v1", "createAcousticModel");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "speech_to_text", "v1", "createAcousticModel");
     builder.header("Accept", "application/json");
-    final JsonObject contentJson = new JsonObject();
+    final JsonRequestBody contentJson = new JsonRequestBody();
     contentJson.addProperty("name", createAcousticModelOptions.name());
     contentJson.addProperty("base_model_name", createAcousticModelOptions.baseModelName());
     if (createAcousticModelOptions.description() != null) {
       contentJson.addProperty("description", createAcousticModelOptions.description());
     }
-    builder.bodyJson(contentJson);
+    builder.body(contentJson);
     ResponseConverter<AcousticModel> responseConverter =
         ResponseConverterUtils.getValue(
             new com.google.gson.reflect.TypeToken<AcousticModel>() {}.getType());
@@ -2194,11 +2128,7 @@ public class SpeechToText extends BaseService {
     RequestBuilder builder =
         RequestBuilder.get(
             RequestBuilder.resolveRequestUrl(getServiceUrl(), "/v1/acoustic_customizations"));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("speech_to_text", "v1", "listAcousticModels");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "speech_to_text", "v1", "listAcousticModels");
     builder.header("Accept", "application/json");
     if (listAcousticModelsOptions.language() != null) {
       builder.query("language", String.valueOf(listAcousticModelsOptions.language()));
@@ -2255,11 +2185,7 @@ public class SpeechToText extends BaseService {
         RequestBuilder.get(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v1/acoustic_customizations/{customization_id}", pathParamsMap));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("speech_to_text", "v1", "getAcousticModel");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "speech_to_text", "v1", "getAcousticModel");
     builder.header("Accept", "application/json");
     ResponseConverter<AcousticModel> responseConverter =
         ResponseConverterUtils.getValue(
@@ -2294,11 +2220,7 @@ public class SpeechToText extends BaseService {
         RequestBuilder.delete(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v1/acoustic_customizations/{customization_id}", pathParamsMap));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("speech_to_text", "v1", "deleteAcousticModel");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "speech_to_text", "v1", "deleteAcousticModel");
     builder.header("Accept", "application/json");
     ResponseConverter<Void> responseConverter = ResponseConverterUtils.getVoid();
     return createServiceCall(builder.build(), responseConverter);
@@ -2380,11 +2302,7 @@ public class SpeechToText extends BaseService {
                 getServiceUrl(),
                 "/v1/acoustic_customizations/{customization_id}/train",
                 pathParamsMap));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("speech_to_text", "v1", "trainAcousticModel");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "speech_to_text", "v1", "trainAcousticModel");
     builder.header("Accept", "application/json");
     if (trainAcousticModelOptions.customLanguageModelId() != null) {
       builder.query(
@@ -2432,11 +2350,7 @@ public class SpeechToText extends BaseService {
                 getServiceUrl(),
                 "/v1/acoustic_customizations/{customization_id}/reset",
                 pathParamsMap));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("speech_to_text", "v1", "resetAcousticModel");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "speech_to_text", "v1", "resetAcousticModel");
     builder.header("Accept", "application/json");
     ResponseConverter<Void> responseConverter = ResponseConverterUtils.getVoid();
     return createServiceCall(builder.build(), responseConverter);
@@ -2491,11 +2405,7 @@ public class SpeechToText extends BaseService {
                 getServiceUrl(),
                 "/v1/acoustic_customizations/{customization_id}/upgrade_model",
                 pathParamsMap));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("speech_to_text", "v1", "upgradeAcousticModel");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "speech_to_text", "v1", "upgradeAcousticModel");
     builder.header("Accept", "application/json");
     if (upgradeAcousticModelOptions.customLanguageModelId() != null) {
       builder.query(
@@ -2539,10 +2449,7 @@ public class SpeechToText extends BaseService {
                 getServiceUrl(),
                 "/v1/acoustic_customizations/{customization_id}/audio",
                 pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("speech_to_text", "v1", "listAudio");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "speech_to_text", "v1", "listAudio");
     builder.header("Accept", "application/json");
     ResponseConverter<AudioResources> responseConverter =
         ResponseConverterUtils.getValue(
@@ -2660,10 +2567,7 @@ public class SpeechToText extends BaseService {
                 getServiceUrl(),
                 "/v1/acoustic_customizations/{customization_id}/audio/{audio_name}",
                 pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("speech_to_text", "v1", "addAudio");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "speech_to_text", "v1", "addAudio");
     builder.header("Accept", "application/json");
     if (addAudioOptions.contentType() != null) {
       builder.header("Content-Type", addAudioOptions.contentType());
@@ -2721,10 +2625,7 @@ public class SpeechToText extends BaseService {
                 getServiceUrl(),
                 "/v1/acoustic_customizations/{customization_id}/audio/{audio_name}",
                 pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("speech_to_text", "v1", "getAudio");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "speech_to_text", "v1", "getAudio");
     builder.header("Accept", "application/json");
     ResponseConverter<AudioListing> responseConverter =
         ResponseConverterUtils.getValue(
@@ -2766,10 +2667,7 @@ public class SpeechToText extends BaseService {
                 getServiceUrl(),
                 "/v1/acoustic_customizations/{customization_id}/audio/{audio_name}",
                 pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("speech_to_text", "v1", "deleteAudio");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "speech_to_text", "v1", "deleteAudio");
     builder.header("Accept", "application/json");
     ResponseConverter<Void> responseConverter = ResponseConverterUtils.getVoid();
     return createServiceCall(builder.build(), responseConverter);
@@ -2803,11 +2701,7 @@ public class SpeechToText extends BaseService {
         deleteUserDataOptions, "deleteUserDataOptions cannot be null");
     RequestBuilder builder =
         RequestBuilder.delete(RequestBuilder.resolveRequestUrl(getServiceUrl(), "/v1/user_data"));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("speech_to_text", "v1", "deleteUserData");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "speech_to_text", "v1", "deleteUserData");
     builder.query("customer_id", String.valueOf(deleteUserDataOptions.customerId()));
     ResponseConverter<Void> responseConverter = ResponseConverterUtils.getVoid();
     return createServiceCall(builder.build(), responseConverter);
@@ -2834,11 +2728,7 @@ public class SpeechToText extends BaseService {
     RequestBuilder builder =
         RequestBuilder.post(
             RequestBuilder.resolveRequestUrl(getServiceUrl(), "/v1/detect_language"));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("speech_to_text", "v1", "detectLanguage");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "speech_to_text", "v1", "detectLanguage");
     builder.header("Accept", "application/json");
     if (detectLanguageOptions.contentType() != null) {
       builder.header("Content-Type", detectLanguageOptions.contentType());
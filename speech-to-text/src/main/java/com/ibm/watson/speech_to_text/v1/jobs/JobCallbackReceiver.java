@@ -0,0 +1,415 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.speech_to_text.v1.jobs;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.ibm.watson.common.DaemonThreadFactory;
+import com.ibm.watson.speech_to_text.v1.SpeechToText;
+import com.ibm.watson.speech_to_text.v1.model.RegisterCallbackOptions;
+import com.ibm.watson.speech_to_text.v1.model.RegisterStatus;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import okio.ByteString;
+
+/**
+ * Receives the callback notifications of recognition jobs with an HTTP server embedded in the
+ * application, so that a {@link RecognitionJobManager} does not need to poll the service.
+ *
+ * <p>The server answers the <code>GET</code> request with which the service verifies the callback
+ * URL when it is registered, and accepts the <code>POST</code> notifications of jobs. When a user
+ * secret is set, the <code>X-Callback-Signature</code> header of every request, the verification
+ * included, is checked, and requests without a valid signature are rejected with status 401; a
+ * notification without the header is rejected before its body is read. A notification larger than
+ * <code>maxNotificationBytes</code> is rejected with status 413 without being read in full. A
+ * {@link RecognitionJobManager} completes jobs with the results of their notifications, so it only
+ * accepts a receiver with a user secret.
+ *
+ * <p>The server is bound to the loopback address by default, so it only receives requests
+ * forwarded by a proxy on the same host. The callback URL is the URL the service sends
+ * notifications to. It defaults to the address the server is bound to; behind a proxy or a load
+ * balancer, set it to the public URL that forwards to the server.
+ */
+public final class JobCallbackReceiver implements Closeable {
+  private static final Logger LOG = Logger.getLogger(JobCallbackReceiver.class.getName());
+  private static final String SIGNATURE_HEADER = "X-Callback-Signature";
+  private static final String HMAC_SHA1 = "HmacSHA1";
+  private static final String CHALLENGE = "challenge_string";
+
+  /** Receives the notifications. */
+  interface Listener {
+    /**
+     * Called for every notification with a valid signature.
+     *
+     * @param notification the notification
+     */
+    void onNotification(JsonObject notification);
+  }
+
+  private final String host;
+  private final int port;
+  private final String path;
+  private final String userSecret;
+  private final int threads;
+  private final int maxNotificationBytes;
+  private volatile String callbackUrl;
+  private volatile Listener listener;
+  private HttpServer server;
+  private ExecutorService executor;
+
+  /** Builder. */
+  public static class Builder {
+    private String host = "127.0.0.1";
+    private int port;
+    private String path = "/speech-to-text/callback";
+    private String callbackUrl;
+    private String userSecret;
+    private int threads = 2;
+    private int maxNotificationBytes = 16 * 1024 * 1024;
+
+    /**
+     * Set the address the server is bound to. Defaults to the loopback address; use 0.0.0.0 for
+     * all addresses.
+     *
+     * @param host the host name or address
+     * @return the JobCallbackReceiver builder
+     */
+    public Builder host(String host) {
+      this.host = host;
+      return this;
+    }
+
+    /**
+     * Set the port the server listens on. Defaults to 0, for a port chosen by the system.
+     *
+     * @param port the port
+     * @return the JobCallbackReceiver builder
+     */
+    public Builder port(int port) {
+      this.port = port;
+      return this;
+    }
+
+    /**
+     * Set the path the server receives callbacks on. Defaults to /speech-to-text/callback.
+     *
+     * @param path the path
+     * @return the JobCallbackReceiver builder
+     */
+    public Builder path(String path) {
+      this.path = path;
+      return this;
+    }
+
+    /**
+     * Set the URL the service sends notifications to. Defaults to the URL of the address the
+     * server is bound to.
+     *
+     * @param callbackUrl the URL
+     * @return the JobCallbackReceiver builder
+     */
+    public Builder callbackUrl(String callbackUrl) {
+      this.callbackUrl = callbackUrl;
+      return this;
+    }
+
+    /**
+     * Set the secret the service signs notifications with. By default, notifications are not
+     * signed, and anyone who can reach the server can send them; a {@link RecognitionJobManager}
+     * requires a secret.
+     *
+     * @param userSecret the secret
+     * @return the JobCallbackReceiver builder
+     */
+    public Builder userSecret(String userSecret) {
+      this.userSecret = userSecret;
+      return this;
+    }
+
+    /**
+     * Set the number of threads that handle requests. Defaults to 2.
+     *
+     * @param threads the number of threads
+     * @return the JobCallbackReceiver builder
+     */
+    public Builder threads(int threads) {
+      this.threads = threads;
+      return this;
+    }
+
+    /**
+     * Set the maximum size of the body of a notification, which includes the results of its job.
+     * Defaults to 16 MB.
+     *
+     * @param maxNotificationBytes the maximum number of bytes
+     * @return the JobCallbackReceiver builder
+     */
+    public Builder maxNotificationBytes(int maxNotificationBytes) {
+      this.maxNotificationBytes = maxNotificationBytes;
+      return this;
+    }
+
+    /**
+     * Builds a JobCallbackReceiver, which receives nothing until it is started.
+     *
+     * @return the new JobCallbackReceiver instance
+     */
+    public JobCallbackReceiver build() {
+      return new JobCallbackReceiver(this);
+    }
+  }
+
+  protected JobCallbackReceiver(Builder builder) {
+    com.ibm.cloud.sdk.core.util.Validator.notNull(builder.host, "host cannot be null");
+    com.ibm.cloud.sdk.core.util.Validator.isTrue(
+        builder.port >= 0 && builder.port <= 0xFFFF, "port must be between 0 and 65535");
+    com.ibm.cloud.sdk.core.util.Validator.isTrue(
+        builder.path != null && builder.path.startsWith("/"), "path must start with /");
+    com.ibm.cloud.sdk.core.util.Validator.isTrue(builder.threads > 0, "threads must be positive");
+    com.ibm.cloud.sdk.core.util.Validator.isTrue(
+        builder.maxNotificationBytes > 0, "maxNotificationBytes must be positive");
+    host = builder.host;
+    port = builder.port;
+    path = builder.path;
+    callbackUrl = builder.callbackUrl;
+    userSecret = builder.userSecret;
+    threads = builder.threads;
+    maxNotificationBytes = builder.maxNotificationBytes;
+  }
+
+  /**
+   * Starts the server.
+   *
+   * @return this receiver
+   * @throws IOException if the server cannot be bound to its address
+   */
+  public synchronized JobCallbackReceiver start() throws IOException {
+    if (server != null) {
+      return this;
+    }
+    HttpServer httpServer = HttpServer.create(new InetSocketAddress(host, port), 0);
+    httpServer.createContext(
+        path,
+        new HttpHandler() {
+          @Override
+          public void handle(HttpExchange exchange) throws IOException {
+            try {
+              JobCallbackReceiver.this.handle(exchange);
+            } finally {
+              exchange.close();
+            }
+          }
+        });
+    // requests beyond the threads wait in the queue of the pool rather than being rejected
+    executor =
+        Executors.newFixedThreadPool(threads, new DaemonThreadFactory("stt-job-callback"));
+    httpServer.setExecutor(executor);
+    httpServer.start();
+    server = httpServer;
+    if (callbackUrl == null) {
+      InetSocketAddress address = httpServer.getAddress();
+      String name =
+          address.getAddress().isAnyLocalAddress() ? "localhost" : address.getHostString();
+      callbackUrl = "http://" + name + ":" + address.getPort() + path;
+    }
+    return this;
+  }
+
+  /**
+   * Gets the URL the service sends notifications to.
+   *
+   * @return the URL, or null if it was not set and the server has not been started
+   */
+  public String callbackUrl() {
+    return callbackUrl;
+  }
+
+  /**
+   * Registers the callback URL with the service, which verifies it with a request to the server.
+   *
+   * @param speechToText the service
+   * @return the status of the registration
+   */
+  public RegisterStatus register(SpeechToText speechToText) {
+    com.ibm.cloud.sdk.core.util.Validator.notNull(speechToText, "speechToText cannot be null");
+    com.ibm.cloud.sdk.core.util.Validator.notNull(
+        callbackUrl, "the receiver must be started before it is registered");
+    RegisterCallbackOptions options =
+        new RegisterCallbackOptions.Builder(callbackUrl).userSecret(userSecret).build();
+    return speechToText.registerCallback(options).execute().getResult();
+  }
+
+  /**
+   * Tells whether notifications must be signed with a user secret.
+   *
+   * @return true if unsigned notifications are rejected
+   */
+  boolean isSigned() {
+    return userSecret != null;
+  }
+
+  void listener(Listener listener) {
+    this.listener = listener;
+  }
+
+  /** Stops the server. */
+  @Override
+  public synchronized void close() {
+    if (server != null) {
+      server.stop(0);
+      executor.shutdownNow();
+      server = null;
+    }
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    String method = exchange.getRequestMethod();
+    String signature = exchange.getRequestHeaders().getFirst(SIGNATURE_HEADER);
+    if ("GET".equals(method)) {
+      String challenge = challenge(exchange.getRequestURI().getRawQuery());
+      if (challenge == null) {
+        respond(exchange, 400, "challenge_string is missing");
+      } else if (userSecret != null
+          && (signature == null
+              || !verify(challenge.getBytes(StandardCharsets.UTF_8), signature))) {
+        respond(exchange, 401, "Invalid signature");
+      } else {
+        respond(exchange, 200, challenge);
+      }
+      return;
+    }
+    if (!"POST".equals(method)) {
+      respond(exchange, 405, "Method not allowed");
+      return;
+    }
+
+    if (userSecret != null && signature == null) {
+      LOG.warning("Rejected a job notification without a signature");
+      respond(exchange, 401, "Invalid signature");
+      return;
+    }
+    byte[] body = read(exchange, maxNotificationBytes);
+    if (body == null) {
+      LOG.warning("Rejected a job notification larger than " + maxNotificationBytes + " bytes");
+      respond(exchange, 413, "Notification too large");
+      return;
+    }
+    if (userSecret != null && !verify(body, signature)) {
+      LOG.warning("Rejected a job notification without a valid signature");
+      respond(exchange, 401, "Invalid signature");
+      return;
+    }
+    JsonObject notification;
+    try {
+      notification =
+          JsonParser.parseString(new String(body, StandardCharsets.UTF_8)).getAsJsonObject();
+    } catch (JsonParseException | IllegalStateException e) {
+      respond(exchange, 400, "Invalid notification");
+      return;
+    }
+    respond(exchange, 200, "");
+    Listener current = listener;
+    if (current != null) {
+      try {
+        current.onNotification(notification);
+      } catch (RuntimeException e) {
+        LOG.log(Level.WARNING, "Job notification could not be handled", e);
+      }
+    }
+  }
+
+  private static String challenge(String query) throws UnsupportedEncodingException {
+    if (query == null) {
+      return null;
+    }
+    for (String parameter : query.split("&")) {
+      if (parameter.startsWith(CHALLENGE + "=")) {
+        return URLDecoder.decode(parameter.substring(CHALLENGE.length() + 1), "UTF-8");
+      }
+    }
+    return null;
+  }
+
+  /** Checks the HMAC-SHA1 signature, in base64, of a payload. */
+  private boolean verify(byte[] payload, String signature) {
+    if (userSecret == null) {
+      return true;
+    }
+    try {
+      Mac mac = Mac.getInstance(HMAC_SHA1);
+      mac.init(new SecretKeySpec(userSecret.getBytes(StandardCharsets.UTF_8), HMAC_SHA1));
+      byte[] expected = mac.doFinal(payload);
+      ByteString actual = ByteString.decodeBase64(signature.trim());
+      return actual != null && MessageDigest.isEqual(expected, actual.toByteArray());
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException("HMAC-SHA1 is not available", e);
+    }
+  }
+
+  /**
+   * Reads the body of a request.
+   *
+   * @return the body, or null if it is larger than the limit
+   */
+  private static byte[] read(HttpExchange exchange, int limit) throws IOException {
+    String length = exchange.getRequestHeaders().getFirst("Content-Length");
+    try {
+      if (length != null && Long.parseLong(length.trim()) > limit) {
+        return null;
+      }
+    } catch (NumberFormatException e) {
+      // read up to the limit
+    }
+    InputStream in = exchange.getRequestBody();
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    byte[] buffer = new byte[8192];
+    int count;
+    while ((count = in.read(buffer)) != -1) {
+      if (out.size() + count > limit) {
+        return null;
+      }
+      out.write(buffer, 0, count);
+    }
+    return out.toByteArray();
+  }
+
+  private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+    byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+    exchange.sendResponseHeaders(status, bytes.length > 0 ? bytes.length : -1);
+    if (bytes.length > 0) {
+      OutputStream out = exchange.getResponseBody();
+      out.write(bytes);
+      out.close();
+    }
+  }
+}
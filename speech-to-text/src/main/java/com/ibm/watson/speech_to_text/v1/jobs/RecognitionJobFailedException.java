@@ -0,0 +1,41 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.speech_to_text.v1.jobs;
+
+import com.ibm.watson.speech_to_text.v1.model.RecognitionJob;
+
+/** The failure of a recognition job that the service could not process. */
+public class RecognitionJobFailedException extends RuntimeException {
+  private static final long serialVersionUID = 1L;
+
+  private final transient RecognitionJob job;
+
+  /**
+   * Instantiates a new exception.
+   *
+   * @param job the failed job
+   */
+  public RecognitionJobFailedException(RecognitionJob job) {
+    super("Recognition job " + job.getId() + " failed");
+    this.job = job;
+  }
+
+  /**
+   * Gets the failed job, with the warnings of the service if it was checked.
+   *
+   * @return the job
+   */
+  public RecognitionJob getJob() {
+    return job;
+  }
+}
@@ -0,0 +1,775 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.speech_to_text.v1.jobs;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.ibm.cloud.sdk.core.http.Response;
+import com.ibm.cloud.sdk.core.http.ServiceCallback;
+import com.ibm.cloud.sdk.core.util.GsonSingleton;
+import com.ibm.watson.common.DaemonThreadFactory;
+import com.ibm.watson.common.RetryPolicy;
+import com.ibm.watson.speech_to_text.v1.SpeechToText;
+import com.ibm.watson.speech_to_text.v1.model.CheckJobOptions;
+import com.ibm.watson.speech_to_text.v1.model.CreateJobOptions;
+import com.ibm.watson.speech_to_text.v1.model.RecognitionJob;
+import com.ibm.watson.speech_to_text.v1.model.RecognitionJobs;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import okhttp3.Dispatcher;
+
+/**
+ * Runs many asynchronous recognition jobs with {@link SpeechToText#createJob(CreateJobOptions)},
+ * and completes a future with each job once the service has finished it.
+ *
+ * <p>At most <code>maxActiveJobs</code> jobs are created and unfinished at a time; jobs submitted
+ * beyond that wait in a queue, so the quota of the service instance is not exceeded. Creating a job
+ * is not idempotent: a creation that failed with a server error, or whose response was lost, may
+ * have created the job, and sending it again would create a second one. Only the creations that
+ * the service cannot have acted on, throttled with status 429 or whose connection could not be
+ * made, are therefore retried as decided by a {@link RetryPolicy}, and only when their audio stream
+ * supports {@link InputStream#mark(int)}, as it must be sent again.
+ *
+ * <p>Jobs are tracked in one of two ways:
+ *
+ * <ul>
+ *   <li>By polling: a single {@link SpeechToText#checkJobs()} request checks all the jobs at once,
+ *       and the results of the finished ones are fetched with {@link
+ *       SpeechToText#checkJob(CheckJobOptions)}. The interval between checks starts at <code>
+ *       minPollIntervalMillis</code>, doubles up to <code>maxPollIntervalMillis</code> while no job
+ *       finishes, and goes back to the minimum when one does. The service only lists its latest
+ *       100 jobs, so the jobs missing from the list are checked one by one, each on its own
+ *       interval that doubles after every check, and no more than one for every 10 <code>
+ *       maxActiveJobs</code> per check of all the jobs.
+ *   <li>By callback notifications, when a {@link JobCallbackReceiver} with a user secret is set,
+ *       so that the results of the notifications can be trusted: jobs are created with
+ *       its callback URL and the <code>recognitions.completed_with_results</code> and <code>
+ *       recognitions.failed</code> events, and are not polled unless <code>
+ *       callbackFallbackPollMillis</code> is set to catch notifications that never arrive.
+ * </ul>
+ *
+ * <p>A future completes with the finished job and its results, or exceptionally with a {@link
+ * RecognitionJobFailedException} if the service failed the job. Futures are completed on the
+ * completion executor, the common fork-join pool by default, so that dependent stages do not hold
+ * up the tracking of other jobs. Cancelling a future stops tracking its job, but does not delete
+ * it.
+ *
+ * <p>The audio of the jobs is uploaded through the {@link Dispatcher} of the client, which lets 5
+ * requests per host run at a time unless it is changed. All the clients of the SDK share it, so
+ * the manager does not raise its limits for <code>maxActiveJobs</code>; to upload more jobs at
+ * once, set a client with its own dispatcher on the {@link SpeechToText} service.
+ */
+public final class RecognitionJobManager implements Closeable {
+  private static final Logger LOG = Logger.getLogger(RecognitionJobManager.class.getName());
+  private static final Gson GSON = GsonSingleton.getGsonWithoutPrettyPrinting();
+  private static final int MAX_EARLY_NOTIFICATIONS = 1000;
+
+  private final SpeechToText speechToText;
+  private final JobCallbackReceiver callbackReceiver;
+  private final int maxActiveJobs;
+  private final long minPollIntervalMillis;
+  private final long maxPollIntervalMillis;
+  private final long callbackFallbackPollMillis;
+  private final int maxRetries;
+  private final RetryPolicy retryPolicy;
+  private final Executor completionExecutor;
+  private final ScheduledExecutorService scheduler;
+
+  // confined to the scheduler thread
+  private final Deque<Submission> queue = new ArrayDeque<>();
+  private final Map<String, CompletableFuture<RecognitionJob>> jobs = new HashMap<>();
+  private final Set<String> fetching = new HashSet<>();
+  private final Map<String, Unlisted> unlisted = new LinkedHashMap<>();
+  private final Map<String, JsonObject> earlyNotifications = new LinkedHashMap<>();
+  private int creating;
+  private long pollIntervalMillis;
+  private ScheduledFuture<?> poll;
+  private boolean polling;
+  private boolean closed;
+
+  private volatile int activeJobCount;
+  private volatile int queuedJobCount;
+
+  /** Builder. */
+  public static class Builder {
+    private final SpeechToText speechToText;
+    private JobCallbackReceiver callbackReceiver;
+    private int maxActiveJobs = 10;
+    private long minPollIntervalMillis = 5000;
+    private long maxPollIntervalMillis = 60000;
+    private long callbackFallbackPollMillis;
+    private int maxRetries = 5;
+    private long initialBackoffMillis = 1000;
+    private long maxBackoffMillis = 60000;
+    private Executor completionExecutor = ForkJoinPool.commonPool();
+
+    /**
+     * Instantiates a new builder.
+     *
+     * @param speechToText the service the jobs are created with
+     */
+    public Builder(SpeechToText speechToText) {
+      this.speechToText = speechToText;
+    }
+
+    /**
+     * Set the receiver of the callback notifications of the jobs. By default, jobs are polled.
+     *
+     * @param callbackReceiver the started receiver with a user secret, whose callback URL is
+     *     registered
+     * @return the RecognitionJobManager builder
+     */
+    public Builder callbackReceiver(JobCallbackReceiver callbackReceiver) {
+      this.callbackReceiver = callbackReceiver;
+      return this;
+    }
+
+    /**
+     * Set the maximum number of jobs created and unfinished at a time. Defaults to 10.
+     *
+     * @param maxActiveJobs the number of jobs
+     * @return the RecognitionJobManager builder
+     */
+    public Builder maxActiveJobs(int maxActiveJobs) {
+      this.maxActiveJobs = maxActiveJobs;
+      return this;
+    }
+
+    /**
+     * Set the interval between checks of the jobs after one has finished. Defaults to 5 seconds.
+     *
+     * @param minPollIntervalMillis the interval in milliseconds
+     * @return the RecognitionJobManager builder
+     */
+    public Builder minPollIntervalMillis(long minPollIntervalMillis) {
+      this.minPollIntervalMillis = minPollIntervalMillis;
+      return this;
+    }
+
+    /**
+     * Set the maximum interval between checks of the jobs. Defaults to one minute.
+     *
+     * @param maxPollIntervalMillis the interval in milliseconds
+     * @return the RecognitionJobManager builder
+     */
+    public Builder maxPollIntervalMillis(long maxPollIntervalMillis) {
+      this.maxPollIntervalMillis = maxPollIntervalMillis;
+      return this;
+    }
+
+    /**
+     * Set the interval between checks of the jobs when a callback receiver is set. Defaults to 0,
+     * which relies on the notifications alone.
+     *
+     * @param callbackFallbackPollMillis the interval in milliseconds
+     * @return the RecognitionJobManager builder
+     */
+    public Builder callbackFallbackPollMillis(long callbackFallbackPollMillis) {
+      this.callbackFallbackPollMillis = callbackFallbackPollMillis;
+      return this;
+    }
+
+    /**
+     * Set the maximum number of times the creation of a job is retried. Defaults to 5.
+     *
+     * @param maxRetries the number of retries
+     * @return the RecognitionJobManager builder
+     */
+    public Builder maxRetries(int maxRetries) {
+      this.maxRetries = maxRetries;
+      return this;
+    }
+
+    /**
+     * Set the initial backoff of the {@link RetryPolicy}. Defaults to one second.
+     *
+     * @param initialBackoffMillis the delay in milliseconds
+     * @return the RecognitionJobManager builder
+     */
+    public Builder initialBackoffMillis(long initialBackoffMillis) {
+      this.initialBackoffMillis = initialBackoffMillis;
+      return this;
+    }
+
+    /**
+     * Set the maximum backoff of the {@link RetryPolicy}. Defaults to one minute.
+     *
+     * @param maxBackoffMillis the delay in milliseconds
+     * @return the RecognitionJobManager builder
+     */
+    public Builder maxBackoffMillis(long maxBackoffMillis) {
+      this.maxBackoffMillis = maxBackoffMillis;
+      return this;
+    }
+
+    /**
+     * Set the executor the futures of the jobs are completed on. Defaults to the common fork-join
+     * pool.
+     *
+     * @param completionExecutor the executor
+     * @return the RecognitionJobManager builder
+     */
+    public Builder completionExecutor(Executor completionExecutor) {
+      this.completionExecutor = completionExecutor;
+      return this;
+    }
+
+    /**
+     * Builds a RecognitionJobManager.
+     *
+     * @return the new RecognitionJobManager instance
+     */
+    public RecognitionJobManager build() {
+      return new RecognitionJobManager(this);
+    }
+  }
+
+  protected RecognitionJobManager(Builder builder) {
+    com.ibm.cloud.sdk.core.util.Validator.notNull(
+        builder.speechToText, "speechToText cannot be null");
+    com.ibm.cloud.sdk.core.util.Validator.isTrue(
+        builder.maxActiveJobs > 0, "maxActiveJobs must be positive");
+    com.ibm.cloud.sdk.core.util.Validator.isTrue(
+        builder.minPollIntervalMillis > 0
+            && builder.maxPollIntervalMillis >= builder.minPollIntervalMillis,
+        "the poll intervals must be positive, the maximum at least the minimum");
+    com.ibm.cloud.sdk.core.util.Validator.isTrue(
+        builder.callbackFallbackPollMillis >= 0, "callbackFallbackPollMillis cannot be negative");
+    com.ibm.cloud.sdk.core.util.Validator.isTrue(
+        builder.maxRetries >= 0, "maxRetries cannot be negative");
+    com.ibm.cloud.sdk.core.util.Validator.isTrue(
+        builder.initialBackoffMillis >= 0 && builder.maxBackoffMillis >= 0,
+        "backoff cannot be negative");
+    com.ibm.cloud.sdk.core.util.Validator.notNull(
+        builder.completionExecutor, "completionExecutor cannot be null");
+    if (builder.callbackReceiver != null) {
+      com.ibm.cloud.sdk.core.util.Validator.notNull(
+          builder.callbackReceiver.callbackUrl(), "the callback receiver must be started");
+      com.ibm.cloud.sdk.core.util.Validator.isTrue(
+          builder.callbackReceiver.isSigned(), "the callback receiver must have a user secret");
+    }
+    speechToText = builder.speechToText;
+    callbackReceiver = builder.callbackReceiver;
+    maxActiveJobs = builder.maxActiveJobs;
+    minPollIntervalMillis = builder.minPollIntervalMillis;
+    maxPollIntervalMillis = builder.maxPollIntervalMillis;
+    callbackFallbackPollMillis = builder.callbackFallbackPollMillis;
+    maxRetries = builder.maxRetries;
+    retryPolicy = new RetryPolicy(builder.initialBackoffMillis, builder.maxBackoffMillis);
+    completionExecutor = builder.completionExecutor;
+    pollIntervalMillis = minPollIntervalMillis;
+
+    ScheduledThreadPoolExecutor executor =
+        new ScheduledThreadPoolExecutor(1, new DaemonThreadFactory("stt-job-manager"));
+    executor.setRemoveOnCancelPolicy(true);
+    scheduler = executor;
+
+    if (callbackReceiver != null) {
+      callbackReceiver.listener(
+          new JobCallbackReceiver.Listener() {
+            @Override
+            public void onNotification(final JsonObject notification) {
+              execute(
+                  new Runnable() {
+                    @Override
+                    public void run() {
+                      notified(notification);
+                    }
+                  });
+            }
+          });
+    }
+  }
+
+  /**
+   * Submits a job. The job is created once fewer than <code>maxActiveJobs</code> jobs are active;
+   * when a callback receiver is set, its callback URL and events replace those of the options.
+   *
+   * @param createJobOptions the options of the job
+   * @return the future of the finished job
+   */
+  public CompletableFuture<RecognitionJob> submit(CreateJobOptions createJobOptions) {
+    com.ibm.cloud.sdk.core.util.Validator.notNull(
+        createJobOptions, "createJobOptions cannot be null");
+    if (callbackReceiver != null) {
+      createJobOptions =
+          createJobOptions
+              .newBuilder()
+              .callbackUrl(callbackReceiver.callbackUrl())
+              .events(
+                  CreateJobOptions.Events.RECOGNITIONS_COMPLETED_WITH_RESULTS
+                      + ","
+                      + CreateJobOptions.Events.RECOGNITIONS_FAILED)
+              .build();
+    }
+    InputStream audio = createJobOptions.audio();
+    if (audio != null && audio.markSupported()) {
+      audio.mark(Integer.MAX_VALUE);
+    }
+    final Submission submission = new Submission(createJobOptions);
+    execute(
+        new Runnable() {
+          @Override
+          public void run() {
+            queue.add(submission);
+            dispatch();
+          }
+        });
+    return submission.future;
+  }
+
+  /**
+   * Gets the number of jobs that are being created or have not finished.
+   *
+   * @return the number of jobs
+   */
+  public int getActiveJobCount() {
+    return activeJobCount;
+  }
+
+  /**
+   * Gets the number of jobs that wait to be created.
+   *
+   * @return the number of jobs
+   */
+  public int getQueuedJobCount() {
+    return queuedJobCount;
+  }
+
+  /**
+   * Stops tracking jobs, and completes the futures of the jobs that have not finished
+   * exceptionally with an {@link IllegalStateException}. Jobs that were created go on in the
+   * service.
+   */
+  @Override
+  public void close() {
+    if (callbackReceiver != null) {
+      callbackReceiver.listener(null);
+    }
+    try {
+      scheduler.execute(
+          new Runnable() {
+            @Override
+            public void run() {
+              closed = true;
+              IllegalStateException e = new IllegalStateException("The job manager is closed");
+              for (Submission submission : queue) {
+                submission.future.completeExceptionally(e);
+              }
+              queue.clear();
+              for (CompletableFuture<RecognitionJob> future : jobs.values()) {
+                future.completeExceptionally(e);
+              }
+              jobs.clear();
+              scheduler.shutdownNow();
+            }
+          });
+    } catch (RejectedExecutionException e) {
+      // already closed
+    }
+  }
+
+  private void execute(Runnable task) {
+    try {
+      scheduler.execute(task);
+    } catch (RejectedExecutionException e) {
+      LOG.log(Level.FINE, "The job manager is closed", e);
+    }
+  }
+
+  private void updateCounts() {
+    activeJobCount = creating + jobs.size();
+    queuedJobCount = queue.size();
+  }
+
+  /** Creates queued jobs while the quota allows. */
+  private void dispatch() {
+    while (!closed && !queue.isEmpty() && creating + jobs.size() < maxActiveJobs) {
+      Submission submission = queue.poll();
+      if (submission.future.isDone()) {
+        continue;
+      }
+      creating++;
+      create(submission, 0);
+    }
+    updateCounts();
+  }
+
+  private void create(final Submission submission, final int attempt) {
+    speechToText
+        .createJob(submission.options)
+        .enqueue(
+            new ServiceCallback<RecognitionJob>() {
+              @Override
+              public void onResponse(final Response<RecognitionJob> response) {
+                execute(
+                    new Runnable() {
+                      @Override
+                      public void run() {
+                        created(submission, response.getResult());
+                      }
+                    });
+              }
+
+              @Override
+              public void onFailure(final Exception e) {
+                execute(
+                    new Runnable() {
+                      @Override
+                      public void run() {
+                        createFailed(submission, e, attempt);
+                      }
+                    });
+              }
+            });
+  }
+
+  private void created(Submission submission, RecognitionJob job) {
+    creating--;
+    if (closed) {
+      submission.future.completeExceptionally(
+          new IllegalStateException("The job manager is closed"));
+      return;
+    }
+    jobs.put(job.getId(), submission.future);
+    JsonObject notification = earlyNotifications.remove(job.getId());
+    if (notification != null) {
+      notified(notification);
+    } else if (isFinished(job)) {
+      fetch(job.getId());
+    }
+    schedulePoll();
+    dispatch();
+  }
+
+  private void createFailed(final Submission submission, Exception e, final int attempt) {
+    // the job may have been created unless the request was throttled or never sent
+    long delay = retryPolicy.retryDelay(e, attempt, false);
+    if (!closed && delay >= 0 && attempt < maxRetries && resetAudio(submission.options)) {
+      scheduler.schedule(
+          new Runnable() {
+            @Override
+            public void run() {
+              if (closed) {
+                creating--;
+                return;
+              }
+              create(submission, attempt + 1);
+            }
+          },
+          delay,
+          TimeUnit.MILLISECONDS);
+      return;
+    }
+    creating--;
+    dispatch();
+    submission.future.completeExceptionally(e);
+  }
+
+  private static boolean resetAudio(CreateJobOptions options) {
+    InputStream audio = options.audio();
+    if (audio == null || !audio.markSupported()) {
+      return false;
+    }
+    try {
+      audio.reset();
+      return true;
+    } catch (IOException e) {
+      return false;
+    }
+  }
+
+  /** Schedules the next check of the jobs, if they are polled and none is scheduled. */
+  private void schedulePoll() {
+    long interval = callbackReceiver != null ? callbackFallbackPollMillis : pollIntervalMillis;
+    if (closed || poll != null || polling || jobs.isEmpty() || interval == 0) {
+      return;
+    }
+    poll =
+        scheduler.schedule(
+            new Runnable() {
+              @Override
+              public void run() {
+                poll = null;
+                poll();
+              }
+            },
+            interval,
+            TimeUnit.MILLISECONDS);
+  }
+
+  /** Checks all the jobs with one request, and fetches the results of the finished ones. */
+  private void poll() {
+    removeCancelled();
+    if (closed || jobs.isEmpty()) {
+      return;
+    }
+    polling = true;
+    speechToText
+        .checkJobs()
+        .enqueue(
+            new ServiceCallback<RecognitionJobs>() {
+              @Override
+              public void onResponse(final Response<RecognitionJobs> response) {
+                execute(
+                    new Runnable() {
+                      @Override
+                      public void run() {
+                        polling = false;
+                        polled(response.getResult());
+                      }
+                    });
+              }
+
+              @Override
+              public void onFailure(final Exception e) {
+                LOG.log(Level.WARNING, "Recognition jobs could not be checked", e);
+                execute(
+                    new Runnable() {
+                      @Override
+                      public void run() {
+                        polling = false;
+                        pollIntervalMillis =
+                            Math.min(2 * pollIntervalMillis, maxPollIntervalMillis);
+                        schedulePoll();
+                      }
+                    });
+              }
+            });
+  }
+
+  private void polled(RecognitionJobs recognitions) {
+    if (closed) {
+      return;
+    }
+    boolean finished = false;
+    Set<String> unseen = new HashSet<>(jobs.keySet());
+    if (recognitions != null && recognitions.getRecognitions() != null) {
+      for (RecognitionJob job : recognitions.getRecognitions()) {
+        if (unseen.remove(job.getId())) {
+          unlisted.remove(job.getId());
+          if (isFinished(job)) {
+            finished = true;
+            fetch(job.getId());
+          }
+        }
+      }
+    }
+    checkUnlisted(unseen);
+    pollIntervalMillis =
+        finished ? minPollIntervalMillis : Math.min(2 * pollIntervalMillis, maxPollIntervalMillis);
+    schedulePoll();
+  }
+
+  /**
+   * Checks the jobs missing from the list of the latest jobs one by one, each no more often than
+   * its own interval, which doubles after every check.
+   */
+  private void checkUnlisted(Set<String> unseen) {
+    long now = System.nanoTime();
+    for (String id : unseen) {
+      if (!unlisted.containsKey(id)) {
+        unlisted.put(id, new Unlisted(now));
+      }
+    }
+    int budget = Math.max(1, maxActiveJobs / 10);
+    List<String> checked = new ArrayList<>();
+    for (Map.Entry<String, Unlisted> entry : unlisted.entrySet()) {
+      if (checked.size() == budget) {
+        break;
+      }
+      Unlisted job = entry.getValue();
+      if (unseen.contains(entry.getKey()) && now - job.nextCheckNanos >= 0) {
+        job.intervalMillis = Math.min(2 * job.intervalMillis, maxPollIntervalMillis);
+        job.nextCheckNanos = now + TimeUnit.MILLISECONDS.toNanos(job.intervalMillis);
+        checked.add(entry.getKey());
+      }
+    }
+    for (String id : checked) {
+      // checked jobs go to the back, so that every job gets its turn
+      unlisted.put(id, unlisted.remove(id));
+      fetch(id);
+    }
+  }
+
+  private void removeCancelled() {
+    boolean removed = false;
+    Iterator<Map.Entry<String, CompletableFuture<RecognitionJob>>> entries =
+        jobs.entrySet().iterator();
+    while (entries.hasNext()) {
+      Map.Entry<String, CompletableFuture<RecognitionJob>> entry = entries.next();
+      if (entry.getValue().isDone()) {
+        entries.remove();
+        unlisted.remove(entry.getKey());
+        removed = true;
+      }
+    }
+    if (removed) {
+      dispatch();
+    }
+  }
+
+  private static boolean isFinished(RecognitionJob job) {
+    return RecognitionJob.Status.COMPLETED.equals(job.getStatus())
+        || RecognitionJob.Status.FAILED.equals(job.getStatus());
+  }
+
+  /** Checks a job, and completes its future if it has finished. */
+  private void fetch(final String id) {
+    if (!fetching.add(id)) {
+      return;
+    }
+    speechToText
+        .checkJob(new CheckJobOptions.Builder(id).build())
+        .enqueue(
+            new ServiceCallback<RecognitionJob>() {
+              @Override
+              public void onResponse(final Response<RecognitionJob> response) {
+                execute(
+                    new Runnable() {
+                      @Override
+                      public void run() {
+                        fetching.remove(id);
+                        if (isFinished(response.getResult())) {
+                          finish(response.getResult());
+                        }
+                      }
+                    });
+              }
+
+              @Override
+              public void onFailure(final Exception e) {
+                LOG.log(Level.FINE, "Recognition job " + id + " could not be checked", e);
+                execute(
+                    new Runnable() {
+                      @Override
+                      public void run() {
+                        // checked again by the next poll
+                        fetching.remove(id);
+                        schedulePoll();
+                      }
+                    });
+              }
+            });
+  }
+
+  /** Handles a callback notification. */
+  private void notified(JsonObject notification) {
+    JsonElement id = notification.get("id");
+    JsonElement event = notification.get("event");
+    if (closed || id == null || event == null) {
+      return;
+    }
+    if (!jobs.containsKey(id.getAsString())) {
+      // the notification may arrive before the response that creates the job
+      if (creating > 0) {
+        earlyNotifications.put(id.getAsString(), notification);
+        Iterator<String> ids = earlyNotifications.keySet().iterator();
+        while (earlyNotifications.size() > MAX_EARLY_NOTIFICATIONS) {
+          ids.next();
+          ids.remove();
+        }
+      }
+      return;
+    }
+
+    String status;
+    if (CreateJobOptions.Events.RECOGNITIONS_COMPLETED_WITH_RESULTS.equals(event.getAsString())) {
+      status = RecognitionJob.Status.COMPLETED;
+    } else if (CreateJobOptions.Events.RECOGNITIONS_FAILED.equals(event.getAsString())) {
+      status = RecognitionJob.Status.FAILED;
+    } else {
+      if (CreateJobOptions.Events.RECOGNITIONS_COMPLETED.equals(event.getAsString())) {
+        fetch(id.getAsString());
+      }
+      return;
+    }
+    JsonObject job = new JsonObject();
+    job.add("id", id);
+    job.addProperty("status", status);
+    if (notification.has("user_token")) {
+      job.add("user_token", notification.get("user_token"));
+    }
+    if (notification.has("results")) {
+      job.add("results", notification.get("results"));
+    }
+    finish(GSON.fromJson(job, RecognitionJob.class));
+  }
+
+  /** Completes the future of a finished job. */
+  private void finish(final RecognitionJob job) {
+    final CompletableFuture<RecognitionJob> future = jobs.remove(job.getId());
+    unlisted.remove(job.getId());
+    if (future == null) {
+      return;
+    }
+    dispatch();
+    try {
+      completionExecutor.execute(
+          new Runnable() {
+            @Override
+            public void run() {
+              if (RecognitionJob.Status.FAILED.equals(job.getStatus())) {
+                future.completeExceptionally(new RecognitionJobFailedException(job));
+              } else {
+                future.complete(job);
+              }
+            }
+          });
+    } catch (RejectedExecutionException e) {
+      future.completeExceptionally(e);
+    }
+  }
+
+  /** The schedule of the checks of a job missing from the list of the latest jobs. */
+  private final class Unlisted {
+    long nextCheckNanos;
+    long intervalMillis = minPollIntervalMillis;
+
+    Unlisted(long nextCheckNanos) {
+      this.nextCheckNanos = nextCheckNanos;
+    }
+  }
+
+  /** A job waiting to be created. */
+  private static final class Submission {
+    final CreateJobOptions options;
+    final CompletableFuture<RecognitionJob> future = new CompletableFuture<>();
+
+    Submission(CreateJobOptions options) {
+      this.options = options;
+    }
+  }
+}
@@ -0,0 +1,293 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.speech_to_text.v1.longaudio;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Splits FLAC audio at frame boundaries, without decoding it.
+ *
+ * <p>Each segment is a FLAC stream of its own: the STREAMINFO block of the audio, with the total
+ * number of samples and the MD5 signature marked as unknown, followed by a run of whole frames.
+ * Frames are found by their sync code, and a candidate is only accepted if the CRC-8 of its header
+ * matches and it starts at the sample where the previous frame ends. As the audio is not decoded,
+ * silence cannot be detected: segments always end half the overlap after their target duration and
+ * the next one starts half the overlap before it, rounded out to whole frames.
+ */
+final class FlacSegmentReader extends SegmentReader {
+  private static final int STREAMINFO = 0;
+  private static final int STREAMINFO_LENGTH = 34;
+  private static final int MAX_FRAME_HEADER = 16;
+
+  private final byte[] header;
+  private final int sampleRate;
+  private final int fixedBlockSize;
+  private final long targetSamples;
+  private final long overlapSamples;
+  private int[] framePositions = new int[64];
+  private long[] frameSamples = new long[64];
+  private int frameCount;
+  private int scanPosition;
+  private long expectedSample;
+  private long frameSample;
+  private int frameBlockSize;
+  private long startSample;
+  private double keepFrom;
+  private int index;
+  private boolean done;
+
+  private FlacSegmentReader(
+      InputStream audio, byte[] streamInfo, long segmentMillis, long overlapMillis) {
+    super(audio);
+    sampleRate =
+        ((streamInfo[10] & 0xFF) << 12)
+            | ((streamInfo[11] & 0xFF) << 4)
+            | ((streamInfo[12] & 0xFF) >>> 4);
+    fixedBlockSize = ((streamInfo[0] & 0xFF) << 8) | (streamInfo[1] & 0xFF);
+    com.ibm.cloud.sdk.core.util.Validator.isTrue(
+        sampleRate > 0, "the FLAC stream must have a sample rate");
+    targetSamples = Math.max(1, segmentMillis * sampleRate / 1000);
+    overlapSamples = overlapMillis * sampleRate / 1000;
+
+    byte[] info = Arrays.copyOf(streamInfo, STREAMINFO_LENGTH);
+    // the total number of samples and the MD5 signature of a segment are unknown
+    info[13] &= (byte) 0xF0;
+    Arrays.fill(info, 14, STREAMINFO_LENGTH, (byte) 0);
+    header = new byte[8 + STREAMINFO_LENGTH];
+    header[0] = 'f';
+    header[1] = 'L';
+    header[2] = 'a';
+    header[3] = 'C';
+    header[4] = (byte) (0x80 | STREAMINFO);
+    header[7] = STREAMINFO_LENGTH;
+    System.arraycopy(info, 0, header, 8, STREAMINFO_LENGTH);
+  }
+
+  /**
+   * Opens a reader for a FLAC stream, after reading its metadata.
+   *
+   * @param audio the audio
+   * @param segmentMillis the target duration of the segments
+   * @param overlapMillis the duration of the overlap of the segments
+   * @return the reader
+   * @throws IOException if the metadata cannot be read
+   */
+  static FlacSegmentReader open(InputStream audio, long segmentMillis, long overlapMillis)
+      throws IOException {
+    byte[] marker = readFully(audio, 4);
+    if (marker[0] != 'f' || marker[1] != 'L' || marker[2] != 'a' || marker[3] != 'C') {
+      throw new IllegalArgumentException("The audio is not a FLAC stream");
+    }
+    byte[] streamInfo = null;
+    boolean last = false;
+    while (!last) {
+      byte[] block = readFully(audio, 4);
+      last = (block[0] & 0x80) != 0;
+      int type = block[0] & 0x7F;
+      int length = ((block[1] & 0xFF) << 16) | ((block[2] & 0xFF) << 8) | (block[3] & 0xFF);
+      if (type == STREAMINFO && length >= STREAMINFO_LENGTH) {
+        streamInfo = readFully(audio, length);
+      } else {
+        for (int skipped = 0; skipped < length; skipped += READ_SIZE) {
+          readFully(audio, Math.min(READ_SIZE, length - skipped));
+        }
+      }
+    }
+    if (streamInfo == null) {
+      throw new IllegalArgumentException("The FLAC stream has no STREAMINFO block");
+    }
+    return new FlacSegmentReader(audio, streamInfo, segmentMillis, overlapMillis);
+  }
+
+  @Override
+  Segment next() throws IOException {
+    if (done) {
+      return null;
+    }
+    if (frameCount == 0 && !findNextFrame()) {
+      done = true;
+      return null;
+    }
+    long end = startSample + targetSamples + overlapSamples / 2;
+    while (frameSamples[frameCount - 1] < end && findNextFrame()) {
+      // read up to the first frame at or after the end
+    }
+    if (frameSamples[frameCount - 1] < end) {
+      done = true;
+      return segment(length(), Double.POSITIVE_INFINITY);
+    }
+
+    long boundary = startSample + targetSamples;
+    double boundarySeconds = (double) boundary / sampleRate;
+    Segment segment = segment(framePositions[frameCount - 1], boundarySeconds);
+    int next = 1;
+    while (next + 1 < frameCount && frameSamples[next + 1] <= boundary - overlapSamples / 2) {
+      next++;
+    }
+    int shift = framePositions[next];
+    discard(shift);
+    startSample = frameSamples[next];
+    frameCount -= next;
+    System.arraycopy(framePositions, next, framePositions, 0, frameCount);
+    System.arraycopy(frameSamples, next, frameSamples, 0, frameCount);
+    for (int i = 0; i < frameCount; i++) {
+      framePositions[i] -= shift;
+    }
+    scanPosition -= shift;
+    keepFrom = boundarySeconds;
+    return segment;
+  }
+
+  private Segment segment(int bytes, double keepUntil) {
+    return new Segment(
+        index++,
+        "audio/flac",
+        (double) startSample / sampleRate,
+        keepFrom,
+        keepUntil,
+        copy(header, bytes));
+  }
+
+  /**
+   * Finds the header of the frame that follows the last one found, reading more audio as needed.
+   *
+   * @return false if there are no more frames
+   * @throws IOException if the audio cannot be read
+   */
+  private boolean findNextFrame() throws IOException {
+    while (true) {
+      byte[] buffer = buffer();
+      while (scanPosition + 1 < length()) {
+        if ((buffer[scanPosition] & 0xFF) == 0xFF && (buffer[scanPosition + 1] & 0xFE) == 0xF8) {
+          int headerLength = parseFrameHeader(scanPosition);
+          if (headerLength < 0) {
+            break;
+          }
+          if (headerLength > 0 && frameSample == expectedSample) {
+            addFrame(scanPosition, frameSample);
+            expectedSample = frameSample + frameBlockSize;
+            scanPosition += headerLength;
+            return true;
+          }
+        }
+        scanPosition++;
+      }
+      if (eof()) {
+        return false;
+      }
+      fill(length() + READ_SIZE);
+    }
+  }
+
+  private void addFrame(int position, long sample) {
+    if (frameCount == framePositions.length) {
+      framePositions = Arrays.copyOf(framePositions, 2 * frameCount);
+      frameSamples = Arrays.copyOf(frameSamples, 2 * frameCount);
+    }
+    framePositions[frameCount] = position;
+    frameSamples[frameCount] = sample;
+    frameCount++;
+  }
+
+  /**
+   * Parses the header of a frame, setting {@link #frameSample} and {@link #frameBlockSize}.
+   *
+   * @param position the position of the sync code in the buffer
+   * @return the length of the header, 0 if it is not a valid header, or -1 if more audio must be
+   *     read to tell
+   */
+  private int parseFrameHeader(int position) {
+    byte[] buffer = buffer();
+    int limit = length();
+    if (position + MAX_FRAME_HEADER > limit && !eof()) {
+      return -1;
+    }
+    if (position + 5 > limit) {
+      return 0;
+    }
+    boolean variableBlockSize = (buffer[position + 1] & 1) != 0;
+    int blockSizeCode = (buffer[position + 2] & 0xFF) >>> 4;
+    int sampleRateCode = buffer[position + 2] & 0x0F;
+    int channelsAndSize = buffer[position + 3] & 0xFF;
+    if (blockSizeCode == 0
+        || sampleRateCode == 15
+        || (channelsAndSize >>> 4) > 10
+        || ((channelsAndSize >>> 1) & 7) == 3
+        || (channelsAndSize & 1) != 0) {
+      return 0;
+    }
+
+    int p = position + 4;
+    int first = buffer[p++] & 0xFF;
+    int extra;
+    long number;
+    if ((first & 0x80) == 0) {
+      number = first;
+      extra = 0;
+    } else if (first >= 0xC0 && first < 0xFF) {
+      // a UTF-8 style number, whose first byte gives its length
+      extra = Integer.numberOfLeadingZeros(~first << 24) - 1;
+      number = first & (0x3F >>> extra);
+    } else {
+      return 0;
+    }
+    if (p + extra + 5 > limit) {
+      return 0;
+    }
+    for (int i = 0; i < extra; i++) {
+      int next = buffer[p++] & 0xFF;
+      if ((next & 0xC0) != 0x80) {
+        return 0;
+      }
+      number = (number << 6) | (next & 0x3F);
+    }
+
+    int blockSize;
+    if (blockSizeCode == 1) {
+      blockSize = 192;
+    } else if (blockSizeCode <= 5) {
+      blockSize = 576 << (blockSizeCode - 2);
+    } else if (blockSizeCode == 6) {
+      blockSize = (buffer[p++] & 0xFF) + 1;
+    } else if (blockSizeCode == 7) {
+      blockSize = (((buffer[p] & 0xFF) << 8) | (buffer[p + 1] & 0xFF)) + 1;
+      p += 2;
+    } else {
+      blockSize = 256 << (blockSizeCode - 8);
+    }
+    if (sampleRateCode == 12) {
+      p += 1;
+    } else if (sampleRateCode == 13 || sampleRateCode == 14) {
+      p += 2;
+    }
+    if (p >= limit || crc8(buffer, position, p) != (buffer[p] & 0xFF)) {
+      return 0;
+    }
+    frameSample = variableBlockSize ? number : number * fixedBlockSize;
+    frameBlockSize = blockSize;
+    return p + 1 - position;
+  }
+
+  private static int crc8(byte[] bytes, int from, int to) {
+    int crc = 0;
+    for (int i = from; i < to; i++) {
+      crc ^= bytes[i] & 0xFF;
+      for (int bit = 0; bit < 8; bit++) {
+        crc = (crc & 0x80) != 0 ? ((crc << 1) ^ 0x07) & 0xFF : (crc << 1) & 0xFF;
+      }
+    }
+    return crc;
+  }
+}
@@ -0,0 +1,457 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.speech_to_text.v1.longaudio;
+
+import com.ibm.watson.common.DaemonThreadFactory;
+import com.ibm.watson.common.RetryPolicy;
+import com.ibm.watson.speech_to_text.v1.SpeechToText;
+import com.ibm.watson.speech_to_text.v1.model.RecognizeOptions;
+import com.ibm.watson.speech_to_text.v1.model.RecognizeWithWebsocketsOptions;
+import com.ibm.watson.speech_to_text.v1.model.SpeechRecognitionResults;
+import com.ibm.watson.speech_to_text.v1.websocket.BaseRecognizeCallback;
+import com.ibm.watson.speech_to_text.v1.websocket.RecognitionSessionPool;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Transcribes long audio by splitting it into segments that are recognized concurrently, and
+ * stitching their results back into the results of the whole audio.
+ *
+ * <p>The audio is read once, in order, so it can come from any stream; at most <code>
+ * maxConcurrency</code> segments are held in memory at a time. WAV and L16 audio is split in the
+ * quietest part of the last seconds of each segment, so that no word is cut; when no silence is
+ * found, segments overlap, and each word in an overlap is kept from one segment only: the earlier
+ * segment keeps the words that start before the middle of the overlap, the later segment those that
+ * start from it. FLAC audio is split at the frame nearest to the end of each segment, with an
+ * overlap, because it is not decoded. Other formats cannot be split.
+ *
+ * <p>Segments are sent with HTTP requests, or over the WebSocket connections of a {@link
+ * RecognitionSessionPool} when one is set. Requests that fail with status 429 or 5xx, or with a
+ * network error, are retried as decided by a {@link RetryPolicy}. Timestamps are always
+ * requested, because the results are stitched by the time of their words; speaker numbers are
+ * assigned by the service within each segment, so the same speaker may have different numbers in
+ * different segments.
+ */
+public final class LongAudioTranscriber {
+
+  private final SpeechToText speechToText;
+  private final RecognitionSessionPool sessionPool;
+  private final int maxConcurrency;
+  private final long segmentMillis;
+  private final long overlapMillis;
+  private final long silenceSearchMillis;
+  private final double silenceThreshold;
+  private final int maxRetries;
+  private final long initialBackoffMillis;
+  private final long maxBackoffMillis;
+  private final RetryPolicy retryPolicy;
+
+  /** Builder. */
+  public static class Builder {
+    private final SpeechToText speechToText;
+    private RecognitionSessionPool sessionPool;
+    private int maxConcurrency = 4;
+    private long segmentMillis = 120000;
+    private long overlapMillis = 2000;
+    private long silenceSearchMillis = 10000;
+    private double silenceThreshold = 0.01;
+    private int maxRetries = 3;
+    private long initialBackoffMillis = 1000;
+    private long maxBackoffMillis = 30000;
+
+    /**
+     * Instantiates a new builder.
+     *
+     * @param speechToText the service the segments are recognized with
+     */
+    public Builder(SpeechToText speechToText) {
+      this.speechToText = speechToText;
+    }
+
+    /**
+     * Set the pool of WebSocket connections the segments are recognized over. By default, the
+     * segments are sent with HTTP requests.
+     *
+     * @param sessionPool the pool
+     * @return the LongAudioTranscriber builder
+     */
+    public Builder sessionPool(RecognitionSessionPool sessionPool) {
+      this.sessionPool = sessionPool;
+      return this;
+    }
+
+    /**
+     * Set the maximum number of segments recognized at the same time. Defaults to 4.
+     *
+     * @param maxConcurrency the number of segments
+     * @return the LongAudioTranscriber builder
+     */
+    public Builder maxConcurrency(int maxConcurrency) {
+      this.maxConcurrency = maxConcurrency;
+      return this;
+    }
+
+    /**
+     * Set the target duration of the segments. Defaults to two minutes.
+     *
+     * @param segmentMillis the duration in milliseconds
+     * @return the LongAudioTranscriber builder
+     */
+    public Builder segmentMillis(long segmentMillis) {
+      this.segmentMillis = segmentMillis;
+      return this;
+    }
+
+    /**
+     * Set the duration of the overlap of segments that are not split in silence. Defaults to two
+     * seconds.
+     *
+     * @param overlapMillis the duration in milliseconds
+     * @return the LongAudioTranscriber builder
+     */
+    public Builder overlapMillis(long overlapMillis) {
+      this.overlapMillis = overlapMillis;
+      return this;
+    }
+
+    /**
+     * Set the duration before the end of each segment that is searched for silence to split the
+     * audio in. Defaults to ten seconds; 0 splits the audio at fixed durations.
+     *
+     * @param silenceSearchMillis the duration in milliseconds
+     * @return the LongAudioTranscriber builder
+     */
+    public Builder silenceSearchMillis(long silenceSearchMillis) {
+      this.silenceSearchMillis = silenceSearchMillis;
+      return this;
+    }
+
+    /**
+     * Set the level below which audio is silence, as a fraction of full scale. Defaults to 0.01.
+     *
+     * @param silenceThreshold the level, between 0 and 1
+     * @return the LongAudioTranscriber builder
+     */
+    public Builder silenceThreshold(double silenceThreshold) {
+      this.silenceThreshold = silenceThreshold;
+      return this;
+    }
+
+    /**
+     * Set the maximum number of times a segment is retried. Defaults to 3.
+     *
+     * @param maxRetries the number of retries
+     * @return the LongAudioTranscriber builder
+     */
+    public Builder maxRetries(int maxRetries) {
+      this.maxRetries = maxRetries;
+      return this;
+    }
+
+    /**
+     * Set the initial backoff of the {@link RetryPolicy}. Defaults to one second.
+     *
+     * @param initialBackoffMillis the delay in milliseconds
+     * @return the LongAudioTranscriber builder
+     */
+    public Builder initialBackoffMillis(long initialBackoffMillis) {
+      this.initialBackoffMillis = initialBackoffMillis;
+      return this;
+    }
+
+    /**
+     * Set the maximum backoff of the {@link RetryPolicy}. Defaults to 30 seconds.
+     *
+     * @param maxBackoffMillis the delay in milliseconds
+     * @return the LongAudioTranscriber builder
+     */
+    public Builder maxBackoffMillis(long maxBackoffMillis) {
+      this.maxBackoffMillis = maxBackoffMillis;
+      return this;
+    }
+
+    /**
+     * Builds a LongAudioTranscriber.
+     *
+     * @return the new LongAudioTranscriber instance
+     */
+    public LongAudioTranscriber build() {
+      return new LongAudioTranscriber(this);
+    }
+  }
+
+  protected LongAudioTranscriber(Builder builder) {
+    com.ibm.cloud.sdk.core.util.Validator.notNull(
+        builder.speechToText, "speechToText cannot be null");
+    com.ibm.cloud.sdk.core.util.Validator.isTrue(
+        builder.maxConcurrency > 0, "maxConcurrency must be positive");
+    com.ibm.cloud.sdk.core.util.Validator.isTrue(
+        builder.segmentMillis > 0, "segmentMillis must be positive");
+    com.ibm.cloud.sdk.core.util.Validator.isTrue(
+        builder.overlapMillis >= 0 && builder.overlapMillis < builder.segmentMillis,
+        "overlapMillis must be at least 0 and shorter than the segments");
+    com.ibm.cloud.sdk.core.util.Validator.isTrue(
+        builder.silenceSearchMillis >= 0, "silenceSearchMillis cannot be negative");
+    com.ibm.cloud.sdk.core.util.Validator.isTrue(
+        builder.silenceThreshold >= 0 && builder.silenceThreshold <= 1,
+        "silenceThreshold must be between 0 and 1");
+    com.ibm.cloud.sdk.core.util.Validator.isTrue(
+        builder.maxRetries >= 0, "maxRetries cannot be negative");
+    com.ibm.cloud.sdk.core.util.Validator.isTrue(
+        builder.initialBackoffMillis >= 0 && builder.maxBackoffMillis >= 0,
+        "backoff cannot be negative");
+    speechToText = builder.speechToText;
+    sessionPool = builder.sessionPool;
+    maxConcurrency = builder.maxConcurrency;
+    segmentMillis = builder.segmentMillis;
+    overlapMillis = builder.overlapMillis;
+    silenceSearchMillis = builder.silenceSearchMillis;
+    silenceThreshold = builder.silenceThreshold;
+    maxRetries = builder.maxRetries;
+    initialBackoffMillis = builder.initialBackoffMillis;
+    maxBackoffMillis = builder.maxBackoffMillis;
+    retryPolicy = new RetryPolicy(initialBackoffMillis, maxBackoffMillis);
+  }
+
+  /**
+   * New builder.
+   *
+   * @return a LongAudioTranscriber builder
+   */
+  public Builder newBuilder() {
+    return new Builder(speechToText)
+        .sessionPool(sessionPool)
+        .maxConcurrency(maxConcurrency)
+        .segmentMillis(segmentMillis)
+        .overlapMillis(overlapMillis)
+        .silenceSearchMillis(silenceSearchMillis)
+        .silenceThreshold(silenceThreshold)
+        .maxRetries(maxRetries)
+        .initialBackoffMillis(initialBackoffMillis)
+        .maxBackoffMillis(maxBackoffMillis);
+  }
+
+  /**
+   * Transcribes long audio. The audio and its content type are taken from the options, and every
+   * segment is recognized with the other options; the content type can be omitted for WAV and FLAC
+   * audio.
+   *
+   * @param recognizeOptions the options of the recognition of the whole audio
+   * @return the results of the whole audio, with times from its start
+   * @throws IOException if the audio cannot be read
+   * @throws InterruptedException if the thread, or the recognition of a segment, is interrupted
+   * @throws IllegalArgumentException if the audio cannot be split
+   * @throws RuntimeException the failure of the first segment that could not be recognized
+   */
+  public SpeechRecognitionResults transcribe(final RecognizeOptions recognizeOptions)
+      throws IOException, InterruptedException {
+    com.ibm.cloud.sdk.core.util.Validator.notNull(
+        recognizeOptions, "recognizeOptions cannot be null");
+    com.ibm.cloud.sdk.core.util.Validator.notNull(recognizeOptions.audio(), "audio cannot be null");
+    SegmentReader reader =
+        SegmentReader.open(
+            recognizeOptions.audio(),
+            recognizeOptions.contentType(),
+            segmentMillis,
+            overlapMillis,
+            silenceSearchMillis,
+            silenceThreshold);
+
+    final Semaphore permits = new Semaphore(maxConcurrency);
+    final AtomicReference<Exception> failure = new AtomicReference<>();
+    List<Segment> segments = new ArrayList<>();
+    List<Future<SpeechRecognitionResults>> futures = new ArrayList<>();
+    // a permit is released before its thread is idle, so the next segment may have to queue
+    ExecutorService executor =
+        Executors.newFixedThreadPool(maxConcurrency, new DaemonThreadFactory("stt-long-audio"));
+    try {
+      while (failure.get() == null) {
+        permits.acquire();
+        final Segment segment = reader.next();
+        if (segment == null) {
+          break;
+        }
+        segments.add(segment);
+        futures.add(
+            executor.submit(
+                new Callable<SpeechRecognitionResults>() {
+                  @Override
+                  public SpeechRecognitionResults call() throws Exception {
+                    try {
+                      if (failure.get() != null) {
+                        // the transcription has already failed
+                        return null;
+                      }
+                      return recognize(recognizeOptions, segment);
+                    } catch (Exception e) {
+                      failure.compareAndSet(null, e);
+                      throw e;
+                    } finally {
+                      segment.audio = null;
+                      permits.release();
+                    }
+                  }
+                }));
+      }
+
+      List<SpeechRecognitionResults> results = new ArrayList<>(futures.size());
+      for (Future<SpeechRecognitionResults> future : futures) {
+        try {
+          results.add(future.get());
+        } catch (ExecutionException e) {
+          // the segments after a failure are not stitched, so the failure is always thrown
+          Throwable cause = e.getCause();
+          if (cause instanceof Error) {
+            throw (Error) cause;
+          }
+          failure.compareAndSet(null, (Exception) cause);
+          break;
+        }
+      }
+      Exception e = failure.get();
+      if (e instanceof InterruptedException) {
+        throw (InterruptedException) e;
+      }
+      if (e instanceof RuntimeException) {
+        throw (RuntimeException) e;
+      }
+      if (e != null) {
+        throw new RuntimeException(e);
+      }
+      return TranscriptStitcher.stitch(segments, results);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /** Recognizes a segment, retrying failures that may not happen again. */
+  private SpeechRecognitionResults recognize(RecognizeOptions recognizeOptions, Segment segment)
+      throws InterruptedException {
+    for (int attempt = 0; ; attempt++) {
+      try {
+        return sessionPool != null
+            ? recognizeUsingWebSocket(recognizeOptions, segment)
+            : speechToText.recognize(segmentOptions(recognizeOptions, segment)).execute()
+                .getResult();
+      } catch (RuntimeException e) {
+        long delay = retryPolicy.retryDelay(e, attempt);
+        if (delay < 0 || attempt >= maxRetries) {
+          throw e;
+        }
+        TimeUnit.MILLISECONDS.sleep(delay);
+      }
+    }
+  }
+
+  private static RecognizeOptions segmentOptions(RecognizeOptions options, Segment segment) {
+    return options
+        .newBuilder()
+        .audio(new ByteArrayInputStream(segment.audio))
+        .contentType(segment.contentType)
+        .timestamps(true)
+        .build();
+  }
+
+  private SpeechRecognitionResults recognizeUsingWebSocket(
+      RecognizeOptions recognizeOptions, Segment segment) throws InterruptedException {
+    final List<SpeechRecognitionResults> messages =
+        Collections.synchronizedList(new ArrayList<SpeechRecognitionResults>());
+    final CompletableFuture<SpeechRecognitionResults> done = new CompletableFuture<>();
+    sessionPool.recognizeUsingWebSocket(
+        webSocketOptions(recognizeOptions, segment),
+        new BaseRecognizeCallback() {
+          @Override
+          public void onTranscription(SpeechRecognitionResults speechResults) {
+            messages.add(speechResults);
+          }
+
+          @Override
+          public void onError(Exception e) {
+            done.completeExceptionally(e);
+          }
+
+          @Override
+          public void onTranscriptionComplete() {
+            done.complete(TranscriptStitcher.concat(messages));
+          }
+
+          @Override
+          public void onDisconnected() {
+            done.completeExceptionally(
+                new RuntimeException(
+                    new IOException("The connection closed before the end of the segment")));
+          }
+        });
+    try {
+      return done.get();
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      throw cause instanceof RuntimeException
+          ? (RuntimeException) cause
+          : new RuntimeException(cause.getMessage(), cause);
+    }
+  }
+
+  private static RecognizeWithWebsocketsOptions webSocketOptions(
+      RecognizeOptions options, Segment segment) {
+    RecognizeWithWebsocketsOptions.Builder builder =
+        new RecognizeWithWebsocketsOptions.Builder()
+            .audio(new ByteArrayInputStream(segment.audio))
+            .contentType(segment.contentType)
+            .model(options.model())
+            .languageCustomizationId(options.languageCustomizationId())
+            .acousticCustomizationId(options.acousticCustomizationId())
+            .baseModelVersion(options.baseModelVersion())
+            .customizationWeight(options.customizationWeight())
+            .keywords(options.keywords())
+            .keywordsThreshold(options.keywordsThreshold())
+            .wordAlternativesThreshold(options.wordAlternativesThreshold())
+            .wordConfidence(options.wordConfidence())
+            .timestamps(true)
+            .profanityFilter(options.profanityFilter())
+            .smartFormatting(options.smartFormatting())
+            .speakerLabels(options.speakerLabels())
+            .grammarName(options.grammarName())
+            .redaction(options.redaction())
+            .audioMetrics(options.audioMetrics())
+            .endOfPhraseSilenceTime(options.endOfPhraseSilenceTime())
+            .splitTranscriptAtPhraseEnd(options.splitTranscriptAtPhraseEnd())
+            .speechDetectorSensitivity(options.speechDetectorSensitivity())
+            .backgroundAudioSuppression(options.backgroundAudioSuppression())
+            .lowLatency(options.lowLatency())
+            .characterInsertionBias(options.characterInsertionBias())
+            .sadModule(options.sadModule());
+    if (options.inactivityTimeout() != null) {
+      builder.inactivityTimeout(options.inactivityTimeout());
+    }
+    if (options.maxAlternatives() != null) {
+      builder.maxAlternatives(options.maxAlternatives());
+    }
+    if (options.smartFormattingVersion() != null) {
+      builder.smartFormattingVersion(options.smartFormattingVersion());
+    }
+    return builder.build();
+  }
+}
@@ -0,0 +1,295 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.speech_to_text.v1.longaudio;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Splits 16-bit linear PCM audio, in a WAV file or raw as audio/l16, preferably at silence.
+ *
+ * <p>When a segment reaches its target duration, the quietest 10 ms of the last <code>
+ * silenceSearchMillis</code> are found. If they are below the silence threshold the segment ends in
+ * their middle, and the next one starts there. Otherwise the segment runs on for half the overlap,
+ * the next one starts half the overlap before the target, and the words in the overlap are kept
+ * from the segment in which they start before or after the target.
+ */
+final class PcmSegmentReader extends SegmentReader {
+  private static final int WAV_HEADER_SIZE = 44;
+  private static final int WAVE_FORMAT_PCM = 1;
+  private static final int WAVE_FORMAT_EXTENSIBLE = 0xFFFE;
+
+  private final boolean wav;
+  private final String contentType;
+  private final int sampleRate;
+  private final int channels;
+  private final boolean bigEndian;
+  private final int frameBytes;
+  private final long targetFrames;
+  private final long overlapFrames;
+  private final long searchFrames;
+  private final double silenceLevel;
+  private long startFrame;
+  private double keepFrom;
+  private int index;
+
+  private PcmSegmentReader(
+      InputStream audio,
+      boolean wav,
+      String contentType,
+      int sampleRate,
+      int channels,
+      boolean bigEndian,
+      long segmentMillis,
+      long overlapMillis,
+      long silenceSearchMillis,
+      double silenceThreshold) {
+    super(audio);
+    com.ibm.cloud.sdk.core.util.Validator.isTrue(
+        sampleRate > 0 && channels > 0, "the audio must have a sample rate and channels");
+    this.wav = wav;
+    this.contentType = contentType;
+    this.sampleRate = sampleRate;
+    this.channels = channels;
+    this.bigEndian = bigEndian;
+    this.frameBytes = 2 * channels;
+    this.targetFrames = Math.max(1, segmentMillis * sampleRate / 1000);
+    this.overlapFrames = overlapMillis * sampleRate / 1000;
+    this.searchFrames = Math.min(silenceSearchMillis * sampleRate / 1000, targetFrames / 2);
+    double level = silenceThreshold * Short.MAX_VALUE;
+    this.silenceLevel = level * level;
+    com.ibm.cloud.sdk.core.util.Validator.isTrue(
+        (targetFrames + overlapFrames) * frameBytes < Integer.MAX_VALUE - 8,
+        "segments of " + segmentMillis + " ms are too large for this audio");
+  }
+
+  /**
+   * Opens a reader for a WAV file, after reading its header.
+   *
+   * @param audio the audio
+   * @param segmentMillis the target duration of the segments
+   * @param overlapMillis the duration of the overlap of segments split outside silence
+   * @param silenceSearchMillis the duration before the end of a segment searched for silence
+   * @param silenceThreshold the level below which audio is silence, as a fraction of full scale
+   * @return the reader
+   * @throws IOException if the header cannot be read
+   */
+  static PcmSegmentReader wav(
+      InputStream audio,
+      long segmentMillis,
+      long overlapMillis,
+      long silenceSearchMillis,
+      double silenceThreshold)
+      throws IOException {
+    ByteBuffer riff = header(audio, 12);
+    if (riff.getInt(0) != 0x46464952 || riff.getInt(8) != 0x45564157) {
+      throw new IllegalArgumentException("The audio is not a WAV file");
+    }
+    int sampleRate = 0;
+    int channels = 0;
+    while (true) {
+      ByteBuffer chunk = header(audio, 8);
+      int id = chunk.getInt(0);
+      long size = chunk.getInt(4) & 0xFFFFFFFFL;
+      if (id == 0x61746164) {
+        // "data", whose size is not trusted as streamed files do not know it
+        break;
+      }
+      long padded = size + (size & 1);
+      if (id != 0x20746d66) {
+        // a chunk other than "fmt "
+        for (long skipped = 0; skipped < padded; skipped += READ_SIZE) {
+          readFully(audio, (int) Math.min(READ_SIZE, padded - skipped));
+        }
+        continue;
+      }
+      if (padded < 16 || padded > READ_SIZE) {
+        throw new IllegalArgumentException("The format chunk of the WAV file is invalid");
+      }
+      ByteBuffer format = header(audio, (int) padded);
+      int formatTag = format.getShort(0) & 0xFFFF;
+      channels = format.getShort(2) & 0xFFFF;
+      sampleRate = format.getInt(4);
+      int bitsPerSample = format.getShort(14) & 0xFFFF;
+      if ((formatTag != WAVE_FORMAT_PCM && formatTag != WAVE_FORMAT_EXTENSIBLE)
+          || bitsPerSample != 16) {
+        throw new IllegalArgumentException("Only 16-bit PCM WAV files can be split");
+      }
+    }
+    return new PcmSegmentReader(
+        audio,
+        true,
+        "audio/wav",
+        sampleRate,
+        channels,
+        false,
+        segmentMillis,
+        overlapMillis,
+        silenceSearchMillis,
+        silenceThreshold);
+  }
+
+  private static ByteBuffer header(InputStream audio, int count) throws IOException {
+    return ByteBuffer.wrap(readFully(audio, count)).order(ByteOrder.LITTLE_ENDIAN);
+  }
+
+  /**
+   * Opens a reader for raw audio/l16, described by the parameters of its content type.
+   *
+   * @param audio the audio
+   * @param contentType the content type, with the rate and optionally the channels and endianness
+   * @param segmentMillis the target duration of the segments
+   * @param overlapMillis the duration of the overlap of segments split outside silence
+   * @param silenceSearchMillis the duration before the end of a segment searched for silence
+   * @param silenceThreshold the level below which audio is silence, as a fraction of full scale
+   * @return the reader
+   */
+  static PcmSegmentReader l16(
+      InputStream audio,
+      String contentType,
+      long segmentMillis,
+      long overlapMillis,
+      long silenceSearchMillis,
+      double silenceThreshold) {
+    int sampleRate = 0;
+    int channels = 1;
+    boolean bigEndian = false;
+    String[] parts = contentType.split(";");
+    for (int i = 1; i < parts.length; i++) {
+      String[] parameter = parts[i].split("=", 2);
+      if (parameter.length < 2) {
+        continue;
+      }
+      String name = parameter[0].trim().toLowerCase(Locale.ROOT);
+      String value = parameter[1].trim().toLowerCase(Locale.ROOT);
+      try {
+        if (name.equals("rate")) {
+          sampleRate = Integer.parseInt(value);
+        } else if (name.equals("channels")) {
+          channels = Integer.parseInt(value);
+        } else if (name.equals("endianness")) {
+          bigEndian = value.equals("big-endian");
+        }
+      } catch (NumberFormatException e) {
+        throw new IllegalArgumentException("Invalid parameter " + name + " of " + contentType);
+      }
+    }
+    com.ibm.cloud.sdk.core.util.Validator.isTrue(
+        sampleRate > 0, "the rate of audio/l16 must be set in its content type");
+    return new PcmSegmentReader(
+        audio,
+        false,
+        contentType,
+        sampleRate,
+        channels,
+        bigEndian,
+        segmentMillis,
+        overlapMillis,
+        silenceSearchMillis,
+        silenceThreshold);
+  }
+
+  @Override
+  Segment next() throws IOException {
+    int wanted = (int) ((targetFrames + overlapFrames / 2) * frameBytes);
+    fill(wanted);
+    int available = length() - length() % frameBytes;
+    if (available == 0) {
+      return null;
+    }
+    if (available < wanted) {
+      Segment segment = segment(available, Double.POSITIVE_INFINITY);
+      discard(length());
+      return segment;
+    }
+
+    long silence = findSilence();
+    long end;
+    long nextStart;
+    long boundary;
+    if (silence >= 0) {
+      end = silence;
+      nextStart = silence;
+      boundary = silence;
+    } else {
+      end = targetFrames + overlapFrames / 2;
+      nextStart = targetFrames - overlapFrames / 2;
+      boundary = targetFrames;
+    }
+    double boundarySeconds = seconds(startFrame + boundary);
+    Segment segment = segment((int) (end * frameBytes), boundarySeconds);
+    discard((int) (nextStart * frameBytes));
+    startFrame += nextStart;
+    keepFrom = boundarySeconds;
+    return segment;
+  }
+
+  /**
+   * Finds the quietest 10 ms before the target end of the segment.
+   *
+   * @return the frame in their middle, or -1 if they are not silent
+   */
+  private long findSilence() {
+    long window = Math.max(1, sampleRate / 100);
+    if (searchFrames < window) {
+      return -1;
+    }
+    byte[] buffer = buffer();
+    double quietest = Double.MAX_VALUE;
+    long quietestStart = -1;
+    long end = targetFrames;
+    for (long start = targetFrames - searchFrames; start + window <= end; start += window) {
+      double energy = 0;
+      int from = (int) (start * frameBytes);
+      int to = (int) ((start + window) * frameBytes);
+      for (int i = from; i < to; i += 2) {
+        int sample =
+            bigEndian
+                ? (short) ((buffer[i] << 8) | (buffer[i + 1] & 0xFF))
+                : (short) ((buffer[i + 1] << 8) | (buffer[i] & 0xFF));
+        energy += (double) sample * sample;
+      }
+      energy /= window * channels;
+      if (energy < quietest) {
+        quietest = energy;
+        quietestStart = start;
+      }
+    }
+    return quietest < silenceLevel ? quietestStart + window / 2 : -1;
+  }
+
+  private Segment segment(int bytes, double keepUntil) {
+    byte[] audio = wav ? copy(wavHeader(bytes), bytes) : copy(new byte[0], bytes);
+    return new Segment(index++, contentType, seconds(startFrame), keepFrom, keepUntil, audio);
+  }
+
+  private double seconds(long frame) {
+    return (double) frame / sampleRate;
+  }
+
+  private byte[] wavHeader(int dataBytes) {
+    ByteBuffer header = ByteBuffer.allocate(WAV_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    header.put("RIFF".getBytes(StandardCharsets.US_ASCII)).putInt(WAV_HEADER_SIZE - 8 + dataBytes);
+    header.put("WAVE".getBytes(StandardCharsets.US_ASCII));
+    header.put("fmt ".getBytes(StandardCharsets.US_ASCII)).putInt(16);
+    header.putShort((short) WAVE_FORMAT_PCM).putShort((short) channels);
+    header.putInt(sampleRate).putInt(sampleRate * frameBytes);
+    header.putShort((short) frameBytes).putShort((short) 16);
+    header.put("data".getBytes(StandardCharsets.US_ASCII)).putInt(dataBytes);
+    return header.array();
+  }
+}
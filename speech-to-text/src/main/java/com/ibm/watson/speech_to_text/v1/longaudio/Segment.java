@@ -0,0 +1,62 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.speech_to_text.v1.longaudio;
+
+/**
+ * A segment of long audio, playable on its own. Segments may overlap; each keeps the words that
+ * start within its own part of the audio, so that a word in an overlap is kept once.
+ */
+final class Segment {
+
+  final int index;
+  final String contentType;
+  final double startSeconds;
+  final double keepFrom;
+  final double keepUntil;
+  volatile byte[] audio;
+
+  /**
+   * Instantiates a new segment.
+   *
+   * @param index the position of the segment in the audio
+   * @param contentType the content type of the audio of the segment
+   * @param startSeconds the time of the start of the segment in the whole audio
+   * @param keepFrom the time from which the words of the segment are kept
+   * @param keepUntil the time before which the words of the segment are kept
+   * @param audio the audio of the segment, with the header its format needs
+   */
+  Segment(
+      int index,
+      String contentType,
+      double startSeconds,
+      double keepFrom,
+      double keepUntil,
+      byte[] audio) {
+    this.index = index;
+    this.contentType = contentType;
+    this.startSeconds = startSeconds;
+    this.keepFrom = keepFrom;
+    this.keepUntil = keepUntil;
+    this.audio = audio;
+  }
+
+  /**
+   * Checks whether a word of the segment is kept.
+   *
+   * @param startSeconds the time of the start of the word in the whole audio
+   * @return true if the word starts within the part of the audio of the segment
+   */
+  boolean keeps(double startSeconds) {
+    return startSeconds >= keepFrom && startSeconds < keepUntil;
+  }
+}
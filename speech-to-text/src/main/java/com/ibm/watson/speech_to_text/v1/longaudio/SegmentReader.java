@@ -0,0 +1,191 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.speech_to_text.v1.longaudio;
+
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+
+/**
+ * Reads long audio sequentially and splits it into {@link Segment}s. Only the segment being read
+ * is held in memory.
+ */
+abstract class SegmentReader {
+
+  /** The size of the reads from the audio. */
+  static final int READ_SIZE = 64 * 1024;
+
+  private final InputStream audio;
+  private byte[] buffer = new byte[READ_SIZE];
+  private int length;
+  private boolean eof;
+
+  SegmentReader(InputStream audio) {
+    this.audio = audio;
+  }
+
+  /**
+   * Reads the next segment.
+   *
+   * @return the segment, or null at the end of the audio
+   * @throws IOException if the audio cannot be read
+   */
+  abstract Segment next() throws IOException;
+
+  /**
+   * Opens a reader for audio of a content type that can be split.
+   *
+   * @param audio the audio
+   * @param contentType the content type of the audio, or null to detect WAV and FLAC
+   * @param segmentMillis the target duration of the segments
+   * @param overlapMillis the duration of the overlap of segments split outside silence
+   * @param silenceSearchMillis the duration before the end of a segment searched for silence
+   * @param silenceThreshold the level below which audio is silence, as a fraction of full scale
+   * @return the reader
+   * @throws IOException if the header of the audio cannot be read
+   * @throws IllegalArgumentException if the audio cannot be split
+   */
+  static SegmentReader open(
+      InputStream audio,
+      String contentType,
+      long segmentMillis,
+      long overlapMillis,
+      long silenceSearchMillis,
+      double silenceThreshold)
+      throws IOException {
+    InputStream in = new BufferedInputStream(audio, READ_SIZE);
+    String type = contentType != null ? contentType.trim().toLowerCase(Locale.ROOT) : sniff(in);
+    if (type.startsWith("audio/wav")
+        || type.startsWith("audio/wave")
+        || type.startsWith("audio/x-wav")) {
+      return PcmSegmentReader.wav(
+          in, segmentMillis, overlapMillis, silenceSearchMillis, silenceThreshold);
+    }
+    if (type.startsWith("audio/l16")) {
+      return PcmSegmentReader.l16(
+          in, contentType, segmentMillis, overlapMillis, silenceSearchMillis, silenceThreshold);
+    }
+    if (type.startsWith("audio/flac")) {
+      return FlacSegmentReader.open(in, segmentMillis, overlapMillis);
+    }
+    throw new IllegalArgumentException(
+        "Audio of type "
+            + contentType
+            + " cannot be split; use audio/wav, audio/flac or audio/l16");
+  }
+
+  private static String sniff(InputStream in) throws IOException {
+    byte[] magic = new byte[4];
+    in.mark(magic.length);
+    int read = 0;
+    while (read < magic.length) {
+      int count = in.read(magic, read, magic.length - read);
+      if (count < 0) {
+        break;
+      }
+      read += count;
+    }
+    in.reset();
+    String header = new String(magic, 0, read, "US-ASCII");
+    if (header.equals("RIFF")) {
+      return "audio/wav";
+    }
+    if (header.equals("fLaC")) {
+      return "audio/flac";
+    }
+    throw new IllegalArgumentException(
+        "The content type of the audio cannot be detected; set it in the options");
+  }
+
+  /**
+   * Reads exactly the given number of bytes, for headers.
+   *
+   * @param audio the audio
+   * @param count the number of bytes
+   * @return the bytes
+   * @throws IOException if the audio ends before
+   */
+  static byte[] readFully(InputStream audio, int count) throws IOException {
+    byte[] bytes = new byte[count];
+    int read = 0;
+    while (read < count) {
+      int n = audio.read(bytes, read, count - read);
+      if (n < 0) {
+        throw new EOFException("The header of the audio is truncated");
+      }
+      read += n;
+    }
+    return bytes;
+  }
+
+  /**
+   * Reads audio into the buffer until it holds the given number of bytes or the audio ends.
+   *
+   * @param target the number of bytes
+   * @throws IOException if the audio cannot be read
+   */
+  final void fill(int target) throws IOException {
+    if (target > buffer.length) {
+      long grown = Math.max(target, 2L * buffer.length);
+      byte[] larger = new byte[(int) Math.min(grown, Integer.MAX_VALUE - 8)];
+      System.arraycopy(buffer, 0, larger, 0, length);
+      buffer = larger;
+    }
+    while (!eof && length < target) {
+      int count = audio.read(buffer, length, target - length);
+      if (count < 0) {
+        eof = true;
+      } else {
+        length += count;
+      }
+    }
+  }
+
+  /**
+   * Drops the start of the buffer, once the segment it belonged to has been read.
+   *
+   * @param count the number of bytes to drop
+   */
+  final void discard(int count) {
+    System.arraycopy(buffer, count, buffer, 0, length - count);
+    length -= count;
+  }
+
+  /**
+   * Copies the start of the buffer after a header.
+   *
+   * @param header the header of the format of the segment
+   * @param count the number of bytes of audio
+   * @return the audio of the segment
+   */
+  final byte[] copy(byte[] header, int count) {
+    byte[] segment = new byte[header.length + count];
+    System.arraycopy(header, 0, segment, 0, header.length);
+    System.arraycopy(buffer, 0, segment, header.length, count);
+    return segment;
+  }
+
+  final byte[] buffer() {
+    return buffer;
+  }
+
+  final int length() {
+    return length;
+  }
+
+  final boolean eof() {
+    return eof;
+  }
+}
@@ -0,0 +1,309 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.speech_to_text.v1.longaudio;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import com.ibm.cloud.sdk.core.util.GsonSingleton;
+import com.ibm.watson.speech_to_text.v1.model.SpeechRecognitionResults;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Stitches the results of the segments of long audio into the results of the whole audio.
+ *
+ * <p>The results are edited in their JSON form, in which every time is a plain number: times are
+ * offset by the start of their segment, and the words, keywords, word alternatives and speaker
+ * labels that start outside the part of the audio a segment keeps are dropped. A result cut that
+ * way keeps only its best alternative, with a transcript rebuilt from the words that remain.
+ *
+ * <p>A result without word timestamps cannot be placed in the audio. When segments overlap, an
+ * untimed result with the same transcript as an untimed result of the segment before is taken to
+ * be the same result, and is only kept from the first segment that contains it.
+ */
+final class TranscriptStitcher {
+  private static final Gson GSON = GsonSingleton.getGsonWithoutPrettyPrinting();
+
+  private static final String RESULTS = "results";
+  private static final String ALTERNATIVES = "alternatives";
+  private static final String TRANSCRIPT = "transcript";
+  private static final String CONFIDENCE = "confidence";
+  private static final String TIMESTAMPS = "timestamps";
+  private static final String WORD_CONFIDENCE = "word_confidence";
+  private static final String KEYWORDS_RESULT = "keywords_result";
+  private static final String WORD_ALTERNATIVES = "word_alternatives";
+  private static final String START_TIME = "start_time";
+  private static final String END_TIME = "end_time";
+  private static final String SPEAKER_LABELS = "speaker_labels";
+  private static final String WARNINGS = "warnings";
+
+  private TranscriptStitcher() {}
+
+  /**
+   * Concatenates the results received over a WebSocket for one segment.
+   *
+   * @param messages the results of each message
+   * @return the results of the segment
+   */
+  static SpeechRecognitionResults concat(List<SpeechRecognitionResults> messages) {
+    JsonArray results = new JsonArray();
+    JsonArray speakerLabels = new JsonArray();
+    Set<String> warnings = new LinkedHashSet<>();
+    for (SpeechRecognitionResults message : messages) {
+      JsonObject json = GSON.toJsonTree(message).getAsJsonObject();
+      addAll(results, json.getAsJsonArray(RESULTS));
+      addAll(speakerLabels, json.getAsJsonArray(SPEAKER_LABELS));
+      addWarnings(warnings, json);
+    }
+    return build(results, speakerLabels, warnings);
+  }
+
+  /**
+   * Stitches the results of the segments.
+   *
+   * @param segments the segments, in order
+   * @param segmentResults the results of each segment
+   * @return the results of the whole audio
+   */
+  static SpeechRecognitionResults stitch(
+      List<Segment> segments, List<SpeechRecognitionResults> segmentResults) {
+    JsonArray results = new JsonArray();
+    JsonArray speakerLabels = new JsonArray();
+    Set<String> warnings = new LinkedHashSet<>();
+    Set<String> previousUntimed = new HashSet<>();
+    for (int i = 0; i < segments.size(); i++) {
+      Segment segment = segments.get(i);
+      // the segment overlaps the one before when its words are only kept from after its start
+      boolean overlaps = segment.keepFrom > segment.startSeconds;
+      Set<String> untimed = new HashSet<>();
+      JsonObject json = GSON.toJsonTree(segmentResults.get(i)).getAsJsonObject();
+      JsonArray segmentResultList = json.getAsJsonArray(RESULTS);
+      if (segmentResultList != null) {
+        for (JsonElement element : segmentResultList) {
+          JsonObject result = element.getAsJsonObject();
+          String transcript = untimedTranscript(result);
+          if (transcript != null) {
+            untimed.add(transcript);
+            if (overlaps && previousUntimed.contains(transcript)) {
+              // kept from the segment before
+              continue;
+            }
+          }
+          JsonObject kept = keep(result, segment);
+          if (kept != null) {
+            results.add(kept);
+          }
+        }
+      }
+      previousUntimed = untimed;
+      JsonArray labels = json.getAsJsonArray(SPEAKER_LABELS);
+      if (labels != null) {
+        for (JsonElement element : labels) {
+          JsonObject label = element.getAsJsonObject();
+          double from = shift(label, "from", segment.startSeconds);
+          shift(label, "to", segment.startSeconds);
+          if (segment.keeps(from)) {
+            speakerLabels.add(label);
+          }
+        }
+      }
+      addWarnings(warnings, json);
+    }
+    return build(results, speakerLabels, warnings);
+  }
+
+  /**
+   * Keeps the part of a result that starts within the part of the audio of its segment.
+   *
+   * @return the result with times offset, or null if none of it is kept
+   */
+  private static JsonObject keep(JsonObject result, Segment segment) {
+    double offset = segment.startSeconds;
+    JsonArray alternatives = result.getAsJsonArray(ALTERNATIVES);
+    JsonArray timestamps =
+        alternatives != null && alternatives.size() > 0
+            ? alternatives.get(0).getAsJsonObject().getAsJsonArray(TIMESTAMPS)
+            : null;
+
+    if (timestamps != null && timestamps.size() > 0) {
+      boolean[] kept = new boolean[timestamps.size()];
+      int keptCount = 0;
+      for (int i = 0; i < kept.length; i++) {
+        double start = timestamps.get(i).getAsJsonArray().get(1).getAsDouble() + offset;
+        kept[i] = segment.keeps(start);
+        if (kept[i]) {
+          keptCount++;
+        }
+      }
+      if (keptCount == 0) {
+        return null;
+      }
+      if (keptCount < kept.length) {
+        JsonArray cut = new JsonArray();
+        cut.add(cut(alternatives.get(0).getAsJsonObject(), kept));
+        result.add(ALTERNATIVES, cut);
+        alternatives = cut;
+      }
+    }
+
+    if (alternatives != null) {
+      for (JsonElement alternative : alternatives) {
+        JsonArray words = alternative.getAsJsonObject().getAsJsonArray(TIMESTAMPS);
+        if (words != null) {
+          for (JsonElement word : words) {
+            JsonArray timestamp = word.getAsJsonArray();
+            for (int i = 1; i <= 2; i++) {
+              timestamp.set(i, new JsonPrimitive(round(timestamp.get(i).getAsDouble() + offset)));
+            }
+          }
+        }
+      }
+    }
+    JsonObject keywords = result.getAsJsonObject(KEYWORDS_RESULT);
+    if (keywords != null) {
+      for (Map.Entry<String, JsonElement> keyword : keywords.entrySet()) {
+        keyword.setValue(keepTimed(keyword.getValue().getAsJsonArray(), segment));
+      }
+    }
+    JsonArray wordAlternatives = result.getAsJsonArray(WORD_ALTERNATIVES);
+    if (wordAlternatives != null) {
+      result.add(WORD_ALTERNATIVES, keepTimed(wordAlternatives, segment));
+    }
+    return result;
+  }
+
+  /**
+   * Gets the transcript of a result without word timestamps.
+   *
+   * @return the transcript of its best alternative, or null if the result has timestamps
+   */
+  private static String untimedTranscript(JsonObject result) {
+    JsonArray alternatives = result.getAsJsonArray(ALTERNATIVES);
+    if (alternatives == null || alternatives.size() == 0) {
+      return "";
+    }
+    JsonObject best = alternatives.get(0).getAsJsonObject();
+    JsonArray timestamps = best.getAsJsonArray(TIMESTAMPS);
+    if (timestamps != null && timestamps.size() > 0) {
+      return null;
+    }
+    JsonElement transcript = best.get(TRANSCRIPT);
+    return transcript != null && !transcript.isJsonNull() ? transcript.getAsString().trim() : "";
+  }
+
+  /** Cuts the best alternative of a result down to the words kept. */
+  private static JsonObject cut(JsonObject alternative, boolean[] kept) {
+    JsonArray timestamps = alternative.getAsJsonArray(TIMESTAMPS);
+    JsonArray wordConfidence = alternative.getAsJsonArray(WORD_CONFIDENCE);
+    JsonArray keptTimestamps = new JsonArray();
+    JsonArray keptWordConfidence = new JsonArray();
+    StringBuilder transcript = new StringBuilder();
+    for (int i = 0; i < kept.length; i++) {
+      if (kept[i]) {
+        JsonArray timestamp = timestamps.get(i).getAsJsonArray();
+        keptTimestamps.add(timestamp);
+        if (wordConfidence != null && wordConfidence.size() == kept.length) {
+          keptWordConfidence.add(wordConfidence.get(i));
+        }
+        if (transcript.length() > 0) {
+          transcript.append(' ');
+        }
+        transcript.append(timestamp.get(0).getAsString());
+      }
+    }
+    JsonElement original = alternative.get(TRANSCRIPT);
+    if (original != null && original.getAsString().endsWith(" ")) {
+      transcript.append(' ');
+    }
+
+    JsonObject cut = new JsonObject();
+    cut.addProperty(TRANSCRIPT, transcript.toString());
+    if (alternative.has(CONFIDENCE)) {
+      cut.add(CONFIDENCE, alternative.get(CONFIDENCE));
+    }
+    cut.add(TIMESTAMPS, keptTimestamps);
+    if (keptWordConfidence.size() > 0) {
+      cut.add(WORD_CONFIDENCE, keptWordConfidence);
+    }
+    return cut;
+  }
+
+  /** Keeps the objects with a start time within the part of the audio of a segment. */
+  private static JsonArray keepTimed(JsonArray timed, Segment segment) {
+    JsonArray kept = new JsonArray();
+    for (JsonElement element : timed) {
+      JsonObject object = element.getAsJsonObject();
+      double start = shift(object, START_TIME, segment.startSeconds);
+      shift(object, END_TIME, segment.startSeconds);
+      if (segment.keeps(start)) {
+        kept.add(object);
+      }
+    }
+    return kept;
+  }
+
+  /**
+   * Offsets a time of an object.
+   *
+   * @return the offset time, or 0 if the object has no such time
+   */
+  private static double shift(JsonObject object, String name, double offset) {
+    JsonElement time = object.get(name);
+    if (time == null || time.isJsonNull()) {
+      return 0;
+    }
+    double shifted = round(time.getAsDouble() + offset);
+    object.addProperty(name, shifted);
+    return shifted;
+  }
+
+  /** Rounds a time to the hundredths of a second used by the service. */
+  private static double round(double seconds) {
+    return Math.round(seconds * 100) / 100.0;
+  }
+
+  private static void addAll(JsonArray target, JsonArray source) {
+    if (source != null) {
+      target.addAll(source);
+    }
+  }
+
+  private static void addWarnings(Set<String> warnings, JsonObject json) {
+    JsonArray messages = json.getAsJsonArray(WARNINGS);
+    if (messages != null) {
+      for (JsonElement message : messages) {
+        warnings.add(message.getAsString());
+      }
+    }
+  }
+
+  private static SpeechRecognitionResults build(
+      JsonArray results, JsonArray speakerLabels, Set<String> warnings) {
+    JsonObject json = new JsonObject();
+    json.add(RESULTS, results);
+    json.addProperty("result_index", 0);
+    if (speakerLabels.size() > 0) {
+      json.add(SPEAKER_LABELS, speakerLabels);
+    }
+    if (!warnings.isEmpty()) {
+      json.add(WARNINGS, GSON.toJsonTree(warnings));
+    }
+    return GSON.fromJson(json, SpeechRecognitionResults.class);
+  }
+}
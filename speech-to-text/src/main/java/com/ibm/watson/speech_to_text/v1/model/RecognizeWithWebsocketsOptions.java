@@ -207,6 +207,7 @@ public class RecognizeWithWebsocketsOptions extends GenericModel {
   private Boolean interimResults;
   private Boolean processingMetrics;
   private Float processingMetricsInterval;
+  private transient Integer audioFrameDuration;
 
   /** Builder. */
   public static class Builder {
@@ -241,6 +242,7 @@ public class RecognizeWithWebsocketsOptions extends GenericModel {
     private Boolean interimResults;
     private Boolean processingMetrics;
     private Float processingMetricsInterval;
+    private Integer audioFrameDuration;
 
     private Builder(RecognizeWithWebsocketsOptions recognizeWithWebsocketsOptions) {
       this.audio = recognizeWithWebsocketsOptions.audio;
@@ -274,6 +276,7 @@ public class RecognizeWithWebsocketsOptions extends GenericModel {
       this.interimResults = recognizeWithWebsocketsOptions.interimResults;
       this.processingMetrics = recognizeWithWebsocketsOptions.processingMetrics;
       this.processingMetricsInterval = recognizeWithWebsocketsOptions.processingMetricsInterval;
+      this.audioFrameDuration = recognizeWithWebsocketsOptions.audioFrameDuration;
     }
 
     /** Instantiates a new builder. */
@@ -670,6 +673,19 @@ public class RecognizeWithWebsocketsOptions extends GenericModel {
       this.processingMetricsInterval = processingMetricsInterval;
       return this;
     }
+
+    /**
+     * Set the audioFrameDuration.
+     *
+     * <p>NOTE: This parameter only works for the `recognizeUsingWebSocket` method.
+     *
+     * @param audioFrameDuration the audioFrameDuration, in milliseconds
+     * @return the RecognizeOptions builder
+     */
+    public Builder audioFrameDuration(int audioFrameDuration) {
+      this.audioFrameDuration = audioFrameDuration;
+      return this;
+    }
   }
 
   protected RecognizeWithWebsocketsOptions(Builder builder) {
@@ -705,6 +721,7 @@ public class RecognizeWithWebsocketsOptions extends GenericModel {
     interimResults = builder.interimResults;
     processingMetrics = builder.processingMetrics;
     processingMetricsInterval = builder.processingMetricsInterval;
+    audioFrameDuration = builder.audioFrameDuration;
   }
 
   /**
@@ -1262,4 +1279,23 @@ public class RecognizeWithWebsocketsOptions extends GenericModel {
   public Float processingMetricsInterval() {
     return processingMetricsInterval;
   }
+
+  /**
+   * Gets the audioFrameDuration.
+   *
+   * <p>The duration in milliseconds of the audio frames that are sent over the WebSocket, for
+   * example `20`, `40` or `100`. The frame size in bytes is computed from the `content_type` (the
+   * `rate` and `channels` parameters of `audio/l16`, `audio/mulaw`, `audio/alaw` and `audio/basic`)
+   * or, for `audio/wav`, from the byte rate in the WAVE header. If the frame size cannot be
+   * computed, or the value is not set, audio is sent in 1 KB frames.
+   *
+   * <p>The value is not sent to the service.
+   *
+   * <p>NOTE: This parameter only works for the `recognizeUsingWebSocket` method.
+   *
+   * @return the audioFrameDuration
+   */
+  public Integer audioFrameDuration() {
+    return audioFrameDuration;
+  }
 }
@@ -0,0 +1,241 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.speech_to_text.v1.websocket;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import okhttp3.WebSocket;
+import okio.ByteString;
+
+/**
+ * Sends the audio of an {@link InputStream} over a {@link WebSocket} in fixed-size frames.
+ *
+ * <p>A single read buffer is reused for the whole stream and every frame is copied exactly once,
+ * into the {@link ByteString} handed over to OkHttp. When OkHttp's outgoing queue grows past {@link
+ * #QUEUE_SIZE_LIMIT} the pump parks with an exponential backoff capped at one frame duration, so it
+ * resumes sending within a frame of the queue draining.
+ */
+final class AudioPump {
+
+  /** The frame size used when no frame duration is set or the audio format is unknown. */
+  static final int DEFAULT_FRAME_SIZE = 1024;
+
+  // 8 MB, half of the maximum OkHttp WebSocket queue size
+  // (https://github.com/square/okhttp/blob/master/okhttp/src/main/java/okhttp3/internal/ws/RealWebSocket.java#L63)
+  static final long QUEUE_SIZE_LIMIT = 16 * 1024 * 512;
+
+  private static final long MIN_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+  private static final long DEFAULT_MAX_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+  private static final String AUDIO_L16 = "audio/l16";
+  private static final String AUDIO_MULAW = "audio/mulaw";
+  private static final String AUDIO_ALAW = "audio/alaw";
+  private static final String AUDIO_BASIC = "audio/basic";
+  private static final String AUDIO_WAV = "audio/wav";
+  private static final String RATE = "rate";
+  private static final String CHANNELS = "channels";
+  private static final int WAVE_BYTE_RATE_POS = 28;
+
+  private final WebSocket socket;
+  private final InputStream stream;
+  private final Integer frameDuration;
+  private final boolean wave;
+  private final long maxWaitNanos;
+  private byte[] frame;
+  private volatile boolean running = true;
+
+  /**
+   * Instantiates a new audio pump.
+   *
+   * @param socket the socket the audio is sent to
+   * @param stream the audio
+   * @param contentType the content type of the audio, may be null
+   * @param frameDuration the frame duration in milliseconds, may be null
+   */
+  AudioPump(WebSocket socket, InputStream stream, String contentType, Integer frameDuration) {
+    this.socket = socket;
+    this.stream = stream;
+    this.frameDuration = frameDuration;
+    this.frame = new byte[frameSize(contentType, frameDuration)];
+    this.wave =
+        frameDuration != null
+            && frame.length == DEFAULT_FRAME_SIZE
+            && (contentType == null || mimeType(contentType).equals(AUDIO_WAV));
+    this.maxWaitNanos =
+        frameDuration != null
+            ? TimeUnit.MILLISECONDS.toNanos(frameDuration)
+            : DEFAULT_MAX_WAIT_NANOS;
+  }
+
+  /**
+   * Sends the stream frame by frame until it is exhausted or {@link #stop()} is called. The stream
+   * is closed when the method returns.
+   *
+   * @throws IOException if the stream cannot be read
+   * @throws InterruptedException if the thread is interrupted while waiting for the queue to drain
+   */
+  void pump() throws IOException, InterruptedException {
+    try {
+      boolean first = true;
+      int read;
+      // AudioInputStreams, typically used for streaming microphone inputs return 0 only when the
+      // stream has been closed. Elsewise AudioInputStream.read() blocks until enough audio frames
+      // are read.
+      while (running && (read = readFrame()) > 0) {
+        // If OkHttp's WebSocket queue gets overwhelmed, it'll abruptly close the connection
+        // (see: https://github.com/square/okhttp/issues/3317). This will ensure we wait until the
+        // coast is clear.
+        awaitQueueBelowLimit();
+        if (!running) {
+          break;
+        }
+        socket.send(ByteString.of(frame, 0, read));
+
+        if (first && wave) {
+          resizeForWaveHeader(read);
+        }
+        first = false;
+      }
+    } finally {
+      try {
+        stream.close();
+      } catch (IOException e) {
+        // do nothing - the InputStream may have already been closed externally.
+      }
+    }
+  }
+
+  /** Stops the pump after the frame that is currently being sent. */
+  void stop() {
+    running = false;
+  }
+
+  /**
+   * Fills the frame from the stream.
+   *
+   * @return the number of bytes read, 0 if the stream is exhausted
+   */
+  private int readFrame() throws IOException {
+    int total = 0;
+    while (total < frame.length) {
+      int read = stream.read(frame, total, frame.length - total);
+      if (read <= 0) {
+        break;
+      }
+      total += read;
+    }
+    return total;
+  }
+
+  private void awaitQueueBelowLimit() throws InterruptedException {
+    long waitNanos = MIN_WAIT_NANOS;
+    while (running && socket.queueSize() > QUEUE_SIZE_LIMIT) {
+      LockSupport.parkNanos(this, waitNanos);
+      if (Thread.interrupted()) {
+        throw new InterruptedException();
+      }
+      waitNanos = Math.min(waitNanos << 1, maxWaitNanos);
+    }
+  }
+
+  /**
+   * Sizes the following frames from the byte rate of a canonical WAVE header at the start of the
+   * first frame.
+   */
+  private void resizeForWaveHeader(int read) {
+    if (read < WAVE_BYTE_RATE_POS + 4
+        || frame[0] != 'R'
+        || frame[1] != 'I'
+        || frame[2] != 'F'
+        || frame[3] != 'F'
+        || frame[8] != 'W'
+        || frame[9] != 'A'
+        || frame[10] != 'V'
+        || frame[11] != 'E') {
+      return;
+    }
+    int byteRate =
+        (frame[WAVE_BYTE_RATE_POS] & 0xff)
+            | (frame[WAVE_BYTE_RATE_POS + 1] & 0xff) << 8
+            | (frame[WAVE_BYTE_RATE_POS + 2] & 0xff) << 16
+            | (frame[WAVE_BYTE_RATE_POS + 3] & 0xff) << 24;
+    int size = toFrameSize(byteRate, frameDuration);
+    if (size > 0) {
+      frame = new byte[size];
+    }
+  }
+
+  /**
+   * Computes the frame size in bytes for a content type and frame duration.
+   *
+   * @param contentType the content type, for example `audio/l16;rate=16000;channels=1`
+   * @param frameDuration the frame duration in milliseconds
+   * @return the frame size, or {@link #DEFAULT_FRAME_SIZE} if it cannot be computed
+   */
+  static int frameSize(String contentType, Integer frameDuration) {
+    if (contentType == null || frameDuration == null || frameDuration <= 0) {
+      return DEFAULT_FRAME_SIZE;
+    }
+    String mimeType = mimeType(contentType);
+    int bytesPerSample;
+    int defaultRate;
+    if (mimeType.equals(AUDIO_L16)) {
+      bytesPerSample = 2;
+      defaultRate = 0;
+    } else if (mimeType.equals(AUDIO_MULAW) || mimeType.equals(AUDIO_ALAW)) {
+      bytesPerSample = 1;
+      defaultRate = 0;
+    } else if (mimeType.equals(AUDIO_BASIC)) {
+      bytesPerSample = 1;
+      defaultRate = 8000;
+    } else {
+      return DEFAULT_FRAME_SIZE;
+    }
+
+    int rate = parameter(contentType, RATE, defaultRate);
+    int channels = parameter(contentType, CHANNELS, 1);
+    int size = toFrameSize(rate * channels * bytesPerSample, frameDuration);
+    return size > 0 ? size : DEFAULT_FRAME_SIZE;
+  }
+
+  private static int toFrameSize(int byteRate, int frameDuration) {
+    if (byteRate <= 0) {
+      return 0;
+    }
+    return (int) Math.min(Integer.MAX_VALUE, (long) byteRate * frameDuration / 1000);
+  }
+
+  private static String mimeType(String contentType) {
+    int separator = contentType.indexOf(';');
+    String mimeType = separator == -1 ? contentType : contentType.substring(0, separator);
+    return mimeType.trim().toLowerCase(Locale.ROOT);
+  }
+
+  private static int parameter(String contentType, String name, int defaultValue) {
+    String[] parts = contentType.split(";");
+    for (int i = 1; i < parts.length; i++) {
+      String[] pair = parts[i].split("=", 2);
+      if (pair.length == 2 && pair[0].trim().equalsIgnoreCase(name)) {
+        try {
+          return Integer.parseInt(pair[1].trim());
+        } catch (NumberFormatException e) {
+          return defaultValue;
+        }
+      }
+    }
+    return defaultValue;
+  }
+}
@@ -0,0 +1,319 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.speech_to_text.v1.websocket;
+
+import com.ibm.watson.common.WebSocketExecutors;
+import com.ibm.watson.speech_to_text.v1.SpeechToText;
+import com.ibm.watson.speech_to_text.v1.model.RecognizeWithWebsocketsOptions;
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import okhttp3.Response;
+import okhttp3.WebSocket;
+import okhttp3.WebSocketListener;
+import okio.ByteString;
+
+/**
+ * Keeps WebSocket connections to the Speech to Text service open between recognitions, so that
+ * successive utterances skip the TLS handshake and authentication of a new connection.
+ *
+ * <p>The service accepts many recognitions over one connection: after the final results of an
+ * utterance it waits for the next start message. Connections are pooled per model, language
+ * customization, acoustic customization and base model version, because those are fixed by the URL
+ * of the connection; every other option is sent in the start message of each recognition.
+ *
+ * <p>A connection goes back to the pool when {@link RecognizeCallback#onTranscriptionComplete()}
+ * has been called for its utterance. Idle connections are closed once they have been idle for
+ * longer than the idle timeout, which should stay below the 30 second session timeout after which
+ * the service closes a connection that receives no data.
+ */
+public final class RecognitionSessionPool implements Closeable {
+
+  /** The default maximum number of idle connections kept per model and customization. */
+  public static final int DEFAULT_MAX_IDLE_SESSIONS = 8;
+
+  /** The default time in milliseconds after which an idle connection is closed. */
+  public static final long DEFAULT_IDLE_TIMEOUT = TimeUnit.SECONDS.toMillis(20);
+
+  private static final String AUDIO_TO_WEB_SOCKET = "AudioToWebSocketThread";
+  private static final int CLOSE_NORMAL = 1000;
+
+  private final SpeechToText service;
+  private final int maxIdleSessions;
+  private final long idleTimeoutNanos;
+  private final Map<String, Deque<Session>> idleSessions = new HashMap<>();
+  private boolean closed;
+
+  /**
+   * Instantiates a new pool with the default limits.
+   *
+   * @param service the service used to open connections
+   */
+  public RecognitionSessionPool(SpeechToText service) {
+    this(service, DEFAULT_MAX_IDLE_SESSIONS, DEFAULT_IDLE_TIMEOUT, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Instantiates a new pool.
+   *
+   * @param service the service used to open connections
+   * @param maxIdleSessions the maximum number of idle connections kept per model and customization
+   * @param idleTimeout the time after which an idle connection is closed
+   * @param unit the unit of the idle timeout
+   */
+  public RecognitionSessionPool(
+      SpeechToText service, int maxIdleSessions, long idleTimeout, TimeUnit unit) {
+    com.ibm.cloud.sdk.core.util.Validator.notNull(service, "service cannot be null");
+    com.ibm.cloud.sdk.core.util.Validator.isTrue(
+        maxIdleSessions >= 0, "maxIdleSessions cannot be negative");
+    this.service = service;
+    this.maxIdleSessions = maxIdleSessions;
+    this.idleTimeoutNanos = unit.toNanos(idleTimeout);
+  }
+
+  /**
+   * Sends audio and returns transcription results like {@link
+   * SpeechToText#recognizeUsingWebSocket(RecognizeWithWebsocketsOptions, RecognizeCallback)}, over
+   * an idle connection of the pool when there is one.
+   *
+   * <p>{@link RecognizeCallback#onDisconnected()} is only called if the connection closes during
+   * the recognition. The returned {@link WebSocket} is shared with later recognitions; closing it
+   * ends the connection instead of returning it to the pool.
+   *
+   * @param recognizeOptions the recognize options
+   * @param callback the {@link RecognizeCallback} instance where results will be sent
+   * @return the {@link WebSocket} the recognition runs on
+   */
+  public WebSocket recognizeUsingWebSocket(
+      RecognizeWithWebsocketsOptions recognizeOptions, RecognizeCallback callback) {
+    com.ibm.cloud.sdk.core.util.Validator.notNull(
+        recognizeOptions, "recognizeOptions cannot be null");
+    com.ibm.cloud.sdk.core.util.Validator.notNull(recognizeOptions.audio(), "audio cannot be null");
+    com.ibm.cloud.sdk.core.util.Validator.notNull(callback, "callback cannot be null");
+
+    String key = key(recognizeOptions);
+    Session session = takeIdleSession(key);
+    if (session != null) {
+      session.start(recognizeOptions, callback);
+      return session.socket;
+    }
+
+    session = new Session(key);
+    session.recognition = session.newListener(recognizeOptions, callback);
+    session.socket = service.newRecognizeWebSocket(recognizeOptions, session);
+    return session.socket;
+  }
+
+  /**
+   * Gets the number of idle connections in the pool.
+   *
+   * @return the number of idle connections
+   */
+  public synchronized int idleCount() {
+    int count = 0;
+    for (Deque<Session> sessions : idleSessions.values()) {
+      count += sessions.size();
+    }
+    return count;
+  }
+
+  /**
+   * Closes the idle connections. Connections with a recognition in progress are closed when it
+   * completes.
+   */
+  @Override
+  public void close() {
+    List<Session> sessions = new ArrayList<>();
+    synchronized (this) {
+      closed = true;
+      for (Deque<Session> idle : idleSessions.values()) {
+        sessions.addAll(idle);
+      }
+      idleSessions.clear();
+    }
+    for (Session session : sessions) {
+      session.close();
+    }
+  }
+
+  private static String key(RecognizeWithWebsocketsOptions options) {
+    return options.model()
+        + '\n'
+        + options.languageCustomizationId()
+        + '\n'
+        + options.acousticCustomizationId()
+        + '\n'
+        + options.baseModelVersion();
+  }
+
+  private Session takeIdleSession(String key) {
+    List<Session> expired = new ArrayList<>();
+    Session session = null;
+    synchronized (this) {
+      Deque<Session> sessions = idleSessions.get(key);
+      long now = System.nanoTime();
+      while (sessions != null && !sessions.isEmpty()) {
+        Session candidate = sessions.pollFirst();
+        if (candidate.open && now - candidate.idleSince < idleTimeoutNanos) {
+          session = candidate;
+          break;
+        }
+        expired.add(candidate);
+      }
+    }
+    for (Session candidate : expired) {
+      candidate.close();
+    }
+    return session;
+  }
+
+  private void release(Session session) {
+    List<Session> expired = new ArrayList<>();
+    boolean keep = false;
+    synchronized (this) {
+      if (!closed && session.open) {
+        Deque<Session> sessions = idleSessions.get(session.key);
+        if (sessions == null) {
+          sessions = new ArrayDeque<>();
+          idleSessions.put(session.key, sessions);
+        }
+        long now = System.nanoTime();
+        for (Iterator<Session> it = sessions.iterator(); it.hasNext(); ) {
+          Session idle = it.next();
+          if (!idle.open || now - idle.idleSince >= idleTimeoutNanos) {
+            it.remove();
+            expired.add(idle);
+          }
+        }
+        if (sessions.size() < maxIdleSessions) {
+          session.idleSince = now;
+          sessions.addFirst(session);
+          keep = true;
+        }
+      }
+    }
+    for (Session idle : expired) {
+      idle.close();
+    }
+    if (!keep) {
+      session.close();
+    }
+  }
+
+  private synchronized void remove(Session session) {
+    Deque<Session> sessions = idleSessions.get(session.key);
+    if (sessions != null) {
+      sessions.remove(session);
+    }
+  }
+
+  /** A pooled connection, forwarding its events to the recognition in progress. */
+  private final class Session extends WebSocketListener {
+    private final String key;
+    private volatile WebSocket socket;
+    private volatile SpeechToTextWebSocketListener recognition;
+    private volatile boolean open = true;
+    private long idleSince;
+
+    Session(String key) {
+      this.key = key;
+    }
+
+    SpeechToTextWebSocketListener newListener(
+        RecognizeWithWebsocketsOptions options, RecognizeCallback callback) {
+      Executor executor = service.getWebSocketExecutor();
+      if (executor == null) {
+        executor = WebSocketExecutors.newThreadPerTaskExecutor(AUDIO_TO_WEB_SOCKET);
+      }
+      return new SpeechToTextWebSocketListener(
+          options,
+          callback,
+          executor,
+          new Runnable() {
+            @Override
+            public void run() {
+              recognition = null;
+              release(Session.this);
+            }
+          });
+    }
+
+    /** Starts a recognition on the open connection. */
+    void start(RecognizeWithWebsocketsOptions options, RecognizeCallback callback) {
+      SpeechToTextWebSocketListener listener = newListener(options, callback);
+      recognition = listener;
+      listener.onOpen(socket, null);
+    }
+
+    void close() {
+      open = false;
+      WebSocket webSocket = socket;
+      if (webSocket != null) {
+        webSocket.close(CLOSE_NORMAL, null);
+      }
+    }
+
+    @Override
+    public void onOpen(WebSocket webSocket, Response response) {
+      socket = webSocket;
+      SpeechToTextWebSocketListener listener = recognition;
+      if (listener != null) {
+        listener.onOpen(webSocket, response);
+      }
+    }
+
+    @Override
+    public void onMessage(WebSocket webSocket, String text) {
+      SpeechToTextWebSocketListener listener = recognition;
+      if (listener != null) {
+        listener.onMessage(webSocket, text);
+      }
+    }
+
+    @Override
+    public void onMessage(WebSocket webSocket, ByteString bytes) {
+      SpeechToTextWebSocketListener listener = recognition;
+      if (listener != null) {
+        listener.onMessage(webSocket, bytes);
+      }
+    }
+
+    @Override
+    public void onClosing(WebSocket webSocket, int code, String reason) {
+      open = false;
+      remove(this);
+      webSocket.close(CLOSE_NORMAL, null);
+      SpeechToTextWebSocketListener listener = recognition;
+      if (listener != null) {
+        listener.onClosing(webSocket, code, reason);
+      }
+    }
+
+    @Override
+    public void onFailure(WebSocket webSocket, Throwable t, Response response) {
+      open = false;
+      remove(this);
+      SpeechToTextWebSocketListener listener = recognition;
+      if (listener != null) {
+        listener.onFailure(webSocket, t, response);
+      }
+    }
+  }
+}
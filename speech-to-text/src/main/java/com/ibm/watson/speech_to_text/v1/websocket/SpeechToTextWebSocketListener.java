@@ -12,24 +12,28 @@
  */
 package com.ibm.watson.speech_to_text.v1.websocket;
 
-import com.google.gson.FieldNamingPolicy;
 import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.ibm.cloud.sdk.core.util.GsonSingleton;
+import com.ibm.watson.common.StartMessageSerializer;
+import com.ibm.watson.common.WebSocketExecutors;
 import com.ibm.watson.speech_to_text.v1.SpeechToText;
 import com.ibm.watson.speech_to_text.v1.model.RecognizeWithWebsocketsOptions;
 import com.ibm.watson.speech_to_text.v1.model.SpeechRecognitionResults;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.Arrays;
+import java.io.StringReader;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import okhttp3.Response;
 import okhttp3.WebSocket;
 import okhttp3.WebSocketListener;
-import okio.ByteString;
 
 /**
  * The listener interface for receiving {@link WebSocket} events. <br>
@@ -42,34 +46,32 @@ public final class SpeechToTextWebSocketListener extends WebSocketListener {
 
   private static final String AUDIO_TO_WEB_SOCKET = "AudioToWebSocketThread";
   private static final Gson GSON = GsonSingleton.getGsonWithoutPrettyPrinting();
+  private static final TypeAdapter<SpeechRecognitionResults> RESULTS_ADAPTER =
+      GSON.getAdapter(SpeechRecognitionResults.class);
+  // options that are already in the query string are left out of the start message
+  private static final StartMessageSerializer<RecognizeWithWebsocketsOptions> START_MESSAGE =
+      new StartMessageSerializer<>(
+          RecognizeWithWebsocketsOptions.class,
+          "model",
+          "languageCustomizationId",
+          "acousticCustomizationId",
+          "baseModelVersion");
   private static final Logger LOG = Logger.getLogger(SpeechToTextWebSocketListener.class.getName());
 
   private static final String STATE = "state";
-  private static final String MODEL = "model";
-  private static final String START = "start";
   private static final String STOP = "stop";
   private static final String ACTION = "action";
-  private static final int ONE_KB = 1024;
   private static final String ERROR = "error";
-  private static final String RESULTS = "results";
-  private static final String SPEAKER_LABELS = "speaker_labels";
-  private static final String AUDIO_METRICS = "audio_metrics";
-  private static final String LANGUAGE_CUSTOMIZATION_ID = "language_customization_id";
-  private static final String ACOUSTIC_CUSTOMIZATION_ID = "acoustic_customization_id";
-  private static final String VERSION = "base_model_version";
   private static final String TIMEOUT_PREFIX = "No speech detected for";
 
-  // 8 MB, half of the maximum OkHttp WebSocket queue size
-  // (https://github.com/square/okhttp/blob/master/okhttp/src/main/java/okhttp3/internal/ws/RealWebSocket.java#L63)
-  private static final long QUEUE_SIZE_LIMIT = 16 * 1024 * 512;
-  private static final long QUEUE_WAIT_MILLIS = 500;
-
   private final InputStream stream;
   private final RecognizeWithWebsocketsOptions options;
   private final RecognizeCallback callback;
+  private final Executor executor;
+  private final Runnable onComplete;
   private WebSocket socket;
-  private boolean socketOpen = true;
-  private Thread audioThread = null;
+  private volatile boolean socketOpen = true;
+  private volatile AudioPump audioPump;
   private boolean isListening = false;
   private static final int CLOSE_NORMAL = 1000;
 
@@ -81,9 +83,43 @@ public final class SpeechToTextWebSocketListener extends WebSocketListener {
    */
   public SpeechToTextWebSocketListener(
       final RecognizeWithWebsocketsOptions options, final RecognizeCallback callback) {
+    this(options, callback, WebSocketExecutors.newThreadPerTaskExecutor(AUDIO_TO_WEB_SOCKET));
+  }
+
+  /**
+   * Instantiates a new speech to text web socket listener that sends the audio on the given
+   * executor.
+   *
+   * @param options the recognize options
+   * @param callback the callback
+   * @param executor the executor running the task that sends the audio
+   */
+  public SpeechToTextWebSocketListener(
+      final RecognizeWithWebsocketsOptions options,
+      final RecognizeCallback callback,
+      final Executor executor) {
+    this(options, callback, executor, null);
+  }
+
+  /**
+   * Instantiates a new speech to text web socket listener that hands the socket back instead of
+   * closing it when the transcription completes, so another recognition can be started on it.
+   *
+   * @param options the recognize options
+   * @param callback the callback
+   * @param executor the executor running the task that sends the audio
+   * @param onComplete run instead of closing the socket when the transcription completes, or null
+   */
+  SpeechToTextWebSocketListener(
+      final RecognizeWithWebsocketsOptions options,
+      final RecognizeCallback callback,
+      final Executor executor,
+      final Runnable onComplete) {
     this.stream = options.audio();
     this.options = options;
     this.callback = callback;
+    this.executor = executor;
+    this.onComplete = onComplete;
   }
 
   /*
@@ -92,7 +128,7 @@ public final class SpeechToTextWebSocketListener extends WebSocketListener {
    */
   @Override
   public void onClosing(WebSocket webSocket, int code, String reason) {
-    socketOpen = false;
+    closeAudio();
     callback.onDisconnected();
   }
 
@@ -102,7 +138,7 @@ public final class SpeechToTextWebSocketListener extends WebSocketListener {
    */
   @Override
   public void onFailure(WebSocket webSocket, Throwable t, Response response) {
-    socketOpen = false;
+    closeAudio();
     if (t instanceof Exception) {
       callback.onError((Exception) t);
     } else {
@@ -116,35 +152,64 @@ public final class SpeechToTextWebSocketListener extends WebSocketListener {
    */
   @Override
   public void onMessage(WebSocket webSocket, String message) {
-    JsonObject json = new JsonParser().parse(message).getAsJsonObject();
-    if (json.has(ERROR)) {
-      String error = json.get(ERROR).getAsString();
-
-      // Only call onError() if a real error occurred. The STT service sends
-      // {"error" : "No speech detected for 5s"} for valid timeouts, configured by
-      // RecognizeUsingWebSocketOptions.Builder.inactivityTimeout()
-      if (!error.startsWith(TIMEOUT_PREFIX)) {
-        callback.onError(new RuntimeException(error));
-      } else {
-        // notify that the service timeouts because of inactivity
-        callback.onInactivityTimeout(new RuntimeException(error));
-      }
-    } else if (json.has(RESULTS) || json.has(SPEAKER_LABELS) || json.has(AUDIO_METRICS)) {
-      callback.onTranscription(GSON.fromJson(message, SpeechRecognitionResults.class));
+    // results are deserialized in a single pass over the message, which also picks up the error
+    // and state members the results adapter skips
+    MessageReader reader = new MessageReader(message);
+    SpeechRecognitionResults results;
+    try {
+      results = RESULTS_ADAPTER.read(reader);
+    } catch (IOException e) {
+      throw new JsonSyntaxException(e);
+    }
+
+    if (reader.error != null) {
+      onError(reader.error);
+    } else if (reader.state) {
+      onState();
+    } else if (results != null
+        && (results.getResults() != null
+            || results.getSpeakerLabels() != null
+            || results.getAudioMetrics() != null)) {
+      callback.onTranscription(results);
+    }
+  }
+
+  /**
+   * Reports an error sent by the service.
+   *
+   * @param error the error message
+   */
+  private void onError(String error) {
+    // Only call onError() if a real error occurred. The STT service sends
+    // {"error" : "No speech detected for 5s"} for valid timeouts, configured by
+    // RecognizeUsingWebSocketOptions.Builder.inactivityTimeout()
+    if (!error.startsWith(TIMEOUT_PREFIX)) {
+      callback.onError(new RuntimeException(error));
+    } else {
+      // notify that the service timeouts because of inactivity
+      callback.onInactivityTimeout(new RuntimeException(error));
+    }
+  }
 
-    } else if (json.has(STATE)) {
-      // A listen state after everything has been sent over indicates everything has been processed
-      if (!isListening) {
-        isListening = true;
+  /** Handles a state message, which the service sends when it is listening for audio. */
+  private void onState() {
+    // A listen state after everything has been sent over indicates everything has been processed
+    if (!isListening) {
+      isListening = true;
+    } else {
+      if (onComplete != null) {
+        // hand the socket back first, so the callback can start the next recognition on it
+        onComplete.run();
+        callback.onTranscriptionComplete();
       } else {
         callback.onTranscriptionComplete();
         socket.close(CLOSE_NORMAL, "Transcription completed");
-        return;
       }
-
-      // notify that the service is ready to receive audio
-      callback.onListening();
+      return;
     }
+
+    // notify that the service is ready to receive audio
+    callback.onListening();
   }
 
   /*
@@ -158,67 +223,54 @@ public final class SpeechToTextWebSocketListener extends WebSocketListener {
     if (!socket.send(buildStartMessage(options))) {
       callback.onError(new IOException("WebSocket unavailable"));
     } else {
+      audioPump =
+          new AudioPump(socket, stream, options.contentType(), options.audioFrameDuration());
       // Send the InputStream on a different Thread. Elsewise, interim results cannot be
       // received,
       // because the Thread that called SpeechToText.recognizeUsingWebSocket is blocked.
-      audioThread =
-          new Thread(AUDIO_TO_WEB_SOCKET) {
-            @Override
-            public void run() {
-              sendInputStream(stream);
-              // Do not send the stop message if the socket has been closed already, for example
-              // because of the
-              // inactivity timeout.
-              // If the socket is still open after the sending finishes, for example because the
-              // user closed the
-              // microphone AudioInputStream, send a stop message.
-              if (socketOpen && !socket.send(buildStopMessage())) {
-                LOG.log(Level.SEVERE, "Stop message discarded because WebSocket is unavailable");
+      try {
+        executor.execute(
+            new Runnable() {
+              @Override
+              public void run() {
+                sendInputStream(audioPump);
+                // Do not send the stop message if the socket has been closed already, for example
+                // because of the
+                // inactivity timeout.
+                // If the socket is still open after the sending finishes, for example because the
+                // user closed the
+                // microphone AudioInputStream, send a stop message.
+                if (socketOpen && !socket.send(buildStopMessage())) {
+                  LOG.log(Level.SEVERE, "Stop message discarded because WebSocket is unavailable");
+                }
               }
-            }
-          };
-
-      audioThread.start();
+            });
+      } catch (RejectedExecutionException e) {
+        callback.onError(e);
+        socket.close(CLOSE_NORMAL, "Audio could not be sent");
+      }
     }
   }
 
   /**
    * Send input stream.
    *
-   * @param inputStream the input stream
+   * @param pump the audio pump reading the input stream
    */
-  private void sendInputStream(InputStream inputStream) {
-    byte[] buffer = new byte[ONE_KB];
-    int read;
+  private void sendInputStream(AudioPump pump) {
     try {
-      // This method uses a blocking while loop to receive all contents of the underlying input
-      // stream.
-      // AudioInputStreams, typically used for streaming microphone inputs return 0 only when the
-      // stream has been
-      // closed. Elsewise AudioInputStream.read() blocks until enough audio frames are read.
-      while (((read = inputStream.read(buffer)) > 0) && socketOpen) {
-
-        // If OkHttp's WebSocket queue gets overwhelmed, it'll abruptly close the connection
-        // (see: https://github.com/square/okhttp/issues/3317). This will ensure we wait until the
-        // coast is clear.
-        while (socket.queueSize() > QUEUE_SIZE_LIMIT) {
-          Thread.sleep(QUEUE_WAIT_MILLIS);
-        }
-
-        if (read == ONE_KB) {
-          socket.send(ByteString.of(buffer));
-        } else {
-          socket.send(ByteString.of(Arrays.copyOfRange(buffer, 0, read)));
-        }
-      }
+      pump.pump();
     } catch (IOException | InterruptedException e) {
       LOG.log(Level.SEVERE, e.getMessage(), e);
-    } finally {
-      try {
-        inputStream.close();
-      } catch (IOException e) {
-        // do nothing - the InputStream may have already been closed externally.
-      }
+    }
+  }
+
+  /** Marks the socket as closed and stops sending audio. */
+  private void closeAudio() {
+    socketOpen = false;
+    AudioPump pump = audioPump;
+    if (pump != null) {
+      pump.stop();
     }
   }
 
@@ -229,17 +281,7 @@ public final class SpeechToTextWebSocketListener extends WebSocketListener {
    * @return the request
    */
   private String buildStartMessage(RecognizeWithWebsocketsOptions options) {
-    Gson gson =
-        new GsonBuilder()
-            .setFieldNamingPolicy(FieldNamingPolicy.LOWER_CASE_WITH_UNDERSCORES)
-            .create();
-    JsonObject startMessage = new JsonParser().parse(gson.toJson(options)).getAsJsonObject();
-    startMessage.remove(MODEL);
-    startMessage.remove(LANGUAGE_CUSTOMIZATION_ID);
-    startMessage.remove(ACOUSTIC_CUSTOMIZATION_ID);
-    startMessage.remove(VERSION);
-    startMessage.addProperty(ACTION, START);
-    return startMessage.toString();
+    return START_MESSAGE.serialize(options);
   }
 
   /**
@@ -252,4 +294,49 @@ public final class SpeechToTextWebSocketListener extends WebSocketListener {
     stopMessage.addProperty(ACTION, STOP);
     return stopMessage.toString();
   }
+
+  /**
+   * Reads a message for the results adapter, and keeps the values of the top-level error and state
+   * members, which the adapter skips as unknown.
+   */
+  private static final class MessageReader extends JsonReader {
+    private int depth;
+    private String name;
+    String error;
+    boolean state;
+
+    MessageReader(String message) {
+      super(new StringReader(message));
+    }
+
+    @Override
+    public void beginObject() throws IOException {
+      super.beginObject();
+      depth++;
+    }
+
+    @Override
+    public void endObject() throws IOException {
+      super.endObject();
+      depth--;
+    }
+
+    @Override
+    public String nextName() throws IOException {
+      name = super.nextName();
+      return name;
+    }
+
+    @Override
+    public void skipValue() throws IOException {
+      if (depth == 1 && ERROR.equals(name) && peek() == JsonToken.STRING) {
+        error = nextString();
+        return;
+      }
+      if (depth == 1 && STATE.equals(name)) {
+        state = true;
+      }
+      super.skipValue();
+    }
+  }
 }
@@ -0,0 +1,410 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.speech_to_text.v1.jobs;
+
+import static org.testng.Assert.*;
+
+import com.ibm.cloud.sdk.core.security.NoAuthAuthenticator;
+import com.ibm.cloud.sdk.core.service.exception.InternalServerErrorException;
+import com.ibm.watson.speech_to_text.v1.SpeechToText;
+import com.ibm.watson.speech_to_text.v1.model.CreateJobOptions;
+import com.ibm.watson.speech_to_text.v1.model.RecognitionJob;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.ByteString;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Unit tests for the {@link RecognitionJobManager}. */
+public class RecognitionJobManagerTest {
+
+  private static final String SECRET = "secret";
+  private static final String RESULTS =
+      "[{\"result_index\":0,\"results\":[{\"final\":true,"
+          + "\"alternatives\":[{\"transcript\":\"hello \"}]}]}]";
+
+  private MockWebServer server;
+  private SpeechToText service;
+
+  // the status of each job created in the mock service, and the polls it has seen
+  private final Map<String, String> statuses = new ConcurrentHashMap<>();
+  private final AtomicInteger created = new AtomicInteger();
+  private final AtomicInteger checks = new AtomicInteger();
+  private final AtomicInteger maxUnfinished = new AtomicInteger();
+  private final AtomicInteger throttled = new AtomicInteger();
+  private final AtomicInteger serverErrors = new AtomicInteger();
+  private final AtomicInteger jobChecks = new AtomicInteger();
+  private volatile int listLimit;
+  private final List<String> bodies = new ArrayList<>();
+
+  /** Creates jobs that finish on the second check of all jobs. */
+  private final Dispatcher dispatcher =
+      new Dispatcher() {
+        @Override
+        public MockResponse dispatch(RecordedRequest request) {
+          String path = request.getPath();
+          if (request.getMethod().equals("POST")) {
+            if (throttled.getAndDecrement() > 0) {
+              return new MockResponse().setResponseCode(429).setHeader("Retry-After", "0");
+            }
+            if (serverErrors.getAndDecrement() > 0) {
+              return new MockResponse()
+                  .setResponseCode(500)
+                  .setHeader("Content-type", "application/json")
+                  .setBody("{\"error\": \"Internal error\", \"code\": 500}");
+            }
+            synchronized (bodies) {
+              bodies.add(request.getBody().readUtf8());
+            }
+            String id = "job-" + created.incrementAndGet();
+            statuses.put(id, path.contains("fail") ? "fail" : "waiting");
+            int unfinished = 0;
+            for (String status : statuses.values()) {
+              unfinished += status.equals("completed") || status.equals("failed") ? 0 : 1;
+            }
+            maxUnfinished.set(Math.max(maxUnfinished.get(), unfinished));
+            return job(id, "waiting", null);
+          }
+          if (path.startsWith("/v1/recognitions/")) {
+            String id = path.substring("/v1/recognitions/".length());
+            jobChecks.incrementAndGet();
+            String status = statuses.get(id);
+            return job(id, status, status.equals("completed") ? RESULTS : null);
+          }
+          if (path.startsWith("/v1/recognitions")) {
+            checks.incrementAndGet();
+            StringBuilder recognitions = new StringBuilder();
+            for (Map.Entry<String, String> job : statuses.entrySet()) {
+              String status = job.getValue();
+              if (status.equals("waiting") || status.equals("fail")) {
+                job.setValue(status.equals("fail") ? "failing" : "processing");
+              } else if (status.equals("processing") || status.equals("failing")) {
+                job.setValue(status.equals("failing") ? "failed" : "completed");
+              }
+              if (Integer.parseInt(job.getKey().substring("job-".length())) > listLimit) {
+                // the service lists the latest jobs only
+                continue;
+              }
+              recognitions
+                  .append(recognitions.length() > 0 ? "," : "")
+                  .append("{\"id\":\"")
+                  .append(job.getKey())
+                  .append("\",\"status\":\"")
+                  .append(job.getValue())
+                  .append("\"}");
+            }
+            return json("{\"recognitions\":[" + recognitions + "]}");
+          }
+          return new MockResponse().setResponseCode(404);
+        }
+      };
+
+  private static MockResponse job(String id, String status, String results) {
+    return json(
+        "{\"id\":\""
+            + id
+            + "\",\"status\":\""
+            + status
+            + "\""
+            + (results != null ? ",\"results\":" + results : "")
+            + "}");
+  }
+
+  private static MockResponse json(String body) {
+    return new MockResponse().setHeader("Content-type", "application/json").setBody(body);
+  }
+
+  @BeforeMethod
+  public void setUp() throws IOException {
+    statuses.clear();
+    created.set(0);
+    checks.set(0);
+    maxUnfinished.set(0);
+    throttled.set(0);
+    serverErrors.set(0);
+    jobChecks.set(0);
+    listLimit = Integer.MAX_VALUE;
+    bodies.clear();
+    server = new MockWebServer();
+    server.setDispatcher(dispatcher);
+    server.start();
+    service = new SpeechToText(new NoAuthAuthenticator());
+    service.setServiceUrl(server.url("/").toString());
+  }
+
+  @AfterMethod
+  public void tearDown() throws IOException {
+    server.shutdown();
+  }
+
+  private static CreateJobOptions options(String audio) {
+    return new CreateJobOptions.Builder()
+        .audio(new ByteArrayInputStream(audio.getBytes(StandardCharsets.UTF_8)))
+        .contentType("audio/flac")
+        .build();
+  }
+
+  private static String sign(String payload) throws Exception {
+    Mac mac = Mac.getInstance("HmacSHA1");
+    mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA1"));
+    return ByteString.of(mac.doFinal(payload.getBytes(StandardCharsets.UTF_8))).base64();
+  }
+
+  /** Tests that jobs are created within the quota and completed by polling all at once. */
+  @Test
+  public void testSubmitPollsJobs() throws Exception {
+    try (RecognitionJobManager manager =
+        new RecognitionJobManager.Builder(service)
+            .maxActiveJobs(2)
+            .minPollIntervalMillis(10)
+            .maxPollIntervalMillis(40)
+            .build()) {
+      List<CompletableFuture<RecognitionJob>> futures = new ArrayList<>();
+      for (int i = 0; i < 5; i++) {
+        futures.add(manager.submit(options("audio " + i)));
+      }
+
+      for (CompletableFuture<RecognitionJob> future : futures) {
+        RecognitionJob job = future.get(10, TimeUnit.SECONDS);
+        assertEquals(job.getStatus(), RecognitionJob.Status.COMPLETED);
+        assertEquals(
+            job.getResults().get(0).getResults().get(0).getAlternatives().get(0).getTranscript(),
+            "hello ");
+      }
+      assertEquals(created.get(), 5);
+      assertTrue(maxUnfinished.get() <= 2, "unfinished jobs: " + maxUnfinished.get());
+      assertTrue(checks.get() >= 6, "checks: " + checks.get());
+      assertEquals(manager.getActiveJobCount(), 0);
+      assertEquals(manager.getQueuedJobCount(), 0);
+    }
+  }
+
+  /** Tests that the jobs missing from the list are checked one by one, on their own interval. */
+  @Test
+  public void testUnlistedJobsAreCheckedOneByOne() throws Exception {
+    listLimit = 1;
+    try (RecognitionJobManager manager =
+        new RecognitionJobManager.Builder(service)
+            .maxActiveJobs(20)
+            .minPollIntervalMillis(10)
+            .maxPollIntervalMillis(40)
+            .build()) {
+      List<CompletableFuture<RecognitionJob>> futures = new ArrayList<>();
+      for (int i = 0; i < 4; i++) {
+        futures.add(manager.submit(options("audio " + i)));
+      }
+
+      for (CompletableFuture<RecognitionJob> future : futures) {
+        assertEquals(future.get(10, TimeUnit.SECONDS).getStatus(), RecognitionJob.Status.COMPLETED);
+      }
+      // two unlisted jobs at most per check of all the jobs, and the listed one once
+      assertTrue(jobChecks.get() <= 2 * checks.get() + 1, jobChecks + " > 2 * " + checks);
+    }
+  }
+
+  /** Tests that a callback receiver must check the signature of the notifications. */
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testUnsignedCallbackReceiverRejected() throws Exception {
+    try (JobCallbackReceiver receiver = new JobCallbackReceiver.Builder().build().start()) {
+      assertTrue(receiver.callbackUrl().startsWith("http://127.0.0.1:"));
+      new RecognitionJobManager.Builder(service).callbackReceiver(receiver).build();
+    }
+  }
+
+  /** Tests that a job failed by the service fails its future. */
+  @Test
+  public void testFailedJob() throws Exception {
+    try (RecognitionJobManager manager =
+        new RecognitionJobManager.Builder(service).minPollIntervalMillis(10).build()) {
+      CompletableFuture<RecognitionJob> future =
+          manager.submit(options("audio").newBuilder().model("fail").build());
+
+      try {
+        future.get(10, TimeUnit.SECONDS);
+        fail("the job should have failed");
+      } catch (ExecutionException e) {
+        assertTrue(e.getCause() instanceof RecognitionJobFailedException);
+        RecognitionJob job = ((RecognitionJobFailedException) e.getCause()).getJob();
+        assertEquals(job.getId(), "job-1");
+        assertEquals(job.getStatus(), RecognitionJob.Status.FAILED);
+      }
+    }
+  }
+
+  /** Tests that a throttled creation is retried with the audio sent again. */
+  @Test
+  public void testCreateRetriesThrottledJobs() throws Exception {
+    throttled.set(2);
+    try (RecognitionJobManager manager =
+        new RecognitionJobManager.Builder(service).minPollIntervalMillis(10).build()) {
+      RecognitionJob job = manager.submit(options("the audio")).get(10, TimeUnit.SECONDS);
+
+      assertEquals(job.getId(), "job-1");
+      assertTrue(server.getRequestCount() >= 3);
+      assertEquals(bodies.get(0), "the audio");
+    }
+  }
+
+  /** Tests that a creation failed by a server error is not retried, as it may have succeeded. */
+  @Test
+  public void testCreateDoesNotRetryServerErrors() throws Exception {
+    serverErrors.set(1);
+    try (RecognitionJobManager manager =
+        new RecognitionJobManager.Builder(service)
+            .initialBackoffMillis(1)
+            .minPollIntervalMillis(10)
+            .build()) {
+      CompletableFuture<RecognitionJob> future = manager.submit(options("the audio"));
+
+      try {
+        future.get(10, TimeUnit.SECONDS);
+        fail("the creation should have failed");
+      } catch (ExecutionException e) {
+        assertTrue(e.getCause() instanceof InternalServerErrorException);
+      }
+      // a retry would have created the job
+      assertEquals(created.get(), 0);
+      assertEquals(manager.getActiveJobCount(), 0);
+    }
+  }
+
+  /** Tests that notifications complete the jobs, without polling. */
+  @Test
+  public void testCallbackReceiver() throws Exception {
+    OkHttpClient client = new OkHttpClient();
+    try (JobCallbackReceiver receiver =
+            new JobCallbackReceiver.Builder().host("127.0.0.1").userSecret(SECRET).build().start();
+        RecognitionJobManager manager =
+            new RecognitionJobManager.Builder(service)
+                .callbackReceiver(receiver)
+                .minPollIntervalMillis(10)
+                .build()) {
+      String url = receiver.callbackUrl();
+      assertTrue(url.startsWith("http://127.0.0.1:"));
+
+      // the verification of the URL when it is registered
+      okhttp3.Response verification =
+          client
+              .newCall(
+                  new Request.Builder()
+                      .url(url + "?challenge_string=abc123")
+                      .header("X-Callback-Signature", sign("abc123"))
+                      .build())
+              .execute();
+      assertEquals(verification.code(), 200);
+      assertEquals(verification.body().string(), "abc123");
+
+      CompletableFuture<RecognitionJob> completed = manager.submit(options("one"));
+      RecordedRequest create = server.takeRequest(10, TimeUnit.SECONDS);
+      assertTrue(create.getPath().contains("callback_url="));
+      assertTrue(create.getPath().contains("events=recognitions.completed_with_results"));
+      CompletableFuture<RecognitionJob> failed = manager.submit(options("two"));
+      server.takeRequest(10, TimeUnit.SECONDS);
+
+      String forged = "{\"id\":\"job-1\",\"event\":\"recognitions.failed\"}";
+      assertEquals(post(client, url, forged, sign("something else")), 401);
+      assertEquals(
+          post(
+              client,
+              url,
+              "{\"id\":\"job-1\",\"event\":\"recognitions.completed_with_results\","
+                  + "\"user_token\":\"token\",\"results\":"
+                  + RESULTS
+                  + "}"),
+          200);
+      assertEquals(post(client, url, "{\"id\":\"job-2\",\"event\":\"recognitions.failed\"}"), 200);
+
+      RecognitionJob job = completed.get(10, TimeUnit.SECONDS);
+      assertEquals(job.getUserToken(), "token");
+      assertEquals(job.getResults().size(), 1);
+      try {
+        failed.get(10, TimeUnit.SECONDS);
+        fail("the job should have failed");
+      } catch (ExecutionException e) {
+        assertTrue(e.getCause() instanceof RecognitionJobFailedException);
+      }
+      assertEquals(checks.get(), 0);
+    }
+  }
+
+  /** Tests that a receiver with a secret rejects unsigned and oversized requests. */
+  @Test
+  public void testCallbackReceiverRejectsUnsignedAndLargeRequests() throws Exception {
+    OkHttpClient client = new OkHttpClient();
+    try (JobCallbackReceiver receiver =
+        new JobCallbackReceiver.Builder()
+            .userSecret(SECRET)
+            .maxNotificationBytes(64)
+            .build()
+            .start()) {
+      String url = receiver.callbackUrl();
+
+      try (okhttp3.Response verification =
+          client.newCall(new Request.Builder().url(url + "?challenge_string=abc123").build())
+              .execute()) {
+        assertEquals(verification.code(), 401);
+      }
+      Request unsigned =
+          new Request.Builder()
+              .url(url)
+              .post(RequestBody.create("{\"id\":\"job-1\"}", MediaType.get("application/json")))
+              .build();
+      try (okhttp3.Response response = client.newCall(unsigned).execute()) {
+        assertEquals(response.code(), 401);
+      }
+      StringBuilder large = new StringBuilder("{\"id\":\"job-1\",\"padding\":\"");
+      for (int i = 0; i < 100; i++) {
+        large.append('x');
+      }
+      assertEquals(post(client, url, large.append("\"}").toString()), 413);
+      assertEquals(post(client, url, "{\"id\":\"job-1\"}"), 200);
+    }
+  }
+
+  private static int post(OkHttpClient client, String url, String body) throws Exception {
+    return post(client, url, body, sign(body));
+  }
+
+  private static int post(OkHttpClient client, String url, String body, String signature)
+      throws IOException {
+    Request request =
+        new Request.Builder()
+            .url(url)
+            .header("X-Callback-Signature", signature)
+            .post(RequestBody.create(body, MediaType.get("application/json")))
+            .build();
+    try (okhttp3.Response response = client.newCall(request).execute()) {
+      return response.code();
+    }
+  }
+}
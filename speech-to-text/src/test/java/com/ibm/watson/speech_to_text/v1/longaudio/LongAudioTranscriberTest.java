@@ -0,0 +1,348 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.speech_to_text.v1.longaudio;
+
+import static org.testng.Assert.*;
+
+import com.ibm.cloud.sdk.core.security.NoAuthAuthenticator;
+import com.ibm.cloud.sdk.core.service.exception.BadRequestException;
+import com.ibm.cloud.sdk.core.util.GsonSingleton;
+import com.ibm.watson.speech_to_text.v1.SpeechToText;
+import com.ibm.watson.speech_to_text.v1.model.RecognizeOptions;
+import com.ibm.watson.speech_to_text.v1.model.SpeechRecognitionAlternative;
+import com.ibm.watson.speech_to_text.v1.model.SpeechRecognitionResult;
+import com.ibm.watson.speech_to_text.v1.model.SpeechRecognitionResults;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Unit tests for the {@link LongAudioTranscriber}. */
+public class LongAudioTranscriberTest {
+
+  private static final int RATE = 8000;
+  private static final String L16 = "audio/l16; rate=8000";
+
+  private MockWebServer server;
+  private SpeechToText service;
+
+  @BeforeMethod
+  public void setUp() throws IOException {
+    server = new MockWebServer();
+    server.start();
+    service = new SpeechToText(new NoAuthAuthenticator());
+    service.setServiceUrl(server.url("/").toString());
+  }
+
+  @AfterMethod
+  public void tearDown() throws IOException {
+    server.shutdown();
+  }
+
+  /**
+   * Generates mono 16-bit little-endian PCM: a tone, except in the silences.
+   *
+   * @param millis the duration of the audio
+   * @param silences the start and end in milliseconds of each silence
+   */
+  private static byte[] pcm(int millis, int... silences) {
+    int frames = millis * RATE / 1000;
+    ByteBuffer pcm = ByteBuffer.allocate(2 * frames).order(ByteOrder.LITTLE_ENDIAN);
+    for (int i = 0; i < frames; i++) {
+      boolean silent = false;
+      for (int s = 0; s < silences.length; s += 2) {
+        silent |= i >= silences[s] * RATE / 1000 && i < silences[s + 1] * RATE / 1000;
+      }
+      pcm.putShort(silent ? 0 : (short) (8000 * Math.sin(2 * Math.PI * 440 * i / RATE)));
+    }
+    return pcm.array();
+  }
+
+  private static byte[] wav(byte[] pcm) {
+    ByteBuffer wav = ByteBuffer.allocate(44 + pcm.length).order(ByteOrder.LITTLE_ENDIAN);
+    wav.put("RIFF".getBytes(StandardCharsets.US_ASCII)).putInt(36 + pcm.length);
+    wav.put("WAVE".getBytes(StandardCharsets.US_ASCII));
+    wav.put("fmt ".getBytes(StandardCharsets.US_ASCII)).putInt(16);
+    wav.putShort((short) 1).putShort((short) 1).putInt(RATE).putInt(2 * RATE);
+    wav.putShort((short) 2).putShort((short) 16);
+    wav.put("data".getBytes(StandardCharsets.US_ASCII)).putInt(pcm.length).put(pcm);
+    return wav.array();
+  }
+
+  /** Builds a FLAC stream of mono frames of 4096 samples whose content is not audio. */
+  private static byte[] flac(int frameCount, int frameLength) {
+    ByteArrayOutputStream flac = new ByteArrayOutputStream();
+    flac.write('f');
+    flac.write('L');
+    flac.write('a');
+    flac.write('C');
+    ByteBuffer info = ByteBuffer.allocate(4 + 34);
+    info.put((byte) 0x80).put((byte) 0).putShort((short) 34);
+    info.putShort((short) 4096).putShort((short) 4096);
+    info.put(new byte[6]);
+    // sample rate, channels and bits per sample
+    info.put((byte) (RATE >>> 12)).put((byte) (RATE >>> 4)).put((byte) ((RATE << 4) | 0x0F));
+    info.put((byte) 0xF0);
+    flac.write(info.array(), 0, info.capacity());
+    for (int i = 0; i < frameCount; i++) {
+      byte[] frame = new byte[frameLength];
+      frame[0] = (byte) 0xFF;
+      frame[1] = (byte) 0xF8;
+      frame[2] = (byte) 0xC0;
+      frame[3] = 0;
+      frame[4] = (byte) i;
+      frame[5] = (byte) crc8(frame, 5);
+      flac.write(frame, 0, frame.length);
+    }
+    return flac.toByteArray();
+  }
+
+  private static int crc8(byte[] bytes, int length) {
+    int crc = 0;
+    for (int i = 0; i < length; i++) {
+      crc ^= bytes[i] & 0xFF;
+      for (int bit = 0; bit < 8; bit++) {
+        crc = (crc & 0x80) != 0 ? ((crc << 1) ^ 0x07) & 0xFF : (crc << 1) & 0xFF;
+      }
+    }
+    return crc;
+  }
+
+  private static List<Segment> segments(
+      byte[] audio, String contentType, long segmentMillis, long overlapMillis)
+      throws IOException {
+    SegmentReader reader =
+        SegmentReader.open(
+            new ByteArrayInputStream(audio), contentType, segmentMillis, overlapMillis, 500, 0.01);
+    List<Segment> segments = new ArrayList<>();
+    Segment segment;
+    while ((segment = reader.next()) != null) {
+      segments.add(segment);
+    }
+    return segments;
+  }
+
+  private static String result(String... words) {
+    StringBuilder transcript = new StringBuilder();
+    StringBuilder timestamps = new StringBuilder();
+    for (int i = 0; i < words.length; i += 2) {
+      double start = Double.parseDouble(words[i + 1]);
+      transcript.append(words[i]).append(' ');
+      timestamps
+          .append(i > 0 ? "," : "")
+          .append("[\"")
+          .append(words[i])
+          .append("\",")
+          .append(start)
+          .append(',')
+          .append(start + 0.1)
+          .append(']');
+    }
+    return "{\"results\":[{\"final\":true,\"alternatives\":[{\"transcript\":\""
+        + transcript
+        + "\",\"confidence\":0.9,\"timestamps\":["
+        + timestamps
+        + "]}]}],\"result_index\":0}";
+  }
+
+  private static MockResponse json(String body) {
+    return new MockResponse().setHeader("Content-type", "application/json").setBody(body);
+  }
+
+  private static List<String> transcripts(SpeechRecognitionResults results) {
+    List<String> transcripts = new ArrayList<>();
+    for (SpeechRecognitionResult result : results.getResults()) {
+      transcripts.add(result.getAlternatives().get(0).getTranscript());
+    }
+    return transcripts;
+  }
+
+  /** Tests that WAV audio is split in the silence before the target duration, without overlap. */
+  @Test
+  public void testWavSplitAtSilence() throws IOException {
+    List<Segment> segments = segments(wav(pcm(1800, 800, 900)), null, 1000, 200);
+
+    assertEquals(segments.size(), 2);
+    Segment first = segments.get(0);
+    Segment second = segments.get(1);
+    assertEquals(first.contentType, "audio/wav");
+    assertTrue(first.keepUntil > 0.8 && first.keepUntil < 0.9, "cut at " + first.keepUntil);
+    assertEquals(first.audio.length, 44 + (int) Math.round(first.keepUntil * RATE) * 2);
+    assertEquals(ByteBuffer.wrap(first.audio).order(ByteOrder.LITTLE_ENDIAN).getInt(40),
+        first.audio.length - 44);
+    assertEquals(second.startSeconds, first.keepUntil);
+    assertEquals(second.keepFrom, first.keepUntil);
+    assertEquals(second.keepUntil, Double.POSITIVE_INFINITY);
+    assertEquals(second.audio.length - 44 + first.audio.length - 44, 2 * 1800 * RATE / 1000);
+  }
+
+  /** Tests that audio without silence is split into overlapping segments. */
+  @Test
+  public void testL16SplitWithOverlap() throws IOException {
+    List<Segment> segments = segments(pcm(2500), L16, 1000, 200);
+
+    assertEquals(segments.size(), 3);
+    assertEquals(segments.get(0).audio.length, 2 * 1100 * RATE / 1000);
+    assertEquals(segments.get(0).keepUntil, 1.0);
+    assertEquals(segments.get(1).startSeconds, 0.9);
+    assertEquals(segments.get(1).keepFrom, 1.0);
+    assertEquals(segments.get(1).keepUntil, 1.9);
+    assertEquals(segments.get(2).startSeconds, 1.8);
+    assertEquals(segments.get(2).audio.length, 2 * 700 * RATE / 1000);
+    assertEquals(segments.get(2).contentType, L16);
+  }
+
+  /** Tests that FLAC audio is split at frame boundaries into streams with their own header. */
+  @Test
+  public void testFlacSplitAtFrames() throws IOException {
+    int frameLength = 100;
+    List<Segment> segments = segments(flac(20, frameLength), null, 2000, 1000);
+
+    Segment first = segments.get(0);
+    assertEquals(new String(first.audio, 0, 4, StandardCharsets.US_ASCII), "fLaC");
+    // frames of 4096 samples, up to the first frame at or after 2.5 seconds
+    assertEquals(first.audio.length, 42 + 5 * frameLength);
+    assertEquals(first.keepUntil, 2.0);
+    assertEquals(segments.get(1).startSeconds, 8192.0 / RATE);
+    assertEquals(segments.get(1).keepFrom, 2.0);
+    assertEquals(segments.get(1).audio[42] & 0xFF, 0xFF);
+    assertEquals(segments.get(1).audio[46], 2);
+    assertEquals(segments.get(segments.size() - 1).keepUntil, Double.POSITIVE_INFINITY);
+  }
+
+  /** Tests that the results of overlapping segments are offset and that no word is kept twice. */
+  @Test
+  public void testTranscribeStitchesSegments() throws Exception {
+    server.enqueue(json(result("one", "0.2", "two", "0.95")));
+    server.enqueue(json(result("two", "0.05", "three", "0.5", "four", "0.95")));
+    server.enqueue(json(result("four", "0.05", "five", "0.5")));
+
+    LongAudioTranscriber transcriber =
+        new LongAudioTranscriber.Builder(service)
+            .maxConcurrency(1)
+            .segmentMillis(1000)
+            .overlapMillis(200)
+            .build();
+    SpeechRecognitionResults results =
+        transcriber.transcribe(
+            new RecognizeOptions.Builder()
+                .audio(new ByteArrayInputStream(pcm(2500)))
+                .contentType(L16)
+                .build());
+
+    assertEquals(transcripts(results), Arrays.asList("one two ", "three four ", "five "));
+    SpeechRecognitionAlternative second = results.getResults().get(1).getAlternatives().get(0);
+    assertEquals(second.getTimestamps().size(), 2);
+    assertEquals(second.getTimestamps().get(0).getStartTime().doubleValue(), 1.4);
+    assertEquals(second.getTimestamps().get(1).getEndTime().doubleValue(), 1.95);
+    assertEquals(second.getConfidence().doubleValue(), 0.9);
+    assertEquals(server.getRequestCount(), 3);
+    RecordedRequest request = server.takeRequest();
+    assertTrue(request.getPath().contains("timestamps=true"));
+    assertEquals(request.getHeader("Content-Type"), L16);
+  }
+
+  /** Tests that a result without timestamps is kept once when two segments overlap. */
+  @Test
+  public void testStitchKeepsUntimedResultsOnce() {
+    String untimed =
+        "{\"results\":[{\"final\":true,\"alternatives\":[{\"transcript\":\"hello \"}]}]}";
+    List<Segment> segments =
+        Arrays.asList(
+            new Segment(0, L16, 0, 0, 0.9, new byte[0]),
+            new Segment(1, L16, 0.8, 0.9, 1.8, new byte[0]),
+            new Segment(2, L16, 1.8, 1.8, 3, new byte[0]));
+    List<SpeechRecognitionResults> segmentResults = new ArrayList<>();
+    for (int i = 0; i < segments.size(); i++) {
+      segmentResults.add(
+          GsonSingleton.getGson().fromJson(untimed, SpeechRecognitionResults.class));
+    }
+
+    SpeechRecognitionResults results = TranscriptStitcher.stitch(segments, segmentResults);
+
+    // the third segment does not overlap the second, so its result is kept
+    assertEquals(transcripts(results), Arrays.asList("hello ", "hello "));
+  }
+
+  /** Tests that segments are recognized concurrently and that failures are retried. */
+  @Test
+  public void testTranscribeRetriesServerErrors() throws Exception {
+    server.enqueue(new MockResponse().setResponseCode(503));
+    for (int i = 0; i < 5; i++) {
+      server.enqueue(json(result("word", "0.5")));
+    }
+
+    LongAudioTranscriber transcriber =
+        new LongAudioTranscriber.Builder(service)
+            .segmentMillis(1000)
+            .overlapMillis(0)
+            .silenceSearchMillis(0)
+            .initialBackoffMillis(1)
+            .build();
+    SpeechRecognitionResults results =
+        transcriber.transcribe(
+            new RecognizeOptions.Builder()
+                .audio(new ByteArrayInputStream(wav(pcm(5000))))
+                .build());
+
+    assertEquals(results.getResults().size(), 5);
+    assertEquals(server.getRequestCount(), 6);
+    List<Double> starts = new ArrayList<>();
+    for (SpeechRecognitionResult result : results.getResults()) {
+      starts.add(result.getAlternatives().get(0).getTimestamps().get(0).getStartTime());
+    }
+    assertEquals(starts, Arrays.asList(0.5, 1.5, 2.5, 3.5, 4.5));
+  }
+
+  /** Tests that a segment that cannot be recognized fails the transcription. */
+  @Test(expectedExceptions = BadRequestException.class)
+  public void testTranscribeFailsOnClientError() throws Exception {
+    server.enqueue(
+        new MockResponse()
+            .setResponseCode(400)
+            .setHeader("Content-type", "application/json")
+            .setBody("{\"error\": \"Bad audio\", \"code\": 400}"));
+
+    new LongAudioTranscriber.Builder(service)
+        .maxRetries(0)
+        .build()
+        .transcribe(
+            new RecognizeOptions.Builder()
+                .audio(new ByteArrayInputStream(pcm(500)))
+                .contentType(L16)
+                .build());
+  }
+
+  /** Tests that audio that cannot be split is rejected. */
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testTranscribeRejectsOtherFormats() throws Exception {
+    new LongAudioTranscriber.Builder(service)
+        .build()
+        .transcribe(
+            new RecognizeOptions.Builder()
+                .audio(new ByteArrayInputStream(new byte[100]))
+                .contentType("audio/mp3")
+                .build());
+  }
+}
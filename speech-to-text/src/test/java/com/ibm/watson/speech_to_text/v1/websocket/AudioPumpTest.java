@@ -0,0 +1,124 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.speech_to_text.v1.websocket;
+
+import static org.testng.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import okhttp3.Request;
+import okhttp3.WebSocket;
+import okio.Buffer;
+import okio.ByteString;
+import org.testng.annotations.Test;
+
+/** Unit tests for the {@link AudioPump}. */
+public class AudioPumpTest {
+
+  /** Records the binary frames sent over the socket. */
+  private static class RecordingWebSocket implements WebSocket {
+    private final List<ByteString> frames = new ArrayList<>();
+
+    @Override
+    public Request request() {
+      return null;
+    }
+
+    @Override
+    public long queueSize() {
+      return 0;
+    }
+
+    @Override
+    public boolean send(String text) {
+      return true;
+    }
+
+    @Override
+    public boolean send(ByteString bytes) {
+      frames.add(bytes);
+      return true;
+    }
+
+    @Override
+    public boolean close(int code, String reason) {
+      return true;
+    }
+
+    @Override
+    public void cancel() {}
+  }
+
+  /** Tests the frame size computed from the content type. */
+  @Test
+  public void testFrameSize() {
+    assertEquals(AudioPump.frameSize("audio/l16;rate=16000", 20), 640);
+    assertEquals(AudioPump.frameSize("audio/l16; rate=16000; channels=2", 100), 6400);
+    assertEquals(AudioPump.frameSize("audio/mulaw;rate=8000", 40), 320);
+    assertEquals(AudioPump.frameSize("audio/basic", 20), 160);
+    assertEquals(AudioPump.frameSize("audio/l16", 20), AudioPump.DEFAULT_FRAME_SIZE);
+    assertEquals(AudioPump.frameSize("audio/flac", 20), AudioPump.DEFAULT_FRAME_SIZE);
+    assertEquals(AudioPump.frameSize("audio/l16;rate=16000", null), AudioPump.DEFAULT_FRAME_SIZE);
+    assertEquals(AudioPump.frameSize(null, 20), AudioPump.DEFAULT_FRAME_SIZE);
+  }
+
+  /** Tests that the stream is sent in complete frames followed by the remainder. */
+  @Test
+  public void testPumpSendsFrames() throws Exception {
+    RecordingWebSocket socket = new RecordingWebSocket();
+    byte[] audio = new byte[1500];
+    for (int i = 0; i < audio.length; i++) {
+      audio[i] = (byte) i;
+    }
+
+    new AudioPump(socket, new ByteArrayInputStream(audio), "audio/l16;rate=16000", 20).pump();
+
+    assertEquals(socket.frames.size(), 3);
+    assertEquals(socket.frames.get(0).size(), 640);
+    assertEquals(socket.frames.get(1).size(), 640);
+    assertEquals(socket.frames.get(2).size(), 220);
+    Buffer sent = new Buffer();
+    for (ByteString frame : socket.frames) {
+      sent.write(frame);
+    }
+    assertEquals(sent.readByteArray(), audio);
+  }
+
+  /** Tests that the frames of a WAVE stream are sized from the byte rate in its header. */
+  @Test
+  public void testPumpSizesWaveFrames() throws Exception {
+    RecordingWebSocket socket = new RecordingWebSocket();
+    InputStream audio = new FileInputStream("src/test/resources/speech_to_text/sample1.wav");
+
+    new AudioPump(socket, audio, "audio/wav", 20).pump();
+
+    // 44.1 kHz, 16 bit, mono: 88200 bytes per second
+    assertEquals(socket.frames.get(0).size(), AudioPump.DEFAULT_FRAME_SIZE);
+    assertEquals(socket.frames.get(1).size(), 1764);
+  }
+
+  /** Tests that a stopped pump does not send any further frames. */
+  @Test
+  public void testStoppedPumpSendsNothing() throws Exception {
+    RecordingWebSocket socket = new RecordingWebSocket();
+    AudioPump pump = new AudioPump(socket, new ByteArrayInputStream(new byte[4096]), null, null);
+
+    pump.stop();
+    pump.pump();
+
+    assertEquals(socket.frames.size(), 0);
+  }
+}
@@ -0,0 +1,157 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.speech_to_text.v1.websocket;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.ibm.cloud.sdk.core.security.NoAuthAuthenticator;
+import com.ibm.watson.speech_to_text.v1.SpeechToText;
+import com.ibm.watson.speech_to_text.v1.model.RecognizeWithWebsocketsOptions;
+import com.ibm.watson.speech_to_text.v1.model.SpeechRecognitionResults;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import okhttp3.Response;
+import okhttp3.WebSocket;
+import okhttp3.WebSocketListener;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okio.ByteString;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Unit tests for the {@link RecognitionSessionPool}. */
+public class RecognitionSessionPoolTest {
+
+  private MockWebServer server;
+  private SpeechToText service;
+
+  /** Transcribes every utterance as the number of audio bytes it received. */
+  private static final class ByteCountingRecognizer extends WebSocketListener {
+    private long received;
+
+    @Override
+    public void onOpen(WebSocket webSocket, Response response) {}
+
+    @Override
+    public void onClosing(WebSocket webSocket, int code, String reason) {
+      webSocket.close(code, null);
+    }
+
+    @Override
+    public void onMessage(WebSocket webSocket, ByteString bytes) {
+      received += bytes.size();
+    }
+
+    @Override
+    public void onMessage(WebSocket webSocket, String text) {
+      JsonObject json = JsonParser.parseString(text).getAsJsonObject();
+      String action = json.get("action").getAsString();
+      if ("stop".equals(action)) {
+        webSocket.send(
+            "{\"result_index\": 0, \"results\": [{\"final\": true, \"alternatives\": "
+                + "[{\"transcript\": \""
+                + received
+                + "\"}]}]}");
+        received = 0;
+      }
+      webSocket.send("{\"state\": \"listening\"}");
+    }
+  }
+
+  /** Records the transcript of one utterance. */
+  private static final class TranscriptCallback extends BaseRecognizeCallback {
+    private final CountDownLatch completed = new CountDownLatch(1);
+    private volatile String transcript;
+
+    @Override
+    public void onTranscription(SpeechRecognitionResults speechResults) {
+      transcript = speechResults.getResults().get(0).getAlternatives().get(0).getTranscript();
+    }
+
+    @Override
+    public void onTranscriptionComplete() {
+      completed.countDown();
+    }
+  }
+
+  @BeforeMethod
+  public void beforeEachTest() throws IOException {
+    server = new MockWebServer();
+    server.start();
+    service = new SpeechToText(new NoAuthAuthenticator());
+    service.setServiceUrl(server.url("/").toString());
+  }
+
+  @AfterMethod
+  public void afterEachTest() throws IOException {
+    server.shutdown();
+  }
+
+  private static RecognizeWithWebsocketsOptions options(int audioBytes) {
+    return new RecognizeWithWebsocketsOptions.Builder()
+        .audio(new ByteArrayInputStream(new byte[audioBytes]))
+        .contentType("audio/l16;rate=16000")
+        .model("en-US_Telephony")
+        .build();
+  }
+
+  /** Tests that successive recognitions reuse one connection. */
+  @Test
+  public void testRecognitionsShareConnection() throws InterruptedException {
+    server.enqueue(new MockResponse().withWebSocketUpgrade(new ByteCountingRecognizer()));
+    RecognitionSessionPool pool = new RecognitionSessionPool(service);
+
+    TranscriptCallback first = new TranscriptCallback();
+    WebSocket firstSocket = pool.recognizeUsingWebSocket(options(3000), first);
+    assertTrue(first.completed.await(10, TimeUnit.SECONDS));
+    assertEquals(first.transcript, "3000");
+    assertEquals(pool.idleCount(), 1);
+
+    TranscriptCallback second = new TranscriptCallback();
+    WebSocket secondSocket = pool.recognizeUsingWebSocket(options(500), second);
+    assertTrue(second.completed.await(10, TimeUnit.SECONDS));
+    assertEquals(second.transcript, "500");
+
+    assertTrue(firstSocket == secondSocket);
+    assertEquals(server.getRequestCount(), 1);
+
+    pool.close();
+    assertEquals(pool.idleCount(), 0);
+  }
+
+  /** Tests that idle connections past the idle timeout are not reused. */
+  @Test
+  public void testExpiredConnectionIsReplaced() throws InterruptedException {
+    server.enqueue(new MockResponse().withWebSocketUpgrade(new ByteCountingRecognizer()));
+    server.enqueue(new MockResponse().withWebSocketUpgrade(new ByteCountingRecognizer()));
+    RecognitionSessionPool pool = new RecognitionSessionPool(service, 1, 0, TimeUnit.MILLISECONDS);
+
+    TranscriptCallback first = new TranscriptCallback();
+    pool.recognizeUsingWebSocket(options(100), first);
+    assertTrue(first.completed.await(10, TimeUnit.SECONDS));
+
+    TranscriptCallback second = new TranscriptCallback();
+    pool.recognizeUsingWebSocket(options(200), second);
+    assertTrue(second.completed.await(10, TimeUnit.SECONDS));
+    assertEquals(second.transcript, "200");
+    assertEquals(server.getRequestCount(), 2);
+
+    pool.close();
+  }
+}
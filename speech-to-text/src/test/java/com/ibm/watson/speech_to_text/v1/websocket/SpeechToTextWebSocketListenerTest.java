@@ -0,0 +1,130 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.speech_to_text.v1.websocket;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+
+import com.ibm.watson.speech_to_text.v1.model.RecognizeWithWebsocketsOptions;
+import com.ibm.watson.speech_to_text.v1.model.SpeechRecognitionResults;
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Unit tests for the message dispatch of the {@link SpeechToTextWebSocketListener}. */
+public class SpeechToTextWebSocketListenerTest {
+
+  private final List<String> events = new ArrayList<>();
+  private final List<SpeechRecognitionResults> results = new ArrayList<>();
+  private SpeechToTextWebSocketListener listener;
+
+  /** Records the events of the listener in order. */
+  private final class RecordingCallback extends BaseRecognizeCallback {
+    @Override
+    public void onTranscription(SpeechRecognitionResults speechResults) {
+      events.add("transcription");
+      results.add(speechResults);
+    }
+
+    @Override
+    public void onError(Exception e) {
+      events.add("error: " + e.getMessage());
+    }
+
+    @Override
+    public void onInactivityTimeout(RuntimeException runtimeException) {
+      events.add("timeout: " + runtimeException.getMessage());
+    }
+
+    @Override
+    public void onListening() {
+      events.add("listening");
+    }
+
+    @Override
+    public void onTranscriptionComplete() {
+      events.add("complete");
+    }
+  }
+
+  @BeforeMethod
+  public void beforeEachTest() {
+    events.clear();
+    results.clear();
+    RecognizeWithWebsocketsOptions options =
+        new RecognizeWithWebsocketsOptions.Builder()
+            .audio(new ByteArrayInputStream(new byte[0]))
+            .contentType("audio/l16;rate=16000")
+            .build();
+    Executor executor =
+        new Executor() {
+          @Override
+          public void execute(Runnable command) {}
+        };
+    listener =
+        new SpeechToTextWebSocketListener(
+            options,
+            new RecordingCallback(),
+            executor,
+            new Runnable() {
+              @Override
+              public void run() {}
+            });
+  }
+
+  /** Tests that results are deserialized whatever their first key. */
+  @Test
+  public void testResults() {
+    listener.onMessage(
+        null,
+        "{\"result_index\": 1, \"results\": [{\"final\": false, \"alternatives\": "
+            + "[{\"transcript\": \"hello\"}]}]}");
+    listener.onMessage(
+        null, "{\"speaker_labels\": [{\"from\": 0.5, \"to\": 1.0, \"speaker\": 2}]}");
+    listener.onMessage(null, "{\"audio_metrics\": {\"sampling_interval\": 0.1}}");
+
+    assertEquals(events.size(), 3);
+    assertEquals(results.get(0).getResultIndex(), Long.valueOf(1));
+    assertEquals(
+        results.get(0).getResults().get(0).getAlternatives().get(0).getTranscript(), "hello");
+    assertEquals(results.get(1).getSpeakerLabels().get(0).getSpeaker(), Long.valueOf(2));
+    assertNotNull(results.get(2).getAudioMetrics());
+  }
+
+  /** Tests that errors and inactivity timeouts are told apart. */
+  @Test
+  public void testErrors() {
+    listener.onMessage(null, "{\"error\": \"No speech detected for 30s.\"}");
+    listener.onMessage(null, "{\"error\": \"Model not found\", \"code\": 404}");
+    listener.onMessage(null, "{\"code\": 400, \"error\": \"Invalid request\"}");
+
+    assertEquals(events.get(0), "timeout: No speech detected for 30s.");
+    assertEquals(events.get(1), "error: Model not found");
+    assertEquals(events.get(2), "error: Invalid request");
+  }
+
+  /** Tests that the second listening state completes the transcription. */
+  @Test
+  public void testStates() {
+    listener.onMessage(null, "{\"state\": \"listening\"}");
+    listener.onMessage(null, "{\"warnings\": [\"Unknown arguments: foo.\"]}");
+    listener.onMessage(null, "{\"state\": \"listening\"}");
+
+    assertEquals(events.size(), 2);
+    assertEquals(events.get(0), "listening");
+    assertEquals(events.get(1), "complete");
+  }
+}
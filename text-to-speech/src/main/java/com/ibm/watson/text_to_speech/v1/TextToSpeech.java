@@ -17,7 +17,6 @@
 
 package com.ibm.watson.text_to_speech.v1;
 
-import com.google.gson.JsonObject;
 import com.ibm.cloud.sdk.core.http.RequestBuilder;
 import com.ibm.cloud.sdk.core.http.ResponseConverter;
 import com.ibm.cloud.sdk.core.http.ServiceCall;
@@ -26,7 +25,10 @@ import com.ibm.cloud.sdk.core.security.ConfigBasedAuthenticatorFactory;
 import com.ibm.cloud.sdk.core.service.BaseService;
 import com.ibm.cloud.sdk.core.util.RequestUtils;
 import com.ibm.cloud.sdk.core.util.ResponseConverterUtils;
+import com.ibm.watson.common.JsonRequestBody;
 import com.ibm.watson.common.SdkCommon;
+import com.ibm.watson.common.WebSocketExecutors;
+import com.ibm.watson.text_to_speech.v1.cache.SynthesisCache;
 import com.ibm.watson.text_to_speech.v1.model.AddCustomPromptOptions;
 import com.ibm.watson.text_to_speech.v1.model.AddWordOptions;
 import com.ibm.watson.text_to_speech.v1.model.AddWordsOptions;
@@ -62,12 +64,13 @@ import com.ibm.watson.text_to_speech.v1.model.UpdateCustomModelOptions;
 import com.ibm.watson.text_to_speech.v1.model.Voice;
 import com.ibm.watson.text_to_speech.v1.model.Voices;
 import com.ibm.watson.text_to_speech.v1.model.Words;
+import com.ibm.watson.text_to_speech.v1.websocket.SynthesisStream;
 import com.ibm.watson.text_to_speech.v1.websocket.SynthesizeCallback;
 import com.ibm.watson.text_to_speech.v1.websocket.TextToSpeechWebSocketListener;
 import java.io.InputStream;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.concurrent.Executor;
 import okhttp3.HttpUrl;
 import okhttp3.MultipartBody;
 import okhttp3.OkHttpClient;
@@ -108,6 +111,11 @@ public class TextToSpeech extends BaseService {
   public static final String DEFAULT_SERVICE_URL =
       "https://api.us-south.text-to-speech.watson.cloud.ibm.com";
 
+  private static final String TEXT_TO_WEB_SOCKET = "TextToWebSocketThread";
+
+  private Executor webSocketExecutor;
+  private SynthesisCache synthesisCache;
+
   /**
    * Constructs an instance of the `TextToSpeech` client. The default service name is used to
    * configure the client instance.
@@ -151,6 +159,46 @@ public class TextToSpeech extends BaseService {
     this.configureService(serviceName);
   }
 
+  /**
+   * Sets the executor that runs the tasks sending text over WebSocket connections for {@link
+   * #synthesizeStreamUsingWebSocket(SynthesizeOptions, SynthesizeCallback)}. Each task runs for as
+   * long as its stream has text to synthesize. By default a new platform thread is started for each
+   * stream; see {@link WebSocketExecutors} for virtual-thread and bounded executors.
+   *
+   * @param webSocketExecutor the executor, or null to start a thread for each stream
+   */
+  public void setWebSocketExecutor(Executor webSocketExecutor) {
+    this.webSocketExecutor = webSocketExecutor;
+  }
+
+  /**
+   * Gets the executor that runs the tasks sending text over WebSocket connections.
+   *
+   * @return the executor, or null if a thread is started for each stream
+   */
+  public Executor getWebSocketExecutor() {
+    return webSocketExecutor;
+  }
+
+  /**
+   * Sets the cache that answers {@link #synthesize(SynthesizeOptions)} for text that has been
+   * synthesized before with the same options. By default audio is not cached.
+   *
+   * @param synthesisCache the cache, or null to always call the service
+   */
+  public void setSynthesisCache(SynthesisCache synthesisCache) {
+    this.synthesisCache = synthesisCache;
+  }
+
+  /**
+   * Gets the cache that answers {@link #synthesize(SynthesizeOptions)}.
+   *
+   * @return the cache, or null if audio is not cached
+   */
+  public SynthesisCache getSynthesisCache() {
+    return synthesisCache;
+  }
+
   /**
    * Synthesize audio.
    *
@@ -198,6 +246,32 @@ public class TextToSpeech extends BaseService {
         builder.build(), new TextToSpeechWebSocketListener(synthesizeOptions, callback));
   }
 
+  /**
+   * Synthesize audio incrementally.
+   *
+   * <p>Opens a {@link SynthesisStream} that accepts text in fragments, for example tokens generated
+   * by a language model, and synthesizes every sentence over a WebSocket connection as soon as it
+   * is complete. The audio of all sentences is delivered in order to the callback, so the first
+   * audio arrives before the whole text is known. The text of the options, if not empty, is
+   * synthesized first; the other options apply to every sentence.
+   *
+   * @param synthesizeOptions the {@link SynthesizeOptions} used for every sentence
+   * @param callback the {@link SynthesizeCallback} callback
+   * @return the {@link SynthesisStream} to append text to, and to close when the text is complete
+   */
+  public SynthesisStream synthesizeStreamUsingWebSocket(
+      SynthesizeOptions synthesizeOptions, SynthesizeCallback callback) {
+    com.ibm.cloud.sdk.core.util.Validator.notNull(
+        synthesizeOptions, "synthesizeOptions cannot be null");
+    com.ibm.cloud.sdk.core.util.Validator.notNull(callback, "callback cannot be null");
+
+    Executor executor =
+        webSocketExecutor != null
+            ? webSocketExecutor
+            : WebSocketExecutors.newThreadPerTaskExecutor(TEXT_TO_WEB_SOCKET);
+    return new SynthesisStream(this, synthesizeOptions, callback, executor);
+  }
+
   /**
    * List voices.
    *
@@ -215,10 +289,7 @@ public class TextToSpeech extends BaseService {
   public ServiceCall<Voices> listVoices(ListVoicesOptions listVoicesOptions) {
     RequestBuilder builder =
         RequestBuilder.get(RequestBuilder.resolveRequestUrl(getServiceUrl(), "/v1/voices"));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("text_to_speech", "v1", "listVoices");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "text_to_speech", "v1", "listVoices");
     builder.header("Accept", "application/json");
     ResponseConverter<Voices> responseConverter =
         ResponseConverterUtils.getValue(
@@ -265,10 +336,7 @@ public class TextToSpeech extends BaseService {
     RequestBuilder builder =
         RequestBuilder.get(
             RequestBuilder.resolveRequestUrl(getServiceUrl(), "/v1/voices/{voice}", pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("text_to_speech", "v1", "getVoice");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "text_to_speech", "v1", "getVoice");
     builder.header("Accept", "application/json");
     if (getVoiceOptions.customizationId() != null) {
       builder.query("customization_id", String.valueOf(getVoiceOptions.customizationId()));
@@ -353,10 +421,7 @@ public class TextToSpeech extends BaseService {
         synthesizeOptions, "synthesizeOptions cannot be null");
     RequestBuilder builder =
         RequestBuilder.post(RequestBuilder.resolveRequestUrl(getServiceUrl(), "/v1/synthesize"));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("text_to_speech", "v1", "synthesize");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "text_to_speech", "v1", "synthesize");
     if (synthesizeOptions.accept() != null) {
       builder.header("Accept", synthesizeOptions.accept());
     }
@@ -375,11 +440,16 @@ public class TextToSpeech extends BaseService {
     if (synthesizeOptions.pitchPercentage() != null) {
       builder.query("pitch_percentage", String.valueOf(synthesizeOptions.pitchPercentage()));
     }
-    final JsonObject contentJson = new JsonObject();
+    final JsonRequestBody contentJson = new JsonRequestBody();
     contentJson.addProperty("text", synthesizeOptions.text());
-    builder.bodyJson(contentJson);
+    builder.body(contentJson);
     ResponseConverter<InputStream> responseConverter = ResponseConverterUtils.getInputStream();
-    return createServiceCall(builder.build(), responseConverter);
+    Request request = builder.build();
+    ServiceCall<InputStream> call = createServiceCall(request, responseConverter);
+    if (synthesisCache != null) {
+      return synthesisCache.cachedCall(synthesizeOptions, request, call);
+    }
+    return call;
   }
 
   /**
@@ -403,11 +473,7 @@ public class TextToSpeech extends BaseService {
         getPronunciationOptions, "getPronunciationOptions cannot be null");
     RequestBuilder builder =
         RequestBuilder.get(RequestBuilder.resolveRequestUrl(getServiceUrl(), "/v1/pronunciation"));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("text_to_speech", "v1", "getPronunciation");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "text_to_speech", "v1", "getPronunciation");
     builder.header("Accept", "application/json");
     builder.query("text", String.valueOf(getPronunciationOptions.text()));
     if (getPronunciationOptions.voice() != null) {
@@ -446,13 +512,9 @@ public class TextToSpeech extends BaseService {
     RequestBuilder builder =
         RequestBuilder.post(
             RequestBuilder.resolveRequestUrl(getServiceUrl(), "/v1/customizations"));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("text_to_speech", "v1", "createCustomModel");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "text_to_speech", "v1", "createCustomModel");
     builder.header("Accept", "application/json");
-    final JsonObject contentJson = new JsonObject();
+    final JsonRequestBody contentJson = new JsonRequestBody();
     contentJson.addProperty("name", createCustomModelOptions.name());
     if (createCustomModelOptions.language() != null) {
       contentJson.addProperty("language", createCustomModelOptions.language());
@@ -460,7 +522,7 @@ public class TextToSpeech extends BaseService {
     if (createCustomModelOptions.description() != null) {
       contentJson.addProperty("description", createCustomModelOptions.description());
     }
-    builder.bodyJson(contentJson);
+    builder.body(contentJson);
     ResponseConverter<CustomModel> responseConverter =
         ResponseConverterUtils.getValue(
             new com.google.gson.reflect.TypeToken<CustomModel>() {}.getType());
@@ -490,11 +552,7 @@ public class TextToSpeech extends BaseService {
     }
     RequestBuilder builder =
         RequestBuilder.get(RequestBuilder.resolveRequestUrl(getServiceUrl(), "/v1/customizations"));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("text_to_speech", "v1", "listCustomModels");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "text_to_speech", "v1", "listCustomModels");
     builder.header("Accept", "application/json");
     if (listCustomModelsOptions.language() != null) {
       builder.query("language", String.valueOf(listCustomModelsOptions.language()));
@@ -566,13 +624,9 @@ public class TextToSpeech extends BaseService {
         RequestBuilder.post(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v1/customizations/{customization_id}", pathParamsMap));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("text_to_speech", "v1", "updateCustomModel");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "text_to_speech", "v1", "updateCustomModel");
     builder.header("Accept", "application/json");
-    final JsonObject contentJson = new JsonObject();
+    final JsonRequestBody contentJson = new JsonRequestBody();
     if (updateCustomModelOptions.name() != null) {
       contentJson.addProperty("name", updateCustomModelOptions.name());
     }
@@ -580,12 +634,9 @@ public class TextToSpeech extends BaseService {
       contentJson.addProperty("description", updateCustomModelOptions.description());
     }
     if (updateCustomModelOptions.words() != null) {
-      contentJson.add(
-          "words",
-          com.ibm.cloud.sdk.core.util.GsonSingleton.getGson()
-              .toJsonTree(updateCustomModelOptions.words()));
+      contentJson.add("words", updateCustomModelOptions.words());
     }
-    builder.bodyJson(contentJson);
+    builder.body(contentJson);
     ResponseConverter<Void> responseConverter = ResponseConverterUtils.getVoid();
     return createServiceCall(builder.build(), responseConverter);
   }
@@ -614,11 +665,7 @@ public class TextToSpeech extends BaseService {
         RequestBuilder.get(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v1/customizations/{customization_id}", pathParamsMap));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("text_to_speech", "v1", "getCustomModel");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "text_to_speech", "v1", "getCustomModel");
     builder.header("Accept", "application/json");
     ResponseConverter<CustomModel> responseConverter =
         ResponseConverterUtils.getValue(
@@ -648,11 +695,7 @@ public class TextToSpeech extends BaseService {
         RequestBuilder.delete(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v1/customizations/{customization_id}", pathParamsMap));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("text_to_speech", "v1", "deleteCustomModel");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "text_to_speech", "v1", "deleteCustomModel");
     ResponseConverter<Void> responseConverter = ResponseConverterUtils.getVoid();
     return createServiceCall(builder.build(), responseConverter);
   }
@@ -697,16 +740,11 @@ public class TextToSpeech extends BaseService {
         RequestBuilder.post(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v1/customizations/{customization_id}/words", pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("text_to_speech", "v1", "addWords");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "text_to_speech", "v1", "addWords");
     builder.header("Accept", "application/json");
-    final JsonObject contentJson = new JsonObject();
-    contentJson.add(
-        "words",
-        com.ibm.cloud.sdk.core.util.GsonSingleton.getGson().toJsonTree(addWordsOptions.words()));
-    builder.bodyJson(contentJson);
+    final JsonRequestBody contentJson = new JsonRequestBody();
+    contentJson.add("words", addWordsOptions.words());
+    builder.body(contentJson);
     ResponseConverter<Void> responseConverter = ResponseConverterUtils.getVoid();
     return createServiceCall(builder.build(), responseConverter);
   }
@@ -733,10 +771,7 @@ public class TextToSpeech extends BaseService {
         RequestBuilder.get(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v1/customizations/{customization_id}/words", pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("text_to_speech", "v1", "listWords");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "text_to_speech", "v1", "listWords");
     builder.header("Accept", "application/json");
     ResponseConverter<Words> responseConverter =
         ResponseConverterUtils.getValue(
@@ -786,16 +821,13 @@ public class TextToSpeech extends BaseService {
                 getServiceUrl(),
                 "/v1/customizations/{customization_id}/words/{word}",
                 pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("text_to_speech", "v1", "addWord");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
-    final JsonObject contentJson = new JsonObject();
+    SdkCommon.addSdkHeaders(builder, "text_to_speech", "v1", "addWord");
+    final JsonRequestBody contentJson = new JsonRequestBody();
     contentJson.addProperty("translation", addWordOptions.translation());
     if (addWordOptions.partOfSpeech() != null) {
       contentJson.addProperty("part_of_speech", addWordOptions.partOfSpeech());
     }
-    builder.bodyJson(contentJson);
+    builder.body(contentJson);
     ResponseConverter<Void> responseConverter = ResponseConverterUtils.getVoid();
     return createServiceCall(builder.build(), responseConverter);
   }
@@ -824,10 +856,7 @@ public class TextToSpeech extends BaseService {
                 getServiceUrl(),
                 "/v1/customizations/{customization_id}/words/{word}",
                 pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("text_to_speech", "v1", "getWord");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "text_to_speech", "v1", "getWord");
     builder.header("Accept", "application/json");
     ResponseConverter<Translation> responseConverter =
         ResponseConverterUtils.getValue(
@@ -859,10 +888,7 @@ public class TextToSpeech extends BaseService {
                 getServiceUrl(),
                 "/v1/customizations/{customization_id}/words/{word}",
                 pathParamsMap));
-    Map<String, String> sdkHeaders = SdkCommon.getSdkHeaders("text_to_speech", "v1", "deleteWord");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "text_to_speech", "v1", "deleteWord");
     ResponseConverter<Void> responseConverter = ResponseConverterUtils.getVoid();
     return createServiceCall(builder.build(), responseConverter);
   }
@@ -894,11 +920,7 @@ public class TextToSpeech extends BaseService {
         RequestBuilder.get(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v1/customizations/{customization_id}/prompts", pathParamsMap));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("text_to_speech", "v1", "listCustomPrompts");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "text_to_speech", "v1", "listCustomPrompts");
     builder.header("Accept", "application/json");
     ResponseConverter<Prompts> responseConverter =
         ResponseConverterUtils.getValue(
@@ -996,11 +1018,7 @@ public class TextToSpeech extends BaseService {
                 getServiceUrl(),
                 "/v1/customizations/{customization_id}/prompts/{prompt_id}",
                 pathParamsMap));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("text_to_speech", "v1", "addCustomPrompt");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "text_to_speech", "v1", "addCustomPrompt");
     builder.header("Accept", "application/json");
     MultipartBody.Builder multipartBuilder = new MultipartBody.Builder();
     multipartBuilder.setType(MultipartBody.FORM);
@@ -1043,11 +1061,7 @@ public class TextToSpeech extends BaseService {
                 getServiceUrl(),
                 "/v1/customizations/{customization_id}/prompts/{prompt_id}",
                 pathParamsMap));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("text_to_speech", "v1", "getCustomPrompt");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "text_to_speech", "v1", "getCustomPrompt");
     builder.header("Accept", "application/json");
     ResponseConverter<Prompt> responseConverter =
         ResponseConverterUtils.getValue(
@@ -1086,11 +1100,7 @@ public class TextToSpeech extends BaseService {
                 getServiceUrl(),
                 "/v1/customizations/{customization_id}/prompts/{prompt_id}",
                 pathParamsMap));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("text_to_speech", "v1", "deleteCustomPrompt");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "text_to_speech", "v1", "deleteCustomPrompt");
     ResponseConverter<Void> responseConverter = ResponseConverterUtils.getVoid();
     return createServiceCall(builder.build(), responseConverter);
   }
@@ -1115,11 +1125,7 @@ public class TextToSpeech extends BaseService {
       ListSpeakerModelsOptions listSpeakerModelsOptions) {
     RequestBuilder builder =
         RequestBuilder.get(RequestBuilder.resolveRequestUrl(getServiceUrl(), "/v1/speakers"));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("text_to_speech", "v1", "listSpeakerModels");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "text_to_speech", "v1", "listSpeakerModels");
     builder.header("Accept", "application/json");
     ResponseConverter<Speakers> responseConverter =
         ResponseConverterUtils.getValue(
@@ -1200,11 +1206,7 @@ public class TextToSpeech extends BaseService {
         createSpeakerModelOptions, "createSpeakerModelOptions cannot be null");
     RequestBuilder builder =
         RequestBuilder.post(RequestBuilder.resolveRequestUrl(getServiceUrl(), "/v1/speakers"));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("text_to_speech", "v1", "createSpeakerModel");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "text_to_speech", "v1", "createSpeakerModel");
     builder.header("Accept", "application/json");
     builder.query("speaker_name", String.valueOf(createSpeakerModelOptions.speakerName()));
     builder.bodyContent(createSpeakerModelOptions.audio(), "audio/wav");
@@ -1242,11 +1244,7 @@ public class TextToSpeech extends BaseService {
         RequestBuilder.get(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v1/speakers/{speaker_id}", pathParamsMap));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("text_to_speech", "v1", "getSpeakerModel");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "text_to_speech", "v1", "getSpeakerModel");
     builder.header("Accept", "application/json");
     ResponseConverter<SpeakerCustomModels> responseConverter =
         ResponseConverterUtils.getValue(
@@ -1284,11 +1282,7 @@ public class TextToSpeech extends BaseService {
         RequestBuilder.delete(
             RequestBuilder.resolveRequestUrl(
                 getServiceUrl(), "/v1/speakers/{speaker_id}", pathParamsMap));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("text_to_speech", "v1", "deleteSpeakerModel");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "text_to_speech", "v1", "deleteSpeakerModel");
     ResponseConverter<Void> responseConverter = ResponseConverterUtils.getVoid();
     return createServiceCall(builder.build(), responseConverter);
   }
@@ -1319,11 +1313,7 @@ public class TextToSpeech extends BaseService {
         deleteUserDataOptions, "deleteUserDataOptions cannot be null");
     RequestBuilder builder =
         RequestBuilder.delete(RequestBuilder.resolveRequestUrl(getServiceUrl(), "/v1/user_data"));
-    Map<String, String> sdkHeaders =
-        SdkCommon.getSdkHeaders("text_to_speech", "v1", "deleteUserData");
-    for (Entry<String, String> header : sdkHeaders.entrySet()) {
-      builder.header(header.getKey(), header.getValue());
-    }
+    SdkCommon.addSdkHeaders(builder, "text_to_speech", "v1", "deleteUserData");
     builder.query("customer_id", String.valueOf(deleteUserDataOptions.customerId()));
     ResponseConverter<Void> responseConverter = ResponseConverterUtils.getVoid();
     return createServiceCall(builder.build(), responseConverter);
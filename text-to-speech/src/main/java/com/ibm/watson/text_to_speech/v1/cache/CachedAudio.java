@@ -0,0 +1,115 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.text_to_speech.v1.cache;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/** Synthesized audio held by the cache, in memory or in a memory-mapped file. */
+final class CachedAudio {
+
+  private final String contentType;
+  private final ByteBuffer audio;
+  private final long synthesizedMillis;
+
+  CachedAudio(String contentType, ByteBuffer audio, long synthesizedMillis) {
+    this.contentType = contentType;
+    this.audio = audio.asReadOnlyBuffer();
+    this.synthesizedMillis = synthesizedMillis;
+  }
+
+  /**
+   * Gets the content type returned by the service.
+   *
+   * @return the content type, or null if the service did not return one
+   */
+  String contentType() {
+    return contentType;
+  }
+
+  /**
+   * Gets the time the audio was received from the service.
+   *
+   * @return the time in milliseconds since the epoch
+   */
+  long synthesizedMillis() {
+    return synthesizedMillis;
+  }
+
+  /**
+   * Gets the size of the audio.
+   *
+   * @return the number of bytes
+   */
+  int size() {
+    return audio.remaining();
+  }
+
+  /**
+   * Gets a buffer over the audio, with its own position.
+   *
+   * @return the read-only buffer
+   */
+  ByteBuffer buffer() {
+    return audio.duplicate();
+  }
+
+  /**
+   * Opens a stream over the audio. Streams are independent, so the same audio can be read by
+   * several callers at the same time.
+   *
+   * @return the stream
+   */
+  InputStream openStream() {
+    return new ByteBufferInputStream(buffer());
+  }
+
+  /** Reads a buffer without copying it. */
+  private static final class ByteBufferInputStream extends InputStream {
+    private final ByteBuffer buffer;
+
+    ByteBufferInputStream(ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    @Override
+    public int read() {
+      return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+      if (len == 0) {
+        return 0;
+      }
+      if (!buffer.hasRemaining()) {
+        return -1;
+      }
+      int count = Math.min(len, buffer.remaining());
+      buffer.get(b, off, count);
+      return count;
+    }
+
+    @Override
+    public long skip(long n) {
+      int count = (int) Math.max(0, Math.min(n, buffer.remaining()));
+      buffer.position(buffer.position() + count);
+      return count;
+    }
+
+    @Override
+    public int available() {
+      return buffer.remaining();
+    }
+  }
+}
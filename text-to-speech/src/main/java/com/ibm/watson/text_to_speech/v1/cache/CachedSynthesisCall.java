@@ -0,0 +1,177 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.text_to_speech.v1.cache;
+
+import com.ibm.cloud.sdk.core.http.Response;
+import com.ibm.cloud.sdk.core.http.ServiceCall;
+import com.ibm.cloud.sdk.core.http.ServiceCallback;
+import io.reactivex.Single;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.BiConsumer;
+import okhttp3.Protocol;
+import okhttp3.Request;
+
+/**
+ * A call synthesizing audio that is answered from a {@link SynthesisCache}, and only calls the
+ * service when the audio is neither cached nor being loaded by an identical call.
+ *
+ * <p>Cancelling the call stops the delivery of its response and cancels its call to the service,
+ * if it sent one. Identical calls waiting for the audio of that call then fail too, and the next
+ * request calls the service again.
+ */
+final class CachedSynthesisCall implements ServiceCall<InputStream> {
+
+  private final SynthesisCache cache;
+  private final String key;
+  private final Request request;
+  private final ServiceCall<InputStream> call;
+  private volatile boolean cancelled;
+
+  CachedSynthesisCall(
+      SynthesisCache cache, String key, Request request, ServiceCall<InputStream> call) {
+    this.cache = cache;
+    this.key = key;
+    this.request = request;
+    this.call = call;
+  }
+
+  @Override
+  public ServiceCall<InputStream> addHeader(String name, String value) {
+    call.addHeader(name, value);
+    return this;
+  }
+
+  @Override
+  public Response<InputStream> execute() throws RuntimeException {
+    CachedAudio audio = cache.lookup(key);
+    if (audio == null) {
+      CompletableFuture<CachedAudio> load = new CompletableFuture<>();
+      CompletableFuture<CachedAudio> inFlight = cache.register(key, load);
+      if (inFlight != null) {
+        audio = await(inFlight);
+      } else {
+        try {
+          audio = cache.complete(key, load, call.execute());
+        } catch (IOException e) {
+          cache.fail(key, load, e);
+          throw new RuntimeException(e);
+        } catch (RuntimeException e) {
+          cache.fail(key, load, e);
+          throw e;
+        }
+      }
+    }
+    return response(audio);
+  }
+
+  @Override
+  public void enqueue(final ServiceCallback<InputStream> callback) {
+    CachedAudio audio = cache.lookup(key);
+    if (audio != null) {
+      callback.onResponse(response(audio));
+      return;
+    }
+    final CompletableFuture<CachedAudio> load = new CompletableFuture<>();
+    CompletableFuture<CachedAudio> inFlight = cache.register(key, load);
+    (inFlight != null ? inFlight : load)
+        .whenComplete(
+            new BiConsumer<CachedAudio, Throwable>() {
+              @Override
+              public void accept(CachedAudio audio, Throwable failure) {
+                if (cancelled) {
+                  return;
+                }
+                if (failure != null) {
+                  callback.onFailure(toException(failure));
+                } else {
+                  callback.onResponse(response(audio));
+                }
+              }
+            });
+    if (inFlight == null) {
+      call.enqueue(
+          new ServiceCallback<InputStream>() {
+            @Override
+            public void onResponse(Response<InputStream> response) {
+              try {
+                cache.complete(key, load, response);
+              } catch (IOException e) {
+                cache.fail(key, load, e);
+              }
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+              cache.fail(key, load, e);
+            }
+          });
+    }
+  }
+
+  @Override
+  public Single<Response<InputStream>> reactiveRequest() {
+    return Single.fromCallable(
+        new Callable<Response<InputStream>>() {
+          @Override
+          public Response<InputStream> call() {
+            return execute();
+          }
+        });
+  }
+
+  @Override
+  public void cancel() {
+    cancelled = true;
+    call.cancel();
+  }
+
+  private Response<InputStream> response(CachedAudio audio) {
+    okhttp3.Response.Builder response =
+        new okhttp3.Response.Builder()
+            .request(request)
+            .protocol(Protocol.HTTP_1_1)
+            .code(200)
+            .message("OK")
+            .header("Content-Length", String.valueOf(audio.size()));
+    if (audio.contentType() != null) {
+      response.header("Content-Type", audio.contentType());
+    }
+    return new Response<>(audio.openStream(), response.build());
+  }
+
+  private static CachedAudio await(CompletableFuture<CachedAudio> load) {
+    try {
+      return load.get();
+    } catch (ExecutionException e) {
+      Exception failure = toException(e.getCause());
+      throw failure instanceof RuntimeException
+          ? (RuntimeException) failure
+          : new RuntimeException(failure);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    }
+  }
+
+  private static Exception toException(Throwable failure) {
+    if (failure instanceof CompletionException && failure.getCause() != null) {
+      failure = failure.getCause();
+    }
+    return failure instanceof Exception ? (Exception) failure : new RuntimeException(failure);
+  }
+}
@@ -0,0 +1,259 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.text_to_speech.v1.cache;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Keeps synthesized audio in files of a directory, one file per entry, and evicts the least
+ * recently used files when their total size exceeds a limit.
+ *
+ * <p>Each file holds the length of the content type, the content type in UTF-8 and the audio.
+ * Entries are read by mapping the file into memory, so the audio is paged in by the operating
+ * system as it is read and is not copied to the heap. Files are written under a temporary name
+ * and renamed, so a reader never sees a partial file. The entries found in the directory when the
+ * tier is created are reused, oldest first in the eviction order, and the time their files were
+ * last modified is the time their audio was synthesized.
+ */
+final class DiskTier {
+  private static final Logger LOG = Logger.getLogger(DiskTier.class.getName());
+  private static final String SUFFIX = ".audio";
+  private static final int NO_CONTENT_TYPE = -1;
+
+  private final File directory;
+  private final long maxBytes;
+  private final long ttlMillis;
+  private final LinkedHashMap<String, Entry> index = new LinkedHashMap<>(16, 0.75f, true);
+  private long bytes;
+
+  DiskTier(File directory, long maxBytes, long ttlMillis) {
+    this.directory = directory;
+    this.maxBytes = maxBytes;
+    this.ttlMillis = ttlMillis;
+    load();
+  }
+
+  private void load() {
+    File[] files =
+        directory.listFiles(
+            new FileFilter() {
+              @Override
+              public boolean accept(File file) {
+                return file.isFile() && file.getName().endsWith(SUFFIX);
+              }
+            });
+    if (files == null) {
+      return;
+    }
+    Arrays.sort(
+        files,
+        new Comparator<File>() {
+          @Override
+          public int compare(File a, File b) {
+            return Long.compare(a.lastModified(), b.lastModified());
+          }
+        });
+    for (File file : files) {
+      String name = file.getName();
+      index.put(
+          name.substring(0, name.length() - SUFFIX.length()),
+          new Entry(file.length(), file.lastModified()));
+      bytes += file.length();
+    }
+    evict();
+  }
+
+  /**
+   * Gets an entry.
+   *
+   * @param key the key of the entry
+   * @return the audio mapped from the file, or null if there is no entry, it has expired or its
+   *     file is corrupt
+   * @throws IOException if the file cannot be read
+   */
+  CachedAudio get(String key) throws IOException {
+    long synthesizedMillis;
+    synchronized (this) {
+      Entry entry = index.get(key);
+      if (entry == null) {
+        return null;
+      }
+      if (ttlMillis > 0 && System.currentTimeMillis() - entry.synthesizedMillis >= ttlMillis) {
+        remove(key);
+        return null;
+      }
+      synthesizedMillis = entry.synthesizedMillis;
+    }
+    try (FileChannel channel = FileChannel.open(file(key).toPath(), StandardOpenOption.READ)) {
+      MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      int length = mapped.getInt();
+      if (length < NO_CONTENT_TYPE || length > mapped.remaining()) {
+        // checked before the content type is allocated, which could otherwise be up to 2 GB
+        return corrupt(key, null);
+      }
+      String contentType = null;
+      if (length != NO_CONTENT_TYPE) {
+        byte[] name = new byte[length];
+        mapped.get(name);
+        contentType = new String(name, StandardCharsets.UTF_8);
+      }
+      // the mapping stays valid after the channel is closed
+      return new CachedAudio(contentType, mapped.slice(), synthesizedMillis);
+    } catch (NoSuchFileException e) {
+      // evicted since it was looked up
+      return null;
+    } catch (BufferUnderflowException e) {
+      return corrupt(key, e);
+    }
+  }
+
+  private CachedAudio corrupt(String key, Exception e) {
+    // truncated or overwritten outside the cache; the entry is synthesized again
+    LOG.log(Level.WARNING, "Corrupt cache file deleted: " + file(key), e);
+    remove(key);
+    return null;
+  }
+
+  /**
+   * Removes an entry and deletes its file.
+   *
+   * @param key the key of the entry
+   */
+  synchronized void remove(String key) {
+    Entry entry = index.remove(key);
+    if (entry != null) {
+      bytes -= entry.size;
+      delete(file(key));
+    }
+  }
+
+  /**
+   * Writes an entry, replacing any previous one, and evicts the least recently used entries.
+   *
+   * @param key the key of the entry
+   * @param audio the audio
+   * @return the number of entries evicted
+   * @throws IOException if the file cannot be written
+   */
+  int put(String key, CachedAudio audio) throws IOException {
+    byte[] contentType =
+        audio.contentType() != null ? audio.contentType().getBytes(StandardCharsets.UTF_8) : null;
+    ByteBuffer header = ByteBuffer.allocate(4 + (contentType != null ? contentType.length : 0));
+    header.putInt(contentType != null ? contentType.length : NO_CONTENT_TYPE);
+    if (contentType != null) {
+      header.put(contentType);
+    }
+    header.flip();
+    long size = header.remaining() + (long) audio.size();
+    if (size > maxBytes) {
+      return 0;
+    }
+
+    File temp = File.createTempFile(key, ".tmp", directory);
+    try {
+      try (FileChannel channel = FileChannel.open(temp.toPath(), StandardOpenOption.WRITE)) {
+        ByteBuffer body = audio.buffer();
+        while (header.hasRemaining() || body.hasRemaining()) {
+          channel.write(new ByteBuffer[] {header, body});
+        }
+      }
+      Files.move(
+          temp.toPath(),
+          file(key).toPath(),
+          StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      delete(temp);
+    }
+
+    synchronized (this) {
+      Entry previous = index.put(key, new Entry(size, audio.synthesizedMillis()));
+      if (previous != null) {
+        bytes -= previous.size;
+      }
+      bytes += size;
+      return evict();
+    }
+  }
+
+  /**
+   * Gets the total size of the entries.
+   *
+   * @return the number of bytes
+   */
+  synchronized long bytes() {
+    return bytes;
+  }
+
+  /** Removes all the entries. */
+  synchronized void clear() {
+    for (String key : index.keySet()) {
+      delete(file(key));
+    }
+    index.clear();
+    bytes = 0;
+  }
+
+  private int evict() {
+    int evicted = 0;
+    Iterator<Map.Entry<String, Entry>> eldest = index.entrySet().iterator();
+    while (bytes > maxBytes && eldest.hasNext()) {
+      Map.Entry<String, Entry> entry = eldest.next();
+      eldest.remove();
+      bytes -= entry.getValue().size;
+      // mappings of the file that are being read stay valid
+      delete(file(entry.getKey()));
+      evicted++;
+    }
+    return evicted;
+  }
+
+  private File file(String key) {
+    return new File(directory, key + SUFFIX);
+  }
+
+  private static void delete(File file) {
+    if (file.exists() && !file.delete()) {
+      LOG.log(Level.FINE, "Cache file could not be deleted: {0}", file);
+    }
+  }
+
+  /** The size of the file of an entry and the time its audio was synthesized. */
+  private static final class Entry {
+    final long size;
+    final long synthesizedMillis;
+
+    Entry(long size, long synthesizedMillis) {
+      this.size = size;
+      this.synthesizedMillis = synthesizedMillis;
+    }
+  }
+}
@@ -0,0 +1,516 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.text_to_speech.v1.cache;
+
+import com.ibm.cloud.sdk.core.http.Response;
+import com.ibm.cloud.sdk.core.http.ServiceCall;
+import com.ibm.watson.text_to_speech.v1.model.SynthesizeOptions;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import okhttp3.Request;
+
+/**
+ * A cache of synthesized audio for {@link
+ * com.ibm.watson.text_to_speech.v1.TextToSpeech#synthesize(SynthesizeOptions)}, set with {@link
+ * com.ibm.watson.text_to_speech.v1.TextToSpeech#setSynthesisCache(SynthesisCache)}.
+ *
+ * <p>Entries are keyed on a SHA-256 digest of the options that select the audio: the text, voice,
+ * custom model, accept type, rate, pitch and spell-out mode. Audio is kept in a memory tier bounded
+ * by its total size and, when a directory is configured, also written to a disk tier of files that
+ * are memory-mapped when read. Audio read from the disk tier is copied into the memory tier, so
+ * audio that is requested again is served from memory. Both tiers evict their least recently used
+ * entries first. The disk tier survives restarts. Entries expire once their time to live has
+ * passed since their audio was synthesized, if one is set; otherwise they are kept until evicted,
+ * and the audio of a custom model that has changed since can be dropped with {@link
+ * #remove(SynthesizeOptions)}.
+ *
+ * <p>Concurrent requests for the same audio share one call to the service: the first request
+ * sends it, and the others wait for its audio. Audio is read completely before it is returned, so
+ * a request that misses the cache is answered once the service has finished sending the audio.
+ * Responses from the cache carry the content type and length of the audio, but no other headers.
+ *
+ * <p>A cache is safe for use by several threads and may be shared by several clients.
+ */
+public final class SynthesisCache {
+  private static final Logger LOG = Logger.getLogger(SynthesisCache.class.getName());
+  private static final long DEFAULT_MAX_MEMORY_BYTES = 32L * 1024 * 1024;
+  private static final long DEFAULT_MAX_DISK_BYTES = 512L * 1024 * 1024;
+  private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+  private final long maxMemoryBytes;
+  private final long ttlMillis;
+  private final DiskTier disk;
+  private final LinkedHashMap<String, CachedAudio> memory = new LinkedHashMap<>(16, 0.75f, true);
+  private long memoryBytes;
+  private final ConcurrentHashMap<String, CompletableFuture<CachedAudio>> loads =
+      new ConcurrentHashMap<>();
+
+  private final AtomicLong hitCount = new AtomicLong();
+  private final AtomicLong diskHitCount = new AtomicLong();
+  private final AtomicLong missCount = new AtomicLong();
+  private final AtomicLong sharedLoadCount = new AtomicLong();
+  private final AtomicLong evictionCount = new AtomicLong();
+
+  /** Builder. */
+  public static class Builder {
+    private long maxMemoryBytes = DEFAULT_MAX_MEMORY_BYTES;
+    private File directory;
+    private long maxDiskBytes = DEFAULT_MAX_DISK_BYTES;
+    private long ttlMillis;
+
+    /** Instantiates a new builder. */
+    public Builder() {}
+
+    /**
+     * Set the maximum total size of the audio kept in memory. Defaults to 32 MB; 0 disables the
+     * memory tier.
+     *
+     * @param maxMemoryBytes the maximum number of bytes
+     * @return the SynthesisCache builder
+     */
+    public Builder maxMemoryBytes(long maxMemoryBytes) {
+      this.maxMemoryBytes = maxMemoryBytes;
+      return this;
+    }
+
+    /**
+     * Set the directory of the disk tier. The directory is created if it does not exist. By
+     * default there is no disk tier.
+     *
+     * @param directory the directory
+     * @return the SynthesisCache builder
+     */
+    public Builder directory(File directory) {
+      this.directory = directory;
+      return this;
+    }
+
+    /**
+     * Set the maximum total size of the files of the disk tier. Defaults to 512 MB.
+     *
+     * @param maxDiskBytes the maximum number of bytes
+     * @return the SynthesisCache builder
+     */
+    public Builder maxDiskBytes(long maxDiskBytes) {
+      this.maxDiskBytes = maxDiskBytes;
+      return this;
+    }
+
+    /**
+     * Set the time to live of the entries of both tiers, from when their audio was synthesized. By
+     * default entries do not expire.
+     *
+     * @param ttlMillis the time to live in milliseconds; 0 keeps entries until they are evicted
+     * @return the SynthesisCache builder
+     */
+    public Builder ttlMillis(long ttlMillis) {
+      this.ttlMillis = ttlMillis;
+      return this;
+    }
+
+    /**
+     * Builds a SynthesisCache.
+     *
+     * @return the new SynthesisCache instance
+     */
+    public SynthesisCache build() {
+      return new SynthesisCache(this);
+    }
+  }
+
+  private SynthesisCache(Builder builder) {
+    com.ibm.cloud.sdk.core.util.Validator.isTrue(
+        builder.maxMemoryBytes >= 0, "maxMemoryBytes cannot be negative");
+    this.maxMemoryBytes = builder.maxMemoryBytes;
+    com.ibm.cloud.sdk.core.util.Validator.isTrue(
+        builder.ttlMillis >= 0, "ttlMillis cannot be negative");
+    this.ttlMillis = builder.ttlMillis;
+    if (builder.directory != null) {
+      com.ibm.cloud.sdk.core.util.Validator.isTrue(
+          builder.maxDiskBytes > 0, "maxDiskBytes must be positive");
+      builder.directory.mkdirs();
+      com.ibm.cloud.sdk.core.util.Validator.isTrue(
+          builder.directory.isDirectory(), "directory must be a directory");
+      this.disk = new DiskTier(builder.directory, builder.maxDiskBytes, builder.ttlMillis);
+    } else {
+      this.disk = null;
+    }
+  }
+
+  /**
+   * Wraps the call synthesizing audio so that it is answered from the cache when possible. This is
+   * called by {@link com.ibm.watson.text_to_speech.v1.TextToSpeech#synthesize(SynthesizeOptions)}.
+   *
+   * @param synthesizeOptions the options of the call
+   * @param request the request sent by the call
+   * @param call the call, which is only executed when the audio is not in the cache
+   * @return the call answered from the cache
+   */
+  public ServiceCall<InputStream> cachedCall(
+      SynthesizeOptions synthesizeOptions, Request request, ServiceCall<InputStream> call) {
+    return new CachedSynthesisCall(this, key(synthesizeOptions), request, call);
+  }
+
+  /**
+   * Gets the statistics of the cache since it was created.
+   *
+   * @return the statistics
+   */
+  public Statistics getStatistics() {
+    long bytes;
+    synchronized (memory) {
+      bytes = memoryBytes;
+    }
+    return new Statistics(
+        hitCount.get(),
+        diskHitCount.get(),
+        missCount.get(),
+        sharedLoadCount.get(),
+        evictionCount.get(),
+        bytes,
+        disk != null ? disk.bytes() : 0);
+  }
+
+  /**
+   * Removes the audio selected by the options from both tiers, for example after the custom model
+   * it was synthesized with has changed. A call for the same audio that is in flight still stores
+   * its audio when it completes.
+   *
+   * @param synthesizeOptions the options of the audio
+   */
+  public void remove(SynthesizeOptions synthesizeOptions) {
+    String key = key(synthesizeOptions);
+    synchronized (memory) {
+      removeFromMemory(key);
+    }
+    if (disk != null) {
+      disk.remove(key);
+    }
+  }
+
+  /** Removes all the entries, including the files of the disk tier. */
+  public void clear() {
+    synchronized (memory) {
+      memory.clear();
+      memoryBytes = 0;
+    }
+    if (disk != null) {
+      disk.clear();
+    }
+  }
+
+  /**
+   * Computes the key of the audio selected by the options.
+   *
+   * @param options the options
+   * @return the hexadecimal SHA-256 digest of the options
+   */
+  static String key(SynthesizeOptions options) {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+    update(digest, options.text());
+    update(digest, options.voice());
+    update(digest, options.customizationId());
+    update(digest, options.accept());
+    update(digest, options.ratePercentage() != null ? options.ratePercentage().toString() : null);
+    update(digest, options.pitchPercentage() != null ? options.pitchPercentage().toString() : null);
+    update(digest, options.spellOutMode());
+    byte[] hash = digest.digest();
+    char[] key = new char[hash.length * 2];
+    for (int i = 0; i < hash.length; i++) {
+      key[2 * i] = HEX[(hash[i] >> 4) & 0xF];
+      key[2 * i + 1] = HEX[hash[i] & 0xF];
+    }
+    return new String(key);
+  }
+
+  private static void update(MessageDigest digest, String field) {
+    // the length prefix keeps ("ab", "c") and ("a", "bc") apart, and -1 marks an absent field
+    byte[] value = field != null ? field.getBytes(StandardCharsets.UTF_8) : new byte[0];
+    int length = field != null ? value.length : -1;
+    digest.update(ByteBuffer.allocate(4).putInt(length).array());
+    digest.update(value);
+  }
+
+  /**
+   * Looks up an entry in the memory tier, then in the disk tier, which promotes it to the memory
+   * tier.
+   *
+   * @param key the key
+   * @return the audio, or null on a miss
+   */
+  CachedAudio lookup(String key) {
+    CachedAudio audio;
+    synchronized (memory) {
+      audio = memory.get(key);
+      if (audio != null && expired(audio)) {
+        removeFromMemory(key);
+        audio = null;
+      }
+    }
+    if (audio == null && disk != null) {
+      try {
+        audio = disk.get(key);
+      } catch (IOException e) {
+        LOG.log(Level.WARNING, "Synthesized audio could not be read from the cache", e);
+      }
+      if (audio != null) {
+        diskHitCount.incrementAndGet();
+        if (audio.size() <= maxMemoryBytes) {
+          ByteBuffer copy = ByteBuffer.allocate(audio.size());
+          copy.put(audio.buffer()).flip();
+          audio = new CachedAudio(audio.contentType(), copy, audio.synthesizedMillis());
+          storeInMemory(key, audio);
+        }
+      }
+    }
+    if (audio != null) {
+      hitCount.incrementAndGet();
+    }
+    return audio;
+  }
+
+  /**
+   * Registers a load of the audio from the service, unless one is already in flight.
+   *
+   * @param key the key
+   * @param load the load to register
+   * @return the load in flight to wait for, or null if the given load was registered and the
+   *     caller must call the service
+   */
+  CompletableFuture<CachedAudio> register(String key, CompletableFuture<CachedAudio> load) {
+    CompletableFuture<CachedAudio> inFlight = loads.putIfAbsent(key, load);
+    if (inFlight != null) {
+      sharedLoadCount.incrementAndGet();
+    } else {
+      missCount.incrementAndGet();
+    }
+    return inFlight;
+  }
+
+  /**
+   * Reads the audio of a response, stores it and completes the load.
+   *
+   * @param key the key
+   * @param load the registered load
+   * @param response the response of the service
+   * @return the audio
+   * @throws IOException if the audio cannot be read
+   */
+  CachedAudio complete(
+      String key, CompletableFuture<CachedAudio> load, Response<InputStream> response)
+      throws IOException {
+    ByteArrayOutputStream audio = new ByteArrayOutputStream();
+    try (InputStream in = response.getResult()) {
+      if (in != null) {
+        byte[] buffer = new byte[16 * 1024];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+          audio.write(buffer, 0, read);
+        }
+      }
+    }
+    List<String> contentType = response.getHeaders().values("Content-Type");
+    CachedAudio cached =
+        new CachedAudio(
+            contentType != null && !contentType.isEmpty() ? contentType.get(0) : null,
+            ByteBuffer.wrap(audio.toByteArray()),
+            System.currentTimeMillis());
+    store(key, cached);
+    loads.remove(key, load);
+    load.complete(cached);
+    return cached;
+  }
+
+  /**
+   * Fails a load, so the requests waiting for it fail and the next request calls the service.
+   *
+   * @param key the key
+   * @param load the registered load
+   * @param e the failure
+   */
+  void fail(String key, CompletableFuture<CachedAudio> load, Exception e) {
+    loads.remove(key, load);
+    load.completeExceptionally(e);
+  }
+
+  private void store(String key, CachedAudio audio) {
+    if (audio.size() <= maxMemoryBytes) {
+      storeInMemory(key, audio);
+    }
+    if (disk != null) {
+      try {
+        evictionCount.addAndGet(disk.put(key, audio));
+      } catch (IOException e) {
+        LOG.log(Level.WARNING, "Synthesized audio could not be written to the cache", e);
+      }
+    }
+  }
+
+  private boolean expired(CachedAudio audio) {
+    return ttlMillis > 0 && System.currentTimeMillis() - audio.synthesizedMillis() >= ttlMillis;
+  }
+
+  private void removeFromMemory(String key) {
+    CachedAudio removed = memory.remove(key);
+    if (removed != null) {
+      memoryBytes -= removed.size();
+    }
+  }
+
+  private void storeInMemory(String key, CachedAudio audio) {
+    synchronized (memory) {
+      CachedAudio previous = memory.put(key, audio);
+      if (previous != null) {
+        memoryBytes -= previous.size();
+      }
+      memoryBytes += audio.size();
+      Iterator<Map.Entry<String, CachedAudio>> eldest = memory.entrySet().iterator();
+      while (memoryBytes > maxMemoryBytes && eldest.hasNext()) {
+        memoryBytes -= eldest.next().getValue().size();
+        eldest.remove();
+        evictionCount.incrementAndGet();
+      }
+    }
+  }
+
+  /** The counters of a {@link SynthesisCache}, used to size it. */
+  public static final class Statistics {
+    private final long hitCount;
+    private final long diskHitCount;
+    private final long missCount;
+    private final long sharedLoadCount;
+    private final long evictionCount;
+    private final long memoryBytes;
+    private final long diskBytes;
+
+    Statistics(
+        long hitCount,
+        long diskHitCount,
+        long missCount,
+        long sharedLoadCount,
+        long evictionCount,
+        long memoryBytes,
+        long diskBytes) {
+      this.hitCount = hitCount;
+      this.diskHitCount = diskHitCount;
+      this.missCount = missCount;
+      this.sharedLoadCount = sharedLoadCount;
+      this.evictionCount = evictionCount;
+      this.memoryBytes = memoryBytes;
+      this.diskBytes = diskBytes;
+    }
+
+    /**
+     * Gets the number of requests answered from the cache, from either tier.
+     *
+     * @return the hit count
+     */
+    public long getHitCount() {
+      return hitCount;
+    }
+
+    /**
+     * Gets the number of requests answered from the disk tier.
+     *
+     * @return the disk hit count
+     */
+    public long getDiskHitCount() {
+      return diskHitCount;
+    }
+
+    /**
+     * Gets the number of requests that called the service.
+     *
+     * @return the miss count
+     */
+    public long getMissCount() {
+      return missCount;
+    }
+
+    /**
+     * Gets the number of requests that missed the cache but waited for the call of an identical
+     * request instead of calling the service.
+     *
+     * @return the shared load count
+     */
+    public long getSharedLoadCount() {
+      return sharedLoadCount;
+    }
+
+    /**
+     * Gets the number of entries evicted from either tier.
+     *
+     * @return the eviction count
+     */
+    public long getEvictionCount() {
+      return evictionCount;
+    }
+
+    /**
+     * Gets the total size of the audio in the memory tier.
+     *
+     * @return the number of bytes
+     */
+    public long getMemoryBytes() {
+      return memoryBytes;
+    }
+
+    /**
+     * Gets the total size of the files of the disk tier.
+     *
+     * @return the number of bytes
+     */
+    public long getDiskBytes() {
+      return diskBytes;
+    }
+
+    @Override
+    public String toString() {
+      return "SynthesisCache.Statistics{hitCount="
+          + hitCount
+          + ", diskHitCount="
+          + diskHitCount
+          + ", missCount="
+          + missCount
+          + ", sharedLoadCount="
+          + sharedLoadCount
+          + ", evictionCount="
+          + evictionCount
+          + ", memoryBytes="
+          + memoryBytes
+          + ", diskBytes="
+          + diskBytes
+          + "}";
+    }
+  }
+}
@@ -17,6 +17,9 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
 
 /**
  * Utility class to write the data size header in wave(.wav) files synthesized with the {@link
@@ -32,6 +35,18 @@ public final class WaveUtils {
   /** The WAVE meta-data size position. (value is 4) */
   private static final int WAVE_SIZE_POS = 4;
 
+  /** The position of the first chunk after the RIFF header. (value is 12) */
+  private static final int WAVE_FIRST_CHUNK_POS = 12;
+
+  /** The maximum number of leading bytes searched for the data chunk. (value is 4096) */
+  private static final int WAVE_MAX_HEADER_SIZE = 4096;
+
+  /** The largest size a 4 byte size field can hold. */
+  private static final long MAX_CHUNK_SIZE = 0xFFFFFFFFL;
+
+  /** The size of the buffer used to copy the audio. (value is 16384) */
+  private static final int BUFFER_SIZE = 16384;
+
   private WaveUtils() {
     // This is a utility class - no instantiation allowed.
   }
@@ -67,6 +82,153 @@ public final class WaveUtils {
     return new ByteArrayInputStream(audioBytes);
   }
 
+  /**
+   * Writes the WAVE(.wav) input stream to a channel and then re-writes the RIFF and data sizes in
+   * its header, without holding the audio in memory.<br>
+   * The audio is copied through a fixed size buffer starting at the current position of the
+   * channel, and the sizes are patched with positional writes once the length is known, so memory
+   * use does not grow with the length of the audio. The input stream is not closed.
+   *
+   * @param is the input stream
+   * @param channel the channel, for example a {@link java.nio.channels.FileChannel}
+   * @return the number of bytes written
+   * @throws IOException Signals that an I/O exception has occurred.
+   */
+  public static long writeWave(InputStream is, SeekableByteChannel channel) throws IOException {
+    long start = channel.position();
+    byte[] header = new byte[WAVE_MAX_HEADER_SIZE];
+    int headerLength = 0;
+    long length = 0;
+
+    byte[] data = new byte[BUFFER_SIZE];
+    ByteBuffer buffer = ByteBuffer.wrap(data);
+    int nRead;
+    while ((nRead = is.read(data, 0, data.length)) != -1) {
+      if (headerLength < header.length) {
+        int copied = Math.min(nRead, header.length - headerLength);
+        System.arraycopy(data, 0, header, headerLength, copied);
+        headerLength += copied;
+      }
+      buffer.clear().limit(nRead);
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+      length += nRead;
+    }
+
+    int dataSizePos = findDataSizePosition(header, headerLength);
+    if (dataSizePos + 4 <= length) {
+      long end = channel.position();
+      writeSizeField(channel, start + WAVE_SIZE_POS, length - WAVE_HEADER_SIZE);
+      writeSizeField(channel, start + dataSizePos, length - dataSizePos - 4);
+      channel.position(end);
+    }
+    return length;
+  }
+
+  /**
+   * Writes the WAVE(.wav) input stream to a stream that cannot seek, for example an HTTP response,
+   * with the RIFF and data sizes in its header computed from the content length.<br>
+   * Only the header is buffered before it is written. If the content length is unknown (negative),
+   * for example because the audio was sent with chunked transfer encoding, the audio is copied
+   * unchanged. The input stream is not closed.
+   *
+   * @param is the input stream
+   * @param contentLength the length of the audio in bytes, for example from the Content-Length
+   *     header of the synthesize response, or -1 if it is unknown
+   * @param os the output stream
+   * @return the number of bytes written
+   * @throws IOException Signals that an I/O exception has occurred.
+   */
+  public static long writeWave(InputStream is, long contentLength, OutputStream os)
+      throws IOException {
+    byte[] data = new byte[Math.max(BUFFER_SIZE, WAVE_MAX_HEADER_SIZE)];
+    int headerLength = 0;
+    if (contentLength >= 0) {
+      // read the header, which may arrive in several reads
+      int nRead;
+      while (headerLength < WAVE_MAX_HEADER_SIZE
+          && (nRead = is.read(data, headerLength, WAVE_MAX_HEADER_SIZE - headerLength)) != -1) {
+        headerLength += nRead;
+      }
+      int dataSizePos = findDataSizePosition(data, headerLength);
+      if (dataSizePos + 4 <= headerLength) {
+        writeInt(
+            (int) Math.min(contentLength - WAVE_HEADER_SIZE, MAX_CHUNK_SIZE), data, WAVE_SIZE_POS);
+        writeInt(
+            (int) Math.min(contentLength - dataSizePos - 4, MAX_CHUNK_SIZE), data, dataSizePos);
+      }
+      os.write(data, 0, headerLength);
+    }
+
+    long length = headerLength;
+    int nRead;
+    while ((nRead = is.read(data, 0, data.length)) != -1) {
+      os.write(data, 0, nRead);
+      length += nRead;
+    }
+    os.flush();
+    return length;
+  }
+
+  /**
+   * Finds the position of the size field of the data chunk by walking the chunks of the header.
+   *
+   * @param header the leading bytes of the wave file
+   * @param length the number of valid bytes in the header
+   * @return the position of the data size, or the legacy meta-data position if no data chunk is
+   *     found
+   */
+  private static int findDataSizePosition(byte[] header, int length) {
+    long pos = WAVE_FIRST_CHUNK_POS;
+    while (pos + WAVE_HEADER_SIZE <= length) {
+      int chunk = (int) pos;
+      if (header[chunk] == 'd'
+          && header[chunk + 1] == 'a'
+          && header[chunk + 2] == 't'
+          && header[chunk + 3] == 'a') {
+        return chunk + 4;
+      }
+      long chunkSize = readInt(header, chunk + 4) & MAX_CHUNK_SIZE;
+      pos += WAVE_HEADER_SIZE + chunkSize + (chunkSize & 1);
+    }
+    return WAVE_METADATA_POS;
+  }
+
+  /**
+   * Reads a little-endian number of 4 bytes from an array.
+   *
+   * @param array the byte array
+   * @param offset the offset
+   * @return the number
+   */
+  private static int readInt(byte[] array, int offset) {
+    int value = 0;
+    for (int i = 0; i < 4; i++) {
+      value |= (array[offset + i] & 0xFF) << (8 * i);
+    }
+    return value;
+  }
+
+  /**
+   * Writes a size into a 4 byte field of the channel.
+   *
+   * @param channel the channel
+   * @param position the position of the field
+   * @param size the size, capped at the largest value the field can hold
+   * @throws IOException Signals that an I/O exception has occurred.
+   */
+  private static void writeSizeField(SeekableByteChannel channel, long position, long size)
+      throws IOException {
+    byte[] field = new byte[4];
+    writeInt((int) Math.min(size, MAX_CHUNK_SIZE), field, 0);
+    ByteBuffer buffer = ByteBuffer.wrap(field);
+    channel.position(position);
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+  }
+
   /**
    * Converts an {@link InputStream} to byte array.
    *
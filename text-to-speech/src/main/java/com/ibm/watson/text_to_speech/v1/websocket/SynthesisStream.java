@@ -0,0 +1,372 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.text_to_speech.v1.websocket;
+
+import com.ibm.watson.text_to_speech.v1.TextToSpeech;
+import com.ibm.watson.text_to_speech.v1.model.Marks;
+import com.ibm.watson.text_to_speech.v1.model.SynthesizeOptions;
+import com.ibm.watson.text_to_speech.v1.model.Timings;
+import java.io.Closeable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import okhttp3.WebSocket;
+
+/**
+ * Synthesizes text that arrives in fragments, for example tokens generated by a language model.
+ *
+ * <p>Fragments are buffered until they complete a sentence (a <code>.</code>, <code>!</code>,
+ * <code>?</code>, <code>;</code> or <code>:</code> followed by whitespace, or a line break). Each
+ * sentence is synthesized over its own WebSocket connection as soon as it is complete, because the
+ * service closes the connection after it has sent the audio of a text. Sentences are synthesized in
+ * order and their audio is delivered to a single {@link SynthesizeCallback}, so the first audio
+ * arrives as soon as the first sentence is complete rather than when the whole text is known.
+ *
+ * <p>{@link SynthesizeCallback#onConnected()} is called once when the first connection opens and
+ * {@link SynthesizeCallback#onDisconnected()} once after the stream has been closed and all of its
+ * text has been synthesized. {@link SynthesizeCallback#onContentType(String)} is called for the
+ * first sentence only. Word timings and marks are relative to the start of their sentence.
+ *
+ * @see TextToSpeech#synthesizeStreamUsingWebSocket(SynthesizeOptions, SynthesizeCallback)
+ */
+public final class SynthesisStream implements Closeable {
+  private static final Logger LOG = Logger.getLogger(SynthesisStream.class.getName());
+
+  /** Sentences are split at whitespace when they grow past this many characters. */
+  static final int MAX_SEGMENT_LENGTH = 1000;
+
+  private static final String END = new String();
+  private static final int CLOSE_NORMAL = 1000;
+
+  private final TextToSpeech service;
+  private final SynthesizeOptions options;
+  private final SynthesizeCallback callback;
+  private final Executor executor;
+  private final LinkedBlockingQueue<String> segments = new LinkedBlockingQueue<>();
+  private final StringBuilder buffer = new StringBuilder();
+  private boolean started;
+  private boolean closed;
+  private volatile boolean cancelled;
+  private volatile boolean connected;
+  private volatile boolean contentTypeSent;
+  private volatile SegmentCallback current;
+
+  /**
+   * Instantiates a new synthesis stream. The text of the options, if any, is synthesized first.
+   *
+   * @param service the service used to open the connections
+   * @param options the options used for every sentence
+   * @param callback the callback receiving the audio of all sentences
+   * @param executor the executor running the task that synthesizes the sentences in order; if it
+   *     rejects the task, the rejection is passed to {@link SynthesizeCallback#onError(Exception)}
+   *     and the next sentence, or closing the stream, submits the task again. If the task submitted
+   *     on closing is rejected, the sentences not synthesized are dropped and {@link
+   *     SynthesizeCallback#onDisconnected()} is called.
+   */
+  public SynthesisStream(
+      TextToSpeech service,
+      SynthesizeOptions options,
+      SynthesizeCallback callback,
+      Executor executor) {
+    com.ibm.cloud.sdk.core.util.Validator.notNull(service, "service cannot be null");
+    com.ibm.cloud.sdk.core.util.Validator.notNull(options, "options cannot be null");
+    com.ibm.cloud.sdk.core.util.Validator.notNull(callback, "callback cannot be null");
+    com.ibm.cloud.sdk.core.util.Validator.notNull(executor, "executor cannot be null");
+    this.service = service;
+    this.options = options;
+    this.callback = callback;
+    this.executor = executor;
+    append(options.text());
+  }
+
+  /**
+   * Appends a fragment of text. Every sentence completed by the fragment is queued for synthesis.
+   *
+   * @param fragment the fragment
+   * @throws IllegalStateException if the stream has been closed
+   */
+  public void append(CharSequence fragment) {
+    boolean start;
+    synchronized (this) {
+      if (closed) {
+        throw new IllegalStateException("The synthesis stream is closed");
+      }
+      if (fragment == null || fragment.length() == 0) {
+        return;
+      }
+      buffer.append(fragment);
+      int end = sentenceEnd(buffer);
+      while (end > 0) {
+        enqueue(buffer.substring(0, end));
+        buffer.delete(0, end);
+        end = sentenceEnd(buffer);
+      }
+      start = claimStart();
+    }
+    if (start) {
+      start();
+    }
+  }
+
+  /** Queues the buffered text for synthesis, even if it does not end a sentence. */
+  public void flush() {
+    boolean start;
+    synchronized (this) {
+      flushBuffer();
+      start = claimStart();
+    }
+    if (start) {
+      start();
+    }
+  }
+
+  /**
+   * Flushes the buffered text and closes the stream. {@link SynthesizeCallback#onDisconnected()} is
+   * called once all of the text has been synthesized.
+   */
+  @Override
+  public void close() {
+    boolean start;
+    boolean disconnect;
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+      flushBuffer();
+      closed = true;
+      // the sentences left by a rejected task are synthesized by a new one
+      start = claimStart();
+      disconnect = !started;
+      if (started) {
+        segments.add(END);
+      }
+    }
+    if (start) {
+      start();
+    } else if (disconnect) {
+      callback.onDisconnected();
+    }
+  }
+
+  /**
+   * Drops the text that has not been synthesized yet and cancels the connection of the sentence
+   * being synthesized, for example when the listener starts speaking.
+   */
+  public void cancel() {
+    boolean disconnect;
+    synchronized (this) {
+      cancelled = true;
+      buffer.setLength(0);
+      segments.clear();
+      disconnect = !closed && !started;
+      closed = true;
+      if (started) {
+        segments.add(END);
+      }
+    }
+    SegmentCallback segment = current;
+    if (segment != null) {
+      segment.cancel();
+    }
+    if (disconnect) {
+      callback.onDisconnected();
+    }
+  }
+
+  /**
+   * Finds the end of the first complete sentence.
+   *
+   * @param text the buffered text
+   * @return the length of the sentence including its trailing whitespace, or 0 if there is none
+   */
+  static int sentenceEnd(CharSequence text) {
+    int length = text.length();
+    int lastSpace = -1;
+    for (int i = 0; i < length; i++) {
+      char c = text.charAt(i);
+      if (c == '\n') {
+        return i + 1;
+      }
+      boolean space = Character.isWhitespace(c);
+      if (space) {
+        lastSpace = i;
+        if (i > 0 && isSentencePunctuation(text.charAt(i - 1))) {
+          return i + 1;
+        }
+      }
+      if (i + 1 >= MAX_SEGMENT_LENGTH && lastSpace > 0) {
+        return lastSpace + 1;
+      }
+    }
+    return 0;
+  }
+
+  private static boolean isSentencePunctuation(char c) {
+    return c == '.' || c == '!' || c == '?' || c == ';' || c == ':';
+  }
+
+  private void flushBuffer() {
+    if (buffer.length() > 0) {
+      enqueue(buffer.toString());
+      buffer.setLength(0);
+    }
+  }
+
+  private void enqueue(String segment) {
+    if (!segment.trim().isEmpty()) {
+      segments.add(segment);
+    }
+  }
+
+  /**
+   * Checks whether the task synthesizing the queued sentences has to be started, and marks it as
+   * started if so. Must be called while holding the monitor of the stream.
+   */
+  private boolean claimStart() {
+    if (started || segments.isEmpty()) {
+      return false;
+    }
+    started = true;
+    return true;
+  }
+
+  /** Submits the task claimed by {@link #claimStart()}, without holding the monitor. */
+  private void start() {
+    try {
+      executor.execute(
+          new Runnable() {
+            @Override
+            public void run() {
+              synthesizeSegments();
+            }
+          });
+    } catch (RejectedExecutionException e) {
+      boolean disconnect;
+      synchronized (this) {
+        started = false;
+        // the sentences stay queued for the next one to start the task again, unless the stream
+        // is closed and no sentence follows
+        disconnect = closed;
+        if (disconnect) {
+          segments.clear();
+        }
+      }
+      callback.onError(e);
+      if (disconnect) {
+        callback.onDisconnected();
+      }
+    }
+  }
+
+  /** Synthesizes the queued sentences one after the other until the stream ends. */
+  private void synthesizeSegments() {
+    try {
+      String segment;
+      while ((segment = segments.take()) != END) {
+        if (!cancelled) {
+          synthesize(segment);
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      LOG.log(Level.WARNING, "Synthesis stream interrupted", e);
+    } finally {
+      callback.onDisconnected();
+    }
+  }
+
+  private void synthesize(String segment) throws InterruptedException {
+    SegmentCallback segmentCallback = new SegmentCallback();
+    current = segmentCallback;
+    try {
+      segmentCallback.socket =
+          service.synthesizeUsingWebSocket(
+              options.newBuilder().text(segment).build(), segmentCallback);
+      if (cancelled) {
+        segmentCallback.cancel();
+      }
+      segmentCallback.done.await();
+      segmentCallback.socket.close(CLOSE_NORMAL, null);
+    } finally {
+      current = null;
+    }
+  }
+
+  /** Forwards the events of one sentence and signals when its connection is done. */
+  private final class SegmentCallback implements SynthesizeCallback {
+    private final CountDownLatch done = new CountDownLatch(1);
+    private volatile WebSocket socket;
+
+    void cancel() {
+      WebSocket webSocket = socket;
+      if (webSocket != null) {
+        webSocket.cancel();
+      }
+      done.countDown();
+    }
+
+    @Override
+    public void onConnected() {
+      if (!connected) {
+        connected = true;
+        callback.onConnected();
+      }
+    }
+
+    @Override
+    public void onError(Exception e) {
+      if (!cancelled) {
+        callback.onError(e);
+      }
+      done.countDown();
+    }
+
+    @Override
+    public void onWarning(Exception e) {
+      callback.onWarning(e);
+    }
+
+    @Override
+    public void onDisconnected() {
+      done.countDown();
+    }
+
+    @Override
+    public void onContentType(String contentType) {
+      if (!contentTypeSent) {
+        contentTypeSent = true;
+        callback.onContentType(contentType);
+      }
+    }
+
+    @Override
+    public void onTimings(Timings timings) {
+      callback.onTimings(timings);
+    }
+
+    @Override
+    public void onMarks(Marks marks) {
+      callback.onMarks(marks);
+    }
+
+    @Override
+    public void onAudioStream(byte[] bytes) {
+      if (!cancelled) {
+        callback.onAudioStream(bytes);
+      }
+    }
+  }
+}
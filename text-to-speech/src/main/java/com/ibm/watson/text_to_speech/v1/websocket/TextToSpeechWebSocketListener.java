@@ -1,33 +1,26 @@
 package com.ibm.watson.text_to_speech.v1.websocket;
 
-import com.google.gson.FieldNamingPolicy;
 import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import com.ibm.cloud.sdk.core.util.GsonSingleton;
+import com.ibm.watson.common.StartMessageSerializer;
 import com.ibm.watson.text_to_speech.v1.model.Marks;
 import com.ibm.watson.text_to_speech.v1.model.SynthesizeOptions;
 import com.ibm.watson.text_to_speech.v1.model.Timings;
 import java.io.IOException;
-import java.util.logging.Level;
-import java.util.logging.Logger;
 import okhttp3.Response;
 import okhttp3.WebSocket;
 import okhttp3.WebSocketListener;
 import okio.ByteString;
 
 public class TextToSpeechWebSocketListener extends WebSocketListener {
-  private static final String TEXT_TO_WEB_SOCKET = "TextToWebSocketThread";
   private static final Gson GSON = GsonSingleton.getGsonWithoutPrettyPrinting();
-  private static final Logger LOG = Logger.getLogger(TextToSpeechWebSocketListener.class.getName());
+  // options that are already in the query string are left out of the start message
+  private static final StartMessageSerializer<SynthesizeOptions> START_MESSAGE =
+      new StartMessageSerializer<>(
+          SynthesizeOptions.class, "voice", "customizationId", "spellOutMode");
 
-  private static final String VOICE = "voice";
-  private static final String CUSTOMIZATION_ID = "customization_id";
-  private static final String SPELL_OUT_MODE = "spell_out_mode";
-  private static final String ACTION = "action";
-  private static final String START = "start";
-  private static final String STOP = "stop";
   private static final String ERROR = "error";
   private static final String WARNINGS = "warnings";
   private static final String BINARY_STREAMS = "binary_streams";
@@ -37,8 +30,6 @@ public class TextToSpeechWebSocketListener extends WebSocketListener {
 
   private final SynthesizeOptions options;
   private final SynthesizeCallback callback;
-  private WebSocket socket;
-  private boolean socketOpen = true;
 
   public TextToSpeechWebSocketListener(
       final SynthesizeOptions options, final SynthesizeCallback callback) {
@@ -52,7 +43,6 @@ public class TextToSpeechWebSocketListener extends WebSocketListener {
    */
   @Override
   public void onClosing(WebSocket webSocket, int code, String reason) {
-    socketOpen = false;
     callback.onDisconnected();
   }
 
@@ -62,7 +52,6 @@ public class TextToSpeechWebSocketListener extends WebSocketListener {
    */
   @Override
   public void onFailure(WebSocket webSocket, Throwable t, Response response) {
-    socketOpen = false;
     if (t instanceof Exception) {
       callback.onError((Exception) t);
     } else {
@@ -116,29 +105,10 @@ public class TextToSpeechWebSocketListener extends WebSocketListener {
   @Override
   public void onOpen(final WebSocket webSocket, Response response) {
     callback.onConnected();
-    this.socket = webSocket;
-    if (!this.socket.send(buildStartMessage(this.options))) {
+    // The start message carries the text, the service closes the connection after it has sent
+    // the audio.
+    if (!webSocket.send(buildStartMessage(this.options))) {
       callback.onError(new IOException("WebSocket unavailable"));
-    } else {
-      new Thread(TEXT_TO_WEB_SOCKET) {
-        @Override
-        public void run() {
-          sendText();
-          if (socketOpen && !socket.send(buildStopMessage())) {
-            LOG.log(Level.SEVERE, "Stop message discarded because WebSocket is unavailable");
-          }
-        }
-      };
-    }
-  }
-
-  private void sendText() {
-    try {
-      while (socketOpen) {
-        socket.send(this.options.text());
-      }
-    } catch (Exception e) {
-      LOG.log(Level.SEVERE, e.getMessage(), e);
     }
   }
 
@@ -149,29 +119,6 @@ public class TextToSpeechWebSocketListener extends WebSocketListener {
    * @return the request
    */
   private String buildStartMessage(SynthesizeOptions options) {
-    Gson gson =
-        new GsonBuilder()
-            .setFieldNamingPolicy(FieldNamingPolicy.LOWER_CASE_WITH_UNDERSCORES)
-            .create();
-    JsonObject startMessage = new JsonParser().parse(gson.toJson(options)).getAsJsonObject();
-
-    // remove options that are already in query string
-    startMessage.remove(VOICE);
-    startMessage.remove(CUSTOMIZATION_ID);
-    startMessage.remove(SPELL_OUT_MODE);
-
-    startMessage.addProperty(ACTION, START);
-    return startMessage.toString();
-  }
-
-  /**
-   * Builds the stop message.
-   *
-   * @return the string
-   */
-  private String buildStopMessage() {
-    JsonObject stopMessage = new JsonObject();
-    stopMessage.addProperty(ACTION, STOP);
-    return stopMessage.toString();
+    return START_MESSAGE.serialize(options);
   }
 }
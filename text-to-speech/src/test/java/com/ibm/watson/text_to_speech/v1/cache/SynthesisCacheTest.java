@@ -0,0 +1,437 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.text_to_speech.v1.cache;
+
+import static org.testng.Assert.*;
+
+import com.ibm.cloud.sdk.core.http.HttpMediaType;
+import com.ibm.cloud.sdk.core.http.Response;
+import com.ibm.cloud.sdk.core.http.ServiceCall;
+import com.ibm.cloud.sdk.core.http.ServiceCallback;
+import com.ibm.cloud.sdk.core.security.NoAuthAuthenticator;
+import com.ibm.cloud.sdk.core.service.exception.InternalServerErrorException;
+import com.ibm.watson.text_to_speech.v1.TextToSpeech;
+import com.ibm.watson.text_to_speech.v1.model.SynthesizeOptions;
+import io.reactivex.Single;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import okhttp3.Request;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okio.Buffer;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Unit tests for the {@link SynthesisCache}. */
+public class SynthesisCacheTest {
+
+  private MockWebServer server;
+  private TextToSpeech service;
+  private File directory;
+
+  @BeforeMethod
+  public void setUp() throws IOException {
+    server = new MockWebServer();
+    server.start();
+    service = new TextToSpeech(new NoAuthAuthenticator());
+    service.setServiceUrl(server.url("/").toString());
+    directory = Files.createTempDirectory("synthesis-cache").toFile();
+  }
+
+  @AfterMethod
+  public void tearDown() throws IOException {
+    server.shutdown();
+    File[] files = directory.listFiles();
+    if (files != null) {
+      for (File file : files) {
+        file.delete();
+      }
+    }
+    directory.delete();
+  }
+
+  private static SynthesizeOptions options(String text) {
+    return new SynthesizeOptions.Builder()
+        .text(text)
+        .voice(SynthesizeOptions.Voice.EN_US_ALLISONV3VOICE)
+        .accept(HttpMediaType.AUDIO_WAV)
+        .build();
+  }
+
+  private static MockResponse audio(int length) {
+    return new MockResponse()
+        .setHeader("Content-Type", "audio/wav")
+        .setBody(new Buffer().write(audioBytes(length)));
+  }
+
+  private static byte[] audioBytes(int length) {
+    byte[] audio = new byte[length];
+    for (int i = 0; i < length; i++) {
+      audio[i] = (byte) i;
+    }
+    return audio;
+  }
+
+  private static byte[] read(Response<InputStream> response) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (InputStream in = response.getResult()) {
+      byte[] buffer = new byte[1024];
+      int read;
+      while ((read = in.read(buffer)) != -1) {
+        out.write(buffer, 0, read);
+      }
+    }
+    return out.toByteArray();
+  }
+
+  /** Tests that the same options are answered from the memory tier. */
+  @Test
+  public void testMemoryHit() throws Throwable {
+    SynthesisCache cache = new SynthesisCache.Builder().build();
+    service.setSynthesisCache(cache);
+    server.enqueue(audio(1000));
+
+    byte[] first = read(service.synthesize(options("Hello")).execute());
+    Response<InputStream> second = service.synthesize(options("Hello")).execute();
+
+    assertEquals(first, audioBytes(1000));
+    assertEquals(read(second), first);
+    assertEquals(second.getHeaders().values("Content-Type").get(0), "audio/wav");
+    assertEquals(server.getRequestCount(), 1);
+    SynthesisCache.Statistics statistics = cache.getStatistics();
+    assertEquals(statistics.getHitCount(), 1);
+    assertEquals(statistics.getMissCount(), 1);
+    assertEquals(statistics.getMemoryBytes(), 1000);
+  }
+
+  /** Tests that the key covers every option that selects the audio. */
+  @Test
+  public void testKey() {
+    SynthesizeOptions options = options("Hello");
+    assertEquals(SynthesisCache.key(options), SynthesisCache.key(options("Hello")));
+    assertNotEquals(SynthesisCache.key(options), SynthesisCache.key(options("Hello!")));
+    assertNotEquals(
+        SynthesisCache.key(options),
+        SynthesisCache.key(options.newBuilder().voice("en-GB_KateV3Voice").build()));
+    assertNotEquals(
+        SynthesisCache.key(options),
+        SynthesisCache.key(options.newBuilder().accept("audio/mp3").build()));
+    assertNotEquals(
+        SynthesisCache.key(options),
+        SynthesisCache.key(options.newBuilder().ratePercentage(10L).build()));
+    assertNotEquals(
+        SynthesisCache.key(options),
+        SynthesisCache.key(options.newBuilder().pitchPercentage(10L).build()));
+    assertNotEquals(
+        SynthesisCache.key(options),
+        SynthesisCache.key(options.newBuilder().customizationId("custom").build()));
+    assertNotEquals(
+        SynthesisCache.key(options),
+        SynthesisCache.key(options.newBuilder().spellOutMode("singles").build()));
+  }
+
+  /** Tests that the least recently used audio is evicted from memory. */
+  @Test
+  public void testMemoryEviction() throws Throwable {
+    SynthesisCache cache = new SynthesisCache.Builder().maxMemoryBytes(1500).build();
+    service.setSynthesisCache(cache);
+    server.enqueue(audio(1000));
+    server.enqueue(audio(1000));
+    server.enqueue(audio(1000));
+
+    read(service.synthesize(options("one")).execute());
+    read(service.synthesize(options("two")).execute());
+    read(service.synthesize(options("one")).execute());
+
+    assertEquals(server.getRequestCount(), 3);
+    SynthesisCache.Statistics statistics = cache.getStatistics();
+    assertEquals(statistics.getHitCount(), 0);
+    assertEquals(statistics.getEvictionCount(), 2);
+    assertEquals(statistics.getMemoryBytes(), 1000);
+  }
+
+  /** Tests that audio written to the disk tier is read back by a new cache. */
+  @Test
+  public void testDiskTier() throws Throwable {
+    service.setSynthesisCache(
+        new SynthesisCache.Builder().maxMemoryBytes(0).directory(directory).build());
+    server.enqueue(audio(5000));
+    read(service.synthesize(options("Hello")).execute());
+
+    SynthesisCache cache = new SynthesisCache.Builder().directory(directory).build();
+    service.setSynthesisCache(cache);
+    Response<InputStream> response = service.synthesize(options("Hello")).execute();
+
+    assertEquals(read(response), audioBytes(5000));
+    assertEquals(response.getHeaders().values("Content-Type").get(0), "audio/wav");
+    assertEquals(server.getRequestCount(), 1);
+    assertEquals(cache.getStatistics().getDiskHitCount(), 1);
+    assertTrue(cache.getStatistics().getDiskBytes() > 5000);
+
+    cache.clear();
+    assertEquals(cache.getStatistics().getDiskBytes(), 0);
+    assertEquals(directory.listFiles().length, 0);
+  }
+
+  /** Tests that audio read from the disk tier is then served from memory. */
+  @Test
+  public void testDiskHitIsPromoted() throws Throwable {
+    service.setSynthesisCache(
+        new SynthesisCache.Builder().maxMemoryBytes(0).directory(directory).build());
+    server.enqueue(audio(5000));
+    read(service.synthesize(options("Hello")).execute());
+
+    SynthesisCache cache = new SynthesisCache.Builder().directory(directory).build();
+    service.setSynthesisCache(cache);
+    assertEquals(read(service.synthesize(options("Hello")).execute()), audioBytes(5000));
+    assertEquals(read(service.synthesize(options("Hello")).execute()), audioBytes(5000));
+
+    SynthesisCache.Statistics statistics = cache.getStatistics();
+    assertEquals(statistics.getHitCount(), 2);
+    assertEquals(statistics.getDiskHitCount(), 1);
+    assertEquals(statistics.getMemoryBytes(), 5000);
+    assertEquals(server.getRequestCount(), 1);
+  }
+
+  /** Tests that a corrupt file of the disk tier is deleted and the audio synthesized again. */
+  @Test
+  public void testCorruptDiskFile() throws Throwable {
+    SynthesisCache cache =
+        new SynthesisCache.Builder().maxMemoryBytes(0).directory(directory).build();
+    service.setSynthesisCache(cache);
+    server.enqueue(audio(1000));
+    read(service.synthesize(options("Hello")).execute());
+
+    // a content type longer than the file
+    File file = new File(directory, SynthesisCache.key(options("Hello")) + ".audio");
+    Files.write(file.toPath(), new byte[] {0, 0, 1, 0});
+    server.enqueue(audio(1000));
+
+    assertEquals(read(service.synthesize(options("Hello")).execute()), audioBytes(1000));
+    assertEquals(server.getRequestCount(), 2);
+    assertEquals(cache.getStatistics().getDiskHitCount(), 0);
+    assertTrue(file.length() > 1000);
+
+    // a content type length that would not fit in memory
+    Files.write(file.toPath(), new byte[] {0x7F, -1, -1, -1, 0});
+    server.enqueue(audio(1000));
+
+    assertEquals(read(service.synthesize(options("Hello")).execute()), audioBytes(1000));
+    assertEquals(server.getRequestCount(), 3);
+    assertEquals(cache.getStatistics().getDiskHitCount(), 0);
+  }
+
+  /** Tests that entries of both tiers expire after their time to live. */
+  @Test
+  public void testTtl() throws Throwable {
+    SynthesisCache cache = new SynthesisCache.Builder().directory(directory).ttlMillis(1).build();
+    service.setSynthesisCache(cache);
+    server.enqueue(audio(1000));
+    server.enqueue(audio(1000));
+    read(service.synthesize(options("Hello")).execute());
+    Thread.sleep(10);
+
+    assertEquals(read(service.synthesize(options("Hello")).execute()), audioBytes(1000));
+    assertEquals(server.getRequestCount(), 2);
+    SynthesisCache.Statistics statistics = cache.getStatistics();
+    assertEquals(statistics.getHitCount(), 0);
+    assertEquals(statistics.getMemoryBytes(), 1000);
+
+    Thread.sleep(10);
+    SynthesisCache restarted =
+        new SynthesisCache.Builder().directory(directory).ttlMillis(1).build();
+    service.setSynthesisCache(restarted);
+    server.enqueue(audio(1000));
+    read(service.synthesize(options("Hello")).execute());
+    assertEquals(server.getRequestCount(), 3);
+    assertEquals(restarted.getStatistics().getDiskHitCount(), 0);
+  }
+
+  /** Tests that the audio of options can be removed from both tiers. */
+  @Test
+  public void testRemove() throws Throwable {
+    SynthesisCache cache = new SynthesisCache.Builder().directory(directory).build();
+    service.setSynthesisCache(cache);
+    server.enqueue(audio(1000));
+    server.enqueue(audio(1000));
+    read(service.synthesize(options("Hello")).execute());
+
+    cache.remove(options("Hello"));
+    assertEquals(cache.getStatistics().getMemoryBytes(), 0);
+    assertEquals(cache.getStatistics().getDiskBytes(), 0);
+    assertEquals(directory.listFiles().length, 0);
+
+    read(service.synthesize(options("Hello")).execute());
+    assertEquals(server.getRequestCount(), 2);
+    assertEquals(cache.getStatistics().getHitCount(), 0);
+  }
+
+  /** Tests that cancelling a cached call cancels the call to the service. */
+  @Test
+  public void testCancel() {
+    final AtomicBoolean cancelled = new AtomicBoolean();
+    ServiceCall<InputStream> call =
+        new ServiceCall<InputStream>() {
+          @Override
+          public ServiceCall<InputStream> addHeader(String name, String value) {
+            return this;
+          }
+
+          @Override
+          public Response<InputStream> execute() {
+            throw new UnsupportedOperationException();
+          }
+
+          @Override
+          public void enqueue(ServiceCallback<InputStream> callback) {}
+
+          @Override
+          public Single<Response<InputStream>> reactiveRequest() {
+            throw new UnsupportedOperationException();
+          }
+
+          @Override
+          public void cancel() {
+            cancelled.set(true);
+          }
+        };
+
+    new SynthesisCache.Builder()
+        .build()
+        .cachedCall(options("Hello"), new Request.Builder().url(server.url("/")).build(), call)
+        .cancel();
+
+    assertTrue(cancelled.get());
+  }
+
+  /** Tests that the files of the disk tier are bounded by their total size. */
+  @Test
+  public void testDiskEviction() throws Throwable {
+    SynthesisCache cache =
+        new SynthesisCache.Builder()
+            .maxMemoryBytes(0)
+            .directory(directory)
+            .maxDiskBytes(2500)
+            .build();
+    service.setSynthesisCache(cache);
+    for (int i = 0; i < 3; i++) {
+      server.enqueue(audio(1000));
+      read(service.synthesize(options("text " + i)).execute());
+    }
+
+    assertEquals(cache.getStatistics().getEvictionCount(), 1);
+    assertEquals(directory.listFiles().length, 2);
+    assertTrue(cache.getStatistics().getDiskBytes() <= 2500);
+  }
+
+  /** Tests that concurrent identical requests share one call to the service. */
+  @Test
+  public void testSharedLoad() throws Throwable {
+    SynthesisCache cache = new SynthesisCache.Builder().build();
+    service.setSynthesisCache(cache);
+    server.enqueue(audio(1000).setHeadersDelay(500, TimeUnit.MILLISECONDS));
+
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<byte[]>> results = new ArrayList<>();
+      for (int i = 0; i < 4; i++) {
+        results.add(
+            executor.submit(
+                new Callable<byte[]>() {
+                  @Override
+                  public byte[] call() throws Exception {
+                    return read(service.synthesize(options("Hello")).execute());
+                  }
+                }));
+      }
+      for (Future<byte[]> result : results) {
+        assertEquals(result.get(10, TimeUnit.SECONDS), audioBytes(1000));
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    assertEquals(server.getRequestCount(), 1);
+    SynthesisCache.Statistics statistics = cache.getStatistics();
+    assertEquals(statistics.getMissCount(), 1);
+    assertEquals(statistics.getSharedLoadCount() + statistics.getHitCount(), 3);
+  }
+
+  /** Tests that asynchronous calls are answered from the cache. */
+  @Test
+  public void testEnqueue() throws Throwable {
+    SynthesisCache cache = new SynthesisCache.Builder().build();
+    service.setSynthesisCache(cache);
+    server.enqueue(audio(1000));
+
+    for (int i = 0; i < 2; i++) {
+      final CountDownLatch done = new CountDownLatch(1);
+      final AtomicReference<Response<InputStream>> result = new AtomicReference<>();
+      service
+          .synthesize(options("Hello"))
+          .enqueue(
+              new ServiceCallback<InputStream>() {
+                @Override
+                public void onResponse(Response<InputStream> response) {
+                  result.set(response);
+                  done.countDown();
+                }
+
+                @Override
+                public void onFailure(Exception e) {
+                  done.countDown();
+                }
+              });
+      assertTrue(done.await(10, TimeUnit.SECONDS));
+      assertEquals(read(result.get()), audioBytes(1000));
+    }
+
+    assertEquals(server.getRequestCount(), 1);
+    assertEquals(cache.getStatistics().getHitCount(), 1);
+  }
+
+  /** Tests that failures are not cached. */
+  @Test
+  public void testFailureNotCached() throws Throwable {
+    service.setSynthesisCache(new SynthesisCache.Builder().build());
+    server.enqueue(
+        new MockResponse()
+            .setResponseCode(500)
+            .setHeader("Content-Type", "application/json")
+            .setBody("{\"error\": \"Internal error\", \"code\": 500}"));
+    server.enqueue(audio(1000));
+
+    try {
+      service.synthesize(options("Hello")).execute();
+      fail("Expected an InternalServerErrorException");
+    } catch (InternalServerErrorException e) {
+      // expected
+    }
+    assertEquals(read(service.synthesize(options("Hello")).execute()), audioBytes(1000));
+    assertEquals(server.getRequestCount(), 2);
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.text_to_speech.v1.util;
+
+import static org.testng.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import org.testng.annotations.Test;
+
+/** Unit tests for the {@link WaveUtils}. */
+public class WaveUtilsTest {
+
+  private static final int AUDIO_LENGTH = 100000;
+
+  /**
+   * Builds a wave file like the ones streamed by the service: a format chunk, a list chunk and a
+   * data chunk whose sizes are not known yet.
+   */
+  private static byte[] streamedWave() {
+    ByteBuffer wave = ByteBuffer.allocate(12 + 24 + 14 + 8 + AUDIO_LENGTH);
+    wave.order(ByteOrder.LITTLE_ENDIAN);
+    wave.put("RIFF".getBytes()).putInt(-1).put("WAVE".getBytes());
+    wave.put("fmt ".getBytes()).putInt(16);
+    wave.putShort((short) 1).putShort((short) 1).putInt(22050).putInt(44100);
+    wave.putShort((short) 2).putShort((short) 16);
+    wave.put("LIST".getBytes()).putInt(5).put("INFO!".getBytes()).put((byte) 0);
+    wave.put("data".getBytes()).putInt(-1);
+    for (int i = 0; i < AUDIO_LENGTH; i++) {
+      wave.put((byte) i);
+    }
+    return wave.array();
+  }
+
+  private static void assertSizes(byte[] wave) {
+    ByteBuffer buffer = ByteBuffer.wrap(wave).order(ByteOrder.LITTLE_ENDIAN);
+    assertEquals(buffer.getInt(4), wave.length - 8);
+    assertEquals(buffer.getInt(54), AUDIO_LENGTH);
+  }
+
+  /** Tests that the sizes are patched in the channel after the audio has been written. */
+  @Test
+  public void testWriteWaveToChannel() throws IOException {
+    byte[] wave = streamedWave();
+    File file = File.createTempFile("wave", ".wav");
+    try {
+      try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+        long written = WaveUtils.writeWave(new ByteArrayInputStream(wave), channel);
+        assertEquals(written, wave.length);
+        assertEquals(channel.position(), wave.length);
+      }
+
+      byte[] result = Files.readAllBytes(file.toPath());
+      assertEquals(result.length, wave.length);
+      assertSizes(result);
+      assertEquals(
+          Arrays.copyOfRange(result, 58, result.length),
+          Arrays.copyOfRange(wave, 58, wave.length));
+    } finally {
+      file.delete();
+    }
+  }
+
+  /** Tests that the sizes are computed from the content length for a stream. */
+  @Test
+  public void testWriteWaveWithContentLength() throws IOException {
+    byte[] wave = streamedWave();
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    long written = WaveUtils.writeWave(new ByteArrayInputStream(wave), wave.length, out);
+
+    assertEquals(written, wave.length);
+    assertSizes(out.toByteArray());
+  }
+
+  /** Tests that the audio is copied unchanged when its length is unknown. */
+  @Test
+  public void testWriteWaveWithoutContentLength() throws IOException {
+    byte[] wave = streamedWave();
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    WaveUtils.writeWave(new ByteArrayInputStream(wave), -1, out);
+
+    assertEquals(out.toByteArray(), wave);
+  }
+}
@@ -0,0 +1,268 @@
+/*
+ * (C) Copyright IBM Corp. 2026.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.ibm.watson.text_to_speech.v1.websocket;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.ibm.cloud.sdk.core.security.NoAuthAuthenticator;
+import com.ibm.watson.text_to_speech.v1.TextToSpeech;
+import com.ibm.watson.text_to_speech.v1.model.SynthesizeOptions;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import okhttp3.Response;
+import okhttp3.WebSocket;
+import okhttp3.WebSocketListener;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okio.ByteString;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Unit tests for the {@link SynthesisStream}. */
+public class SynthesisStreamTest {
+
+  private MockWebServer server;
+  private TextToSpeech service;
+  private final List<String> receivedTexts = Collections.synchronizedList(new ArrayList<String>());
+
+  /** Answers the start message with the text as audio, then closes the connection. */
+  private final class EchoSynthesizer extends WebSocketListener {
+    @Override
+    public void onMessage(WebSocket webSocket, String message) {
+      JsonObject json = JsonParser.parseString(message).getAsJsonObject();
+      String text = json.get("text").getAsString();
+      receivedTexts.add(text);
+      webSocket.send("{\"binary_streams\": [{\"content_type\": \"audio/wav\"}]}");
+      webSocket.send(ByteString.encodeUtf8(text));
+      webSocket.close(1000, null);
+    }
+
+    @Override
+    public void onOpen(WebSocket webSocket, Response response) {}
+  }
+
+  /** Records the audio of all sentences. */
+  private static class RecordingCallback extends BaseSynthesizeCallback {
+    private final StringBuilder audio = new StringBuilder();
+    private final CountDownLatch disconnected = new CountDownLatch(1);
+    private int connected;
+    private int contentTypes;
+
+    @Override
+    public void onConnected() {
+      connected++;
+    }
+
+    @Override
+    public void onContentType(String contentType) {
+      contentTypes++;
+    }
+
+    @Override
+    public void onAudioStream(byte[] bytes) {
+      audio.append(new String(bytes));
+    }
+
+    @Override
+    public void onDisconnected() {
+      disconnected.countDown();
+    }
+  }
+
+  @BeforeMethod
+  public void beforeEachTest() throws IOException {
+    receivedTexts.clear();
+    server = new MockWebServer();
+    server.start();
+    service = new TextToSpeech(new NoAuthAuthenticator());
+    service.setServiceUrl(server.url("/").toString());
+  }
+
+  @AfterMethod
+  public void afterEachTest() throws IOException {
+    server.shutdown();
+  }
+
+  /** Tests how buffered text is split into sentences. */
+  @Test
+  public void testSentenceEnd() {
+    assertEquals(SynthesisStream.sentenceEnd("Hello"), 0);
+    assertEquals(SynthesisStream.sentenceEnd("Hello."), 0);
+    assertEquals(SynthesisStream.sentenceEnd("Hello. How"), 7);
+    assertEquals(SynthesisStream.sentenceEnd("3.14 is pi"), 0);
+    assertEquals(SynthesisStream.sentenceEnd("Line\nnext"), 5);
+
+    StringBuilder longText = new StringBuilder();
+    while (longText.length() < SynthesisStream.MAX_SEGMENT_LENGTH + 10) {
+      longText.append("word ");
+    }
+    int end = SynthesisStream.sentenceEnd(longText);
+    assertTrue(end > 0 && end <= SynthesisStream.MAX_SEGMENT_LENGTH);
+  }
+
+  /** Tests that fragments are synthesized sentence by sentence, in order. */
+  @Test
+  public void testSynthesizeFragments() throws InterruptedException {
+    for (int i = 0; i < 3; i++) {
+      server.enqueue(new MockResponse().withWebSocketUpgrade(new EchoSynthesizer()));
+    }
+    RecordingCallback callback = new RecordingCallback();
+    SynthesizeOptions options = new SynthesizeOptions.Builder().text("").voice("en-US").build();
+
+    SynthesisStream stream = service.synthesizeStreamUsingWebSocket(options, callback);
+    stream.append("Hello wor");
+    stream.append("ld. How are");
+    stream.append(" you? I am");
+    stream.append(" fine");
+    stream.close();
+
+    assertTrue(callback.disconnected.await(10, TimeUnit.SECONDS));
+    assertEquals(receivedTexts.size(), 3);
+    assertEquals(receivedTexts.get(0), "Hello world. ");
+    assertEquals(receivedTexts.get(1), "How are you? ");
+    assertEquals(receivedTexts.get(2), "I am fine");
+    assertEquals(callback.audio.toString(), "Hello world. How are you? I am fine");
+    assertEquals(callback.connected, 1);
+    assertEquals(callback.contentTypes, 1);
+  }
+
+  /** Tests that a cancelled stream synthesizes nothing further. */
+  @Test
+  public void testCancel() throws InterruptedException {
+    RecordingCallback callback = new RecordingCallback();
+    SynthesizeOptions options = new SynthesizeOptions.Builder().text("").build();
+
+    SynthesisStream stream = service.synthesizeStreamUsingWebSocket(options, callback);
+    stream.append("Not finished");
+    stream.cancel();
+
+    assertTrue(callback.disconnected.await(10, TimeUnit.SECONDS));
+    assertEquals(receivedTexts.size(), 0);
+    assertEquals(callback.audio.length(), 0);
+  }
+
+  /** Tests that a rejected synthesis task is reported and started again by the next sentence. */
+  @Test
+  public void testRejectedExecution() throws InterruptedException {
+    server.enqueue(new MockResponse().withWebSocketUpgrade(new EchoSynthesizer()));
+    server.enqueue(new MockResponse().withWebSocketUpgrade(new EchoSynthesizer()));
+    final List<Exception> errors = new ArrayList<>();
+    RecordingCallback callback =
+        new RecordingCallback() {
+          @Override
+          public void onError(Exception e) {
+            errors.add(e);
+          }
+        };
+    final AtomicBoolean reject = new AtomicBoolean(true);
+    Executor executor =
+        new Executor() {
+          @Override
+          public void execute(Runnable command) {
+            if (reject.getAndSet(false)) {
+              throw new RejectedExecutionException("busy");
+            }
+            new Thread(command).start();
+          }
+        };
+    SynthesizeOptions options = new SynthesizeOptions.Builder().text("").build();
+
+    SynthesisStream stream = new SynthesisStream(service, options, callback, executor);
+    stream.append("Hello world. ");
+    assertEquals(errors.size(), 1);
+    assertTrue(errors.get(0) instanceof RejectedExecutionException);
+    stream.append("How are you? ");
+    stream.close();
+
+    assertTrue(callback.disconnected.await(10, TimeUnit.SECONDS));
+    assertEquals(receivedTexts.size(), 2);
+    assertEquals(receivedTexts.get(0), "Hello world. ");
+    assertEquals(receivedTexts.get(1), "How are you? ");
+  }
+
+  /** Tests that closing the stream starts a rejected synthesis task again. */
+  @Test
+  public void testRejectedExecutionRestartedOnClose() throws InterruptedException {
+    server.enqueue(new MockResponse().withWebSocketUpgrade(new EchoSynthesizer()));
+    final AtomicReference<SynthesisStream> stream = new AtomicReference<>();
+    final List<Boolean> locked = new ArrayList<>();
+    RecordingCallback callback =
+        new RecordingCallback() {
+          @Override
+          public void onError(Exception e) {
+            locked.add(Thread.holdsLock(stream.get()));
+          }
+        };
+    final AtomicBoolean reject = new AtomicBoolean(true);
+    Executor executor =
+        new Executor() {
+          @Override
+          public void execute(Runnable command) {
+            if (reject.getAndSet(false)) {
+              throw new RejectedExecutionException("busy");
+            }
+            new Thread(command).start();
+          }
+        };
+    SynthesizeOptions options = new SynthesizeOptions.Builder().text("").build();
+
+    stream.set(new SynthesisStream(service, options, callback, executor));
+    stream.get().append("Hello world. ");
+    stream.get().close();
+
+    assertTrue(callback.disconnected.await(10, TimeUnit.SECONDS));
+    assertEquals(locked, Collections.singletonList(false));
+    assertEquals(receivedTexts, Collections.singletonList("Hello world. "));
+  }
+
+  /** Tests that the sentences are dropped and reported when the task is rejected on closing. */
+  @Test
+  public void testRejectedExecutionOnClose() throws InterruptedException {
+    final List<Exception> errors = new ArrayList<>();
+    RecordingCallback callback =
+        new RecordingCallback() {
+          @Override
+          public void onError(Exception e) {
+            errors.add(e);
+          }
+        };
+    Executor executor =
+        new Executor() {
+          @Override
+          public void execute(Runnable command) {
+            throw new RejectedExecutionException("busy");
+          }
+        };
+    SynthesizeOptions options = new SynthesizeOptions.Builder().text("").build();
+
+    SynthesisStream stream = new SynthesisStream(service, options, callback, executor);
+    stream.append("Hello world. ");
+    stream.close();
+
+    assertEquals(callback.disconnected.getCount(), 0);
+    assertEquals(errors.size(), 2);
+    assertEquals(receivedTexts.size(), 0);
+  }
+}